@@ -23,6 +23,7 @@ import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.configuration.ReadableConfig;
 import org.apache.flink.connectors.hive.read.HiveContinuousMonitoringFunction;
+import org.apache.flink.connectors.hive.read.HivePartitionInputFormatFactory;
 import org.apache.flink.connectors.hive.read.HiveTableFileInputFormat;
 import org.apache.flink.connectors.hive.read.HiveTableInputFormat;
 import org.apache.flink.connectors.hive.read.TimestampedHiveInputSplit;
@@ -49,6 +50,7 @@ import org.apache.flink.table.connector.source.DynamicTableSource;
 import org.apache.flink.table.connector.source.LookupTableSource;
 import org.apache.flink.table.connector.source.ScanTableSource;
 import org.apache.flink.table.connector.source.TableFunctionProvider;
+import org.apache.flink.table.connector.source.abilities.SupportsDynamicPartitionPruning;
 import org.apache.flink.table.connector.source.abilities.SupportsLimitPushDown;
 import org.apache.flink.table.connector.source.abilities.SupportsPartitionPushDown;
 import org.apache.flink.table.connector.source.abilities.SupportsProjectionPushDown;
@@ -81,6 +83,7 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -105,7 +108,8 @@ public class HiveTableSource implements
 		LookupTableSource,
 		SupportsPartitionPushDown,
 		SupportsProjectionPushDown,
-		SupportsLimitPushDown {
+		SupportsLimitPushDown,
+		SupportsDynamicPartitionPruning {
 
 	private static final Logger LOG = LoggerFactory.getLogger(HiveTableSource.class);
 
@@ -324,6 +328,40 @@ public class HiveTableSource implements
 		}
 	}
 
+	@Override
+	public Optional<PartitionInputFormatFactory> createPartitionInputFormatFactory() {
+		if (isStreamingSource() || catalogTable.getPartitionKeys().isEmpty()) {
+			return Optional.empty();
+		}
+		checkAcidTable(catalogTable, tablePath);
+		List<HiveTablePartition> allHivePartitions = initAllPartitions();
+		HiveTableInputFormat inputFormat = getInputFormat(
+				allHivePartitions,
+				flinkConf.get(HiveOptions.TABLE_EXEC_HIVE_FALLBACK_MAPRED_READER));
+		List<Map<String, String>> partitionSpecs = allHivePartitions.stream()
+				.map(partition -> toPartitionSpec(catalogTable.getPartitionKeys(), partition))
+				.collect(Collectors.toList());
+		return Optional.of(new HivePartitionInputFormatFactory(inputFormat, partitionSpecs, allHivePartitions));
+	}
+
+	/**
+	 * Converts the partition values of a partition back to strings, which can be restored by
+	 * {@link org.apache.flink.table.filesystem.RowPartitionComputer#restorePartValueFromType}.
+	 */
+	private static Map<String, String> toPartitionSpec(List<String> partitionKeys, HiveTablePartition partition) {
+		Map<String, String> spec = new LinkedHashMap<>();
+		for (String partitionKey : partitionKeys) {
+			Object value = partition.getPartitionSpec().get(partitionKey);
+			if (value instanceof Date) {
+				value = ((Date) value).toLocalDate();
+			} else if (value instanceof Timestamp) {
+				value = ((Timestamp) value).toLocalDateTime();
+			}
+			spec.put(partitionKey, value == null ? null : value.toString());
+		}
+		return spec;
+	}
+
 	@Override
 	public boolean supportsNestedProjection() {
 		return false;
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connectors.hive.read;
+
+import org.apache.flink.api.common.io.InputFormat;
+import org.apache.flink.connectors.hive.HiveTablePartition;
+import org.apache.flink.table.connector.source.abilities.SupportsDynamicPartitionPruning.PartitionInputFormatFactory;
+import org.apache.flink.table.data.RowData;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * {@link PartitionInputFormatFactory} for Hive tables. It reads a subset of the partitions with a copy of the
+ * {@link HiveTableInputFormat} for all partitions.
+ */
+public class HivePartitionInputFormatFactory implements PartitionInputFormatFactory {
+
+	private static final long serialVersionUID = 1L;
+
+	private final HiveTableInputFormat inputFormat;
+	private final List<Map<String, String>> partitions;
+	private final List<HiveTablePartition> hivePartitions;
+
+	/**
+	 * Creates a factory for the given input format, which reads all partitions. The partition specs are in the
+	 * same order as the hive partitions.
+	 */
+	public HivePartitionInputFormatFactory(
+			HiveTableInputFormat inputFormat,
+			List<Map<String, String>> partitions,
+			List<HiveTablePartition> hivePartitions) {
+		checkArgument(partitions.size() == hivePartitions.size());
+		this.inputFormat = checkNotNull(inputFormat);
+		this.partitions = checkNotNull(partitions);
+		this.hivePartitions = checkNotNull(hivePartitions);
+	}
+
+	@Override
+	public List<Map<String, String>> getPartitions() {
+		return partitions;
+	}
+
+	@Override
+	public InputFormat<RowData, ?> createInputFormat(List<Map<String, String>> remainingPartitions) {
+		Map<Map<String, String>, HiveTablePartition> hivePartitionsBySpec = new HashMap<>();
+		for (int i = 0; i < partitions.size(); i++) {
+			hivePartitionsBySpec.put(partitions.get(i), hivePartitions.get(i));
+		}
+		return inputFormat.copyWithPartitions(remainingPartitions.stream()
+				.map(spec -> checkNotNull(hivePartitionsBySpec.get(spec), "Unknown partition %s.", spec))
+				.collect(Collectors.toList()));
+	}
+}
@@ -33,6 +33,7 @@ import org.apache.flink.table.data.GenericRowData;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.types.DataType;
 import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.util.InstantiationUtil;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -126,6 +127,20 @@ public class HiveTableInputFormat extends HadoopInputFormatCommonBase<RowData, H
 		return jobConf;
 	}
 
+	/**
+	 * Creates a copy of this input format that reads the given partitions.
+	 */
+	public HiveTableInputFormat copyWithPartitions(List<HiveTablePartition> partitions) {
+		HiveTableInputFormat copy;
+		try {
+			copy = InstantiationUtil.clone(this);
+		} catch (IOException | ClassNotFoundException e) {
+			throw new FlinkHiveException("Failed to copy the input format", e);
+		}
+		copy.partitions = checkNotNull(partitions, "partitions can not be null.");
+		return copy;
+	}
+
 	@Override
 	public void configure(org.apache.flink.configuration.Configuration parameters) {
 	}
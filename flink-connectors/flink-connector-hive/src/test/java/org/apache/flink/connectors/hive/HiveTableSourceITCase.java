@@ -31,6 +31,7 @@ import org.apache.flink.table.api.TableEnvironment;
 import org.apache.flink.table.api.TableResult;
 import org.apache.flink.table.api.bridge.java.StreamTableEnvironment;
 import org.apache.flink.table.api.config.ExecutionConfigOptions;
+import org.apache.flink.table.api.config.OptimizerConfigOptions;
 import org.apache.flink.table.api.internal.TableEnvironmentImpl;
 import org.apache.flink.table.catalog.CatalogPartitionSpec;
 import org.apache.flink.table.catalog.CatalogTable;
@@ -224,6 +225,39 @@ public class HiveTableSourceITCase extends BatchAbstractTestBase {
 		assertArrayEquals(new String[]{"2014,3,0", "2014,4,0"}, rowStrings);
 	}
 
+	@Test
+	public void testDynamicPartitionPruning() throws Exception {
+		final String dbName = "source_db";
+		final String tblName = "test_table_pt_dpp";
+		TableEnvironment tEnv = createTableEnv();
+		tEnv.getConfig().getConfiguration().setBoolean(
+				OptimizerConfigOptions.TABLE_OPTIMIZER_DYNAMIC_PARTITION_PRUNING_ENABLED, true);
+		tEnv.getConfig().getConfiguration().setString(
+				ExecutionConfigOptions.TABLE_EXEC_DISABLED_OPERATORS, "NestedLoopJoin");
+		tEnv.executeSql("CREATE TABLE source_db.test_table_pt_dpp " +
+						"(`year` STRING, `value` INT) partitioned by (pt int)");
+		HiveTestUtils.createTextTableInserter(hiveShell, dbName, tblName)
+				.addRow(new Object[]{"2014", 3})
+				.addRow(new Object[]{"2014", 4})
+				.commit("pt=0");
+		HiveTestUtils.createTextTableInserter(hiveShell, dbName, tblName)
+				.addRow(new Object[]{"2015", 2})
+				.addRow(new Object[]{"2015", 5})
+				.commit("pt=1");
+		HiveTestUtils.createTextTableInserter(hiveShell, dbName, tblName)
+				.addRow(new Object[]{"2016", 1})
+				.commit("pt=2");
+		tEnv.createTemporaryView("dim", tEnv.fromValues(Row.of(1, "a"), Row.of(3, "b")).as("id", "name"));
+		Table src = tEnv.sqlQuery("select t.`year`, t.`value`, d.name from hive.source_db.test_table_pt_dpp t " +
+				"join dim d on t.pt = d.id");
+		// first check execution plan to ensure the partitions are pruned at runtime
+		assertTrue(src.explain(), src.explain().contains("DynamicPartitionScan("));
+		// second check execute results
+		List<Row> rows = CollectionUtil.iteratorToList(src.execute().collect());
+		Object[] rowStrings = rows.stream().map(Row::toString).sorted().toArray();
+		assertArrayEquals(new String[]{"2015,2,a", "2015,5,a"}, rowStrings);
+	}
+
 	@Test
 	public void testPartitionFilter() {
 		TableEnvironment tableEnv = HiveTestUtils.createTableEnvWithBlinkPlannerBatchMode(SqlDialect.HIVE);
@@ -128,6 +128,11 @@ public class ExecutionConfig implements Serializable, Archiveable<ArchivedExecut
 	private boolean forceAvro = false;
 	private long autoWatermarkInterval = 200;
 
+	/**
+	 * Resolution in milliseconds to which user timers are rounded up, 0 disables timer coalescing.
+	 */
+	private long timerResolution = 0L;
+
 	/**
 	 * Interval in milliseconds for sending latency tracking marks from the sources to the sinks.
 	 */
@@ -154,6 +159,10 @@ public class ExecutionConfig implements Serializable, Archiveable<ArchivedExecut
 
 	/** This flag defines if we use compression for the state snapshot data or not. Default: false */
 	private boolean useSnapshotCompression = false;
+
+	/** The compression algorithm for the state snapshot data, if compression is used. Default: Snappy */
+	private SnapshotCompressionType snapshotCompressionType = SnapshotCompressionType.SNAPPY;
+
 	/** The default input dependency constraint to schedule tasks. */
 	private InputDependencyConstraint defaultInputDependencyConstraint = InputDependencyConstraint.ANY;
 
@@ -250,6 +259,33 @@ public class ExecutionConfig implements Serializable, Archiveable<ArchivedExecut
 		return this.autoWatermarkInterval;
 	}
 
+	/**
+	 * Sets the resolution to which the timers registered by user functions are rounded up. Timers
+	 * of the same key and namespace that are rounded to the same timestamp are coalesced into a single
+	 * timer, which reduces the size of the timer state and the number of timer invocations. Timers
+	 * may therefore fire up to {@code resolution - 1} milliseconds later than requested.
+	 *
+	 * <p>Setting a resolution of {@code 0} or {@code 1} disables the coalescing.
+	 *
+	 * @param resolution The timer resolution in milliseconds.
+	 */
+	@PublicEvolving
+	public ExecutionConfig setTimerResolution(long resolution) {
+		Preconditions.checkArgument(resolution >= 0, "Timer resolution must not be negative.");
+		this.timerResolution = resolution;
+		return this;
+	}
+
+	/**
+	 * Returns the resolution to which user timers are rounded up.
+	 *
+	 * @see #setTimerResolution(long)
+	 */
+	@PublicEvolving
+	public long getTimerResolution() {
+		return timerResolution;
+	}
+
 	/**
 	 * Interval for sending latency tracking marks from the sources to the sinks.
 	 * Flink will send latency tracking marks from the sources at the specified interval.
@@ -898,6 +934,24 @@ public class ExecutionConfig implements Serializable, Archiveable<ArchivedExecut
 		this.useSnapshotCompression = useSnapshotCompression;
 	}
 
+	/**
+	 * Gets the compression algorithm for the state snapshot data, which is used if snapshot compression is
+	 * enabled.
+	 */
+	@PublicEvolving
+	public SnapshotCompressionType getSnapshotCompressionType() {
+		return snapshotCompressionType;
+	}
+
+	/**
+	 * Sets the compression algorithm for the state snapshot data, which is used if snapshot compression is
+	 * enabled (see {@link #setUseSnapshotCompression(boolean)}).
+	 */
+	@PublicEvolving
+	public void setSnapshotCompressionType(SnapshotCompressionType snapshotCompressionType) {
+		this.snapshotCompressionType = Preconditions.checkNotNull(snapshotCompressionType);
+	}
+
 	@Override
 	public boolean equals(Object obj) {
 		if (obj instanceof ExecutionConfig) {
@@ -916,12 +970,14 @@ public class ExecutionConfig implements Serializable, Archiveable<ArchivedExecut
 				forceAvro == other.forceAvro &&
 				Objects.equals(globalJobParameters, other.globalJobParameters) &&
 				autoWatermarkInterval == other.autoWatermarkInterval &&
+				timerResolution == other.timerResolution &&
 				registeredTypesWithKryoSerializerClasses.equals(other.registeredTypesWithKryoSerializerClasses) &&
 				defaultKryoSerializerClasses.equals(other.defaultKryoSerializerClasses) &&
 				registeredKryoTypes.equals(other.registeredKryoTypes) &&
 				registeredPojoTypes.equals(other.registeredPojoTypes) &&
 				taskCancellationIntervalMillis == other.taskCancellationIntervalMillis &&
 				useSnapshotCompression == other.useSnapshotCompression &&
+				snapshotCompressionType == other.snapshotCompressionType &&
 				defaultInputDependencyConstraint == other.defaultInputDependencyConstraint;
 
 		} else {
@@ -943,12 +999,14 @@ public class ExecutionConfig implements Serializable, Archiveable<ArchivedExecut
 			forceAvro,
 			globalJobParameters,
 			autoWatermarkInterval,
+			timerResolution,
 			registeredTypesWithKryoSerializerClasses,
 			defaultKryoSerializerClasses,
 			registeredKryoTypes,
 			registeredPojoTypes,
 			taskCancellationIntervalMillis,
 			useSnapshotCompression,
+			snapshotCompressionType,
 			defaultInputDependencyConstraint);
 	}
 
@@ -967,6 +1025,7 @@ public class ExecutionConfig implements Serializable, Archiveable<ArchivedExecut
 			", autoTypeRegistrationEnabled=" + autoTypeRegistrationEnabled +
 			", forceAvro=" + forceAvro +
 			", autoWatermarkInterval=" + autoWatermarkInterval +
+			", timerResolution=" + timerResolution +
 			", latencyTrackingInterval=" + latencyTrackingInterval +
 			", isLatencyTrackingConfigured=" + isLatencyTrackingConfigured +
 			", executionRetryDelay=" + executionRetryDelay +
@@ -974,6 +1033,7 @@ public class ExecutionConfig implements Serializable, Archiveable<ArchivedExecut
 			", taskCancellationIntervalMillis=" + taskCancellationIntervalMillis +
 			", taskCancellationTimeoutMillis=" + taskCancellationTimeoutMillis +
 			", useSnapshotCompression=" + useSnapshotCompression +
+			", snapshotCompressionType=" + snapshotCompressionType +
 			", defaultInputDependencyConstraint=" + defaultInputDependencyConstraint +
 			", globalJobParameters=" + globalJobParameters +
 			", registeredTypesWithKryoSerializers=" + registeredTypesWithKryoSerializers +
@@ -1084,6 +1144,8 @@ public class ExecutionConfig implements Serializable, Archiveable<ArchivedExecut
 			.ifPresent(b -> this.enableAutoGeneratedUids = b);
 		configuration.getOptional(PipelineOptions.AUTO_WATERMARK_INTERVAL)
 			.ifPresent(i -> this.setAutoWatermarkInterval(i.toMillis()));
+		configuration.getOptional(PipelineOptions.TIMER_RESOLUTION)
+			.ifPresent(r -> this.setTimerResolution(r.toMillis()));
 		configuration.getOptional(PipelineOptions.CLOSURE_CLEANER_LEVEL)
 			.ifPresent(this::setClosureCleanerLevel);
 		configuration.getOptional(PipelineOptions.FORCE_AVRO)
@@ -1111,6 +1173,8 @@ public class ExecutionConfig implements Serializable, Archiveable<ArchivedExecut
 			.ifPresent(this::setTaskCancellationTimeout);
 		configuration.getOptional(ExecutionOptions.SNAPSHOT_COMPRESSION)
 			.ifPresent(this::setUseSnapshotCompression);
+		configuration.getOptional(ExecutionOptions.SNAPSHOT_COMPRESSION_TYPE)
+			.ifPresent(this::setSnapshotCompressionType);
 		RestartStrategies.fromConfiguration(configuration)
 			.ifPresent(this::setRestartStrategy);
 		configuration.getOptional(PipelineOptions.KRYO_DEFAULT_SERIALIZERS)
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.common;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+/**
+ * The compression algorithm that is used for the state snapshot data, if snapshot compression is enabled
+ * (see {@link ExecutionConfig#setUseSnapshotCompression(boolean)}).
+ *
+ * <p>The algorithm is recorded in every snapshot, so state is always restored with the algorithm it was
+ * written with, and the algorithm can be changed between restores.
+ */
+@PublicEvolving
+public enum SnapshotCompressionType {
+
+	/**
+	 * Snappy compression, a fast compression with a moderate compression ratio.
+	 */
+	SNAPPY,
+
+	/**
+	 * LZ4 compression, which compresses and in particular decompresses faster than Snappy at a similar
+	 * compression ratio.
+	 */
+	LZ4,
+
+	/**
+	 * Deflate compression, which achieves a considerably higher compression ratio than Snappy and LZ4 at
+	 * the cost of more CPU time. Suited for verbose state when the snapshot size and upload time matter more
+	 * than the CPU time spent on snapshots.
+	 */
+	DEFLATE
+}
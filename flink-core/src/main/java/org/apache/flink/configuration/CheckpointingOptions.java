@@ -20,6 +20,8 @@ package org.apache.flink.configuration;
 
 import org.apache.flink.annotation.docs.Documentation;
 
+import java.time.Duration;
+
 /**
  * A collection of all configuration options that relate to checkpoints
  * and savepoints.
@@ -108,6 +110,74 @@ public class CheckpointingOptions {
 				"recovery. Local recovery currently only covers keyed state backends. Currently, MemoryStateBackend does " +
 				"not support local recovery and ignore this option");
 
+	// ------------------------------------------------------------------------
+	//  Options specific to the heap-based keyed state backends
+	// ------------------------------------------------------------------------
+
+	/**
+	 * The soft limit for the estimated size of the state held by a single heap keyed state backend.
+	 */
+	@Documentation.Section(Documentation.Sections.EXPERT_STATE_BACKENDS)
+	public static final ConfigOption<MemorySize> HEAP_STATE_SIZE_LIMIT = ConfigOptions
+		.key("state.backend.heap.size-limit")
+		.memoryType()
+		.noDefaultValue()
+		.withDescription("A soft limit for the estimated size of the state held by a single heap keyed state backend " +
+			"(FsStateBackend, MemoryStateBackend). The size is estimated by sampling the serialized size of the state " +
+			"entries and of the timers, at the interval configured by 'state.backend.heap.size-estimation.interval', " +
+			"independently of checkpoints. If the estimate exceeds this limit, the job fails without being " +
+			"restarted, with an error that names the largest states, instead of running the TaskManager out of " +
+			"memory. A restart would not help, because the state restored from the last checkpoint has the same size. " +
+			"By default, no limit is enforced.");
+
+	/**
+	 * The interval at which the size of the heap state is re-estimated.
+	 */
+	@Documentation.Section(Documentation.Sections.EXPERT_STATE_BACKENDS)
+	public static final ConfigOption<Duration> HEAP_STATE_SIZE_ESTIMATION_INTERVAL = ConfigOptions
+		.key("state.backend.heap.size-estimation.interval")
+		.durationType()
+		.defaultValue(Duration.ofMinutes(1))
+		.withDescription("The minimum interval at which a heap keyed state backend re-estimates the size of its " +
+			"state for the state size metrics and the state size limit. The interval is checked while the task " +
+			"processes records and timers, independently of checkpoints.");
+
+	/**
+	 * The number of state entries per key-group that are sampled to estimate the size of the heap state.
+	 */
+	@Documentation.Section(Documentation.Sections.EXPERT_STATE_BACKENDS)
+	public static final ConfigOption<Integer> HEAP_STATE_SIZE_ESTIMATION_SAMPLE_SIZE = ConfigOptions
+		.key("state.backend.heap.size-estimation.sample-size")
+		.intType()
+		.defaultValue(32)
+		.withDescription("The maximum number of state entries per key-group and state that are serialized to " +
+			"estimate the size of the state held by a heap keyed state backend.");
+
+	/**
+	 * The number of threads that download the state of a heap keyed state backend ahead of its deserialization.
+	 */
+	@Documentation.Section(Documentation.Sections.EXPERT_STATE_BACKENDS)
+	public static final ConfigOption<Integer> HEAP_RESTORE_PREFETCH_THREADS = ConfigOptions
+		.key("state.backend.heap.restore.prefetch-threads")
+		.intType()
+		.defaultValue(0)
+		.withDescription("The number of threads per heap keyed state backend (FsStateBackend, MemoryStateBackend) " +
+			"that download the state from the checkpoint storage in parallel chunks while the restoring task " +
+			"deserializes the chunks that were already downloaded. A value of 0 disables the prefetching, so the " +
+			"task reads and deserializes the state in turns. State that is held in memory is never prefetched.");
+
+	/**
+	 * The maximum amount of state that is prefetched ahead of its deserialization.
+	 */
+	@Documentation.Section(Documentation.Sections.EXPERT_STATE_BACKENDS)
+	public static final ConfigOption<MemorySize> HEAP_RESTORE_PREFETCH_BUFFER_SIZE = ConfigOptions
+		.key("state.backend.heap.restore.prefetch-buffer-size")
+		.memoryType()
+		.defaultValue(MemorySize.parse("16mb"))
+		.withDescription(String.format("The maximum amount of state that a restoring heap keyed state backend holds " +
+			"in memory ahead of its deserialization. The state is downloaded in chunks of a fraction of this size. " +
+			"Only used if '%s' is positive.", "state.backend.heap.restore.prefetch-threads"));
+
 	// ------------------------------------------------------------------------
 	//  Options specific to the file-system-based state backends
 	// ------------------------------------------------------------------------
@@ -157,4 +227,28 @@ public class CheckpointingOptions {
 		.withDescription(String.format("The default size of the write buffer for the checkpoint streams that write to file systems. " +
 			"The actual write buffer size is determined to be the maximum of the value of this option and option '%s'.", FS_SMALL_FILE_THRESHOLD.key()));
 
+	/**
+	 * Whether the checkpoint streams of all tasks of a TaskManager append their exclusive state to shared
+	 * segment files, rather than writing one file per state handle.
+	 */
+	@Documentation.Section(Documentation.Sections.EXPERT_STATE_BACKENDS)
+	public static final ConfigOption<Boolean> FS_SEGMENT_FILES_ENABLED = ConfigOptions
+		.key("state.backend.fs.segment-files.enabled")
+		.booleanType()
+		.defaultValue(false)
+		.withDescription("Whether the checkpoint streams of all tasks of a TaskManager append the exclusive state of " +
+			"a checkpoint to shared segment files, rather than writing one file per state handle. This reduces the " +
+			"number of files per checkpoint, which otherwise grows with the parallelism and the number of operators. " +
+			"Savepoints and shared state (e.g. incremental RocksDB files) are never written to segment files.");
+
+	/**
+	 * The size after which a segment file is closed and no further state is appended to it.
+	 */
+	@Documentation.Section(Documentation.Sections.EXPERT_STATE_BACKENDS)
+	public static final ConfigOption<MemorySize> FS_SEGMENT_FILE_MAX_SIZE = ConfigOptions
+		.key("state.backend.fs.segment-files.max-size")
+		.memoryType()
+		.defaultValue(MemorySize.parse("32mb"))
+		.withDescription(String.format("The size after which a segment file is closed and no further state is " +
+			"appended to it. Only used if '%s' is enabled.", FS_SEGMENT_FILES_ENABLED.key()));
 }
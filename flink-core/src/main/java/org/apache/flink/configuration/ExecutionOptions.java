@@ -21,6 +21,7 @@ package org.apache.flink.configuration;
 import org.apache.flink.annotation.PublicEvolving;
 import org.apache.flink.annotation.docs.Documentation;
 import org.apache.flink.api.common.RuntimeExecutionMode;
+import org.apache.flink.api.common.SnapshotCompressionType;
 import org.apache.flink.configuration.description.Description;
 import org.apache.flink.configuration.description.TextElement;
 
@@ -49,6 +50,14 @@ public class ExecutionOptions {
 			.defaultValue(false)
 		.withDescription("Tells if we should use compression for the state snapshot data or not");
 
+	public static final ConfigOption<SnapshotCompressionType> SNAPSHOT_COMPRESSION_TYPE =
+		ConfigOptions.key("execution.checkpointing.snapshot-compression.type")
+			.enumType(SnapshotCompressionType.class)
+			.defaultValue(SnapshotCompressionType.SNAPPY)
+			.withDescription(String.format("The compression algorithm for the state snapshot data, if '%s' is " +
+				"enabled. The algorithm is recorded in every snapshot, so snapshots written with any algorithm can be " +
+				"restored.", SNAPSHOT_COMPRESSION.key()));
+
 	public static final ConfigOption<Duration> BUFFER_TIMEOUT =
 		ConfigOptions.key("execution.buffer-timeout")
 			.durationType()
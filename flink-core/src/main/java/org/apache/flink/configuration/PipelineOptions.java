@@ -89,6 +89,15 @@ public class PipelineOptions {
 				" the streaming system to keep track of the progress of time. They are used, for example," +
 				" for time based windowing.");
 
+	public static final ConfigOption<Duration> TIMER_RESOLUTION =
+		key("pipeline.timer-resolution")
+			.durationType()
+			.defaultValue(Duration.ZERO)
+			.withDescription("The resolution to which the timers registered by user functions (e.g. through the" +
+				" TimerService of a KeyedProcessFunction) are rounded up. Timers of the same key that fall into the" +
+				" same interval are coalesced into a single timer, which reduces the timer state and the number of" +
+				" onTimer invocations at the cost of firing timers later. A resolution of 0 disables the coalescing.");
+
 	public static final ConfigOption<ClosureCleanerLevel> CLOSURE_CLEANER_LEVEL =
 		key("pipeline.closure-cleaner-level")
 			.enumType(ClosureCleanerLevel.class)
@@ -228,6 +228,19 @@ public class TaskManagerOptions {
 			.withDeprecatedKeys("taskmanager.debug.memory.logIntervalMs")
 			.withDescription("The interval (in ms) for the log thread to log the current memory usage.");
 
+	/**
+	 * The maximum bandwidth per second with which all tasks of a TaskManager upload their checkpoint state.
+	 */
+	@Documentation.Section(Documentation.Sections.ALL_TASK_MANAGER)
+	public static final ConfigOption<MemorySize> CHECKPOINT_UPLOAD_MAX_BANDWIDTH =
+		key("taskmanager.checkpoint-upload.max-bandwidth")
+			.memoryType()
+			.noDefaultValue()
+			.withDescription("The maximum amount of checkpoint state per second that all tasks of a TaskManager" +
+				" together upload to file systems, e.g. '100mb'. The bandwidth is shared fairly between the tasks that" +
+				" upload concurrently. Limiting the bandwidth leaves room for the data exchange of the tasks while a" +
+				" checkpoint is taken. By default, the bandwidth is not limited.");
+
 	// ------------------------------------------------------------------------
 	//  Managed Memory Options
 	// ------------------------------------------------------------------------
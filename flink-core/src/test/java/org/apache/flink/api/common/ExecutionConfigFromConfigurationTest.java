@@ -109,6 +109,12 @@ public class ExecutionConfigFromConfigurationTest {
 				.getterVia(ExecutionConfig::isUseSnapshotCompression)
 				.nonDefaultValue(true),
 
+			TestSpec.testValue(SnapshotCompressionType.LZ4)
+				.whenSetFromFile("execution.checkpointing.snapshot-compression.type", "LZ4")
+				.viaSetter(ExecutionConfig::setSnapshotCompressionType)
+				.getterVia(ExecutionConfig::getSnapshotCompressionType)
+				.nonDefaultValue(SnapshotCompressionType.DEFLATE),
+
 			TestSpec.testValue(12)
 				.whenSetFromFile("parallelism.default", "12")
 				.viaSetter(ExecutionConfig::setParallelism)
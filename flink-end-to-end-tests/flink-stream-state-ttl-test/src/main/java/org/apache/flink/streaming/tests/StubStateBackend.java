@@ -25,6 +25,7 @@ import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.runtime.execution.Environment;
 import org.apache.flink.runtime.query.TaskKvStateRegistry;
 import org.apache.flink.runtime.state.CheckpointStorageAccess;
+import org.apache.flink.runtime.state.CheckpointUploadThrottle;
 import org.apache.flink.runtime.state.CheckpointableKeyedStateBackend;
 import org.apache.flink.runtime.state.CompletedCheckpointStorageLocation;
 import org.apache.flink.runtime.state.KeyGroupRange;
@@ -68,6 +69,13 @@ final class StubStateBackend implements StateBackend {
 		return backend.createCheckpointStorage(jobId);
 	}
 
+	@Override
+	public CheckpointStorageAccess createCheckpointStorage(
+			JobID jobId,
+			CheckpointUploadThrottle uploadThrottle) throws IOException {
+		return backend.createCheckpointStorage(jobId, uploadThrottle);
+	}
+
 	@Override
 	public <K> CheckpointableKeyedStateBackend<K> createKeyedStateBackend(
 		Environment env,
@@ -0,0 +1,44 @@
+/**
+ * Autogenerated by Avro
+ *
+ * DO NOT EDIT DIRECTLY
+ */
+package org.apache.flink.formats.avro.generated;
+@org.apache.avro.specific.FixedSize(16)
+@org.apache.avro.specific.AvroGenerated
+public class Fixed16 extends org.apache.avro.specific.SpecificFixed {
+  private static final long serialVersionUID = -1193982579684864142L;
+  public static final org.apache.avro.Schema SCHEMA$ = new org.apache.avro.Schema.Parser().parse("{\"type\":\"fixed\",\"name\":\"Fixed16\",\"namespace\":\"org.apache.flink.formats.avro.generated\",\"size\":16}");
+  public static org.apache.avro.Schema getClassSchema() { return SCHEMA$; }
+  public org.apache.avro.Schema getSchema() { return SCHEMA$; }
+
+  /** Creates a new Fixed16 */
+  public Fixed16() {
+    super();
+  }
+
+  /**
+   * Creates a new Fixed16 with the given bytes.
+   * @param bytes The bytes to create the new Fixed16.
+   */
+  public Fixed16(byte[] bytes) {
+    super(bytes);
+  }
+
+  private static final org.apache.avro.io.DatumWriter<Fixed16>
+    WRITER$ = new org.apache.avro.specific.SpecificDatumWriter<Fixed16>(SCHEMA$);
+
+  @Override public void writeExternal(java.io.ObjectOutput out)
+    throws java.io.IOException {
+    WRITER$.write(this, org.apache.avro.specific.SpecificData.getEncoder(out));
+  }
+
+  private static final org.apache.avro.io.DatumReader<Fixed16>
+    READER$ = new org.apache.avro.specific.SpecificDatumReader<Fixed16>(SCHEMA$);
+
+  @Override public void readExternal(java.io.ObjectInput in)
+    throws java.io.IOException {
+    READER$.read(this, org.apache.avro.specific.SpecificData.getDecoder(in));
+  }
+
+}
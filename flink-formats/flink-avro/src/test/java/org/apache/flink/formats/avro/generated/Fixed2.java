@@ -0,0 +1,44 @@
+/**
+ * Autogenerated by Avro
+ *
+ * DO NOT EDIT DIRECTLY
+ */
+package org.apache.flink.formats.avro.generated;
+@org.apache.avro.specific.FixedSize(2)
+@org.apache.avro.specific.AvroGenerated
+public class Fixed2 extends org.apache.avro.specific.SpecificFixed {
+  private static final long serialVersionUID = -9128015842921507791L;
+  public static final org.apache.avro.Schema SCHEMA$ = new org.apache.avro.Schema.Parser().parse("{\"type\":\"fixed\",\"name\":\"Fixed2\",\"namespace\":\"org.apache.flink.formats.avro.generated\",\"size\":2,\"logicalType\":\"decimal\",\"precision\":4,\"scale\":2}");
+  public static org.apache.avro.Schema getClassSchema() { return SCHEMA$; }
+  public org.apache.avro.Schema getSchema() { return SCHEMA$; }
+
+  /** Creates a new Fixed2 */
+  public Fixed2() {
+    super();
+  }
+
+  /**
+   * Creates a new Fixed2 with the given bytes.
+   * @param bytes The bytes to create the new Fixed2.
+   */
+  public Fixed2(byte[] bytes) {
+    super(bytes);
+  }
+
+  private static final org.apache.avro.io.DatumWriter<Fixed2>
+    WRITER$ = new org.apache.avro.specific.SpecificDatumWriter<Fixed2>(SCHEMA$);
+
+  @Override public void writeExternal(java.io.ObjectOutput out)
+    throws java.io.IOException {
+    WRITER$.write(this, org.apache.avro.specific.SpecificData.getEncoder(out));
+  }
+
+  private static final org.apache.avro.io.DatumReader<Fixed2>
+    READER$ = new org.apache.avro.specific.SpecificDatumReader<Fixed2>(SCHEMA$);
+
+  @Override public void readExternal(java.io.ObjectInput in)
+    throws java.io.IOException {
+    READER$.read(this, org.apache.avro.specific.SpecificData.getDecoder(in));
+  }
+
+}
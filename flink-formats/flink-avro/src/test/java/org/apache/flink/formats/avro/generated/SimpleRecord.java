@@ -0,0 +1,407 @@
+/**
+ * Autogenerated by Avro
+ *
+ * DO NOT EDIT DIRECTLY
+ */
+package org.apache.flink.formats.avro.generated;
+
+import org.apache.avro.generic.GenericArray;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.util.Utf8;
+import org.apache.avro.message.BinaryMessageEncoder;
+import org.apache.avro.message.BinaryMessageDecoder;
+import org.apache.avro.message.SchemaStore;
+
+@org.apache.avro.specific.AvroGenerated
+public class SimpleRecord extends org.apache.avro.specific.SpecificRecordBase implements org.apache.avro.specific.SpecificRecord {
+  private static final long serialVersionUID = -8367910323689790809L;
+  public static final org.apache.avro.Schema SCHEMA$ = new org.apache.avro.Schema.Parser().parse("{\"type\":\"record\",\"name\":\"SimpleRecord\",\"namespace\":\"org.apache.flink.formats.avro.generated\",\"fields\":[{\"name\":\"name\",\"type\":\"string\"},{\"name\":\"optionalField\",\"type\":[\"null\",\"int\"],\"default\":null}]}");
+  public static org.apache.avro.Schema getClassSchema() { return SCHEMA$; }
+
+  private static SpecificData MODEL$ = new SpecificData();
+
+  private static final BinaryMessageEncoder<SimpleRecord> ENCODER =
+      new BinaryMessageEncoder<SimpleRecord>(MODEL$, SCHEMA$);
+
+  private static final BinaryMessageDecoder<SimpleRecord> DECODER =
+      new BinaryMessageDecoder<SimpleRecord>(MODEL$, SCHEMA$);
+
+  /**
+   * Return the BinaryMessageEncoder instance used by this class.
+   * @return the message encoder used by this class
+   */
+  public static BinaryMessageEncoder<SimpleRecord> getEncoder() {
+    return ENCODER;
+  }
+
+  /**
+   * Return the BinaryMessageDecoder instance used by this class.
+   * @return the message decoder used by this class
+   */
+  public static BinaryMessageDecoder<SimpleRecord> getDecoder() {
+    return DECODER;
+  }
+
+  /**
+   * Create a new BinaryMessageDecoder instance for this class that uses the specified {@link SchemaStore}.
+   * @param resolver a {@link SchemaStore} used to find schemas by fingerprint
+   * @return a BinaryMessageDecoder instance for this class backed by the given SchemaStore
+   */
+  public static BinaryMessageDecoder<SimpleRecord> createDecoder(SchemaStore resolver) {
+    return new BinaryMessageDecoder<SimpleRecord>(MODEL$, SCHEMA$, resolver);
+  }
+
+  /**
+   * Serializes this SimpleRecord to a ByteBuffer.
+   * @return a buffer holding the serialized data for this instance
+   * @throws java.io.IOException if this instance could not be serialized
+   */
+  public java.nio.ByteBuffer toByteBuffer() throws java.io.IOException {
+    return ENCODER.encode(this);
+  }
+
+  /**
+   * Deserializes a SimpleRecord from a ByteBuffer.
+   * @param b a byte buffer holding serialized data for an instance of this class
+   * @return a SimpleRecord instance decoded from the given buffer
+   * @throws java.io.IOException if the given bytes could not be deserialized into an instance of this class
+   */
+  public static SimpleRecord fromByteBuffer(
+      java.nio.ByteBuffer b) throws java.io.IOException {
+    return DECODER.decode(b);
+  }
+
+   private java.lang.CharSequence name;
+   private java.lang.Integer optionalField;
+
+  /**
+   * Default constructor.  Note that this does not initialize fields
+   * to their default values from the schema.  If that is desired then
+   * one should use <code>newBuilder()</code>.
+   */
+  public SimpleRecord() {}
+
+  /**
+   * All-args constructor.
+   * @param name The new value for name
+   * @param optionalField The new value for optionalField
+   */
+  public SimpleRecord(java.lang.CharSequence name, java.lang.Integer optionalField) {
+    this.name = name;
+    this.optionalField = optionalField;
+  }
+
+  public org.apache.avro.specific.SpecificData getSpecificData() { return MODEL$; }
+  public org.apache.avro.Schema getSchema() { return SCHEMA$; }
+  // Used by DatumWriter.  Applications should not call.
+  public java.lang.Object get(int field$) {
+    switch (field$) {
+    case 0: return name;
+    case 1: return optionalField;
+    default: throw new IndexOutOfBoundsException("Invalid index: " + field$);
+    }
+  }
+
+  // Used by DatumReader.  Applications should not call.
+  @SuppressWarnings(value="unchecked")
+  public void put(int field$, java.lang.Object value$) {
+    switch (field$) {
+    case 0: name = (java.lang.CharSequence)value$; break;
+    case 1: optionalField = (java.lang.Integer)value$; break;
+    default: throw new IndexOutOfBoundsException("Invalid index: " + field$);
+    }
+  }
+
+  /**
+   * Gets the value of the 'name' field.
+   * @return The value of the 'name' field.
+   */
+  public java.lang.CharSequence getName() {
+    return name;
+  }
+
+
+  /**
+   * Sets the value of the 'name' field.
+   * @param value the value to set.
+   */
+  public void setName(java.lang.CharSequence value) {
+    this.name = value;
+  }
+
+  /**
+   * Gets the value of the 'optionalField' field.
+   * @return The value of the 'optionalField' field.
+   */
+  public java.lang.Integer getOptionalField() {
+    return optionalField;
+  }
+
+
+  /**
+   * Sets the value of the 'optionalField' field.
+   * @param value the value to set.
+   */
+  public void setOptionalField(java.lang.Integer value) {
+    this.optionalField = value;
+  }
+
+  /**
+   * Creates a new SimpleRecord RecordBuilder.
+   * @return A new SimpleRecord RecordBuilder
+   */
+  public static org.apache.flink.formats.avro.generated.SimpleRecord.Builder newBuilder() {
+    return new org.apache.flink.formats.avro.generated.SimpleRecord.Builder();
+  }
+
+  /**
+   * Creates a new SimpleRecord RecordBuilder by copying an existing Builder.
+   * @param other The existing builder to copy.
+   * @return A new SimpleRecord RecordBuilder
+   */
+  public static org.apache.flink.formats.avro.generated.SimpleRecord.Builder newBuilder(org.apache.flink.formats.avro.generated.SimpleRecord.Builder other) {
+    if (other == null) {
+      return new org.apache.flink.formats.avro.generated.SimpleRecord.Builder();
+    } else {
+      return new org.apache.flink.formats.avro.generated.SimpleRecord.Builder(other);
+    }
+  }
+
+  /**
+   * Creates a new SimpleRecord RecordBuilder by copying an existing SimpleRecord instance.
+   * @param other The existing instance to copy.
+   * @return A new SimpleRecord RecordBuilder
+   */
+  public static org.apache.flink.formats.avro.generated.SimpleRecord.Builder newBuilder(org.apache.flink.formats.avro.generated.SimpleRecord other) {
+    if (other == null) {
+      return new org.apache.flink.formats.avro.generated.SimpleRecord.Builder();
+    } else {
+      return new org.apache.flink.formats.avro.generated.SimpleRecord.Builder(other);
+    }
+  }
+
+  /**
+   * RecordBuilder for SimpleRecord instances.
+   */
+  @org.apache.avro.specific.AvroGenerated
+  public static class Builder extends org.apache.avro.specific.SpecificRecordBuilderBase<SimpleRecord>
+    implements org.apache.avro.data.RecordBuilder<SimpleRecord> {
+
+    private java.lang.CharSequence name;
+    private java.lang.Integer optionalField;
+
+    /** Creates a new Builder */
+    private Builder() {
+      super(SCHEMA$);
+    }
+
+    /**
+     * Creates a Builder by copying an existing Builder.
+     * @param other The existing Builder to copy.
+     */
+    private Builder(org.apache.flink.formats.avro.generated.SimpleRecord.Builder other) {
+      super(other);
+      if (isValidValue(fields()[0], other.name)) {
+        this.name = data().deepCopy(fields()[0].schema(), other.name);
+        fieldSetFlags()[0] = other.fieldSetFlags()[0];
+      }
+      if (isValidValue(fields()[1], other.optionalField)) {
+        this.optionalField = data().deepCopy(fields()[1].schema(), other.optionalField);
+        fieldSetFlags()[1] = other.fieldSetFlags()[1];
+      }
+    }
+
+    /**
+     * Creates a Builder by copying an existing SimpleRecord instance
+     * @param other The existing instance to copy.
+     */
+    private Builder(org.apache.flink.formats.avro.generated.SimpleRecord other) {
+      super(SCHEMA$);
+      if (isValidValue(fields()[0], other.name)) {
+        this.name = data().deepCopy(fields()[0].schema(), other.name);
+        fieldSetFlags()[0] = true;
+      }
+      if (isValidValue(fields()[1], other.optionalField)) {
+        this.optionalField = data().deepCopy(fields()[1].schema(), other.optionalField);
+        fieldSetFlags()[1] = true;
+      }
+    }
+
+    /**
+      * Gets the value of the 'name' field.
+      * @return The value.
+      */
+    public java.lang.CharSequence getName() {
+      return name;
+    }
+
+
+    /**
+      * Sets the value of the 'name' field.
+      * @param value The value of 'name'.
+      * @return This builder.
+      */
+    public org.apache.flink.formats.avro.generated.SimpleRecord.Builder setName(java.lang.CharSequence value) {
+      validate(fields()[0], value);
+      this.name = value;
+      fieldSetFlags()[0] = true;
+      return this;
+    }
+
+    /**
+      * Checks whether the 'name' field has been set.
+      * @return True if the 'name' field has been set, false otherwise.
+      */
+    public boolean hasName() {
+      return fieldSetFlags()[0];
+    }
+
+
+    /**
+      * Clears the value of the 'name' field.
+      * @return This builder.
+      */
+    public org.apache.flink.formats.avro.generated.SimpleRecord.Builder clearName() {
+      name = null;
+      fieldSetFlags()[0] = false;
+      return this;
+    }
+
+    /**
+      * Gets the value of the 'optionalField' field.
+      * @return The value.
+      */
+    public java.lang.Integer getOptionalField() {
+      return optionalField;
+    }
+
+
+    /**
+      * Sets the value of the 'optionalField' field.
+      * @param value The value of 'optionalField'.
+      * @return This builder.
+      */
+    public org.apache.flink.formats.avro.generated.SimpleRecord.Builder setOptionalField(java.lang.Integer value) {
+      validate(fields()[1], value);
+      this.optionalField = value;
+      fieldSetFlags()[1] = true;
+      return this;
+    }
+
+    /**
+      * Checks whether the 'optionalField' field has been set.
+      * @return True if the 'optionalField' field has been set, false otherwise.
+      */
+    public boolean hasOptionalField() {
+      return fieldSetFlags()[1];
+    }
+
+
+    /**
+      * Clears the value of the 'optionalField' field.
+      * @return This builder.
+      */
+    public org.apache.flink.formats.avro.generated.SimpleRecord.Builder clearOptionalField() {
+      optionalField = null;
+      fieldSetFlags()[1] = false;
+      return this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public SimpleRecord build() {
+      try {
+        SimpleRecord record = new SimpleRecord();
+        record.name = fieldSetFlags()[0] ? this.name : (java.lang.CharSequence) defaultValue(fields()[0]);
+        record.optionalField = fieldSetFlags()[1] ? this.optionalField : (java.lang.Integer) defaultValue(fields()[1]);
+        return record;
+      } catch (org.apache.avro.AvroMissingFieldException e) {
+        throw e;
+      } catch (java.lang.Exception e) {
+        throw new org.apache.avro.AvroRuntimeException(e);
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static final org.apache.avro.io.DatumWriter<SimpleRecord>
+    WRITER$ = (org.apache.avro.io.DatumWriter<SimpleRecord>)MODEL$.createDatumWriter(SCHEMA$);
+
+  @Override public void writeExternal(java.io.ObjectOutput out)
+    throws java.io.IOException {
+    WRITER$.write(this, SpecificData.getEncoder(out));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static final org.apache.avro.io.DatumReader<SimpleRecord>
+    READER$ = (org.apache.avro.io.DatumReader<SimpleRecord>)MODEL$.createDatumReader(SCHEMA$);
+
+  @Override public void readExternal(java.io.ObjectInput in)
+    throws java.io.IOException {
+    READER$.read(this, SpecificData.getDecoder(in));
+  }
+
+  @Override protected boolean hasCustomCoders() { return true; }
+
+  @Override public void customEncode(org.apache.avro.io.Encoder out)
+    throws java.io.IOException
+  {
+    out.writeString(this.name);
+
+    if (this.optionalField == null) {
+      out.writeIndex(0);
+      out.writeNull();
+    } else {
+      out.writeIndex(1);
+      out.writeInt(this.optionalField);
+    }
+
+  }
+
+  @Override public void customDecode(org.apache.avro.io.ResolvingDecoder in)
+    throws java.io.IOException
+  {
+    org.apache.avro.Schema.Field[] fieldOrder = in.readFieldOrderIfDiff();
+    if (fieldOrder == null) {
+      this.name = in.readString(this.name instanceof Utf8 ? (Utf8)this.name : null);
+
+      if (in.readIndex() != 1) {
+        in.readNull();
+        this.optionalField = null;
+      } else {
+        this.optionalField = in.readInt();
+      }
+
+    } else {
+      for (int i = 0; i < 2; i++) {
+        switch (fieldOrder[i].pos()) {
+        case 0:
+          this.name = in.readString(this.name instanceof Utf8 ? (Utf8)this.name : null);
+          break;
+
+        case 1:
+          if (in.readIndex() != 1) {
+            in.readNull();
+            this.optionalField = null;
+          } else {
+            this.optionalField = in.readInt();
+          }
+          break;
+
+        default:
+          throw new java.io.IOException("Corrupt ResolvingDecoder.");
+        }
+      }
+    }
+  }
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,285 @@
+/**
+ * Autogenerated by Avro
+ *
+ * DO NOT EDIT DIRECTLY
+ */
+package org.apache.flink.formats.avro.generated;
+
+import org.apache.avro.generic.GenericArray;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.util.Utf8;
+import org.apache.avro.message.BinaryMessageEncoder;
+import org.apache.avro.message.BinaryMessageDecoder;
+import org.apache.avro.message.SchemaStore;
+
+@org.apache.avro.specific.AvroGenerated
+public class UnionLogicalType extends org.apache.avro.specific.SpecificRecordBase implements org.apache.avro.specific.SpecificRecord {
+  private static final long serialVersionUID = 7305552445797234668L;
+  public static final org.apache.avro.Schema SCHEMA$ = new org.apache.avro.Schema.Parser().parse("{\"type\":\"record\",\"name\":\"UnionLogicalType\",\"namespace\":\"org.apache.flink.formats.avro.generated\",\"fields\":[{\"name\":\"nullableTimestamp\",\"type\":[\"null\",{\"type\":\"long\",\"logicalType\":\"timestamp-millis\"}]}]}");
+  public static org.apache.avro.Schema getClassSchema() { return SCHEMA$; }
+
+  private static SpecificData MODEL$ = new SpecificData();
+static {
+    MODEL$.addLogicalTypeConversion(new org.apache.avro.data.TimeConversions.TimestampMillisConversion());
+  }
+
+  private static final BinaryMessageEncoder<UnionLogicalType> ENCODER =
+      new BinaryMessageEncoder<UnionLogicalType>(MODEL$, SCHEMA$);
+
+  private static final BinaryMessageDecoder<UnionLogicalType> DECODER =
+      new BinaryMessageDecoder<UnionLogicalType>(MODEL$, SCHEMA$);
+
+  /**
+   * Return the BinaryMessageEncoder instance used by this class.
+   * @return the message encoder used by this class
+   */
+  public static BinaryMessageEncoder<UnionLogicalType> getEncoder() {
+    return ENCODER;
+  }
+
+  /**
+   * Return the BinaryMessageDecoder instance used by this class.
+   * @return the message decoder used by this class
+   */
+  public static BinaryMessageDecoder<UnionLogicalType> getDecoder() {
+    return DECODER;
+  }
+
+  /**
+   * Create a new BinaryMessageDecoder instance for this class that uses the specified {@link SchemaStore}.
+   * @param resolver a {@link SchemaStore} used to find schemas by fingerprint
+   * @return a BinaryMessageDecoder instance for this class backed by the given SchemaStore
+   */
+  public static BinaryMessageDecoder<UnionLogicalType> createDecoder(SchemaStore resolver) {
+    return new BinaryMessageDecoder<UnionLogicalType>(MODEL$, SCHEMA$, resolver);
+  }
+
+  /**
+   * Serializes this UnionLogicalType to a ByteBuffer.
+   * @return a buffer holding the serialized data for this instance
+   * @throws java.io.IOException if this instance could not be serialized
+   */
+  public java.nio.ByteBuffer toByteBuffer() throws java.io.IOException {
+    return ENCODER.encode(this);
+  }
+
+  /**
+   * Deserializes a UnionLogicalType from a ByteBuffer.
+   * @param b a byte buffer holding serialized data for an instance of this class
+   * @return a UnionLogicalType instance decoded from the given buffer
+   * @throws java.io.IOException if the given bytes could not be deserialized into an instance of this class
+   */
+  public static UnionLogicalType fromByteBuffer(
+      java.nio.ByteBuffer b) throws java.io.IOException {
+    return DECODER.decode(b);
+  }
+
+   private java.time.Instant nullableTimestamp;
+
+  /**
+   * Default constructor.  Note that this does not initialize fields
+   * to their default values from the schema.  If that is desired then
+   * one should use <code>newBuilder()</code>.
+   */
+  public UnionLogicalType() {}
+
+  /**
+   * All-args constructor.
+   * @param nullableTimestamp The new value for nullableTimestamp
+   */
+  public UnionLogicalType(java.time.Instant nullableTimestamp) {
+    this.nullableTimestamp = nullableTimestamp;
+  }
+
+  public org.apache.avro.specific.SpecificData getSpecificData() { return MODEL$; }
+  public org.apache.avro.Schema getSchema() { return SCHEMA$; }
+  // Used by DatumWriter.  Applications should not call.
+  public java.lang.Object get(int field$) {
+    switch (field$) {
+    case 0: return nullableTimestamp;
+    default: throw new IndexOutOfBoundsException("Invalid index: " + field$);
+    }
+  }
+
+  // Used by DatumReader.  Applications should not call.
+  @SuppressWarnings(value="unchecked")
+  public void put(int field$, java.lang.Object value$) {
+    switch (field$) {
+    case 0: nullableTimestamp = (java.time.Instant)value$; break;
+    default: throw new IndexOutOfBoundsException("Invalid index: " + field$);
+    }
+  }
+
+  /**
+   * Gets the value of the 'nullableTimestamp' field.
+   * @return The value of the 'nullableTimestamp' field.
+   */
+  public java.time.Instant getNullableTimestamp() {
+    return nullableTimestamp;
+  }
+
+
+  /**
+   * Sets the value of the 'nullableTimestamp' field.
+   * @param value the value to set.
+   */
+  public void setNullableTimestamp(java.time.Instant value) {
+    this.nullableTimestamp = value;
+  }
+
+  /**
+   * Creates a new UnionLogicalType RecordBuilder.
+   * @return A new UnionLogicalType RecordBuilder
+   */
+  public static org.apache.flink.formats.avro.generated.UnionLogicalType.Builder newBuilder() {
+    return new org.apache.flink.formats.avro.generated.UnionLogicalType.Builder();
+  }
+
+  /**
+   * Creates a new UnionLogicalType RecordBuilder by copying an existing Builder.
+   * @param other The existing builder to copy.
+   * @return A new UnionLogicalType RecordBuilder
+   */
+  public static org.apache.flink.formats.avro.generated.UnionLogicalType.Builder newBuilder(org.apache.flink.formats.avro.generated.UnionLogicalType.Builder other) {
+    if (other == null) {
+      return new org.apache.flink.formats.avro.generated.UnionLogicalType.Builder();
+    } else {
+      return new org.apache.flink.formats.avro.generated.UnionLogicalType.Builder(other);
+    }
+  }
+
+  /**
+   * Creates a new UnionLogicalType RecordBuilder by copying an existing UnionLogicalType instance.
+   * @param other The existing instance to copy.
+   * @return A new UnionLogicalType RecordBuilder
+   */
+  public static org.apache.flink.formats.avro.generated.UnionLogicalType.Builder newBuilder(org.apache.flink.formats.avro.generated.UnionLogicalType other) {
+    if (other == null) {
+      return new org.apache.flink.formats.avro.generated.UnionLogicalType.Builder();
+    } else {
+      return new org.apache.flink.formats.avro.generated.UnionLogicalType.Builder(other);
+    }
+  }
+
+  /**
+   * RecordBuilder for UnionLogicalType instances.
+   */
+  @org.apache.avro.specific.AvroGenerated
+  public static class Builder extends org.apache.avro.specific.SpecificRecordBuilderBase<UnionLogicalType>
+    implements org.apache.avro.data.RecordBuilder<UnionLogicalType> {
+
+    private java.time.Instant nullableTimestamp;
+
+    /** Creates a new Builder */
+    private Builder() {
+      super(SCHEMA$);
+    }
+
+    /**
+     * Creates a Builder by copying an existing Builder.
+     * @param other The existing Builder to copy.
+     */
+    private Builder(org.apache.flink.formats.avro.generated.UnionLogicalType.Builder other) {
+      super(other);
+      if (isValidValue(fields()[0], other.nullableTimestamp)) {
+        this.nullableTimestamp = data().deepCopy(fields()[0].schema(), other.nullableTimestamp);
+        fieldSetFlags()[0] = other.fieldSetFlags()[0];
+      }
+    }
+
+    /**
+     * Creates a Builder by copying an existing UnionLogicalType instance
+     * @param other The existing instance to copy.
+     */
+    private Builder(org.apache.flink.formats.avro.generated.UnionLogicalType other) {
+      super(SCHEMA$);
+      if (isValidValue(fields()[0], other.nullableTimestamp)) {
+        this.nullableTimestamp = data().deepCopy(fields()[0].schema(), other.nullableTimestamp);
+        fieldSetFlags()[0] = true;
+      }
+    }
+
+    /**
+      * Gets the value of the 'nullableTimestamp' field.
+      * @return The value.
+      */
+    public java.time.Instant getNullableTimestamp() {
+      return nullableTimestamp;
+    }
+
+
+    /**
+      * Sets the value of the 'nullableTimestamp' field.
+      * @param value The value of 'nullableTimestamp'.
+      * @return This builder.
+      */
+    public org.apache.flink.formats.avro.generated.UnionLogicalType.Builder setNullableTimestamp(java.time.Instant value) {
+      validate(fields()[0], value);
+      this.nullableTimestamp = value;
+      fieldSetFlags()[0] = true;
+      return this;
+    }
+
+    /**
+      * Checks whether the 'nullableTimestamp' field has been set.
+      * @return True if the 'nullableTimestamp' field has been set, false otherwise.
+      */
+    public boolean hasNullableTimestamp() {
+      return fieldSetFlags()[0];
+    }
+
+
+    /**
+      * Clears the value of the 'nullableTimestamp' field.
+      * @return This builder.
+      */
+    public org.apache.flink.formats.avro.generated.UnionLogicalType.Builder clearNullableTimestamp() {
+      nullableTimestamp = null;
+      fieldSetFlags()[0] = false;
+      return this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public UnionLogicalType build() {
+      try {
+        UnionLogicalType record = new UnionLogicalType();
+        record.nullableTimestamp = fieldSetFlags()[0] ? this.nullableTimestamp : (java.time.Instant) defaultValue(fields()[0]);
+        return record;
+      } catch (org.apache.avro.AvroMissingFieldException e) {
+        throw e;
+      } catch (java.lang.Exception e) {
+        throw new org.apache.avro.AvroRuntimeException(e);
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static final org.apache.avro.io.DatumWriter<UnionLogicalType>
+    WRITER$ = (org.apache.avro.io.DatumWriter<UnionLogicalType>)MODEL$.createDatumWriter(SCHEMA$);
+
+  @Override public void writeExternal(java.io.ObjectOutput out)
+    throws java.io.IOException {
+    WRITER$.write(this, SpecificData.getEncoder(out));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static final org.apache.avro.io.DatumReader<UnionLogicalType>
+    READER$ = (org.apache.avro.io.DatumReader<UnionLogicalType>)MODEL$.createDatumReader(SCHEMA$);
+
+  @Override public void readExternal(java.io.ObjectInput in)
+    throws java.io.IOException {
+    READER$.read(this, SpecificData.getDecoder(in));
+  }
+
+}
+
+
+
+
+
+
+
+
+
+
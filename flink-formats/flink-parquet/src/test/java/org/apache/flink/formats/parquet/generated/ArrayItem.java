@@ -0,0 +1,390 @@
+/**
+ * Autogenerated by Avro
+ *
+ * DO NOT EDIT DIRECTLY
+ */
+package org.apache.flink.formats.parquet.generated;
+
+import org.apache.avro.generic.GenericArray;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.util.Utf8;
+import org.apache.avro.message.BinaryMessageEncoder;
+import org.apache.avro.message.BinaryMessageDecoder;
+import org.apache.avro.message.SchemaStore;
+
+@org.apache.avro.specific.AvroGenerated
+public class ArrayItem extends org.apache.avro.specific.SpecificRecordBase implements org.apache.avro.specific.SpecificRecord {
+  private static final long serialVersionUID = -4341645902452182908L;
+  public static final org.apache.avro.Schema SCHEMA$ = new org.apache.avro.Schema.Parser().parse("{\"type\":\"record\",\"name\":\"ArrayItem\",\"namespace\":\"org.apache.flink.formats.parquet.generated\",\"fields\":[{\"name\":\"type\",\"type\":\"string\"},{\"name\":\"value\",\"type\":\"long\"}]}");
+  public static org.apache.avro.Schema getClassSchema() { return SCHEMA$; }
+
+  private static SpecificData MODEL$ = new SpecificData();
+
+  private static final BinaryMessageEncoder<ArrayItem> ENCODER =
+      new BinaryMessageEncoder<ArrayItem>(MODEL$, SCHEMA$);
+
+  private static final BinaryMessageDecoder<ArrayItem> DECODER =
+      new BinaryMessageDecoder<ArrayItem>(MODEL$, SCHEMA$);
+
+  /**
+   * Return the BinaryMessageEncoder instance used by this class.
+   * @return the message encoder used by this class
+   */
+  public static BinaryMessageEncoder<ArrayItem> getEncoder() {
+    return ENCODER;
+  }
+
+  /**
+   * Return the BinaryMessageDecoder instance used by this class.
+   * @return the message decoder used by this class
+   */
+  public static BinaryMessageDecoder<ArrayItem> getDecoder() {
+    return DECODER;
+  }
+
+  /**
+   * Create a new BinaryMessageDecoder instance for this class that uses the specified {@link SchemaStore}.
+   * @param resolver a {@link SchemaStore} used to find schemas by fingerprint
+   * @return a BinaryMessageDecoder instance for this class backed by the given SchemaStore
+   */
+  public static BinaryMessageDecoder<ArrayItem> createDecoder(SchemaStore resolver) {
+    return new BinaryMessageDecoder<ArrayItem>(MODEL$, SCHEMA$, resolver);
+  }
+
+  /**
+   * Serializes this ArrayItem to a ByteBuffer.
+   * @return a buffer holding the serialized data for this instance
+   * @throws java.io.IOException if this instance could not be serialized
+   */
+  public java.nio.ByteBuffer toByteBuffer() throws java.io.IOException {
+    return ENCODER.encode(this);
+  }
+
+  /**
+   * Deserializes a ArrayItem from a ByteBuffer.
+   * @param b a byte buffer holding serialized data for an instance of this class
+   * @return a ArrayItem instance decoded from the given buffer
+   * @throws java.io.IOException if the given bytes could not be deserialized into an instance of this class
+   */
+  public static ArrayItem fromByteBuffer(
+      java.nio.ByteBuffer b) throws java.io.IOException {
+    return DECODER.decode(b);
+  }
+
+   private java.lang.CharSequence type;
+   private long value;
+
+  /**
+   * Default constructor.  Note that this does not initialize fields
+   * to their default values from the schema.  If that is desired then
+   * one should use <code>newBuilder()</code>.
+   */
+  public ArrayItem() {}
+
+  /**
+   * All-args constructor.
+   * @param type The new value for type
+   * @param value The new value for value
+   */
+  public ArrayItem(java.lang.CharSequence type, java.lang.Long value) {
+    this.type = type;
+    this.value = value;
+  }
+
+  public org.apache.avro.specific.SpecificData getSpecificData() { return MODEL$; }
+  public org.apache.avro.Schema getSchema() { return SCHEMA$; }
+  // Used by DatumWriter.  Applications should not call.
+  public java.lang.Object get(int field$) {
+    switch (field$) {
+    case 0: return type;
+    case 1: return value;
+    default: throw new IndexOutOfBoundsException("Invalid index: " + field$);
+    }
+  }
+
+  // Used by DatumReader.  Applications should not call.
+  @SuppressWarnings(value="unchecked")
+  public void put(int field$, java.lang.Object value$) {
+    switch (field$) {
+    case 0: type = (java.lang.CharSequence)value$; break;
+    case 1: value = (java.lang.Long)value$; break;
+    default: throw new IndexOutOfBoundsException("Invalid index: " + field$);
+    }
+  }
+
+  /**
+   * Gets the value of the 'type' field.
+   * @return The value of the 'type' field.
+   */
+  public java.lang.CharSequence getType() {
+    return type;
+  }
+
+
+  /**
+   * Sets the value of the 'type' field.
+   * @param value the value to set.
+   */
+  public void setType(java.lang.CharSequence value) {
+    this.type = value;
+  }
+
+  /**
+   * Gets the value of the 'value' field.
+   * @return The value of the 'value' field.
+   */
+  public long getValue() {
+    return value;
+  }
+
+
+  /**
+   * Sets the value of the 'value' field.
+   * @param value the value to set.
+   */
+  public void setValue(long value) {
+    this.value = value;
+  }
+
+  /**
+   * Creates a new ArrayItem RecordBuilder.
+   * @return A new ArrayItem RecordBuilder
+   */
+  public static org.apache.flink.formats.parquet.generated.ArrayItem.Builder newBuilder() {
+    return new org.apache.flink.formats.parquet.generated.ArrayItem.Builder();
+  }
+
+  /**
+   * Creates a new ArrayItem RecordBuilder by copying an existing Builder.
+   * @param other The existing builder to copy.
+   * @return A new ArrayItem RecordBuilder
+   */
+  public static org.apache.flink.formats.parquet.generated.ArrayItem.Builder newBuilder(org.apache.flink.formats.parquet.generated.ArrayItem.Builder other) {
+    if (other == null) {
+      return new org.apache.flink.formats.parquet.generated.ArrayItem.Builder();
+    } else {
+      return new org.apache.flink.formats.parquet.generated.ArrayItem.Builder(other);
+    }
+  }
+
+  /**
+   * Creates a new ArrayItem RecordBuilder by copying an existing ArrayItem instance.
+   * @param other The existing instance to copy.
+   * @return A new ArrayItem RecordBuilder
+   */
+  public static org.apache.flink.formats.parquet.generated.ArrayItem.Builder newBuilder(org.apache.flink.formats.parquet.generated.ArrayItem other) {
+    if (other == null) {
+      return new org.apache.flink.formats.parquet.generated.ArrayItem.Builder();
+    } else {
+      return new org.apache.flink.formats.parquet.generated.ArrayItem.Builder(other);
+    }
+  }
+
+  /**
+   * RecordBuilder for ArrayItem instances.
+   */
+  @org.apache.avro.specific.AvroGenerated
+  public static class Builder extends org.apache.avro.specific.SpecificRecordBuilderBase<ArrayItem>
+    implements org.apache.avro.data.RecordBuilder<ArrayItem> {
+
+    private java.lang.CharSequence type;
+    private long value;
+
+    /** Creates a new Builder */
+    private Builder() {
+      super(SCHEMA$);
+    }
+
+    /**
+     * Creates a Builder by copying an existing Builder.
+     * @param other The existing Builder to copy.
+     */
+    private Builder(org.apache.flink.formats.parquet.generated.ArrayItem.Builder other) {
+      super(other);
+      if (isValidValue(fields()[0], other.type)) {
+        this.type = data().deepCopy(fields()[0].schema(), other.type);
+        fieldSetFlags()[0] = other.fieldSetFlags()[0];
+      }
+      if (isValidValue(fields()[1], other.value)) {
+        this.value = data().deepCopy(fields()[1].schema(), other.value);
+        fieldSetFlags()[1] = other.fieldSetFlags()[1];
+      }
+    }
+
+    /**
+     * Creates a Builder by copying an existing ArrayItem instance
+     * @param other The existing instance to copy.
+     */
+    private Builder(org.apache.flink.formats.parquet.generated.ArrayItem other) {
+      super(SCHEMA$);
+      if (isValidValue(fields()[0], other.type)) {
+        this.type = data().deepCopy(fields()[0].schema(), other.type);
+        fieldSetFlags()[0] = true;
+      }
+      if (isValidValue(fields()[1], other.value)) {
+        this.value = data().deepCopy(fields()[1].schema(), other.value);
+        fieldSetFlags()[1] = true;
+      }
+    }
+
+    /**
+      * Gets the value of the 'type' field.
+      * @return The value.
+      */
+    public java.lang.CharSequence getType() {
+      return type;
+    }
+
+
+    /**
+      * Sets the value of the 'type' field.
+      * @param value The value of 'type'.
+      * @return This builder.
+      */
+    public org.apache.flink.formats.parquet.generated.ArrayItem.Builder setType(java.lang.CharSequence value) {
+      validate(fields()[0], value);
+      this.type = value;
+      fieldSetFlags()[0] = true;
+      return this;
+    }
+
+    /**
+      * Checks whether the 'type' field has been set.
+      * @return True if the 'type' field has been set, false otherwise.
+      */
+    public boolean hasType() {
+      return fieldSetFlags()[0];
+    }
+
+
+    /**
+      * Clears the value of the 'type' field.
+      * @return This builder.
+      */
+    public org.apache.flink.formats.parquet.generated.ArrayItem.Builder clearType() {
+      type = null;
+      fieldSetFlags()[0] = false;
+      return this;
+    }
+
+    /**
+      * Gets the value of the 'value' field.
+      * @return The value.
+      */
+    public long getValue() {
+      return value;
+    }
+
+
+    /**
+      * Sets the value of the 'value' field.
+      * @param value The value of 'value'.
+      * @return This builder.
+      */
+    public org.apache.flink.formats.parquet.generated.ArrayItem.Builder setValue(long value) {
+      validate(fields()[1], value);
+      this.value = value;
+      fieldSetFlags()[1] = true;
+      return this;
+    }
+
+    /**
+      * Checks whether the 'value' field has been set.
+      * @return True if the 'value' field has been set, false otherwise.
+      */
+    public boolean hasValue() {
+      return fieldSetFlags()[1];
+    }
+
+
+    /**
+      * Clears the value of the 'value' field.
+      * @return This builder.
+      */
+    public org.apache.flink.formats.parquet.generated.ArrayItem.Builder clearValue() {
+      fieldSetFlags()[1] = false;
+      return this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ArrayItem build() {
+      try {
+        ArrayItem record = new ArrayItem();
+        record.type = fieldSetFlags()[0] ? this.type : (java.lang.CharSequence) defaultValue(fields()[0]);
+        record.value = fieldSetFlags()[1] ? this.value : (java.lang.Long) defaultValue(fields()[1]);
+        return record;
+      } catch (org.apache.avro.AvroMissingFieldException e) {
+        throw e;
+      } catch (java.lang.Exception e) {
+        throw new org.apache.avro.AvroRuntimeException(e);
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static final org.apache.avro.io.DatumWriter<ArrayItem>
+    WRITER$ = (org.apache.avro.io.DatumWriter<ArrayItem>)MODEL$.createDatumWriter(SCHEMA$);
+
+  @Override public void writeExternal(java.io.ObjectOutput out)
+    throws java.io.IOException {
+    WRITER$.write(this, SpecificData.getEncoder(out));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static final org.apache.avro.io.DatumReader<ArrayItem>
+    READER$ = (org.apache.avro.io.DatumReader<ArrayItem>)MODEL$.createDatumReader(SCHEMA$);
+
+  @Override public void readExternal(java.io.ObjectInput in)
+    throws java.io.IOException {
+    READER$.read(this, SpecificData.getDecoder(in));
+  }
+
+  @Override protected boolean hasCustomCoders() { return true; }
+
+  @Override public void customEncode(org.apache.avro.io.Encoder out)
+    throws java.io.IOException
+  {
+    out.writeString(this.type);
+
+    out.writeLong(this.value);
+
+  }
+
+  @Override public void customDecode(org.apache.avro.io.ResolvingDecoder in)
+    throws java.io.IOException
+  {
+    org.apache.avro.Schema.Field[] fieldOrder = in.readFieldOrderIfDiff();
+    if (fieldOrder == null) {
+      this.type = in.readString(this.type instanceof Utf8 ? (Utf8)this.type : null);
+
+      this.value = in.readLong();
+
+    } else {
+      for (int i = 0; i < 2; i++) {
+        switch (fieldOrder[i].pos()) {
+        case 0:
+          this.type = in.readString(this.type instanceof Utf8 ? (Utf8)this.type : null);
+          break;
+
+        case 1:
+          this.value = in.readLong();
+          break;
+
+        default:
+          throw new java.io.IOException("Corrupt ResolvingDecoder.");
+        }
+      }
+    }
+  }
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,556 @@
+/**
+ * Autogenerated by Avro
+ *
+ * DO NOT EDIT DIRECTLY
+ */
+package org.apache.flink.formats.parquet.generated;
+
+import org.apache.avro.generic.GenericArray;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.util.Utf8;
+import org.apache.avro.message.BinaryMessageEncoder;
+import org.apache.avro.message.BinaryMessageDecoder;
+import org.apache.avro.message.SchemaStore;
+
+@org.apache.avro.specific.AvroGenerated
+public class SimpleRecord extends org.apache.avro.specific.SpecificRecordBase implements org.apache.avro.specific.SpecificRecord {
+  private static final long serialVersionUID = -6587201329523714120L;
+  public static final org.apache.avro.Schema SCHEMA$ = new org.apache.avro.Schema.Parser().parse("{\"type\":\"record\",\"name\":\"SimpleRecord\",\"namespace\":\"org.apache.flink.formats.parquet.generated\",\"fields\":[{\"name\":\"foo\",\"type\":[\"null\",\"long\"],\"default\":null},{\"name\":\"bar\",\"type\":[\"null\",\"string\"],\"default\":null},{\"name\":\"arr\",\"type\":[\"null\",{\"type\":\"array\",\"items\":\"long\"}],\"default\":null}],\"schema_id\":1}");
+  public static org.apache.avro.Schema getClassSchema() { return SCHEMA$; }
+
+  private static SpecificData MODEL$ = new SpecificData();
+
+  private static final BinaryMessageEncoder<SimpleRecord> ENCODER =
+      new BinaryMessageEncoder<SimpleRecord>(MODEL$, SCHEMA$);
+
+  private static final BinaryMessageDecoder<SimpleRecord> DECODER =
+      new BinaryMessageDecoder<SimpleRecord>(MODEL$, SCHEMA$);
+
+  /**
+   * Return the BinaryMessageEncoder instance used by this class.
+   * @return the message encoder used by this class
+   */
+  public static BinaryMessageEncoder<SimpleRecord> getEncoder() {
+    return ENCODER;
+  }
+
+  /**
+   * Return the BinaryMessageDecoder instance used by this class.
+   * @return the message decoder used by this class
+   */
+  public static BinaryMessageDecoder<SimpleRecord> getDecoder() {
+    return DECODER;
+  }
+
+  /**
+   * Create a new BinaryMessageDecoder instance for this class that uses the specified {@link SchemaStore}.
+   * @param resolver a {@link SchemaStore} used to find schemas by fingerprint
+   * @return a BinaryMessageDecoder instance for this class backed by the given SchemaStore
+   */
+  public static BinaryMessageDecoder<SimpleRecord> createDecoder(SchemaStore resolver) {
+    return new BinaryMessageDecoder<SimpleRecord>(MODEL$, SCHEMA$, resolver);
+  }
+
+  /**
+   * Serializes this SimpleRecord to a ByteBuffer.
+   * @return a buffer holding the serialized data for this instance
+   * @throws java.io.IOException if this instance could not be serialized
+   */
+  public java.nio.ByteBuffer toByteBuffer() throws java.io.IOException {
+    return ENCODER.encode(this);
+  }
+
+  /**
+   * Deserializes a SimpleRecord from a ByteBuffer.
+   * @param b a byte buffer holding serialized data for an instance of this class
+   * @return a SimpleRecord instance decoded from the given buffer
+   * @throws java.io.IOException if the given bytes could not be deserialized into an instance of this class
+   */
+  public static SimpleRecord fromByteBuffer(
+      java.nio.ByteBuffer b) throws java.io.IOException {
+    return DECODER.decode(b);
+  }
+
+   private java.lang.Long foo;
+   private java.lang.CharSequence bar;
+   private java.util.List<java.lang.Long> arr;
+
+  /**
+   * Default constructor.  Note that this does not initialize fields
+   * to their default values from the schema.  If that is desired then
+   * one should use <code>newBuilder()</code>.
+   */
+  public SimpleRecord() {}
+
+  /**
+   * All-args constructor.
+   * @param foo The new value for foo
+   * @param bar The new value for bar
+   * @param arr The new value for arr
+   */
+  public SimpleRecord(java.lang.Long foo, java.lang.CharSequence bar, java.util.List<java.lang.Long> arr) {
+    this.foo = foo;
+    this.bar = bar;
+    this.arr = arr;
+  }
+
+  public org.apache.avro.specific.SpecificData getSpecificData() { return MODEL$; }
+  public org.apache.avro.Schema getSchema() { return SCHEMA$; }
+  // Used by DatumWriter.  Applications should not call.
+  public java.lang.Object get(int field$) {
+    switch (field$) {
+    case 0: return foo;
+    case 1: return bar;
+    case 2: return arr;
+    default: throw new IndexOutOfBoundsException("Invalid index: " + field$);
+    }
+  }
+
+  // Used by DatumReader.  Applications should not call.
+  @SuppressWarnings(value="unchecked")
+  public void put(int field$, java.lang.Object value$) {
+    switch (field$) {
+    case 0: foo = (java.lang.Long)value$; break;
+    case 1: bar = (java.lang.CharSequence)value$; break;
+    case 2: arr = (java.util.List<java.lang.Long>)value$; break;
+    default: throw new IndexOutOfBoundsException("Invalid index: " + field$);
+    }
+  }
+
+  /**
+   * Gets the value of the 'foo' field.
+   * @return The value of the 'foo' field.
+   */
+  public java.lang.Long getFoo() {
+    return foo;
+  }
+
+
+  /**
+   * Sets the value of the 'foo' field.
+   * @param value the value to set.
+   */
+  public void setFoo(java.lang.Long value) {
+    this.foo = value;
+  }
+
+  /**
+   * Gets the value of the 'bar' field.
+   * @return The value of the 'bar' field.
+   */
+  public java.lang.CharSequence getBar() {
+    return bar;
+  }
+
+
+  /**
+   * Sets the value of the 'bar' field.
+   * @param value the value to set.
+   */
+  public void setBar(java.lang.CharSequence value) {
+    this.bar = value;
+  }
+
+  /**
+   * Gets the value of the 'arr' field.
+   * @return The value of the 'arr' field.
+   */
+  public java.util.List<java.lang.Long> getArr() {
+    return arr;
+  }
+
+
+  /**
+   * Sets the value of the 'arr' field.
+   * @param value the value to set.
+   */
+  public void setArr(java.util.List<java.lang.Long> value) {
+    this.arr = value;
+  }
+
+  /**
+   * Creates a new SimpleRecord RecordBuilder.
+   * @return A new SimpleRecord RecordBuilder
+   */
+  public static org.apache.flink.formats.parquet.generated.SimpleRecord.Builder newBuilder() {
+    return new org.apache.flink.formats.parquet.generated.SimpleRecord.Builder();
+  }
+
+  /**
+   * Creates a new SimpleRecord RecordBuilder by copying an existing Builder.
+   * @param other The existing builder to copy.
+   * @return A new SimpleRecord RecordBuilder
+   */
+  public static org.apache.flink.formats.parquet.generated.SimpleRecord.Builder newBuilder(org.apache.flink.formats.parquet.generated.SimpleRecord.Builder other) {
+    if (other == null) {
+      return new org.apache.flink.formats.parquet.generated.SimpleRecord.Builder();
+    } else {
+      return new org.apache.flink.formats.parquet.generated.SimpleRecord.Builder(other);
+    }
+  }
+
+  /**
+   * Creates a new SimpleRecord RecordBuilder by copying an existing SimpleRecord instance.
+   * @param other The existing instance to copy.
+   * @return A new SimpleRecord RecordBuilder
+   */
+  public static org.apache.flink.formats.parquet.generated.SimpleRecord.Builder newBuilder(org.apache.flink.formats.parquet.generated.SimpleRecord other) {
+    if (other == null) {
+      return new org.apache.flink.formats.parquet.generated.SimpleRecord.Builder();
+    } else {
+      return new org.apache.flink.formats.parquet.generated.SimpleRecord.Builder(other);
+    }
+  }
+
+  /**
+   * RecordBuilder for SimpleRecord instances.
+   */
+  @org.apache.avro.specific.AvroGenerated
+  public static class Builder extends org.apache.avro.specific.SpecificRecordBuilderBase<SimpleRecord>
+    implements org.apache.avro.data.RecordBuilder<SimpleRecord> {
+
+    private java.lang.Long foo;
+    private java.lang.CharSequence bar;
+    private java.util.List<java.lang.Long> arr;
+
+    /** Creates a new Builder */
+    private Builder() {
+      super(SCHEMA$);
+    }
+
+    /**
+     * Creates a Builder by copying an existing Builder.
+     * @param other The existing Builder to copy.
+     */
+    private Builder(org.apache.flink.formats.parquet.generated.SimpleRecord.Builder other) {
+      super(other);
+      if (isValidValue(fields()[0], other.foo)) {
+        this.foo = data().deepCopy(fields()[0].schema(), other.foo);
+        fieldSetFlags()[0] = other.fieldSetFlags()[0];
+      }
+      if (isValidValue(fields()[1], other.bar)) {
+        this.bar = data().deepCopy(fields()[1].schema(), other.bar);
+        fieldSetFlags()[1] = other.fieldSetFlags()[1];
+      }
+      if (isValidValue(fields()[2], other.arr)) {
+        this.arr = data().deepCopy(fields()[2].schema(), other.arr);
+        fieldSetFlags()[2] = other.fieldSetFlags()[2];
+      }
+    }
+
+    /**
+     * Creates a Builder by copying an existing SimpleRecord instance
+     * @param other The existing instance to copy.
+     */
+    private Builder(org.apache.flink.formats.parquet.generated.SimpleRecord other) {
+      super(SCHEMA$);
+      if (isValidValue(fields()[0], other.foo)) {
+        this.foo = data().deepCopy(fields()[0].schema(), other.foo);
+        fieldSetFlags()[0] = true;
+      }
+      if (isValidValue(fields()[1], other.bar)) {
+        this.bar = data().deepCopy(fields()[1].schema(), other.bar);
+        fieldSetFlags()[1] = true;
+      }
+      if (isValidValue(fields()[2], other.arr)) {
+        this.arr = data().deepCopy(fields()[2].schema(), other.arr);
+        fieldSetFlags()[2] = true;
+      }
+    }
+
+    /**
+      * Gets the value of the 'foo' field.
+      * @return The value.
+      */
+    public java.lang.Long getFoo() {
+      return foo;
+    }
+
+
+    /**
+      * Sets the value of the 'foo' field.
+      * @param value The value of 'foo'.
+      * @return This builder.
+      */
+    public org.apache.flink.formats.parquet.generated.SimpleRecord.Builder setFoo(java.lang.Long value) {
+      validate(fields()[0], value);
+      this.foo = value;
+      fieldSetFlags()[0] = true;
+      return this;
+    }
+
+    /**
+      * Checks whether the 'foo' field has been set.
+      * @return True if the 'foo' field has been set, false otherwise.
+      */
+    public boolean hasFoo() {
+      return fieldSetFlags()[0];
+    }
+
+
+    /**
+      * Clears the value of the 'foo' field.
+      * @return This builder.
+      */
+    public org.apache.flink.formats.parquet.generated.SimpleRecord.Builder clearFoo() {
+      foo = null;
+      fieldSetFlags()[0] = false;
+      return this;
+    }
+
+    /**
+      * Gets the value of the 'bar' field.
+      * @return The value.
+      */
+    public java.lang.CharSequence getBar() {
+      return bar;
+    }
+
+
+    /**
+      * Sets the value of the 'bar' field.
+      * @param value The value of 'bar'.
+      * @return This builder.
+      */
+    public org.apache.flink.formats.parquet.generated.SimpleRecord.Builder setBar(java.lang.CharSequence value) {
+      validate(fields()[1], value);
+      this.bar = value;
+      fieldSetFlags()[1] = true;
+      return this;
+    }
+
+    /**
+      * Checks whether the 'bar' field has been set.
+      * @return True if the 'bar' field has been set, false otherwise.
+      */
+    public boolean hasBar() {
+      return fieldSetFlags()[1];
+    }
+
+
+    /**
+      * Clears the value of the 'bar' field.
+      * @return This builder.
+      */
+    public org.apache.flink.formats.parquet.generated.SimpleRecord.Builder clearBar() {
+      bar = null;
+      fieldSetFlags()[1] = false;
+      return this;
+    }
+
+    /**
+      * Gets the value of the 'arr' field.
+      * @return The value.
+      */
+    public java.util.List<java.lang.Long> getArr() {
+      return arr;
+    }
+
+
+    /**
+      * Sets the value of the 'arr' field.
+      * @param value The value of 'arr'.
+      * @return This builder.
+      */
+    public org.apache.flink.formats.parquet.generated.SimpleRecord.Builder setArr(java.util.List<java.lang.Long> value) {
+      validate(fields()[2], value);
+      this.arr = value;
+      fieldSetFlags()[2] = true;
+      return this;
+    }
+
+    /**
+      * Checks whether the 'arr' field has been set.
+      * @return True if the 'arr' field has been set, false otherwise.
+      */
+    public boolean hasArr() {
+      return fieldSetFlags()[2];
+    }
+
+
+    /**
+      * Clears the value of the 'arr' field.
+      * @return This builder.
+      */
+    public org.apache.flink.formats.parquet.generated.SimpleRecord.Builder clearArr() {
+      arr = null;
+      fieldSetFlags()[2] = false;
+      return this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public SimpleRecord build() {
+      try {
+        SimpleRecord record = new SimpleRecord();
+        record.foo = fieldSetFlags()[0] ? this.foo : (java.lang.Long) defaultValue(fields()[0]);
+        record.bar = fieldSetFlags()[1] ? this.bar : (java.lang.CharSequence) defaultValue(fields()[1]);
+        record.arr = fieldSetFlags()[2] ? this.arr : (java.util.List<java.lang.Long>) defaultValue(fields()[2]);
+        return record;
+      } catch (org.apache.avro.AvroMissingFieldException e) {
+        throw e;
+      } catch (java.lang.Exception e) {
+        throw new org.apache.avro.AvroRuntimeException(e);
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static final org.apache.avro.io.DatumWriter<SimpleRecord>
+    WRITER$ = (org.apache.avro.io.DatumWriter<SimpleRecord>)MODEL$.createDatumWriter(SCHEMA$);
+
+  @Override public void writeExternal(java.io.ObjectOutput out)
+    throws java.io.IOException {
+    WRITER$.write(this, SpecificData.getEncoder(out));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static final org.apache.avro.io.DatumReader<SimpleRecord>
+    READER$ = (org.apache.avro.io.DatumReader<SimpleRecord>)MODEL$.createDatumReader(SCHEMA$);
+
+  @Override public void readExternal(java.io.ObjectInput in)
+    throws java.io.IOException {
+    READER$.read(this, SpecificData.getDecoder(in));
+  }
+
+  @Override protected boolean hasCustomCoders() { return true; }
+
+  @Override public void customEncode(org.apache.avro.io.Encoder out)
+    throws java.io.IOException
+  {
+    if (this.foo == null) {
+      out.writeIndex(0);
+      out.writeNull();
+    } else {
+      out.writeIndex(1);
+      out.writeLong(this.foo);
+    }
+
+    if (this.bar == null) {
+      out.writeIndex(0);
+      out.writeNull();
+    } else {
+      out.writeIndex(1);
+      out.writeString(this.bar);
+    }
+
+    if (this.arr == null) {
+      out.writeIndex(0);
+      out.writeNull();
+    } else {
+      out.writeIndex(1);
+      long size0 = this.arr.size();
+      out.writeArrayStart();
+      out.setItemCount(size0);
+      long actualSize0 = 0;
+      for (java.lang.Long e0: this.arr) {
+        actualSize0++;
+        out.startItem();
+        out.writeLong(e0);
+      }
+      out.writeArrayEnd();
+      if (actualSize0 != size0)
+        throw new java.util.ConcurrentModificationException("Array-size written was " + size0 + ", but element count was " + actualSize0 + ".");
+    }
+
+  }
+
+  @Override public void customDecode(org.apache.avro.io.ResolvingDecoder in)
+    throws java.io.IOException
+  {
+    org.apache.avro.Schema.Field[] fieldOrder = in.readFieldOrderIfDiff();
+    if (fieldOrder == null) {
+      if (in.readIndex() != 1) {
+        in.readNull();
+        this.foo = null;
+      } else {
+        this.foo = in.readLong();
+      }
+
+      if (in.readIndex() != 1) {
+        in.readNull();
+        this.bar = null;
+      } else {
+        this.bar = in.readString(this.bar instanceof Utf8 ? (Utf8)this.bar : null);
+      }
+
+      if (in.readIndex() != 1) {
+        in.readNull();
+        this.arr = null;
+      } else {
+        long size0 = in.readArrayStart();
+        java.util.List<java.lang.Long> a0 = this.arr;
+        if (a0 == null) {
+          a0 = new SpecificData.Array<java.lang.Long>((int)size0, SCHEMA$.getField("arr").schema().getTypes().get(1));
+          this.arr = a0;
+        } else a0.clear();
+        SpecificData.Array<java.lang.Long> ga0 = (a0 instanceof SpecificData.Array ? (SpecificData.Array<java.lang.Long>)a0 : null);
+        for ( ; 0 < size0; size0 = in.arrayNext()) {
+          for ( ; size0 != 0; size0--) {
+            java.lang.Long e0 = (ga0 != null ? ga0.peek() : null);
+            e0 = in.readLong();
+            a0.add(e0);
+          }
+        }
+      }
+
+    } else {
+      for (int i = 0; i < 3; i++) {
+        switch (fieldOrder[i].pos()) {
+        case 0:
+          if (in.readIndex() != 1) {
+            in.readNull();
+            this.foo = null;
+          } else {
+            this.foo = in.readLong();
+          }
+          break;
+
+        case 1:
+          if (in.readIndex() != 1) {
+            in.readNull();
+            this.bar = null;
+          } else {
+            this.bar = in.readString(this.bar instanceof Utf8 ? (Utf8)this.bar : null);
+          }
+          break;
+
+        case 2:
+          if (in.readIndex() != 1) {
+            in.readNull();
+            this.arr = null;
+          } else {
+            long size0 = in.readArrayStart();
+            java.util.List<java.lang.Long> a0 = this.arr;
+            if (a0 == null) {
+              a0 = new SpecificData.Array<java.lang.Long>((int)size0, SCHEMA$.getField("arr").schema().getTypes().get(1));
+              this.arr = a0;
+            } else a0.clear();
+            SpecificData.Array<java.lang.Long> ga0 = (a0 instanceof SpecificData.Array ? (SpecificData.Array<java.lang.Long>)a0 : null);
+            for ( ; 0 < size0; size0 = in.arrayNext()) {
+              for ( ; size0 != 0; size0--) {
+                java.lang.Long e0 = (ga0 != null ? ga0.peek() : null);
+                e0 = in.readLong();
+                a0.add(e0);
+              }
+            }
+          }
+          break;
+
+        default:
+          throw new java.io.IOException("Corrupt ResolvingDecoder.");
+        }
+      }
+    }
+  }
+}
+
+
+
+
+
+
+
+
+
+
@@ -24,6 +24,7 @@ import org.apache.flink.runtime.checkpoint.PrioritizedOperatorSubtaskState;
 import org.apache.flink.runtime.checkpoint.TaskStateSnapshot;
 import org.apache.flink.runtime.checkpoint.channel.SequentialChannelStateReader;
 import org.apache.flink.runtime.jobgraph.OperatorID;
+import org.apache.flink.runtime.state.CheckpointUploadThrottle;
 import org.apache.flink.runtime.state.LocalRecoveryConfig;
 import org.apache.flink.runtime.state.LocalRecoveryDirectoryProvider;
 import org.apache.flink.runtime.state.TaskStateManager;
@@ -72,6 +73,12 @@ final class SavepointTaskStateManager implements TaskStateManager {
 		return SequentialChannelStateReader.NO_OP;
 	}
 
+	@Nonnull
+	@Override
+	public CheckpointUploadThrottle getCheckpointUploadThrottle() {
+		return new CheckpointUploadThrottle();
+	}
+
 	@Override
 	public void notifyCheckpointComplete(long checkpointId) {
 		throw new UnsupportedOperationException(MSG);
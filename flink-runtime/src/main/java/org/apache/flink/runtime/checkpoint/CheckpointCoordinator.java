@@ -70,11 +70,13 @@ import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 
@@ -100,6 +102,11 @@ public class CheckpointCoordinator {
 	/** Coordinator-wide lock to safeguard the checkpoint updates. */
 	private final Object lock = new Object();
 
+	/** Lock to safeguard the completed checkpoint store and the shared state registry, so that completed
+	 * checkpoints can be stored without holding the coordinator-wide lock. It may be acquired while holding
+	 * the coordinator-wide lock, but never the other way round. */
+	private final Object storeLock = new Object();
+
 	/** The job whose checkpoint this coordinator coordinates. */
 	private final JobID job;
 
@@ -130,8 +137,26 @@ public class CheckpointCoordinator {
 
 	/** Completed checkpoints. Implementations can be blocking. Make sure calls to methods
 	 * accessing this don't block the job manager actor and run asynchronously. */
+	@GuardedBy("storeLock")
 	private final CompletedCheckpointStore completedCheckpointStore;
 
+	/** The IDs of the fully acknowledged checkpoints that are being completed. These remain pending
+	 * until they are completed, but cannot be aborted any more. */
+	@GuardedBy("lock")
+	private final Set<Long> completingCheckpoints = new HashSet<>();
+
+	/** The completion of the most recently fully acknowledged checkpoint. Checkpoints are completed one
+	 * after another, in the order in which they were fully acknowledged. */
+	@GuardedBy("lock")
+	private CompletableFuture<Void> latestCheckpointCompletion = FutureUtils.completedVoidFuture();
+
+	/** Acknowledge messages that are waiting to be processed in a batch. */
+	private final ConcurrentLinkedQueue<QueuedAcknowledgeMessage> queuedAcknowledgeMessages =
+		new ConcurrentLinkedQueue<>();
+
+	/** Flag whether the processing of the queued acknowledge messages is scheduled. */
+	private final AtomicBoolean acknowledgeMessagesProcessingScheduled = new AtomicBoolean(false);
+
 	/** The root checkpoint state backend, which is responsible for initializing the
 	 * checkpoint, storing the metadata, and cleaning up the checkpoint. */
 	private final CheckpointStorageCoordinatorView checkpointStorage;
@@ -193,6 +218,7 @@ public class CheckpointCoordinator {
 	private final SharedStateRegistryFactory sharedStateRegistryFactory;
 
 	/** Registry that tracks state which is shared across (incremental) checkpoints. */
+	@GuardedBy("storeLock")
 	private SharedStateRegistry sharedStateRegistry;
 
 	private boolean isPreferCheckpointForRecovery;
@@ -405,9 +431,12 @@ public class CheckpointCoordinator {
 				// clear queued requests and in-flight checkpoints
 				abortPendingAndQueuedCheckpoints(reason);
 
-				completedCheckpointStore.shutdown(jobStatus, checkpointsCleaner, () -> {
-					// don't schedule anything on shutdown
-				});
+				// checkpoints that are completing concurrently are discarded once they see the shutdown
+				synchronized (storeLock) {
+					completedCheckpointStore.shutdown(jobStatus, checkpointsCleaner, () -> {
+						// don't schedule anything on shutdown
+					});
+				}
 				checkpointIdCounter.shutdown(jobStatus);
 			}
 		}
@@ -960,6 +989,42 @@ public class CheckpointCoordinator {
 		}
 	}
 
+	/**
+	 * Queues an AcknowledgeCheckpoint message to be processed asynchronously. Messages that are queued
+	 * concurrently are processed in a batch, which acquires the coordinator-wide lock only once, so that the
+	 * acknowledgements of many subtasks do not contend for the lock one by one.
+	 *
+	 * @param message Checkpoint ack from the task manager
+	 * @param taskManagerLocationInfo The location of the acknowledge checkpoint message's sender
+	 */
+	public void queueAcknowledgeMessage(AcknowledgeCheckpoint message, String taskManagerLocationInfo) {
+		queuedAcknowledgeMessages.add(new QueuedAcknowledgeMessage(message, taskManagerLocationInfo));
+
+		if (acknowledgeMessagesProcessingScheduled.compareAndSet(false, true)) {
+			executor.execute(this::processQueuedAcknowledgeMessages);
+		}
+	}
+
+	private void processQueuedAcknowledgeMessages() {
+		do {
+			synchronized (lock) {
+				QueuedAcknowledgeMessage queued;
+				while ((queued = queuedAcknowledgeMessages.poll()) != null) {
+					try {
+						receiveAcknowledgeMessage(queued.message, queued.taskManagerLocationInfo);
+					} catch (Throwable t) {
+						LOG.warn("Error while processing checkpoint acknowledgement message", t);
+					}
+				}
+			}
+
+			acknowledgeMessagesProcessingScheduled.set(false);
+
+			// messages that were queued after the queue was drained, but before the flag was reset,
+			// would otherwise remain in the queue until the next message arrives
+		} while (!queuedAcknowledgeMessages.isEmpty() && acknowledgeMessagesProcessingScheduled.compareAndSet(false, true));
+	}
+
 	/**
 	 * Receives an AcknowledgeCheckpoint message and returns whether the
 	 * message was associated with a pending checkpoint.
@@ -970,7 +1035,9 @@ public class CheckpointCoordinator {
 	 * @return Flag indicating whether the ack'd checkpoint was associated
 	 * with a pending checkpoint.
 	 *
-	 * @throws CheckpointException If the checkpoint cannot be added to the completed checkpoint store.
+	 * @throws CheckpointException If the checkpoint is completed synchronously (because the executor of the
+	 *                             coordinator runs tasks synchronously) and cannot be added to the completed
+	 *                             checkpoint store.
 	 */
 	public boolean receiveAcknowledgeMessage(AcknowledgeCheckpoint message, String taskManagerLocationInfo) throws CheckpointException {
 		if (shutdown || message == null) {
@@ -1059,91 +1126,190 @@ public class CheckpointCoordinator {
 	/**
 	 * Try to complete the given pending checkpoint.
 	 *
+	 * <p>The checkpoint is completed asynchronously by the executor, without holding the checkpoint lock
+	 * while the metadata is written and the checkpoint is added to the completed checkpoint store. The
+	 * completions are pipelined: a checkpoint is only added to the store after all checkpoints that were
+	 * fully acknowledged before it, so that the store receives the checkpoints in order. Until the checkpoint
+	 * is completed, it remains pending, but it cannot be aborted any more.
+	 *
 	 * <p>Important: This method should only be called in the checkpoint lock scope.
 	 *
 	 * @param pendingCheckpoint to complete
-	 * @throws CheckpointException if the completion failed
+	 * @throws CheckpointException if the completion failed synchronously
 	 */
 	private void completePendingCheckpoint(PendingCheckpoint pendingCheckpoint) throws CheckpointException {
-		final long checkpointId = pendingCheckpoint.getCheckpointId();
-		final CompletedCheckpoint completedCheckpoint;
+		assert(Thread.holdsLock(lock));
 
-		// As a first step to complete the checkpoint, we register its state with the registry
-		Map<OperatorID, OperatorState> operatorStates = pendingCheckpoint.getOperatorStates();
-		sharedStateRegistry.registerAll(operatorStates.values());
+		// As a first step to complete the checkpoint, we register its state with the registry.
+		// This resolves the placeholders for shared state that is referenced by the metadata.
+		final SharedStateRegistry registry;
+		synchronized (storeLock) {
+			registry = sharedStateRegistry;
+			registry.registerAll(pendingCheckpoint.getOperatorStates().values());
+		}
+
+		completingCheckpoints.add(pendingCheckpoint.getCheckpointId());
+
+		final CompletableFuture<Void> completion = latestCheckpointCompletion.thenRunAsync(
+			() -> {
+				try {
+					completeFullyAcknowledgedCheckpoint(pendingCheckpoint, registry);
+				} catch (CheckpointException e) {
+					throw new CompletionException(e);
+				}
+			},
+			executor);
+
+		// the next checkpoint is completed after this one, whether this one succeeds or not
+		latestCheckpointCompletion = completion.handle((ignored, throwable) -> {
+			if (throwable != null) {
+				LOG.warn("Could not complete checkpoint {} of job {}.",
+					pendingCheckpoint.getCheckpointId(), job, ExceptionUtils.stripCompletionException(throwable));
+			}
+			return null;
+		});
 
+		// report the failure to the caller, if the checkpoint was completed synchronously
 		try {
-			try {
-				completedCheckpoint = pendingCheckpoint.finalizeCheckpoint(checkpointsCleaner, this::scheduleTriggerRequest, executor);
-				failureManager.handleCheckpointSuccess(pendingCheckpoint.getCheckpointId());
+			completion.getNow(null);
+		} catch (CompletionException e) {
+			final Throwable cause = ExceptionUtils.stripCompletionException(e);
+			if (cause instanceof CheckpointException) {
+				throw (CheckpointException) cause;
 			}
-			catch (Exception e1) {
+			throw new CheckpointException(CheckpointFailureReason.FINALIZE_CHECKPOINT_FAILURE, cause);
+		}
+	}
+
+	/**
+	 * Completes the given fully acknowledged checkpoint. The checkpoint lock is only held while updating
+	 * the pending checkpoints and sending the notifications, but not while writing the metadata and adding
+	 * the checkpoint to the completed checkpoint store.
+	 *
+	 * @param pendingCheckpoint to complete
+	 * @param registry the shared state registry with which the state of the checkpoint was registered
+	 * @throws CheckpointException if the completion failed
+	 */
+	private void completeFullyAcknowledgedCheckpoint(
+			PendingCheckpoint pendingCheckpoint,
+			SharedStateRegistry registry) throws CheckpointException {
+
+		final long checkpointId = pendingCheckpoint.getCheckpointId();
+		final CompletedCheckpoint completedCheckpoint;
+
+		// We write the metadata of the checkpoint. The pending checkpoint cannot be aborted concurrently,
+		// because it is completing.
+		try {
+			completedCheckpoint = pendingCheckpoint.finalizeCheckpoint(checkpointsCleaner, this::scheduleTriggerRequest, executor);
+		}
+		catch (Exception e1) {
+			synchronized (lock) {
+				completingCheckpoints.remove(checkpointId);
+
 				// abort the current pending checkpoint if we fails to finalize the pending checkpoint.
 				if (!pendingCheckpoint.isDisposed()) {
 					abortPendingCheckpoint(
 						pendingCheckpoint,
 						new CheckpointException(
 							CheckpointFailureReason.FINALIZE_CHECKPOINT_FAILURE, e1));
+				} else {
+					pendingCheckpoints.remove(checkpointId);
+					scheduleTriggerRequest();
 				}
+			}
+
+			throw new CheckpointException("Could not finalize the pending checkpoint " + checkpointId + '.',
+				CheckpointFailureReason.FINALIZE_CHECKPOINT_FAILURE, e1);
+		}
 
-				throw new CheckpointException("Could not finalize the pending checkpoint " + checkpointId + '.',
-					CheckpointFailureReason.FINALIZE_CHECKPOINT_FAILURE, e1);
+		// the pending checkpoint must be discarded after the finalization
+		Preconditions.checkState(pendingCheckpoint.isDisposed() && completedCheckpoint != null);
+
+		// Then we add it to the store
+		Exception storeFailure = null;
+		boolean restoredConcurrently = false;
+		synchronized (storeLock) {
+			if (shutdown) {
+				storeFailure = new CheckpointException(CheckpointFailureReason.CHECKPOINT_COORDINATOR_SHUTDOWN);
+			} else if (registry != sharedStateRegistry) {
+				// The state was restored in the meantime, which re-created the registry. The restore picked an
+				// earlier checkpoint and the tasks that acknowledged this checkpoint are gone, so this checkpoint
+				// must neither be added to the store nor be notified to the restored tasks.
+				restoredConcurrently = true;
+			} else {
+				try {
+					completedCheckpointStore.addCheckpoint(completedCheckpoint, checkpointsCleaner, this::scheduleTriggerRequest);
+				} catch (Exception exception) {
+					storeFailure = exception;
+				}
 			}
+		}
+
+		synchronized (lock) {
+			completingCheckpoints.remove(checkpointId);
+			pendingCheckpoints.remove(checkpointId);
+			scheduleTriggerRequest();
 
-			// the pending checkpoint must be discarded after the finalization
-			Preconditions.checkState(pendingCheckpoint.isDisposed() && completedCheckpoint != null);
+			if (restoredConcurrently) {
+				LOG.info("Discarding checkpoint {} of job {}, because the job was restored while it was completing.",
+					checkpointId, job);
+				discardCompletedCheckpoint(completedCheckpoint);
+				return;
+			}
 
-			try {
-				completedCheckpointStore.addCheckpoint(completedCheckpoint, checkpointsCleaner, this::scheduleTriggerRequest);
-			} catch (Exception exception) {
+			if (storeFailure != null) {
 				// we failed to store the completed checkpoint. Let's clean up
-				executor.execute(new Runnable() {
-					@Override
-					public void run() {
-						try {
-							completedCheckpoint.discardOnFailedStoring();
-						} catch (Throwable t) {
-							LOG.warn("Could not properly discard completed checkpoint {}.", completedCheckpoint.getCheckpointID(), t);
-						}
-					}
-				});
+				discardCompletedCheckpoint(completedCheckpoint);
 
 				sendAbortedMessages(checkpointId, pendingCheckpoint.getCheckpointTimestamp());
 				throw new CheckpointException("Could not complete the pending checkpoint " + checkpointId + '.',
-					CheckpointFailureReason.FINALIZE_CHECKPOINT_FAILURE, exception);
+					CheckpointFailureReason.FINALIZE_CHECKPOINT_FAILURE, storeFailure);
 			}
-		} finally {
-			pendingCheckpoints.remove(checkpointId);
-			scheduleTriggerRequest();
-		}
 
-		rememberRecentCheckpointId(checkpointId);
+			// only a checkpoint that was added to the store counts as a success, e.g. to reset the failure counter
+			failureManager.handleCheckpointSuccess(checkpointId);
 
-		// drop those pending checkpoints that are at prior to the completed one
-		dropSubsumedCheckpoints(checkpointId);
+			rememberRecentCheckpointId(checkpointId);
 
-		// record the time when this was completed, to calculate
-		// the 'min delay between checkpoints'
-		lastCheckpointCompletionRelativeTime = clock.relativeTimeMillis();
+			// drop those pending checkpoints that are at prior to the completed one
+			dropSubsumedCheckpoints(checkpointId);
 
-		LOG.info("Completed checkpoint {} for job {} ({} bytes in {} ms).", checkpointId, job,
-			completedCheckpoint.getStateSize(), completedCheckpoint.getDuration());
+			// record the time when this was completed, to calculate
+			// the 'min delay between checkpoints'
+			lastCheckpointCompletionRelativeTime = clock.relativeTimeMillis();
 
-		if (LOG.isDebugEnabled()) {
-			StringBuilder builder = new StringBuilder();
-			builder.append("Checkpoint state: ");
-			for (OperatorState state : completedCheckpoint.getOperatorStates().values()) {
-				builder.append(state);
-				builder.append(", ");
+			LOG.info("Completed checkpoint {} for job {} ({} bytes in {} ms).", checkpointId, job,
+				completedCheckpoint.getStateSize(), completedCheckpoint.getDuration());
+
+			if (LOG.isDebugEnabled()) {
+				StringBuilder builder = new StringBuilder();
+				builder.append("Checkpoint state: ");
+				for (OperatorState state : completedCheckpoint.getOperatorStates().values()) {
+					builder.append(state);
+					builder.append(", ");
+				}
+				// Remove last two chars ", "
+				builder.setLength(builder.length() - 2);
+
+				LOG.debug(builder.toString());
 			}
-			// Remove last two chars ", "
-			builder.setLength(builder.length() - 2);
 
-			LOG.debug(builder.toString());
+			// send the "notify complete" call to all vertices, coordinators, etc.
+			sendAcknowledgeMessages(checkpointId, completedCheckpoint.getTimestamp());
 		}
+	}
 
-		// send the "notify complete" call to all vertices, coordinators, etc.
-		sendAcknowledgeMessages(checkpointId, completedCheckpoint.getTimestamp());
+	private void discardCompletedCheckpoint(CompletedCheckpoint completedCheckpoint) {
+		executor.execute(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					completedCheckpoint.discardOnFailedStoring();
+				} catch (Throwable t) {
+					LOG.warn("Could not properly discard completed checkpoint {}.", completedCheckpoint.getCheckpointID(), t);
+				}
+			}
+		});
 	}
 
 	void scheduleTriggerRequest() {
@@ -1313,25 +1479,29 @@ public class CheckpointCoordinator {
 				throw new IllegalStateException("CheckpointCoordinator is shut down");
 			}
 
-			// We create a new shared state registry object, so that all pending async disposal requests from previous
-			// runs will go against the old object (were they can do no harm).
-			// This must happen under the checkpoint lock.
-			sharedStateRegistry.close();
-			sharedStateRegistry = sharedStateRegistryFactory.create(executor);
+			final CompletedCheckpoint latest;
+			synchronized (storeLock) {
+				// We create a new shared state registry object, so that all pending async disposal requests from previous
+				// runs will go against the old object (were they can do no harm).
+				// This must happen under the store lock, so that concurrently completing checkpoints see the new
+				// registry and discard themselves instead of being added to the store after the restore.
+				sharedStateRegistry.close();
+				sharedStateRegistry = sharedStateRegistryFactory.create(executor);
+
+				// Recover the checkpoints, TODO this could be done only when there is a new leader, not on each recovery
+				completedCheckpointStore.recover();
+
+				// Now, we re-register all (shared) states from the checkpoint store with the new registry
+				for (CompletedCheckpoint completedCheckpoint : completedCheckpointStore.getAllCheckpoints()) {
+					completedCheckpoint.registerSharedStatesAfterRestored(sharedStateRegistry);
+				}
 
-			// Recover the checkpoints, TODO this could be done only when there is a new leader, not on each recovery
-			completedCheckpointStore.recover();
+				LOG.debug("Status of the shared state registry of job {} after restore: {}.", job, sharedStateRegistry);
 
-			// Now, we re-register all (shared) states from the checkpoint store with the new registry
-			for (CompletedCheckpoint completedCheckpoint : completedCheckpointStore.getAllCheckpoints()) {
-				completedCheckpoint.registerSharedStatesAfterRestored(sharedStateRegistry);
+				// Restore from the latest checkpoint
+				latest = completedCheckpointStore.getLatestCheckpoint(isPreferCheckpointForRecovery);
 			}
 
-			LOG.debug("Status of the shared state registry of job {} after restore: {}.", job, sharedStateRegistry);
-
-			// Restore from the latest checkpoint
-			CompletedCheckpoint latest = completedCheckpointStore.getLatestCheckpoint(isPreferCheckpointForRecovery);
-
 			if (latest == null) {
 				if (errorIfNoCheckpoint) {
 					throw new IllegalStateException("No completed checkpoint available");
@@ -1348,8 +1518,9 @@ public class CheckpointCoordinator {
 			// re-assign the task states
 			final Map<OperatorID, OperatorState> operatorStates = latest.getOperatorStates();
 
-			StateAssignmentOperation stateAssignmentOperation =
-					new StateAssignmentOperation(latest.getCheckpointID(), tasks, operatorStates, allowNonRestoredState);
+			// the assignment is computed in parallel per job vertex on the I/O executor
+			StateAssignmentOperation stateAssignmentOperation = new StateAssignmentOperation(
+					latest.getCheckpointID(), tasks, operatorStates, allowNonRestoredState, executor);
 
 			stateAssignmentOperation.assignStates();
 
@@ -1414,7 +1585,9 @@ public class CheckpointCoordinator {
 		CompletedCheckpoint savepoint = Checkpoints.loadAndValidateCheckpoint(
 				job, tasks, checkpointLocation, userClassLoader, allowNonRestored);
 
-		completedCheckpointStore.addCheckpoint(savepoint, checkpointsCleaner, this::scheduleTriggerRequest);
+		synchronized (storeLock) {
+			completedCheckpointStore.addCheckpoint(savepoint, checkpointsCleaner, this::scheduleTriggerRequest);
+		}
 
 		// Reset the checkpoint ID counter
 		long nextCheckpointId = savepoint.getCheckpointID() + 1;
@@ -1436,7 +1609,7 @@ public class CheckpointCoordinator {
 	}
 
 	public int getNumberOfRetainedSuccessfulCheckpoints() {
-		synchronized (lock) {
+		synchronized (storeLock) {
 			return completedCheckpointStore.getNumberOfRetainedCheckpoints();
 		}
 	}
@@ -1448,7 +1621,7 @@ public class CheckpointCoordinator {
 	}
 
 	public List<CompletedCheckpoint> getSuccessfulCheckpoints() throws Exception {
-		synchronized (lock) {
+		synchronized (storeLock) {
 			return completedCheckpointStore.getAllCheckpoints();
 		}
 	}
@@ -1674,7 +1847,8 @@ public class CheckpointCoordinator {
 
 		assert(Thread.holdsLock(lock));
 
-		if (!pendingCheckpoint.isDisposed()) {
+		// checkpoints that are completing cannot be aborted, their state may already be in use
+		if (!pendingCheckpoint.isDisposed() && !completingCheckpoints.contains(pendingCheckpoint.getCheckpointId())) {
 			try {
 				// release resource here
 				pendingCheckpoint.abort(
@@ -1831,6 +2005,16 @@ public class CheckpointCoordinator {
 		}
 	}
 
+	private static class QueuedAcknowledgeMessage {
+		private final AcknowledgeCheckpoint message;
+		private final String taskManagerLocationInfo;
+
+		QueuedAcknowledgeMessage(AcknowledgeCheckpoint message, String taskManagerLocationInfo) {
+			this.message = checkNotNull(message);
+			this.taskManagerLocationInfo = taskManagerLocationInfo;
+		}
+	}
+
 	static class CheckpointTriggerRequest {
 		final long timestamp;
 		final CheckpointProperties props;
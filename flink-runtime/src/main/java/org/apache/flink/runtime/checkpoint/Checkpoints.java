@@ -24,7 +24,7 @@ import org.apache.flink.runtime.OperatorIDPair;
 import org.apache.flink.runtime.checkpoint.metadata.CheckpointMetadata;
 import org.apache.flink.runtime.checkpoint.metadata.MetadataSerializer;
 import org.apache.flink.runtime.checkpoint.metadata.MetadataSerializers;
-import org.apache.flink.runtime.checkpoint.metadata.MetadataV3Serializer;
+import org.apache.flink.runtime.checkpoint.metadata.MetadataV4Serializer;
 import org.apache.flink.runtime.executiongraph.ExecutionJobVertex;
 import org.apache.flink.runtime.jobgraph.JobVertexID;
 import org.apache.flink.runtime.jobgraph.OperatorID;
@@ -86,8 +86,8 @@ public class Checkpoints {
 		// write generic header
 		out.writeInt(HEADER_MAGIC_NUMBER);
 
-		out.writeInt(MetadataV3Serializer.VERSION);
-		MetadataV3Serializer.serialize(checkpointMetadata, out);
+		out.writeInt(MetadataV4Serializer.VERSION);
+		MetadataV4Serializer.serialize(checkpointMetadata, out);
 	}
 
 	// ------------------------------------------------------------------------
@@ -175,10 +175,8 @@ public class Checkpoints {
 					throwNonRestoredStateException(checkpointPointer, operatorState.getOperatorID());
 				}
 
-				for (OperatorSubtaskState operatorSubtaskState : operatorState.getStates()) {
-					if (operatorSubtaskState.hasState()) {
-						throwNonRestoredStateException(checkpointPointer, operatorState.getOperatorID());
-					}
+				if (operatorState.hasSubtaskState()) {
+					throwNonRestoredStateException(checkpointPointer, operatorState.getOperatorID());
 				}
 
 				LOG.info("Skipping empty savepoint state for operator {}.", operatorState.getOperatorID());
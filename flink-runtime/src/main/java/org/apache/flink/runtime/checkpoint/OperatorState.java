@@ -22,10 +22,13 @@ import org.apache.flink.runtime.jobgraph.OperatorID;
 import org.apache.flink.runtime.state.CompositeStateHandle;
 import org.apache.flink.runtime.state.SharedStateRegistry;
 import org.apache.flink.runtime.state.memory.ByteStreamStateHandle;
+import org.apache.flink.util.FlinkRuntimeException;
 import org.apache.flink.util.Preconditions;
 
 import javax.annotation.Nullable;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -48,6 +51,20 @@ public class OperatorState implements CompositeStateHandle {
 	/** The handles to states created by the parallel tasks: subtaskIndex -> subtaskstate. */
 	private final Map<Integer, OperatorSubtaskState> operatorSubtaskStates;
 
+	/** Loads the handles to the states of the parallel tasks on first access, if they are loaded lazily. */
+	@Nullable
+	private transient SubtaskStatesLoader subtaskStatesLoader;
+
+	/** Whether any of the lazily loaded subtask states has state, which is known without loading them. */
+	private transient boolean hasLazilyLoadedState;
+
+	/**
+	 * The registry that the shared states of the lazily loaded subtask states are registered with once the
+	 * states are loaded, or null if the shared states were not registered yet.
+	 */
+	@Nullable
+	private transient SharedStateRegistry pendingSharedStateRegistry;
+
 	/** The state of the operator coordinator. Null, if no such state exists. */
 	@Nullable
 	private ByteStreamStateHandle coordinatorState;
@@ -72,6 +89,25 @@ public class OperatorState implements CompositeStateHandle {
 		this.maxParallelism = maxParallelism;
 	}
 
+	/**
+	 * Creates an operator state whose subtask states are only loaded by the given loader when they are
+	 * accessed for the first time. This avoids materializing the state handles of operators that are
+	 * never accessed, and spreads the loading over the accesses to the individual operators.
+	 *
+	 * @param hasSubtaskState Whether any of the subtask states that the loader loads has state.
+	 */
+	public OperatorState(
+			OperatorID operatorID,
+			int parallelism,
+			int maxParallelism,
+			boolean hasSubtaskState,
+			SubtaskStatesLoader subtaskStatesLoader) {
+
+		this(operatorID, parallelism, maxParallelism);
+		this.hasLazilyLoadedState = hasSubtaskState;
+		this.subtaskStatesLoader = Preconditions.checkNotNull(subtaskStatesLoader);
+	}
+
 	public OperatorID getOperatorID() {
 		return operatorID;
 	}
@@ -81,18 +117,18 @@ public class OperatorState implements CompositeStateHandle {
 
 		if (subtaskIndex < 0 || subtaskIndex >= parallelism) {
 			throw new IndexOutOfBoundsException("The given sub task index " + subtaskIndex +
-				" exceeds the maximum number of sub tasks " + operatorSubtaskStates.size());
+				" exceeds the maximum number of sub tasks " + subtaskStates().size());
 		} else {
-			operatorSubtaskStates.put(subtaskIndex, subtaskState);
+			subtaskStates().put(subtaskIndex, subtaskState);
 		}
 	}
 
 	public OperatorSubtaskState getState(int subtaskIndex) {
 		if (subtaskIndex < 0 || subtaskIndex >= parallelism) {
 			throw new IndexOutOfBoundsException("The given sub task index " + subtaskIndex +
-				" exceeds the maximum number of sub tasks " + operatorSubtaskStates.size());
+				" exceeds the maximum number of sub tasks " + subtaskStates().size());
 		} else {
-			return operatorSubtaskStates.get(subtaskIndex);
+			return subtaskStates().get(subtaskIndex);
 		}
 	}
 
@@ -107,15 +143,32 @@ public class OperatorState implements CompositeStateHandle {
 	}
 
 	public Map<Integer, OperatorSubtaskState> getSubtaskStates() {
-		return Collections.unmodifiableMap(operatorSubtaskStates);
+		return Collections.unmodifiableMap(subtaskStates());
 	}
 
 	public Collection<OperatorSubtaskState> getStates() {
-		return operatorSubtaskStates.values();
+		return subtaskStates().values();
 	}
 
 	public int getNumberCollectedStates() {
-		return operatorSubtaskStates.size();
+		return subtaskStates().size();
+	}
+
+	/**
+	 * Checks whether any of the subtask states has state. This does not load lazily loaded subtask states.
+	 */
+	public boolean hasSubtaskState() {
+		synchronized (this) {
+			if (subtaskStatesLoader != null) {
+				return hasLazilyLoadedState;
+			}
+		}
+		for (OperatorSubtaskState operatorSubtaskState : operatorSubtaskStates.values()) {
+			if (operatorSubtaskState.hasState()) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	public int getParallelism() {
@@ -128,7 +181,7 @@ public class OperatorState implements CompositeStateHandle {
 
 	@Override
 	public void discardState() throws Exception {
-		for (OperatorSubtaskState operatorSubtaskState : operatorSubtaskStates.values()) {
+		for (OperatorSubtaskState operatorSubtaskState : subtaskStates().values()) {
 			operatorSubtaskState.discardState();
 		}
 
@@ -137,8 +190,19 @@ public class OperatorState implements CompositeStateHandle {
 		}
 	}
 
+	/**
+	 * Registers the shared states of the subtask states with the given registry. If the subtask states are
+	 * loaded lazily and were not loaded yet, they are registered when they are loaded, e.g. when the states
+	 * are assigned to the tasks, so that registering the states of a restored checkpoint does not load them.
+	 */
 	@Override
 	public void registerSharedStates(SharedStateRegistry sharedStateRegistry) {
+		synchronized (this) {
+			if (subtaskStatesLoader != null) {
+				pendingSharedStateRegistry = Preconditions.checkNotNull(sharedStateRegistry);
+				return;
+			}
+		}
 		for (OperatorSubtaskState operatorSubtaskState : operatorSubtaskStates.values()) {
 			operatorSubtaskState.registerSharedStates(sharedStateRegistry);
 		}
@@ -149,7 +213,7 @@ public class OperatorState implements CompositeStateHandle {
 		long result = coordinatorState == null ? 0L : coordinatorState.getStateSize();
 
 		for (int i = 0; i < parallelism; i++) {
-			OperatorSubtaskState operatorSubtaskState = operatorSubtaskStates.get(i);
+			OperatorSubtaskState operatorSubtaskState = subtaskStates().get(i);
 			if (operatorSubtaskState != null) {
 				result += operatorSubtaskState.getStateSize();
 			}
@@ -158,6 +222,51 @@ public class OperatorState implements CompositeStateHandle {
 		return result;
 	}
 
+	/**
+	 * Checks whether the subtask states have been loaded, which is always the case if they are not
+	 * loaded lazily.
+	 */
+	public boolean isLoaded() {
+		synchronized (this) {
+			return subtaskStatesLoader == null;
+		}
+	}
+
+	private Map<Integer, OperatorSubtaskState> subtaskStates() {
+		final SharedStateRegistry sharedStateRegistry;
+		synchronized (this) {
+			if (subtaskStatesLoader == null) {
+				return operatorSubtaskStates;
+			}
+
+			final Map<Integer, OperatorSubtaskState> loaded;
+			try {
+				loaded = subtaskStatesLoader.load();
+			} catch (IOException e) {
+				throw new FlinkRuntimeException("Could not load the subtask states of operator " + operatorID + '.', e);
+			}
+			for (Map.Entry<Integer, OperatorSubtaskState> entry : loaded.entrySet()) {
+				Preconditions.checkElementIndex(entry.getKey(), parallelism);
+				operatorSubtaskStates.put(entry.getKey(), entry.getValue());
+			}
+			subtaskStatesLoader = null;
+			sharedStateRegistry = pendingSharedStateRegistry;
+			pendingSharedStateRegistry = null;
+		}
+
+		// the registry is called outside of the lock, because the registry calls back into this state under its lock
+		if (sharedStateRegistry != null) {
+			sharedStateRegistry.registerAll(operatorSubtaskStates.values());
+		}
+		return operatorSubtaskStates;
+	}
+
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		// the loader is not serializable, so the subtask states must be loaded before serialization
+		subtaskStates();
+		out.defaultWriteObject();
+	}
+
 	@Override
 	public boolean equals(Object obj) {
 		if (obj instanceof OperatorState) {
@@ -166,7 +275,7 @@ public class OperatorState implements CompositeStateHandle {
 			return operatorID.equals(other.operatorID)
 				&& parallelism == other.parallelism
 				&& Objects.equals(coordinatorState, other.coordinatorState)
-				&& operatorSubtaskStates.equals(other.operatorSubtaskStates);
+				&& subtaskStates().equals(other.subtaskStates());
 		} else {
 			return false;
 		}
@@ -174,7 +283,19 @@ public class OperatorState implements CompositeStateHandle {
 
 	@Override
 	public int hashCode() {
-		return parallelism + 31 * Objects.hash(operatorID, operatorSubtaskStates);
+		return parallelism + 31 * Objects.hash(operatorID, subtaskStates());
+	}
+
+	/**
+	 * Loads the subtask states of a lazily loaded {@link OperatorState}.
+	 */
+	@FunctionalInterface
+	public interface SubtaskStatesLoader {
+
+		/**
+		 * Loads the subtask states, by subtask index.
+		 */
+		Map<Integer, OperatorSubtaskState> load() throws IOException;
 	}
 
 	@Override
@@ -186,7 +307,7 @@ public class OperatorState implements CompositeStateHandle {
 			", parallelism: " + parallelism +
 			", maxParallelism: " + maxParallelism +
 			", coordinatorState: " + (coordinatorState == null ? "(none)" : coordinatorState.getStateSize() + " bytes") +
-			", sub task states: " + operatorSubtaskStates.size() +
+			", sub task states: " + subtaskStates().size() +
 			", total size (bytes): " + getStateSize() +
 			')';
 	}
@@ -26,6 +26,8 @@ import org.apache.flink.runtime.state.ResultSubpartitionStateHandle;
 import org.apache.flink.runtime.state.SharedStateRegistry;
 import org.apache.flink.runtime.state.StateObject;
 import org.apache.flink.runtime.state.StateUtil;
+import org.apache.flink.runtime.state.StreamStateHandle;
+import org.apache.flink.runtime.state.filesystem.SegmentFileStateHandle;
 import org.apache.flink.util.Preconditions;
 
 import org.slf4j.Logger;
@@ -243,6 +245,17 @@ public class OperatorSubtaskState implements CompositeStateHandle {
 	public void registerSharedStates(SharedStateRegistry sharedStateRegistry) {
 		registerSharedState(sharedStateRegistry, managedKeyedState);
 		registerSharedState(sharedStateRegistry, rawKeyedState);
+
+		// the exclusive state may have been appended to segment files, which are shared by several handles
+		for (OperatorStateHandle stateHandle : managedOperatorState) {
+			SegmentFileStateHandle.registerSharedStateIfSegment(sharedStateRegistry, stateHandle.getDelegateStateHandle());
+		}
+		for (OperatorStateHandle stateHandle : rawOperatorState) {
+			SegmentFileStateHandle.registerSharedStateIfSegment(sharedStateRegistry, stateHandle.getDelegateStateHandle());
+		}
+		for (StreamStateHandle delegate : collectUniqueDelegates(inputChannelState, resultSubpartitionState)) {
+			SegmentFileStateHandle.registerSharedStateIfSegment(sharedStateRegistry, delegate);
+		}
 	}
 
 	private static void registerSharedState(
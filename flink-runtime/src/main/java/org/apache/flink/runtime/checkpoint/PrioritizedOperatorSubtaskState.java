@@ -19,6 +19,7 @@
 package org.apache.flink.runtime.checkpoint;
 
 import org.apache.flink.annotation.Internal;
+import org.apache.flink.runtime.state.AbstractChannelStateHandle;
 import org.apache.flink.runtime.state.InputChannelStateHandle;
 import org.apache.flink.runtime.state.KeyedStateHandle;
 import org.apache.flink.runtime.state.OperatorStateHandle;
@@ -31,7 +32,9 @@ import javax.annotation.Nonnull;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -63,8 +66,10 @@ public class PrioritizedOperatorSubtaskState {
 	/** List of prioritized snapshot alternatives for raw keyed state. */
 	private final List<StateObjectCollection<KeyedStateHandle>> prioritizedRawKeyedState;
 
+	/** List of prioritized snapshot alternatives for input channel state. */
 	private final List<StateObjectCollection<InputChannelStateHandle>> prioritizedInputChannelState;
 
+	/** List of prioritized snapshot alternatives for result subpartition state. */
 	private final List<StateObjectCollection<ResultSubpartitionStateHandle>> prioritizedResultSubpartitionState;
 
 	/** Signal flag if this represents state for a restored operator. */
@@ -126,6 +131,24 @@ public class PrioritizedOperatorSubtaskState {
 		return prioritizedRawKeyedState;
 	}
 
+	/**
+	 * Returns an immutable list with all alternative snapshots to restore the input channel state, in the order in
+	 * which we should attempt to restore. Every alternative covers all channels of the job manager state.
+	 */
+	@Nonnull
+	public List<StateObjectCollection<InputChannelStateHandle>> getPrioritizedInputChannelState() {
+		return prioritizedInputChannelState;
+	}
+
+	/**
+	 * Returns an immutable list with all alternative snapshots to restore the result subpartition state, in the order
+	 * in which we should attempt to restore. Every alternative covers all subpartitions of the job manager state.
+	 */
+	@Nonnull
+	public List<StateObjectCollection<ResultSubpartitionStateHandle>> getPrioritizedResultSubpartitionState() {
+		return prioritizedResultSubpartitionState;
+	}
+
 	// -----------------------------------------------------------------------------------------------------------------
 
 	/**
@@ -164,13 +187,21 @@ public class PrioritizedOperatorSubtaskState {
 		return lastElement(prioritizedRawKeyedState);
 	}
 
+	/**
+	 * Returns the input channel state from the job manager, which represents the ground truth about what this state
+	 * should represent. This is the alternative with lowest priority.
+	 */
 	@Nonnull
-	public StateObjectCollection<InputChannelStateHandle> getPrioritizedInputChannelState() {
+	public StateObjectCollection<InputChannelStateHandle> getJobManagerInputChannelState() {
 		return lastElement(prioritizedInputChannelState);
 	}
 
+	/**
+	 * Returns the result subpartition state from the job manager, which represents the ground truth about what this
+	 * state should represent. This is the alternative with lowest priority.
+	 */
 	@Nonnull
-	public StateObjectCollection<ResultSubpartitionStateHandle> getPrioritizedResultSubpartitionState() {
+	public StateObjectCollection<ResultSubpartitionStateHandle> getJobManagerResultSubpartitionState() {
 		return lastElement(prioritizedResultSubpartitionState);
 	}
 
@@ -266,14 +297,12 @@ public class PrioritizedOperatorSubtaskState {
 					jobManagerState.getRawOperatorState(),
 					rawOperatorAlternatives,
 					eqStateApprover(OperatorStateHandle::getStateNameToPartitionOffsets)),
-				resolvePrioritizedAlternatives(
+				resolvePrioritizedChannelStateAlternatives(
 					jobManagerState.getInputChannelState(),
-					inputChannelStateAlternatives,
-					eqStateApprover(InputChannelStateHandle::getInfo)),
-				resolvePrioritizedAlternatives(
+					inputChannelStateAlternatives),
+				resolvePrioritizedChannelStateAlternatives(
 					jobManagerState.getResultSubpartitionState(),
-					resultSubpartitionStateAlternatives,
-					eqStateApprover(ResultSubpartitionStateHandle::getInfo)),
+					resultSubpartitionStateAlternatives),
 				restored);
 		}
 
@@ -321,6 +350,47 @@ public class PrioritizedOperatorSubtaskState {
 			approved.add(jobManagerState);
 			return Collections.unmodifiableList(approved);
 		}
+
+		/**
+		 * Resolves the alternatives for channel state. Unlike other state, the channel state of a subtask consists of
+		 * one handle per channel, so an alternative is only approved as a whole, if it describes exactly the channels
+		 * of the job manager state.
+		 */
+		protected <T extends AbstractChannelStateHandle<?>> List<StateObjectCollection<T>> resolvePrioritizedChannelStateAlternatives(
+			StateObjectCollection<T> jobManagerState,
+			List<StateObjectCollection<T>> alternativesByPriority) {
+
+			if (alternativesByPriority == null
+				|| alternativesByPriority.isEmpty()
+				|| !jobManagerState.hasState()) {
+
+				return Collections.singletonList(jobManagerState);
+			}
+
+			final Set<Object> referenceChannels = channelInfos(jobManagerState);
+			final List<StateObjectCollection<T>> approved = new ArrayList<>(1 + alternativesByPriority.size());
+
+			for (StateObjectCollection<T> alternative : alternativesByPriority) {
+				if (alternative != null
+					&& alternative.hasState()
+					&& alternative.size() == jobManagerState.size()
+					&& referenceChannels.equals(channelInfos(alternative))) {
+
+					approved.add(alternative);
+				}
+			}
+
+			approved.add(jobManagerState);
+			return Collections.unmodifiableList(approved);
+		}
+
+		private static Set<Object> channelInfos(StateObjectCollection<? extends AbstractChannelStateHandle<?>> state) {
+			final Set<Object> channelInfos = new HashSet<>(state.size());
+			for (AbstractChannelStateHandle<?> handle : state) {
+				channelInfos.add(handle.getInfo());
+			}
+			return channelInfos;
+		}
 	}
 
 	private static <T, E> BiFunction<T, T, Boolean> eqStateApprover(Function<T, E> identityExtractor) {
@@ -27,6 +27,7 @@ import org.apache.flink.util.Preconditions;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
@@ -210,18 +211,19 @@ public class RoundRobinOperatorStateRepartitioner implements OperatorStateRepart
 
 		repartitionSplitState(nameToDistributeState, newParallelism, mergeMapList);
 
-		// Now we also add the state handles marked for union to all parallel instances
-		Map<String, List<Tuple2<StreamStateHandle, OperatorStateHandle.StateMetaInfo>>> nameToUnionState =
-				nameToStateByMode.getByMode(OperatorStateHandle.Mode.UNION);
-
-		repartitionUnionState(nameToUnionState, mergeMapList);
-
 		// Now we also add the state handles marked for uniform broadcast to all parallel instances
 		Map<String, List<Tuple2<StreamStateHandle, OperatorStateHandle.StateMetaInfo>>> nameToBroadcastState =
 				nameToStateByMode.getByMode(OperatorStateHandle.Mode.BROADCAST);
 
 		repartitionBroadcastState(nameToBroadcastState, mergeMapList);
 
+		// Now we also add the state handles marked for union to all parallel instances. This comes last, because
+		// the union state handles are shared between the parallel instances and must not be modified afterwards
+		Map<String, List<Tuple2<StreamStateHandle, OperatorStateHandle.StateMetaInfo>>> nameToUnionState =
+				nameToStateByMode.getByMode(OperatorStateHandle.Mode.UNION);
+
+		repartitionUnionState(nameToUnionState, mergeMapList);
+
 		return mergeMapList;
 	}
 
@@ -319,24 +321,40 @@ public class RoundRobinOperatorStateRepartitioner implements OperatorStateRepart
 
 	/**
 	 * Repartition UNION state.
+	 *
+	 * <p>Every parallel instance receives all union state handles. Instead of creating a copy of each handle for
+	 * every instance, which grows quadratically with the parallelism, one {@link OperatorStateHandle} is created
+	 * per state file and shared by all instances that do not already reference the file through other state.
+	 * The shared handles are immutable, so this must be the last step of the repartitioning.
 	 */
 	private void repartitionUnionState(
 			Map<String, List<Tuple2<StreamStateHandle, OperatorStateHandle.StateMetaInfo>>> unionState,
 			List<Map<StreamStateHandle, OperatorStateHandle>> mergeMapList) {
 
+		// Reorganize: group by (StreamStateHandle -> State Name + StateMetaInfo)
+		Map<StreamStateHandle, Map<String, OperatorStateHandle.StateMetaInfo>> unionStateByHandle = new HashMap<>();
+		for (Map.Entry<String, List<Tuple2<StreamStateHandle, OperatorStateHandle.StateMetaInfo>>> e :
+				unionState.entrySet()) {
+
+			for (Tuple2<StreamStateHandle, OperatorStateHandle.StateMetaInfo> handleWithMetaInfo : e.getValue()) {
+				unionStateByHandle
+					.computeIfAbsent(handleWithMetaInfo.f0, k -> new HashMap<>(unionState.size()))
+					.put(e.getKey(), handleWithMetaInfo.f1);
+			}
+		}
+
+		Map<StreamStateHandle, OperatorStateHandle> sharedHandles = new HashMap<>(unionStateByHandle.size());
 		for (Map<StreamStateHandle, OperatorStateHandle> mergeMap : mergeMapList) {
-			for (Map.Entry<String, List<Tuple2<StreamStateHandle, OperatorStateHandle.StateMetaInfo>>> e :
-					unionState.entrySet()) {
+			for (Map.Entry<StreamStateHandle, Map<String, OperatorStateHandle.StateMetaInfo>> e :
+					unionStateByHandle.entrySet()) {
 
-				for (Tuple2<StreamStateHandle, OperatorStateHandle.StateMetaInfo> handleWithMetaInfo : e.getValue()) {
-					OperatorStateHandle operatorStateHandle = mergeMap.get(handleWithMetaInfo.f0);
-					if (operatorStateHandle == null) {
-						operatorStateHandle = new OperatorStreamStateHandle(
-							new HashMap<>(unionState.size()),
-							handleWithMetaInfo.f0);
-						mergeMap.put(handleWithMetaInfo.f0, operatorStateHandle);
-					}
-					operatorStateHandle.getStateNameToPartitionOffsets().put(e.getKey(), handleWithMetaInfo.f1);
+				OperatorStateHandle operatorStateHandle = mergeMap.get(e.getKey());
+				if (operatorStateHandle == null) {
+					mergeMap.put(e.getKey(), sharedHandles.computeIfAbsent(
+						e.getKey(),
+						handle -> new OperatorStreamStateHandle(Collections.unmodifiableMap(e.getValue()), handle)));
+				} else {
+					operatorStateHandle.getStateNameToPartitionOffsets().putAll(e.getValue());
 				}
 			}
 		}
@@ -22,6 +22,7 @@ import org.apache.flink.annotation.Internal;
 import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.api.java.tuple.Tuple2;
 import org.apache.flink.runtime.OperatorIDPair;
+import org.apache.flink.runtime.concurrent.Executors;
 import org.apache.flink.runtime.executiongraph.Execution;
 import org.apache.flink.runtime.executiongraph.ExecutionJobVertex;
 import org.apache.flink.runtime.jobgraph.OperatorID;
@@ -35,6 +36,7 @@ import org.apache.flink.runtime.state.KeyedStateHandle;
 import org.apache.flink.runtime.state.OperatorStateHandle;
 import org.apache.flink.runtime.state.ResultSubpartitionStateHandle;
 import org.apache.flink.runtime.state.StateObject;
+import org.apache.flink.util.ExceptionUtils;
 import org.apache.flink.util.Preconditions;
 
 import org.slf4j.Logger;
@@ -47,6 +49,11 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 
 import static java.util.Collections.emptyList;
@@ -67,23 +74,46 @@ public class StateAssignmentOperation {
 	private final long restoreCheckpointId;
 	private final boolean allowNonRestoredState;
 
+	/** The executor that computes the state assignments of the job vertices in parallel. */
+	private final Executor executor;
+
 	public StateAssignmentOperation(
 		long restoreCheckpointId,
 		Set<ExecutionJobVertex> tasks,
 		Map<OperatorID, OperatorState> operatorStates,
 		boolean allowNonRestoredState) {
 
+		this(restoreCheckpointId, tasks, operatorStates, allowNonRestoredState, Executors.directExecutor());
+	}
+
+	public StateAssignmentOperation(
+		long restoreCheckpointId,
+		Set<ExecutionJobVertex> tasks,
+		Map<OperatorID, OperatorState> operatorStates,
+		boolean allowNonRestoredState,
+		Executor executor) {
+
 		this.restoreCheckpointId = restoreCheckpointId;
 		this.tasks = Preconditions.checkNotNull(tasks);
 		this.operatorStates = Preconditions.checkNotNull(operatorStates);
 		this.allowNonRestoredState = allowNonRestoredState;
+		this.executor = Preconditions.checkNotNull(executor);
 	}
 
+	/**
+	 * Assigns the states to the tasks of all job vertices.
+	 *
+	 * <p>The redistribution of the states is computed for every job vertex separately, in parallel on the
+	 * executor. The calling thread computes the redistributions that no thread of the executor has started yet,
+	 * so that the operation completes even if all threads of the executor are busy. The states are assigned to
+	 * the executions of the tasks in the calling thread.
+	 */
 	public void assignStates() {
 		Map<OperatorID, OperatorState> localOperators = new HashMap<>(operatorStates);
 
 		checkStateMappingCompleteness(allowNonRestoredState, operatorStates, tasks);
 
+		List<VertexAssignment> vertexAssignments = new ArrayList<>(tasks.size());
 		for (ExecutionJobVertex executionJobVertex : this.tasks) {
 
 			// find the states of all operators belonging to this task
@@ -105,19 +135,42 @@ public class StateAssignmentOperation {
 				operatorStates.add(operatorState);
 			}
 			if (!statelessSubTasks) { // skip tasks where no operator has any state
-				assignAttemptState(executionJobVertex, operatorStates);
+				// this may adjust the max parallelism of the job vertex, so it happens before the parallel part
+				checkParallelismPreconditions(operatorStates, executionJobVertex);
+				vertexAssignments.add(new VertexAssignment(executionJobVertex, operatorStates));
 			}
 		}
 
+		for (VertexAssignment vertexAssignment : vertexAssignments) {
+			try {
+				executor.execute(vertexAssignment::computeIfNotStarted);
+			} catch (RejectedExecutionException e) {
+				// the assignment is computed by the calling thread below
+				break;
+			}
+		}
+
+		for (VertexAssignment vertexAssignment : vertexAssignments) {
+			vertexAssignment.computeIfNotStarted();
+		}
+
+		for (VertexAssignment vertexAssignment : vertexAssignments) {
+			TaskStateSnapshot[] taskStates;
+			try {
+				taskStates = vertexAssignment.result.join();
+			} catch (CompletionException e) {
+				ExceptionUtils.rethrow(ExceptionUtils.stripCompletionException(e));
+				return;
+			}
+			assignTaskStateToExecutions(vertexAssignment.executionJobVertex, taskStates);
+		}
 	}
 
-	private void assignAttemptState(ExecutionJobVertex executionJobVertex, List<OperatorState> operatorStates) {
+	private TaskStateSnapshot[] computeAttemptState(ExecutionJobVertex executionJobVertex, List<OperatorState> operatorStates) {
 
 		List<OperatorIDPair> operatorIDs = executionJobVertex.getOperatorIDs();
 
 		//1. first compute the new parallelism
-		checkParallelismPreconditions(operatorStates, executionJobVertex);
-
 		int newParallelism = executionJobVertex.getParallelism();
 
 		List<KeyGroupRange> keyGroupPartitions = createKeyGroupPartitions(
@@ -191,8 +244,8 @@ public class StateAssignmentOperation {
 		 * op3   sh(3,0)	 sh(3,1)	   sh(3,2)		sh(3,3)
 		 *
 		 */
-		assignTaskStateToExecutionJobVertices(
-			executionJobVertex,
+		return computeTaskStates(
+			operatorIDs,
 			newManagedOperatorStates,
 			newRawOperatorStates,
 			newInputChannelState,
@@ -202,8 +255,8 @@ public class StateAssignmentOperation {
 			newParallelism);
 	}
 
-	private void assignTaskStateToExecutionJobVertices(
-			ExecutionJobVertex executionJobVertex,
+	private TaskStateSnapshot[] computeTaskStates(
+			List<OperatorIDPair> operatorIDs,
 			Map<OperatorInstanceID, List<OperatorStateHandle>> subManagedOperatorState,
 			Map<OperatorInstanceID, List<OperatorStateHandle>> subRawOperatorState,
 			Map<OperatorInstanceID, List<InputChannelStateHandle>> inputChannelStates,
@@ -212,13 +265,9 @@ public class StateAssignmentOperation {
 			Map<OperatorInstanceID, List<KeyedStateHandle>> subRawKeyedState,
 			int newParallelism) {
 
-		List<OperatorIDPair> operatorIDs = executionJobVertex.getOperatorIDs();
-
+		TaskStateSnapshot[] taskStates = new TaskStateSnapshot[newParallelism];
 		for (int subTaskIndex = 0; subTaskIndex < newParallelism; subTaskIndex++) {
 
-			Execution currentExecutionAttempt = executionJobVertex.getTaskVertices()[subTaskIndex]
-				.getCurrentExecutionAttempt();
-
 			TaskStateSnapshot taskState = new TaskStateSnapshot(operatorIDs.size());
 			boolean statelessTask = true;
 
@@ -241,8 +290,23 @@ public class StateAssignmentOperation {
 			}
 
 			if (!statelessTask) {
-				JobManagerTaskRestore taskRestore = new JobManagerTaskRestore(restoreCheckpointId, taskState);
-				currentExecutionAttempt.setInitialState(taskRestore);
+				taskStates[subTaskIndex] = taskState;
+			}
+		}
+		return taskStates;
+	}
+
+	/**
+	 * Assigns the given states to the current executions of the tasks of the job vertex. Tasks without any state
+	 * have a {@code null} entry.
+	 */
+	private void assignTaskStateToExecutions(ExecutionJobVertex executionJobVertex, TaskStateSnapshot[] taskStates) {
+		for (int subTaskIndex = 0; subTaskIndex < taskStates.length; subTaskIndex++) {
+			if (taskStates[subTaskIndex] != null) {
+				Execution currentExecutionAttempt = executionJobVertex.getTaskVertices()[subTaskIndex]
+					.getCurrentExecutionAttempt();
+				currentExecutionAttempt.setInitialState(
+					new JobManagerTaskRestore(restoreCheckpointId, taskStates[subTaskIndex]));
 			}
 		}
 	}
@@ -634,4 +698,35 @@ public class StateAssignmentOperation {
 		};
 	}
 
+	// ------------------------------------------------------------------------
+
+	/**
+	 * The redistribution of the states of one job vertex, which is computed once, by either a thread of the
+	 * executor or the thread that assigns the states.
+	 */
+	private final class VertexAssignment {
+
+		private final ExecutionJobVertex executionJobVertex;
+
+		private final List<OperatorState> operatorStates;
+
+		private final AtomicBoolean started = new AtomicBoolean(false);
+
+		private final CompletableFuture<TaskStateSnapshot[]> result = new CompletableFuture<>();
+
+		VertexAssignment(ExecutionJobVertex executionJobVertex, List<OperatorState> operatorStates) {
+			this.executionJobVertex = executionJobVertex;
+			this.operatorStates = operatorStates;
+		}
+
+		void computeIfNotStarted() {
+			if (started.compareAndSet(false, true)) {
+				try {
+					result.complete(computeAttemptState(executionJobVertex, operatorStates));
+				} catch (Throwable t) {
+					result.completeExceptionally(t);
+				}
+			}
+		}
+	}
 }
@@ -23,8 +23,11 @@ import org.apache.flink.runtime.state.AbstractChannelStateHandle;
 import org.apache.flink.runtime.state.AbstractChannelStateHandle.StateContentMetaInfo;
 import org.apache.flink.runtime.state.CheckpointStreamFactory;
 import org.apache.flink.runtime.state.CheckpointStreamFactory.CheckpointStateOutputStream;
+import org.apache.flink.runtime.state.CheckpointStreamWithResultProvider;
 import org.apache.flink.runtime.state.InputChannelStateHandle;
+import org.apache.flink.runtime.state.LocalRecoveryConfig;
 import org.apache.flink.runtime.state.ResultSubpartitionStateHandle;
+import org.apache.flink.runtime.state.SnapshotResult;
 import org.apache.flink.runtime.state.StreamStateHandle;
 import org.apache.flink.runtime.state.memory.ByteStreamStateHandle;
 import org.apache.flink.util.Preconditions;
@@ -33,6 +36,7 @@ import org.apache.flink.util.function.RunnableWithException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 import java.io.DataOutputStream;
@@ -54,12 +58,16 @@ import static org.apache.flink.util.Preconditions.checkState;
 
 /**
  * Writes channel state for a specific checkpoint-subtask-attempt triple.
+ *
+ * <p>If local recovery is enabled, the channel state is written to a secondary, task-local file as well, and
+ * the {@link ChannelStateWriteResult} also provides handles that point into that local copy.
  */
 @NotThreadSafe
 class ChannelStateCheckpointWriter {
 	private static final Logger LOG = LoggerFactory.getLogger(ChannelStateCheckpointWriter.class);
 
 	private final DataOutputStream dataStream;
+	private final CheckpointStreamWithResultProvider checkpointStreamProvider;
 	private final CheckpointStateOutputStream checkpointStream;
 	private final ChannelStateWriteResult result;
 	private final Map<InputChannelInfo, StateContentMetaInfo> inputChannelOffsets = new HashMap<>();
@@ -73,12 +81,13 @@ class ChannelStateCheckpointWriter {
 	ChannelStateCheckpointWriter(
 			CheckpointStartRequest startCheckpointItem,
 			CheckpointStreamFactory streamFactory,
+			@Nullable LocalRecoveryConfig localRecoveryConfig,
 			ChannelStateSerializer serializer,
 			RunnableWithException onComplete) throws Exception {
 		this(
 			startCheckpointItem.getCheckpointId(),
 			startCheckpointItem.getTargetResult(),
-			streamFactory.createCheckpointStateOutputStream(EXCLUSIVE),
+			createStream(startCheckpointItem, streamFactory, localRecoveryConfig),
 			serializer,
 			onComplete);
 	}
@@ -89,7 +98,16 @@ class ChannelStateCheckpointWriter {
 			CheckpointStateOutputStream stream,
 			ChannelStateSerializer serializer,
 			RunnableWithException onComplete) throws Exception {
-		this(checkpointId, result, serializer, onComplete, stream, new DataOutputStream(stream));
+		this(checkpointId, result, new CheckpointStreamWithResultProvider.PrimaryStreamOnly(stream), serializer, onComplete);
+	}
+
+	ChannelStateCheckpointWriter(
+			long checkpointId,
+			ChannelStateWriteResult result,
+			CheckpointStreamWithResultProvider streamProvider,
+			ChannelStateSerializer serializer,
+			RunnableWithException onComplete) throws Exception {
+		this(checkpointId, result, serializer, onComplete, streamProvider, new DataOutputStream(streamProvider.getCheckpointOutputStream()));
 	}
 
 	ChannelStateCheckpointWriter(
@@ -97,17 +115,34 @@ class ChannelStateCheckpointWriter {
 			ChannelStateWriteResult result,
 			ChannelStateSerializer serializer,
 			RunnableWithException onComplete,
-			CheckpointStateOutputStream checkpointStateOutputStream,
+			CheckpointStreamWithResultProvider checkpointStreamProvider,
 			DataOutputStream dataStream) throws Exception {
 		this.checkpointId = checkpointId;
 		this.result = checkNotNull(result);
-		this.checkpointStream = checkNotNull(checkpointStateOutputStream);
+		this.checkpointStreamProvider = checkNotNull(checkpointStreamProvider);
+		this.checkpointStream = checkpointStreamProvider.getCheckpointOutputStream();
 		this.serializer = checkNotNull(serializer);
 		this.dataStream = checkNotNull(dataStream);
 		this.onComplete = checkNotNull(onComplete);
 		runWithChecks(() -> serializer.writeHeader(dataStream));
 	}
 
+	private static CheckpointStreamWithResultProvider createStream(
+			CheckpointStartRequest startCheckpointItem,
+			CheckpointStreamFactory streamFactory,
+			@Nullable LocalRecoveryConfig localRecoveryConfig) throws IOException {
+		// savepoints are never restored from task-local state, so they do not need a local copy
+		if (localRecoveryConfig != null && localRecoveryConfig.isLocalRecoveryEnabled() && !startCheckpointItem.getCheckpointType().isSavepoint()) {
+			return CheckpointStreamWithResultProvider.createDuplicatingStream(
+				startCheckpointItem.getCheckpointId(),
+				EXCLUSIVE,
+				streamFactory,
+				localRecoveryConfig.getLocalStateDirectoryProvider());
+		} else {
+			return CheckpointStreamWithResultProvider.createSimpleStream(EXCLUSIVE, streamFactory);
+		}
+	}
+
 	void writeInput(InputChannelInfo info, Buffer buffer) throws Exception {
 		write(inputChannelOffsets, info, buffer, !allInputsReceived);
 	}
@@ -157,14 +192,39 @@ class ChannelStateCheckpointWriter {
 	private void finishWriteAndResult() throws IOException {
 		if (inputChannelOffsets.isEmpty() && resultSubpartitionOffsets.isEmpty()) {
 			dataStream.close();
+			result.taskLocalInputChannelStateHandles.complete(emptyList());
+			result.taskLocalResultSubpartitionStateHandles.complete(emptyList());
 			result.inputChannelStateHandles.complete(emptyList());
 			result.resultSubpartitionStateHandles.complete(emptyList());
 			return;
 		}
 		dataStream.flush();
-		StreamStateHandle underlying = checkpointStream.closeAndGetHandle();
-		complete(underlying, result.inputChannelStateHandles, inputChannelOffsets, HandleFactory.INPUT_CHANNEL);
-		complete(underlying, result.resultSubpartitionStateHandles, resultSubpartitionOffsets, HandleFactory.RESULT_SUBPARTITION);
+		SnapshotResult<StreamStateHandle> underlying = checkpointStreamProvider.closeAndFinalizeCheckpointStreamResult();
+		// the local handles are completed first, because the primary handles signal the completion of the result
+		StreamStateHandle taskLocal = underlying.getTaskLocalSnapshot();
+		if (taskLocal != null) {
+			completeLocal(taskLocal, result.taskLocalInputChannelStateHandles, inputChannelOffsets, HandleFactory.INPUT_CHANNEL);
+			completeLocal(taskLocal, result.taskLocalResultSubpartitionStateHandles, resultSubpartitionOffsets, HandleFactory.RESULT_SUBPARTITION);
+		} else {
+			result.taskLocalInputChannelStateHandles.complete(emptyList());
+			result.taskLocalResultSubpartitionStateHandles.complete(emptyList());
+		}
+		StreamStateHandle jobManagerOwned = checkNotNull(underlying.getJobManagerOwnedSnapshot());
+		complete(jobManagerOwned, result.inputChannelStateHandles, inputChannelOffsets, HandleFactory.INPUT_CHANNEL);
+		complete(jobManagerOwned, result.resultSubpartitionStateHandles, resultSubpartitionOffsets, HandleFactory.RESULT_SUBPARTITION);
+	}
+
+	private <I, H extends AbstractChannelStateHandle<I>> void completeLocal(
+			StreamStateHandle underlying,
+			CompletableFuture<Collection<H>> future,
+			Map<I, StateContentMetaInfo> offsets,
+			HandleFactory<I, H> handleFactory) {
+		// the local copy is a file with the same content as the primary stream, so the offsets are the same
+		final Collection<H> handles = new ArrayList<>();
+		for (Map.Entry<I, StateContentMetaInfo> e : offsets.entrySet()) {
+			handles.add(handleFactory.create(e.getKey(), underlying, e.getValue().getOffsets(), e.getValue().getSize()));
+		}
+		future.complete(handles);
 	}
 
 	private void doComplete(boolean precondition, RunnableWithException complete, RunnableWithException... callbacks) throws Exception {
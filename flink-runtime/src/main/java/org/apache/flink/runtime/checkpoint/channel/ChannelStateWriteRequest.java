@@ -17,6 +17,7 @@
 
 package org.apache.flink.runtime.checkpoint.channel;
 
+import org.apache.flink.runtime.checkpoint.CheckpointType;
 import org.apache.flink.runtime.checkpoint.channel.ChannelStateWriter.ChannelStateWriteResult;
 import org.apache.flink.runtime.io.network.buffer.Buffer;
 import org.apache.flink.runtime.state.CheckpointStorageLocationReference;
@@ -101,12 +102,22 @@ interface ChannelStateWriteRequest {
 final class CheckpointStartRequest implements ChannelStateWriteRequest {
 	private final ChannelStateWriteResult targetResult;
 	private final CheckpointStorageLocationReference locationReference;
+	private final CheckpointType checkpointType;
 	private final long checkpointId;
 
 	CheckpointStartRequest(long checkpointId, ChannelStateWriteResult targetResult, CheckpointStorageLocationReference locationReference) {
+		this(checkpointId, targetResult, locationReference, CheckpointType.CHECKPOINT);
+	}
+
+	CheckpointStartRequest(
+			long checkpointId,
+			ChannelStateWriteResult targetResult,
+			CheckpointStorageLocationReference locationReference,
+			CheckpointType checkpointType) {
 		this.checkpointId = checkpointId;
 		this.targetResult = checkNotNull(targetResult);
 		this.locationReference = checkNotNull(locationReference);
+		this.checkpointType = checkNotNull(checkpointType);
 	}
 
 	@Override
@@ -122,6 +133,10 @@ final class CheckpointStartRequest implements ChannelStateWriteRequest {
 		return locationReference;
 	}
 
+	CheckpointType getCheckpointType() {
+		return checkpointType;
+	}
+
 	@Override
 	public void cancel(Throwable cause) {
 		targetResult.fail(cause);
@@ -18,10 +18,13 @@
 package org.apache.flink.runtime.checkpoint.channel;
 
 import org.apache.flink.runtime.state.CheckpointStorageWorkerView;
+import org.apache.flink.runtime.state.LocalRecoveryConfig;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
 import java.util.HashMap;
 import java.util.Map;
 
@@ -38,11 +41,25 @@ final class ChannelStateWriteRequestDispatcherImpl implements ChannelStateWriteR
 	private final Map<Long, ChannelStateCheckpointWriter> writers; // limited indirectly by results max size
 	private final CheckpointStorageWorkerView streamFactoryResolver;
 	private final ChannelStateSerializer serializer;
+	@Nullable
+	private final LocalRecoveryConfig localRecoveryConfig;
 
 	ChannelStateWriteRequestDispatcherImpl(CheckpointStorageWorkerView streamFactoryResolver, ChannelStateSerializer serializer) {
+		this(streamFactoryResolver, serializer, null);
+	}
+
+	/**
+	 * @param localRecoveryConfig if local recovery is enabled, a task-local copy of the channel state is written
+	 *                            in addition to the copy in the checkpoint storage.
+	 */
+	ChannelStateWriteRequestDispatcherImpl(
+			CheckpointStorageWorkerView streamFactoryResolver,
+			ChannelStateSerializer serializer,
+			@Nullable LocalRecoveryConfig localRecoveryConfig) {
 		this.writers = new HashMap<>();
 		this.streamFactoryResolver = checkNotNull(streamFactoryResolver);
 		this.serializer = checkNotNull(serializer);
+		this.localRecoveryConfig = localRecoveryConfig;
 	}
 
 	@Override
@@ -81,6 +98,7 @@ final class ChannelStateWriteRequestDispatcherImpl implements ChannelStateWriteR
 		return new ChannelStateCheckpointWriter(
 			request,
 			streamFactoryResolver.resolveCheckpointStorageLocation(request.getCheckpointId(), request.getLocationReference()),
+			localRecoveryConfig,
 			serializer,
 			() -> writers.remove(request.getCheckpointId()));
 	}
@@ -19,9 +19,12 @@ package org.apache.flink.runtime.checkpoint.channel;
 
 import org.apache.flink.annotation.Internal;
 import org.apache.flink.runtime.checkpoint.CheckpointOptions;
+import org.apache.flink.runtime.checkpoint.StateObjectCollection;
 import org.apache.flink.runtime.io.network.buffer.Buffer;
 import org.apache.flink.runtime.state.InputChannelStateHandle;
 import org.apache.flink.runtime.state.ResultSubpartitionStateHandle;
+import org.apache.flink.runtime.state.SnapshotResult;
+import org.apache.flink.runtime.state.StateObject;
 import org.apache.flink.util.CloseableIterator;
 
 import java.io.Closeable;
@@ -41,16 +44,34 @@ public interface ChannelStateWriter extends Closeable {
 	class ChannelStateWriteResult {
 		final CompletableFuture<Collection<InputChannelStateHandle>> inputChannelStateHandles;
 		final CompletableFuture<Collection<ResultSubpartitionStateHandle>> resultSubpartitionStateHandles;
+		/** Handles to the task-local copy of the input channel state, empty if there is no local copy. */
+		final CompletableFuture<Collection<InputChannelStateHandle>> taskLocalInputChannelStateHandles;
+		/** Handles to the task-local copy of the result subpartition state, empty if there is no local copy. */
+		final CompletableFuture<Collection<ResultSubpartitionStateHandle>> taskLocalResultSubpartitionStateHandles;
 
 		ChannelStateWriteResult() {
-			this(new CompletableFuture<>(), new CompletableFuture<>());
+			this(new CompletableFuture<>(), new CompletableFuture<>(), new CompletableFuture<>(), new CompletableFuture<>());
 		}
 
 		ChannelStateWriteResult(
 				CompletableFuture<Collection<InputChannelStateHandle>> inputChannelStateHandles,
 				CompletableFuture<Collection<ResultSubpartitionStateHandle>> resultSubpartitionStateHandles) {
+			this(
+				inputChannelStateHandles,
+				resultSubpartitionStateHandles,
+				CompletableFuture.completedFuture(Collections.emptyList()),
+				CompletableFuture.completedFuture(Collections.emptyList()));
+		}
+
+		ChannelStateWriteResult(
+				CompletableFuture<Collection<InputChannelStateHandle>> inputChannelStateHandles,
+				CompletableFuture<Collection<ResultSubpartitionStateHandle>> resultSubpartitionStateHandles,
+				CompletableFuture<Collection<InputChannelStateHandle>> taskLocalInputChannelStateHandles,
+				CompletableFuture<Collection<ResultSubpartitionStateHandle>> taskLocalResultSubpartitionStateHandles) {
 			this.inputChannelStateHandles = inputChannelStateHandles;
 			this.resultSubpartitionStateHandles = resultSubpartitionStateHandles;
+			this.taskLocalInputChannelStateHandles = taskLocalInputChannelStateHandles;
+			this.taskLocalResultSubpartitionStateHandles = taskLocalResultSubpartitionStateHandles;
 		}
 
 		public CompletableFuture<Collection<InputChannelStateHandle>> getInputChannelStateHandles() {
@@ -61,6 +82,22 @@ public interface ChannelStateWriter extends Closeable {
 			return resultSubpartitionStateHandles;
 		}
 
+		/**
+		 * Returns the input channel state as a {@link SnapshotResult}, which includes the handles to the
+		 * task-local copy of the state if there is one.
+		 */
+		public CompletableFuture<SnapshotResult<StateObjectCollection<InputChannelStateHandle>>> getInputChannelStateSnapshot() {
+			return toSnapshotResult(inputChannelStateHandles, taskLocalInputChannelStateHandles);
+		}
+
+		/**
+		 * Returns the result subpartition state as a {@link SnapshotResult}, which includes the handles to the
+		 * task-local copy of the state if there is one.
+		 */
+		public CompletableFuture<SnapshotResult<StateObjectCollection<ResultSubpartitionStateHandle>>> getResultSubpartitionStateSnapshot() {
+			return toSnapshotResult(resultSubpartitionStateHandles, taskLocalResultSubpartitionStateHandles);
+		}
+
 		public static final ChannelStateWriteResult EMPTY = new ChannelStateWriteResult(
 			CompletableFuture.completedFuture(Collections.emptyList()),
 			CompletableFuture.completedFuture(Collections.emptyList())
@@ -69,11 +106,25 @@ public interface ChannelStateWriter extends Closeable {
 		public void fail(Throwable e) {
 			inputChannelStateHandles.completeExceptionally(e);
 			resultSubpartitionStateHandles.completeExceptionally(e);
+			taskLocalInputChannelStateHandles.completeExceptionally(e);
+			taskLocalResultSubpartitionStateHandles.completeExceptionally(e);
 		}
 
 		boolean isDone() {
 			return inputChannelStateHandles.isDone() && resultSubpartitionStateHandles.isDone();
 		}
+
+		private static <H extends StateObject> CompletableFuture<SnapshotResult<StateObjectCollection<H>>> toSnapshotResult(
+				CompletableFuture<Collection<H>> jobManagerOwnedHandles,
+				CompletableFuture<Collection<H>> taskLocalHandles) {
+			return jobManagerOwnedHandles.thenCombine(
+				taskLocalHandles,
+				(jobManagerOwned, taskLocal) -> taskLocal.isEmpty() ?
+					SnapshotResult.of(new StateObjectCollection<>(jobManagerOwned)) :
+					SnapshotResult.withLocalState(
+						new StateObjectCollection<>(jobManagerOwned),
+						new StateObjectCollection<>(taskLocal)));
+		}
 	}
 
 	/**
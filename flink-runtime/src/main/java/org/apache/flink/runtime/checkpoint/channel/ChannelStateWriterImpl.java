@@ -24,12 +24,14 @@ import org.apache.flink.runtime.io.network.api.serialization.EventSerializer;
 import org.apache.flink.runtime.io.network.buffer.Buffer;
 import org.apache.flink.runtime.state.CheckpointStorageWorkerView;
 import org.apache.flink.runtime.state.CheckpointStreamFactory;
+import org.apache.flink.runtime.state.LocalRecoveryConfig;
 import org.apache.flink.util.CloseableIterator;
 import org.apache.flink.util.Preconditions;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 import java.io.IOException;
@@ -70,6 +72,17 @@ public class ChannelStateWriterImpl implements ChannelStateWriter {
 		this(taskName, streamFactoryResolver, DEFAULT_MAX_CHECKPOINTS);
 	}
 
+	/**
+	 * Creates a {@link ChannelStateWriterImpl} with {@link #DEFAULT_MAX_CHECKPOINTS} as {@link #maxCheckpoints}, which
+	 * also writes a task-local copy of the channel state if local recovery is enabled.
+	 */
+	public ChannelStateWriterImpl(
+			String taskName,
+			CheckpointStorageWorkerView streamFactoryResolver,
+			@Nullable LocalRecoveryConfig localRecoveryConfig) {
+		this(taskName, streamFactoryResolver, localRecoveryConfig, DEFAULT_MAX_CHECKPOINTS);
+	}
+
 	/**
 	 * Creates a {@link ChannelStateWriterImpl} with {@link ChannelStateSerializerImpl default} {@link ChannelStateSerializer},
 	 * and a {@link ChannelStateWriteRequestExecutorImpl}.
@@ -78,10 +91,20 @@ public class ChannelStateWriterImpl implements ChannelStateWriter {
 	 * @param maxCheckpoints        maximum number of checkpoints to be written currently or finished but not taken yet.
 	 */
 	ChannelStateWriterImpl(String taskName, CheckpointStorageWorkerView streamFactoryResolver, int maxCheckpoints) {
+		this(taskName, streamFactoryResolver, null, maxCheckpoints);
+	}
+
+	ChannelStateWriterImpl(
+			String taskName,
+			CheckpointStorageWorkerView streamFactoryResolver,
+			@Nullable LocalRecoveryConfig localRecoveryConfig,
+			int maxCheckpoints) {
 		this(
 			taskName,
 			new ConcurrentHashMap<>(maxCheckpoints),
-			new ChannelStateWriteRequestExecutorImpl(taskName, new ChannelStateWriteRequestDispatcherImpl(streamFactoryResolver, new ChannelStateSerializerImpl())),
+			new ChannelStateWriteRequestExecutorImpl(
+				taskName,
+				new ChannelStateWriteRequestDispatcherImpl(streamFactoryResolver, new ChannelStateSerializerImpl(), localRecoveryConfig)),
 			maxCheckpoints);
 	}
 
@@ -102,7 +125,7 @@ public class ChannelStateWriterImpl implements ChannelStateWriter {
 		ChannelStateWriteResult result = new ChannelStateWriteResult();
 		ChannelStateWriteResult put = results.computeIfAbsent(checkpointId, id -> {
 			Preconditions.checkState(results.size() < maxCheckpoints, String.format("%s can't start %d, results.size() > maxCheckpoints: %d > %d", taskName, checkpointId, results.size(), maxCheckpoints));
-			enqueue(new CheckpointStartRequest(checkpointId, result, checkpointOptions.getTargetLocation()), false);
+			enqueue(new CheckpointStartRequest(checkpointId, result, checkpointOptions.getTargetLocation(), checkpointOptions.getCheckpointType()), false);
 			return result;
 		});
 		Preconditions.checkArgument(put == result, taskName + " result future already present for checkpoint " + checkpointId);
@@ -20,39 +20,59 @@ package org.apache.flink.runtime.checkpoint.channel;
 import org.apache.flink.api.java.tuple.Tuple2;
 import org.apache.flink.core.fs.FSDataInputStream;
 import org.apache.flink.runtime.checkpoint.OperatorSubtaskState;
+import org.apache.flink.runtime.checkpoint.PrioritizedOperatorSubtaskState;
 import org.apache.flink.runtime.checkpoint.StateObjectCollection;
 import org.apache.flink.runtime.checkpoint.TaskStateSnapshot;
 import org.apache.flink.runtime.io.network.api.writer.ResultPartitionWriter;
 import org.apache.flink.runtime.io.network.partition.consumer.InputGate;
+import org.apache.flink.runtime.jobgraph.OperatorID;
 import org.apache.flink.runtime.state.AbstractChannelStateHandle;
 import org.apache.flink.runtime.state.StreamStateHandle;
 import org.apache.flink.util.Preconditions;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
-import java.util.function.Function;
 import java.util.stream.Stream;
 
 import static java.util.Comparator.comparingLong;
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 
 /**
  * {@link SequentialChannelStateReader} implementation.
+ *
+ * <p>If a task-local copy of the channel state is given, it is read instead of the state of the job manager, as long
+ * as it describes the same channels and all of its files can be opened.
  */
 public class SequentialChannelStateReaderImpl implements SequentialChannelStateReader {
 
+	private static final Logger LOG = LoggerFactory.getLogger(SequentialChannelStateReaderImpl.class);
+
 	private final TaskStateSnapshot taskStateSnapshot;
+	@Nullable
+	private final TaskStateSnapshot taskLocalStateSnapshot;
 	private final ChannelStateSerializer serializer;
 	private final ChannelStateChunkReader chunkReader;
 
 	public SequentialChannelStateReaderImpl(TaskStateSnapshot taskStateSnapshot) {
+		this(taskStateSnapshot, null);
+	}
+
+	public SequentialChannelStateReaderImpl(TaskStateSnapshot taskStateSnapshot, @Nullable TaskStateSnapshot taskLocalStateSnapshot) {
 		this.taskStateSnapshot = taskStateSnapshot;
+		this.taskLocalStateSnapshot = taskLocalStateSnapshot;
 		this.serializer = new ChannelStateSerializerImpl();
 		this.chunkReader = new ChannelStateChunkReader(serializer);
 	}
@@ -60,14 +80,16 @@ public class SequentialChannelStateReaderImpl implements SequentialChannelStateR
 	@Override
 	public void readInputData(InputGate[] inputGates) throws IOException, InterruptedException {
 		try (InputChannelRecoveredStateHandler stateHandler = new InputChannelRecoveredStateHandler(inputGates)) {
-			read(stateHandler, groupByDelegate(streamSubtaskStates(), OperatorSubtaskState::getInputChannelState));
+			read(stateHandler, groupByDelegate(
+				streamSubtaskStates().map(state -> selectReadableAlternative(state.getPrioritizedInputChannelState()))));
 		}
 	}
 
 	@Override
 	public void readOutputData(ResultPartitionWriter[] writers, boolean notifyAndBlockOnCompletion) throws IOException, InterruptedException {
 		try (ResultSubpartitionRecoveredStateHandler stateHandler = new ResultSubpartitionRecoveredStateHandler(writers, notifyAndBlockOnCompletion)) {
-			read(stateHandler, groupByDelegate(streamSubtaskStates(), OperatorSubtaskState::getResultSubpartitionState));
+			read(stateHandler, groupByDelegate(
+				streamSubtaskStates().map(state -> selectReadableAlternative(state.getPrioritizedResultSubpartitionState()))));
 		}
 	}
 
@@ -91,15 +113,53 @@ public class SequentialChannelStateReaderImpl implements SequentialChannelStateR
 		}
 	}
 
-	private Stream<OperatorSubtaskState> streamSubtaskStates() {
-		return taskStateSnapshot.getSubtaskStateMappings().stream().map(Map.Entry::getValue);
+	private Stream<PrioritizedOperatorSubtaskState> streamSubtaskStates() {
+		return taskStateSnapshot.getSubtaskStateMappings().stream()
+			.map(entry -> new PrioritizedOperatorSubtaskState.Builder(
+				entry.getValue(),
+				getTaskLocalAlternatives(entry.getKey())).build());
+	}
+
+	private List<OperatorSubtaskState> getTaskLocalAlternatives(OperatorID operatorID) {
+		OperatorSubtaskState taskLocalState = taskLocalStateSnapshot == null ?
+			null :
+			taskLocalStateSnapshot.getSubtaskStateByOperatorID(operatorID);
+		return taskLocalState == null ? Collections.emptyList() : Collections.singletonList(taskLocalState);
+	}
+
+	/**
+	 * Selects the alternative with the highest priority whose files can all be opened. The channel state can not be
+	 * read partially from different alternatives, so the choice is made before reading any data. The last alternative
+	 * is the state of the job manager, which is used if no other alternative is readable.
+	 */
+	private static <Handle extends AbstractChannelStateHandle<?>> StateObjectCollection<Handle> selectReadableAlternative(
+			List<StateObjectCollection<Handle>> alternativesByPriority) {
+		for (int i = 0; i < alternativesByPriority.size() - 1; i++) {
+			StateObjectCollection<Handle> alternative = alternativesByPriority.get(i);
+			if (canOpenAll(alternative)) {
+				return alternative;
+			}
+		}
+		return alternativesByPriority.get(alternativesByPriority.size() - 1);
+	}
+
+	private static boolean canOpenAll(StateObjectCollection<? extends AbstractChannelStateHandle<?>> handles) {
+		Set<StreamStateHandle> delegates = handles.stream().map(AbstractChannelStateHandle::getDelegate).collect(toSet());
+		for (StreamStateHandle delegate : delegates) {
+			try {
+				delegate.openInputStream().close();
+			} catch (IOException e) {
+				LOG.warn("Could not open task-local channel state {}, falling back to the remote state.", delegate, e);
+				return false;
+			}
+		}
+		return true;
 	}
 
 	private static <Info, Handle extends AbstractChannelStateHandle<Info>> Map<StreamStateHandle, List<Handle>> groupByDelegate(
-			Stream<OperatorSubtaskState> states,
-			Function<OperatorSubtaskState, StateObjectCollection<Handle>> stateHandleExtractor) {
+			Stream<StateObjectCollection<Handle>> states) {
 		return states
-			.map(stateHandleExtractor).flatMap(Collection::stream)
+			.flatMap(Collection::stream)
 			.peek(validate())
 			.collect(groupingBy(AbstractChannelStateHandle::getDelegate));
 	}
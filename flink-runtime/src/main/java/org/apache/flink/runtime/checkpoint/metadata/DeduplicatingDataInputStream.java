@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.checkpoint.metadata;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link DataInputStream} that reads the strings written by a {@link DeduplicatingDataOutputStream}.
+ * Strings that occur several times are read only once, and all occurrences share the same instance.
+ */
+final class DeduplicatingDataInputStream extends DataInputStream {
+
+	/** The strings that were read so far, in the order in which they first occurred. */
+	private final List<String> strings = new ArrayList<>();
+
+	DeduplicatingDataInputStream(InputStream in) {
+		super(in);
+	}
+
+	String readDeduplicatedString() throws IOException {
+		final int reference = readVarInt();
+		if (reference == 0) {
+			final String value = readUTF();
+			strings.add(value);
+			return value;
+		} else if (reference <= strings.size()) {
+			return strings.get(reference - 1);
+		} else {
+			throw new IOException("Reference to unknown string " + reference + '.');
+		}
+	}
+
+	String readDeduplicatedPath() throws IOException {
+		final String parent = readDeduplicatedString();
+		return parent + readUTF();
+	}
+
+	private int readVarInt() throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			final int b = readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed variable-length integer.");
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.checkpoint.metadata;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@link DataOutputStream} that writes each distinct string only once. Later occurrences of a string are
+ * written as a reference to its first occurrence. The strings are read back by a
+ * {@link DeduplicatingDataInputStream}.
+ *
+ * <p>This is used for the strings that repeat many times in checkpoint metadata, such as the directories of
+ * state files and the names of shared state.
+ */
+final class DeduplicatingDataOutputStream extends DataOutputStream {
+
+	/** The index of each string that was written so far. */
+	private final Map<String, Integer> stringIndices = new HashMap<>();
+
+	DeduplicatingDataOutputStream(OutputStream out) {
+		super(out);
+	}
+
+	/**
+	 * Writes the string, or a reference to an earlier occurrence of it.
+	 */
+	void writeDeduplicatedString(String value) throws IOException {
+		final Integer index = stringIndices.get(value);
+		if (index != null) {
+			writeVarInt(index + 1);
+		} else {
+			stringIndices.put(value, stringIndices.size());
+			writeVarInt(0);
+			writeUTF(value);
+		}
+	}
+
+	/**
+	 * Writes the path with a deduplicated parent directory. The file names are typically unique, so only the
+	 * directories are deduplicated.
+	 */
+	void writeDeduplicatedPath(String path) throws IOException {
+		final int separator = path.lastIndexOf('/');
+		writeDeduplicatedString(path.substring(0, separator + 1));
+		writeUTF(path.substring(separator + 1));
+	}
+
+	private void writeVarInt(int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		write(value);
+	}
+}
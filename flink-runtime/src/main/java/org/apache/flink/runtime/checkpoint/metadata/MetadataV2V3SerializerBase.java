@@ -39,6 +39,7 @@ import org.apache.flink.runtime.state.StreamStateHandle;
 import org.apache.flink.runtime.state.filesystem.AbstractFsCheckpointStorageAccess;
 import org.apache.flink.runtime.state.filesystem.FileStateHandle;
 import org.apache.flink.runtime.state.filesystem.RelativeFileStateHandle;
+import org.apache.flink.runtime.state.filesystem.SegmentFileStateHandle;
 import org.apache.flink.runtime.state.memory.ByteStreamStateHandle;
 import org.apache.flink.util.function.BiConsumerWithException;
 import org.apache.flink.util.function.BiFunctionWithException;
@@ -90,6 +91,7 @@ public abstract class MetadataV2V3SerializerBase {
 	private static final byte PARTITIONABLE_OPERATOR_STATE_HANDLE = 4;
 	private static final byte INCREMENTAL_KEY_GROUPS_HANDLE = 5;
 	private static final byte RELATIVE_STREAM_STATE_HANDLE = 6;
+	private static final byte SEGMENT_FILE_STREAM_STATE_HANDLE = 7;
 
 	// ------------------------------------------------------------------------
 	//  (De)serialization entry points
@@ -282,7 +284,7 @@ public abstract class MetadataV2V3SerializerBase {
 			dos.writeByte(INCREMENTAL_KEY_GROUPS_HANDLE);
 
 			dos.writeLong(incrementalKeyedStateHandle.getCheckpointId());
-			dos.writeUTF(String.valueOf(incrementalKeyedStateHandle.getBackendIdentifier()));
+			writeString(String.valueOf(incrementalKeyedStateHandle.getBackendIdentifier()), dos);
 			dos.writeInt(incrementalKeyedStateHandle.getKeyGroupRange().getStartKeyGroup());
 			dos.writeInt(incrementalKeyedStateHandle.getKeyGroupRange().getNumberOfKeyGroups());
 
@@ -320,7 +322,7 @@ public abstract class MetadataV2V3SerializerBase {
 		} else if (INCREMENTAL_KEY_GROUPS_HANDLE == type) {
 
 			long checkpointId = dis.readLong();
-			String backendId = dis.readUTF();
+			String backendId = readString(dis);
 			int startKeyGroup = dis.readInt();
 			int numKeyGroups = dis.readInt();
 			KeyGroupRange keyGroupRange =
@@ -358,7 +360,7 @@ public abstract class MetadataV2V3SerializerBase {
 					stateHandle.getStateNameToPartitionOffsets();
 			dos.writeInt(partitionOffsetsMap.size());
 			for (Map.Entry<String, OperatorStateHandle.StateMetaInfo> entry : partitionOffsetsMap.entrySet()) {
-				dos.writeUTF(entry.getKey());
+				writeString(entry.getKey(), dos);
 
 				OperatorStateHandle.StateMetaInfo stateMetaInfo = entry.getValue();
 
@@ -388,7 +390,7 @@ public abstract class MetadataV2V3SerializerBase {
 			int mapSize = dis.readInt();
 			Map<String, OperatorStateHandle.StateMetaInfo> offsetsMap = new HashMap<>(mapSize);
 			for (int i = 0; i < mapSize; ++i) {
-				String key = dis.readUTF();
+				String key = readString(dis);
 
 				int modeOrdinal = dis.readByte();
 				OperatorStateHandle.Mode mode = OperatorStateHandle.Mode.values()[modeOrdinal];
@@ -446,13 +448,21 @@ public abstract class MetadataV2V3SerializerBase {
 		} else if (stateHandle instanceof RelativeFileStateHandle) {
 			dos.writeByte(RELATIVE_STREAM_STATE_HANDLE);
 			RelativeFileStateHandle relativeFileStateHandle = (RelativeFileStateHandle) stateHandle;
-			dos.writeUTF(relativeFileStateHandle.getRelativePath());
+			writeString(relativeFileStateHandle.getRelativePath(), dos);
 			dos.writeLong(relativeFileStateHandle.getStateSize());
+		} else if (stateHandle instanceof SegmentFileStateHandle) {
+			dos.writeByte(SEGMENT_FILE_STREAM_STATE_HANDLE);
+			SegmentFileStateHandle segmentFileStateHandle = (SegmentFileStateHandle) stateHandle;
+			String relativePath = segmentFileStateHandle.getRelativePath();
+			dos.writeBoolean(relativePath != null);
+			writeString(relativePath != null ? relativePath : segmentFileStateHandle.getFilePath().toString(), dos);
+			dos.writeLong(segmentFileStateHandle.getStartPos());
+			dos.writeLong(segmentFileStateHandle.getStateSize());
 		} else if (stateHandle instanceof FileStateHandle) {
 			dos.writeByte(FILE_STREAM_STATE_HANDLE);
 			FileStateHandle fileStateHandle = (FileStateHandle) stateHandle;
 			dos.writeLong(stateHandle.getStateSize());
-			dos.writeUTF(fileStateHandle.getFilePath().toString());
+			writePath(fileStateHandle.getFilePath().toString(), dos);
 
 		} else if (stateHandle instanceof ByteStreamStateHandle) {
 			dos.writeByte(BYTE_STREAM_STATE_HANDLE);
@@ -478,7 +488,7 @@ public abstract class MetadataV2V3SerializerBase {
 			return null;
 		} else if (FILE_STREAM_STATE_HANDLE == type) {
 			long size = dis.readLong();
-			String pathString = dis.readUTF();
+			String pathString = readPath(dis);
 			return new FileStateHandle(new Path(pathString), size);
 		} else if (BYTE_STREAM_STATE_HANDLE == type) {
 			String handleName = dis.readUTF();
@@ -490,10 +500,23 @@ public abstract class MetadataV2V3SerializerBase {
 			if (context == null) {
 				throw new IOException("Cannot deserialize a RelativeFileStateHandle without a context to make it relative to.");
 			}
-			String relativePath = dis.readUTF();
+			String relativePath = readString(dis);
 			long size = dis.readLong();
 			Path statePath = new Path(context.getExclusiveDirPath(), relativePath);
 			return new RelativeFileStateHandle(statePath, relativePath, size);
+		} else if (SEGMENT_FILE_STREAM_STATE_HANDLE == type) {
+			boolean isRelative = dis.readBoolean();
+			String pathString = readString(dis);
+			long startPos = dis.readLong();
+			long size = dis.readLong();
+			if (!isRelative) {
+				return new SegmentFileStateHandle(new Path(pathString), null, startPos, size);
+			}
+			if (context == null) {
+				throw new IOException("Cannot deserialize a relative SegmentFileStateHandle without a context to make it relative to.");
+			}
+			Path statePath = new Path(context.getExclusiveDirPath(), pathString);
+			return new SegmentFileStateHandle(statePath, pathString, startPos, size);
 		} else {
 			throw new IOException("Unknown implementation of StreamStateHandle, code: " + type);
 		}
@@ -561,7 +584,7 @@ public abstract class MetadataV2V3SerializerBase {
 
 		dos.writeInt(map.size());
 		for (Map.Entry<StateHandleID, StreamStateHandle> entry : map.entrySet()) {
-			dos.writeUTF(entry.getKey().toString());
+			writeString(entry.getKey().toString(), dos);
 			serializeStreamStateHandle(entry.getValue(), dos);
 		}
 	}
@@ -574,7 +597,7 @@ public abstract class MetadataV2V3SerializerBase {
 		Map<StateHandleID, StreamStateHandle> result = new HashMap<>(size);
 
 		for (int i = 0; i < size; ++i) {
-			StateHandleID stateHandleID = new StateHandleID(dis.readUTF());
+			StateHandleID stateHandleID = new StateHandleID(readString(dis));
 			StreamStateHandle stateHandle = deserializeStreamStateHandle(dis, context);
 			result.put(stateHandleID, stateHandle);
 		}
@@ -582,6 +605,42 @@ public abstract class MetadataV2V3SerializerBase {
 		return result;
 	}
 
+	/**
+	 * Writes a string that may occur many times in the metadata. The string is deduplicated if the
+	 * stream supports it, and written as is otherwise.
+	 */
+	static void writeString(String value, DataOutputStream dos) throws IOException {
+		if (dos instanceof DeduplicatingDataOutputStream) {
+			((DeduplicatingDataOutputStream) dos).writeDeduplicatedString(value);
+		} else {
+			dos.writeUTF(value);
+		}
+	}
+
+	static String readString(DataInputStream dis) throws IOException {
+		return dis instanceof DeduplicatingDataInputStream
+			? ((DeduplicatingDataInputStream) dis).readDeduplicatedString()
+			: dis.readUTF();
+	}
+
+	/**
+	 * Writes a file path, whose parent directory may occur many times in the metadata. The parent
+	 * directory is deduplicated if the stream supports it, and the path is written as is otherwise.
+	 */
+	static void writePath(String path, DataOutputStream dos) throws IOException {
+		if (dos instanceof DeduplicatingDataOutputStream) {
+			((DeduplicatingDataOutputStream) dos).writeDeduplicatedPath(path);
+		} else {
+			dos.writeUTF(path);
+		}
+	}
+
+	static String readPath(DataInputStream dis) throws IOException {
+		return dis instanceof DeduplicatingDataInputStream
+			? ((DeduplicatingDataInputStream) dis).readDeduplicatedPath()
+			: dis.readUTF();
+	}
+
 	// ------------------------------------------------------------------------
 	//  internal helper classes
 	// ------------------------------------------------------------------------
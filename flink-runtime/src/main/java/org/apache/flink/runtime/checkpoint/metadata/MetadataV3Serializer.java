@@ -59,8 +59,8 @@ public class MetadataV3Serializer extends MetadataV2V3SerializerBase implements
 
 	private final ChannelStateHandleSerializer channelStateHandleSerializer = new ChannelStateHandleSerializer();
 
-	/** Singleton, not meant to be instantiated. */
-	private MetadataV3Serializer() {}
+	/** Singleton, not meant to be instantiated, only extended by newer format versions. */
+	protected MetadataV3Serializer() {}
 
 	@Override
 	public int getVersion() {
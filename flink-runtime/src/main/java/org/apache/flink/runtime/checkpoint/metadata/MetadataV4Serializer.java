@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.checkpoint.metadata;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.runtime.checkpoint.OperatorState;
+import org.apache.flink.runtime.checkpoint.OperatorSubtaskState;
+import org.apache.flink.runtime.jobgraph.OperatorID;
+import org.apache.flink.runtime.state.memory.ByteStreamStateHandle;
+
+import javax.annotation.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * (De)serializer for checkpoint metadata format version 4.
+ *
+ * <p>Compared to format version 3, this writes the subtask states of each operator as a separate,
+ * compressed block. Within a block, strings that repeat, such as the directories of state files, the
+ * names of shared state, and the names of operator states, are written only once. The blocks are only
+ * deserialized when the subtask states of their operator are accessed for the first time (see
+ * {@link OperatorState#OperatorState(OperatorID, int, int, boolean, OperatorState.SubtaskStatesLoader)}),
+ * so that restoring a job does not need to hold the state handles of all operators at once, and never
+ * deserializes the state of operators that are not restored. Whether any subtask has state is written
+ * outside of the block, so that checking for state of operators that are not restored does not
+ * deserialize the block either.
+ *
+ * <p>The operator state layout is:
+ * <pre>
+ *     +-------------+-----------------+----------------+---------------+-------------------+-------------------+
+ *     | operator id | parallelism,    | coordinator    | has subtask   | subtask states    | subtask states    |
+ *     | (2 x long)  | max parallelism | state (handle) | state (bool)  | block length (int)| block (compressed)|
+ *     +-------------+-----------------+----------------+---------------+-------------------+-------------------+
+ * </pre>
+ *
+ * <p>See {@link MetadataV2V3SerializerBase} for a description of the remaining format layout.
+ */
+@Internal
+public class MetadataV4Serializer extends MetadataV3Serializer {
+
+	/** The metadata format version. */
+	public static final int VERSION = 4;
+
+	/** The singleton instance of the serializer. */
+	public static final MetadataV4Serializer INSTANCE = new MetadataV4Serializer();
+
+	/** Singleton, not meant to be instantiated. */
+	private MetadataV4Serializer() {}
+
+	@Override
+	public int getVersion() {
+		return VERSION;
+	}
+
+	// ------------------------------------------------------------------------
+	//  (De)serialization entry points
+	// ------------------------------------------------------------------------
+
+	public static void serialize(CheckpointMetadata checkpointMetadata, DataOutputStream dos) throws IOException {
+		INSTANCE.serializeMetadata(checkpointMetadata, dos);
+	}
+
+	// ------------------------------------------------------------------------
+	//  version-specific serialization formats
+	// ------------------------------------------------------------------------
+
+	@Override
+	protected void serializeOperatorState(OperatorState operatorState, DataOutputStream dos) throws IOException {
+		// Operator ID
+		dos.writeLong(operatorState.getOperatorID().getLowerPart());
+		dos.writeLong(operatorState.getOperatorID().getUpperPart());
+
+		// Parallelism
+		dos.writeInt(operatorState.getParallelism());
+		dos.writeInt(operatorState.getMaxParallelism());
+
+		// Coordinator state
+		serializeStreamStateHandle(operatorState.getCoordinatorState(), dos);
+
+		// Sub task states
+		final byte[] subtaskStates = serializeSubtaskStates(operatorState.getSubtaskStates());
+		dos.writeBoolean(operatorState.hasSubtaskState());
+		dos.writeInt(subtaskStates.length);
+		dos.write(subtaskStates);
+	}
+
+	@Override
+	protected OperatorState deserializeOperatorState(DataInputStream dis, @Nullable DeserializationContext context) throws IOException {
+		final OperatorID jobVertexId = new OperatorID(dis.readLong(), dis.readLong());
+		final int parallelism = dis.readInt();
+		final int maxParallelism = dis.readInt();
+
+		// Coordinator state
+		final ByteStreamStateHandle coordinatorState = deserializeAndCheckByteStreamStateHandle(dis, context);
+
+		// Sub task states, which are only deserialized when they are accessed
+		final boolean hasSubtaskState = dis.readBoolean();
+		final byte[] subtaskStates = new byte[dis.readInt()];
+		dis.readFully(subtaskStates);
+
+		final OperatorState operatorState = new OperatorState(
+			jobVertexId,
+			parallelism,
+			maxParallelism,
+			hasSubtaskState,
+			() -> deserializeSubtaskStates(subtaskStates, context));
+		operatorState.setCoordinatorState(coordinatorState);
+
+		return operatorState;
+	}
+
+	private byte[] serializeSubtaskStates(Map<Integer, OperatorSubtaskState> subtaskStates) throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final Deflater deflater = new Deflater();
+		try (DeduplicatingDataOutputStream out = new DeduplicatingDataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+			out.writeInt(subtaskStates.size());
+			for (Map.Entry<Integer, OperatorSubtaskState> entry : subtaskStates.entrySet()) {
+				out.writeInt(entry.getKey());
+				serializeSubtaskState(entry.getValue(), out);
+			}
+		} finally {
+			deflater.end();
+		}
+		return bytes.toByteArray();
+	}
+
+	private Map<Integer, OperatorSubtaskState> deserializeSubtaskStates(
+			byte[] subtaskStates,
+			@Nullable DeserializationContext context) throws IOException {
+
+		final Inflater inflater = new Inflater();
+		try (DeduplicatingDataInputStream in = new DeduplicatingDataInputStream(
+				new InflaterInputStream(new ByteArrayInputStream(subtaskStates), inflater))) {
+
+			final int numSubTaskStates = in.readInt();
+			final Map<Integer, OperatorSubtaskState> result = new HashMap<>(numSubTaskStates);
+			for (int i = 0; i < numSubTaskStates; i++) {
+				final int subtaskIndex = in.readInt();
+				result.put(subtaskIndex, deserializeSubtaskState(in, context));
+			}
+			return result;
+		} finally {
+			inflater.end();
+		}
+	}
+}
@@ -60,4 +60,28 @@ public final class FailoverStrategyFactoryLoader {
 				throw new IllegalConfigurationException("Unknown failover strategy: " + strategyParam);
 		}
 	}
+
+	/**
+	 * Loads a {@link FailoverStrategy.Factory} from the given configuration, for a job that may use approximate
+	 * local recovery. Approximate local recovery restarts failed tasks region-wise, so it requires the
+	 * {@link RestartPipelinedRegionFailoverStrategy}.
+	 *
+	 * @param config which specifies the failover strategy factory to load
+	 * @param isApproximateLocalRecoveryEnabled whether the job uses approximate local recovery
+	 * @return failover strategy factory loaded
+	 */
+	public static FailoverStrategy.Factory loadFailoverStrategyFactory(
+			final Configuration config,
+			final boolean isApproximateLocalRecoveryEnabled) {
+
+		final FailoverStrategy.Factory factory = loadFailoverStrategyFactory(config);
+		if (isApproximateLocalRecoveryEnabled && !(factory instanceof RestartPipelinedRegionFailoverStrategy.Factory)) {
+			throw new IllegalConfigurationException(String.format(
+				"Approximate local recovery requires the '%s' failover strategy, but '%s' is configured for '%s'.",
+				PIPELINED_REGION_RESTART_STRATEGY_NAME,
+				config.getString(JobManagerOptions.EXECUTION_FAILOVER_STRATEGY),
+				JobManagerOptions.EXECUTION_FAILOVER_STRATEGY.key()));
+		}
+		return factory;
+	}
 }
@@ -70,7 +70,7 @@ public final class PipelinedRegionComputeUtil {
 			vertexToRegion.put(vertex, currentRegion);
 
 			for (R consumedResult : vertex.getConsumedResults()) {
-				if (consumedResult.getResultType().isPipelined()) {
+				if (isRegionInternal(consumedResult)) {
 					final V producerVertex = consumedResult.getProducer();
 					final Set<V> producerRegion = vertexToRegion.get(producerVertex);
 
@@ -171,7 +171,7 @@ public final class PipelinedRegionComputeUtil {
 			final Set<V> currentRegion = regionList.get(i);
 			for (V vertex : currentRegion) {
 				for (R producedResult : vertex.getProducedResults()) {
-					if (producedResult.getResultType().isPipelined()) {
+					if (isRegionInternal(producedResult)) {
 						continue;
 					}
 					for (V consumerVertex : producedResult.getConsumers()) {
@@ -187,6 +187,15 @@ public final class PipelinedRegionComputeUtil {
 		return outEdges;
 	}
 
+	/**
+	 * Whether the producer and the consumers of the given result belong to the same region. This is the
+	 * case for pipelined results, unless a restarted consumer can reconnect to the result, as in approximate
+	 * local recovery.
+	 */
+	private static boolean isRegionInternal(final Result<?, ?, ?, ?> result) {
+		return result.getResultType().isPipelined() && !result.getResultType().isReconnectable();
+	}
+
 	private PipelinedRegionComputeUtil() {
 	}
 }
@@ -95,6 +95,8 @@ public class RestartPipelinedRegionFailoverStrategy implements FailoverStrategy
 	 * 2. If an input result partition of an involved region is not available, i.e. Missing or Corrupted,
 	 *    the region containing the partition producer task is involved
 	 * 3. If a region is involved, all of its consumer regions are involved
+	 * Reconnectable result partitions are always considered to be available, and their consumer regions are not
+	 * involved by rule 3, because their consumers and producers can reconnect to each other.
 	 *
 	 * @param executionVertexId ID of the failed task
 	 * @param cause cause of the failure
@@ -147,6 +149,8 @@ public class RestartPipelinedRegionFailoverStrategy implements FailoverStrategy
 	 * 2. If an input result partition of an involved region is not available, i.e. Missing or Corrupted,
 	 *    the region containing the partition producer task is involved
 	 * 3. If a region is involved, all of its consumer regions are involved
+	 * Reconnectable result partitions are always considered to be available, and their consumer regions are not
+	 * involved by rule 3, because their consumers and producers can reconnect to each other.
 	 */
 	private Set<SchedulingPipelinedRegion> getRegionsToRestart(SchedulingPipelinedRegion failedRegion) {
 		Set<SchedulingPipelinedRegion> regionsToRestart = Collections.newSetFromMap(new IdentityHashMap<>());
@@ -165,7 +169,9 @@ public class RestartPipelinedRegionFailoverStrategy implements FailoverStrategy
 			// if a needed input result partition is not available, its producer region is involved
 			for (SchedulingExecutionVertex vertex : regionToRestart.getVertices()) {
 				for (SchedulingResultPartition consumedPartition : vertex.getConsumedResults()) {
-					if (!resultPartitionAvailabilityChecker.isAvailable(consumedPartition.getId())) {
+					// the producer of a reconnectable partition keeps running, the restarted consumer reconnects to it
+					if (!consumedPartition.getResultType().isReconnectable() &&
+							!resultPartitionAvailabilityChecker.isAvailable(consumedPartition.getId())) {
 						SchedulingPipelinedRegion producerRegion = topology.getPipelinedRegionOfVertex(consumedPartition.getProducer().getId());
 						if (!visitedRegions.contains(producerRegion)) {
 							visitedRegions.add(producerRegion);
@@ -178,6 +184,11 @@ public class RestartPipelinedRegionFailoverStrategy implements FailoverStrategy
 			// all consumer regions of an involved region should be involved
 			for (SchedulingExecutionVertex vertex : regionToRestart.getVertices()) {
 				for (SchedulingResultPartition producedPartition : vertex.getProducedResults()) {
+					// consumers of a reconnectable partition are not restarted with its producer. A consumer that
+					// loses the connection to the producer fails and is restarted on its own.
+					if (producedPartition.getResultType().isReconnectable()) {
+						continue;
+					}
 					for (SchedulingExecutionVertex consumerVertex : producedPartition.getConsumers()) {
 						SchedulingPipelinedRegion consumerRegion = topology.getPipelinedRegionOfVertex(consumerVertex.getId());
 						if (!visitedRegions.contains(consumerRegion)) {
@@ -82,6 +82,9 @@ public class JobGraph implements Serializable {
 	/** The mode in which the job is scheduled. */
 	private ScheduleMode scheduleMode = ScheduleMode.LAZY_FROM_SOURCES;
 
+	/** Whether failed tasks are restarted on their own, accepting the loss of the data in flight. */
+	private boolean approximateLocalRecovery = false;
+
 	// --- checkpointing ---
 
 	/** Job specific execution config. */
@@ -231,6 +234,23 @@ public class JobGraph implements Serializable {
 		return scheduleMode;
 	}
 
+	/**
+	 * Enables or disables approximate local recovery. With approximate local recovery, a failed task is
+	 * restarted without restarting its upstream tasks, which the restarted task reconnects to. The data that
+	 * was in flight between the tasks when the failure happened is lost.
+	 *
+	 * <p>Approximate local recovery requires the job to be scheduled eagerly and its pipelined exchanges to
+	 * produce {@link org.apache.flink.runtime.io.network.partition.ResultPartitionType#PIPELINED_APPROXIMATE
+	 * reconnectable} partitions.
+	 */
+	public void enableApproximateLocalRecovery(boolean enabled) {
+		this.approximateLocalRecovery = enabled;
+	}
+
+	public boolean isApproximateLocalRecoveryEnabled() {
+		return approximateLocalRecovery;
+	}
+
 	/**
 	 * Sets the savepoint restore settings.
 	 * @param settings The savepoint restore settings.
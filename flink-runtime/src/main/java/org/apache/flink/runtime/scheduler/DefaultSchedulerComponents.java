@@ -43,14 +43,21 @@ import org.apache.flink.runtime.scheduler.strategy.PipelinedRegionSchedulingStra
 import org.apache.flink.runtime.scheduler.strategy.SchedulingStrategyFactory;
 import org.apache.flink.util.clock.SystemClock;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.util.function.Consumer;
 
+import static org.apache.flink.util.Preconditions.checkState;
+
 /**
  * Components to create a {@link DefaultScheduler} which depends on the
  * configured {@link JobManagerOptions#SCHEDULING_STRATEGY}.
  */
 public class DefaultSchedulerComponents {
 
+	private static final Logger LOG = LoggerFactory.getLogger(DefaultSchedulerComponents.class);
+
 	private static final String PIPELINED_REGION_SCHEDULING = "region";
 	private static final String LEGACY_SCHEDULING = "legacy";
 
@@ -82,11 +89,30 @@ public class DefaultSchedulerComponents {
 
 	static DefaultSchedulerComponents createSchedulerComponents(
 			final ScheduleMode scheduleMode,
+			final boolean isApproximateLocalRecoveryEnabled,
 			final Configuration jobMasterConfiguration,
 			final SlotPool slotPool,
 			final Time slotRequestTimeout) {
 
 		final String schedulingStrategy = jobMasterConfiguration.getString(JobManagerOptions.SCHEDULING_STRATEGY);
+		if (isApproximateLocalRecoveryEnabled) {
+			// the pipelined region scheduling expects all exchanges between regions to be blocking, while
+			// the approximate exchanges between the regions of such jobs are pipelined
+			checkState(
+				scheduleMode == ScheduleMode.EAGER,
+				"Approximate local recovery requires the %s schedule mode, but the job uses %s.",
+				ScheduleMode.EAGER,
+				scheduleMode);
+			if (PIPELINED_REGION_SCHEDULING.equals(schedulingStrategy)) {
+				LOG.info("Using the {} scheduling strategy, because the job uses approximate local recovery.", LEGACY_SCHEDULING);
+			}
+			return createLegacySchedulerComponents(
+				scheduleMode,
+				jobMasterConfiguration,
+				slotPool,
+				slotRequestTimeout);
+		}
+
 		switch (schedulingStrategy) {
 			case PIPELINED_REGION_SCHEDULING:
 				return createPipelinedRegionSchedulerComponents(
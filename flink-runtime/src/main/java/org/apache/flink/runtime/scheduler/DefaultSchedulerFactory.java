@@ -69,6 +69,7 @@ public class DefaultSchedulerFactory implements SchedulerNGFactory {
 
 		final DefaultSchedulerComponents schedulerComponents = createSchedulerComponents(
 			jobGraph.getScheduleMode(),
+			jobGraph.isApproximateLocalRecoveryEnabled(),
 			jobMasterConfiguration,
 			slotPool,
 			slotRequestTimeout);
@@ -100,7 +101,9 @@ public class DefaultSchedulerFactory implements SchedulerNGFactory {
 			shuffleMaster,
 			partitionTracker,
 			schedulerComponents.getSchedulingStrategyFactory(),
-			FailoverStrategyFactoryLoader.loadFailoverStrategyFactory(jobMasterConfiguration),
+			FailoverStrategyFactoryLoader.loadFailoverStrategyFactory(
+				jobMasterConfiguration,
+				jobGraph.isApproximateLocalRecoveryEnabled()),
 			restartBackoffTimeStrategy,
 			new DefaultExecutionVertexOperations(),
 			new ExecutionVertexVersioner(),
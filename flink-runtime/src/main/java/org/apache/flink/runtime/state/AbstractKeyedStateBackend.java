@@ -136,11 +136,7 @@ public abstract class AbstractKeyedStateBackend<K> implements
 	}
 
 	private static StreamCompressionDecorator determineStreamCompression(ExecutionConfig executionConfig) {
-		if (executionConfig != null && executionConfig.isUseSnapshotCompression()) {
-			return SnappyStreamCompressionDecorator.INSTANCE;
-		} else {
-			return UncompressedStreamCompressionDecorator.INSTANCE;
-		}
+		return StreamCompressionDecorator.forExecutionConfig(executionConfig);
 	}
 
 	/**
@@ -44,11 +44,7 @@ public abstract class AbstractStateBackend implements StateBackend, java.io.Seri
 	private static final long serialVersionUID = 4620415814639230247L;
 
 	public static StreamCompressionDecorator getCompressionDecorator(ExecutionConfig executionConfig) {
-		if (executionConfig != null && executionConfig.isUseSnapshotCompression()) {
-			return SnappyStreamCompressionDecorator.INSTANCE;
-		} else {
-			return UncompressedStreamCompressionDecorator.INSTANCE;
-		}
+		return StreamCompressionDecorator.forExecutionConfig(executionConfig);
 	}
 
 	// ------------------------------------------------------------------------
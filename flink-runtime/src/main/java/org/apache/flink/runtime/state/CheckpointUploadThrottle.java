@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state;
+
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MeterView;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.metrics.SimpleCounter;
+
+import javax.annotation.concurrent.GuardedBy;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits the bandwidth with which the tasks of a TaskManager upload their checkpoint state. Before writing state
+ * to the checkpoint storage, a stream {@link #acquire(long) acquires} the bytes it is about to write, which blocks
+ * until the bytes fit into the bandwidth.
+ *
+ * <p>Each TaskManager holds one throttle in its services. The tasks get it from their
+ * {@link TaskStateManager#getCheckpointUploadThrottle()} and pass it to their checkpoint storage.
+ *
+ * <p>The bytes are granted in slices of at most {@link #SLICE_SIZE} bytes, in the order in which the slices are
+ * requested. A stream that uploads a large amount of state requests its next slice only after its previous slice
+ * was granted, so all streams that upload concurrently take turns and share the bandwidth fairly.
+ *
+ * <p>By default, the bandwidth is not limited, and acquiring bytes only counts them.
+ */
+public class CheckpointUploadThrottle {
+
+	/** The maximum number of bytes that are granted to a stream at once. */
+	static final int SLICE_SIZE = 64 * 1024;
+
+	private final Object lock = new Object();
+
+	/** The maximum number of bytes per second, a non-positive value means no limit. */
+	private volatile long maxBytesPerSecond = -1L;
+
+	/** The time at which the bytes that were granted last are uploaded at the maximum bandwidth. */
+	@GuardedBy("lock")
+	private long nextFreeNanos;
+
+	/** The number of bytes that streams wait to upload. */
+	private final AtomicLong queuedBytes = new AtomicLong();
+
+	/** The number of bytes that were granted to the streams, only incremented under the lock. */
+	private final Counter uploadedBytes = new SimpleCounter();
+
+	/**
+	 * Creates a throttle that does not limit the bandwidth.
+	 */
+	public CheckpointUploadThrottle() {}
+
+	/**
+	 * Sets the maximum bandwidth in bytes per second. A non-positive value removes the limit.
+	 */
+	public void setMaxBandwidth(long maxBytesPerSecond) {
+		this.maxBytesPerSecond = maxBytesPerSecond;
+	}
+
+	public long getMaxBandwidth() {
+		return maxBytesPerSecond;
+	}
+
+	public boolean isLimited() {
+		return maxBytesPerSecond > 0;
+	}
+
+	/**
+	 * Acquires the given number of bytes for upload, blocking until they fit into the bandwidth.
+	 *
+	 * @throws InterruptedIOException Thrown, if the thread is interrupted while waiting, e.g. because the
+	 *                                checkpoint is cancelled.
+	 */
+	public void acquire(long numBytes) throws InterruptedIOException {
+		if (numBytes <= 0) {
+			return;
+		}
+		if (!isLimited()) {
+			synchronized (lock) {
+				uploadedBytes.inc(numBytes);
+			}
+			return;
+		}
+
+		long remaining = numBytes;
+		queuedBytes.addAndGet(remaining);
+		try {
+			while (remaining > 0) {
+				final long slice = Math.min(remaining, SLICE_SIZE);
+				final long waitNanos = reserve(slice);
+				if (waitNanos > 0) {
+					TimeUnit.NANOSECONDS.sleep(waitNanos);
+				}
+				queuedBytes.addAndGet(-slice);
+				remaining -= slice;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting to upload checkpoint state.");
+		} finally {
+			queuedBytes.addAndGet(-remaining);
+		}
+	}
+
+	/**
+	 * Grants the given number of bytes after all bytes that were granted before.
+	 *
+	 * @return The number of nanoseconds until the bytes may be uploaded.
+	 */
+	private long reserve(long numBytes) {
+		final long bytesPerSecond = maxBytesPerSecond;
+		synchronized (lock) {
+			uploadedBytes.inc(numBytes);
+			final long now = System.nanoTime();
+			if (bytesPerSecond <= 0) {
+				return 0L;
+			}
+			final long start = Math.max(now, nextFreeNanos);
+			nextFreeNanos = start + numBytes * TimeUnit.SECONDS.toNanos(1L) / bytesPerSecond;
+			return start - now;
+		}
+	}
+
+	public long getQueuedBytes() {
+		return queuedBytes.get();
+	}
+
+	public long getUploadedBytes() {
+		synchronized (lock) {
+			return uploadedBytes.getCount();
+		}
+	}
+
+	/**
+	 * Registers the metrics for the queued and uploaded bytes with the given metric group.
+	 */
+	public void registerMetrics(MetricGroup metricGroup) {
+		metricGroup.<Long, Gauge<Long>>gauge("QueuedBytes", this::getQueuedBytes);
+		metricGroup.<Long, Gauge<Long>>gauge("UploadedBytes", this::getUploadedBytes);
+		metricGroup.meter("UploadedBytesPerSecond", new MeterView(uploadedBytes));
+	}
+}
@@ -0,0 +1,287 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.runtime.state;
+
+import org.apache.flink.core.fs.FSDataInputStream;
+import org.apache.flink.core.memory.ByteArrayInputStreamWithPos;
+import org.apache.flink.util.IOUtils;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * An input stream that decompresses the blocks written by a {@link CompressibleFSDataOutputStream}. The positions
+ * are positions in the uncompressed data, as reported by the output stream. Seeking to a position decompresses the
+ * block that contains it, and reading continues with the following blocks.
+ *
+ * <p>The blocks are indexed lazily from their headers, so seeking only reads the headers of the skipped blocks.
+ * Closing the stream does not close the wrapped stream.
+ */
+class CompressibleFSDataInputStream extends FSDataInputStream {
+
+	private final FSDataInputStream delegate;
+
+	private final StreamCompressionDecorator compressionDecorator;
+
+	/** The position of the wrapped stream where the compressed blocks start. */
+	private final long startPos;
+
+	/** The blocks that were indexed so far, in the order of the stream. */
+	private final List<BlockInfo> blocks;
+
+	/** The uncompressed bytes of the current block. */
+	private byte[] block;
+
+	/** The index of the current block, or -1 if no block was decompressed yet. */
+	private int blockIndex;
+
+	/** The number of uncompressed bytes in the current block. */
+	private int blockLength;
+
+	/** The read position in the current block. */
+	private int blockPos;
+
+	/** Whether all blocks up to the end of the wrapped stream were indexed. */
+	private boolean allBlocksIndexed;
+
+	CompressibleFSDataInputStream(FSDataInputStream delegate, StreamCompressionDecorator compressionDecorator) throws IOException {
+		this.delegate = checkNotNull(delegate);
+		this.compressionDecorator = checkNotNull(compressionDecorator);
+		this.startPos = delegate.getPos();
+		this.blocks = new ArrayList<>();
+		this.block = new byte[CompressibleFSDataOutputStream.BLOCK_SIZE];
+		this.blockIndex = -1;
+	}
+
+	@Override
+	public void seek(long desired) throws IOException {
+		checkArgument(desired >= startPos, "Position %s is before the start of the compressed data.", desired);
+
+		// find the last indexed block that starts at or before the desired position
+		int index = findBlock(desired);
+		while ((index < 0 || (index == blocks.size() - 1 && desired >= blocks.get(index).getEnd()))
+				&& indexNextBlock()) {
+			index = findBlock(desired);
+		}
+
+		if (index < 0) {
+			// there is no data at all, the stream is at its end
+			blockIndex = -1;
+			blockLength = 0;
+			blockPos = 0;
+			return;
+		}
+
+		if (index != blockIndex) {
+			loadBlock(index);
+		}
+		blockPos = (int) Math.min(desired - blocks.get(index).start, blockLength);
+	}
+
+	@Override
+	public long getPos() {
+		return blockIndex < 0 ? startPos : blocks.get(blockIndex).start + blockPos;
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (!ensureAvailable()) {
+			return -1;
+		}
+		return block[blockPos++] & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+		if (!ensureAvailable()) {
+			return -1;
+		}
+		int toCopy = Math.min(len, blockLength - blockPos);
+		System.arraycopy(block, blockPos, b, off, toCopy);
+		blockPos += toCopy;
+		return toCopy;
+	}
+
+	@Override
+	public long skip(long n) throws IOException {
+		if (n <= 0) {
+			return 0;
+		}
+		long before = getPos();
+		seek(before + n);
+		return getPos() - before;
+	}
+
+	@Override
+	public int available() {
+		return blockLength - blockPos;
+	}
+
+	@Override
+	public void close() {
+		blockIndex = -1;
+		blockLength = 0;
+		blockPos = 0;
+	}
+
+	/**
+	 * Makes sure that the current block has bytes left to read, moving on to the next block if needed.
+	 *
+	 * @return false, if the end of the compressed data is reached.
+	 */
+	private boolean ensureAvailable() throws IOException {
+		while (blockPos == blockLength) {
+			int next = blockIndex + 1;
+			if (next == blocks.size() && !indexNextBlock()) {
+				return false;
+			}
+			loadBlock(next);
+		}
+		return true;
+	}
+
+	private int findBlock(long pos) {
+		int low = 0;
+		int high = blocks.size() - 1;
+		int result = -1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (blocks.get(mid).start <= pos) {
+				result = mid;
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Reads the header of the block that follows the last indexed block.
+	 *
+	 * @return false, if there is no further block.
+	 */
+	private boolean indexNextBlock() throws IOException {
+		if (allBlocksIndexed) {
+			return false;
+		}
+
+		final long headerPos;
+		final long start;
+		if (blocks.isEmpty()) {
+			headerPos = startPos;
+			start = startPos;
+		} else {
+			BlockInfo last = blocks.get(blocks.size() - 1);
+			headerPos = last.getDataPos() + last.compressedLength;
+			start = last.getEnd();
+		}
+
+		delegate.seek(headerPos);
+		int first = delegate.read();
+		if (first < 0) {
+			allBlocksIndexed = true;
+			return false;
+		}
+		int compressedLength = (first << 24) | readUnsignedInt24();
+		int uncompressedLength = readInt();
+
+		blocks.add(new BlockInfo(start, headerPos, compressedLength, uncompressedLength));
+		return true;
+	}
+
+	private void loadBlock(int index) throws IOException {
+		BlockInfo info = blocks.get(index);
+		byte[] compressed = new byte[info.compressedLength];
+
+		delegate.seek(info.getDataPos());
+		IOUtils.readFully(delegate, compressed, 0, compressed.length);
+
+		if (block.length < info.uncompressedLength) {
+			block = new byte[info.uncompressedLength];
+		}
+		try (InputStream decompressingIn =
+				compressionDecorator.decorateWithCompression(new ByteArrayInputStreamWithPos(compressed))) {
+			IOUtils.readFully(decompressingIn, block, 0, info.uncompressedLength);
+		}
+
+		blockIndex = index;
+		blockLength = info.uncompressedLength;
+		blockPos = 0;
+	}
+
+	private int readInt() throws IOException {
+		int first = delegate.read();
+		if (first < 0) {
+			throw new EOFException("Unexpected end of the compressed block header.");
+		}
+		return (first << 24) | readUnsignedInt24();
+	}
+
+	private int readUnsignedInt24() throws IOException {
+		int b1 = delegate.read();
+		int b2 = delegate.read();
+		int b3 = delegate.read();
+		if ((b1 | b2 | b3) < 0) {
+			throw new EOFException("Unexpected end of the compressed block header.");
+		}
+		return (b1 << 16) | (b2 << 8) | b3;
+	}
+
+	/**
+	 * The position and the lengths of a compressed block.
+	 */
+	private static final class BlockInfo {
+
+		/** The position of the block in the uncompressed data. */
+		final long start;
+
+		/** The position of the block header in the wrapped stream. */
+		final long headerPos;
+
+		final int compressedLength;
+
+		final int uncompressedLength;
+
+		BlockInfo(long start, long headerPos, int compressedLength, int uncompressedLength) {
+			this.start = start;
+			this.headerPos = headerPos;
+			this.compressedLength = compressedLength;
+			this.uncompressedLength = uncompressedLength;
+		}
+
+		/** Returns the position of the compressed bytes in the wrapped stream, after the two length fields. */
+		long getDataPos() {
+			return headerPos + 8;
+		}
+
+		/** Returns the position in the uncompressed data right after this block. */
+		long getEnd() {
+			return start + uncompressedLength;
+		}
+	}
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.runtime.state;
+
+import org.apache.flink.core.fs.FSDataOutputStream;
+import org.apache.flink.core.memory.ByteArrayOutputStreamWithPos;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * An output stream that compresses the data that is written to the wrapped stream with a
+ * {@link StreamCompressionDecorator}.
+ *
+ * <p>The data is buffered and compressed in blocks of {@link #BLOCK_SIZE} uncompressed bytes. Every block is written
+ * as its compressed length, its uncompressed length and the compressed bytes. The positions reported by
+ * {@link #getPos()} are positions in the uncompressed data, counted from the position of the wrapped stream when
+ * this stream was created. A {@link CompressibleFSDataInputStream} seeks to such positions by decompressing the
+ * block that contains them, so that many small partitions share a block instead of each getting its own frame.
+ *
+ * <p>Closing the stream writes the last block, but does not close the wrapped stream.
+ */
+class CompressibleFSDataOutputStream extends FSDataOutputStream {
+
+	/** The number of uncompressed bytes that are compressed together. */
+	static final int BLOCK_SIZE = 64 * 1024;
+
+	private final FSDataOutputStream delegate;
+
+	private final StreamCompressionDecorator compressionDecorator;
+
+	/** The position of the wrapped stream where the compressed blocks start. */
+	private final long startPos;
+
+	/** The uncompressed bytes of the current block. */
+	private final byte[] block;
+
+	/** The buffer that the current block is compressed into. */
+	private final ByteArrayOutputStreamWithPos compressedBlock;
+
+	/** The number of uncompressed bytes in the current block. */
+	private int blockPos;
+
+	/** The number of uncompressed bytes in all blocks that were already written. */
+	private long writtenBytes;
+
+	CompressibleFSDataOutputStream(FSDataOutputStream delegate, StreamCompressionDecorator compressionDecorator) throws IOException {
+		this.delegate = checkNotNull(delegate);
+		this.compressionDecorator = checkNotNull(compressionDecorator);
+		this.startPos = delegate.getPos();
+		this.block = new byte[BLOCK_SIZE];
+		this.compressedBlock = new ByteArrayOutputStreamWithPos(BLOCK_SIZE);
+	}
+
+	/**
+	 * Returns the position in the uncompressed data, which does not end the current block.
+	 */
+	@Override
+	public long getPos() {
+		return startPos + writtenBytes + blockPos;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		if (blockPos == block.length) {
+			writeBlock();
+		}
+		block[blockPos++] = (byte) b;
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		while (len > 0) {
+			if (blockPos == block.length) {
+				writeBlock();
+			}
+			int toCopy = Math.min(len, block.length - blockPos);
+			System.arraycopy(b, off, block, blockPos, toCopy);
+			blockPos += toCopy;
+			off += toCopy;
+			len -= toCopy;
+		}
+	}
+
+	/**
+	 * Flushes the wrapped stream. The current block is only written once it is full or the stream is synced or
+	 * closed, so that flushing does not shrink the blocks.
+	 */
+	@Override
+	public void flush() throws IOException {
+		delegate.flush();
+	}
+
+	@Override
+	public void sync() throws IOException {
+		writeBlock();
+		delegate.sync();
+	}
+
+	@Override
+	public void close() throws IOException {
+		writeBlock();
+	}
+
+	private void writeBlock() throws IOException {
+		if (blockPos == 0) {
+			return;
+		}
+
+		compressedBlock.reset();
+		try (OutputStream compressingOut = compressionDecorator.decorateWithCompression(compressedBlock)) {
+			compressingOut.write(block, 0, blockPos);
+		}
+
+		writeInt(compressedBlock.getPosition());
+		writeInt(blockPos);
+		delegate.write(compressedBlock.getBuf(), 0, compressedBlock.getPosition());
+
+		writtenBytes += blockPos;
+		blockPos = 0;
+	}
+
+	private void writeInt(int value) throws IOException {
+		delegate.write(value >>> 24);
+		delegate.write(value >>> 16);
+		delegate.write(value >>> 8);
+		delegate.write(value);
+	}
+}
@@ -71,7 +71,8 @@ public class DefaultOperatorStateBackendBuilder implements
 				asynchronousSnapshots,
 				registeredOperatorStates,
 				registeredBroadcastStates,
-				cancelStreamRegistryForBackend);
+				cancelStreamRegistryForBackend,
+				StreamCompressionDecorator.forExecutionConfig(executionConfig));
 		OperatorStateRestoreOperation restoreOperation = new OperatorStateRestoreOperation(
 			cancelStreamRegistry,
 			userClassloader,
@@ -19,6 +19,7 @@
 package org.apache.flink.runtime.state;
 
 import org.apache.flink.core.fs.CloseableRegistry;
+import org.apache.flink.core.fs.FSDataOutputStream;
 import org.apache.flink.core.memory.DataOutputView;
 import org.apache.flink.core.memory.DataOutputViewStreamWrapper;
 import org.apache.flink.runtime.checkpoint.CheckpointOptions;
@@ -43,19 +44,22 @@ class DefaultOperatorStateBackendSnapshotStrategy extends AbstractSnapshotStrate
 	private final Map<String, PartitionableListState<?>> registeredOperatorStates;
 	private final Map<String, BackendWritableBroadcastState<?, ?>> registeredBroadcastStates;
 	private final CloseableRegistry closeStreamOnCancelRegistry;
+	private final StreamCompressionDecorator compressionDecorator;
 
 	protected DefaultOperatorStateBackendSnapshotStrategy(
 		ClassLoader userClassLoader,
 		boolean asynchronousSnapshots,
 		Map<String, PartitionableListState<?>> registeredOperatorStates,
 		Map<String, BackendWritableBroadcastState<?, ?>> registeredBroadcastStates,
-		CloseableRegistry closeStreamOnCancelRegistry) {
+		CloseableRegistry closeStreamOnCancelRegistry,
+		StreamCompressionDecorator compressionDecorator) {
 		super("DefaultOperatorStateBackend snapshot");
 		this.userClassLoader = userClassLoader;
 		this.asynchronousSnapshots = asynchronousSnapshots;
 		this.registeredOperatorStates = registeredOperatorStates;
 		this.registeredBroadcastStates = registeredBroadcastStates;
 		this.closeStreamOnCancelRegistry = closeStreamOnCancelRegistry;
+		this.compressionDecorator = compressionDecorator;
 	}
 
 	@Nonnull
@@ -136,11 +140,18 @@ class DefaultOperatorStateBackendSnapshotStrategy extends AbstractSnapshotStrate
 					DataOutputView dov = new DataOutputViewStreamWrapper(localOut);
 
 					OperatorBackendSerializationProxy backendSerializationProxy =
-						new OperatorBackendSerializationProxy(operatorMetaInfoSnapshots, broadcastMetaInfoSnapshots);
+						new OperatorBackendSerializationProxy(
+							operatorMetaInfoSnapshots,
+							broadcastMetaInfoSnapshots,
+							compressionDecorator);
 
 					backendSerializationProxy.write(dov);
 
-					// ... and then go for the states ...
+					// ... and then go for the states, compressed in blocks. The partition offsets are
+					// positions in the uncompressed data, so they stay seekable ...
+					final CompressibleFSDataOutputStream compressibleOut = compressionDecorator.isCompressing() ?
+						new CompressibleFSDataOutputStream(localOut, compressionDecorator) : null;
+					final FSDataOutputStream statesOut = compressibleOut != null ? compressibleOut : localOut;
 
 					// we put BOTH normal and broadcast state metadata here
 					int initialMapCapacity =
@@ -152,7 +163,7 @@ class DefaultOperatorStateBackendSnapshotStrategy extends AbstractSnapshotStrate
 						registeredOperatorStatesDeepCopies.entrySet()) {
 
 						PartitionableListState<?> value = entry.getValue();
-						long[] partitionOffsets = value.write(localOut);
+						long[] partitionOffsets = value.write(statesOut);
 						OperatorStateHandle.Mode mode = value.getStateMetaInfo().getAssignmentMode();
 						writtenStatesMetaData.put(
 							entry.getKey(),
@@ -164,13 +175,18 @@ class DefaultOperatorStateBackendSnapshotStrategy extends AbstractSnapshotStrate
 						registeredBroadcastStatesDeepCopies.entrySet()) {
 
 						BackendWritableBroadcastState<?, ?> value = entry.getValue();
-						long[] partitionOffsets = {value.write(localOut)};
+						long[] partitionOffsets = {value.write(statesOut)};
 						OperatorStateHandle.Mode mode = value.getStateMetaInfo().getAssignmentMode();
 						writtenStatesMetaData.put(
 							entry.getKey(),
 							new OperatorStateHandle.StateMetaInfo(partitionOffsets, mode));
 					}
 
+					if (compressibleOut != null) {
+						// ends the frame of the last partition
+						compressibleOut.close();
+					}
+
 					// ... and, finally, create the state handle.
 					OperatorStateHandle retValue = null;
 
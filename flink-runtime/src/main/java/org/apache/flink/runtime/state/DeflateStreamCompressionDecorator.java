@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.runtime.util.NonClosingInputStreamDecorator;
+import org.apache.flink.runtime.util.NonClosingOutpusStreamDecorator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * This implementation decorates the stream with deflate compression, which trades CPU time for a higher
+ * compression ratio than {@link SnappyStreamCompressionDecorator snappy} and {@link Lz4StreamCompressionDecorator
+ * LZ4}.
+ */
+@Internal
+public class DeflateStreamCompressionDecorator extends StreamCompressionDecorator {
+
+	public static final StreamCompressionDecorator INSTANCE = new DeflateStreamCompressionDecorator();
+
+	public static final byte FORMAT_ID = 3;
+
+	private static final long serialVersionUID = 1L;
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final int COMPRESSION_LEVEL = 6;
+
+	@Override
+	protected OutputStream decorateWithCompression(NonClosingOutpusStreamDecorator stream) throws IOException {
+		final Deflater deflater = new Deflater(COMPRESSION_LEVEL);
+		return new DeflaterOutputStream(stream, deflater, BUFFER_SIZE) {
+			@Override
+			public void close() throws IOException {
+				// streams with a custom deflater do not release its native memory on close
+				try {
+					super.close();
+				} finally {
+					deflater.end();
+				}
+			}
+		};
+	}
+
+	@Override
+	protected InputStream decorateWithCompression(NonClosingInputStreamDecorator stream) throws IOException {
+		final Inflater inflater = new Inflater();
+		return new InflaterInputStream(stream, inflater, BUFFER_SIZE) {
+			@Override
+			public void close() throws IOException {
+				// streams with a custom inflater do not release its native memory on close
+				try {
+					super.close();
+				} finally {
+					inflater.end();
+				}
+			}
+		};
+	}
+
+	@Override
+	public byte getFormatId() {
+		return FORMAT_ID;
+	}
+}
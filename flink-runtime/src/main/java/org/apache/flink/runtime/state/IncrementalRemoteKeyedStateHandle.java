@@ -19,6 +19,7 @@
 package org.apache.flink.runtime.state;
 
 import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.runtime.state.filesystem.SegmentFileStateHandle;
 import org.apache.flink.util.Preconditions;
 
 import org.slf4j.Logger;
@@ -259,6 +260,12 @@ public class IncrementalRemoteKeyedStateHandle implements IncrementalKeyedStateH
 			// deduplication and returns the previous reference.
 			sharedStateHandle.setValue(result.getReference());
 		}
+
+		// the meta data and the private state may have been appended to shared segment files
+		SegmentFileStateHandle.registerSharedStateIfSegment(stateRegistry, metaStateHandle);
+		for (StreamStateHandle privateStateHandle : privateState.values()) {
+			SegmentFileStateHandle.registerSharedStateIfSegment(stateRegistry, privateStateHandle);
+		}
 	}
 
 	/**
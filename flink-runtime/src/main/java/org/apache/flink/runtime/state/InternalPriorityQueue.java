@@ -25,7 +25,10 @@ import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
 
 /**
  * Interface for collection that gives in order access to elements w.r.t their priority.
@@ -53,6 +56,40 @@ public interface InternalPriorityQueue<T> {
 	@Nullable
 	T peek();
 
+	/**
+	 * Retrieves and removes all elements at the head of this set (w.r.t. the order) that satisfy the given predicate,
+	 * i.e. all elements up to the first element that does not satisfy the predicate. The predicate must be monotonic
+	 * w.r.t. the order of the set, e.g. "timestamp is smaller or equal than X" for a set ordered by timestamp.
+	 *
+	 * <p>Implementations can override this method to remove the elements in bulk instead of one by one, e.g. with a
+	 * single range scan and range delete.
+	 *
+	 * @param canPoll the predicate that elements must satisfy to be removed.
+	 * @return the removed elements, in the order of this set.
+	 */
+	@Nonnull
+	default List<T> pollAll(@Nonnull Predicate<T> canPoll) {
+		return pollAll(canPoll, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Like {@link #pollAll(Predicate)}, but removes at most {@code maxElements} elements, so that callers can drain a
+	 * large number of matching elements in bounded chunks.
+	 *
+	 * @param canPoll the predicate that elements must satisfy to be removed.
+	 * @param maxElements the maximum number of elements to remove.
+	 * @return the removed elements, in the order of this set.
+	 */
+	@Nonnull
+	default List<T> pollAll(@Nonnull Predicate<T> canPoll, @Nonnegative int maxElements) {
+		final List<T> polled = new ArrayList<>();
+		T head;
+		while (polled.size() < maxElements && (head = peek()) != null && canPoll.test(head)) {
+			polled.add(poll());
+		}
+		return polled;
+	}
+
 	/**
 	 * Adds the given element to the set, if it is not already contained.
 	 *
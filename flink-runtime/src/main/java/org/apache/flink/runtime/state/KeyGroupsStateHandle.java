@@ -20,6 +20,7 @@ package org.apache.flink.runtime.state;
 
 
 import org.apache.flink.core.fs.FSDataInputStream;
+import org.apache.flink.runtime.state.filesystem.SegmentFileStateHandle;
 import org.apache.flink.util.Preconditions;
 
 import java.io.IOException;
@@ -100,7 +101,8 @@ public class KeyGroupsStateHandle implements StreamStateHandle, KeyedStateHandle
 
 	@Override
 	public void registerSharedStates(SharedStateRegistry stateRegistry) {
-		// No shared states
+		// the state itself is not shared, but it may have been appended to a shared segment file
+		SegmentFileStateHandle.registerSharedStateIfSegment(stateRegistry, stateHandle);
 	}
 
 	@Override
@@ -46,7 +46,7 @@ import static org.apache.flink.runtime.state.metainfo.StateMetaInfoSnapshotReade
  */
 public class KeyedBackendSerializationProxy<K> extends VersionedIOReadableWritable {
 
-	public static final int VERSION = 6;
+	public static final int VERSION = 7;
 
 	private static final Map<Integer, Integer> META_INFO_SNAPSHOT_FORMAT_VERSION_MAPPER = new HashMap<>();
 	static {
@@ -56,11 +56,11 @@ public class KeyedBackendSerializationProxy<K> extends VersionedIOReadableWritab
 		META_INFO_SNAPSHOT_FORMAT_VERSION_MAPPER.put(4, 4);
 		META_INFO_SNAPSHOT_FORMAT_VERSION_MAPPER.put(5, 5);
 		META_INFO_SNAPSHOT_FORMAT_VERSION_MAPPER.put(6, CURRENT_STATE_META_INFO_SNAPSHOT_VERSION);
+		META_INFO_SNAPSHOT_FORMAT_VERSION_MAPPER.put(7, CURRENT_STATE_META_INFO_SNAPSHOT_VERSION);
 	}
 
-	//TODO allow for more (user defined) compression formats + backwards compatibility story.
-	/** This specifies if we use a compressed format write the key-groups */
-	private boolean usingKeyGroupCompression;
+	/** The compression format that is used to write the key-groups. */
+	private StreamCompressionDecorator keyGroupCompressionDecorator;
 
 	// TODO the keySerializer field should be removed, once all serializers have the restoreSerializer() method implemented
 	private TypeSerializer<K> keySerializer;
@@ -79,7 +79,18 @@ public class KeyedBackendSerializationProxy<K> extends VersionedIOReadableWritab
 			List<StateMetaInfoSnapshot> stateMetaInfoSnapshots,
 			boolean compression) {
 
-		this.usingKeyGroupCompression = compression;
+		this(
+			keySerializer,
+			stateMetaInfoSnapshots,
+			compression ? SnappyStreamCompressionDecorator.INSTANCE : UncompressedStreamCompressionDecorator.INSTANCE);
+	}
+
+	public KeyedBackendSerializationProxy(
+			TypeSerializer<K> keySerializer,
+			List<StateMetaInfoSnapshot> stateMetaInfoSnapshots,
+			StreamCompressionDecorator keyGroupCompressionDecorator) {
+
+		this.keyGroupCompressionDecorator = Preconditions.checkNotNull(keyGroupCompressionDecorator);
 
 		this.keySerializer = Preconditions.checkNotNull(keySerializer);
 		this.keySerializerSnapshot = Preconditions.checkNotNull(keySerializer.snapshotConfiguration());
@@ -98,7 +109,14 @@ public class KeyedBackendSerializationProxy<K> extends VersionedIOReadableWritab
 	}
 
 	public boolean isUsingKeyGroupCompression() {
-		return usingKeyGroupCompression;
+		return keyGroupCompressionDecorator.isCompressing();
+	}
+
+	/**
+	 * Gets the decorator for the compression format that is used to write the key-groups.
+	 */
+	public StreamCompressionDecorator getKeyGroupCompressionDecorator() {
+		return keyGroupCompressionDecorator;
 	}
 
 	@Override
@@ -108,7 +126,7 @@ public class KeyedBackendSerializationProxy<K> extends VersionedIOReadableWritab
 
 	@Override
 	public int[] getCompatibleVersions() {
-		return new int[]{VERSION, 5, 4, 3, 2, 1};
+		return new int[]{VERSION, 6, 5, 4, 3, 2, 1};
 	}
 
 	@Override
@@ -116,7 +134,7 @@ public class KeyedBackendSerializationProxy<K> extends VersionedIOReadableWritab
 		super.write(out);
 
 		// write the compression format used to write each key-group
-		out.writeBoolean(usingKeyGroupCompression);
+		out.writeByte(keyGroupCompressionDecorator.getFormatId());
 
 		TypeSerializerSnapshotSerializationUtil.writeSerializerSnapshot(out, keySerializerSnapshot, keySerializer);
 
@@ -134,10 +152,14 @@ public class KeyedBackendSerializationProxy<K> extends VersionedIOReadableWritab
 
 		final int readVersion = getReadVersion();
 
-		if (readVersion >= 4) {
-			usingKeyGroupCompression = in.readBoolean();
+		if (readVersion >= 7) {
+			keyGroupCompressionDecorator = StreamCompressionDecorator.forFormatId(in.readByte());
+		} else if (readVersion >= 4) {
+			// before version 7, snappy was the only compression format
+			keyGroupCompressionDecorator = in.readBoolean() ?
+				SnappyStreamCompressionDecorator.INSTANCE : UncompressedStreamCompressionDecorator.INSTANCE;
 		} else {
-			usingKeyGroupCompression = false;
+			keyGroupCompressionDecorator = UncompressedStreamCompressionDecorator.INSTANCE;
 		}
 
 		// only starting from version 3, we have the key serializer and its config snapshot written
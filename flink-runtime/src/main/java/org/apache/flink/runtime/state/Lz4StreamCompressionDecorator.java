@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.runtime.util.NonClosingInputStreamDecorator;
+import org.apache.flink.runtime.util.NonClosingOutpusStreamDecorator;
+
+import net.jpountz.lz4.LZ4BlockInputStream;
+import net.jpountz.lz4.LZ4BlockOutputStream;
+import net.jpountz.lz4.LZ4Factory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * This implementation decorates the stream with LZ4 compression.
+ */
+@Internal
+public class Lz4StreamCompressionDecorator extends StreamCompressionDecorator {
+
+	public static final StreamCompressionDecorator INSTANCE = new Lz4StreamCompressionDecorator();
+
+	public static final byte FORMAT_ID = 2;
+
+	private static final long serialVersionUID = 1L;
+
+	private static final int COMPRESSION_BLOCK_SIZE = 64 * 1024;
+
+	@Override
+	protected OutputStream decorateWithCompression(NonClosingOutpusStreamDecorator stream) throws IOException {
+		return new LZ4BlockOutputStream(stream, COMPRESSION_BLOCK_SIZE, LZ4Factory.fastestInstance().fastCompressor());
+	}
+
+	@Override
+	protected InputStream decorateWithCompression(NonClosingInputStreamDecorator stream) throws IOException {
+		return new LZ4BlockInputStream(stream, LZ4Factory.fastestInstance().fastDecompressor());
+	}
+
+	@Override
+	public byte getFormatId() {
+		return FORMAT_ID;
+	}
+}
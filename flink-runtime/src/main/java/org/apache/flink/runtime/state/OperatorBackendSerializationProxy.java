@@ -40,7 +40,7 @@ import static org.apache.flink.runtime.state.metainfo.StateMetaInfoSnapshotReade
  */
 public class OperatorBackendSerializationProxy extends VersionedIOReadableWritable {
 
-	public static final int VERSION = 5;
+	public static final int VERSION = 6;
 
 	private static final Map<Integer, Integer> META_INFO_SNAPSHOT_FORMAT_VERSION_MAPPER = new HashMap<>();
 	static {
@@ -49,10 +49,15 @@ public class OperatorBackendSerializationProxy extends VersionedIOReadableWritab
 		META_INFO_SNAPSHOT_FORMAT_VERSION_MAPPER.put(3, 3);
 		META_INFO_SNAPSHOT_FORMAT_VERSION_MAPPER.put(4, 5);
 		META_INFO_SNAPSHOT_FORMAT_VERSION_MAPPER.put(5, CURRENT_STATE_META_INFO_SNAPSHOT_VERSION);
+		META_INFO_SNAPSHOT_FORMAT_VERSION_MAPPER.put(6, CURRENT_STATE_META_INFO_SNAPSHOT_VERSION);
 	}
 
 	private List<StateMetaInfoSnapshot> operatorStateMetaInfoSnapshots;
 	private List<StateMetaInfoSnapshot> broadcastStateMetaInfoSnapshots;
+
+	/** The compression format that is used to write the states. */
+	private StreamCompressionDecorator compressionDecorator;
+
 	private ClassLoader userCodeClassLoader;
 
 	public OperatorBackendSerializationProxy(ClassLoader userCodeClassLoader) {
@@ -63,6 +68,18 @@ public class OperatorBackendSerializationProxy extends VersionedIOReadableWritab
 			List<StateMetaInfoSnapshot> operatorStateMetaInfoSnapshots,
 			List<StateMetaInfoSnapshot> broadcastStateMetaInfoSnapshots) {
 
+		this(
+			operatorStateMetaInfoSnapshots,
+			broadcastStateMetaInfoSnapshots,
+			UncompressedStreamCompressionDecorator.INSTANCE);
+	}
+
+	public OperatorBackendSerializationProxy(
+			List<StateMetaInfoSnapshot> operatorStateMetaInfoSnapshots,
+			List<StateMetaInfoSnapshot> broadcastStateMetaInfoSnapshots,
+			StreamCompressionDecorator compressionDecorator) {
+
+		this.compressionDecorator = Preconditions.checkNotNull(compressionDecorator);
 		this.operatorStateMetaInfoSnapshots = Preconditions.checkNotNull(operatorStateMetaInfoSnapshots);
 		this.broadcastStateMetaInfoSnapshots = Preconditions.checkNotNull(broadcastStateMetaInfoSnapshots);
 		Preconditions.checkArgument(
@@ -78,12 +95,13 @@ public class OperatorBackendSerializationProxy extends VersionedIOReadableWritab
 
 	@Override
 	public int[] getCompatibleVersions() {
-		return new int[] {VERSION, 4, 3, 2, 1};
+		return new int[] {VERSION, 5, 4, 3, 2, 1};
 	}
 
 	@Override
 	public void write(DataOutputView out) throws IOException {
 		super.write(out);
+		out.writeByte(compressionDecorator.getFormatId());
 		writeStateMetaInfoSnapshots(operatorStateMetaInfoSnapshots, out);
 		writeStateMetaInfoSnapshots(broadcastStateMetaInfoSnapshots, out);
 	}
@@ -102,6 +120,12 @@ public class OperatorBackendSerializationProxy extends VersionedIOReadableWritab
 		super.read(in);
 
 		final int proxyReadVersion = getReadVersion();
+
+		// states were not compressed prior to version 6
+		compressionDecorator = proxyReadVersion >= 6 ?
+			StreamCompressionDecorator.forFormatId(in.readByte()) :
+			UncompressedStreamCompressionDecorator.INSTANCE;
+
 		final Integer metaInfoSnapshotVersion = META_INFO_SNAPSHOT_FORMAT_VERSION_MAPPER.get(proxyReadVersion);
 		if (metaInfoSnapshotVersion == null) {
 			// this should not happen; guard for the future
@@ -139,4 +163,11 @@ public class OperatorBackendSerializationProxy extends VersionedIOReadableWritab
 	public List<StateMetaInfoSnapshot> getBroadcastStateMetaInfoSnapshots() {
 		return broadcastStateMetaInfoSnapshots;
 	}
+
+	/**
+	 * Gets the decorator for the compression format that is used to write the states.
+	 */
+	public StreamCompressionDecorator getCompressionDecorator() {
+		return compressionDecorator;
+	}
 }
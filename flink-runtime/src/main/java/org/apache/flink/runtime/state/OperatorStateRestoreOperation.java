@@ -149,6 +149,11 @@ public class OperatorStateRestoreOperation implements RestoreOperation<Void> {
 					}
 				}
 
+				// the states are compressed in blocks, and the offsets are positions in the uncompressed data
+				final StreamCompressionDecorator compressionDecorator = backendSerializationProxy.getCompressionDecorator();
+				final FSDataInputStream statesIn = compressionDecorator.isCompressing() ?
+					new CompressibleFSDataInputStream(in, compressionDecorator) : in;
+
 				// Restore all the states
 				for (Map.Entry<String, OperatorStateHandle.StateMetaInfo> nameToOffsets :
 					stateHandle.getStateNameToPartitionOffsets().entrySet()) {
@@ -160,12 +165,16 @@ public class OperatorStateRestoreOperation implements RestoreOperation<Void> {
 						BackendWritableBroadcastState<?, ?> broadcastStateForName = registeredBroadcastStates.get(stateName);
 						Preconditions.checkState(broadcastStateForName != null, "Found state without " +
 							"corresponding meta info: " + stateName);
-						deserializeBroadcastStateValues(broadcastStateForName, in, nameToOffsets.getValue());
+						deserializeBroadcastStateValues(broadcastStateForName, statesIn, nameToOffsets.getValue());
 					} else {
-						deserializeOperatorStateValues(listStateForName, in, nameToOffsets.getValue());
+						deserializeOperatorStateValues(listStateForName, statesIn, nameToOffsets.getValue());
 					}
 				}
 
+				if (statesIn != in) {
+					// releases the decompressor of the last partition
+					statesIn.close();
+				}
 			} finally {
 				Thread.currentThread().setContextClassLoader(restoreClassLoader);
 				if (closeStreamOnCancelRegistry.unregisterCloseable(in)) {
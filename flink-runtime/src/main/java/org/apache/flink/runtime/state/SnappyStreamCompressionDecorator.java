@@ -37,6 +37,9 @@ public class SnappyStreamCompressionDecorator extends StreamCompressionDecorator
 
 	public static final StreamCompressionDecorator INSTANCE = new SnappyStreamCompressionDecorator();
 
+	/** The id of the format, which is also written by snapshots that only distinguish compressed and uncompressed. */
+	public static final byte FORMAT_ID = 1;
+
 	private static final long serialVersionUID = 1L;
 
 	private static final int COMPRESSION_BLOCK_SIZE = 64 * 1024;
@@ -51,4 +54,9 @@ public class SnappyStreamCompressionDecorator extends StreamCompressionDecorator
 	protected InputStream decorateWithCompression(NonClosingInputStreamDecorator stream) throws IOException {
 		return new SnappyFramedInputStream(stream, false);
 	}
+
+	@Override
+	public byte getFormatId() {
+		return FORMAT_ID;
+	}
 }
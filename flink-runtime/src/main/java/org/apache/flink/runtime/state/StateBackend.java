@@ -117,6 +117,24 @@ public interface StateBackend extends java.io.Serializable {
 	 */
 	CheckpointStorageAccess createCheckpointStorage(JobID jobId) throws IOException;
 
+	/**
+	 * Creates a storage for checkpoints for the given job, whose streams limit the bandwidth of their uploads
+	 * with the given throttle. The tasks use this method with the throttle of their TaskManager.
+	 *
+	 * <p>The default implementation ignores the throttle.
+	 *
+	 * @param jobId The job to store checkpoint data for.
+	 * @param uploadThrottle The throttle that limits the bandwidth of the uploads.
+	 * @return A checkpoint storage for the given job.
+	 *
+	 * @throws IOException Thrown if the checkpoint storage cannot be initialized.
+	 */
+	default CheckpointStorageAccess createCheckpointStorage(
+			JobID jobId,
+			CheckpointUploadThrottle uploadThrottle) throws IOException {
+		return createCheckpointStorage(jobId);
+	}
+
 	// ------------------------------------------------------------------------
 	//  Structure Backends 
 	// ------------------------------------------------------------------------
@@ -19,6 +19,8 @@
 package org.apache.flink.runtime.state;
 
 import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.SnapshotCompressionType;
 import org.apache.flink.runtime.util.NonClosingInputStreamDecorator;
 import org.apache.flink.runtime.util.NonClosingOutpusStreamDecorator;
 
@@ -35,6 +37,19 @@ public abstract class StreamCompressionDecorator implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * Gets the id of the compression format. The id is written to snapshots, so that restores pick the decorator
+	 * that matches the written data (see {@link #forFormatId(int)}). The ids must never change.
+	 */
+	public abstract byte getFormatId();
+
+	/**
+	 * Returns whether this decorator actually compresses the streams.
+	 */
+	public boolean isCompressing() {
+		return getFormatId() != UncompressedStreamCompressionDecorator.FORMAT_ID;
+	}
+
 	/**
 	 * Decorates the stream by wrapping it into a stream that applies a compression.
 	 *
@@ -70,4 +85,53 @@ public abstract class StreamCompressionDecorator implements Serializable {
 	 * @return an input stream that is decorated by the compression scheme.
 	 */
 	protected abstract InputStream decorateWithCompression(NonClosingInputStreamDecorator stream) throws IOException;
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Gets the decorator for the snapshot compression that is configured in the given execution config.
+	 */
+	public static StreamCompressionDecorator forExecutionConfig(ExecutionConfig executionConfig) {
+		if (executionConfig == null || !executionConfig.isUseSnapshotCompression()) {
+			return UncompressedStreamCompressionDecorator.INSTANCE;
+		}
+		return forType(executionConfig.getSnapshotCompressionType());
+	}
+
+	/**
+	 * Gets the decorator that compresses the streams with the given compression type.
+	 */
+	public static StreamCompressionDecorator forType(SnapshotCompressionType compressionType) {
+		switch (compressionType) {
+			case SNAPPY:
+				return SnappyStreamCompressionDecorator.INSTANCE;
+			case LZ4:
+				return Lz4StreamCompressionDecorator.INSTANCE;
+			case DEFLATE:
+				return DeflateStreamCompressionDecorator.INSTANCE;
+			default:
+				throw new IllegalArgumentException("Unknown snapshot compression type " + compressionType);
+		}
+	}
+
+	/**
+	 * Gets the decorator for the compression format with the given id, as written to a snapshot.
+	 *
+	 * @throws IOException Thrown, if the format id is unknown, which means that the snapshot was written by a
+	 *                     newer version.
+	 */
+	public static StreamCompressionDecorator forFormatId(int formatId) throws IOException {
+		switch (formatId) {
+			case UncompressedStreamCompressionDecorator.FORMAT_ID:
+				return UncompressedStreamCompressionDecorator.INSTANCE;
+			case SnappyStreamCompressionDecorator.FORMAT_ID:
+				return SnappyStreamCompressionDecorator.INSTANCE;
+			case Lz4StreamCompressionDecorator.FORMAT_ID:
+				return Lz4StreamCompressionDecorator.INSTANCE;
+			case DeflateStreamCompressionDecorator.FORMAT_ID:
+				return DeflateStreamCompressionDecorator.INSTANCE;
+			default:
+				throw new IOException("Unknown compression format " + formatId + " of the snapshot.");
+		}
+	}
 }
@@ -72,4 +72,11 @@ public interface TaskStateManager extends CheckpointListener, AutoCloseable {
 	LocalRecoveryConfig createLocalRecoveryConfig();
 
 	SequentialChannelStateReader getSequentialChannelStateReader();
+
+	/**
+	 * Returns the throttle that limits the bandwidth with which the tasks of the TaskManager upload their
+	 * checkpoint state.
+	 */
+	@Nonnull
+	CheckpointUploadThrottle getCheckpointUploadThrottle();
 }
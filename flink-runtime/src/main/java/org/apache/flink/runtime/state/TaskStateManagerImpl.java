@@ -72,6 +72,9 @@ public class TaskStateManagerImpl implements TaskStateManager {
 
 	private final SequentialChannelStateReader sequentialChannelStateReader;
 
+	/** The throttle that the checkpoint streams of the task share with the other tasks of the TaskManager. */
+	private final CheckpointUploadThrottle checkpointUploadThrottle;
+
 	public TaskStateManagerImpl(
 			@Nonnull JobID jobId,
 			@Nonnull ExecutionAttemptID executionAttemptID,
@@ -84,7 +87,29 @@ public class TaskStateManagerImpl implements TaskStateManager {
 			localStateStore,
 			jobManagerTaskRestore,
 			checkpointResponder,
-			new SequentialChannelStateReaderImpl(jobManagerTaskRestore == null ? new TaskStateSnapshot() : jobManagerTaskRestore.getTaskStateSnapshot()));
+			new CheckpointUploadThrottle());
+	}
+
+	public TaskStateManagerImpl(
+			@Nonnull JobID jobId,
+			@Nonnull ExecutionAttemptID executionAttemptID,
+			@Nonnull TaskLocalStateStore localStateStore,
+			@Nullable JobManagerTaskRestore jobManagerTaskRestore,
+			@Nonnull CheckpointResponder checkpointResponder,
+			@Nonnull CheckpointUploadThrottle checkpointUploadThrottle) {
+		this(
+			jobId,
+			executionAttemptID,
+			localStateStore,
+			jobManagerTaskRestore,
+			checkpointResponder,
+			jobManagerTaskRestore == null ?
+				new SequentialChannelStateReaderImpl(new TaskStateSnapshot()) :
+				new SequentialChannelStateReaderImpl(
+					jobManagerTaskRestore.getTaskStateSnapshot(),
+					// the task-local copy of the channel state is preferred over the remote one
+					localStateStore.retrieveLocalState(jobManagerTaskRestore.getRestoreCheckpointId())),
+			checkpointUploadThrottle);
 	}
 
 	public TaskStateManagerImpl(
@@ -94,12 +119,31 @@ public class TaskStateManagerImpl implements TaskStateManager {
 			@Nullable JobManagerTaskRestore jobManagerTaskRestore,
 			@Nonnull CheckpointResponder checkpointResponder,
 			@Nonnull SequentialChannelStateReaderImpl sequentialChannelStateReader) {
+		this(
+			jobId,
+			executionAttemptID,
+			localStateStore,
+			jobManagerTaskRestore,
+			checkpointResponder,
+			sequentialChannelStateReader,
+			new CheckpointUploadThrottle());
+	}
+
+	public TaskStateManagerImpl(
+			@Nonnull JobID jobId,
+			@Nonnull ExecutionAttemptID executionAttemptID,
+			@Nonnull TaskLocalStateStore localStateStore,
+			@Nullable JobManagerTaskRestore jobManagerTaskRestore,
+			@Nonnull CheckpointResponder checkpointResponder,
+			@Nonnull SequentialChannelStateReaderImpl sequentialChannelStateReader,
+			@Nonnull CheckpointUploadThrottle checkpointUploadThrottle) {
 		this.jobId = jobId;
 		this.localStateStore = localStateStore;
 		this.jobManagerTaskRestore = jobManagerTaskRestore;
 		this.executionAttemptID = executionAttemptID;
 		this.checkpointResponder = checkpointResponder;
 		this.sequentialChannelStateReader = sequentialChannelStateReader;
+		this.checkpointUploadThrottle = checkpointUploadThrottle;
 	}
 
 	@Override
@@ -178,6 +222,12 @@ public class TaskStateManagerImpl implements TaskStateManager {
 		return sequentialChannelStateReader;
 	}
 
+	@Nonnull
+	@Override
+	public CheckpointUploadThrottle getCheckpointUploadThrottle() {
+		return checkpointUploadThrottle;
+	}
+
 	/**
 	 * Tracking when local state can be confirmed and disposed.
 	 */
@@ -34,6 +34,9 @@ public class UncompressedStreamCompressionDecorator extends StreamCompressionDec
 
 	public static final StreamCompressionDecorator INSTANCE = new UncompressedStreamCompressionDecorator();
 
+	/** The id of the format, which is also written by snapshots that only distinguish compressed and uncompressed. */
+	public static final byte FORMAT_ID = 0;
+
 	private static final long serialVersionUID = 1L;
 
 	@Override
@@ -45,4 +48,9 @@ public class UncompressedStreamCompressionDecorator extends StreamCompressionDec
 	protected InputStream decorateWithCompression(NonClosingInputStreamDecorator stream) throws IOException {
 		return stream;
 	}
+
+	@Override
+	public byte getFormatId() {
+		return FORMAT_ID;
+	}
 }
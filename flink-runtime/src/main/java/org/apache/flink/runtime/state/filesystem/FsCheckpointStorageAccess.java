@@ -26,6 +26,7 @@ import org.apache.flink.runtime.state.CheckpointStorageLocation;
 import org.apache.flink.runtime.state.CheckpointStorageLocationReference;
 import org.apache.flink.runtime.state.CheckpointStreamFactory;
 import org.apache.flink.runtime.state.CheckpointStreamFactory.CheckpointStateOutputStream;
+import org.apache.flink.runtime.state.CheckpointUploadThrottle;
 import org.apache.flink.runtime.state.filesystem.FsCheckpointStreamFactory.FsCheckpointStateOutputStream;
 
 import javax.annotation.Nullable;
@@ -52,6 +53,12 @@ public class FsCheckpointStorageAccess extends AbstractFsCheckpointStorageAccess
 
 	private final int writeBufferSize;
 
+	/** The size after which a segment file is closed, or -1, if exclusive state is not written to segment files. */
+	private final long maxSegmentFileSize;
+
+	/** The throttle that limits the bandwidth of the streams that write to the checkpoint locations. */
+	private final CheckpointUploadThrottle uploadThrottle;
+
 	private boolean baseLocationsInitialized = false;
 
 	public FsCheckpointStorageAccess(
@@ -61,12 +68,29 @@ public class FsCheckpointStorageAccess extends AbstractFsCheckpointStorageAccess
 			int fileSizeThreshold,
 			int writeBufferSize) throws IOException {
 
+		this(checkpointBaseDirectory,
+				defaultSavepointDirectory,
+				jobId,
+				fileSizeThreshold,
+				writeBufferSize,
+				-1L);
+	}
+
+	public FsCheckpointStorageAccess(
+			Path checkpointBaseDirectory,
+			@Nullable Path defaultSavepointDirectory,
+			JobID jobId,
+			int fileSizeThreshold,
+			int writeBufferSize,
+			long maxSegmentFileSize) throws IOException {
+
 		this(checkpointBaseDirectory.getFileSystem(),
 				checkpointBaseDirectory,
 				defaultSavepointDirectory,
 				jobId,
 				fileSizeThreshold,
-				writeBufferSize);
+				writeBufferSize,
+				maxSegmentFileSize);
 	}
 
 	public FsCheckpointStorageAccess(
@@ -77,6 +101,46 @@ public class FsCheckpointStorageAccess extends AbstractFsCheckpointStorageAccess
 			int fileSizeThreshold,
 			int writeBufferSize) throws IOException {
 
+		this(fs, checkpointBaseDirectory, defaultSavepointDirectory, jobId, fileSizeThreshold, writeBufferSize, -1L);
+	}
+
+	/**
+	 * Creates the checkpoint storage. If the given maximum segment file size is positive, the tasks append
+	 * the exclusive state of regular checkpoints to segment files that are shared by all tasks of the process.
+	 */
+	public FsCheckpointStorageAccess(
+			FileSystem fs,
+			Path checkpointBaseDirectory,
+			@Nullable Path defaultSavepointDirectory,
+			JobID jobId,
+			int fileSizeThreshold,
+			int writeBufferSize,
+			long maxSegmentFileSize) throws IOException {
+
+		this(fs,
+				checkpointBaseDirectory,
+				defaultSavepointDirectory,
+				jobId,
+				fileSizeThreshold,
+				writeBufferSize,
+				maxSegmentFileSize,
+				new CheckpointUploadThrottle());
+	}
+
+	/**
+	 * Creates the checkpoint storage, whose streams limit the bandwidth of their uploads with the given
+	 * throttle. The tasks pass the throttle of their TaskManager.
+	 */
+	public FsCheckpointStorageAccess(
+			FileSystem fs,
+			Path checkpointBaseDirectory,
+			@Nullable Path defaultSavepointDirectory,
+			JobID jobId,
+			int fileSizeThreshold,
+			int writeBufferSize,
+			long maxSegmentFileSize,
+			CheckpointUploadThrottle uploadThrottle) throws IOException {
+
 		super(jobId, defaultSavepointDirectory);
 
 		checkArgument(fileSizeThreshold >= 0);
@@ -88,6 +152,8 @@ public class FsCheckpointStorageAccess extends AbstractFsCheckpointStorageAccess
 		this.taskOwnedStateDirectory = new Path(checkpointsDirectory, CHECKPOINT_TASK_OWNED_STATE_DIR);
 		this.fileSizeThreshold = fileSizeThreshold;
 		this.writeBufferSize = writeBufferSize;
+		this.maxSegmentFileSize = maxSegmentFileSize;
+		this.uploadThrottle = checkNotNull(uploadThrottle);
 	}
 
 	// ------------------------------------------------------------------------
@@ -131,7 +197,10 @@ public class FsCheckpointStorageAccess extends AbstractFsCheckpointStorageAccess
 				taskOwnedStateDirectory,
 				CheckpointStorageLocationReference.getDefault(),
 				fileSizeThreshold,
-				writeBufferSize);
+				writeBufferSize,
+				null,
+				-1L,
+				uploadThrottle);
 	}
 
 	@Override
@@ -143,6 +212,7 @@ public class FsCheckpointStorageAccess extends AbstractFsCheckpointStorageAccess
 			// default reference, construct the default location for that particular checkpoint
 			final Path checkpointDir = createCheckpointDirectory(checkpointsDirectory, checkpointId);
 
+			// only the regular checkpoints write to segment files, savepoints must be self-contained
 			return new FsCheckpointStorageLocation(
 					fileSystem,
 					checkpointDir,
@@ -150,7 +220,10 @@ public class FsCheckpointStorageAccess extends AbstractFsCheckpointStorageAccess
 					taskOwnedStateDirectory,
 					reference,
 					fileSizeThreshold,
-					writeBufferSize);
+					writeBufferSize,
+					maxSegmentFileSize > 0 ? FsSegmentFilePool.getSharedInstance() : null,
+					maxSegmentFileSize,
+					uploadThrottle);
 		}
 		else {
 			// location encoded in the reference
@@ -163,7 +236,10 @@ public class FsCheckpointStorageAccess extends AbstractFsCheckpointStorageAccess
 					path,
 					reference,
 					fileSizeThreshold,
-					writeBufferSize);
+					writeBufferSize,
+					null,
+					-1L,
+					uploadThrottle);
 		}
 	}
 
@@ -175,12 +251,17 @@ public class FsCheckpointStorageAccess extends AbstractFsCheckpointStorageAccess
 				taskOwnedStateDirectory,
 				fileSystem,
 				writeBufferSize,
-				fileSizeThreshold);
+				fileSizeThreshold,
+				false,
+				null,
+				-1L,
+				uploadThrottle);
 	}
 
 	@Override
 	protected CheckpointStorageLocation createSavepointLocation(FileSystem fs, Path location) {
 		final CheckpointStorageLocationReference reference = encodePathAsReference(location);
-		return new FsCheckpointStorageLocation(fs, location, location, location, reference, fileSizeThreshold, writeBufferSize);
+		return new FsCheckpointStorageLocation(
+				fs, location, location, location, reference, fileSizeThreshold, writeBufferSize, null, -1L, uploadThrottle);
 	}
 }
@@ -25,6 +25,9 @@ import org.apache.flink.core.fs.Path;
 import org.apache.flink.runtime.state.CheckpointMetadataOutputStream;
 import org.apache.flink.runtime.state.CheckpointStorageLocation;
 import org.apache.flink.runtime.state.CheckpointStorageLocationReference;
+import org.apache.flink.runtime.state.CheckpointUploadThrottle;
+
+import javax.annotation.Nullable;
 
 import java.io.IOException;
 
@@ -60,8 +63,53 @@ public class FsCheckpointStorageLocation extends FsCheckpointStreamFactory imple
 			CheckpointStorageLocationReference reference,
 			int fileStateSizeThreshold,
 			int writeBufferSize) {
+		this(fileSystem, checkpointDir, sharedStateDir, taskOwnedStateDir, reference, fileStateSizeThreshold, writeBufferSize, null, -1L);
+	}
+
+	public FsCheckpointStorageLocation(
+			FileSystem fileSystem,
+			Path checkpointDir,
+			Path sharedStateDir,
+			Path taskOwnedStateDir,
+			CheckpointStorageLocationReference reference,
+			int fileStateSizeThreshold,
+			int writeBufferSize,
+			@Nullable FsSegmentFilePool segmentFilePool,
+			long maxSegmentFileSize) {
+		this(
+			fileSystem,
+			checkpointDir,
+			sharedStateDir,
+			taskOwnedStateDir,
+			reference,
+			fileStateSizeThreshold,
+			writeBufferSize,
+			segmentFilePool,
+			maxSegmentFileSize,
+			new CheckpointUploadThrottle());
+	}
 
-		super(fileSystem, checkpointDir, sharedStateDir, fileStateSizeThreshold, writeBufferSize);
+	public FsCheckpointStorageLocation(
+			FileSystem fileSystem,
+			Path checkpointDir,
+			Path sharedStateDir,
+			Path taskOwnedStateDir,
+			CheckpointStorageLocationReference reference,
+			int fileStateSizeThreshold,
+			int writeBufferSize,
+			@Nullable FsSegmentFilePool segmentFilePool,
+			long maxSegmentFileSize,
+			CheckpointUploadThrottle uploadThrottle) {
+
+		super(
+			fileSystem,
+			checkpointDir,
+			sharedStateDir,
+			fileStateSizeThreshold,
+			writeBufferSize,
+			segmentFilePool,
+			maxSegmentFileSize,
+			uploadThrottle);
 
 		checkArgument(fileStateSizeThreshold >= 0);
 		checkArgument(writeBufferSize >= 0);
@@ -25,6 +25,7 @@ import org.apache.flink.core.fs.FileSystem.WriteMode;
 import org.apache.flink.core.fs.OutputStreamAndPath;
 import org.apache.flink.core.fs.Path;
 import org.apache.flink.runtime.state.CheckpointStreamFactory;
+import org.apache.flink.runtime.state.CheckpointUploadThrottle;
 import org.apache.flink.runtime.state.CheckpointedStateScope;
 import org.apache.flink.runtime.state.StreamStateHandle;
 import org.apache.flink.runtime.state.memory.ByteStreamStateHandle;
@@ -49,6 +50,11 @@ import static org.apache.flink.util.Preconditions.checkNotNull;
  * files are written, but the state is returned inline in the state handle instead. This reduces
  * the problem of many small files that have only few bytes.
  *
+ * <p>If a {@link FsSegmentFilePool} is given, the streams for exclusive state append their data to
+ * segment files that are shared with the streams of other tasks (see {@link SegmentFileStateHandle}),
+ * rather than writing one file per stream. That reduces the number of files per checkpoint, which
+ * otherwise grows with the number of tasks and operators.
+ *
  * <h2>Note on directory creation</h2>
  *
  * <p>The given target directory must already exist, this factory does not ensure that the
@@ -87,6 +93,16 @@ public class FsCheckpointStreamFactory implements CheckpointStreamFactory {
 	/** Whether the file system dynamically injects entropy into the file paths. */
 	private final boolean entropyInjecting;
 
+	/** The pool of segment files for exclusive state, or null, if each stream writes its own file. */
+	@Nullable
+	private final FsSegmentFilePool segmentFilePool;
+
+	/** The size after which a segment file is closed. */
+	private final long maxSegmentFileSize;
+
+	/** The throttle that limits the bandwidth of the uploads. */
+	private final CheckpointUploadThrottle uploadThrottle;
+
 	/**
 	 * Creates a new stream factory that stores its checkpoint data in the file system and location
 	 * defined by the given Path.
@@ -107,6 +123,66 @@ public class FsCheckpointStreamFactory implements CheckpointStreamFactory {
 			Path sharedStateDirectory,
 			int fileStateSizeThreshold,
 			int writeBufferSize) {
+		this(fileSystem, checkpointDirectory, sharedStateDirectory, fileStateSizeThreshold, writeBufferSize, null, -1L);
+	}
+
+	/**
+	 * Creates a new stream factory that stores its checkpoint data in the file system and location
+	 * defined by the given Path, and appends the exclusive state to the segment files of the given pool.
+	 *
+	 * @param fileSystem The filesystem to write to.
+	 * @param checkpointDirectory The directory for checkpoint exclusive state data.
+	 * @param sharedStateDirectory The directory for shared checkpoint data.
+	 * @param fileStateSizeThreshold State up to this size will be stored as part of the metadata,
+	 *                             rather than in files
+	 * @param writeBufferSize The write buffer size.
+	 * @param segmentFilePool The pool of segment files for exclusive state, or null to write one
+	 *                        file per stream.
+	 * @param maxSegmentFileSize The size after which a segment file is closed.
+	 */
+	public FsCheckpointStreamFactory(
+			FileSystem fileSystem,
+			Path checkpointDirectory,
+			Path sharedStateDirectory,
+			int fileStateSizeThreshold,
+			int writeBufferSize,
+			@Nullable FsSegmentFilePool segmentFilePool,
+			long maxSegmentFileSize) {
+		this(
+			fileSystem,
+			checkpointDirectory,
+			sharedStateDirectory,
+			fileStateSizeThreshold,
+			writeBufferSize,
+			segmentFilePool,
+			maxSegmentFileSize,
+			new CheckpointUploadThrottle());
+	}
+
+	/**
+	 * Creates a new stream factory that stores its checkpoint data in the file system and location
+	 * defined by the given Path, and limits the bandwidth of its streams with the given throttle.
+	 *
+	 * @param fileSystem The filesystem to write to.
+	 * @param checkpointDirectory The directory for checkpoint exclusive state data.
+	 * @param sharedStateDirectory The directory for shared checkpoint data.
+	 * @param fileStateSizeThreshold State up to this size will be stored as part of the metadata,
+	 *                             rather than in files
+	 * @param writeBufferSize The write buffer size.
+	 * @param segmentFilePool The pool of segment files for exclusive state, or null to write one
+	 *                        file per stream.
+	 * @param maxSegmentFileSize The size after which a segment file is closed.
+	 * @param uploadThrottle The throttle that limits the bandwidth of the streams.
+	 */
+	public FsCheckpointStreamFactory(
+			FileSystem fileSystem,
+			Path checkpointDirectory,
+			Path sharedStateDirectory,
+			int fileStateSizeThreshold,
+			int writeBufferSize,
+			@Nullable FsSegmentFilePool segmentFilePool,
+			long maxSegmentFileSize,
+			CheckpointUploadThrottle uploadThrottle) {
 
 		if (fileStateSizeThreshold < 0) {
 			throw new IllegalArgumentException("The threshold for file state size must be zero or larger.");
@@ -127,6 +203,9 @@ public class FsCheckpointStreamFactory implements CheckpointStreamFactory {
 		this.fileStateThreshold = fileStateSizeThreshold;
 		this.writeBufferSize = writeBufferSize;
 		this.entropyInjecting = EntropyInjector.isEntropyInjecting(fileSystem);
+		this.segmentFilePool = segmentFilePool;
+		this.maxSegmentFileSize = maxSegmentFileSize;
+		this.uploadThrottle = checkNotNull(uploadThrottle);
 	}
 
 	// ------------------------------------------------------------------------
@@ -137,7 +216,10 @@ public class FsCheckpointStreamFactory implements CheckpointStreamFactory {
 		int bufferSize = Math.max(writeBufferSize, fileStateThreshold);
 
 		final boolean absolutePath = entropyInjecting || scope == CheckpointedStateScope.SHARED;
-		return new FsCheckpointStateOutputStream(target, filesystem, bufferSize, fileStateThreshold, !absolutePath);
+		// shared state is referenced by later checkpoints, so it must not be mixed with exclusive state
+		final FsSegmentFilePool pool = scope == CheckpointedStateScope.EXCLUSIVE ? segmentFilePool : null;
+		return new FsCheckpointStateOutputStream(
+			target, filesystem, bufferSize, fileStateThreshold, !absolutePath, pool, maxSegmentFileSize, uploadThrottle);
 	}
 
 	// ------------------------------------------------------------------------
@@ -156,6 +238,9 @@ public class FsCheckpointStreamFactory implements CheckpointStreamFactory {
 	/**
 	 * A {@link CheckpointStreamFactory.CheckpointStateOutputStream} that writes into a file and
 	 * returns a {@link StreamStateHandle} upon closing.
+	 *
+	 * <p>If the stream has a {@link FsSegmentFilePool}, it appends its data to a segment file of the
+	 * pool rather than to a file of its own, and returns a {@link SegmentFileStateHandle}.
 	 */
 	public static class FsCheckpointStateOutputStream
 			extends CheckpointStreamFactory.CheckpointStateOutputStream {
@@ -180,6 +265,21 @@ public class FsCheckpointStreamFactory implements CheckpointStreamFactory {
 
 		private final boolean allowRelativePaths;
 
+		@Nullable
+		private final FsSegmentFilePool segmentFilePool;
+
+		private final long maxSegmentFileSize;
+
+		/** The segment file that this stream appends to, while it holds one. */
+		@Nullable
+		private FsSegmentFilePool.SegmentFile segmentFile;
+
+		/** The position in the file at which the data of this stream starts. */
+		private long fileStartPos;
+
+		/** The throttle that the stream acquires the bytes from before writing them to the file. */
+		private final CheckpointUploadThrottle uploadThrottle;
+
 		public FsCheckpointStateOutputStream(
 				Path basePath,
 				FileSystem fs,
@@ -194,6 +294,37 @@ public class FsCheckpointStreamFactory implements CheckpointStreamFactory {
 					int bufferSize,
 					int localStateThreshold,
 					boolean allowRelativePaths) {
+			this(basePath, fs, bufferSize, localStateThreshold, allowRelativePaths, null, -1L);
+		}
+
+		public FsCheckpointStateOutputStream(
+					Path basePath,
+					FileSystem fs,
+					int bufferSize,
+					int localStateThreshold,
+					boolean allowRelativePaths,
+					@Nullable FsSegmentFilePool segmentFilePool,
+					long maxSegmentFileSize) {
+			this(
+				basePath,
+				fs,
+				bufferSize,
+				localStateThreshold,
+				allowRelativePaths,
+				segmentFilePool,
+				maxSegmentFileSize,
+				new CheckpointUploadThrottle());
+		}
+
+		public FsCheckpointStateOutputStream(
+					Path basePath,
+					FileSystem fs,
+					int bufferSize,
+					int localStateThreshold,
+					boolean allowRelativePaths,
+					@Nullable FsSegmentFilePool segmentFilePool,
+					long maxSegmentFileSize,
+					CheckpointUploadThrottle uploadThrottle) {
 
 			if (bufferSize < localStateThreshold) {
 				throw new IllegalArgumentException();
@@ -204,6 +335,9 @@ public class FsCheckpointStreamFactory implements CheckpointStreamFactory {
 			this.writeBuffer = new byte[bufferSize];
 			this.localStateThreshold = localStateThreshold;
 			this.allowRelativePaths = allowRelativePaths;
+			this.segmentFilePool = segmentFilePool;
+			this.maxSegmentFileSize = maxSegmentFileSize;
+			this.uploadThrottle = checkNotNull(uploadThrottle);
 		}
 
 		@Override
@@ -238,13 +372,14 @@ public class FsCheckpointStreamFactory implements CheckpointStreamFactory {
 				// flushToFile the current buffer
 				flushToFile();
 				// write the bytes directly
+				uploadThrottle.acquire(len);
 				outStream.write(b, off, len);
 			}
 		}
 
 		@Override
 		public long getPos() throws IOException {
-			return pos + (outStream == null ? 0 : outStream.getPos());
+			return pos + (outStream == null ? 0 : outStream.getPos() - fileStartPos);
 		}
 
 		public void flushToFile() throws IOException {
@@ -255,6 +390,7 @@ public class FsCheckpointStreamFactory implements CheckpointStreamFactory {
 				}
 
 				if (pos > 0) {
+					uploadThrottle.acquire(pos);
 					outStream.write(writeBuffer, 0, pos);
 					pos = 0;
 				}
@@ -301,7 +437,14 @@ public class FsCheckpointStreamFactory implements CheckpointStreamFactory {
 				// that the stream is closed
 				pos = writeBuffer.length;
 
-				if (outStream != null) {
+				if (segmentFile != null) {
+					// the segment file holds the data of other streams, so it is handed back but not deleted
+					try {
+						releaseSegmentFile(false);
+					} catch (Throwable throwable) {
+						LOG.warn("Could not close the segment file {}.", statePath, throwable);
+					}
+				} else if (outStream != null) {
 					try {
 						outStream.close();
 					} catch (Throwable throwable) {
@@ -333,6 +476,13 @@ public class FsCheckpointStreamFactory implements CheckpointStreamFactory {
 						pos = writeBuffer.length;
 						return new ByteStreamStateHandle(createStatePath().toString(), bytes);
 					}
+					else if (segmentFilePool != null) {
+						try {
+							return closeAndGetSegmentHandle();
+						} finally {
+							closed = true;
+						}
+					}
 					else {
 						try {
 							flushToFile();
@@ -376,6 +526,41 @@ public class FsCheckpointStreamFactory implements CheckpointStreamFactory {
 			}
 		}
 
+		private SegmentFileStateHandle closeAndGetSegmentHandle() throws IOException {
+			try {
+				flushToFile();
+
+				pos = writeBuffer.length;
+
+				// make the data durable before the handle is handed out and other streams append to the segment file
+				outStream.sync();
+				final long size = outStream.getPos() - fileStartPos;
+				final SegmentFileStateHandle handle = new SegmentFileStateHandle(
+					statePath, allowRelativePaths ? relativeStatePath : null, fileStartPos, size);
+
+				// this closes the segment file if no other stream writes to it any more
+				releaseSegmentFile(true);
+				return handle;
+			} catch (Exception exception) {
+				if (segmentFile != null) {
+					try {
+						releaseSegmentFile(false);
+					} catch (Exception releaseException) {
+						exception.addSuppressed(releaseException);
+					}
+				}
+
+				throw new IOException("Could not append to the segment file " + statePath + " in order to " +
+					"obtain the stream state handle", exception);
+			}
+		}
+
+		private void releaseSegmentFile(boolean reusable) throws IOException {
+			final FsSegmentFilePool.SegmentFile file = segmentFile;
+			segmentFile = null;
+			checkNotNull(segmentFilePool).release(basePath, file, reusable, maxSegmentFileSize);
+		}
+
 		private Path createStatePath() {
 			final String fileName = UUID.randomUUID().toString();
 			relativeStatePath = fileName;
@@ -383,6 +568,16 @@ public class FsCheckpointStreamFactory implements CheckpointStreamFactory {
 		}
 
 		private void createStream() throws IOException {
+			if (segmentFilePool != null) {
+				final FsSegmentFilePool.SegmentFile file = segmentFilePool.acquire(fs, basePath);
+				this.segmentFile = file;
+				this.outStream = file.getStream();
+				this.statePath = file.getPath();
+				this.relativeStatePath = file.getName();
+				this.fileStartPos = file.getPos();
+				return;
+			}
+
 			Exception latestException = null;
 			for (int attempt = 0; attempt < 10; attempt++) {
 				try {
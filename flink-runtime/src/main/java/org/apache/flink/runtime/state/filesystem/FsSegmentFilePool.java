@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.filesystem;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.core.fs.EntropyInjector;
+import org.apache.flink.core.fs.FSDataOutputStream;
+import org.apache.flink.core.fs.FileSystem;
+import org.apache.flink.core.fs.FileSystem.WriteMode;
+import org.apache.flink.core.fs.OutputStreamAndPath;
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.util.ExceptionUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+import static org.apache.flink.util.Preconditions.checkState;
+
+/**
+ * A pool of segment files, to which the {@link FsCheckpointStreamFactory.FsCheckpointStateOutputStream
+ * checkpoint streams} of all tasks of a process append their state, rather than each writing its own file.
+ *
+ * <p>A segment file is used by one stream at a time. When the stream is done, it hands the segment file
+ * back to the pool, and the next stream that writes to the same directory appends to it. A segment file is
+ * closed once it exceeds the maximum segment file size, or once no stream writes to its directory any more.
+ *
+ * <p>Because the streams of a checkpoint write to a directory that is exclusive to that checkpoint, all
+ * states in a segment file belong to the same checkpoint. The last stream that writes to a directory closes
+ * all segment files of that directory before it returns its own state handle. While a segment file is open,
+ * some task of the checkpoint has therefore not acknowledged the checkpoint yet, so a checkpoint never
+ * completes before all of its segment files are closed and durable.
+ */
+public class FsSegmentFilePool {
+
+	private static final Logger LOG = LoggerFactory.getLogger(FsSegmentFilePool.class);
+
+	/** The pool that is shared by all streams of the process. */
+	private static final FsSegmentFilePool SHARED_INSTANCE = new FsSegmentFilePool();
+
+	/** The directories that are currently written to. All access is guarded by the map itself. */
+	private final Map<Path, DirectoryState> directories = new HashMap<>();
+
+	@VisibleForTesting
+	FsSegmentFilePool() {}
+
+	/**
+	 * Gets the pool that is shared by all checkpoint streams of the process.
+	 */
+	public static FsSegmentFilePool getSharedInstance() {
+		return SHARED_INSTANCE;
+	}
+
+	/**
+	 * Acquires a segment file in the given directory for exclusive use by the calling stream. The stream must
+	 * hand the file back through {@link #release(Path, SegmentFile, boolean, long)} when it is done with it.
+	 */
+	SegmentFile acquire(FileSystem fs, Path directory) throws IOException {
+		SegmentFile segmentFile;
+		synchronized (directories) {
+			final DirectoryState directoryState = directories.computeIfAbsent(directory, ignored -> new DirectoryState());
+			directoryState.numActiveStreams++;
+			segmentFile = directoryState.idleFiles.poll();
+		}
+
+		if (segmentFile == null) {
+			try {
+				segmentFile = SegmentFile.create(fs, directory);
+			} catch (Throwable t) {
+				release(directory, null, false, 0L);
+				throw t;
+			}
+		}
+		return segmentFile;
+	}
+
+	/**
+	 * Hands a segment file back to the pool. The segment file is closed if it is not reusable, if it exceeds
+	 * the given size or if no other stream writes to the directory. In the latter case, all other idle segment
+	 * files of the directory are closed as well.
+	 *
+	 * @throws IOException Thrown, if any of the segment files could not be closed. The states that were
+	 *                     appended to that segment file may be lost in that case.
+	 */
+	void release(
+			Path directory,
+			@Nullable SegmentFile segmentFile,
+			boolean reusable,
+			long maxFileSize) throws IOException {
+
+		boolean reuse = false;
+		if (reusable && segmentFile != null) {
+			try {
+				reuse = segmentFile.getPos() < maxFileSize;
+			} catch (IOException e) {
+				LOG.debug("Could not determine the size of segment file {}, closing it.", segmentFile.getPath(), e);
+			}
+		}
+
+		final List<SegmentFile> toClose = new ArrayList<>();
+		synchronized (directories) {
+			final DirectoryState directoryState = directories.get(directory);
+			checkState(directoryState != null, "No stream writes to directory %s.", directory);
+
+			directoryState.numActiveStreams--;
+			if (reuse) {
+				directoryState.idleFiles.add(segmentFile);
+			} else if (segmentFile != null) {
+				toClose.add(segmentFile);
+			}
+
+			if (directoryState.numActiveStreams == 0) {
+				toClose.addAll(directoryState.idleFiles);
+				directories.remove(directory);
+			}
+		}
+
+		IOException exception = null;
+		for (SegmentFile file : toClose) {
+			try {
+				file.close();
+			} catch (IOException e) {
+				exception = ExceptionUtils.firstOrSuppressed(e, exception);
+			}
+		}
+		if (exception != null) {
+			throw exception;
+		}
+	}
+
+	@VisibleForTesting
+	int getNumberOfOpenDirectories() {
+		synchronized (directories) {
+			return directories.size();
+		}
+	}
+
+	// ------------------------------------------------------------------------
+
+	/** The segment files of a directory and the number of streams that write to it. */
+	private static final class DirectoryState {
+
+		private final ArrayDeque<SegmentFile> idleFiles = new ArrayDeque<>();
+
+		private int numActiveStreams;
+	}
+
+	/** An open segment file. */
+	static final class SegmentFile {
+
+		private final FSDataOutputStream stream;
+
+		private final Path path;
+
+		private final String name;
+
+		private SegmentFile(FSDataOutputStream stream, Path path, String name) {
+			this.stream = checkNotNull(stream);
+			this.path = checkNotNull(path);
+			this.name = checkNotNull(name);
+		}
+
+		FSDataOutputStream getStream() {
+			return stream;
+		}
+
+		/** The path of the segment file, including the entropy if the file system injects entropy. */
+		Path getPath() {
+			return path;
+		}
+
+		/** The name of the segment file, relative to its directory. */
+		String getName() {
+			return name;
+		}
+
+		long getPos() throws IOException {
+			return stream.getPos();
+		}
+
+		void close() throws IOException {
+			LOG.debug("Closing segment file {}.", path);
+			stream.close();
+		}
+
+		static SegmentFile create(FileSystem fs, Path directory) throws IOException {
+			Exception latestException = null;
+			for (int attempt = 0; attempt < 10; attempt++) {
+				final String name = "segment-" + UUID.randomUUID();
+				try {
+					final OutputStreamAndPath streamAndPath = EntropyInjector.createEntropyAware(
+						fs, new Path(directory, name), WriteMode.NO_OVERWRITE);
+					return new SegmentFile(streamAndPath.stream(), streamAndPath.path(), name);
+				} catch (Exception e) {
+					latestException = e;
+				}
+			}
+
+			throw new IOException("Could not open output stream for segment file", latestException);
+		}
+	}
+}
@@ -33,6 +33,7 @@ import org.apache.flink.runtime.state.AbstractKeyedStateBackend;
 import org.apache.flink.runtime.state.AbstractStateBackend;
 import org.apache.flink.runtime.state.BackendBuildingException;
 import org.apache.flink.runtime.state.CheckpointStorageAccess;
+import org.apache.flink.runtime.state.CheckpointUploadThrottle;
 import org.apache.flink.runtime.state.ConfigurableStateBackend;
 import org.apache.flink.runtime.state.DefaultOperatorStateBackendBuilder;
 import org.apache.flink.runtime.state.KeyGroupRange;
@@ -43,6 +44,8 @@ import org.apache.flink.runtime.state.OperatorStateHandle;
 import org.apache.flink.runtime.state.TaskStateManager;
 import org.apache.flink.runtime.state.heap.HeapKeyedStateBackendBuilder;
 import org.apache.flink.runtime.state.heap.HeapPriorityQueueSetFactory;
+import org.apache.flink.runtime.state.heap.HeapRestorePrefetchOptions;
+import org.apache.flink.runtime.state.heap.HeapStateSizeEstimationOptions;
 import org.apache.flink.runtime.state.ttl.TtlTimeProvider;
 import org.apache.flink.util.MathUtils;
 import org.apache.flink.util.TernaryBoolean;
@@ -122,6 +125,20 @@ public class FsStateBackend extends AbstractFileStateBackend implements Configur
 	 * */
 	private final int writeBufferSize;
 
+	/** The options for estimating and limiting the size of the heap keyed state.
+	 * A value of 'null' means not yet configured, in which case the defaults will be used. */
+	@Nullable
+	private final HeapStateSizeEstimationOptions stateSizeEstimationOptions;
+
+	/** The options for prefetching the heap keyed state on restore.
+	 * A value of 'null' means not yet configured, in which case the defaults will be used. */
+	@Nullable
+	private final HeapRestorePrefetchOptions restorePrefetchOptions;
+
+	/** The size after which a segment file of the exclusive checkpoint state is closed.
+	 * A value of '-1' means that the exclusive state is not written to segment files. */
+	private final long maxSegmentFileSize;
+
 	// -----------------------------------------------------------------------
 
 	/**
@@ -349,6 +366,9 @@ public class FsStateBackend extends AbstractFileStateBackend implements Configur
 		this.fileStateThreshold = fileStateSizeThreshold;
 		this.writeBufferSize = writeBufferSize;
 		this.asynchronousSnapshots = asynchronousSnapshots;
+		this.stateSizeEstimationOptions = null;
+		this.restorePrefetchOptions = null;
+		this.maxSegmentFileSize = -1L;
 	}
 
 	/**
@@ -390,6 +410,23 @@ public class FsStateBackend extends AbstractFileStateBackend implements Configur
 			configuration.get(CheckpointingOptions.FS_WRITE_BUFFER_SIZE);
 
 		this.writeBufferSize = Math.max(bufferSize, this.fileStateThreshold);
+
+		this.stateSizeEstimationOptions = original.stateSizeEstimationOptions != null ?
+			original.stateSizeEstimationOptions :
+			HeapStateSizeEstimationOptions.fromConfig(configuration);
+
+		this.restorePrefetchOptions = original.restorePrefetchOptions != null ?
+			original.restorePrefetchOptions :
+			HeapRestorePrefetchOptions.fromConfig(configuration);
+
+		if (original.maxSegmentFileSize > 0) {
+			this.maxSegmentFileSize = original.maxSegmentFileSize;
+		} else if (configuration.get(CheckpointingOptions.FS_SEGMENT_FILES_ENABLED)) {
+			this.maxSegmentFileSize = configuration.get(CheckpointingOptions.FS_SEGMENT_FILE_MAX_SIZE).getBytes();
+			checkArgument(this.maxSegmentFileSize > 0, "The maximum segment file size must be positive.");
+		} else {
+			this.maxSegmentFileSize = -1L;
+		}
 	}
 
 	private int getValidFileStateThreshold(long fileStateThreshold) {
@@ -470,6 +507,35 @@ public class FsStateBackend extends AbstractFileStateBackend implements Configur
 		return asynchronousSnapshots.getOrDefault(CheckpointingOptions.ASYNC_SNAPSHOTS.defaultValue());
 	}
 
+	/**
+	 * Gets whether the exclusive state of checkpoints is appended to segment files that are shared by all
+	 * tasks of a TaskManager, rather than written to one file per state handle.
+	 *
+	 * <p>If not explicitly configured, this is the default value of
+	 * {@link CheckpointingOptions#FS_SEGMENT_FILES_ENABLED}.
+	 */
+	public boolean isUsingSegmentFiles() {
+		return maxSegmentFileSize > 0;
+	}
+
+	/**
+	 * Gets the options for estimating and limiting the size of the heap keyed state.
+	 */
+	public HeapStateSizeEstimationOptions getStateSizeEstimationOptions() {
+		return stateSizeEstimationOptions != null ?
+			stateSizeEstimationOptions :
+			HeapStateSizeEstimationOptions.defaults();
+	}
+
+	/**
+	 * Gets the options for prefetching the heap keyed state on restore.
+	 */
+	public HeapRestorePrefetchOptions getRestorePrefetchOptions() {
+		return restorePrefetchOptions != null ?
+			restorePrefetchOptions :
+			HeapRestorePrefetchOptions.defaults();
+	}
+
 	// ------------------------------------------------------------------------
 	//  Reconfiguration
 	// ------------------------------------------------------------------------
@@ -492,13 +558,24 @@ public class FsStateBackend extends AbstractFileStateBackend implements Configur
 
 	@Override
 	public CheckpointStorageAccess createCheckpointStorage(JobID jobId) throws IOException {
+		return createCheckpointStorage(jobId, new CheckpointUploadThrottle());
+	}
+
+	@Override
+	public CheckpointStorageAccess createCheckpointStorage(
+			JobID jobId,
+			CheckpointUploadThrottle uploadThrottle) throws IOException {
 		checkNotNull(jobId, "jobId");
+		final Path checkpointPath = getCheckpointPath();
 		return new FsCheckpointStorageAccess(
-			getCheckpointPath(),
+			checkpointPath.getFileSystem(),
+			checkpointPath,
 			getSavepointPath(),
 			jobId,
 			getMinFileSizeThreshold(),
-			getWriteBufferSize());
+			getWriteBufferSize(),
+			maxSegmentFileSize,
+			uploadThrottle);
 	}
 
 	// ------------------------------------------------------------------------
@@ -537,7 +614,11 @@ public class FsStateBackend extends AbstractFileStateBackend implements Configur
 			localRecoveryConfig,
 			priorityQueueSetFactory,
 			isUsingAsynchronousSnapshots(),
-			cancelStreamRegistry).build();
+			cancelStreamRegistry)
+			.setMetricGroup(metricGroup)
+			.setStateSizeEstimationOptions(getStateSizeEstimationOptions())
+			.setRestorePrefetchOptions(getRestorePrefetchOptions())
+			.build();
 	}
 
 	@Override
@@ -565,6 +646,7 @@ public class FsStateBackend extends AbstractFileStateBackend implements Configur
 				"checkpoints: '" + getCheckpointPath() +
 				"', savepoints: '" + getSavepointPath() +
 				"', asynchronous: " + asynchronousSnapshots +
-				", fileStateThreshold: " + fileStateThreshold + ")";
+				", fileStateThreshold: " + fileStateThreshold +
+				", maxSegmentFileSize: " + maxSegmentFileSize + ")";
 	}
 }
@@ -0,0 +1,277 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.filesystem;
+
+import org.apache.flink.core.fs.FSDataInputStream;
+import org.apache.flink.core.fs.FileSystem;
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.runtime.state.SharedStateRegistry;
+import org.apache.flink.runtime.state.SharedStateRegistryKey;
+import org.apache.flink.runtime.state.StreamStateHandle;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * {@link StreamStateHandle} for state that was appended to a segment file, which holds the state of several
+ * streams. The state is identified by the path of the segment file and its start position and size within
+ * that file. Positions in the stream returned by {@link #openInputStream()} are relative to the start of the
+ * state, so that readers can seek to the offsets they recorded while writing the state.
+ *
+ * <p>The segment file is deleted once no handle references it any more. To that end, the handles register a
+ * reference to their segment file in the {@link SharedStateRegistry} when the checkpoint they belong to is
+ * completed (see {@link #registerSharedState(SharedStateRegistry)}), and discarding a registered handle
+ * only releases that reference. The registry deletes the segment file when the last reference is released.
+ *
+ * <p>Discarding a handle that is not registered never deletes the segment file, because the handle cannot
+ * know whether other handles still reference it. This is the case for handles that are discarded by the
+ * tasks, for handles of pending checkpoints that are aborted, and for handles that were deserialized and
+ * not registered again. The segment files of aborted checkpoints are deleted together with the exclusive
+ * directory of the checkpoint.
+ */
+public class SegmentFileStateHandle implements StreamStateHandle {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The path to the segment file in the filesystem, fully describing the file system. */
+	private final Path filePath;
+
+	/** The path of the segment file relative to the exclusive checkpoint directory, if it can be relativized. */
+	@Nullable
+	private final String relativePath;
+
+	/** The position of the state in the segment file. */
+	private final long startPos;
+
+	/** The size of the state in the segment file. */
+	private final long stateSize;
+
+	/** The registry that holds the reference of this handle to its segment file, if it was registered. */
+	@Nullable
+	private transient SharedStateRegistry sharedStateRegistry;
+
+	public SegmentFileStateHandle(Path filePath, @Nullable String relativePath, long startPos, long stateSize) {
+		checkArgument(startPos >= 0);
+		checkArgument(stateSize >= 0);
+		this.filePath = checkNotNull(filePath);
+		this.relativePath = relativePath;
+		this.startPos = startPos;
+		this.stateSize = stateSize;
+	}
+
+	public Path getFilePath() {
+		return filePath;
+	}
+
+	@Nullable
+	public String getRelativePath() {
+		return relativePath;
+	}
+
+	public long getStartPos() {
+		return startPos;
+	}
+
+	@Override
+	public long getStateSize() {
+		return stateSize;
+	}
+
+	@Override
+	public FSDataInputStream openInputStream() throws IOException {
+		final FSDataInputStream in = getFileSystem().open(filePath);
+		try {
+			in.seek(startPos);
+			return new SegmentInputStream(in, startPos, stateSize);
+		} catch (Throwable t) {
+			in.close();
+			throw t;
+		}
+	}
+
+	@Override
+	public Optional<byte[]> asBytesIfInMemory() {
+		return Optional.empty();
+	}
+
+	/**
+	 * Registers the reference of this handle to its segment file in the given registry. Registering the handle
+	 * again with the same registry has no effect, registering it with a different registry transfers the
+	 * ownership to that registry (which only happens when the checkpoint coordinator re-creates its registry
+	 * on restore).
+	 */
+	public void registerSharedState(SharedStateRegistry stateRegistry) {
+		if (sharedStateRegistry == stateRegistry) {
+			return;
+		}
+		sharedStateRegistry = checkNotNull(stateRegistry);
+		// all handles register an equal file handle, so the registry never considers them duplicates. The
+		// size of the segment file is already accounted for by the sizes of the handles that reference it.
+		stateRegistry.registerReference(getSegmentFileRegistryKey(), new FileStateHandle(filePath, 0L));
+	}
+
+	/**
+	 * Discards the state. If the handle was registered, this releases its reference to the segment file, which
+	 * deletes the segment file if it was the last reference. Otherwise, this does nothing.
+	 */
+	@Override
+	public void discardState() throws Exception {
+		final SharedStateRegistry registry = sharedStateRegistry;
+		if (registry != null) {
+			sharedStateRegistry = null;
+			registry.unregisterReference(getSegmentFileRegistryKey());
+		}
+	}
+
+	/**
+	 * Registers the reference of the given state handle to its segment file, if it is a
+	 * {@link SegmentFileStateHandle}.
+	 */
+	public static void registerSharedStateIfSegment(
+			SharedStateRegistry stateRegistry,
+			@Nullable StreamStateHandle stateHandle) {
+
+		if (stateHandle instanceof SegmentFileStateHandle) {
+			((SegmentFileStateHandle) stateHandle).registerSharedState(stateRegistry);
+		}
+	}
+
+	private SharedStateRegistryKey getSegmentFileRegistryKey() {
+		return new SharedStateRegistryKey("segment-" + filePath);
+	}
+
+	private FileSystem getFileSystem() throws IOException {
+		return FileSystem.get(filePath.toUri());
+	}
+
+	// ------------------------------------------------------------------------
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof SegmentFileStateHandle)) {
+			return false;
+		}
+
+		SegmentFileStateHandle that = (SegmentFileStateHandle) o;
+		return startPos == that.startPos &&
+			stateSize == that.stateSize &&
+			filePath.equals(that.filePath);
+	}
+
+	@Override
+	public int hashCode() {
+		int result = filePath.hashCode();
+		result = 31 * result + (int) (startPos ^ (startPos >>> 32));
+		result = 31 * result + (int) (stateSize ^ (stateSize >>> 32));
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Segment File State: %s @ %d [%d bytes]", filePath, startPos, stateSize);
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * An input stream that reads the state of a handle from its segment file. Positions are relative to the
+	 * start of the state, and the stream ends at the end of the state.
+	 */
+	private static final class SegmentInputStream extends FSDataInputStream {
+
+		private final FSDataInputStream in;
+
+		private final long startPos;
+
+		private final long stateSize;
+
+		/** The position in the state, relative to its start. */
+		private long position;
+
+		SegmentInputStream(FSDataInputStream in, long startPos, long stateSize) {
+			this.in = in;
+			this.startPos = startPos;
+			this.stateSize = stateSize;
+		}
+
+		@Override
+		public void seek(long desired) throws IOException {
+			checkArgument(desired >= 0 && desired <= stateSize, "Position %s is outside the state.", desired);
+			in.seek(startPos + desired);
+			position = desired;
+		}
+
+		@Override
+		public long getPos() {
+			return position;
+		}
+
+		@Override
+		public int read() throws IOException {
+			if (position >= stateSize) {
+				return -1;
+			}
+			final int result = in.read();
+			if (result >= 0) {
+				position++;
+			}
+			return result;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			if (position >= stateSize) {
+				return -1;
+			}
+			final int read = in.read(b, off, (int) Math.min(len, stateSize - position));
+			if (read > 0) {
+				position += read;
+			}
+			return read;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			final long skipped = in.skip(Math.min(n, stateSize - position));
+			position += skipped;
+			return skipped;
+		}
+
+		@Override
+		public int available() throws IOException {
+			return (int) Math.min(in.available(), stateSize - position);
+		}
+
+		@Override
+		public void close() throws IOException {
+			in.close();
+		}
+	}
+}
@@ -264,6 +264,27 @@ public class CopyOnWriteStateMap<K, N, S> extends StateMap<K, N, S> {
 
 	// Public API from StateMap ------------------------------------------------------------------------------
 
+	/**
+	 * Allocates a table that holds the expected number of entries without rehashing. This only has an effect
+	 * while the map is empty, e.g. before a key-group is restored into it.
+	 */
+	@Override
+	public void ensureCapacity(int expectedSize) {
+		if (!isEmpty() || isRehashing() || expectedSize <= threshold) {
+			return;
+		}
+
+		// the threshold is 3/4 of the capacity
+		final long requiredCapacity = ((long) expectedSize << 2) / 3 + 1;
+		final int capacity = requiredCapacity >= MAXIMUM_CAPACITY ?
+			MAXIMUM_CAPACITY :
+			MathUtils.roundUpToPowerOfTwo(Math.max(MINIMUM_CAPACITY, (int) requiredCapacity));
+		if (capacity > primaryTable.length) {
+			primaryTable = makeTable(capacity);
+			modCount++;
+		}
+	}
+
 	/**
 	 * Returns the total number of entries in this {@link CopyOnWriteStateMap}. This is the sum of both sub-maps.
 	 *
@@ -30,8 +30,13 @@ import org.apache.flink.api.common.state.ValueStateDescriptor;
 import org.apache.flink.api.common.typeutils.TypeSerializer;
 import org.apache.flink.api.common.typeutils.TypeSerializerSchemaCompatibility;
 import org.apache.flink.api.java.tuple.Tuple2;
+import org.apache.flink.configuration.CheckpointingOptions;
+import org.apache.flink.configuration.MemorySize;
 import org.apache.flink.core.fs.CloseableRegistry;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.runtime.checkpoint.CheckpointOptions;
+import org.apache.flink.runtime.execution.SuppressRestartsException;
 import org.apache.flink.runtime.query.TaskKvStateRegistry;
 import org.apache.flink.runtime.state.AbstractKeyedStateBackend;
 import org.apache.flink.runtime.state.CheckpointStreamFactory;
@@ -57,10 +62,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.RunnableFuture;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -75,6 +85,18 @@ public class HeapKeyedStateBackend<K> extends AbstractKeyedStateBackend<K> {
 
 	private static final Logger LOG = LoggerFactory.getLogger(HeapKeyedStateBackend.class);
 
+	static final String STATE_SIZE_METRIC_GROUP = "heapState";
+	static final String ESTIMATED_TOTAL_SIZE_METRIC = "estimatedTotalSize";
+	static final String ESTIMATED_SIZE_METRIC = "estimatedSize";
+	static final String ESTIMATED_MAX_KEY_GROUP_SIZE_METRIC = "estimatedMaxKeyGroupSize";
+
+	/**
+	 * The number of key selections after which it is checked whether the state size is due for re-estimation, so
+	 * that the per-record path only increments a counter.
+	 */
+	@VisibleForTesting
+	static final int KEY_SELECTIONS_PER_ESTIMATION_CHECK = 1024;
+
 	private static final Map<Class<? extends StateDescriptor>, StateFactory> STATE_FACTORIES =
 		Stream.of(
 			Tuple2.of(ValueStateDescriptor.class, (StateFactory) HeapValueState::create),
@@ -109,6 +131,42 @@ public class HeapKeyedStateBackend<K> extends AbstractKeyedStateBackend<K> {
 	 */
 	private final HeapPriorityQueueSetFactory priorityQueueSetFactory;
 
+	/**
+	 * Estimates the size of the registered states, for the state size metrics and the state size limit.
+	 */
+	private final HeapStateSizeEstimator stateSizeEstimator;
+
+	/**
+	 * The soft limit for the estimated state size in bytes, a non-positive value means no limit.
+	 */
+	private final long stateSizeLimit;
+
+	/**
+	 * The minimum interval between two state size estimations, in nanoseconds.
+	 */
+	private final long stateSizeEstimationIntervalNanos;
+
+	/**
+	 * The {@link System#nanoTime()} after which the state size is re-estimated.
+	 */
+	private long nextStateSizeEstimationNanos;
+
+	/**
+	 * The number of key selections since the last check whether the state size is due for re-estimation.
+	 */
+	private int keySelectionsSinceEstimationCheck;
+
+	/**
+	 * The metric group for the state size metrics, or null if metrics are not reported.
+	 */
+	@Nullable
+	private final MetricGroup stateSizeMetricGroup;
+
+	/**
+	 * The names of the states for which size metrics have been registered.
+	 */
+	private final Set<String> stateSizeMetricsRegistered;
+
 	public HeapKeyedStateBackend(
 		TaskKvStateRegistry kvStateRegistry,
 		TypeSerializer<K> keySerializer,
@@ -122,7 +180,11 @@ public class HeapKeyedStateBackend<K> extends AbstractKeyedStateBackend<K> {
 		LocalRecoveryConfig localRecoveryConfig,
 		HeapPriorityQueueSetFactory priorityQueueSetFactory,
 		HeapSnapshotStrategy<K> snapshotStrategy,
-		InternalKeyContext<K> keyContext) {
+		InternalKeyContext<K> keyContext,
+		HeapStateSizeEstimator stateSizeEstimator,
+		Duration stateSizeEstimationInterval,
+		long stateSizeLimit,
+		@Nullable MetricGroup metricGroup) {
 		super(
 			kvStateRegistry,
 			keySerializer,
@@ -138,6 +200,25 @@ public class HeapKeyedStateBackend<K> extends AbstractKeyedStateBackend<K> {
 		LOG.info("Initializing heap keyed state backend with stream factory.");
 		this.priorityQueueSetFactory = priorityQueueSetFactory;
 		this.snapshotStrategy = snapshotStrategy;
+		this.stateSizeEstimator = stateSizeEstimator;
+		this.stateSizeLimit = stateSizeLimit;
+		this.stateSizeEstimationIntervalNanos = stateSizeEstimationInterval.toNanos();
+		this.nextStateSizeEstimationNanos = System.nanoTime() + stateSizeEstimationIntervalNanos;
+		this.stateSizeMetricsRegistered = new HashSet<>();
+
+		if (metricGroup != null) {
+			this.stateSizeMetricGroup = metricGroup.addGroup(STATE_SIZE_METRIC_GROUP);
+			this.stateSizeMetricGroup.gauge(
+				ESTIMATED_TOTAL_SIZE_METRIC, (Gauge<Long>) stateSizeEstimator::getEstimatedTotalSize);
+			for (String stateName : registeredKVStates.keySet()) {
+				registerStateSizeMetrics(stateName);
+			}
+			for (String stateName : registeredPQStates.keySet()) {
+				registerStateSizeMetrics(stateName);
+			}
+		} else {
+			this.stateSizeMetricGroup = null;
+		}
 	}
 
 	// ------------------------------------------------------------------------
@@ -195,6 +276,7 @@ public class HeapKeyedStateBackend<K> extends AbstractKeyedStateBackend<K> {
 				numberOfKeyGroups);
 
 		registeredPQStates.put(stateName, wrapper);
+		registerStateSizeMetrics(stateName);
 		return priorityQueue;
 	}
 
@@ -241,6 +323,7 @@ public class HeapKeyedStateBackend<K> extends AbstractKeyedStateBackend<K> {
 			registeredKVStates.put(stateDesc.getName(), stateTable);
 		}
 
+		registerStateSizeMetrics(stateDesc.getName());
 		return stateTable;
 	}
 
@@ -316,6 +399,18 @@ public class HeapKeyedStateBackend<K> extends AbstractKeyedStateBackend<K> {
 		return snapshotRunner;
 	}
 
+	@Override
+	public void setCurrentKey(K newKey) {
+		super.setCurrentKey(newKey);
+
+		if (++keySelectionsSinceEstimationCheck >= KEY_SELECTIONS_PER_ESTIMATION_CHECK) {
+			keySelectionsSinceEstimationCheck = 0;
+			if (System.nanoTime() - nextStateSizeEstimationNanos >= 0L) {
+				updateStateSizeEstimation();
+			}
+		}
+	}
+
 	@Override
 	public void notifyCheckpointComplete(long checkpointId) {
 		//Nothing to do
@@ -356,6 +451,61 @@ public class HeapKeyedStateBackend<K> extends AbstractKeyedStateBackend<K> {
 		return "HeapKeyedStateBackend";
 	}
 
+	// ------------------------------------------------------------------------
+	//  state size estimation
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Re-estimates the size of all registered states, including the priority queues, and enforces the configured
+	 * state size limit. This is called from {@link #setCurrentKey(Object)} at most once per configured interval, so
+	 * that the estimate is kept up to date independently of checkpoints and the limit fails the task while it
+	 * processes records or timers, rather than in the synchronous part of a snapshot.
+	 *
+	 * <p>Exceeding the limit suppresses restarts, because the state restored from the last checkpoint would
+	 * have the same size and the job would fail again right away.
+	 *
+	 * @throws SuppressRestartsException if the estimated state size exceeds the configured limit.
+	 */
+	@VisibleForTesting
+	void updateStateSizeEstimation() {
+		nextStateSizeEstimationNanos = System.nanoTime() + stateSizeEstimationIntervalNanos;
+		final long estimatedSize = stateSizeEstimator.update(registeredKVStates, registeredPQStates);
+
+		if (stateSizeLimit > 0 && estimatedSize > stateSizeLimit) {
+			final String largestStates = stateSizeEstimator.getEstimatedStateSizes().entrySet().stream()
+				.sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+				.limit(3)
+				.map(e -> e.getKey() + " (" + new MemorySize(e.getValue()).toHumanReadableString() + ")")
+				.collect(Collectors.joining(", "));
+
+			throw new SuppressRestartsException(new FlinkRuntimeException(String.format(
+				"The estimated size of the heap keyed state (%s) exceeds the limit of %s configured by '%s'. " +
+					"The largest states are: %s. Consider reducing the state size (e.g. by configuring state TTL), " +
+					"increasing the parallelism or the limit, or using the RocksDBStateBackend.",
+				new MemorySize(estimatedSize).toHumanReadableString(),
+				new MemorySize(stateSizeLimit).toHumanReadableString(),
+				CheckpointingOptions.HEAP_STATE_SIZE_LIMIT.key(),
+				largestStates)));
+		}
+	}
+
+	@VisibleForTesting
+	HeapStateSizeEstimator getStateSizeEstimator() {
+		return stateSizeEstimator;
+	}
+
+	private void registerStateSizeMetrics(String stateName) {
+		if (stateSizeMetricGroup != null && stateSizeMetricsRegistered.add(stateName)) {
+			final MetricGroup stateGroup = stateSizeMetricGroup.addGroup(stateName);
+			stateGroup.gauge(
+				ESTIMATED_SIZE_METRIC,
+				(Gauge<Long>) () -> stateSizeEstimator.getEstimatedStateSize(stateName));
+			stateGroup.gauge(
+				ESTIMATED_MAX_KEY_GROUP_SIZE_METRIC,
+				(Gauge<Long>) () -> stateSizeEstimator.getEstimatedMaxKeyGroupSize(stateName));
+		}
+	}
+
 	/**
 	 * Returns the total number of state entries across all keys/namespaces.
 	 */
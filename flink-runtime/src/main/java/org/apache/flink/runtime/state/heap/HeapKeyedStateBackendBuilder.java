@@ -21,6 +21,7 @@ package org.apache.flink.runtime.state.heap;
 import org.apache.flink.api.common.ExecutionConfig;
 import org.apache.flink.api.common.typeutils.TypeSerializer;
 import org.apache.flink.core.fs.CloseableRegistry;
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.runtime.query.TaskKvStateRegistry;
 import org.apache.flink.runtime.state.AbstractKeyedStateBackendBuilder;
 import org.apache.flink.runtime.state.BackendBuildingException;
@@ -31,10 +32,14 @@ import org.apache.flink.runtime.state.StreamCompressionDecorator;
 import org.apache.flink.runtime.state.ttl.TtlTimeProvider;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
 /**
  * Builder class for {@link HeapKeyedStateBackend} which handles all necessary initializations and clean ups.
  *
@@ -53,7 +58,19 @@ public class HeapKeyedStateBackendBuilder<K> extends AbstractKeyedStateBackendBu
 	 * Whether asynchronous snapshot is enabled.
 	 */
 	private final boolean asynchronousSnapshots;
-
+	/**
+	 * The metric group to register the state size metrics with, or null for no metrics.
+	 */
+	@Nullable
+	private MetricGroup metricGroup;
+	/**
+	 * The options for the estimation and the limit of the state size.
+	 */
+	private HeapStateSizeEstimationOptions stateSizeEstimationOptions = HeapStateSizeEstimationOptions.defaults();
+	/**
+	 * The options for prefetching the restored state.
+	 */
+	private HeapRestorePrefetchOptions restorePrefetchOptions = HeapRestorePrefetchOptions.defaults();
 
 	public HeapKeyedStateBackendBuilder(
 		TaskKvStateRegistry kvStateRegistry,
@@ -85,6 +102,22 @@ public class HeapKeyedStateBackendBuilder<K> extends AbstractKeyedStateBackendBu
 		this.asynchronousSnapshots = asynchronousSnapshots;
 	}
 
+	public HeapKeyedStateBackendBuilder<K> setMetricGroup(@Nullable MetricGroup metricGroup) {
+		this.metricGroup = metricGroup;
+		return this;
+	}
+
+	public HeapKeyedStateBackendBuilder<K> setStateSizeEstimationOptions(
+		HeapStateSizeEstimationOptions stateSizeEstimationOptions) {
+		this.stateSizeEstimationOptions = checkNotNull(stateSizeEstimationOptions);
+		return this;
+	}
+
+	public HeapKeyedStateBackendBuilder<K> setRestorePrefetchOptions(HeapRestorePrefetchOptions restorePrefetchOptions) {
+		this.restorePrefetchOptions = checkNotNull(restorePrefetchOptions);
+		return this;
+	}
+
 	@Override
 	public HeapKeyedStateBackend<K> build() throws BackendBuildingException {
 		// Map of registered Key/Value states
@@ -109,7 +142,8 @@ public class HeapKeyedStateBackendBuilder<K> extends AbstractKeyedStateBackendBu
 			keyGroupRange,
 			numberOfKeyGroups,
 			snapshotStrategy,
-			keyContext);
+			keyContext,
+			restorePrefetchOptions);
 		try {
 			restoreOperation.restore();
 		} catch (Exception e) {
@@ -128,7 +162,11 @@ public class HeapKeyedStateBackendBuilder<K> extends AbstractKeyedStateBackendBu
 			localRecoveryConfig,
 			priorityQueueSetFactory,
 			snapshotStrategy,
-			keyContext);
+			keyContext,
+			new HeapStateSizeEstimator(stateSizeEstimationOptions.getSampleSize(), keyGroupRange),
+			stateSizeEstimationOptions.getEstimationInterval(),
+			stateSizeEstimationOptions.getSizeLimit(),
+			metricGroup);
 	}
 
 	private HeapSnapshotStrategy<K> initSnapshotStrategy(
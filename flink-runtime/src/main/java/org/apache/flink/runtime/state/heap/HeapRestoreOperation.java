@@ -34,13 +34,12 @@ import org.apache.flink.runtime.state.PriorityComparable;
 import org.apache.flink.runtime.state.RegisteredKeyValueStateBackendMetaInfo;
 import org.apache.flink.runtime.state.RegisteredPriorityQueueStateBackendMetaInfo;
 import org.apache.flink.runtime.state.RestoreOperation;
-import org.apache.flink.runtime.state.SnappyStreamCompressionDecorator;
 import org.apache.flink.runtime.state.StateSerializerProvider;
 import org.apache.flink.runtime.state.StateSnapshotKeyGroupReader;
 import org.apache.flink.runtime.state.StateSnapshotRestore;
 import org.apache.flink.runtime.state.StreamCompressionDecorator;
-import org.apache.flink.runtime.state.UncompressedStreamCompressionDecorator;
 import org.apache.flink.runtime.state.metainfo.StateMetaInfoSnapshot;
+import org.apache.flink.runtime.util.ExecutorThreadFactory;
 import org.apache.flink.util.Preconditions;
 import org.apache.flink.util.StateMigrationException;
 
@@ -48,6 +47,7 @@ import org.apache.commons.io.IOUtils;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -55,6 +55,8 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.apache.flink.runtime.state.StateUtil.unexpectedStateHandleException;
 
@@ -77,6 +79,7 @@ public class HeapRestoreOperation<K> implements RestoreOperation<Void> {
 	private final int numberOfKeyGroups;
 	private final HeapSnapshotStrategy<K> snapshotStrategy;
 	private final InternalKeyContext<K> keyContext;
+	private final HeapRestorePrefetchOptions prefetchOptions;
 
 	HeapRestoreOperation(
 		@Nonnull Collection<KeyedStateHandle> restoreStateHandles,
@@ -89,7 +92,8 @@ public class HeapRestoreOperation<K> implements RestoreOperation<Void> {
 		@Nonnull KeyGroupRange keyGroupRange,
 		int numberOfKeyGroups,
 		HeapSnapshotStrategy<K> snapshotStrategy,
-		InternalKeyContext<K> keyContext) {
+		InternalKeyContext<K> keyContext,
+		HeapRestorePrefetchOptions prefetchOptions) {
 		this.restoreStateHandles = restoreStateHandles;
 		this.keySerializerProvider = keySerializerProvider;
 		this.userCodeClassLoader = userCodeClassLoader;
@@ -101,6 +105,7 @@ public class HeapRestoreOperation<K> implements RestoreOperation<Void> {
 		this.numberOfKeyGroups = numberOfKeyGroups;
 		this.snapshotStrategy = snapshotStrategy;
 		this.keyContext = keyContext;
+		this.prefetchOptions = prefetchOptions;
 	}
 
 	@Override
@@ -109,6 +114,23 @@ public class HeapRestoreOperation<K> implements RestoreOperation<Void> {
 		registeredKVStates.clear();
 		registeredPQStates.clear();
 
+		final ExecutorService prefetchExecutor = prefetchOptions.isEnabled() ?
+			Executors.newFixedThreadPool(
+				prefetchOptions.getNumThreads(),
+				new ExecutorThreadFactory("heap-restore-prefetcher")) :
+			null;
+		try {
+			restoreStateHandles(prefetchExecutor);
+		} finally {
+			if (prefetchExecutor != null) {
+				prefetchExecutor.shutdownNow();
+			}
+		}
+		return null;
+	}
+
+	private void restoreStateHandles(@Nullable ExecutorService prefetchExecutor) throws Exception {
+
 		boolean keySerializerRestored = false;
 
 		for (KeyedStateHandle keyedStateHandle : restoreStateHandles) {
@@ -124,6 +146,7 @@ public class HeapRestoreOperation<K> implements RestoreOperation<Void> {
 			KeyGroupsStateHandle keyGroupsStateHandle = (KeyGroupsStateHandle) keyedStateHandle;
 			FSDataInputStream fsDataInputStream = keyGroupsStateHandle.openInputStream();
 			cancelStreamRegistry.registerCloseable(fsDataInputStream);
+			FSDataInputStream prefetchingInputStream = null;
 
 			try {
 				DataInputViewStreamWrapper inView = new DataInputViewStreamWrapper(fsDataInputStream);
@@ -152,20 +175,46 @@ public class HeapRestoreOperation<K> implements RestoreOperation<Void> {
 
 				createOrCheckStateForMetaInfo(restoredMetaInfos, kvStatesById);
 
+				if (prefetchExecutor != null && !keyGroupsStateHandle.asBytesIfInMemory().isPresent()) {
+					// the key-groups are read from a stream that downloads them ahead of their deserialization
+					prefetchingInputStream = createPrefetchingInputStream(keyGroupsStateHandle, prefetchExecutor);
+					cancelStreamRegistry.registerCloseable(prefetchingInputStream);
+				}
+
 				readStateHandleStateData(
-					fsDataInputStream,
-					inView,
+					prefetchingInputStream != null ? prefetchingInputStream : fsDataInputStream,
+					prefetchingInputStream != null ? new DataInputViewStreamWrapper(prefetchingInputStream) : inView,
 					keyGroupsStateHandle.getGroupRangeOffsets(),
 					kvStatesById, restoredMetaInfos.size(),
 					serializationProxy.getReadVersion(),
-					serializationProxy.isUsingKeyGroupCompression());
+					serializationProxy.getKeyGroupCompressionDecorator());
 			} finally {
 				if (cancelStreamRegistry.unregisterCloseable(fsDataInputStream)) {
 					IOUtils.closeQuietly(fsDataInputStream);
 				}
+				if (prefetchingInputStream != null && cancelStreamRegistry.unregisterCloseable(prefetchingInputStream)) {
+					IOUtils.closeQuietly(prefetchingInputStream);
+				}
 			}
 		}
-		return null;
+	}
+
+	private FSDataInputStream createPrefetchingInputStream(
+		KeyGroupsStateHandle keyGroupsStateHandle,
+		ExecutorService prefetchExecutor) {
+
+		// the key-groups are written one after another, following the meta data
+		long startPos = keyGroupsStateHandle.getStateSize();
+		for (Tuple2<Integer, Long> groupOffset : keyGroupsStateHandle.getGroupRangeOffsets()) {
+			startPos = Math.min(startPos, groupOffset.f1);
+		}
+		return new PrefetchingStateHandleInputStream(
+			keyGroupsStateHandle.getDelegateStateHandle(),
+			startPos,
+			keyGroupsStateHandle.getStateSize(),
+			prefetchOptions.getChunkSize(),
+			prefetchOptions.getNumChunksInFlight(),
+			prefetchExecutor);
 	}
 
 	private void createOrCheckStateForMetaInfo(
@@ -231,10 +280,7 @@ public class HeapRestoreOperation<K> implements RestoreOperation<Void> {
 		Map<Integer, StateMetaInfoSnapshot> kvStatesById,
 		int numStates,
 		int readVersion,
-		boolean isCompressed) throws IOException {
-
-		final StreamCompressionDecorator streamCompressionDecorator = isCompressed ?
-			SnappyStreamCompressionDecorator.INSTANCE : UncompressedStreamCompressionDecorator.INSTANCE;
+		StreamCompressionDecorator streamCompressionDecorator) throws IOException {
 
 		for (Tuple2<Integer, Long> groupOffset : keyGroupOffsets) {
 			int keyGroupIndex = groupOffset.f0;
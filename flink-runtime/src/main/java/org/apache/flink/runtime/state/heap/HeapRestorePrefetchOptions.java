@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.heap;
+
+import org.apache.flink.configuration.ReadableConfig;
+
+import java.io.Serializable;
+
+import static org.apache.flink.configuration.CheckpointingOptions.HEAP_RESTORE_PREFETCH_BUFFER_SIZE;
+import static org.apache.flink.configuration.CheckpointingOptions.HEAP_RESTORE_PREFETCH_THREADS;
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Options for prefetching the state that a {@link HeapKeyedStateBackend} restores, so that downloading the state
+ * from the checkpoint storage overlaps with its deserialization.
+ */
+public class HeapRestorePrefetchOptions implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The minimum size of a prefetched chunk, so that small buffers do not result in tiny reads. */
+	private static final int MIN_CHUNK_SIZE = 64 * 1024;
+
+	/** The number of threads that download the state, 0 to disable prefetching. */
+	private final int numThreads;
+
+	/** The maximum number of bytes that are held in memory ahead of the deserialization. */
+	private final long bufferSize;
+
+	public HeapRestorePrefetchOptions(int numThreads, long bufferSize) {
+		checkArgument(numThreads >= 0, "The number of prefetch threads must not be negative.");
+		checkArgument(bufferSize > 0, "The prefetch buffer size must be positive.");
+		this.numThreads = numThreads;
+		this.bufferSize = bufferSize;
+	}
+
+	public int getNumThreads() {
+		return numThreads;
+	}
+
+	public long getBufferSize() {
+		return bufferSize;
+	}
+
+	public boolean isEnabled() {
+		return numThreads > 0;
+	}
+
+	/**
+	 * Gets the number of chunks that are downloaded ahead of the deserialization. Each thread downloads one chunk
+	 * while another chunk per thread waits to be deserialized.
+	 */
+	int getNumChunksInFlight() {
+		return 2 * numThreads;
+	}
+
+	/**
+	 * Gets the size of the chunks in which the state is downloaded.
+	 */
+	int getChunkSize() {
+		return (int) Math.min(Integer.MAX_VALUE, Math.max(MIN_CHUNK_SIZE, bufferSize / getNumChunksInFlight()));
+	}
+
+	/**
+	 * Creates the options with the default values, which disable prefetching.
+	 */
+	public static HeapRestorePrefetchOptions defaults() {
+		return new HeapRestorePrefetchOptions(
+			HEAP_RESTORE_PREFETCH_THREADS.defaultValue(),
+			HEAP_RESTORE_PREFETCH_BUFFER_SIZE.defaultValue().getBytes());
+	}
+
+	/**
+	 * Creates the options from the given configuration.
+	 */
+	public static HeapRestorePrefetchOptions fromConfig(ReadableConfig config) {
+		return new HeapRestorePrefetchOptions(
+			config.get(HEAP_RESTORE_PREFETCH_THREADS),
+			config.get(HEAP_RESTORE_PREFETCH_BUFFER_SIZE).getBytes());
+	}
+
+	@Override
+	public String toString() {
+		return "HeapRestorePrefetchOptions{" +
+			"numThreads=" + numThreads +
+			", bufferSize=" + bufferSize +
+			'}';
+	}
+}
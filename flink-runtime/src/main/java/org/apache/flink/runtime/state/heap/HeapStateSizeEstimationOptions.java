@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.heap;
+
+import org.apache.flink.configuration.MemorySize;
+import org.apache.flink.configuration.ReadableConfig;
+
+import java.io.Serializable;
+import java.time.Duration;
+
+import static org.apache.flink.configuration.CheckpointingOptions.HEAP_STATE_SIZE_ESTIMATION_INTERVAL;
+import static org.apache.flink.configuration.CheckpointingOptions.HEAP_STATE_SIZE_ESTIMATION_SAMPLE_SIZE;
+import static org.apache.flink.configuration.CheckpointingOptions.HEAP_STATE_SIZE_LIMIT;
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Options for estimating, reporting and limiting the size of the state held by a {@link HeapKeyedStateBackend}.
+ */
+public class HeapStateSizeEstimationOptions implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The number of state entries per key-group that are sampled for the estimation. */
+	private final int sampleSize;
+
+	/** The minimum interval between two estimations. */
+	private final Duration estimationInterval;
+
+	/** The soft limit for the estimated state size in bytes, a non-positive value means no limit. */
+	private final long sizeLimit;
+
+	public HeapStateSizeEstimationOptions(int sampleSize, Duration estimationInterval, long sizeLimit) {
+		checkArgument(sampleSize > 0, "The size estimation sample size must be positive.");
+		checkArgument(!checkNotNull(estimationInterval).isNegative(), "The size estimation interval must not be negative.");
+		this.sampleSize = sampleSize;
+		this.estimationInterval = estimationInterval;
+		this.sizeLimit = sizeLimit;
+	}
+
+	public int getSampleSize() {
+		return sampleSize;
+	}
+
+	public Duration getEstimationInterval() {
+		return estimationInterval;
+	}
+
+	public long getSizeLimit() {
+		return sizeLimit;
+	}
+
+	public boolean hasSizeLimit() {
+		return sizeLimit > 0;
+	}
+
+	/**
+	 * Creates the options with the default values, which estimate the state size but do not limit it.
+	 */
+	public static HeapStateSizeEstimationOptions defaults() {
+		return new HeapStateSizeEstimationOptions(
+			HEAP_STATE_SIZE_ESTIMATION_SAMPLE_SIZE.defaultValue(),
+			HEAP_STATE_SIZE_ESTIMATION_INTERVAL.defaultValue(),
+			-1L);
+	}
+
+	/**
+	 * Creates the options from the given configuration.
+	 */
+	public static HeapStateSizeEstimationOptions fromConfig(ReadableConfig config) {
+		return new HeapStateSizeEstimationOptions(
+			config.get(HEAP_STATE_SIZE_ESTIMATION_SAMPLE_SIZE),
+			config.get(HEAP_STATE_SIZE_ESTIMATION_INTERVAL),
+			config.getOptional(HEAP_STATE_SIZE_LIMIT).map(MemorySize::getBytes).orElse(-1L));
+	}
+
+	@Override
+	public String toString() {
+		return "HeapStateSizeEstimationOptions{" +
+			"sampleSize=" + sampleSize +
+			", estimationInterval=" + estimationInterval +
+			", sizeLimit=" + sizeLimit +
+			'}';
+	}
+}
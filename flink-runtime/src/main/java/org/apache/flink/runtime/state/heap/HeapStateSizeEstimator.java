@@ -0,0 +1,255 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.heap;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.core.memory.DataOutputView;
+import org.apache.flink.runtime.state.KeyGroupRange;
+import org.apache.flink.runtime.state.StateEntry;
+import org.apache.flink.util.FlinkRuntimeException;
+import org.apache.flink.util.Preconditions;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Estimates the size of the state held by the {@link StateTable StateTables} and the priority queues (e.g. timers)
+ * of a heap keyed backend.
+ *
+ * <p>The estimation is based on sampling: for every key-group, up to {@code sampleSize} entries of the
+ * {@link StateMap} or of the priority queue are serialized with the serializers of the state and the average
+ * serialized size of the sample is extrapolated to the number of entries in that key-group. The sampled entries
+ * are spread evenly over the whole key-group, starting at a random offset, so that the sample is not biased
+ * towards the entries that happen to be iterated first. The estimate reflects the serialized size of the state,
+ * which is a lower bound of its actual on-heap footprint.
+ *
+ * <p>Estimates are computed by the task thread through {@link #update(Map, Map)}, and can be read concurrently
+ * (e.g. by metric reporters) afterwards.
+ */
+public class HeapStateSizeEstimator {
+
+	/** The maximum number of entries sampled per key-group. */
+	private final int sampleSize;
+
+	/** The key-group range of the backend, to break the priority queues down by key-group. */
+	private final KeyGroupRange keyGroupRange;
+
+	/** Source of the random offsets of the samples. */
+	private final Random random;
+
+	/** Reused buffer for serializing the sampled entries. */
+	private final DataOutputSerializer serializationBuffer;
+
+	/** The estimated size of each key-group, per state name, as computed by the last update. */
+	private volatile Map<String, long[]> keyGroupSizesByState;
+
+	public HeapStateSizeEstimator(int sampleSize, KeyGroupRange keyGroupRange) {
+		this(sampleSize, keyGroupRange, new Random());
+	}
+
+	@VisibleForTesting
+	HeapStateSizeEstimator(int sampleSize, KeyGroupRange keyGroupRange, Random random) {
+		Preconditions.checkArgument(sampleSize > 0, "The sample size must be positive.");
+		this.sampleSize = sampleSize;
+		this.keyGroupRange = Preconditions.checkNotNull(keyGroupRange);
+		this.random = Preconditions.checkNotNull(random);
+		this.serializationBuffer = new DataOutputSerializer(128);
+		this.keyGroupSizesByState = Collections.emptyMap();
+	}
+
+	/**
+	 * Re-computes the estimated sizes of all given state tables and priority queues.
+	 *
+	 * @param stateTables the registered state tables, by state name.
+	 * @param priorityQueues the registered priority queues, by state name.
+	 * @return the estimated total size of all given states, in bytes.
+	 */
+	@SuppressWarnings("unchecked")
+	public long update(
+		Map<String, ? extends StateTable<?, ?, ?>> stateTables,
+		Map<String, ? extends HeapPriorityQueueSnapshotRestoreWrapper> priorityQueues) {
+
+		final Map<String, long[]> newSizes = new HashMap<>(stateTables.size() + priorityQueues.size());
+		long total = 0L;
+		for (Map.Entry<String, ? extends StateTable<?, ?, ?>> entry : stateTables.entrySet()) {
+			final long[] keyGroupSizes = estimateKeyGroupSizes(entry.getValue());
+			newSizes.put(entry.getKey(), keyGroupSizes);
+			total += sum(keyGroupSizes);
+		}
+		for (Map.Entry<String, ? extends HeapPriorityQueueSnapshotRestoreWrapper> entry : priorityQueues.entrySet()) {
+			final long[] keyGroupSizes = estimateKeyGroupSizes(entry.getValue());
+			newSizes.put(entry.getKey(), keyGroupSizes);
+			total += sum(keyGroupSizes);
+		}
+		this.keyGroupSizesByState = newSizes;
+		return total;
+	}
+
+	/**
+	 * Returns the estimated size of the given state, in bytes, or 0 if the state was not estimated yet.
+	 */
+	public long getEstimatedStateSize(String stateName) {
+		final long[] keyGroupSizes = keyGroupSizesByState.get(stateName);
+		return keyGroupSizes != null ? sum(keyGroupSizes) : 0L;
+	}
+
+	/**
+	 * Returns the estimated size of the largest key-group of the given state, in bytes, or 0 if the state
+	 * was not estimated yet.
+	 */
+	public long getEstimatedMaxKeyGroupSize(String stateName) {
+		final long[] keyGroupSizes = keyGroupSizesByState.get(stateName);
+		long max = 0L;
+		if (keyGroupSizes != null) {
+			for (long keyGroupSize : keyGroupSizes) {
+				max = Math.max(max, keyGroupSize);
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * Returns the estimated size of every key-group of the given state, in bytes, indexed by the offset of
+	 * the key-group in the backend's key-group range. Returns an empty array if the state was not
+	 * estimated yet.
+	 */
+	public long[] getEstimatedKeyGroupSizes(String stateName) {
+		final long[] keyGroupSizes = keyGroupSizesByState.get(stateName);
+		return keyGroupSizes != null ? keyGroupSizes.clone() : new long[0];
+	}
+
+	/**
+	 * Returns the estimated size of all states, in bytes, as computed by the last update.
+	 */
+	public long getEstimatedTotalSize() {
+		long total = 0L;
+		for (long[] keyGroupSizes : keyGroupSizesByState.values()) {
+			total += sum(keyGroupSizes);
+		}
+		return total;
+	}
+
+	/**
+	 * Returns the names and estimated sizes of all states, as computed by the last update.
+	 */
+	public Map<String, Long> getEstimatedStateSizes() {
+		final Map<String, long[]> sizes = keyGroupSizesByState;
+		final Map<String, Long> result = new HashMap<>(sizes.size());
+		for (Map.Entry<String, long[]> entry : sizes.entrySet()) {
+			result.put(entry.getKey(), sum(entry.getValue()));
+		}
+		return result;
+	}
+
+	// ------------------------------------------------------------------------
+
+	private <K, N, S> long[] estimateKeyGroupSizes(StateTable<K, N, S> stateTable) {
+		final TypeSerializer<K> keySerializer = stateTable.getKeySerializer();
+		final TypeSerializer<N> namespaceSerializer = stateTable.getNamespaceSerializer();
+		final TypeSerializer<S> stateSerializer = stateTable.getStateSerializer();
+		final EntrySerializer<StateEntry<K, N, S>> entrySerializer = (entry, out) -> {
+			keySerializer.serialize(entry.getKey(), out);
+			namespaceSerializer.serialize(entry.getNamespace(), out);
+			if (entry.getState() != null) {
+				stateSerializer.serialize(entry.getState(), out);
+			}
+		};
+
+		final StateMap<K, N, S>[] stateMaps = stateTable.getState();
+		final long[] keyGroupSizes = new long[stateMaps.length];
+		for (int i = 0; i < stateMaps.length; i++) {
+			keyGroupSizes[i] = estimateSize(stateMaps[i].iterator(), stateMaps[i].size(), entrySerializer);
+		}
+		return keyGroupSizes;
+	}
+
+	private <T extends HeapPriorityQueueElement> long[] estimateKeyGroupSizes(
+		HeapPriorityQueueSnapshotRestoreWrapper<T> priorityQueue) {
+
+		final TypeSerializer<T> elementSerializer = priorityQueue.getMetaInfo().getElementSerializer();
+		final HeapPriorityQueueSet<T> queue = priorityQueue.getPriorityQueue();
+
+		final long[] keyGroupSizes = new long[keyGroupRange.getNumberOfKeyGroups()];
+		for (int i = 0; i < keyGroupSizes.length; i++) {
+			final Set<T> keyGroupElements = queue.getSubsetForKeyGroup(keyGroupRange.getStartKeyGroup() + i);
+			keyGroupSizes[i] = estimateSize(
+				keyGroupElements.iterator(),
+				keyGroupElements.size(),
+				elementSerializer::serialize);
+		}
+		return keyGroupSizes;
+	}
+
+	/**
+	 * Estimates the serialized size of the given {@code size} elements by serializing up to {@code sampleSize}
+	 * of them, at a fixed stride and a random offset.
+	 */
+	private <T> long estimateSize(Iterator<T> iterator, int size, EntrySerializer<T> entrySerializer) {
+		if (size == 0) {
+			return 0L;
+		}
+
+		final int numSamples = Math.min(size, sampleSize);
+		final double stride = (double) size / numSamples;
+		double nextSample = random.nextDouble() * stride;
+
+		long sampledBytes = 0L;
+		int sampledEntries = 0;
+		try {
+			for (int index = 0; sampledEntries < numSamples && iterator.hasNext(); index++) {
+				final T entry = iterator.next();
+				if (index < (int) nextSample) {
+					continue;
+				}
+				serializationBuffer.clear();
+				entrySerializer.serialize(entry, serializationBuffer);
+				sampledBytes += serializationBuffer.length();
+				sampledEntries++;
+				nextSample += stride;
+			}
+		} catch (IOException e) {
+			throw new FlinkRuntimeException("Failed to serialize state entry for size estimation.", e);
+		} finally {
+			serializationBuffer.clear();
+		}
+
+		return sampledEntries == 0 ? 0L : (sampledBytes * size) / sampledEntries;
+	}
+
+	private static long sum(long[] values) {
+		long sum = 0L;
+		for (long value : values) {
+			sum += value;
+		}
+		return sum;
+	}
+
+	/** Serializes an entry of a state for the size estimation. */
+	@FunctionalInterface
+	private interface EntrySerializer<T> {
+		void serialize(T entry, DataOutputView out) throws IOException;
+	}
+}
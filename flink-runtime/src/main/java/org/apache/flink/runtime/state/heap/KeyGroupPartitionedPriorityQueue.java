@@ -32,9 +32,12 @@ import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.function.Predicate;
 
 import static org.apache.flink.util.Preconditions.checkArgument;
 
@@ -57,6 +60,10 @@ public class KeyGroupPartitionedPriorityQueue<T, PQ extends InternalPriorityQueu
 	@Nonnull
 	private final PQ[] keyGroupedHeaps;
 
+	/** Comparator for the priority of contained elements. */
+	@Nonnull
+	private final PriorityComparator<T> elementPriorityComparator;
+
 	/** Function to extract the key from contained elements. */
 	@Nonnull
 	private final KeyExtractorFunction<T> keyExtractor;
@@ -78,6 +85,7 @@ public class KeyGroupPartitionedPriorityQueue<T, PQ extends InternalPriorityQueu
 		@Nonnegative int totalKeyGroups) {
 
 		this.keyExtractor = keyExtractor;
+		this.elementPriorityComparator = elementPriorityComparator;
 		this.totalKeyGroups = totalKeyGroups;
 		this.firstKeyGroup = keyGroupRange.getStartKeyGroup();
 		this.keyGroupedHeaps = (PQ[]) new InternalPriorityQueue[keyGroupRange.getNumberOfKeyGroups()];
@@ -107,6 +115,31 @@ public class KeyGroupPartitionedPriorityQueue<T, PQ extends InternalPriorityQueu
 		return heapOfKeyGroupedHeaps.peek().peek();
 	}
 
+	/**
+	 * Drains each key-group partition through its own (potentially bulk)
+	 * {@link InternalPriorityQueue#pollAll(Predicate, int)}, so that the heap of partitions is only adjusted once per
+	 * drained partition instead of once per element.
+	 *
+	 * <p>Note that if the limit is reached, the removed elements are not necessarily the smallest matching elements of
+	 * this queue, because partitions are drained one after the other. They are sorted among themselves, and all
+	 * elements that precede them are still in the queue.
+	 */
+	@Nonnull
+	@Override
+	public List<T> pollAll(@Nonnull Predicate<T> canPoll, @Nonnegative int maxElements) {
+		final List<T> polled = new ArrayList<>();
+		PQ headList;
+		T head;
+		while (polled.size() < maxElements &&
+			(head = (headList = heapOfKeyGroupedHeaps.peek()).peek()) != null && canPoll.test(head)) {
+			polled.addAll(headList.pollAll(canPoll, maxElements - polled.size()));
+			heapOfKeyGroupedHeaps.adjustModifiedElement(headList);
+		}
+		// each partition was drained in order, we restore the order across partitions
+		polled.sort(elementPriorityComparator::comparePriority);
+		return polled;
+	}
+
 	@Override
 	public boolean add(@Nonnull T toAdd) {
 		final PQ list = getKeyGroupSubHeapForElement(toAdd);
@@ -0,0 +1,268 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.heap;
+
+import org.apache.flink.core.fs.FSDataInputStream;
+import org.apache.flink.runtime.state.StreamStateHandle;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * An input stream that reads a range of a {@link StreamStateHandle} ahead of its consumer. The range is split into
+ * chunks, which are downloaded in parallel by the given executor, each through its own stream of the handle. A
+ * bounded number of chunks is downloaded ahead of the position of the stream, so that the consumer deserializes a
+ * chunk while the following chunks are still being downloaded.
+ *
+ * <p>Seeking forward within the downloaded chunks drops the chunks before the new position, any other seek discards
+ * all downloaded chunks and restarts the download at the new position.
+ */
+class PrefetchingStateHandleInputStream extends FSDataInputStream {
+
+	private final StreamStateHandle stateHandle;
+
+	/** The end of the range that is read, exclusive. */
+	private final long endPos;
+
+	private final int chunkSize;
+
+	private final int numChunksInFlight;
+
+	private final Executor executor;
+
+	/** The chunks that are downloaded ahead of the current chunk, in the order of their positions. */
+	private final ArrayDeque<Chunk> chunksInFlight;
+
+	/** The position at which the next chunk that is scheduled for download starts. */
+	private long nextChunkPos;
+
+	/** The chunk that contains the current position, or null if it was not downloaded yet. */
+	private byte[] currentChunk;
+
+	/** The position at which the current chunk starts. */
+	private long currentChunkPos;
+
+	private long position;
+
+	/** Set on close, so that running downloads stop early. */
+	private volatile boolean closed;
+
+	PrefetchingStateHandleInputStream(
+		StreamStateHandle stateHandle,
+		long startPos,
+		long endPos,
+		int chunkSize,
+		int numChunksInFlight,
+		Executor executor) {
+
+		checkArgument(startPos >= 0 && startPos <= endPos, "Invalid range [%s, %s).", startPos, endPos);
+		checkArgument(chunkSize > 0, "The chunk size must be positive.");
+		checkArgument(numChunksInFlight > 0, "The number of chunks in flight must be positive.");
+		this.stateHandle = checkNotNull(stateHandle);
+		this.endPos = endPos;
+		this.chunkSize = chunkSize;
+		this.numChunksInFlight = numChunksInFlight;
+		this.executor = checkNotNull(executor);
+		this.chunksInFlight = new ArrayDeque<>(numChunksInFlight);
+		this.nextChunkPos = startPos;
+		this.currentChunkPos = startPos;
+		this.position = startPos;
+	}
+
+	@Override
+	public void seek(long desired) throws IOException {
+		checkArgument(desired >= 0 && desired <= endPos, "Position %s is outside the prefetched range.", desired);
+		ensureOpen();
+
+		if (desired < currentChunkPos || desired > nextChunkPos) {
+			// the position is not covered by the downloaded chunks, so start over at the position
+			discardChunks();
+			currentChunkPos = desired;
+			nextChunkPos = desired;
+		} else {
+			// drop the chunks before the position without waiting for them
+			while (!chunksInFlight.isEmpty() && chunksInFlight.peek().endPos <= desired) {
+				final Chunk skipped = chunksInFlight.poll();
+				skipped.data.cancel(true);
+				currentChunk = null;
+				currentChunkPos = skipped.endPos;
+			}
+		}
+		position = desired;
+	}
+
+	@Override
+	public long getPos() {
+		return position;
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (!ensureChunk()) {
+			return -1;
+		}
+		return currentChunk[(int) (position++ - currentChunkPos)] & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+		if (!ensureChunk()) {
+			return -1;
+		}
+		final int offsetInChunk = (int) (position - currentChunkPos);
+		final int read = Math.min(len, currentChunk.length - offsetInChunk);
+		System.arraycopy(currentChunk, offsetInChunk, b, off, read);
+		position += read;
+		return read;
+	}
+
+	@Override
+	public long skip(long n) throws IOException {
+		if (n <= 0) {
+			return 0L;
+		}
+		final long skipped = Math.min(n, endPos - position);
+		seek(position + skipped);
+		return skipped;
+	}
+
+	@Override
+	public int available() {
+		if (currentChunk == null || position < currentChunkPos) {
+			return 0;
+		}
+		return (int) Math.max(0L, currentChunkPos + currentChunk.length - position);
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+		discardChunks();
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Makes the chunk that contains the current position the current chunk, waiting for its download if necessary.
+	 *
+	 * @return false, if the end of the range is reached.
+	 */
+	private boolean ensureChunk() throws IOException {
+		ensureOpen();
+		if (position >= endPos) {
+			return false;
+		}
+
+		while (currentChunk == null || position >= currentChunkPos + currentChunk.length) {
+			scheduleChunks();
+			final Chunk chunk = chunksInFlight.poll();
+			currentChunk = waitForChunk(chunk);
+			currentChunkPos = chunk.startPos;
+		}
+		scheduleChunks();
+		return true;
+	}
+
+	private void scheduleChunks() {
+		while (chunksInFlight.size() < numChunksInFlight && nextChunkPos < endPos) {
+			final long startPos = nextChunkPos;
+			final int length = (int) Math.min(chunkSize, endPos - startPos);
+			final CompletableFuture<byte[]> data = new CompletableFuture<>();
+			executor.execute(() -> {
+				try {
+					data.complete(download(startPos, length));
+				} catch (Throwable t) {
+					data.completeExceptionally(t);
+				}
+			});
+			chunksInFlight.add(new Chunk(startPos, startPos + length, data));
+			nextChunkPos = startPos + length;
+		}
+	}
+
+	private byte[] download(long startPos, int length) throws IOException {
+		final byte[] data = new byte[length];
+		try (FSDataInputStream in = stateHandle.openInputStream()) {
+			in.seek(startPos);
+			int read = 0;
+			while (read < length) {
+				ensureOpen();
+				final int n = in.read(data, read, length - read);
+				if (n < 0) {
+					throw new EOFException("Unexpected end of " + stateHandle + " at position " + (startPos + read) + '.');
+				}
+				read += n;
+			}
+		}
+		return data;
+	}
+
+	private byte[] waitForChunk(Chunk chunk) throws IOException {
+		try {
+			return chunk.data.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for the state of " + stateHandle + '.');
+		} catch (ExecutionException e) {
+			throw new IOException("Could not read the state of " + stateHandle + " at position " +
+				chunk.startPos + '.', e.getCause());
+		}
+	}
+
+	private void discardChunks() {
+		for (Chunk chunk : chunksInFlight) {
+			chunk.data.cancel(true);
+		}
+		chunksInFlight.clear();
+		currentChunk = null;
+	}
+
+	private void ensureOpen() throws IOException {
+		if (closed) {
+			throw new IOException("The stream is closed.");
+		}
+	}
+
+	/** A chunk of the range that is downloaded or being downloaded. */
+	private static final class Chunk {
+
+		private final long startPos;
+
+		private final long endPos;
+
+		private final CompletableFuture<byte[]> data;
+
+		private Chunk(long startPos, long endPos, CompletableFuture<byte[]> data) {
+			this.startPos = startPos;
+			this.endPos = endPos;
+			this.data = data;
+		}
+	}
+}
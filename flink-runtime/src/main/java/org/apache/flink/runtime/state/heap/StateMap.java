@@ -158,6 +158,15 @@ public abstract class StateMap<K, N, S> implements Iterable<StateEntry<K, N, S>>
 	public void releaseSnapshot(StateMapSnapshot<K, N, S, ? extends StateMap<K, N, S>> snapshotToRelease) {
 	}
 
+	/**
+	 * Hints that the given number of entries is about to be inserted into this {@link StateMap}, so that
+	 * implementations can allocate their space up front instead of growing it repeatedly. This is a no-op by default.
+	 *
+	 * @param expectedSize the expected number of entries in this {@link StateMap}.
+	 */
+	public void ensureCapacity(int expectedSize) {
+	}
+
 	// For testing --------------------------------------------------------------------------------
 
 	@VisibleForTesting
@@ -295,6 +295,18 @@ public abstract class StateTable<K, N, S>
 		return keyGroupOffset;
 	}
 
+	/**
+	 * Hints that the given number of mappings is about to be inserted into the given key-group.
+	 *
+	 * @see StateMap#ensureCapacity(int)
+	 */
+	void ensureCapacity(int keyGroupIndex, int expectedSize) {
+		final StateMap<K, N, S> stateMap = getMapForKeyGroup(keyGroupIndex);
+		if (stateMap != null) {
+			stateMap.ensureCapacity(expectedSize);
+		}
+	}
+
 	@VisibleForTesting
 	StateMap<K, N, S> getMapForKeyGroup(int keyGroupIndex) {
 		final int pos = indexToOffset(keyGroupIndex);
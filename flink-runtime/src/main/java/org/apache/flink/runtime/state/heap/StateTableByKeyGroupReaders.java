@@ -19,9 +19,7 @@
 package org.apache.flink.runtime.state.heap;
 
 import org.apache.flink.api.common.typeutils.TypeSerializer;
-import org.apache.flink.api.java.tuple.Tuple3;
 import org.apache.flink.core.memory.DataInputView;
-import org.apache.flink.runtime.state.KeyGroupPartitioner;
 import org.apache.flink.runtime.state.StateSnapshotKeyGroupReader;
 
 import javax.annotation.Nonnegative;
@@ -59,6 +57,7 @@ class StateTableByKeyGroupReaders {
 			case 4:
 			case 5:
 			case 6:
+			case 7:
 				return createV2PlusReader(stateTable);
 			default:
 				throw new IllegalArgumentException("Unknown version: " + version);
@@ -70,13 +69,18 @@ class StateTableByKeyGroupReaders {
 		final TypeSerializer<N> namespaceSerializer = stateTable.getNamespaceSerializer();
 		final TypeSerializer<S> stateSerializer = stateTable.getStateSerializer();
 		final TypeSerializer<K> keySerializer = stateTable.keySerializer;
-		final Tuple3<N, K, S> buffer = new Tuple3<>();
-		return KeyGroupPartitioner.createKeyGroupPartitionReader((in) -> {
-			buffer.f0 = namespaceSerializer.deserialize(in);
-			buffer.f1 = keySerializer.deserialize(in);
-			buffer.f2 = stateSerializer.deserialize(in);
-			return buffer;
-		}, (element, keyGroupId1) -> stateTable.put(element.f1, keyGroupId1, element.f0, element.f2));
+		// reads the format written by StateMapSnapshot#writeState: the number of mappings, followed by the mappings
+		return (in, keyGroupId) -> {
+			final int numElements = in.readInt();
+			// allocate the space for all mappings of the key-group up front, rather than rehashing while inserting them
+			stateTable.ensureCapacity(keyGroupId, numElements);
+			for (int i = 0; i < numElements; i++) {
+				final N namespace = namespaceSerializer.deserialize(in);
+				final K key = keySerializer.deserialize(in);
+				final S state = stateSerializer.deserialize(in);
+				stateTable.put(key, keyGroupId, namespace, state);
+			}
+		};
 	}
 
 	static final class StateTableByKeyGroupReaderV1<K, N, S> implements StateSnapshotKeyGroupReader {
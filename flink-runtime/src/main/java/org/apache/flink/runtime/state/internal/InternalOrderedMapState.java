@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.internal;
+
+import javax.annotation.Nullable;
+
+import java.util.Map;
+
+/**
+ * An {@link InternalMapState} that keeps its entries ordered by the serialized bytes of the user keys, and
+ * gives access to the serialized form of its entries.
+ *
+ * <p>The entries are ordered by the unsigned lexicographic order of the serialized user keys. This order is
+ * the natural order of the user keys only for serializers whose binary format is order preserving, e.g. for
+ * non-negative numbers serialized in big-endian byte order or for fixed-length byte strings.
+ *
+ * <p>Entries returned by the iterators of this state are deserialized lazily, i.e. only when their key or
+ * value is accessed. Iterating over the serialized entries, e.g. to count the entries or to compare the
+ * serialized keys, therefore does not deserialize any user key or value.
+ *
+ * <p>See {@link InternalKvState} for a description of the internal state hierarchy.
+ *
+ * @param <K> The type of key the state is associated to
+ * @param <N> The type of the namespace
+ * @param <UK> Type of the keys in the state
+ * @param <UV> Type of the values in the state
+ */
+public interface InternalOrderedMapState<K, N, UK, UV> extends InternalMapState<K, N, UK, UV> {
+
+	/**
+	 * Returns all entries of the state in the order of their serialized user keys, with access to the
+	 * serialized keys and values.
+	 */
+	Iterable<SerializedEntry<UK, UV>> serializedEntries() throws Exception;
+
+	/**
+	 * Returns the entries of the state whose serialized user key is greater than or equal to the
+	 * serialized {@code fromKey} and less than the serialized {@code toKey}, in the order of their
+	 * serialized user keys.
+	 *
+	 * @param fromKey The inclusive lower bound of the range, or null to start at the first entry.
+	 * @param toKey The exclusive upper bound of the range, or null to end at the last entry.
+	 */
+	Iterable<SerializedEntry<UK, UV>> range(@Nullable UK fromKey, @Nullable UK toKey) throws Exception;
+
+	/**
+	 * An entry of an {@link InternalOrderedMapState} which gives access to the serialized user key and
+	 * value, and deserializes them only on {@link #getKey()} and {@link #getValue()}.
+	 *
+	 * @param <UK> Type of the user key
+	 * @param <UV> Type of the user value
+	 */
+	interface SerializedEntry<UK, UV> extends Map.Entry<UK, UV> {
+
+		/**
+		 * Returns the buffer that holds the serialized user key at {@link #getSerializedKeyOffset()}. The
+		 * buffer is shared with the state and must not be modified.
+		 */
+		byte[] getSerializedKeyBuffer();
+
+		/** Returns the offset of the serialized user key in {@link #getSerializedKeyBuffer()}. */
+		int getSerializedKeyOffset();
+
+		/** Returns the length of the serialized user key in {@link #getSerializedKeyBuffer()}. */
+		int getSerializedKeyLength();
+
+		/** Returns a copy of the serialized user value, or null if the user value is null. */
+		@Nullable
+		byte[] getSerializedValue();
+	}
+}
@@ -42,6 +42,8 @@ import org.apache.flink.runtime.state.TaskStateManager;
 import org.apache.flink.runtime.state.filesystem.AbstractFileStateBackend;
 import org.apache.flink.runtime.state.heap.HeapKeyedStateBackendBuilder;
 import org.apache.flink.runtime.state.heap.HeapPriorityQueueSetFactory;
+import org.apache.flink.runtime.state.heap.HeapRestorePrefetchOptions;
+import org.apache.flink.runtime.state.heap.HeapStateSizeEstimationOptions;
 import org.apache.flink.runtime.state.ttl.TtlTimeProvider;
 import org.apache.flink.util.TernaryBoolean;
 
@@ -117,6 +119,16 @@ public class MemoryStateBackend extends AbstractFileStateBackend implements Conf
 	 * A value of 'UNDEFINED' means not yet configured, in which case the default will be used. */
 	private final TernaryBoolean asynchronousSnapshots;
 
+	/** The options for estimating and limiting the size of the heap keyed state.
+	 * A value of 'null' means not yet configured, in which case the defaults will be used. */
+	@Nullable
+	private final HeapStateSizeEstimationOptions stateSizeEstimationOptions;
+
+	/** The options for prefetching the heap keyed state on restore.
+	 * A value of 'null' means not yet configured, in which case the defaults will be used. */
+	@Nullable
+	private final HeapRestorePrefetchOptions restorePrefetchOptions;
+
 	// ------------------------------------------------------------------------
 
 	/**
@@ -225,6 +237,8 @@ public class MemoryStateBackend extends AbstractFileStateBackend implements Conf
 		this.maxStateSize = maxStateSize;
 
 		this.asynchronousSnapshots = asynchronousSnapshots;
+		this.stateSizeEstimationOptions = null;
+		this.restorePrefetchOptions = null;
 	}
 
 	/**
@@ -243,6 +257,14 @@ public class MemoryStateBackend extends AbstractFileStateBackend implements Conf
 		// else check the configuration
 		this.asynchronousSnapshots = original.asynchronousSnapshots.resolveUndefined(
 				configuration.get(CheckpointingOptions.ASYNC_SNAPSHOTS));
+
+		this.stateSizeEstimationOptions = original.stateSizeEstimationOptions != null ?
+			original.stateSizeEstimationOptions :
+			HeapStateSizeEstimationOptions.fromConfig(configuration);
+
+		this.restorePrefetchOptions = original.restorePrefetchOptions != null ?
+			original.restorePrefetchOptions :
+			HeapRestorePrefetchOptions.fromConfig(configuration);
 	}
 
 	// ------------------------------------------------------------------------
@@ -269,6 +291,24 @@ public class MemoryStateBackend extends AbstractFileStateBackend implements Conf
 		return asynchronousSnapshots.getOrDefault(CheckpointingOptions.ASYNC_SNAPSHOTS.defaultValue());
 	}
 
+	/**
+	 * Gets the options for estimating and limiting the size of the heap keyed state.
+	 */
+	public HeapStateSizeEstimationOptions getStateSizeEstimationOptions() {
+		return stateSizeEstimationOptions != null ?
+			stateSizeEstimationOptions :
+			HeapStateSizeEstimationOptions.defaults();
+	}
+
+	/**
+	 * Gets the options for prefetching the heap keyed state on restore.
+	 */
+	public HeapRestorePrefetchOptions getRestorePrefetchOptions() {
+		return restorePrefetchOptions != null ?
+			restorePrefetchOptions :
+			HeapRestorePrefetchOptions.defaults();
+	}
+
 	// ------------------------------------------------------------------------
 	//  Reconfiguration
 	// ------------------------------------------------------------------------
@@ -344,7 +384,11 @@ public class MemoryStateBackend extends AbstractFileStateBackend implements Conf
 			taskStateManager.createLocalRecoveryConfig(),
 			priorityQueueSetFactory,
 			isUsingAsynchronousSnapshots(),
-			cancelStreamRegistry).build();
+			cancelStreamRegistry)
+			.setMetricGroup(metricGroup)
+			.setStateSizeEstimationOptions(getStateSizeEstimationOptions())
+			.setRestorePrefetchOptions(getRestorePrefetchOptions())
+			.build();
 	}
 
 	// ------------------------------------------------------------------------
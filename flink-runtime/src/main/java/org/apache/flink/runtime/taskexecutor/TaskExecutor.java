@@ -605,7 +605,8 @@ public class TaskExecutor extends RpcEndpoint implements TaskExecutorGateway {
 				tdd.getExecutionAttemptId(),
 				localStateStore,
 				taskRestore,
-				checkpointResponder);
+				checkpointResponder,
+				taskExecutorServices.getCheckpointUploadThrottle());
 
 			MemoryManager memoryManager;
 			try {
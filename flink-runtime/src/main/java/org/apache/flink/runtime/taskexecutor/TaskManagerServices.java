@@ -20,6 +20,8 @@ package org.apache.flink.runtime.taskexecutor;
 
 import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.configuration.CoreOptions;
+import org.apache.flink.configuration.MemorySize;
+import org.apache.flink.configuration.TaskManagerOptions;
 import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.runtime.blob.PermanentBlobService;
 import org.apache.flink.runtime.broadcast.BroadcastVariableManager;
@@ -34,6 +36,7 @@ import org.apache.flink.runtime.rpc.FatalErrorHandler;
 import org.apache.flink.runtime.shuffle.ShuffleEnvironment;
 import org.apache.flink.runtime.shuffle.ShuffleEnvironmentContext;
 import org.apache.flink.runtime.shuffle.ShuffleServiceLoader;
+import org.apache.flink.runtime.state.CheckpointUploadThrottle;
 import org.apache.flink.runtime.state.TaskExecutorLocalStateStoresManager;
 import org.apache.flink.runtime.taskexecutor.slot.TaskSlotTable;
 import org.apache.flink.runtime.taskexecutor.slot.TaskSlotTableImpl;
@@ -78,6 +81,7 @@ public class TaskManagerServices {
 	private final TaskEventDispatcher taskEventDispatcher;
 	private final ExecutorService ioExecutor;
 	private final LibraryCacheManager libraryCacheManager;
+	private final CheckpointUploadThrottle checkpointUploadThrottle;
 
 	TaskManagerServices(
 		UnresolvedTaskManagerLocation unresolvedTaskManagerLocation,
@@ -92,7 +96,8 @@ public class TaskManagerServices {
 		TaskExecutorLocalStateStoresManager taskManagerStateStore,
 		TaskEventDispatcher taskEventDispatcher,
 		ExecutorService ioExecutor,
-		LibraryCacheManager libraryCacheManager) {
+		LibraryCacheManager libraryCacheManager,
+		CheckpointUploadThrottle checkpointUploadThrottle) {
 
 		this.unresolvedTaskManagerLocation = Preconditions.checkNotNull(unresolvedTaskManagerLocation);
 		this.managedMemorySize = managedMemorySize;
@@ -107,6 +112,7 @@ public class TaskManagerServices {
 		this.taskEventDispatcher = Preconditions.checkNotNull(taskEventDispatcher);
 		this.ioExecutor = Preconditions.checkNotNull(ioExecutor);
 		this.libraryCacheManager = Preconditions.checkNotNull(libraryCacheManager);
+		this.checkpointUploadThrottle = Preconditions.checkNotNull(checkpointUploadThrottle);
 	}
 
 	// --------------------------------------------------------------------------------------------
@@ -165,6 +171,10 @@ public class TaskManagerServices {
 		return libraryCacheManager;
 	}
 
+	public CheckpointUploadThrottle getCheckpointUploadThrottle() {
+		return checkpointUploadThrottle;
+	}
+
 	// --------------------------------------------------------------------------------------------
 	//  Shut down method
 	// --------------------------------------------------------------------------------------------
@@ -324,6 +334,14 @@ public class TaskManagerServices {
 				failOnJvmMetaspaceOomError ? fatalErrorHandler : null,
 				checkClassLoaderLeak));
 
+		// the checkpoint streams of all tasks of this TaskManager share its bandwidth
+		final CheckpointUploadThrottle checkpointUploadThrottle = new CheckpointUploadThrottle();
+		checkpointUploadThrottle.setMaxBandwidth(taskManagerServicesConfiguration.getConfiguration()
+			.getOptional(TaskManagerOptions.CHECKPOINT_UPLOAD_MAX_BANDWIDTH)
+			.map(MemorySize::getBytes)
+			.orElse(-1L));
+		checkpointUploadThrottle.registerMetrics(taskManagerMetricGroup.addGroup("CheckpointUpload"));
+
 		return new TaskManagerServices(
 			unresolvedTaskManagerLocation,
 			taskManagerServicesConfiguration.getManagedMemorySize().getBytes(),
@@ -337,7 +355,8 @@ public class TaskManagerServices {
 			taskStateManager,
 			taskEventDispatcher,
 			ioExecutor,
-			libraryCacheManager);
+			libraryCacheManager,
+			checkpointUploadThrottle);
 	}
 
 	private static TaskSlotTable<Task> createTaskSlotTable(
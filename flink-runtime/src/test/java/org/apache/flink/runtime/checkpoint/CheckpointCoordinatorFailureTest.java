@@ -45,7 +45,9 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -68,6 +70,8 @@ public class CheckpointCoordinatorFailureTest extends TestLogger {
 
 		final ExecutionAttemptID executionAttemptId = new ExecutionAttemptID();
 		final ExecutionVertex vertex = CheckpointCoordinatorTestingUtils.mockExecutionVertex(executionAttemptId);
+		final CheckpointFailureManager failureManager =
+			spy(new CheckpointFailureManager(0, NoOpFailJobCall.INSTANCE));
 
 		// set up the coordinator and validate the initial state
 		CheckpointCoordinator coord =
@@ -76,6 +80,7 @@ public class CheckpointCoordinatorFailureTest extends TestLogger {
 				.setTasks(new ExecutionVertex[] { vertex })
 				.setCompletedCheckpointStore(new FailingCompletedCheckpointStore())
 				.setTimer(manuallyTriggeredScheduledExecutor)
+				.setFailureManager(failureManager)
 				.build();
 
 		coord.triggerCheckpoint(false);
@@ -123,6 +128,9 @@ public class CheckpointCoordinatorFailureTest extends TestLogger {
 		// make sure that the pending checkpoint has been discarded after we could not complete it
 		assertTrue(pendingCheckpoint.isDisposed());
 
+		// a checkpoint that could not be stored must not reset the checkpoint failure counter
+		verify(failureManager, never()).handleCheckpointSuccess(anyLong());
+
 		// make sure that the subtask state has been discarded after we could not complete it.
 		verify(operatorSubtaskState).discardState();
 		verify(operatorSubtaskState.getManagedOperatorState().iterator().next()).discardState();
@@ -675,6 +675,160 @@ public class CheckpointCoordinatorTest extends TestLogger {
 		}
 	}
 
+	@Test
+	public void testFullyAcknowledgedCheckpointIsCompletedAsynchronously() throws Exception {
+		final JobID jobId = new JobID();
+		final ExecutionAttemptID attemptID1 = new ExecutionAttemptID();
+		final ExecutionAttemptID attemptID2 = new ExecutionAttemptID();
+		final ExecutionVertex vertex1 = mockExecutionVertex(attemptID1);
+		final ExecutionVertex vertex2 = mockExecutionVertex(attemptID2);
+		final ManuallyTriggeredScheduledExecutor ioExecutor = new ManuallyTriggeredScheduledExecutor();
+
+		final CheckpointCoordinator checkpointCoordinator = new CheckpointCoordinatorBuilder()
+			.setJobId(jobId)
+			.setTasks(new ExecutionVertex[]{ vertex1, vertex2 })
+			.setIoExecutor(ioExecutor)
+			.setTimer(manuallyTriggeredScheduledExecutor)
+			.build();
+
+		checkpointCoordinator.triggerCheckpoint(false);
+		ioExecutor.triggerAll();
+		manuallyTriggeredScheduledExecutor.triggerAll();
+
+		final long checkpointId = checkpointCoordinator.getPendingCheckpoints().keySet().iterator().next();
+		final PendingCheckpoint checkpoint = checkpointCoordinator.getPendingCheckpoints().get(checkpointId);
+
+		checkpointCoordinator.receiveAcknowledgeMessage(
+			new AcknowledgeCheckpoint(jobId, attemptID1, checkpointId), TASK_MANAGER_LOCATION_INFO);
+		checkpointCoordinator.receiveAcknowledgeMessage(
+			new AcknowledgeCheckpoint(jobId, attemptID2, checkpointId), TASK_MANAGER_LOCATION_INFO);
+
+		// the checkpoint is fully acknowledged, but completed by the io executor
+		assertTrue(checkpoint.areTasksFullyAcknowledged());
+		assertFalse(checkpoint.isDisposed());
+		assertEquals(1, checkpointCoordinator.getNumberOfPendingCheckpoints());
+		assertEquals(0, checkpointCoordinator.getNumberOfRetainedSuccessfulCheckpoints());
+
+		// a completing checkpoint cannot be aborted any more
+		checkpointCoordinator.abortPendingCheckpoints(new CheckpointException(CHECKPOINT_EXPIRED));
+		assertFalse(checkpoint.isDisposed());
+		assertEquals(1, checkpointCoordinator.getNumberOfPendingCheckpoints());
+
+		ioExecutor.triggerAll();
+
+		assertTrue(checkpoint.isDisposed());
+		assertEquals(0, checkpointCoordinator.getNumberOfPendingCheckpoints());
+		assertEquals(1, checkpointCoordinator.getNumberOfRetainedSuccessfulCheckpoints());
+		assertEquals(checkpointId, checkpointCoordinator.getSuccessfulCheckpoints().get(0).getCheckpointID());
+		verify(vertex1.getCurrentExecutionAttempt(), times(1)).notifyCheckpointComplete(eq(checkpointId), any(Long.class));
+		verify(vertex2.getCurrentExecutionAttempt(), times(1)).notifyCheckpointComplete(eq(checkpointId), any(Long.class));
+
+		checkpointCoordinator.shutdown(JobStatus.FINISHED);
+	}
+
+	@Test
+	public void testCheckpointCompletingDuringRestoreIsDiscarded() throws Exception {
+		final JobID jobId = new JobID();
+		final ExecutionAttemptID attemptID1 = new ExecutionAttemptID();
+		final ExecutionAttemptID attemptID2 = new ExecutionAttemptID();
+		final ExecutionVertex vertex1 = mockExecutionVertex(attemptID1);
+		final ExecutionVertex vertex2 = mockExecutionVertex(attemptID2);
+		final ManuallyTriggeredScheduledExecutor ioExecutor = new ManuallyTriggeredScheduledExecutor();
+
+		final CheckpointCoordinator checkpointCoordinator = new CheckpointCoordinatorBuilder()
+			.setJobId(jobId)
+			.setTasks(new ExecutionVertex[]{ vertex1, vertex2 })
+			.setIoExecutor(ioExecutor)
+			.setTimer(manuallyTriggeredScheduledExecutor)
+			.build();
+
+		// the first checkpoint is completed regularly
+		final long firstCheckpointId = triggerAndAcknowledgeCheckpoint(
+			checkpointCoordinator, ioExecutor, jobId, attemptID1, attemptID2);
+		ioExecutor.triggerAll();
+		assertEquals(1, checkpointCoordinator.getNumberOfRetainedSuccessfulCheckpoints());
+
+		// the second checkpoint is fully acknowledged, but the job is restored before it is completed
+		final long secondCheckpointId = triggerAndAcknowledgeCheckpoint(
+			checkpointCoordinator, ioExecutor, jobId, attemptID1, attemptID2);
+		final PendingCheckpoint secondCheckpoint = checkpointCoordinator.getPendingCheckpoints().get(secondCheckpointId);
+		assertTrue(secondCheckpoint.areTasksFullyAcknowledged());
+
+		assertTrue(checkpointCoordinator.restoreLatestCheckpointedStateToAll(Collections.emptySet(), true));
+
+		ioExecutor.triggerAll();
+
+		// the restore picked the first checkpoint, so the second one must not show up after the restore
+		assertTrue(secondCheckpoint.isDisposed());
+		assertEquals(0, checkpointCoordinator.getNumberOfPendingCheckpoints());
+		assertEquals(1, checkpointCoordinator.getNumberOfRetainedSuccessfulCheckpoints());
+		assertEquals(firstCheckpointId, checkpointCoordinator.getSuccessfulCheckpoints().get(0).getCheckpointID());
+		verify(vertex1.getCurrentExecutionAttempt(), never()).notifyCheckpointComplete(eq(secondCheckpointId), any(Long.class));
+		verify(vertex2.getCurrentExecutionAttempt(), never()).notifyCheckpointComplete(eq(secondCheckpointId), any(Long.class));
+
+		checkpointCoordinator.shutdown(JobStatus.FINISHED);
+	}
+
+	private long triggerAndAcknowledgeCheckpoint(
+			CheckpointCoordinator checkpointCoordinator,
+			ManuallyTriggeredScheduledExecutor ioExecutor,
+			JobID jobId,
+			ExecutionAttemptID... attemptIDs) throws Exception {
+
+		checkpointCoordinator.triggerCheckpoint(false);
+		ioExecutor.triggerAll();
+		manuallyTriggeredScheduledExecutor.triggerAll();
+
+		final long checkpointId = Collections.max(checkpointCoordinator.getPendingCheckpoints().keySet());
+		for (ExecutionAttemptID attemptID : attemptIDs) {
+			checkpointCoordinator.receiveAcknowledgeMessage(
+				new AcknowledgeCheckpoint(jobId, attemptID, checkpointId), TASK_MANAGER_LOCATION_INFO);
+		}
+		return checkpointId;
+	}
+
+	@Test
+	public void testQueuedAcknowledgeMessagesAreProcessedInBatch() throws Exception {
+		final JobID jobId = new JobID();
+		final ExecutionAttemptID attemptID1 = new ExecutionAttemptID();
+		final ExecutionAttemptID attemptID2 = new ExecutionAttemptID();
+		final ExecutionVertex vertex1 = mockExecutionVertex(attemptID1);
+		final ExecutionVertex vertex2 = mockExecutionVertex(attemptID2);
+		final ManuallyTriggeredScheduledExecutor ioExecutor = new ManuallyTriggeredScheduledExecutor();
+
+		final CheckpointCoordinator checkpointCoordinator = new CheckpointCoordinatorBuilder()
+			.setJobId(jobId)
+			.setTasks(new ExecutionVertex[]{ vertex1, vertex2 })
+			.setIoExecutor(ioExecutor)
+			.setTimer(manuallyTriggeredScheduledExecutor)
+			.build();
+
+		checkpointCoordinator.triggerCheckpoint(false);
+		ioExecutor.triggerAll();
+		manuallyTriggeredScheduledExecutor.triggerAll();
+
+		final long checkpointId = checkpointCoordinator.getPendingCheckpoints().keySet().iterator().next();
+		final PendingCheckpoint checkpoint = checkpointCoordinator.getPendingCheckpoints().get(checkpointId);
+
+		checkpointCoordinator.queueAcknowledgeMessage(
+			new AcknowledgeCheckpoint(jobId, attemptID1, checkpointId), TASK_MANAGER_LOCATION_INFO);
+		checkpointCoordinator.queueAcknowledgeMessage(
+			new AcknowledgeCheckpoint(jobId, attemptID2, checkpointId), TASK_MANAGER_LOCATION_INFO);
+
+		// both messages are processed by a single task
+		assertEquals(1, ioExecutor.numQueuedRunnables());
+		assertEquals(0, checkpoint.getNumberOfAcknowledgedTasks());
+
+		ioExecutor.trigger();
+		assertTrue(checkpoint.areTasksFullyAcknowledged());
+
+		ioExecutor.triggerAll();
+		assertTrue(checkpoint.isDisposed());
+		assertEquals(1, checkpointCoordinator.getNumberOfRetainedSuccessfulCheckpoints());
+
+		checkpointCoordinator.shutdown(JobStatus.FINISHED);
+	}
+
 	@Test
 	public void testMultipleConcurrentCheckpoints() {
 		try {
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.checkpoint;
+
+import org.apache.flink.runtime.OperatorIDPair;
+import org.apache.flink.runtime.executiongraph.ExecutionGraphTestUtils;
+import org.apache.flink.runtime.executiongraph.ExecutionJobVertex;
+import org.apache.flink.runtime.jobgraph.JobVertex;
+import org.apache.flink.runtime.jobgraph.JobVertexID;
+import org.apache.flink.runtime.jobgraph.OperatorID;
+import org.apache.flink.runtime.state.KeyGroupRange;
+import org.apache.flink.runtime.state.OperatorStateHandle;
+import org.apache.flink.runtime.state.OperatorStreamStateHandle;
+import org.apache.flink.runtime.state.memory.ByteStreamStateHandle;
+import org.apache.flink.runtime.testtasks.NoOpInvokable;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.singletonList;
+import static org.apache.flink.runtime.checkpoint.StateHandleDummyUtil.createNewKeyedStateHandle;
+
+/**
+ * Benchmark for the {@link StateAssignmentOperation} when rescaling a job with a large parallelism, executed by
+ * the external <a href="https://github.com/dataArtisans/flink-benchmarks">flink-benchmarks</a> project.
+ *
+ * <p>Every job vertex has one operator, whose subtasks each hold union list state, split list state and keyed
+ * state.
+ */
+public class StateAssignmentOperationBenchmark {
+
+	private Set<ExecutionJobVertex> vertices;
+
+	private Map<OperatorID, OperatorState> operatorStates;
+
+	private ExecutorService executor;
+
+	/**
+	 * Initializes the benchmark.
+	 *
+	 * @param numVertices number of job vertices of the job
+	 * @param oldParallelism parallelism with which the states were taken
+	 * @param newParallelism parallelism to which the job is rescaled
+	 * @param maxParallelism max parallelism of the job vertices
+	 * @param numThreads number of threads that compute the state assignment
+	 */
+	public void setUp(
+			int numVertices,
+			int oldParallelism,
+			int newParallelism,
+			int maxParallelism,
+			int numThreads) throws Exception {
+
+		vertices = new HashSet<>(numVertices);
+		operatorStates = new HashMap<>(numVertices);
+		executor = Executors.newFixedThreadPool(numThreads);
+
+		for (int i = 0; i < numVertices; i++) {
+			OperatorID operatorID = new OperatorID();
+
+			JobVertex jobVertex = new JobVertex(
+				operatorID.toHexString(),
+				new JobVertexID(),
+				singletonList(OperatorIDPair.generatedIDOnly(operatorID)));
+			jobVertex.setInvokableClass(NoOpInvokable.class);
+			jobVertex.setParallelism(newParallelism);
+			jobVertex.setMaxParallelism(maxParallelism);
+			vertices.add(ExecutionGraphTestUtils.getExecutionJobVertex(jobVertex));
+
+			operatorStates.put(operatorID, createOperatorState(operatorID, oldParallelism, maxParallelism));
+		}
+	}
+
+	/**
+	 * Assigns the states to all job vertices.
+	 */
+	public void executeBenchmark() {
+		new StateAssignmentOperation(0L, vertices, operatorStates, false, executor).assignStates();
+	}
+
+	public void tearDown() throws Exception {
+		executor.shutdownNow();
+		executor.awaitTermination(10L, TimeUnit.SECONDS);
+	}
+
+	Set<ExecutionJobVertex> getVertices() {
+		return vertices;
+	}
+
+	private static OperatorState createOperatorState(OperatorID operatorID, int parallelism, int maxParallelism) {
+		OperatorState operatorState = new OperatorState(operatorID, parallelism, maxParallelism);
+		List<KeyGroupRange> keyGroupRanges = StateAssignmentOperation.createKeyGroupPartitions(maxParallelism, parallelism);
+
+		for (int subtaskIndex = 0; subtaskIndex < parallelism; subtaskIndex++) {
+			Map<String, OperatorStateHandle.StateMetaInfo> metaInfos = new HashMap<>(2);
+			metaInfos.put("union", new OperatorStateHandle.StateMetaInfo(
+				new long[]{0, 8, 16, 24}, OperatorStateHandle.Mode.UNION));
+			metaInfos.put("split", new OperatorStateHandle.StateMetaInfo(
+				new long[]{32, 40, 48, 56}, OperatorStateHandle.Mode.SPLIT_DISTRIBUTE));
+			OperatorStateHandle operatorStateHandle = new OperatorStreamStateHandle(
+				metaInfos,
+				new ByteStreamStateHandle(operatorID + "-" + subtaskIndex, new byte[64]));
+
+			operatorState.putState(subtaskIndex, new OperatorSubtaskState(
+				StateObjectCollection.singleton(operatorStateHandle),
+				StateObjectCollection.empty(),
+				StateObjectCollection.singleton(createNewKeyedStateHandle(keyGroupRanges.get(subtaskIndex))),
+				StateObjectCollection.empty()));
+		}
+		return operatorState;
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.checkpoint;
+
+import org.apache.flink.runtime.executiongraph.ExecutionJobVertex;
+import org.apache.flink.runtime.executiongraph.ExecutionVertex;
+import org.apache.flink.runtime.state.OperatorStateHandle;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Tests for the {@link StateAssignmentOperationBenchmark}.
+ */
+public class StateAssignmentOperationBenchmarkTest extends TestLogger {
+
+	@Test
+	public void testRescaleUp() throws Exception {
+		runBenchmark(20, 30);
+	}
+
+	@Test
+	public void testRescaleDown() throws Exception {
+		runBenchmark(30, 20);
+	}
+
+	@Test
+	public void testNoRescale() throws Exception {
+		runBenchmark(20, 20);
+	}
+
+	private static void runBenchmark(int oldParallelism, int newParallelism) throws Exception {
+		StateAssignmentOperationBenchmark benchmark = new StateAssignmentOperationBenchmark();
+		benchmark.setUp(8, oldParallelism, newParallelism, 128, 4);
+		try {
+			benchmark.executeBenchmark();
+
+			for (ExecutionJobVertex vertex : benchmark.getVertices()) {
+				assertEquals(newParallelism, vertex.getTaskVertices().length);
+				for (ExecutionVertex executionVertex : vertex.getTaskVertices()) {
+					JobManagerTaskRestore taskRestore = executionVertex.getCurrentExecutionAttempt().getTaskRestore();
+					assertNotNull(taskRestore);
+
+					OperatorSubtaskState subtaskState = taskRestore.getTaskStateSnapshot()
+						.getSubtaskStateByOperatorID(vertex.getOperatorIDs().get(0).getGeneratedOperatorID());
+					assertFalse(subtaskState.getManagedKeyedState().isEmpty());
+
+					// every subtask receives the union state of all previous subtasks
+					int numUnionStates = 0;
+					for (OperatorStateHandle handle : subtaskState.getManagedOperatorState()) {
+						if (handle.getStateNameToPartitionOffsets().containsKey("union")) {
+							numUnionStates++;
+						}
+					}
+					assertEquals(oldParallelism, numUnionStates);
+				}
+			}
+		} finally {
+			benchmark.tearDown();
+		}
+	}
+}
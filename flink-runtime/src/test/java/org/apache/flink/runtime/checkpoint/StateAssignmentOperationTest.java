@@ -37,6 +37,7 @@ import org.apache.flink.util.TestLogger;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
@@ -45,6 +46,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -117,6 +121,77 @@ public class StateAssignmentOperationTest extends TestLogger {
 		verifyOneKindPartitionableStateRescale(operatorState, operatorID);
 	}
 
+	@Test
+	public void testUnionStateHandlesAreSharedOnRescale() {
+		int oldParallelism = 3;
+		int newParallelism = 5;
+
+		List<List<OperatorStateHandle>> previousStates = new ArrayList<>(oldParallelism);
+		for (int i = 0; i < oldParallelism; i++) {
+			Map<String, OperatorStateHandle.StateMetaInfo> metaInfoMap = new HashMap<>(1);
+			metaInfoMap.put("union", new OperatorStateHandle.StateMetaInfo(new long[]{0, 10}, OperatorStateHandle.Mode.UNION));
+			previousStates.add(singletonList(
+				new OperatorStreamStateHandle(metaInfoMap, new ByteStreamStateHandle("test" + i, new byte[20]))));
+		}
+
+		List<List<OperatorStateHandle>> newStates = RoundRobinOperatorStateRepartitioner.INSTANCE.repartitionState(
+			previousStates, oldParallelism, newParallelism);
+
+		Assert.assertEquals(newParallelism, newStates.size());
+		for (List<OperatorStateHandle> subtaskStates : newStates) {
+			Assert.assertEquals(oldParallelism, subtaskStates.size());
+			// all subtasks reference the same handles instead of copies
+			for (OperatorStateHandle handle : subtaskStates) {
+				Assert.assertTrue(newStates.get(0).stream().anyMatch(sharedHandle -> sharedHandle == handle));
+			}
+		}
+	}
+
+	@Test
+	public void testParallelStateAssignment() throws Exception {
+		int numOperators = 10;
+		int numSubTasks = 20;
+
+		Set<OperatorID> operatorIds = buildOperatorIds(numOperators);
+		Map<OperatorID, OperatorState> states = buildOperatorStates(operatorIds, numSubTasks);
+		Map<OperatorID, ExecutionJobVertex> vertices = buildVertices(operatorIds, numSubTasks);
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			new StateAssignmentOperation(0, new HashSet<>(vertices.values()), states, false, executor).assignStates();
+		} finally {
+			executor.shutdownNow();
+		}
+
+		for (OperatorID operatorId : operatorIds) {
+			for (int subtaskIdx = 0; subtaskIdx < numSubTasks; subtaskIdx++) {
+				Assert.assertEquals(
+					states.get(operatorId).getState(subtaskIdx),
+					getAssignedState(vertices.get(operatorId), operatorId, subtaskIdx));
+			}
+		}
+	}
+
+	@Test
+	public void testStateAssignmentWithRejectingExecutor() throws Exception {
+		Set<OperatorID> operatorIds = buildOperatorIds(3);
+		Map<OperatorID, OperatorState> states = buildOperatorStates(operatorIds, 2);
+		Map<OperatorID, ExecutionJobVertex> vertices = buildVertices(operatorIds, 2);
+
+		new StateAssignmentOperation(
+			0,
+			new HashSet<>(vertices.values()),
+			states,
+			false,
+			command -> {
+				throw new RejectedExecutionException();
+			}).assignStates();
+
+		for (OperatorID operatorId : operatorIds) {
+			Assert.assertEquals(states.get(operatorId).getState(1), getAssignedState(vertices.get(operatorId), operatorId, 1));
+		}
+	}
+
 	/**
 	 * Verify repartition logic on partitionable states with all modes.
 	 */
@@ -19,13 +19,18 @@ package org.apache.flink.runtime.checkpoint.channel;
 
 import org.apache.flink.core.memory.HeapMemorySegment;
 import org.apache.flink.core.memory.MemorySegment;
+import org.apache.flink.runtime.checkpoint.StateObjectCollection;
 import org.apache.flink.runtime.checkpoint.channel.ChannelStateWriter.ChannelStateWriteResult;
 import org.apache.flink.runtime.io.network.buffer.Buffer;
 import org.apache.flink.runtime.io.network.buffer.FreeingBufferRecycler;
 import org.apache.flink.runtime.io.network.buffer.NetworkBuffer;
 import org.apache.flink.runtime.state.CheckpointStreamFactory.CheckpointStateOutputStream;
+import org.apache.flink.runtime.state.CheckpointStreamWithResultProvider;
 import org.apache.flink.runtime.state.InputChannelStateHandle;
+import org.apache.flink.runtime.state.SnapshotResult;
 import org.apache.flink.runtime.state.StreamStateHandle;
+import org.apache.flink.runtime.state.filesystem.FileBasedStateOutputStream;
+import org.apache.flink.runtime.state.filesystem.FileStateHandle;
 import org.apache.flink.runtime.state.filesystem.FsCheckpointStreamFactory;
 import org.apache.flink.runtime.state.memory.MemCheckpointStreamFactory.MemoryCheckpointOutputStream;
 import org.apache.flink.util.function.RunnableWithException;
@@ -50,6 +55,8 @@ import static org.apache.flink.core.memory.MemorySegmentFactory.wrap;
 import static org.apache.flink.runtime.state.CheckpointedStateScope.EXCLUSIVE;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -156,7 +163,7 @@ public class ChannelStateCheckpointWriterTest {
 			new ChannelStateWriteResult(),
 			new ChannelStateSerializerImpl(),
 			NO_OP_RUNNABLE,
-			new MemoryCheckpointOutputStream(42),
+			new CheckpointStreamWithResultProvider.PrimaryStreamOnly(new MemoryCheckpointOutputStream(42)),
 			dataStream
 		);
 
@@ -203,6 +210,44 @@ public class ChannelStateCheckpointWriterTest {
 		assertTrue(offsetCounts.isEmpty());
 	}
 
+	@Test
+	public void testTaskLocalCopy() throws Exception {
+		File localFile = new File(temporaryFolder.newFolder("localState"), "channelState");
+		ChannelStateWriteResult result = new ChannelStateWriteResult();
+		ChannelStateCheckpointWriter writer = new ChannelStateCheckpointWriter(
+			1L,
+			result,
+			new CheckpointStreamWithResultProvider.PrimaryAndSecondaryStream(
+				new MemoryCheckpointOutputStream(1000),
+				new FileBasedStateOutputStream(getSharedInstance(), fromLocalFile(localFile))),
+			new ChannelStateSerializerImpl(),
+			NO_OP_RUNNABLE);
+
+		Map<InputChannelInfo, Integer> writeCounts = new HashMap<>();
+		writeCounts.put(new InputChannelInfo(0, 1), 1);
+		writeCounts.put(new InputChannelInfo(0, 2), 3);
+		int numBytes = 10;
+		for (Map.Entry<InputChannelInfo, Integer> e : writeCounts.entrySet()) {
+			for (int i = 0; i < e.getValue(); i++) {
+				write(writer, e.getKey(), getData(numBytes));
+			}
+		}
+		writer.completeInput();
+		writer.completeOutput();
+
+		SnapshotResult<StateObjectCollection<InputChannelStateHandle>> snapshot = result.getInputChannelStateSnapshot().get();
+		StateObjectCollection<InputChannelStateHandle> local = snapshot.getTaskLocalSnapshot();
+		assertNotNull(local);
+		assertEquals(snapshot.getJobManagerOwnedSnapshot().size(), local.size());
+		for (InputChannelStateHandle handle : local) {
+			assertTrue(handle.getDelegate() instanceof FileStateHandle);
+			assertEquals(writeCounts.remove(handle.getInfo()).intValue(), handle.getOffsets().size());
+		}
+		assertTrue(writeCounts.isEmpty());
+		assertEquals(Integer.BYTES + 4 * (Integer.BYTES + numBytes), localFile.length());
+		assertNull(result.getResultSubpartitionStateSnapshot().get().getTaskLocalSnapshot());
+	}
+
 	private byte[] getData(int len) {
 		byte[] bytes = new byte[len];
 		random.nextBytes(bytes);
@@ -0,0 +1,290 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.checkpoint.metadata;
+
+import org.apache.flink.core.fs.FileSystem;
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.runtime.OperatorIDPair;
+import org.apache.flink.runtime.checkpoint.MasterState;
+import org.apache.flink.runtime.checkpoint.OperatorState;
+import org.apache.flink.runtime.checkpoint.OperatorSubtaskState;
+import org.apache.flink.runtime.checkpoint.StateAssignmentOperation;
+import org.apache.flink.runtime.checkpoint.StateObjectCollection;
+import org.apache.flink.runtime.executiongraph.ExecutionGraphTestUtils;
+import org.apache.flink.runtime.executiongraph.ExecutionJobVertex;
+import org.apache.flink.runtime.jobgraph.JobVertex;
+import org.apache.flink.runtime.jobgraph.JobVertexID;
+import org.apache.flink.runtime.jobgraph.OperatorID;
+import org.apache.flink.runtime.state.IncrementalRemoteKeyedStateHandle;
+import org.apache.flink.runtime.state.KeyGroupRange;
+import org.apache.flink.runtime.state.KeyedStateHandle;
+import org.apache.flink.runtime.state.SharedStateRegistry;
+import org.apache.flink.runtime.state.StateHandleID;
+import org.apache.flink.runtime.state.StreamStateHandle;
+import org.apache.flink.runtime.state.filesystem.FileStateHandle;
+import org.apache.flink.runtime.testtasks.NoOpInvokable;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.annotation.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Various tests for the version 4 format serializer of a checkpoint.
+ */
+public class MetadataV4SerializerTest {
+
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void testCheckpointWithMasterAndTaskStateForCheckpoint() throws Exception {
+		testCheckpointWithMasterAndTaskState(null);
+	}
+
+	@Test
+	public void testCheckpointWithMasterAndTaskStateForSavepoint() throws Exception {
+		testCheckpointWithMasterAndTaskState(temporaryFolder.newFolder().toURI().toString());
+	}
+
+	@Test
+	public void testSubtaskStatesAreLoadedLazily() throws Exception {
+		final OperatorState operatorState = createIncrementalOperatorState(new OperatorID(), 4, 8);
+
+		final CheckpointMetadata deserialized = serializeAndDeserialize(
+			new CheckpointMetadata(1L, Collections.singletonList(operatorState), Collections.emptyList()), null);
+
+		final OperatorState deserializedState = deserialized.getOperatorStates().iterator().next();
+		assertFalse(deserializedState.isLoaded());
+		assertEquals(operatorState.getOperatorID(), deserializedState.getOperatorID());
+		assertEquals(operatorState.getParallelism(), deserializedState.getParallelism());
+		assertFalse(deserializedState.isLoaded());
+
+		assertEquals(operatorState.getSubtaskStates(), deserializedState.getSubtaskStates());
+		assertTrue(deserializedState.isLoaded());
+	}
+
+	/**
+	 * Registering the states of a restored checkpoint does not load them. The states of an operator are only
+	 * loaded, and their shared states registered, when they are assigned to the tasks of its job vertex.
+	 */
+	@Test
+	public void testSubtaskStatesAreLoadedWhenAssigned() throws Exception {
+		final OperatorID assignedOperatorId = new OperatorID();
+		final OperatorID droppedOperatorId = new OperatorID();
+
+		final CheckpointMetadata deserialized = serializeAndDeserialize(
+			new CheckpointMetadata(
+				1L,
+				Arrays.asList(
+					createIncrementalOperatorState(assignedOperatorId, 2, 4),
+					createIncrementalOperatorState(droppedOperatorId, 2, 4)),
+				Collections.emptyList()),
+			null);
+
+		final Map<OperatorID, OperatorState> operatorStates = new HashMap<>();
+		for (OperatorState operatorState : deserialized.getOperatorStates()) {
+			operatorStates.put(operatorState.getOperatorID(), operatorState);
+		}
+		final OperatorState assignedState = operatorStates.get(assignedOperatorId);
+		final OperatorState droppedState = operatorStates.get(droppedOperatorId);
+
+		final SharedStateRegistry sharedStateRegistry = new SharedStateRegistry();
+		sharedStateRegistry.registerAll(operatorStates.values());
+		assertFalse(assignedState.isLoaded());
+		assertFalse(droppedState.isLoaded());
+
+		// checking for state that would not be restored does not load the states either
+		assertTrue(droppedState.hasSubtaskState());
+		assertFalse(droppedState.isLoaded());
+
+		final JobVertex jobVertex = new JobVertex(
+			"assigned",
+			new JobVertexID(),
+			Collections.singletonList(OperatorIDPair.generatedIDOnly(assignedOperatorId)));
+		jobVertex.setInvokableClass(NoOpInvokable.class);
+		jobVertex.setParallelism(2);
+		final ExecutionJobVertex executionJobVertex = ExecutionGraphTestUtils.getExecutionJobVertex(jobVertex);
+
+		new StateAssignmentOperation(1L, Collections.singleton(executionJobVertex), operatorStates, true).assignStates();
+
+		assertTrue(assignedState.isLoaded());
+		assertFalse(droppedState.isLoaded());
+		for (OperatorSubtaskState subtaskState : assignedState.getStates()) {
+			for (KeyedStateHandle keyedStateHandle : subtaskState.getManagedKeyedState()) {
+				assertSame(
+					sharedStateRegistry,
+					((IncrementalRemoteKeyedStateHandle) keyedStateHandle).getSharedStateRegistry());
+			}
+		}
+	}
+
+	@Test
+	public void testMetadataIsSmallerThanVersion3() throws Exception {
+		final CheckpointMetadata metadata = new CheckpointMetadata(
+			1L,
+			Collections.singletonList(createIncrementalOperatorState(new OperatorID(), 100, 20)),
+			Collections.emptyList());
+
+		final ByteArrayOutputStream v3Bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(v3Bytes)) {
+			MetadataV3Serializer.serialize(metadata, out);
+		}
+		final ByteArrayOutputStream v4Bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(v4Bytes)) {
+			MetadataV4Serializer.serialize(metadata, out);
+		}
+
+		assertThat(v4Bytes.size(), lessThan(v3Bytes.size() / 2));
+	}
+
+	@Test
+	public void testDeduplicatedStrings() throws Exception {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DeduplicatingDataOutputStream out = new DeduplicatingDataOutputStream(bytes)) {
+			for (int i = 0; i < 200; i++) {
+				MetadataV2V3SerializerBase.writeString("string-" + (i % 150), out);
+				MetadataV2V3SerializerBase.writePath("hdfs:///checkpoints/" + (i % 3) + "/file-" + i, out);
+			}
+		}
+
+		try (DeduplicatingDataInputStream in = new DeduplicatingDataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			for (int i = 0; i < 200; i++) {
+				assertEquals("string-" + (i % 150), MetadataV2V3SerializerBase.readString(in));
+				assertEquals("hdfs:///checkpoints/" + (i % 3) + "/file-" + i, MetadataV2V3SerializerBase.readPath(in));
+			}
+			assertEquals(-1, in.read());
+		}
+
+		// all occurrences of a string share the same instance
+		try (DeduplicatingDataInputStream in = new DeduplicatingDataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			final String first = MetadataV2V3SerializerBase.readString(in);
+			for (int i = 1; i < 150; i++) {
+				MetadataV2V3SerializerBase.readPath(in);
+				MetadataV2V3SerializerBase.readString(in);
+			}
+			MetadataV2V3SerializerBase.readPath(in);
+			assertSame(first, MetadataV2V3SerializerBase.readString(in));
+		}
+	}
+
+	// ------------------------------------------------------------------------
+
+	private void testCheckpointWithMasterAndTaskState(@Nullable String basePath) throws Exception {
+		final Random rnd = new Random();
+
+		for (int i = 0; i < 50; ++i) {
+			final long checkpointId = rnd.nextLong() & 0x7fffffffffffffffL;
+
+			final Collection<OperatorState> taskStates =
+				CheckpointTestUtils.createOperatorStates(rnd, basePath, rnd.nextInt(20) + 1, rnd.nextInt(20) + 1);
+			final Collection<MasterState> masterStates =
+				CheckpointTestUtils.createRandomMasterStates(rnd, rnd.nextInt(5) + 1);
+
+			final CheckpointMetadata deserialized = serializeAndDeserialize(
+				new CheckpointMetadata(checkpointId, taskStates, masterStates), basePath);
+
+			assertEquals(checkpointId, deserialized.getCheckpointId());
+			assertEquals(taskStates, deserialized.getOperatorStates());
+
+			assertEquals(masterStates.size(), deserialized.getMasterStates().size());
+			for (Iterator<MasterState> a = masterStates.iterator(), b = deserialized.getMasterStates().iterator();
+					a.hasNext();) {
+				CheckpointTestUtils.assertMasterStateEquality(a.next(), b.next());
+			}
+		}
+	}
+
+	private CheckpointMetadata serializeAndDeserialize(
+			CheckpointMetadata metadata,
+			@Nullable String basePath) throws IOException {
+
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			MetadataV4Serializer.serialize(metadata, out);
+		}
+
+		// relative paths are resolved against the directory of the metadata file, which must exist
+		if (basePath != null) {
+			FileSystem.getLocalFileSystem().create(new Path(basePath, "_metadata"), FileSystem.WriteMode.OVERWRITE).close();
+		}
+
+		final DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+		return MetadataV4Serializer.INSTANCE.deserialize(in, getClass().getClassLoader(), basePath);
+	}
+
+	/**
+	 * Creates the state of an operator with incremental keyed state, which references many files in few
+	 * directories.
+	 */
+	private static OperatorState createIncrementalOperatorState(OperatorID operatorId, int parallelism, int numFiles) {
+		final String checkpointDir = "hdfs://namenode:8020/flink/checkpoints/" + UUID.randomUUID();
+		final OperatorState operatorState = new OperatorState(operatorId, parallelism, parallelism * 2);
+
+		for (int subtask = 0; subtask < parallelism; subtask++) {
+			final Map<StateHandleID, StreamStateHandle> sharedState = new HashMap<>();
+			final Map<StateHandleID, StreamStateHandle> privateState = new HashMap<>();
+			for (int file = 0; file < numFiles; file++) {
+				sharedState.put(
+					new StateHandleID(String.format("%06d.sst", file)),
+					new FileStateHandle(new Path(checkpointDir + "/shared/" + UUID.randomUUID()), 1024L));
+			}
+			privateState.put(
+				new StateHandleID("MANIFEST-000001"),
+				new FileStateHandle(new Path(checkpointDir + "/chk-1/" + UUID.randomUUID()), 1024L));
+
+			final IncrementalRemoteKeyedStateHandle keyedStateHandle = new IncrementalRemoteKeyedStateHandle(
+				UUID.randomUUID(),
+				KeyGroupRange.of(subtask * 2, subtask * 2 + 1),
+				1L,
+				sharedState,
+				privateState,
+				new FileStateHandle(new Path(checkpointDir + "/chk-1/" + UUID.randomUUID()), 512L));
+
+			operatorState.putState(subtask, new OperatorSubtaskState(
+				StateObjectCollection.empty(),
+				StateObjectCollection.empty(),
+				StateObjectCollection.singleton(keyedStateHandle),
+				StateObjectCollection.empty()));
+		}
+		return operatorState;
+	}
+}
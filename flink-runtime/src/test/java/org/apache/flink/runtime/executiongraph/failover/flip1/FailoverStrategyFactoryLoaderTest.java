@@ -69,4 +69,21 @@ public class FailoverStrategyFactoryLoaderTest extends TestLogger {
 		config.setString(JobManagerOptions.EXECUTION_FAILOVER_STRATEGY, "invalidStrategy");
 		FailoverStrategyFactoryLoader.loadFailoverStrategyFactory(config);
 	}
+
+	@Test
+	public void testApproximateLocalRecoveryWithRegionStrategy() {
+		final Configuration config = new Configuration();
+		assertThat(
+			FailoverStrategyFactoryLoader.loadFailoverStrategyFactory(config, true),
+			instanceOf(RestartPipelinedRegionFailoverStrategy.Factory.class));
+	}
+
+	@Test(expected = IllegalConfigurationException.class)
+	public void testApproximateLocalRecoveryRejectsRestartAllStrategy() {
+		final Configuration config = new Configuration();
+		config.setString(
+			JobManagerOptions.EXECUTION_FAILOVER_STRATEGY,
+			FailoverStrategyFactoryLoader.FULL_RESTART_STRATEGY_NAME);
+		FailoverStrategyFactoryLoader.loadFailoverStrategyFactory(config, true);
+	}
 }
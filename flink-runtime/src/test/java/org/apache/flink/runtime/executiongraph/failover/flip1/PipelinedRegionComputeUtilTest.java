@@ -546,6 +546,46 @@ public class PipelinedRegionComputeUtilTest extends TestLogger {
 		assertSameRegion(r1, r2, r3, r4);
 	}
 
+	/**
+	 * Tests that reconnectable pipelined exchanges do not connect regions, so that every task of an
+	 * approximate local recovery job is a region of its own.
+	 * <pre>
+	 *     (a1) -+-> (b1) ---> (c1)
+	 *           X
+	 *     (a2) -+-> (b2) ---> (c2)
+	 * </pre>
+	 */
+	@Test
+	public void testReconnectableExchangesDoNotConnectRegions() {
+		TestingSchedulingTopology topology = new TestingSchedulingTopology();
+
+		TestingSchedulingExecutionVertex va1 = topology.newExecutionVertex();
+		TestingSchedulingExecutionVertex va2 = topology.newExecutionVertex();
+		TestingSchedulingExecutionVertex vb1 = topology.newExecutionVertex();
+		TestingSchedulingExecutionVertex vb2 = topology.newExecutionVertex();
+		TestingSchedulingExecutionVertex vc1 = topology.newExecutionVertex();
+		TestingSchedulingExecutionVertex vc2 = topology.newExecutionVertex();
+
+		topology
+			.connect(va1, vb1, ResultPartitionType.PIPELINED_APPROXIMATE)
+			.connect(va1, vb2, ResultPartitionType.PIPELINED_APPROXIMATE)
+			.connect(va2, vb1, ResultPartitionType.PIPELINED_APPROXIMATE)
+			.connect(va2, vb2, ResultPartitionType.PIPELINED_APPROXIMATE)
+			.connect(vb1, vc1, ResultPartitionType.PIPELINED_APPROXIMATE)
+			.connect(vb2, vc2, ResultPartitionType.PIPELINED_APPROXIMATE);
+
+		Map<ExecutionVertexID, Set<SchedulingExecutionVertex>> pipelinedRegionByVertex = computePipelinedRegionByVertex(topology);
+
+		Set<SchedulingExecutionVertex> ra1 = pipelinedRegionByVertex.get(va1.getId());
+		Set<SchedulingExecutionVertex> ra2 = pipelinedRegionByVertex.get(va2.getId());
+		Set<SchedulingExecutionVertex> rb1 = pipelinedRegionByVertex.get(vb1.getId());
+		Set<SchedulingExecutionVertex> rb2 = pipelinedRegionByVertex.get(vb2.getId());
+		Set<SchedulingExecutionVertex> rc1 = pipelinedRegionByVertex.get(vc1.getId());
+		Set<SchedulingExecutionVertex> rc2 = pipelinedRegionByVertex.get(vc2.getId());
+
+		assertDistinctRegions(ra1, ra2, rb1, rb2, rc1, rc2);
+	}
+
 	// ------------------------------------------------------------------------
 	//  utilities
 	// ------------------------------------------------------------------------
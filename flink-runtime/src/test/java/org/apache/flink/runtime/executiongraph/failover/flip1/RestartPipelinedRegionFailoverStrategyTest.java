@@ -287,6 +287,53 @@ public class RestartPipelinedRegionFailoverStrategyTest extends TestLogger {
 		verifyThatFailedExecution(strategy, v2).partitionConnectionCause(v1out).restarts();
 	}
 
+	/**
+	 * Tests that only the failed task is restarted if it is connected via reconnectable result partitions,
+	 * even if these partitions are not tracked and therefore reported as unavailable.
+	 * <pre>
+	 *     (v1) -+-> (v3) -+-> (v5)
+	 *           x         x
+	 *     (v2) -+-> (v4) -+-> (v6)
+	 *
+	 *           ^         ^
+	 *           |         |
+	 *    (pipelined approximate)
+	 * </pre>
+	 * Each vertex is in an individual region.
+	 */
+	@Test
+	public void testRegionFailoverForReconnectableResultPartitions() {
+		TestingSchedulingTopology topology = new TestingSchedulingTopology();
+
+		TestingSchedulingExecutionVertex v1 = topology.newExecutionVertex(ExecutionState.RUNNING);
+		TestingSchedulingExecutionVertex v2 = topology.newExecutionVertex(ExecutionState.RUNNING);
+		TestingSchedulingExecutionVertex v3 = topology.newExecutionVertex(ExecutionState.RUNNING);
+		TestingSchedulingExecutionVertex v4 = topology.newExecutionVertex(ExecutionState.RUNNING);
+		TestingSchedulingExecutionVertex v5 = topology.newExecutionVertex(ExecutionState.RUNNING);
+		TestingSchedulingExecutionVertex v6 = topology.newExecutionVertex(ExecutionState.RUNNING);
+
+		topology.connect(v1, v3, ResultPartitionType.PIPELINED_APPROXIMATE);
+		topology.connect(v1, v4, ResultPartitionType.PIPELINED_APPROXIMATE);
+		topology.connect(v2, v3, ResultPartitionType.PIPELINED_APPROXIMATE);
+		topology.connect(v2, v4, ResultPartitionType.PIPELINED_APPROXIMATE);
+		topology.connect(v3, v5, ResultPartitionType.PIPELINED_APPROXIMATE);
+		topology.connect(v3, v6, ResultPartitionType.PIPELINED_APPROXIMATE);
+		topology.connect(v4, v5, ResultPartitionType.PIPELINED_APPROXIMATE);
+		topology.connect(v4, v6, ResultPartitionType.PIPELINED_APPROXIMATE);
+
+		// pipelined partitions are not tracked, so they are reported as unavailable
+		RestartPipelinedRegionFailoverStrategy strategy = new RestartPipelinedRegionFailoverStrategy(
+			topology,
+			resultPartitionID -> false);
+
+		verifyThatFailedExecution(strategy, v1).restarts(v1);
+		verifyThatFailedExecution(strategy, v3).restarts(v3);
+		verifyThatFailedExecution(strategy, v6).restarts(v6);
+
+		TestingSchedulingResultPartition v1out = v3.getConsumedResults().iterator().next();
+		verifyThatFailedExecution(strategy, v3).partitionConnectionCause(v1out).restarts(v3);
+	}
+
 	private static VerificationContext verifyThatFailedExecution(
 			FailoverStrategy strategy,
 			SchedulingExecutionVertex executionVertex) {
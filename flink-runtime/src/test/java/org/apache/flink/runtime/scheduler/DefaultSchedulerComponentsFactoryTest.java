@@ -26,6 +26,7 @@ import org.apache.flink.configuration.JobManagerOptions;
 import org.apache.flink.runtime.jobgraph.ScheduleMode;
 import org.apache.flink.runtime.jobmaster.slotpool.SlotPool;
 import org.apache.flink.runtime.jobmaster.slotpool.TestingSlotPoolImpl;
+import org.apache.flink.runtime.scheduler.strategy.EagerSchedulingStrategy;
 import org.apache.flink.runtime.scheduler.strategy.LazyFromSourcesSchedulingStrategy;
 import org.apache.flink.runtime.scheduler.strategy.PipelinedRegionSchedulingStrategy;
 import org.apache.flink.util.TestLogger;
@@ -37,7 +38,7 @@ import static org.junit.Assert.assertThat;
 
 /**
  * Tests for the factory method {@link DefaultSchedulerComponents#createSchedulerComponents(
- * ScheduleMode, Configuration, SlotPool, Time)}.
+ * ScheduleMode, boolean, Configuration, SlotPool, Time)}.
  */
 public class DefaultSchedulerComponentsFactoryTest extends TestLogger {
 
@@ -67,9 +68,32 @@ public class DefaultSchedulerComponentsFactoryTest extends TestLogger {
 		assertThat(components.getSchedulingStrategyFactory(), instanceOf(PipelinedRegionSchedulingStrategy.Factory.class));
 	}
 
+	@Test
+	public void testApproximateLocalRecoveryFallsBackToLegacyScheduling() {
+		final Configuration configuration = new Configuration();
+		configuration.setString(JobManagerOptions.SCHEDULING_STRATEGY, "region");
+
+		final DefaultSchedulerComponents components = createSchedulerComponents(ScheduleMode.EAGER, true, configuration);
+		assertThat(components.getSchedulingStrategyFactory(), instanceOf(EagerSchedulingStrategy.Factory.class));
+		assertThat(components.getAllocatorFactory(), instanceOf(DefaultExecutionSlotAllocatorFactory.class));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testApproximateLocalRecoveryRequiresEagerScheduling() {
+		createSchedulerComponents(ScheduleMode.LAZY_FROM_SOURCES, true, new Configuration());
+	}
+
 	private static DefaultSchedulerComponents createSchedulerComponents(final Configuration configuration) {
+		return createSchedulerComponents(ScheduleMode.LAZY_FROM_SOURCES_WITH_BATCH_SLOT_REQUEST, false, configuration);
+	}
+
+	private static DefaultSchedulerComponents createSchedulerComponents(
+			final ScheduleMode scheduleMode,
+			final boolean isApproximateLocalRecoveryEnabled,
+			final Configuration configuration) {
 		return DefaultSchedulerComponents.createSchedulerComponents(
-			ScheduleMode.LAZY_FROM_SOURCES_WITH_BATCH_SLOT_REQUEST,
+			scheduleMode,
+			isApproximateLocalRecoveryEnabled,
 			configuration,
 			new TestingSlotPoolImpl(new JobID()),
 			Time.milliseconds(10L));
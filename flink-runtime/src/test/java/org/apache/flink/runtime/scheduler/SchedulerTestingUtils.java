@@ -284,6 +284,16 @@ public class SchedulerTestingUtils {
 			final AcknowledgeCheckpoint acknowledgeCheckpoint = new AcknowledgeCheckpoint(jid, attemptId, checkpointId);
 			checkpointCoordinator.receiveAcknowledgeMessage(acknowledgeCheckpoint, "Unknown location");
 		}
+
+		// the fully acknowledged checkpoint is completed asynchronously by the io executor
+		while (checkpointCoordinator.getPendingCheckpoints().containsKey(checkpointId)) {
+			try {
+				Thread.sleep(1);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				fail("interrupted");
+			}
+		}
 	}
 
 	public static CompletableFuture<CompletedCheckpoint> triggerCheckpoint(DefaultScheduler scheduler) throws Exception {
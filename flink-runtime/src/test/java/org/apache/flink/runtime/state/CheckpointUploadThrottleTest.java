@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state;
+
+import org.apache.flink.core.fs.FileSystem;
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.core.testutils.CheckedThread;
+import org.apache.flink.runtime.state.filesystem.FsCheckpointStreamFactory;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the {@link CheckpointUploadThrottle}.
+ */
+public class CheckpointUploadThrottleTest extends TestLogger {
+
+	/** A bandwidth of 16 slices per second. */
+	private static final long BANDWIDTH = 16L * CheckpointUploadThrottle.SLICE_SIZE;
+
+	@Rule
+	public final TemporaryFolder tmp = new TemporaryFolder();
+
+	@Test
+	public void testUnlimitedThrottleOnlyCountsBytes() throws Exception {
+		final CheckpointUploadThrottle throttle = new CheckpointUploadThrottle();
+		assertFalse(throttle.isLimited());
+
+		throttle.acquire(100L * CheckpointUploadThrottle.SLICE_SIZE);
+		throttle.acquire(0L);
+		assertEquals(100L * CheckpointUploadThrottle.SLICE_SIZE, throttle.getUploadedBytes());
+		assertEquals(0L, throttle.getQueuedBytes());
+	}
+
+	@Test
+	public void testBandwidthIsLimited() throws Exception {
+		final CheckpointUploadThrottle throttle = new CheckpointUploadThrottle();
+		throttle.setMaxBandwidth(BANDWIDTH);
+		assertTrue(throttle.isLimited());
+
+		final long start = System.nanoTime();
+		// the first slice is granted right away, the other 7 slices take 7/16 of a second
+		throttle.acquire(BANDWIDTH / 2);
+		final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		assertTrue("The upload was not throttled: " + elapsedMillis + " ms", elapsedMillis >= 400L);
+		assertEquals(BANDWIDTH / 2, throttle.getUploadedBytes());
+		assertEquals(0L, throttle.getQueuedBytes());
+	}
+
+	@Test
+	public void testConcurrentUploadsShareBandwidth() throws Exception {
+		final CheckpointUploadThrottle throttle = new CheckpointUploadThrottle();
+		throttle.setMaxBandwidth(BANDWIDTH);
+
+		// the large upload takes a second
+		final CompletableFuture<Void> largeUpload = new CompletableFuture<>();
+		final CheckedThread largeUploader = new CheckedThread() {
+			@Override
+			public void go() throws Exception {
+				throttle.acquire(BANDWIDTH);
+				largeUpload.complete(null);
+			}
+		};
+		largeUploader.start();
+		while (throttle.getQueuedBytes() == 0L) {
+			Thread.sleep(1L);
+		}
+
+		// the small upload takes turns with the large upload, rather than waiting for it to finish
+		throttle.acquire(2L * CheckpointUploadThrottle.SLICE_SIZE);
+		assertFalse(largeUpload.isDone());
+
+		largeUploader.sync();
+		assertEquals(BANDWIDTH + 2L * CheckpointUploadThrottle.SLICE_SIZE, throttle.getUploadedBytes());
+		assertEquals(0L, throttle.getQueuedBytes());
+	}
+
+	@Test
+	public void testInterruptedUploadIsNotQueued() throws Exception {
+		final CheckpointUploadThrottle throttle = new CheckpointUploadThrottle();
+		throttle.setMaxBandwidth(1024L);
+
+		final CheckedThread uploader = new CheckedThread() {
+			@Override
+			public void go() throws Exception {
+				try {
+					throttle.acquire(1024L * 1024L);
+					fail("Expected the upload to be interrupted.");
+				} catch (InterruptedIOException expected) {
+					assertTrue(Thread.currentThread().isInterrupted());
+				}
+			}
+		};
+		uploader.start();
+		while (throttle.getQueuedBytes() == 0L) {
+			Thread.sleep(1L);
+		}
+		uploader.interrupt();
+		uploader.sync();
+
+		assertEquals(0L, throttle.getQueuedBytes());
+	}
+
+	@Test
+	public void testFileStreamsAcquireUploadedBytes() throws Exception {
+		final CheckpointUploadThrottle throttle = new CheckpointUploadThrottle();
+		final FsCheckpointStreamFactory factory = new FsCheckpointStreamFactory(
+			FileSystem.getLocalFileSystem(),
+			Path.fromLocalFile(tmp.newFolder()),
+			Path.fromLocalFile(tmp.newFolder()),
+			100,
+			4096,
+			null,
+			-1L,
+			throttle);
+
+		// state below the threshold is not uploaded, but stored in the metadata
+		try (CheckpointStreamFactory.CheckpointStateOutputStream stream =
+				factory.createCheckpointStateOutputStream(CheckpointedStateScope.EXCLUSIVE)) {
+			stream.write(new byte[50]);
+			stream.closeAndGetHandle();
+		}
+		assertEquals(0L, throttle.getUploadedBytes());
+
+		try (CheckpointStreamFactory.CheckpointStateOutputStream stream =
+				factory.createCheckpointStateOutputStream(CheckpointedStateScope.SHARED)) {
+			stream.write(new byte[1000]);
+			stream.write(new byte[10_000]);
+			stream.write(42);
+			stream.closeAndGetHandle();
+		}
+		assertEquals(11_001L, throttle.getUploadedBytes());
+	}
+}
@@ -219,6 +219,104 @@ public abstract class InternalPriorityQueueTestBase extends TestLogger {
 		Assert.assertNull(priorityQueue.poll());
 	}
 
+	@Test
+	public void testPollAll() {
+		InternalPriorityQueue<TestElement> priorityQueue = newPriorityQueue(3);
+		final Comparator<Long> comparator = getTestElementPriorityComparator();
+
+		Assert.assertTrue(priorityQueue.pollAll(element -> true).isEmpty());
+
+		final int testSize = 1000;
+		HashSet<TestElement> checkSet = new HashSet<>(testSize);
+		insertRandomElements(priorityQueue, checkSet, testSize);
+
+		final List<Long> priorities = new ArrayList<>(testSize);
+		for (TestElement element : checkSet) {
+			priorities.add(element.getPriority());
+		}
+		priorities.sort(comparator);
+		final long pollLimit = priorities.get(testSize / 2);
+
+		final List<TestElement> polled =
+			priorityQueue.pollAll(element -> comparator.compare(element.getPriority(), pollLimit) <= 0);
+
+		long lastPriorityValue = getHighestPriorityValueForComparator();
+		for (TestElement element : polled) {
+			Assert.assertTrue(checkSet.remove(element));
+			Assert.assertTrue(comparator.compare(element.getPriority(), pollLimit) <= 0);
+			Assert.assertTrue(comparator.compare(element.getPriority(), lastPriorityValue) >= 0);
+			lastPriorityValue = element.getPriority();
+		}
+		Assert.assertEquals(checkSet.size(), priorityQueue.size());
+
+		// elements that are added again after a bulk poll must be visible
+		final TestElement readded = polled.get(0);
+		priorityQueue.add(readded);
+		checkSet.add(readded);
+		Assert.assertEquals(readded, priorityQueue.peek());
+
+		lastPriorityValue = getHighestPriorityValueForComparator();
+		while (!priorityQueue.isEmpty()) {
+			TestElement removed = priorityQueue.poll();
+			Assert.assertTrue(checkSet.remove(removed));
+			Assert.assertTrue(comparator.compare(removed.getPriority(), lastPriorityValue) >= 0);
+			lastPriorityValue = removed.getPriority();
+		}
+		Assert.assertTrue(checkSet.isEmpty());
+	}
+
+	@Test
+	public void testPollAllWithLimit() {
+		InternalPriorityQueue<TestElement> priorityQueue = newPriorityQueue(3);
+		final Comparator<Long> comparator = getTestElementPriorityComparator();
+
+		final int testSize = 1000;
+		final int limit = 100;
+		HashSet<TestElement> checkSet = new HashSet<>(testSize);
+		insertRandomElements(priorityQueue, checkSet, testSize);
+
+		Assert.assertTrue(priorityQueue.pollAll(element -> true, 0).isEmpty());
+
+		while (!priorityQueue.isEmpty()) {
+			final List<TestElement> polled = priorityQueue.pollAll(element -> true, limit);
+			Assert.assertFalse(polled.isEmpty());
+			Assert.assertTrue(polled.size() <= limit);
+
+			long lastPriorityValue = getHighestPriorityValueForComparator();
+			for (TestElement element : polled) {
+				Assert.assertTrue(checkSet.remove(element));
+				Assert.assertTrue(comparator.compare(element.getPriority(), lastPriorityValue) >= 0);
+				lastPriorityValue = element.getPriority();
+			}
+			Assert.assertEquals(checkSet.size(), priorityQueue.size());
+		}
+		Assert.assertTrue(checkSet.isEmpty());
+	}
+
+	@Test
+	public void testPollAllAfterAddingBelowPolledElements() {
+		InternalPriorityQueue<TestElement> priorityQueue = newPriorityQueue(3);
+
+		final int numElements = 200;
+		// we vary the number of polled elements, so that the head cache of store-backed queues runs empty at some point
+		for (int numPolled = 1; numPolled <= 64; ++numPolled) {
+			for (int i = 0; i < numElements; ++i) {
+				priorityQueue.add(new TestElement(4711L, 100L + i));
+			}
+			for (int i = 0; i < numPolled; ++i) {
+				Assert.assertEquals(100L + i, priorityQueue.poll().getPriority());
+			}
+
+			final TestElement addedBelow = new TestElement(4711L, 42L);
+			priorityQueue.add(addedBelow);
+
+			final List<TestElement> polled = priorityQueue.pollAll(element -> true);
+			Assert.assertEquals(numElements - numPolled + 1, polled.size());
+			Assert.assertEquals(addedBelow, polled.get(0));
+			Assert.assertTrue(priorityQueue.isEmpty());
+		}
+	}
+
 	@Test
 	public void testIsEmpty() {
 		InternalPriorityQueue<TestElement> priorityQueue =
@@ -18,6 +18,7 @@
 
 package org.apache.flink.runtime.state;
 
+import org.apache.flink.api.common.SnapshotCompressionType;
 import org.apache.flink.api.common.state.StateDescriptor;
 import org.apache.flink.api.common.typeutils.TypeSerializer;
 import org.apache.flink.api.common.typeutils.base.DoubleSerializer;
@@ -75,11 +76,37 @@ public class SerializationProxiesTest {
 		}
 
 		Assert.assertTrue(serializationProxy.isUsingKeyGroupCompression());
+		Assert.assertSame(SnappyStreamCompressionDecorator.INSTANCE, serializationProxy.getKeyGroupCompressionDecorator());
 		Assert.assertTrue(serializationProxy.getKeySerializerSnapshot() instanceof IntSerializer.IntSerializerSnapshot);
 
 		assertEqualStateMetaInfoSnapshotsLists(stateMetaInfoList, serializationProxy.getStateMetaInfoSnapshots());
 	}
 
+	@Test
+	public void testKeyedBackendSerializationProxyCompressionFormat() throws Exception {
+		for (SnapshotCompressionType compressionType : SnapshotCompressionType.values()) {
+			StreamCompressionDecorator decorator = StreamCompressionDecorator.forType(compressionType);
+
+			KeyedBackendSerializationProxy<?> serializationProxy =
+				new KeyedBackendSerializationProxy<>(IntSerializer.INSTANCE, new ArrayList<>(), decorator);
+
+			byte[] serialized;
+			try (ByteArrayOutputStreamWithPos out = new ByteArrayOutputStreamWithPos()) {
+				serializationProxy.write(new DataOutputViewStreamWrapper(out));
+				serialized = out.toByteArray();
+			}
+
+			serializationProxy =
+				new KeyedBackendSerializationProxy<>(Thread.currentThread().getContextClassLoader());
+
+			try (ByteArrayInputStreamWithPos in = new ByteArrayInputStreamWithPos(serialized)) {
+				serializationProxy.read(new DataInputViewStreamWrapper(in));
+			}
+
+			Assert.assertSame(decorator, serializationProxy.getKeyGroupCompressionDecorator());
+		}
+	}
+
 	@Test
 	public void testKeyedStateMetaInfoSerialization() throws Exception {
 
@@ -131,7 +158,10 @@ public class SerializationProxiesTest {
 				"e", OperatorStateHandle.Mode.BROADCAST, valueSerializer, keySerializer).snapshot());
 
 		OperatorBackendSerializationProxy serializationProxy =
-				new OperatorBackendSerializationProxy(stateMetaInfoSnapshots, broadcastStateMetaInfoSnapshots);
+				new OperatorBackendSerializationProxy(
+					stateMetaInfoSnapshots,
+					broadcastStateMetaInfoSnapshots,
+					Lz4StreamCompressionDecorator.INSTANCE);
 
 		byte[] serialized;
 		try (ByteArrayOutputStreamWithPos out = new ByteArrayOutputStreamWithPos()) {
@@ -146,6 +176,7 @@ public class SerializationProxiesTest {
 			serializationProxy.read(new DataInputViewStreamWrapper(in));
 		}
 
+		Assert.assertSame(Lz4StreamCompressionDecorator.INSTANCE, serializationProxy.getCompressionDecorator());
 		assertEqualStateMetaInfoSnapshotsLists(stateMetaInfoSnapshots, serializationProxy.getOperatorStateMetaInfoSnapshots());
 		assertEqualStateMetaInfoSnapshotsLists(broadcastStateMetaInfoSnapshots, serializationProxy.getBroadcastStateMetaInfoSnapshots());
 	}
@@ -19,6 +19,11 @@
 package org.apache.flink.runtime.state;
 
 import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.SnapshotCompressionType;
+import org.apache.flink.api.common.state.BroadcastState;
+import org.apache.flink.api.common.state.ListState;
+import org.apache.flink.api.common.state.ListStateDescriptor;
+import org.apache.flink.api.common.state.MapStateDescriptor;
 import org.apache.flink.api.common.state.ValueStateDescriptor;
 import org.apache.flink.api.common.typeutils.base.StringSerializer;
 import org.apache.flink.core.fs.CloseableRegistry;
@@ -37,14 +42,30 @@ import org.apache.commons.io.IOUtils;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.RunnableFuture;
 
 import static org.mockito.Mockito.mock;
 
 public class StateSnapshotCompressionTest extends TestLogger {
 
+	private static final int NUM_ELEMENTS = 100;
+
+	/** Enough elements for the operator state to span several compressed blocks. */
+	private static final int NUM_MANY_ELEMENTS = 5000;
+
+	private static final ListStateDescriptor<String> LIST_STATE_DESCRIPTOR =
+		new ListStateDescriptor<>("list", StringSerializer.INSTANCE);
+
+	private static final MapStateDescriptor<String, String> BROADCAST_STATE_DESCRIPTOR =
+		new MapStateDescriptor<>("broadcast", StringSerializer.INSTANCE, StringSerializer.INSTANCE);
+
 	@Test
 	public void testCompressionConfiguration() throws BackendBuildingException {
 
@@ -77,6 +98,40 @@ public class StateSnapshotCompressionTest extends TestLogger {
 		}
 	}
 
+	@Test
+	public void testCompressionTypeConfiguration() {
+		ExecutionConfig executionConfig = new ExecutionConfig();
+		executionConfig.setUseSnapshotCompression(true);
+
+		executionConfig.setSnapshotCompressionType(SnapshotCompressionType.LZ4);
+		Assert.assertSame(
+			Lz4StreamCompressionDecorator.INSTANCE,
+			StreamCompressionDecorator.forExecutionConfig(executionConfig));
+
+		executionConfig.setSnapshotCompressionType(SnapshotCompressionType.DEFLATE);
+		Assert.assertSame(
+			DeflateStreamCompressionDecorator.INSTANCE,
+			StreamCompressionDecorator.forExecutionConfig(executionConfig));
+
+		executionConfig.setUseSnapshotCompression(false);
+		Assert.assertSame(
+			UncompressedStreamCompressionDecorator.INSTANCE,
+			StreamCompressionDecorator.forExecutionConfig(executionConfig));
+	}
+
+	@Test
+	public void testFormatIdsIdentifyDecorators() throws Exception {
+		for (SnapshotCompressionType compressionType : SnapshotCompressionType.values()) {
+			StreamCompressionDecorator decorator = StreamCompressionDecorator.forType(compressionType);
+			Assert.assertTrue(decorator.isCompressing());
+			Assert.assertSame(decorator, StreamCompressionDecorator.forFormatId(decorator.getFormatId()));
+		}
+		Assert.assertSame(
+			UncompressedStreamCompressionDecorator.INSTANCE,
+			StreamCompressionDecorator.forFormatId(UncompressedStreamCompressionDecorator.FORMAT_ID));
+		Assert.assertFalse(UncompressedStreamCompressionDecorator.INSTANCE.isCompressing());
+	}
+
 	@Test
 	public void snapshotRestoreRoundtripWithCompression() throws Exception {
 		snapshotRestoreRoundtrip(true);
@@ -87,6 +142,60 @@ public class StateSnapshotCompressionTest extends TestLogger {
 		snapshotRestoreRoundtrip(false);
 	}
 
+	@Test
+	public void snapshotRestoreRoundtripWithLz4Compression() throws Exception {
+		snapshotRestoreRoundtrip(compressionConfig(SnapshotCompressionType.LZ4));
+	}
+
+	@Test
+	public void snapshotRestoreRoundtripWithDeflateCompression() throws Exception {
+		snapshotRestoreRoundtrip(compressionConfig(SnapshotCompressionType.DEFLATE));
+	}
+
+	@Test
+	public void operatorStateRoundtripUncompressed() throws Exception {
+		operatorStateRoundtrip(new ExecutionConfig());
+	}
+
+	@Test
+	public void operatorStateRoundtripWithCompression() throws Exception {
+		for (SnapshotCompressionType compressionType : SnapshotCompressionType.values()) {
+			operatorStateRoundtrip(compressionConfig(compressionType));
+		}
+	}
+
+	@Test
+	public void operatorStateRoundtripWithManyElements() throws Exception {
+		for (SnapshotCompressionType compressionType : SnapshotCompressionType.values()) {
+			operatorStateRoundtrip(compressionConfig(compressionType), NUM_MANY_ELEMENTS);
+		}
+	}
+
+	@Test
+	public void testCompressionReducesOperatorStateSize() throws Exception {
+		long uncompressedSize = snapshotOperatorState(new ExecutionConfig(), NUM_ELEMENTS).getStateSize();
+		for (SnapshotCompressionType compressionType : SnapshotCompressionType.values()) {
+			long compressedSize = snapshotOperatorState(compressionConfig(compressionType), NUM_ELEMENTS).getStateSize();
+			Assert.assertTrue(compressionType + " did not compress the state", compressedSize < uncompressedSize);
+		}
+	}
+
+	/**
+	 * The elements of a list state are compressed together, rather than each on its own, so the similar
+	 * elements compress well.
+	 */
+	@Test
+	public void testOperatorStateElementsAreCompressedTogether() throws Exception {
+		long uncompressedSize = snapshotOperatorState(new ExecutionConfig(), NUM_MANY_ELEMENTS).getStateSize();
+		for (SnapshotCompressionType compressionType : SnapshotCompressionType.values()) {
+			long compressedSize =
+				snapshotOperatorState(compressionConfig(compressionType), NUM_MANY_ELEMENTS).getStateSize();
+			Assert.assertTrue(
+				compressionType + " compressed the state only to " + compressedSize + " of " + uncompressedSize + " bytes",
+				compressedSize * 3 < uncompressedSize);
+		}
+	}
+
 	private HeapKeyedStateBackend<String> getStringHeapKeyedStateBackend(ExecutionConfig executionConfig)
 		throws BackendBuildingException {
 		return getStringHeapKeyedStateBackend(executionConfig, Collections.emptyList());
@@ -113,9 +222,12 @@ public class StateSnapshotCompressionTest extends TestLogger {
 	}
 
 	private void snapshotRestoreRoundtrip(boolean useCompression) throws Exception {
-
 		ExecutionConfig executionConfig = new ExecutionConfig();
 		executionConfig.setUseSnapshotCompression(useCompression);
+		snapshotRestoreRoundtrip(executionConfig);
+	}
+
+	private void snapshotRestoreRoundtrip(ExecutionConfig executionConfig) throws Exception {
 
 		KeyedStateHandle stateHandle;
 
@@ -179,4 +291,102 @@ public class StateSnapshotCompressionTest extends TestLogger {
 			stateBackend.dispose();
 		}
 	}
+
+	private void operatorStateRoundtrip(ExecutionConfig executionConfig) throws Exception {
+		operatorStateRoundtrip(executionConfig, NUM_ELEMENTS);
+	}
+
+	private void operatorStateRoundtrip(ExecutionConfig executionConfig, int numElements) throws Exception {
+		OperatorStateHandle stateHandle = snapshotOperatorState(executionConfig, numElements);
+
+		// restore the halves of the split list state in two backends, which seek to the partition offsets
+		Map<String, OperatorStateHandle.StateMetaInfo> firstHalf = new HashMap<>();
+		Map<String, OperatorStateHandle.StateMetaInfo> secondHalf = new HashMap<>();
+		for (Map.Entry<String, OperatorStateHandle.StateMetaInfo> entry :
+				stateHandle.getStateNameToPartitionOffsets().entrySet()) {
+			long[] offsets = entry.getValue().getOffsets();
+			OperatorStateHandle.Mode mode = entry.getValue().getDistributionMode();
+			if (mode == OperatorStateHandle.Mode.SPLIT_DISTRIBUTE) {
+				firstHalf.put(entry.getKey(), new OperatorStateHandle.StateMetaInfo(
+					Arrays.copyOfRange(offsets, 0, offsets.length / 2), mode));
+				secondHalf.put(entry.getKey(), new OperatorStateHandle.StateMetaInfo(
+					Arrays.copyOfRange(offsets, offsets.length / 2, offsets.length), mode));
+			} else {
+				firstHalf.put(entry.getKey(), entry.getValue());
+				secondHalf.put(entry.getKey(), entry.getValue());
+			}
+		}
+
+		List<String> restoredElements = new ArrayList<>();
+		for (Map<String, OperatorStateHandle.StateMetaInfo> offsets : Arrays.asList(firstHalf, secondHalf)) {
+			OperatorStateHandle handle = new OperatorStreamStateHandle(offsets, stateHandle.getDelegateStateHandle());
+			// the restore reads the compression from the snapshot, not from the configuration
+			DefaultOperatorStateBackend backend = createOperatorStateBackend(
+				new ExecutionConfig(),
+				Collections.singletonList(handle));
+			try {
+				for (String element : backend.getListState(LIST_STATE_DESCRIPTOR).get()) {
+					restoredElements.add(element);
+				}
+
+				BroadcastState<String, String> broadcastState = backend.getBroadcastState(BROADCAST_STATE_DESCRIPTOR);
+				for (int i = 0; i < numElements; i++) {
+					Assert.assertEquals(verboseValue(i), broadcastState.get("key-" + i));
+				}
+			} finally {
+				backend.dispose();
+			}
+		}
+
+		List<String> expectedElements = new ArrayList<>();
+		for (int i = 0; i < numElements; i++) {
+			expectedElements.add(verboseValue(i));
+		}
+		Assert.assertEquals(expectedElements, restoredElements);
+	}
+
+	private OperatorStateHandle snapshotOperatorState(ExecutionConfig executionConfig, int numElements) throws Exception {
+		DefaultOperatorStateBackend backend = createOperatorStateBackend(executionConfig, Collections.emptyList());
+		try {
+			ListState<String> listState = backend.getListState(LIST_STATE_DESCRIPTOR);
+			BroadcastState<String, String> broadcastState = backend.getBroadcastState(BROADCAST_STATE_DESCRIPTOR);
+			for (int i = 0; i < numElements; i++) {
+				listState.add(verboseValue(i));
+				broadcastState.put("key-" + i, verboseValue(i));
+			}
+
+			RunnableFuture<SnapshotResult<OperatorStateHandle>> snapshot = backend.snapshot(
+				0L,
+				0L,
+				new MemCheckpointStreamFactory(4 * 1024 * 1024),
+				CheckpointOptions.forCheckpointWithDefaultLocation());
+			snapshot.run();
+			return snapshot.get().getJobManagerOwnedSnapshot();
+		} finally {
+			backend.dispose();
+		}
+	}
+
+	private static DefaultOperatorStateBackend createOperatorStateBackend(
+		ExecutionConfig executionConfig,
+		Collection<OperatorStateHandle> stateHandles) throws BackendBuildingException {
+
+		return new DefaultOperatorStateBackendBuilder(
+			StateSnapshotCompressionTest.class.getClassLoader(),
+			executionConfig,
+			false,
+			stateHandles,
+			new CloseableRegistry()).build();
+	}
+
+	private static ExecutionConfig compressionConfig(SnapshotCompressionType compressionType) {
+		ExecutionConfig executionConfig = new ExecutionConfig();
+		executionConfig.setUseSnapshotCompression(true);
+		executionConfig.setSnapshotCompressionType(compressionType);
+		return executionConfig;
+	}
+
+	private static String verboseValue(int i) {
+		return "{\"name\": \"element\", \"description\": \"a verbose state element\", \"index\": " + i + "}";
+	}
 }
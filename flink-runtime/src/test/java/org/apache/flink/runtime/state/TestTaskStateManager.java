@@ -57,6 +57,7 @@ public class TestTaskStateManager implements TaskStateManager {
 	private CheckpointResponder checkpointResponder;
 	private OneShotLatch waitForReportLatch;
 	private LocalRecoveryConfig localRecoveryDirectoryProvider;
+	private final CheckpointUploadThrottle checkpointUploadThrottle = new CheckpointUploadThrottle();
 
 	public TestTaskStateManager() {
 		this(TestLocalRecoveryConfig.disabled());
@@ -168,6 +169,12 @@ public class TestTaskStateManager implements TaskStateManager {
 		return SequentialChannelStateReader.NO_OP;
 	}
 
+	@Nonnull
+	@Override
+	public CheckpointUploadThrottle getCheckpointUploadThrottle() {
+		return checkpointUploadThrottle;
+	}
+
 	public void setLocalRecoveryConfig(LocalRecoveryConfig recoveryDirectoryProvider) {
 		this.localRecoveryDirectoryProvider = recoveryDirectoryProvider;
 	}
@@ -23,8 +23,10 @@ import org.apache.flink.core.fs.FileSystem;
 import org.apache.flink.core.fs.Path;
 import org.apache.flink.core.fs.local.LocalFileSystem;
 import org.apache.flink.runtime.state.CheckpointStorageAccess;
+import org.apache.flink.runtime.state.CheckpointStorageLocation;
 import org.apache.flink.runtime.state.CheckpointStorageLocationReference;
 import org.apache.flink.runtime.state.CheckpointStreamFactory.CheckpointStateOutputStream;
+import org.apache.flink.runtime.state.CheckpointUploadThrottle;
 import org.apache.flink.runtime.state.CheckpointedStateScope;
 import org.apache.flink.runtime.state.StreamStateHandle;
 import org.apache.flink.runtime.state.filesystem.FsCheckpointStreamFactory.FsCheckpointStateOutputStream;
@@ -241,6 +243,42 @@ public class FsCheckpointStorageAccessTest extends AbstractFileCheckpointStorage
 		assertTrue(fileSystem instanceof LocalFileSystem);
 	}
 
+	/**
+	 * The streams of the storage acquire their bytes from the throttle that the storage was created with, so that
+	 * every TaskManager limits the uploads of its own tasks.
+	 */
+	@Test
+	public void testStreamsUseGivenUploadThrottle() throws Exception {
+		final CheckpointUploadThrottle uploadThrottle = new CheckpointUploadThrottle();
+		final Path checkpointDir = Path.fromLocalFile(tmp.newFolder());
+		final FsCheckpointStorageAccess storage = new FsCheckpointStorageAccess(
+			checkpointDir.getFileSystem(),
+			checkpointDir,
+			null,
+			new JobID(),
+			FILE_SIZE_THRESHOLD,
+			WRITE_BUFFER_SIZE,
+			-1L,
+			uploadThrottle);
+		storage.initializeBaseLocations();
+
+		final byte[] state = new byte[2 * FILE_SIZE_THRESHOLD];
+
+		final CheckpointStorageLocation location = storage.initializeLocationForCheckpoint(1L);
+		try (CheckpointStateOutputStream stream =
+				location.createCheckpointStateOutputStream(CheckpointedStateScope.EXCLUSIVE)) {
+			stream.write(state);
+			stream.closeAndGetHandle();
+		}
+		assertEquals(state.length, uploadThrottle.getUploadedBytes());
+
+		try (CheckpointStateOutputStream stream = storage.createTaskOwnedStateStream()) {
+			stream.write(state);
+			stream.closeAndGetHandle();
+		}
+		assertEquals(2L * state.length, uploadThrottle.getUploadedBytes());
+	}
+
 	// ------------------------------------------------------------------------
 	//  Utilities
 	// ------------------------------------------------------------------------
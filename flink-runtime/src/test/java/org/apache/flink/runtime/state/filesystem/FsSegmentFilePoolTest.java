@@ -0,0 +1,302 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.filesystem;
+
+import org.apache.flink.core.fs.FSDataInputStream;
+import org.apache.flink.core.fs.FileSystem;
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.runtime.checkpoint.metadata.MetadataV3Serializer;
+import org.apache.flink.runtime.state.CheckpointStreamFactory.CheckpointStateOutputStream;
+import org.apache.flink.runtime.state.CheckpointedStateScope;
+import org.apache.flink.runtime.state.SharedStateRegistry;
+import org.apache.flink.runtime.state.StreamStateHandle;
+import org.apache.flink.util.InstantiationUtil;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link FsSegmentFilePool} and the {@link SegmentFileStateHandle}.
+ */
+public class FsSegmentFilePoolTest extends TestLogger {
+
+	private static final int FILE_STATE_THRESHOLD = 16;
+
+	@Rule
+	public final TemporaryFolder tmp = new TemporaryFolder();
+
+	private final Random random = new Random();
+
+	private File exclusiveStateDir;
+
+	private File sharedStateDir;
+
+	private FsSegmentFilePool pool;
+
+	@Before
+	public void setup() throws IOException {
+		exclusiveStateDir = tmp.newFolder("exclusive");
+		sharedStateDir = tmp.newFolder("shared");
+		pool = new FsSegmentFilePool();
+	}
+
+	@Test
+	public void testStreamsAppendToSharedSegmentFile() throws Exception {
+		final FsCheckpointStreamFactory factory = createFactory(1024 * 1024);
+
+		final byte[] data1 = randomBytes(100);
+		final byte[] data2 = randomBytes(200);
+		final byte[] data3 = randomBytes(300);
+
+		final CheckpointStateOutputStream stream1 = factory.createCheckpointStateOutputStream(CheckpointedStateScope.EXCLUSIVE);
+		final CheckpointStateOutputStream stream2 = factory.createCheckpointStateOutputStream(CheckpointedStateScope.EXCLUSIVE);
+		stream1.write(data1);
+		stream2.write(data2);
+
+		// the first stream hands its segment file to the third stream, while the second stream is still writing
+		final SegmentFileStateHandle handle1 = closeAndGetSegmentHandle(stream1);
+		final CheckpointStateOutputStream stream3 = factory.createCheckpointStateOutputStream(CheckpointedStateScope.EXCLUSIVE);
+		stream3.write(data3);
+		assertEquals(data3.length, stream3.getPos());
+		final SegmentFileStateHandle handle3 = closeAndGetSegmentHandle(stream3);
+		final SegmentFileStateHandle handle2 = closeAndGetSegmentHandle(stream2);
+
+		assertEquals(handle1.getFilePath(), handle3.getFilePath());
+		assertNotEquals(handle1.getFilePath(), handle2.getFilePath());
+		assertEquals(data1.length, handle3.getStartPos());
+		assertEquals(2, exclusiveStateDir.listFiles().length);
+		assertEquals(0, pool.getNumberOfOpenDirectories());
+
+		assertArrayEquals(data1, readFully(handle1));
+		assertArrayEquals(data2, readFully(handle2));
+		assertArrayEquals(data3, readFully(handle3));
+	}
+
+	@Test
+	public void testSegmentFileIsClosedAtMaxSize() throws Exception {
+		final FsCheckpointStreamFactory factory = createFactory(150);
+
+		final CheckpointStateOutputStream blocking = factory.createCheckpointStateOutputStream(CheckpointedStateScope.EXCLUSIVE);
+		blocking.write(randomBytes(100));
+
+		SegmentFileStateHandle previous = null;
+		for (int i = 0; i < 4; i++) {
+			final CheckpointStateOutputStream stream = factory.createCheckpointStateOutputStream(CheckpointedStateScope.EXCLUSIVE);
+			stream.write(randomBytes(100));
+			final SegmentFileStateHandle handle = closeAndGetSegmentHandle(stream);
+			if (i % 2 == 1) {
+				// the second state exceeds the maximum size, so the next stream starts a new segment file
+				assertEquals(previous.getFilePath(), handle.getFilePath());
+			} else if (previous != null) {
+				assertNotEquals(previous.getFilePath(), handle.getFilePath());
+			}
+			previous = handle;
+		}
+
+		blocking.close();
+		assertEquals(0, pool.getNumberOfOpenDirectories());
+		assertEquals(3, exclusiveStateDir.listFiles().length);
+	}
+
+	@Test
+	public void testSharedStateAndSmallStateAreNotAppended() throws Exception {
+		final FsCheckpointStreamFactory factory = createFactory(1024 * 1024);
+
+		final CheckpointStateOutputStream sharedStream = factory.createCheckpointStateOutputStream(CheckpointedStateScope.SHARED);
+		sharedStream.write(randomBytes(100));
+		assertThat(sharedStream.closeAndGetHandle(), instanceOf(FileStateHandle.class));
+
+		final CheckpointStateOutputStream smallStream = factory.createCheckpointStateOutputStream(CheckpointedStateScope.EXCLUSIVE);
+		smallStream.write(randomBytes(FILE_STATE_THRESHOLD - 1));
+		assertThat(smallStream.closeAndGetHandle(), not(instanceOf(SegmentFileStateHandle.class)));
+		assertEquals(0, exclusiveStateDir.listFiles().length);
+	}
+
+	@Test
+	public void testClosedStreamDoesNotDeleteSegmentFile() throws Exception {
+		final FsCheckpointStreamFactory factory = createFactory(1024 * 1024);
+
+		final CheckpointStateOutputStream stream1 = factory.createCheckpointStateOutputStream(CheckpointedStateScope.EXCLUSIVE);
+		final CheckpointStateOutputStream stream2 = factory.createCheckpointStateOutputStream(CheckpointedStateScope.EXCLUSIVE);
+		final byte[] data = randomBytes(100);
+		stream1.write(data);
+		stream2.write(randomBytes(100));
+		final SegmentFileStateHandle handle = closeAndGetSegmentHandle(stream1);
+
+		final CheckpointStateOutputStream failing = factory.createCheckpointStateOutputStream(CheckpointedStateScope.EXCLUSIVE);
+		failing.write(randomBytes(100));
+		failing.close();
+		stream2.close();
+
+		assertEquals(0, pool.getNumberOfOpenDirectories());
+		assertArrayEquals(data, readFully(handle));
+	}
+
+	@Test
+	public void testSeekIsRelativeToState() throws Exception {
+		final FsCheckpointStreamFactory factory = createFactory(1024 * 1024);
+
+		final CheckpointStateOutputStream blocking = factory.createCheckpointStateOutputStream(CheckpointedStateScope.EXCLUSIVE);
+		blocking.write(randomBytes(100));
+
+		final CheckpointStateOutputStream stream1 = factory.createCheckpointStateOutputStream(CheckpointedStateScope.EXCLUSIVE);
+		stream1.write(randomBytes(100));
+		closeAndGetSegmentHandle(stream1);
+
+		final CheckpointStateOutputStream stream2 = factory.createCheckpointStateOutputStream(CheckpointedStateScope.EXCLUSIVE);
+		final byte[] data = randomBytes(100);
+		stream2.write(data);
+		final SegmentFileStateHandle handle = closeAndGetSegmentHandle(stream2);
+		blocking.close();
+		assertEquals(100, handle.getStartPos());
+
+		try (FSDataInputStream in = handle.openInputStream()) {
+			in.seek(40);
+			assertEquals(40, in.getPos());
+			assertEquals(data[40] & 0xFF, in.read());
+
+			final byte[] rest = new byte[100];
+			assertEquals(59, in.read(rest));
+			assertEquals(-1, in.read());
+		}
+	}
+
+	@Test
+	public void testSegmentFileIsDeletedWithLastReference() throws Exception {
+		final File segmentFile = new File(exclusiveStateDir, "segment");
+		assertTrue(segmentFile.createNewFile());
+		final Path path = Path.fromLocalFile(segmentFile);
+
+		final SegmentFileStateHandle handle1 = new SegmentFileStateHandle(path, null, 0L, 10L);
+		final SegmentFileStateHandle handle2 = new SegmentFileStateHandle(path, null, 10L, 10L);
+
+		final SharedStateRegistry registry = new SharedStateRegistry();
+		handle1.registerSharedState(registry);
+		handle2.registerSharedState(registry);
+		// registering again with the same registry has no effect
+		handle2.registerSharedState(registry);
+
+		handle1.discardState();
+		assertTrue(segmentFile.exists());
+		handle2.discardState();
+		assertFalse(segmentFile.exists());
+	}
+
+	@Test
+	public void testUnregisteredHandleDoesNotDeleteSegmentFile() throws Exception {
+		final File segmentFile = new File(exclusiveStateDir, "segment");
+		assertTrue(segmentFile.createNewFile());
+
+		new SegmentFileStateHandle(Path.fromLocalFile(segmentFile), null, 0L, 10L).discardState();
+		assertTrue(segmentFile.exists());
+	}
+
+	@Test
+	public void testDeserializedHandleDoesNotDeleteSegmentFile() throws Exception {
+		final File segmentFile = new File(exclusiveStateDir, "segment");
+		assertTrue(segmentFile.createNewFile());
+		final Path path = Path.fromLocalFile(segmentFile);
+
+		final SegmentFileStateHandle handle1 = new SegmentFileStateHandle(path, null, 0L, 10L);
+		final SegmentFileStateHandle handle2 = new SegmentFileStateHandle(path, null, 10L, 10L);
+		final SharedStateRegistry registry = new SharedStateRegistry();
+		handle1.registerSharedState(registry);
+		handle2.registerSharedState(registry);
+
+		// the registry is not serialized, so the copy does not hold a reference to the segment file
+		InstantiationUtil.clone(handle1).discardState();
+		handle1.discardState();
+		assertTrue(segmentFile.exists());
+
+		handle2.discardState();
+		assertFalse(segmentFile.exists());
+	}
+
+	@Test
+	public void testMetadataSerialization() throws Exception {
+		final SegmentFileStateHandle handle = new SegmentFileStateHandle(
+			Path.fromLocalFile(new File(exclusiveStateDir, "segment")), null, 42L, 17L);
+
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		MetadataV3Serializer.serializeStreamStateHandle(handle, new DataOutputStream(out));
+		final StreamStateHandle deserialized = MetadataV3Serializer.deserializeStreamStateHandle(
+			new DataInputStream(new ByteArrayInputStream(out.toByteArray())));
+
+		assertEquals(handle, deserialized);
+	}
+
+	// ------------------------------------------------------------------------
+
+	private FsCheckpointStreamFactory createFactory(long maxSegmentFileSize) {
+		return new FsCheckpointStreamFactory(
+			FileSystem.getLocalFileSystem(),
+			Path.fromLocalFile(exclusiveStateDir),
+			Path.fromLocalFile(sharedStateDir),
+			FILE_STATE_THRESHOLD,
+			FILE_STATE_THRESHOLD,
+			pool,
+			maxSegmentFileSize);
+	}
+
+	private static SegmentFileStateHandle closeAndGetSegmentHandle(CheckpointStateOutputStream stream) throws IOException {
+		final StreamStateHandle handle = stream.closeAndGetHandle();
+		assertThat(handle, instanceOf(SegmentFileStateHandle.class));
+		return (SegmentFileStateHandle) handle;
+	}
+
+	private static byte[] readFully(StreamStateHandle handle) throws IOException {
+		final byte[] data = new byte[(int) handle.getStateSize()];
+		try (FSDataInputStream in = handle.openInputStream()) {
+			int read = 0;
+			while (read < data.length) {
+				final int n = in.read(data, read, data.length - read);
+				assertTrue(n > 0);
+				read += n;
+			}
+			assertEquals(-1, in.read());
+		}
+		return data;
+	}
+
+	private byte[] randomBytes(int size) {
+		final byte[] bytes = new byte[size];
+		random.nextBytes(bytes);
+		return bytes;
+	}
+}
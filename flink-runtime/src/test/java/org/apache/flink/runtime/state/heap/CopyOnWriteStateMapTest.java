@@ -43,6 +43,36 @@ import java.util.Random;
  */
 public class CopyOnWriteStateMapTest extends TestLogger {
 
+	/**
+	 * Tests that a map that is sized up front does not rehash while the expected number of entries is inserted.
+	 */
+	@Test
+	public void testEnsureCapacityAvoidsRehashing() {
+		final CopyOnWriteStateMap<Integer, Integer, Integer> stateMap = new CopyOnWriteStateMap<>(IntSerializer.INSTANCE);
+		final int numEntries = 10_000;
+
+		stateMap.ensureCapacity(numEntries);
+		for (int i = 0; i < numEntries; i++) {
+			stateMap.put(i, 0, i);
+			Assert.assertFalse(stateMap.isRehashing());
+		}
+		Assert.assertEquals(numEntries, stateMap.size());
+		for (int i = 0; i < numEntries; i++) {
+			Assert.assertEquals(Integer.valueOf(i), stateMap.get(i, 0));
+		}
+
+		// the hint is ignored once a map holds entries
+		final CopyOnWriteStateMap<Integer, Integer, Integer> nonEmptyMap = new CopyOnWriteStateMap<>(IntSerializer.INSTANCE);
+		nonEmptyMap.put(0, 0, 0);
+		nonEmptyMap.ensureCapacity(numEntries);
+		boolean rehashed = false;
+		for (int i = 1; i < numEntries && !rehashed; i++) {
+			nonEmptyMap.put(i, 0, i);
+			rehashed = nonEmptyMap.isRehashing();
+		}
+		Assert.assertTrue(rehashed);
+	}
+
 	/**
 	 * Testing the basic map operations.
 	 */
@@ -0,0 +1,312 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.heap;
+
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.state.ValueState;
+import org.apache.flink.api.common.state.ValueStateDescriptor;
+import org.apache.flink.api.common.typeutils.base.IntSerializer;
+import org.apache.flink.api.common.typeutils.base.StringSerializer;
+import org.apache.flink.core.fs.CloseableRegistry;
+import org.apache.flink.core.fs.FileSystem;
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.runtime.checkpoint.CheckpointOptions;
+import org.apache.flink.runtime.query.TaskKvStateRegistry;
+import org.apache.flink.runtime.state.AbstractStateBackend;
+import org.apache.flink.runtime.state.KeyGroupRange;
+import org.apache.flink.runtime.state.KeyGroupRangeAssignment;
+import org.apache.flink.runtime.state.KeyGroupsStateHandle;
+import org.apache.flink.runtime.state.KeyedStateHandle;
+import org.apache.flink.runtime.state.SnapshotResult;
+import org.apache.flink.runtime.state.StreamStateHandle;
+import org.apache.flink.runtime.state.TestLocalRecoveryConfig;
+import org.apache.flink.runtime.state.VoidNamespace;
+import org.apache.flink.runtime.state.VoidNamespaceSerializer;
+import org.apache.flink.runtime.state.filesystem.FileStateHandle;
+import org.apache.flink.runtime.state.filesystem.FsCheckpointStreamFactory;
+import org.apache.flink.runtime.state.ttl.TtlTimeProvider;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RunnableFuture;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for the {@link PrefetchingStateHandleInputStream} and for restoring a {@link HeapKeyedStateBackend}
+ * with prefetching.
+ */
+public class HeapRestorePrefetchTest extends TestLogger {
+
+	private static final int NUM_KEY_GROUPS = 16;
+
+	private static final int NUM_KEYS = 2000;
+
+	@Rule
+	public final TemporaryFolder tmp = new TemporaryFolder();
+
+	private final Random random = new Random();
+
+	private ExecutorService executor;
+
+	@Before
+	public void setup() {
+		executor = Executors.newFixedThreadPool(3);
+	}
+
+	@After
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testSequentialRead() throws Exception {
+		final byte[] data = randomBytes(10_000);
+		final StreamStateHandle handle = writeFile(data);
+
+		try (PrefetchingStateHandleInputStream in = new PrefetchingStateHandleInputStream(
+				handle, 100L, 9_000L, 64, 4, executor)) {
+
+			assertEquals(100L, in.getPos());
+			assertEquals(data[100] & 0xFF, in.read());
+
+			final byte[] buffer = new byte[1_000];
+			int pos = 101;
+			while (pos < 9_000) {
+				final int read = in.read(buffer, 0, buffer.length);
+				for (int i = 0; i < read; i++) {
+					assertEquals(data[pos + i], buffer[i]);
+				}
+				pos += read;
+				assertEquals(pos, in.getPos());
+			}
+			assertEquals(9_000, pos);
+			assertEquals(-1, in.read());
+			assertEquals(-1, in.read(buffer, 0, buffer.length));
+		}
+	}
+
+	@Test
+	public void testSeek() throws Exception {
+		final byte[] data = randomBytes(10_000);
+		final StreamStateHandle handle = writeFile(data);
+
+		try (PrefetchingStateHandleInputStream in = new PrefetchingStateHandleInputStream(
+				handle, 0L, data.length, 100, 4, executor)) {
+
+			assertEquals(data[0] & 0xFF, in.read());
+
+			// forward within the prefetched chunks
+			in.seek(250L);
+			assertEquals(data[250] & 0xFF, in.read());
+
+			// backwards within the current chunk
+			in.seek(210L);
+			assertEquals(data[210] & 0xFF, in.read());
+
+			// beyond the prefetched chunks
+			in.seek(5_555L);
+			assertEquals(data[5_555] & 0xFF, in.read());
+
+			// backwards before the current chunk
+			in.seek(42L);
+			final byte[] buffer = new byte[500];
+			int read = 0;
+			while (read < buffer.length) {
+				read += in.read(buffer, read, buffer.length - read);
+			}
+			final byte[] expected = new byte[500];
+			System.arraycopy(data, 42, expected, 0, expected.length);
+			assertArrayEquals(expected, buffer);
+
+			assertEquals(1_000L, in.skip(1_000L));
+			assertEquals(1_542L, in.getPos());
+			assertEquals(data[1_542] & 0xFF, in.read());
+
+			in.seek(data.length);
+			assertEquals(-1, in.read());
+		}
+	}
+
+	@Test
+	public void testReadAfterCloseFails() throws Exception {
+		final StreamStateHandle handle = writeFile(randomBytes(1_000));
+
+		final PrefetchingStateHandleInputStream in = new PrefetchingStateHandleInputStream(
+			handle, 0L, 1_000L, 100, 2, executor);
+		in.read();
+		in.close();
+		try {
+			in.read();
+			fail("Expected the closed stream to fail.");
+		} catch (IOException expected) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testTruncatedStateFails() throws Exception {
+		final StreamStateHandle handle = new FileStateHandle(writeFile(randomBytes(1_000)).getFilePath(), 2_000L);
+
+		try (PrefetchingStateHandleInputStream in = new PrefetchingStateHandleInputStream(
+				handle, 0L, 2_000L, 1_500, 2, executor)) {
+			in.read();
+			fail("Expected the read of the truncated state to fail.");
+		} catch (IOException expected) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testRestoreWithPrefetching() throws Exception {
+		final KeyedStateHandle snapshot = createSnapshot();
+		assertThat(snapshot, instanceOf(KeyGroupsStateHandle.class));
+		assertThat(((KeyGroupsStateHandle) snapshot).getDelegateStateHandle(), instanceOf(FileStateHandle.class));
+
+		final HeapRestorePrefetchOptions options = new HeapRestorePrefetchOptions(2, 1L);
+		verifyRestoredState(new KeyGroupRange(0, NUM_KEY_GROUPS - 1), snapshot, options);
+		// restores only some of the key-groups, which are not at the start of the state handle
+		verifyRestoredState(new KeyGroupRange(5, 9), snapshot, options);
+		verifyRestoredState(new KeyGroupRange(5, 9), snapshot, HeapRestorePrefetchOptions.defaults());
+	}
+
+	// ------------------------------------------------------------------------
+
+	private KeyedStateHandle createSnapshot() throws Exception {
+		final HeapKeyedStateBackend<Integer> backend = createKeyedBackend(
+			new KeyGroupRange(0, NUM_KEY_GROUPS - 1),
+			Collections.emptyList(),
+			HeapRestorePrefetchOptions.defaults());
+		try {
+			final ValueState<String> state = getState(backend);
+			for (int i = 0; i < NUM_KEYS; i++) {
+				backend.setCurrentKey(i);
+				state.update(valueForKey(i));
+			}
+
+			final FsCheckpointStreamFactory streamFactory = new FsCheckpointStreamFactory(
+				FileSystem.getLocalFileSystem(),
+				Path.fromLocalFile(tmp.newFolder()),
+				Path.fromLocalFile(tmp.newFolder()),
+				0,
+				4096);
+			final RunnableFuture<SnapshotResult<KeyedStateHandle>> snapshot =
+				backend.snapshot(0L, 0L, streamFactory, CheckpointOptions.forCheckpointWithDefaultLocation());
+			snapshot.run();
+			return snapshot.get().getJobManagerOwnedSnapshot();
+		} finally {
+			backend.dispose();
+		}
+	}
+
+	private static void verifyRestoredState(
+		KeyGroupRange keyGroupRange,
+		KeyedStateHandle snapshot,
+		HeapRestorePrefetchOptions options) throws Exception {
+
+		final HeapKeyedStateBackend<Integer> backend = createKeyedBackend(
+			keyGroupRange,
+			Collections.singletonList(snapshot.getIntersection(keyGroupRange)),
+			options);
+		try {
+			final ValueState<String> state = getState(backend);
+			for (int i = 0; i < NUM_KEYS; i++) {
+				if (keyGroupRange.contains(KeyGroupRangeAssignment.assignToKeyGroup(i, NUM_KEY_GROUPS))) {
+					backend.setCurrentKey(i);
+					assertEquals(valueForKey(i), state.value());
+				}
+			}
+			backend.setCurrentKey(-1);
+			assertNull(state.value());
+		} finally {
+			backend.dispose();
+		}
+	}
+
+	private static String valueForKey(int key) {
+		final StringBuilder value = new StringBuilder();
+		while (value.length() < 200) {
+			value.append(key).append('-');
+		}
+		return value.toString();
+	}
+
+	private static ValueState<String> getState(HeapKeyedStateBackend<Integer> backend) throws Exception {
+		return backend.getPartitionedState(
+			VoidNamespace.INSTANCE,
+			VoidNamespaceSerializer.INSTANCE,
+			new ValueStateDescriptor<>("state", StringSerializer.INSTANCE));
+	}
+
+	private static HeapKeyedStateBackend<Integer> createKeyedBackend(
+		KeyGroupRange keyGroupRange,
+		Collection<KeyedStateHandle> stateHandles,
+		HeapRestorePrefetchOptions options) throws Exception {
+
+		ExecutionConfig executionConfig = new ExecutionConfig();
+
+		return new HeapKeyedStateBackendBuilder<>(
+			mock(TaskKvStateRegistry.class),
+			IntSerializer.INSTANCE,
+			HeapRestorePrefetchTest.class.getClassLoader(),
+			NUM_KEY_GROUPS,
+			keyGroupRange,
+			executionConfig,
+			TtlTimeProvider.DEFAULT,
+			stateHandles,
+			AbstractStateBackend.getCompressionDecorator(executionConfig),
+			TestLocalRecoveryConfig.disabled(),
+			new HeapPriorityQueueSetFactory(keyGroupRange, NUM_KEY_GROUPS, 128),
+			true,
+			new CloseableRegistry())
+			.setRestorePrefetchOptions(options)
+			.build();
+	}
+
+	private FileStateHandle writeFile(byte[] data) throws IOException {
+		final File file = tmp.newFile();
+		Files.write(file.toPath(), data);
+		return new FileStateHandle(Path.fromLocalFile(file), data.length);
+	}
+
+	private byte[] randomBytes(int size) {
+		final byte[] bytes = new byte[size];
+		random.nextBytes(bytes);
+		return bytes;
+	}
+}
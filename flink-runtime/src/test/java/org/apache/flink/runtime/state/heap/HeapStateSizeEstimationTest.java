@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.heap;
+
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.state.StateDescriptor;
+import org.apache.flink.api.common.state.ValueState;
+import org.apache.flink.api.common.state.ValueStateDescriptor;
+import org.apache.flink.api.common.typeutils.base.IntSerializer;
+import org.apache.flink.api.common.typeutils.base.StringSerializer;
+import org.apache.flink.core.fs.CloseableRegistry;
+import org.apache.flink.runtime.checkpoint.CheckpointOptions;
+import org.apache.flink.runtime.execution.SuppressRestartsException;
+import org.apache.flink.runtime.query.TaskKvStateRegistry;
+import org.apache.flink.runtime.state.AbstractStateBackend;
+import org.apache.flink.runtime.state.KeyGroupRange;
+import org.apache.flink.runtime.state.KeyGroupedInternalPriorityQueue;
+import org.apache.flink.runtime.state.KeyedStateHandle;
+import org.apache.flink.runtime.state.RegisteredKeyValueStateBackendMetaInfo;
+import org.apache.flink.runtime.state.SnapshotResult;
+import org.apache.flink.runtime.state.TestLocalRecoveryConfig;
+import org.apache.flink.runtime.state.VoidNamespace;
+import org.apache.flink.runtime.state.VoidNamespaceSerializer;
+import org.apache.flink.runtime.state.memory.MemCheckpointStreamFactory;
+import org.apache.flink.runtime.state.ttl.TtlTimeProvider;
+import org.apache.flink.runtime.testutils.statemigration.TestType;
+import org.apache.flink.runtime.throwable.ThrowableClassifier;
+import org.apache.flink.runtime.throwable.ThrowableType;
+import org.apache.flink.util.FlinkRuntimeException;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.RunnableFuture;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for the state size estimation and the state size limit of the {@link HeapKeyedStateBackend}.
+ */
+public class HeapStateSizeEstimationTest extends TestLogger {
+
+	private static final int NUM_KEYS = 1000;
+
+	/** Serialized size of an entry: 4 bytes key, 1 byte void namespace, 1 + 10 bytes string value. */
+	private static final int ENTRY_SIZE = 4 + 1 + 11;
+
+	/** Serialized size of a priority queue element: 2 + 5 bytes key, 4 bytes value. */
+	private static final int ELEMENT_SIZE = 2 + 5 + 4;
+
+	private static final Duration NEVER = Duration.ofDays(365);
+
+	@Test
+	public void testEstimatedSizeOfUniformState() throws Exception {
+		HeapKeyedStateBackend<Integer> backend = createKeyedBackend(new HeapStateSizeEstimationOptions(8, NEVER, -1L));
+		try {
+			fillState(backend, "state", NUM_KEYS);
+			backend.updateStateSizeEstimation();
+
+			HeapStateSizeEstimator estimator = backend.getStateSizeEstimator();
+			assertEquals(NUM_KEYS * ENTRY_SIZE, estimator.getEstimatedStateSize("state"));
+			assertEquals(NUM_KEYS * ENTRY_SIZE, estimator.getEstimatedTotalSize());
+
+			long sumOfKeyGroups = 0L;
+			for (long keyGroupSize : estimator.getEstimatedKeyGroupSizes("state")) {
+				sumOfKeyGroups += keyGroupSize;
+				assertTrue(keyGroupSize <= estimator.getEstimatedMaxKeyGroupSize("state"));
+			}
+			assertEquals(estimator.getEstimatedStateSize("state"), sumOfKeyGroups);
+			assertEquals(0L, estimator.getEstimatedStateSize("unknown"));
+		} finally {
+			backend.dispose();
+		}
+	}
+
+	@Test
+	public void testEstimatedSizeIncludesPriorityQueues() throws Exception {
+		HeapKeyedStateBackend<Integer> backend = createKeyedBackend(new HeapStateSizeEstimationOptions(8, NEVER, -1L));
+		try {
+			fillState(backend, "state", NUM_KEYS);
+			KeyGroupedInternalPriorityQueue<TestType> timers =
+				backend.create("timers", new TestType.V1TestTypeSerializer());
+			for (int i = 0; i < NUM_KEYS; i++) {
+				timers.add(new TestType(String.format("%05d", i), i));
+			}
+			backend.updateStateSizeEstimation();
+
+			HeapStateSizeEstimator estimator = backend.getStateSizeEstimator();
+			assertEquals(NUM_KEYS * ELEMENT_SIZE, estimator.getEstimatedStateSize("timers"));
+			assertEquals(NUM_KEYS * (ENTRY_SIZE + ELEMENT_SIZE), estimator.getEstimatedTotalSize());
+		} finally {
+			backend.dispose();
+		}
+	}
+
+	@Test
+	public void testSamplingIsNotBiasedTowardsFirstEntries() throws Exception {
+		final KeyGroupRange keyGroupRange = KeyGroupRange.of(0, 0);
+		final CopyOnWriteStateTable<Integer, VoidNamespace, String> stateTable = new CopyOnWriteStateTable<>(
+			new InternalKeyContextImpl<>(keyGroupRange, 1),
+			new RegisteredKeyValueStateBackendMetaInfo<>(
+				StateDescriptor.Type.VALUE,
+				"state",
+				VoidNamespaceSerializer.INSTANCE,
+				StringSerializer.INSTANCE),
+			IntSerializer.INSTANCE);
+		stateTable.put(0, 0, VoidNamespace.INSTANCE, "a");
+		stateTable.put(1, 0, VoidNamespace.INSTANCE, String.join("", Collections.nCopies(1000, "b")));
+
+		// with a single sampled entry per key-group, every entry must get sampled eventually
+		HeapStateSizeEstimator estimator = new HeapStateSizeEstimator(1, keyGroupRange, new Random(42L));
+		Set<Long> estimates = new HashSet<>();
+		for (int i = 0; i < 64; i++) {
+			estimates.add(estimator.update(Collections.singletonMap("state", stateTable), Collections.emptyMap()));
+		}
+		assertEquals(2, estimates.size());
+	}
+
+	@Test
+	public void testEstimationIndependentOfCheckpoints() throws Exception {
+		HeapKeyedStateBackend<Integer> backend = createKeyedBackend(
+			new HeapStateSizeEstimationOptions(8, Duration.ZERO, -1L));
+		try {
+			// the size is only re-estimated every KEY_SELECTIONS_PER_ESTIMATION_CHECK key selections
+			fillState(backend, "state", NUM_KEYS);
+			assertEquals(0L, backend.getStateSizeEstimator().getEstimatedTotalSize());
+
+			selectKeys(backend, HeapKeyedStateBackend.KEY_SELECTIONS_PER_ESTIMATION_CHECK - NUM_KEYS);
+			assertEquals(NUM_KEYS * ENTRY_SIZE, backend.getStateSizeEstimator().getEstimatedTotalSize());
+		} finally {
+			backend.dispose();
+		}
+
+		backend = createKeyedBackend(new HeapStateSizeEstimationOptions(8, NEVER, -1L));
+		try {
+			// neither key selections before the interval elapsed nor snapshots estimate the size
+			fillState(backend, "state", NUM_KEYS);
+			selectKeys(backend, HeapKeyedStateBackend.KEY_SELECTIONS_PER_ESTIMATION_CHECK);
+			snapshot(backend);
+			assertEquals(0L, backend.getStateSizeEstimator().getEstimatedTotalSize());
+		} finally {
+			backend.dispose();
+		}
+	}
+
+	@Test
+	public void testStateSizeLimitIsEnforced() throws Exception {
+		HeapKeyedStateBackend<Integer> backend = createKeyedBackend(
+			new HeapStateSizeEstimationOptions(8, Duration.ZERO, NUM_KEYS * ENTRY_SIZE));
+		try {
+			fillState(backend, "state", NUM_KEYS);
+			fillState(backend, "other-state", 1);
+
+			// the limit is not enforced in the synchronous part of a snapshot
+			snapshot(backend);
+
+			try {
+				selectKeys(backend, HeapKeyedStateBackend.KEY_SELECTIONS_PER_ESTIMATION_CHECK);
+				fail("Expected the state size limit to be exceeded.");
+			} catch (SuppressRestartsException e) {
+				// the state restored from the last checkpoint would exceed the limit again
+				assertTrue(ThrowableClassifier.findThrowableOfThrowableType(e, ThrowableType.NonRecoverableError).isPresent());
+				assertThat(e.getCause(), instanceOf(FlinkRuntimeException.class));
+				assertThat(e.getCause().getMessage(), containsString("state.backend.heap.size-limit"));
+				assertThat(e.getCause().getMessage(), containsString("state ("));
+			}
+		} finally {
+			backend.dispose();
+		}
+	}
+
+	private static void snapshot(HeapKeyedStateBackend<Integer> backend) throws Exception {
+		RunnableFuture<SnapshotResult<KeyedStateHandle>> snapshot = backend.snapshot(
+			1L,
+			1L,
+			new MemCheckpointStreamFactory(4 * 1024 * 1024),
+			CheckpointOptions.forCheckpointWithDefaultLocation());
+		snapshot.run();
+		snapshot.get();
+	}
+
+	private static void fillState(HeapKeyedStateBackend<Integer> backend, String stateName, int numKeys) throws Exception {
+		ValueState<String> state = backend.getPartitionedState(
+			VoidNamespace.INSTANCE,
+			VoidNamespaceSerializer.INSTANCE,
+			new ValueStateDescriptor<>(stateName, StringSerializer.INSTANCE));
+
+		for (int i = 0; i < numKeys; i++) {
+			backend.setCurrentKey(i);
+			state.update("0123456789");
+		}
+	}
+
+	private static void selectKeys(HeapKeyedStateBackend<Integer> backend, int numSelections) {
+		for (int i = 0; i < numSelections; i++) {
+			backend.setCurrentKey(i % NUM_KEYS);
+		}
+	}
+
+	private static HeapKeyedStateBackend<Integer> createKeyedBackend(
+		HeapStateSizeEstimationOptions options) throws Exception {
+
+		final KeyGroupRange keyGroupRange = new KeyGroupRange(0, 15);
+		final int numKeyGroups = keyGroupRange.getNumberOfKeyGroups();
+		ExecutionConfig executionConfig = new ExecutionConfig();
+
+		return new HeapKeyedStateBackendBuilder<>(
+			mock(TaskKvStateRegistry.class),
+			IntSerializer.INSTANCE,
+			HeapStateSizeEstimationTest.class.getClassLoader(),
+			numKeyGroups,
+			keyGroupRange,
+			executionConfig,
+			TtlTimeProvider.DEFAULT,
+			Collections.emptyList(),
+			AbstractStateBackend.getCompressionDecorator(executionConfig),
+			TestLocalRecoveryConfig.disabled(),
+			new HeapPriorityQueueSetFactory(keyGroupRange, numKeyGroups, 128),
+			true,
+			new CloseableRegistry())
+			.setStateSizeEstimationOptions(options)
+			.build();
+	}
+}
@@ -27,6 +27,7 @@ import org.apache.flink.runtime.memory.MemoryManager;
 import org.apache.flink.runtime.query.KvStateRegistry;
 import org.apache.flink.runtime.registration.RetryingRegistrationConfiguration;
 import org.apache.flink.runtime.shuffle.ShuffleEnvironment;
+import org.apache.flink.runtime.state.CheckpointUploadThrottle;
 import org.apache.flink.runtime.state.TaskExecutorLocalStateStoresManager;
 import org.apache.flink.runtime.taskexecutor.slot.TaskSlotTable;
 import org.apache.flink.runtime.taskexecutor.slot.TestingTaskSlotTable;
@@ -59,6 +60,7 @@ public class TaskManagerServicesBuilder {
 	private ExecutorService ioExecutor;
 	private LibraryCacheManager libraryCacheManager;
 	private long managedMemorySize;
+	private CheckpointUploadThrottle checkpointUploadThrottle;
 
 	public TaskManagerServicesBuilder() {
 		unresolvedTaskManagerLocation = new LocalUnresolvedTaskManagerLocation();
@@ -74,6 +76,7 @@ public class TaskManagerServicesBuilder {
 		ioExecutor = TestingUtils.defaultExecutor();
 		libraryCacheManager = TestingLibraryCacheManager.newBuilder().build();
 		managedMemorySize = MemoryManager.MIN_PAGE_SIZE;
+		checkpointUploadThrottle = new CheckpointUploadThrottle();
 	}
 
 	public TaskManagerServicesBuilder setUnresolvedTaskManagerLocation(UnresolvedTaskManagerLocation unresolvedTaskManagerLocation) {
@@ -136,6 +139,11 @@ public class TaskManagerServicesBuilder {
 		return this;
 	}
 
+	public TaskManagerServicesBuilder setCheckpointUploadThrottle(CheckpointUploadThrottle checkpointUploadThrottle) {
+		this.checkpointUploadThrottle = checkpointUploadThrottle;
+		return this;
+	}
+
 	public TaskManagerServices build() {
 		return new TaskManagerServices(
 			unresolvedTaskManagerLocation,
@@ -150,6 +158,7 @@ public class TaskManagerServicesBuilder {
 			taskStateManager,
 			taskEventDispatcher,
 			ioExecutor,
-			libraryCacheManager);
+			libraryCacheManager,
+			checkpointUploadThrottle);
 	}
 }
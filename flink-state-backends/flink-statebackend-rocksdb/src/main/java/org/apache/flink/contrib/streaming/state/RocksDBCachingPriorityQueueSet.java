@@ -38,12 +38,16 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.TreeSet;
+import java.util.function.Predicate;
 
 import static org.apache.flink.contrib.streaming.state.RocksDBCachingPriorityQueueSet.OrderedByteArraySetCache.LEXICOGRAPHIC_BYTE_COMPARATOR;
 
@@ -60,6 +64,13 @@ public class RocksDBCachingPriorityQueueSet<E extends HeapPriorityQueueElement>
 	/** Serialized empty value to insert into RocksDB. */
 	private static final byte[] DUMMY_BYTES = new byte[] {};
 
+	/**
+	 * Minimum number of elements removed by {@link #pollAll(Predicate)} to use a single range delete instead of point
+	 * deletes. Range tombstones are more expensive for reads than point tombstones, so we only use them for large
+	 * bulks, e.g. when a watermark fires all timers of a window.
+	 */
+	private static final int MIN_ELEMENTS_FOR_RANGE_DELETE = 128;
+
 	/** The RocksDB instance that serves as store. */
 	@Nonnull
 	private final RocksDB db;
@@ -184,6 +195,64 @@ public class RocksDBCachingPriorityQueueSet<E extends HeapPriorityQueueElement>
 		}
 	}
 
+	/**
+	 * Removes all matching elements of this key-group with a single ordered scan over RocksDB. If enough elements are
+	 * removed, they are deleted with a single range delete from the start of the key-group up to the last removed
+	 * element.
+	 */
+	@Nonnull
+	@Override
+	public List<E> pollAll(@Nonnull Predicate<E> canPoll, @Nonnegative int maxElements) {
+
+		final E head = peek();
+		if (head == null || maxElements == 0 || !canPoll.test(head)) {
+			return Collections.emptyList();
+		}
+
+		final List<E> polled = new ArrayList<>();
+		byte[] lastPolledBytes = null;
+
+		// the scan starts at the head of the cache, which is the first element of the key-group. The seek hint is not
+		// a valid lower bound here, because elements smaller than the hint can be added after the cache ran empty.
+		try (final RocksBytesIterator iterator = orderedBytesIterator(orderedCache.peekFirst())) {
+			while (polled.size() < maxElements && iterator.hasNext()) {
+				final byte[] elementBytes = iterator.next();
+				final E element = deserializeElement(elementBytes);
+				if (!canPoll.test(element)) {
+					break;
+				}
+				polled.add(element);
+				lastPolledBytes = elementBytes;
+			}
+		}
+
+		// the head satisfies the predicate, so we polled at least one element
+		assert lastPolledBytes != null;
+
+		// write-through sync
+		if (polled.size() >= MIN_ELEMENTS_FOR_RANGE_DELETE) {
+			// all elements of the key-group up to the last polled one are polled, the end key of the range is exclusive
+			removeRangeFromRocksDB(groupPrefixBytes, Arrays.copyOf(lastPolledBytes, lastPolledBytes.length + 1));
+		} else {
+			for (E element : polled) {
+				removeFromRocksDB(serializeElement(element));
+			}
+		}
+
+		byte[] cachedBytes;
+		while ((cachedBytes = orderedCache.peekFirst()) != null &&
+			LEXICOGRAPHIC_BYTE_COMPARATOR.compare(cachedBytes, lastPolledBytes) <= 0) {
+			orderedCache.pollFirst();
+		}
+
+		if (orderedCache.isEmpty()) {
+			seekHint = lastPolledBytes;
+		}
+
+		peekCache = null;
+		return polled;
+	}
+
 	@Override
 	public boolean add(@Nonnull E toAdd) {
 
@@ -307,10 +376,22 @@ public class RocksDBCachingPriorityQueueSet<E extends HeapPriorityQueueElement>
 
 	@Nonnull
 	private RocksBytesIterator orderedBytesIterator() {
+		// We use our knowledge about the lower bound to issue a seek that is as close to the first element in the
+		// key-group as possible, i.e. we generate the next possible key after seekHint by appending one zero-byte.
+		return orderedBytesIterator(Arrays.copyOf(seekHint, seekHint.length + 1));
+	}
+
+	/**
+	 * Returns an ordered iterator over the elements of the key-group, starting at the first element that is greater
+	 * than or equal to the given key.
+	 */
+	@Nonnull
+	private RocksBytesIterator orderedBytesIterator(@Nonnull byte[] seekKey) {
 		flushWriteBatch();
 		return new RocksBytesIterator(
 			new RocksIteratorWrapper(
-				db.newIterator(columnFamilyHandle, readOptions)));
+				db.newIterator(columnFamilyHandle, readOptions)),
+			seekKey);
 	}
 
 	/**
@@ -340,6 +421,14 @@ public class RocksDBCachingPriorityQueueSet<E extends HeapPriorityQueueElement>
 		}
 	}
 
+	private void removeRangeFromRocksDB(@Nonnull byte[] beginBytes, @Nonnull byte[] endBytes) {
+		try {
+			batchWrapper.removeRange(columnFamilyHandle, beginBytes, endBytes);
+		} catch (RocksDBException e) {
+			throw new FlinkRuntimeException(e);
+		}
+	}
+
 	private void checkRefillCacheFromStore() {
 		if (!allElementsInCache && orderedCache.isEmpty()) {
 			try (final RocksBytesIterator iterator = orderedBytesIterator()) {
@@ -440,13 +529,10 @@ public class RocksDBCachingPriorityQueueSet<E extends HeapPriorityQueueElement>
 		@Nullable
 		private byte[] currentElement;
 
-		private RocksBytesIterator(@Nonnull RocksIteratorWrapper iterator) {
+		private RocksBytesIterator(@Nonnull RocksIteratorWrapper iterator, @Nonnull byte[] seekKey) {
 			this.iterator = iterator;
 			try {
-				// We use our knowledge about the lower bound to issue a seek that is as close to the first element in
-				// the key-group as possible, i.e. we generate the next possible key after seekHint by appending one
-				// zero-byte.
-				iterator.seek(Arrays.copyOf(seekHint, seekHint.length + 1));
+				iterator.seek(seekKey);
 				currentElement = nextElementIfAvailable();
 			} catch (Exception ex) {
 				// ensure resource cleanup also in the face of (runtime) exceptions in the constructor.
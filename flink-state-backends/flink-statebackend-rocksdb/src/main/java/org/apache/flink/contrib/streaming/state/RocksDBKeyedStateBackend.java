@@ -40,6 +40,7 @@ import org.apache.flink.core.fs.CloseableRegistry;
 import org.apache.flink.core.memory.DataInputDeserializer;
 import org.apache.flink.core.memory.DataOutputSerializer;
 import org.apache.flink.runtime.checkpoint.CheckpointOptions;
+import org.apache.flink.runtime.memory.OpaqueMemoryResource;
 import org.apache.flink.runtime.query.TaskKvStateRegistry;
 import org.apache.flink.runtime.state.AbstractKeyedStateBackend;
 import org.apache.flink.runtime.state.CheckpointStreamFactory;
@@ -76,6 +77,7 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import java.io.File;
 import java.io.IOException;
@@ -208,6 +210,13 @@ public class RocksDBKeyedStateBackend<K> extends AbstractKeyedStateBackend<K> {
 
 	private final RocksDbTtlCompactFiltersManager ttlCompactFiltersManager;
 
+	/** The prefix of the names of the column families of this backend, empty unless the instance is shared. */
+	private final String columnFamilyNamePrefix;
+
+	/** The lease on the RocksDB instance shared by the slot, or null if this backend owns its instance. */
+	@Nullable
+	private final OpaqueMemoryResource<RocksDBSharedInstance> sharedInstance;
+
 	public RocksDBKeyedStateBackend(
 		ClassLoader userCodeClassLoader,
 		File instanceBasePath,
@@ -232,7 +241,9 @@ public class RocksDBKeyedStateBackend<K> extends AbstractKeyedStateBackend<K> {
 		PriorityQueueSetFactory priorityQueueFactory,
 		RocksDbTtlCompactFiltersManager ttlCompactFiltersManager,
 		InternalKeyContext<K> keyContext,
-		@Nonnegative long writeBatchSize) {
+		@Nonnegative long writeBatchSize,
+		@Nonnull String columnFamilyNamePrefix,
+		@Nullable OpaqueMemoryResource<RocksDBSharedInstance> sharedInstance) {
 
 		super(
 			kvStateRegistry,
@@ -246,6 +257,9 @@ public class RocksDBKeyedStateBackend<K> extends AbstractKeyedStateBackend<K> {
 
 		this.ttlCompactFiltersManager = ttlCompactFiltersManager;
 
+		this.columnFamilyNamePrefix = Preconditions.checkNotNull(columnFamilyNamePrefix);
+		this.sharedInstance = sharedInstance;
+
 		// ensure that we use the right merge operator, because other code relies on this
 		this.columnFamilyOptionsFactory = Preconditions.checkNotNull(columnFamilyOptionsFactory);
 
@@ -371,21 +385,30 @@ public class RocksDBKeyedStateBackend<K> extends AbstractKeyedStateBackend<K> {
 
 			List<ColumnFamilyOptions> columnFamilyOptions = new ArrayList<>(kvStateInformation.values().size());
 
-			// RocksDB's native memory management requires that *all* CFs (including default) are closed before the
-			// DB is closed. See:
-			// https://github.com/facebook/rocksdb/wiki/RocksJava-Basics#opening-a-database-with-column-families
-			// Start with default CF ...
-			RocksDBOperationUtils.addColumnFamilyOptionsToCloseLater(columnFamilyOptions, defaultColumnFamily);
-			IOUtils.closeQuietly(defaultColumnFamily);
-
-			// ... continue with the ones created by Flink...
-			for (RocksDbKvStateInfo kvStateInfo : kvStateInformation.values()) {
-				RocksDBOperationUtils.addColumnFamilyOptionsToCloseLater(columnFamilyOptions, kvStateInfo.columnFamilyHandle);
-				IOUtils.closeQuietly(kvStateInfo.columnFamilyHandle);
-			}
+			if (sharedInstance == null) {
+				// RocksDB's native memory management requires that *all* CFs (including default) are closed before the
+				// DB is closed. See:
+				// https://github.com/facebook/rocksdb/wiki/RocksJava-Basics#opening-a-database-with-column-families
+				// Start with default CF ...
+				RocksDBOperationUtils.addColumnFamilyOptionsToCloseLater(columnFamilyOptions, defaultColumnFamily);
+				IOUtils.closeQuietly(defaultColumnFamily);
+
+				// ... continue with the ones created by Flink...
+				for (RocksDbKvStateInfo kvStateInfo : kvStateInformation.values()) {
+					RocksDBOperationUtils.addColumnFamilyOptionsToCloseLater(columnFamilyOptions, kvStateInfo.columnFamilyHandle);
+					IOUtils.closeQuietly(kvStateInfo.columnFamilyHandle);
+				}
 
-			// ... and finally close the DB instance ...
-			IOUtils.closeQuietly(db);
+				// ... and finally close the DB instance ...
+				IOUtils.closeQuietly(db);
+			} else {
+				// the shared instance stays open for the other backends of the slot, so we only drop our own CFs
+				for (RocksDbKvStateInfo kvStateInfo : kvStateInformation.values()) {
+					RocksDBOperationUtils.addColumnFamilyOptionsToCloseLater(columnFamilyOptions, kvStateInfo.columnFamilyHandle);
+					RocksDBOperationUtils.dropColumnFamilyQuietly(db, kvStateInfo.columnFamilyHandle);
+					IOUtils.closeQuietly(kvStateInfo.columnFamilyHandle);
+				}
+			}
 
 			columnFamilyOptions.forEach(IOUtils::closeQuietly);
 
@@ -395,6 +418,11 @@ public class RocksDBKeyedStateBackend<K> extends AbstractKeyedStateBackend<K> {
 
 			kvStateInformation.clear();
 
+			if (sharedInstance != null) {
+				// releases the lease on the shared instance, the last backend of the slot closes it
+				IOUtils.closeQuietly(sharedInstance);
+			}
+
 			cleanInstanceBasePath();
 		}
 		this.disposed = true;
@@ -545,7 +573,7 @@ public class RocksDBKeyedStateBackend<K> extends AbstractKeyedStateBackend<K> {
 				StateSnapshotTransformFactory.noTransform());
 
 			newRocksStateInfo = RocksDBOperationUtils.createStateInfo(
-				newMetaInfo, db, columnFamilyOptionsFactory, ttlCompactFiltersManager);
+				newMetaInfo, db, columnFamilyOptionsFactory, ttlCompactFiltersManager, columnFamilyNamePrefix);
 			RocksDBOperationUtils.registerKvStateInformation(this.kvStateInformation, this.nativeMetricMonitor,
 				stateDesc.getName(), newRocksStateInfo);
 		}
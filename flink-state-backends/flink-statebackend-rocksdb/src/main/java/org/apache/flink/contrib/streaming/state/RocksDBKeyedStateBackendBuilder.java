@@ -32,6 +32,7 @@ import org.apache.flink.contrib.streaming.state.snapshot.RocksIncrementalSnapsho
 import org.apache.flink.contrib.streaming.state.ttl.RocksDbTtlCompactFiltersManager;
 import org.apache.flink.core.fs.CloseableRegistry;
 import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.runtime.memory.OpaqueMemoryResource;
 import org.apache.flink.runtime.query.TaskKvStateRegistry;
 import org.apache.flink.runtime.state.AbstractKeyedStateBackendBuilder;
 import org.apache.flink.runtime.state.BackendBuildingException;
@@ -59,6 +60,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import java.io.File;
 import java.io.IOException;
@@ -108,10 +110,17 @@ public class RocksDBKeyedStateBackendBuilder<K> extends AbstractKeyedStateBacken
 	/** True if incremental checkpointing is enabled. */
 	private boolean enableIncrementalCheckpointing;
 
+	/** True if savepoints are taken in the native RocksDB format. */
+	private boolean enableNativeSavepoints;
+
 	private RocksDBNativeMetricOptions nativeMetricOptions;
 	private int numberOfTransferingThreads;
 	private long writeBatchSize = RocksDBConfigurableOptions.WRITE_BATCH_SIZE.defaultValue().getBytes();
 
+	/** The lease on the RocksDB instance shared by the slot, or null if the backend uses an instance of its own. */
+	@Nullable
+	private OpaqueMemoryResource<RocksDBSharedInstance> sharedInstance;
+
 	private RocksDB injectedTestDB; // for testing
 	private ColumnFamilyHandle injectedDefaultColumnFamilyHandle; // for testing
 
@@ -209,6 +218,11 @@ public class RocksDBKeyedStateBackendBuilder<K> extends AbstractKeyedStateBacken
 		return this;
 	}
 
+	RocksDBKeyedStateBackendBuilder<K> setEnableNativeSavepoints(boolean enableNativeSavepoints) {
+		this.enableNativeSavepoints = enableNativeSavepoints;
+		return this;
+	}
+
 	RocksDBKeyedStateBackendBuilder<K> setNativeMetricOptions(RocksDBNativeMetricOptions nativeMetricOptions) {
 		this.nativeMetricOptions = nativeMetricOptions;
 		return this;
@@ -225,6 +239,15 @@ public class RocksDBKeyedStateBackendBuilder<K> extends AbstractKeyedStateBacken
 		return this;
 	}
 
+	/**
+	 * Lets the backend create its column families in the given shared instance instead of opening an instance
+	 * of its own. The backend takes over the given lease and releases it when it is disposed.
+	 */
+	RocksDBKeyedStateBackendBuilder<K> setSharedInstance(@Nullable OpaqueMemoryResource<RocksDBSharedInstance> sharedInstance) {
+		this.sharedInstance = sharedInstance;
+		return this;
+	}
+
 	private static void checkAndCreateDirectory(File directory) throws IOException {
 		if (directory.exists()) {
 			if (!directory.isDirectory()) {
@@ -253,6 +276,8 @@ public class RocksDBKeyedStateBackendBuilder<K> extends AbstractKeyedStateBacken
 		RocksDBSerializedCompositeKeyBuilder<K> sharedRocksKeyBuilder;
 		// Number of bytes required to prefix the key groups.
 		int keyGroupPrefixBytes = RocksDBKeySerializationUtils.computeRequiredBytesInKeyGroupPrefix(numberOfKeyGroups);
+		// the column families of all backends in a shared instance are distinguished by the unique instance path
+		String columnFamilyNamePrefix = sharedInstance != null ? instanceBasePath.getName() + "/" : "";
 		try {
 			// Variables for snapshot strategy when incremental checkpoint is enabled
 			UUID backendUID = UUID.randomUUID();
@@ -264,9 +289,18 @@ public class RocksDBKeyedStateBackendBuilder<K> extends AbstractKeyedStateBacken
 				nativeMetricMonitor = nativeMetricOptions.isEnabled() ?
 					new RocksDBNativeMetricMonitor(nativeMetricOptions, metricGroup, db) : null;
 			} else {
+				if (sharedInstance != null && enableIncrementalCheckpointing) {
+					throw new BackendBuildingException(
+						"Incremental checkpoints are not supported with a RocksDB instance shared per slot.");
+				}
+				if (sharedInstance != null && enableNativeSavepoints) {
+					throw new BackendBuildingException(
+						"Native savepoints are not supported with a RocksDB instance shared per slot.");
+				}
 				prepareDirectories();
 				restoreOperation = getRocksDBRestoreOperation(
-					keyGroupPrefixBytes, cancelStreamRegistry, kvStateInformation, ttlCompactFiltersManager);
+					keyGroupPrefixBytes, cancelStreamRegistry, kvStateInformation, ttlCompactFiltersManager,
+					columnFamilyNamePrefix);
 				RocksDBRestoreResult restoreResult = restoreOperation.restore();
 				db = restoreResult.getDb();
 				defaultColumnFamilyHandle = restoreResult.getDefaultColumnFamilyHandle();
@@ -295,7 +329,8 @@ public class RocksDBKeyedStateBackendBuilder<K> extends AbstractKeyedStateBacken
 				kvStateInformation,
 				db,
 				writeBatchWrapper,
-				nativeMetricMonitor);
+				nativeMetricMonitor,
+				columnFamilyNamePrefix);
 		} catch (Throwable e) {
 			// Do clean up
 			List<ColumnFamilyOptions> columnFamilyOptions = new ArrayList<>(kvStateInformation.values().size());
@@ -306,13 +341,20 @@ public class RocksDBKeyedStateBackendBuilder<K> extends AbstractKeyedStateBacken
 			IOUtils.closeQuietly(nativeMetricMonitor);
 			for (RocksDBKeyedStateBackend.RocksDbKvStateInfo kvStateInfo : kvStateInformation.values()) {
 				RocksDBOperationUtils.addColumnFamilyOptionsToCloseLater(columnFamilyOptions, kvStateInfo.columnFamilyHandle);
+				if (sharedInstance != null) {
+					RocksDBOperationUtils.dropColumnFamilyQuietly(
+						sharedInstance.getResourceHandle().getDb(), kvStateInfo.columnFamilyHandle);
+				}
 				IOUtils.closeQuietly(kvStateInfo.columnFamilyHandle);
 			}
-			IOUtils.closeQuietly(db);
+			if (sharedInstance == null) {
+				IOUtils.closeQuietly(db);
+			}
 			// it's possible that db has been initialized but later restore steps failed
 			IOUtils.closeQuietly(restoreOperation);
 			IOUtils.closeAllQuietly(columnFamilyOptions);
 			IOUtils.closeQuietly(optionsContainer);
+			IOUtils.closeQuietly(sharedInstance);
 			ttlCompactFiltersManager.disposeAndClearRegisteredCompactionFactories();
 			kvStateInformation.clear();
 			try {
@@ -357,15 +399,19 @@ public class RocksDBKeyedStateBackendBuilder<K> extends AbstractKeyedStateBacken
 			priorityQueueFactory,
 			ttlCompactFiltersManager,
 			keyContext,
-			writeBatchSize);
+			writeBatchSize,
+			columnFamilyNamePrefix,
+			sharedInstance);
 	}
 
 	private AbstractRocksDBRestoreOperation<K> getRocksDBRestoreOperation(
 		int keyGroupPrefixBytes,
 		CloseableRegistry cancelStreamRegistry,
 		LinkedHashMap<String, RocksDBKeyedStateBackend.RocksDbKvStateInfo> kvStateInformation,
-		RocksDbTtlCompactFiltersManager ttlCompactFiltersManager) {
+		RocksDbTtlCompactFiltersManager ttlCompactFiltersManager,
+		String columnFamilyNamePrefix) throws BackendBuildingException {
 		DBOptions dbOptions = optionsContainer.getDbOptions();
+		RocksDBSharedInstance sharedDb = sharedInstance != null ? sharedInstance.getResourceHandle() : null;
 		if (restoreStateHandles.isEmpty()) {
 			return new RocksDBNoneRestoreOperation<>(
 				keyGroupRange,
@@ -382,10 +428,16 @@ public class RocksDBKeyedStateBackendBuilder<K> extends AbstractKeyedStateBacken
 				nativeMetricOptions,
 				metricGroup,
 				restoreStateHandles,
-				ttlCompactFiltersManager);
+				ttlCompactFiltersManager,
+				sharedDb,
+				columnFamilyNamePrefix);
 		}
 		KeyedStateHandle firstStateHandle = restoreStateHandles.iterator().next();
 		if (firstStateHandle instanceof IncrementalKeyedStateHandle) {
+			if (sharedDb != null) {
+				throw new BackendBuildingException("Cannot restore an incremental checkpoint into a RocksDB " +
+					"instance shared per slot, please restore from a savepoint or a full checkpoint.");
+			}
 			return new RocksDBIncrementalRestoreOperation<>(
 				operatorIdentifier,
 				keyGroupRange,
@@ -421,6 +473,8 @@ public class RocksDBKeyedStateBackendBuilder<K> extends AbstractKeyedStateBacken
 				metricGroup,
 				restoreStateHandles,
 				ttlCompactFiltersManager,
+				sharedDb,
+				columnFamilyNamePrefix,
 				writeBatchSize);
 		}
 	}
@@ -434,7 +488,7 @@ public class RocksDBKeyedStateBackendBuilder<K> extends AbstractKeyedStateBacken
 		UUID backendUID,
 		SortedMap<Long, Set<StateHandleID>> materializedSstFiles,
 		long lastCompletedCheckpointId) {
-		RocksDBSnapshotStrategyBase<K> savepointSnapshotStrategy = new RocksFullSnapshotStrategy<>(
+		RocksDBSnapshotStrategyBase<K> fullSnapshotStrategy = new RocksFullSnapshotStrategy<>(
 			db,
 			rocksDBResourceGuard,
 			keySerializerProvider.currentSchemaSerializer(),
@@ -444,10 +498,10 @@ public class RocksDBKeyedStateBackendBuilder<K> extends AbstractKeyedStateBacken
 			localRecoveryConfig,
 			cancelStreamRegistry,
 			keyGroupCompressionDecorator);
-		RocksDBSnapshotStrategyBase<K> checkpointSnapshotStrategy;
-		if (enableIncrementalCheckpointing) {
-			// TODO eventually we might want to separate savepoint and snapshot strategy, i.e. having 2 strategies.
-			checkpointSnapshotStrategy = new RocksIncrementalSnapshotStrategy<>(
+		RocksIncrementalSnapshotStrategy<K> incrementalSnapshotStrategy = null;
+		if (enableIncrementalCheckpointing || enableNativeSavepoints) {
+			// the incremental strategy also takes the native savepoints, which are self-contained
+			incrementalSnapshotStrategy = new RocksIncrementalSnapshotStrategy<>(
 				db,
 				rocksDBResourceGuard,
 				keySerializerProvider.currentSchemaSerializer(),
@@ -461,9 +515,11 @@ public class RocksDBKeyedStateBackendBuilder<K> extends AbstractKeyedStateBacken
 				materializedSstFiles,
 				lastCompletedCheckpointId,
 				numberOfTransferingThreads);
-		} else {
-			checkpointSnapshotStrategy = savepointSnapshotStrategy;
 		}
+		RocksDBSnapshotStrategyBase<K> checkpointSnapshotStrategy =
+			enableIncrementalCheckpointing ? incrementalSnapshotStrategy : fullSnapshotStrategy;
+		RocksDBSnapshotStrategyBase<K> savepointSnapshotStrategy =
+			enableNativeSavepoints ? incrementalSnapshotStrategy : fullSnapshotStrategy;
 		return new SnapshotStrategy<>(checkpointSnapshotStrategy, savepointSnapshotStrategy);
 	}
 
@@ -472,7 +528,8 @@ public class RocksDBKeyedStateBackendBuilder<K> extends AbstractKeyedStateBacken
 		Map<String, RocksDBKeyedStateBackend.RocksDbKvStateInfo> kvStateInformation,
 		RocksDB db,
 		RocksDBWriteBatchWrapper writeBatchWrapper,
-		RocksDBNativeMetricMonitor nativeMetricMonitor) {
+		RocksDBNativeMetricMonitor nativeMetricMonitor,
+		String columnFamilyNamePrefix) {
 		PriorityQueueSetFactory priorityQueueFactory;
 		switch (priorityQueueStateType) {
 			case HEAP:
@@ -488,7 +545,8 @@ public class RocksDBKeyedStateBackendBuilder<K> extends AbstractKeyedStateBacken
 					optionsContainer.getReadOptions(),
 					writeBatchWrapper,
 					nativeMetricMonitor,
-					columnFamilyOptionsFactory
+					columnFamilyOptionsFactory,
+					columnFamilyNamePrefix
 				);
 				break;
 			default:
@@ -30,11 +30,13 @@ import org.apache.flink.queryablestate.client.state.serialization.KvStateSeriali
 import org.apache.flink.runtime.state.KeyGroupRangeAssignment;
 import org.apache.flink.runtime.state.RegisteredKeyValueStateBackendMetaInfo;
 import org.apache.flink.runtime.state.StateSnapshotTransformer;
-import org.apache.flink.runtime.state.internal.InternalMapState;
+import org.apache.flink.runtime.state.internal.InternalOrderedMapState;
 import org.apache.flink.util.FlinkRuntimeException;
 import org.apache.flink.util.Preconditions;
 import org.apache.flink.util.StateMigrationException;
 
+import org.apache.flink.shaded.guava18.com.google.common.primitives.UnsignedBytes;
+
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
@@ -48,6 +50,7 @@ import javax.annotation.Nullable;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.Map;
 
@@ -56,6 +59,10 @@ import static org.apache.flink.util.Preconditions.checkArgument;
 /**
  * {@link MapState} implementation that stores state in RocksDB.
  *
+ * <p>Each entry of the map is stored as a separate RocksDB entry, keyed by the serialized key, namespace and
+ * user key. The entries of a map are therefore ordered by their serialized user keys, which this state
+ * exposes through {@link InternalOrderedMapState}.
+ *
  * @param <K> The type of the key.
  * @param <N> The type of the namespace.
  * @param <UK> The type of the keys in the map state.
@@ -63,10 +70,13 @@ import static org.apache.flink.util.Preconditions.checkArgument;
  */
 class RocksDBMapState<K, N, UK, UV>
 	extends AbstractRocksDBState<K, N, Map<UK, UV>>
-	implements InternalMapState<K, N, UK, UV> {
+	implements InternalOrderedMapState<K, N, UK, UV> {
 
 	private static final Logger LOG = LoggerFactory.getLogger(RocksDBMapState.class);
 
+	/** The order of the keys in RocksDB, which uses the default bytewise comparator. */
+	private static final Comparator<byte[]> LEXICOGRAPHIC_BYTE_COMPARATOR = UnsignedBytes.lexicographicalComparator();
+
 	/** Serializer for the keys and values. */
 	private final TypeSerializer<UK> userKeySerializer;
 	private final TypeSerializer<UV> userValueSerializer;
@@ -232,6 +242,28 @@ class RocksDBMapState<K, N, UK, UV>
 		};
 	}
 
+	@Override
+	public Iterable<SerializedEntry<UK, UV>> serializedEntries() throws IOException {
+		return range(null, null);
+	}
+
+	@Override
+	public Iterable<SerializedEntry<UK, UV>> range(@Nullable UK fromKey, @Nullable UK toKey) throws IOException {
+		final byte[] prefixBytes = serializeCurrentKeyWithGroupAndNamespace();
+		final byte[] seekBytes = fromKey == null ?
+			prefixBytes : serializeCurrentKeyWithGroupAndNamespacePlusUserKey(fromKey, userKeySerializer);
+		final byte[] upperBoundBytes = toKey == null ?
+			null : serializeCurrentKeyWithGroupAndNamespacePlusUserKey(toKey, userKeySerializer);
+
+		return () -> new RocksDBMapIterator<SerializedEntry<UK, UV>>(
+				backend.db, prefixBytes, seekBytes, upperBoundBytes, userKeySerializer, userValueSerializer, dataInputView) {
+			@Override
+			public SerializedEntry<UK, UV> next() {
+				return nextEntry();
+			}
+		};
+	}
+
 	@Override
 	public boolean isEmpty() {
 		final byte[] prefixBytes = serializeCurrentKeyWithGroupAndNamespace();
@@ -368,7 +400,7 @@ class RocksDBMapState<K, N, UK, UV>
 	// ------------------------------------------------------------------------
 
 	/** A map entry in RocksDBMapState. */
-	private class RocksDBMapEntry implements Map.Entry<UK, UV> {
+	private class RocksDBMapEntry implements InternalOrderedMapState.SerializedEntry<UK, UV> {
 		private final RocksDB db;
 
 		/** The raw bytes of the key stored in RocksDB. Each user key is stored in RocksDB
@@ -457,6 +489,31 @@ class RocksDBMapState<K, N, UK, UV>
 			}
 		}
 
+		@Override
+		public byte[] getSerializedKeyBuffer() {
+			return rawKeyBytes;
+		}
+
+		@Override
+		public int getSerializedKeyOffset() {
+			return userKeyOffset;
+		}
+
+		@Override
+		public int getSerializedKeyLength() {
+			return rawKeyBytes.length - userKeyOffset;
+		}
+
+		@Nullable
+		@Override
+		public byte[] getSerializedValue() {
+			// the first byte of the raw value flags null values
+			if (deleted || rawValueBytes[0] != 0) {
+				return null;
+			}
+			return Arrays.copyOfRange(rawValueBytes, 1, rawValueBytes.length);
+		}
+
 		@Override
 		public UV setValue(UV value) {
 			if (deleted) {
@@ -494,6 +551,17 @@ class RocksDBMapState<K, N, UK, UV>
 		@Nonnull
 		private final byte[] keyPrefixBytes;
 
+		/** The bytes to seek to at the first loading, which must start with the prefix bytes. */
+		@Nonnull
+		private final byte[] seekBytes;
+
+		/**
+		 * The exclusive upper bound for the raw keys, or null if the iteration ends with the last entry
+		 * under the prefix. Keys are compared in their raw form, without deserializing them.
+		 */
+		@Nullable
+		private final byte[] upperBoundBytes;
+
 		/**
 		 * True if all entries have been accessed or the iterator has come across an
 		 * entry with a different prefix.
@@ -518,8 +586,22 @@ class RocksDBMapState<K, N, UK, UV>
 			final TypeSerializer<UV> valueSerializer,
 			DataInputDeserializer dataInputView) {
 
+			this(db, keyPrefixBytes, keyPrefixBytes, null, keySerializer, valueSerializer, dataInputView);
+		}
+
+		RocksDBMapIterator(
+			final RocksDB db,
+			final byte[] keyPrefixBytes,
+			final byte[] seekBytes,
+			@Nullable final byte[] upperBoundBytes,
+			final TypeSerializer<UK> keySerializer,
+			final TypeSerializer<UV> valueSerializer,
+			DataInputDeserializer dataInputView) {
+
 			this.db = db;
 			this.keyPrefixBytes = keyPrefixBytes;
+			this.seekBytes = seekBytes;
+			this.upperBoundBytes = upperBoundBytes;
 			this.keySerializer = keySerializer;
 			this.valueSerializer = valueSerializer;
 			this.dataInputView = dataInputView;
@@ -573,11 +655,11 @@ class RocksDBMapState<K, N, UK, UV>
 			try (RocksIteratorWrapper iterator = RocksDBOperationUtils.getRocksIterator(db, columnFamily, backend.getReadOptions())) {
 
 				/*
-				 * The iteration starts from the prefix bytes at the first loading. After #nextEntry() is called,
+				 * The iteration starts from the seek bytes at the first loading. After #nextEntry() is called,
 				 * the currentEntry points to the last returned entry, and at that time, we will start
 				 * the iterating from currentEntry if reloading cache is needed.
 				 */
-				byte[] startBytes = (currentEntry == null ? keyPrefixBytes : currentEntry.rawKeyBytes);
+				byte[] startBytes = (currentEntry == null ? seekBytes : currentEntry.rawKeyBytes);
 
 				cacheEntries.clear();
 				cacheIndex = 0;
@@ -593,7 +675,16 @@ class RocksDBMapState<K, N, UK, UV>
 				}
 
 				while (true) {
-					if (!iterator.isValid() || !startWithKeyPrefix(keyPrefixBytes, iterator.key())) {
+					if (!iterator.isValid()) {
+						expired = true;
+						break;
+					}
+
+					// fetch the key only once, every access copies it from RocksDB
+					byte[] rawKeyBytes = iterator.key();
+					if (!startWithKeyPrefix(keyPrefixBytes, rawKeyBytes) ||
+						(upperBoundBytes != null &&
+							LEXICOGRAPHIC_BYTE_COMPARATOR.compare(rawKeyBytes, upperBoundBytes) >= 0)) {
 						expired = true;
 						break;
 					}
@@ -605,7 +696,7 @@ class RocksDBMapState<K, N, UK, UV>
 					RocksDBMapEntry entry = new RocksDBMapEntry(
 						db,
 						keyPrefixBytes.length,
-						iterator.key(),
+						rawKeyBytes,
 						iterator.value(),
 						keySerializer,
 						valueSerializer,
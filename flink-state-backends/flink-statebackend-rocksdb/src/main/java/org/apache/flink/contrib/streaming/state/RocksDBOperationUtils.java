@@ -27,6 +27,7 @@ import org.apache.flink.util.IOUtils;
 import org.apache.flink.util.OperatingSystem;
 import org.apache.flink.util.Preconditions;
 import org.apache.flink.util.function.LongFunctionWithException;
+import org.apache.flink.util.function.SupplierWithException;
 
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
@@ -36,10 +37,12 @@ import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -53,10 +56,14 @@ import static org.apache.flink.contrib.streaming.state.RocksDBKeyedStateBackend.
  */
 public class RocksDBOperationUtils {
 
+	private static final Logger LOG = LoggerFactory.getLogger(RocksDBOperationUtils.class);
+
 	private static final String MANAGED_MEMORY_RESOURCE_ID = "state-rocks-managed-memory";
 
 	private static final String FIXED_SLOT_MEMORY_RESOURCE_ID = "state-rocks-fixed-slot-memory";
 
+	private static final String SHARED_INSTANCE_RESOURCE_ID = "state-rocks-shared-instance";
+
 	public static RocksDB openDB(
 		String path,
 		List<ColumnFamilyDescriptor> stateColumnFamilyDescriptors,
@@ -133,8 +140,23 @@ public class RocksDBOperationUtils {
 		Function<String, ColumnFamilyOptions> columnFamilyOptionsFactory,
 		@Nullable RocksDbTtlCompactFiltersManager ttlCompactFiltersManager) {
 
+		return createStateInfo(metaInfoBase, db, columnFamilyOptionsFactory, ttlCompactFiltersManager, "");
+	}
+
+	/**
+	 * Creates a state info from a new meta info to use with a k/v state, like
+	 * {@link #createStateInfo(RegisteredStateMetaInfoBase, RocksDB, Function, RocksDbTtlCompactFiltersManager)},
+	 * but prefixes the name of the column family with the given prefix.
+	 */
+	public static RocksDBKeyedStateBackend.RocksDbKvStateInfo createStateInfo(
+		RegisteredStateMetaInfoBase metaInfoBase,
+		RocksDB db,
+		Function<String, ColumnFamilyOptions> columnFamilyOptionsFactory,
+		@Nullable RocksDbTtlCompactFiltersManager ttlCompactFiltersManager,
+		String columnFamilyNamePrefix) {
+
 		ColumnFamilyDescriptor columnFamilyDescriptor = createColumnFamilyDescriptor(
-			metaInfoBase, columnFamilyOptionsFactory, ttlCompactFiltersManager);
+			metaInfoBase, columnFamilyOptionsFactory, ttlCompactFiltersManager, columnFamilyNamePrefix);
 		return new RocksDBKeyedStateBackend.RocksDbKvStateInfo(createColumnFamily(columnFamilyDescriptor, db), metaInfoBase);
 	}
 
@@ -148,11 +170,20 @@ public class RocksDBOperationUtils {
 		Function<String, ColumnFamilyOptions> columnFamilyOptionsFactory,
 		@Nullable RocksDbTtlCompactFiltersManager ttlCompactFiltersManager) {
 
+		return createColumnFamilyDescriptor(metaInfoBase, columnFamilyOptionsFactory, ttlCompactFiltersManager, "");
+	}
+
+	private static ColumnFamilyDescriptor createColumnFamilyDescriptor(
+		RegisteredStateMetaInfoBase metaInfoBase,
+		Function<String, ColumnFamilyOptions> columnFamilyOptionsFactory,
+		@Nullable RocksDbTtlCompactFiltersManager ttlCompactFiltersManager,
+		String columnFamilyNamePrefix) {
+
 		ColumnFamilyOptions options = createColumnFamilyOptions(columnFamilyOptionsFactory, metaInfoBase.getName());
 		if (ttlCompactFiltersManager != null) {
 			ttlCompactFiltersManager.setAndRegisterCompactFilterIfStateTtl(metaInfoBase, options);
 		}
-		byte[] nameBytes = metaInfoBase.getName().getBytes(ConfigConstants.DEFAULT_CHARSET);
+		byte[] nameBytes = (columnFamilyNamePrefix + metaInfoBase.getName()).getBytes(ConfigConstants.DEFAULT_CHARSET);
 		Preconditions.checkState(!Arrays.equals(RocksDB.DEFAULT_COLUMN_FAMILY, nameBytes),
 			"The chosen state name 'default' collides with the name of the default column family!");
 
@@ -175,6 +206,31 @@ public class RocksDBOperationUtils {
 		}
 	}
 
+	/**
+	 * Drops the given column family from the given instance, so that its data is deleted once the handle is closed.
+	 * This is required to clean up after a backend that uses an instance shared with other backends.
+	 */
+	public static void dropColumnFamilyQuietly(RocksDB db, @Nullable ColumnFamilyHandle columnFamilyHandle) {
+		if (columnFamilyHandle == null) {
+			return;
+		}
+		try {
+			db.dropColumnFamily(columnFamilyHandle);
+		} catch (RocksDBException e) {
+			// the data of the column family stays in the shared instance until the instance is closed
+			LOG.warn("Could not drop column family {}, its data is kept until the RocksDB instance is closed.",
+				getColumnFamilyName(columnFamilyHandle), e);
+		}
+	}
+
+	private static String getColumnFamilyName(ColumnFamilyHandle columnFamilyHandle) {
+		try {
+			return new String(columnFamilyHandle.getName(), StandardCharsets.UTF_8);
+		} catch (RocksDBException e) {
+			return "with id " + columnFamilyHandle.getID();
+		}
+	}
+
 	public static void addColumnFamilyOptionsToCloseLater(
 		List<ColumnFamilyOptions> columnFamilyOptions, ColumnFamilyHandle columnFamilyHandle) {
 		try {
@@ -221,6 +277,23 @@ public class RocksDBOperationUtils {
 		}
 	}
 
+	/**
+	 * Acquires a lease on the RocksDB instance that is shared by all keyed state backends of the slot of the
+	 * given memory manager. The instance is created with the given factory if it does not exist yet, and is
+	 * closed once all leases have been released.
+	 */
+	public static OpaqueMemoryResource<RocksDBSharedInstance> acquireSharedInstance(
+			MemoryManager memoryManager,
+			SupplierWithException<RocksDBSharedInstance, Exception> instanceFactory) throws IOException {
+
+		try {
+			return memoryManager.getExternalSharedMemoryResource(
+				SHARED_INSTANCE_RESOURCE_ID, (size) -> instanceFactory.get(), 0L);
+		} catch (Exception e) {
+			throw new IOException("Failed to acquire the shared RocksDB instance", e);
+		}
+	}
+
 	private static void throwExceptionIfPathLengthExceededOnWindows(String path, Exception cause) throws IOException {
 		// max directory path length on Windows is 247.
 		// the maximum path length is 260, subtracting one file name length (12 chars) and one NULL terminator.
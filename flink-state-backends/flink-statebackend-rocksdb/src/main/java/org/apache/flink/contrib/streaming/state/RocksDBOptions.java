@@ -88,6 +88,34 @@ public class RocksDBOptions {
 				"The default options factory is %s, and it would read the configured options which provided in 'RocksDBConfigurableOptions'.",
 				DefaultConfigurableOptionsFactory.class.getName()));
 
+	/**
+	 * Whether all keyed state backends of a slot share a single RocksDB instance.
+	 */
+	@Documentation.Section(Documentation.Sections.EXPERT_ROCKSDB)
+	public static final ConfigOption<Boolean> SHARED_INSTANCE_PER_SLOT = ConfigOptions
+		.key("state.backend.rocksdb.shared-instance-per-slot")
+		.booleanType()
+		.defaultValue(false)
+		.withDescription("If enabled, all keyed state backends of a slot share a single RocksDB instance, with " +
+			"separate column families for the states of each operator. This reduces the number of memtables, " +
+			"background threads and open files per slot. Sharing an instance is only supported with full " +
+			"checkpoints and full savepoints, so incremental checkpoints must be disabled.");
+
+	/**
+	 * Whether savepoints are taken in the native format of RocksDB, instead of the canonical format.
+	 */
+	@Documentation.Section(Documentation.Sections.EXPERT_ROCKSDB)
+	public static final ConfigOption<Boolean> NATIVE_SAVEPOINTS = ConfigOptions
+		.key("state.backend.rocksdb.savepoint.native-format")
+		.booleanType()
+		.defaultValue(false)
+		.withDescription("If enabled, savepoints consist of the SST files of a native RocksDB checkpoint, like " +
+			"incremental checkpoints, instead of all state entries written in the canonical format. All files are " +
+			"copied to the savepoint directory, so the savepoint is self-contained and can be relocated. Taking and " +
+			"restoring such savepoints is bounded by the transfer of the files rather than the serialization of " +
+			"the entries. Native savepoints can only be restored by the RocksDB state backend, and are not " +
+			"supported with a RocksDB instance that is shared per slot.");
+
 	@Documentation.Section(Documentation.Sections.STATE_BACKEND_ROCKSDB)
 	public static final ConfigOption<Boolean> USE_MANAGED_MEMORY = ConfigOptions
 		.key("state.backend.rocksdb.memory.managed")
@@ -78,6 +78,7 @@ public class RocksDBPriorityQueueSetFactory implements PriorityQueueSetFactory {
 	private final RocksDBWriteBatchWrapper writeBatchWrapper;
 	private final RocksDBNativeMetricMonitor nativeMetricMonitor;
 	private final Function<String, ColumnFamilyOptions> columnFamilyOptionsFactory;
+	private final String columnFamilyNamePrefix;
 
 	RocksDBPriorityQueueSetFactory(
 		KeyGroupRange keyGroupRange,
@@ -88,7 +89,8 @@ public class RocksDBPriorityQueueSetFactory implements PriorityQueueSetFactory {
 		ReadOptions readOptions,
 		RocksDBWriteBatchWrapper writeBatchWrapper,
 		RocksDBNativeMetricMonitor nativeMetricMonitor,
-		Function<String, ColumnFamilyOptions> columnFamilyOptionsFactory) {
+		Function<String, ColumnFamilyOptions> columnFamilyOptionsFactory,
+		String columnFamilyNamePrefix) {
 		this.keyGroupRange = keyGroupRange;
 		this.keyGroupPrefixBytes = keyGroupPrefixBytes;
 		this.numberOfKeyGroups = numberOfKeyGroups;
@@ -98,6 +100,7 @@ public class RocksDBPriorityQueueSetFactory implements PriorityQueueSetFactory {
 		this.writeBatchWrapper = writeBatchWrapper;
 		this.nativeMetricMonitor = nativeMetricMonitor;
 		this.columnFamilyOptionsFactory = columnFamilyOptionsFactory;
+		this.columnFamilyNamePrefix = columnFamilyNamePrefix;
 		this.sharedElementOutView = new DataOutputSerializer(128);
 		this.sharedElementInView = new DataInputDeserializer();
 	}
@@ -154,7 +157,8 @@ public class RocksDBPriorityQueueSetFactory implements PriorityQueueSetFactory {
 			// so no need to register compact filter when creating column family
 			RegisteredPriorityQueueStateBackendMetaInfo<T> metaInfo =
 				new RegisteredPriorityQueueStateBackendMetaInfo<>(stateName, byteOrderedElementSerializer);
-			stateInfo = RocksDBOperationUtils.createStateInfo(metaInfo, db, columnFamilyOptionsFactory, null);
+			stateInfo = RocksDBOperationUtils.createStateInfo(
+				metaInfo, db, columnFamilyOptionsFactory, null, columnFamilyNamePrefix);
 			RocksDBOperationUtils.registerKvStateInformation(kvStateInformation, nativeMetricMonitor, stateName, stateInfo);
 		} else {
 			// TODO we implement the simple way of supporting the current functionality, mimicking keyed state
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.contrib.streaming.state;
+
+import org.apache.flink.util.FileUtils;
+import org.apache.flink.util.IOUtils;
+
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.RocksDB;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.apache.flink.contrib.streaming.state.RocksDBKeyedStateBackendBuilder.DB_INSTANCE_DIR_STRING;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A RocksDB instance that is shared by all keyed state backends of a slot.
+ *
+ * <p>Every backend that uses the shared instance creates its own column families, whose names are prefixed
+ * with a prefix that is unique to the backend, and drops them again when it is disposed. The memtables,
+ * the flush and compaction threads and the open files of the instance are shared by all these backends.
+ *
+ * <p>The instance is leased through the memory manager of the slot, which closes it once the last backend
+ * released its lease. The instance owns its {@link RocksDBResourceContainer}, so that the options and the
+ * shared memory resources of the instance outlive the backends that created them.
+ */
+public final class RocksDBSharedInstance implements AutoCloseable {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RocksDBSharedInstance.class);
+
+	/** Path where the shared instance stores its data directory. */
+	private final File instanceBasePath;
+
+	/**
+	 * The container for the options and the shared memory resources of the instance, which also closes the
+	 * options of the default column family.
+	 */
+	private final RocksDBResourceContainer resourceContainer;
+
+	private final ColumnFamilyHandle defaultColumnFamily;
+
+	private final RocksDB db;
+
+	private RocksDBSharedInstance(
+		File instanceBasePath,
+		RocksDBResourceContainer resourceContainer,
+		ColumnFamilyHandle defaultColumnFamily,
+		RocksDB db) {
+
+		this.instanceBasePath = instanceBasePath;
+		this.resourceContainer = resourceContainer;
+		this.defaultColumnFamily = defaultColumnFamily;
+		this.db = db;
+	}
+
+	/**
+	 * Opens a new shared RocksDB instance under the given directory. The instance takes ownership of the
+	 * given resource container, also if opening the instance fails.
+	 */
+	public static RocksDBSharedInstance open(
+		File instanceBasePath,
+		RocksDBResourceContainer resourceContainer) throws IOException {
+
+		checkNotNull(instanceBasePath);
+		checkNotNull(resourceContainer);
+
+		try {
+			if (instanceBasePath.exists()) {
+				FileUtils.deleteDirectory(instanceBasePath);
+			}
+			if (!instanceBasePath.mkdirs()) {
+				throw new IOException(
+					String.format("Could not create shared RocksDB data directory at %s.", instanceBasePath));
+			}
+
+			final ColumnFamilyOptions defaultColumnFamilyOptions =
+				resourceContainer.getColumnOptions().setMergeOperatorName(RocksDBKeyedStateBackend.MERGE_OPERATOR_NAME);
+			final List<ColumnFamilyHandle> columnFamilyHandles = new ArrayList<>(1);
+			final RocksDB db = RocksDBOperationUtils.openDB(
+				new File(instanceBasePath, DB_INSTANCE_DIR_STRING).getAbsolutePath(),
+				Collections.emptyList(),
+				columnFamilyHandles,
+				defaultColumnFamilyOptions,
+				resourceContainer.getDbOptions());
+
+			LOG.info("Opened shared RocksDB instance in {}.", instanceBasePath);
+			return new RocksDBSharedInstance(
+				instanceBasePath, resourceContainer, columnFamilyHandles.get(0), db);
+		} catch (Throwable t) {
+			IOUtils.closeQuietly(resourceContainer);
+			deleteQuietly(instanceBasePath);
+			throw t;
+		}
+	}
+
+	public RocksDB getDb() {
+		return db;
+	}
+
+	/**
+	 * Closes the instance and deletes its files. Must only be called once all backends that use the
+	 * instance have dropped their column families and released the instance.
+	 */
+	@Override
+	public void close() throws Exception {
+		LOG.info("Closing shared RocksDB instance in {}.", instanceBasePath);
+
+		// the default column family must be closed before the instance, and all options after it
+		IOUtils.closeQuietly(defaultColumnFamily);
+		IOUtils.closeQuietly(db);
+		try {
+			resourceContainer.close();
+		} finally {
+			deleteQuietly(instanceBasePath);
+		}
+	}
+
+	private static void deleteQuietly(File directory) {
+		try {
+			FileUtils.deleteDirectory(directory);
+		} catch (IOException e) {
+			LOG.warn("Could not delete shared RocksDB working directory: {}", directory, e);
+		}
+	}
+}
@@ -28,12 +28,14 @@ import org.apache.flink.core.fs.CloseableRegistry;
 import org.apache.flink.core.fs.Path;
 import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.runtime.execution.Environment;
+import org.apache.flink.runtime.memory.MemoryManager;
 import org.apache.flink.runtime.memory.OpaqueMemoryResource;
 import org.apache.flink.runtime.query.TaskKvStateRegistry;
 import org.apache.flink.runtime.state.AbstractKeyedStateBackend;
 import org.apache.flink.runtime.state.AbstractManagedMemoryStateBackend;
 import org.apache.flink.runtime.state.AbstractStateBackend;
 import org.apache.flink.runtime.state.CheckpointStorageAccess;
+import org.apache.flink.runtime.state.CheckpointUploadThrottle;
 import org.apache.flink.runtime.state.CompletedCheckpointStorageLocation;
 import org.apache.flink.runtime.state.ConfigurableStateBackend;
 import org.apache.flink.runtime.state.DefaultOperatorStateBackendBuilder;
@@ -50,6 +52,7 @@ import org.apache.flink.util.AbstractID;
 import org.apache.flink.util.DynamicCodeLoadingException;
 import org.apache.flink.util.FileUtils;
 import org.apache.flink.util.FlinkRuntimeException;
+import org.apache.flink.util.IOUtils;
 import org.apache.flink.util.Preconditions;
 import org.apache.flink.util.TernaryBoolean;
 
@@ -141,6 +144,12 @@ public class RocksDBStateBackend extends AbstractManagedMemoryStateBackend imple
 	/** Thread number used to transfer (download and upload) state, default value: 1. */
 	private int numberOfTransferThreads;
 
+	/** This determines if the keyed backends of a slot share one RocksDB instance. */
+	private TernaryBoolean sharedInstancePerSlot;
+
+	/** This determines if savepoints are taken in the native RocksDB format. */
+	private TernaryBoolean nativeSavepoints;
+
 	/** The configuration for memory settings (pool sizes, etc.). */
 	private final RocksDBMemoryConfiguration memoryConfiguration;
 
@@ -267,6 +276,8 @@ public class RocksDBStateBackend extends AbstractManagedMemoryStateBackend imple
 		this.checkpointStreamBackend = checkNotNull(checkpointStreamBackend);
 		this.enableIncrementalCheckpointing = enableIncrementalCheckpointing;
 		this.numberOfTransferThreads = UNDEFINED_NUMBER_OF_TRANSFER_THREADS;
+		this.sharedInstancePerSlot = TernaryBoolean.UNDEFINED;
+		this.nativeSavepoints = TernaryBoolean.UNDEFINED;
 		this.defaultMetricOptions = new RocksDBNativeMetricOptions();
 		this.memoryConfiguration = new RocksDBMemoryConfiguration();
 		this.writeBatchSize = UNDEFINED_WRITE_BATCH_SIZE;
@@ -306,6 +317,12 @@ public class RocksDBStateBackend extends AbstractManagedMemoryStateBackend imple
 		this.enableIncrementalCheckpointing = original.enableIncrementalCheckpointing.resolveUndefined(
 			config.get(CheckpointingOptions.INCREMENTAL_CHECKPOINTS));
 
+		this.sharedInstancePerSlot = original.sharedInstancePerSlot.resolveUndefined(
+			config.get(RocksDBOptions.SHARED_INSTANCE_PER_SLOT));
+
+		this.nativeSavepoints = original.nativeSavepoints.resolveUndefined(
+			config.get(RocksDBOptions.NATIVE_SAVEPOINTS));
+
 		if (original.numberOfTransferThreads == UNDEFINED_NUMBER_OF_TRANSFER_THREADS) {
 			this.numberOfTransferThreads = config.get(CHECKPOINT_TRANSFER_THREAD_NUM);
 		} else {
@@ -466,6 +483,13 @@ public class RocksDBStateBackend extends AbstractManagedMemoryStateBackend imple
 		return checkpointStreamBackend.createCheckpointStorage(jobId);
 	}
 
+	@Override
+	public CheckpointStorageAccess createCheckpointStorage(
+			JobID jobId,
+			CheckpointUploadThrottle uploadThrottle) throws IOException {
+		return checkpointStreamBackend.createCheckpointStorage(jobId, uploadThrottle);
+	}
+
 	// ------------------------------------------------------------------------
 	//  State holding data structures
 	// ------------------------------------------------------------------------
@@ -538,6 +562,35 @@ public class RocksDBStateBackend extends AbstractManagedMemoryStateBackend imple
 		}
 		final RocksDBResourceContainer resourceContainer = createOptionsAndResourceContainer(sharedResources);
 
+		OpaqueMemoryResource<RocksDBSharedInstance> sharedInstance = null;
+		if (isSharedInstancePerSlot()) {
+			if (isIncrementalCheckpointsEnabled()) {
+				IOUtils.closeQuietly(resourceContainer);
+				throw new IllegalConfigurationException(String.format(
+					"A RocksDB instance that is shared per slot (%s) does not support incremental checkpoints.",
+					RocksDBOptions.SHARED_INSTANCE_PER_SLOT.key()));
+			}
+			if (isNativeSavepointsEnabled()) {
+				IOUtils.closeQuietly(resourceContainer);
+				throw new IllegalConfigurationException(String.format(
+					"A RocksDB instance that is shared per slot (%s) does not support native savepoints (%s).",
+					RocksDBOptions.SHARED_INSTANCE_PER_SLOT.key(),
+					RocksDBOptions.NATIVE_SAVEPOINTS.key()));
+			}
+			final MemoryManager memoryManager = env.getMemoryManager();
+			try {
+				sharedInstance = RocksDBOperationUtils.acquireSharedInstance(
+					memoryManager,
+					() -> RocksDBSharedInstance.open(
+						new File(getNextStoragePath(), "job_" + jobId + "_shared_uuid_" + UUID.randomUUID()),
+						createOptionsAndResourceContainer(RocksDBOperationUtils.allocateSharedCachesIfConfigured(
+							memoryConfiguration, memoryManager, managedMemoryFraction, LOG))));
+			} catch (IOException e) {
+				IOUtils.closeQuietly(resourceContainer);
+				throw e;
+			}
+		}
+
 		ExecutionConfig executionConfig = env.getExecutionConfig();
 		StreamCompressionDecorator keyGroupCompressionDecorator = getCompressionDecorator(executionConfig);
 		RocksDBKeyedStateBackendBuilder<K> builder = new RocksDBKeyedStateBackendBuilder<>(
@@ -560,9 +613,11 @@ public class RocksDBStateBackend extends AbstractManagedMemoryStateBackend imple
 			cancelStreamRegistry
 		)
 			.setEnableIncrementalCheckpointing(isIncrementalCheckpointsEnabled())
+			.setEnableNativeSavepoints(isNativeSavepointsEnabled())
 			.setNumberOfTransferingThreads(getNumberOfTransferThreads())
 			.setNativeMetricOptions(resourceContainer.getMemoryWatcherOptions(defaultMetricOptions))
-			.setWriteBatchSize(getWriteBatchSize());
+			.setWriteBatchSize(getWriteBatchSize())
+			.setSharedInstance(sharedInstance);
 		return builder.build();
 	}
 
@@ -752,6 +807,40 @@ public class RocksDBStateBackend extends AbstractManagedMemoryStateBackend imple
 		return enableIncrementalCheckpointing.getOrDefault(CheckpointingOptions.INCREMENTAL_CHECKPOINTS.defaultValue());
 	}
 
+	/**
+	 * Gets whether the keyed state backends of a slot share one RocksDB instance.
+	 */
+	public boolean isSharedInstancePerSlot() {
+		return sharedInstancePerSlot.getOrDefault(RocksDBOptions.SHARED_INSTANCE_PER_SLOT.defaultValue());
+	}
+
+	/**
+	 * Sets whether the keyed state backends of a slot share one RocksDB instance, instead of each backend
+	 * opening its own instance. A shared instance only supports full checkpoints.
+	 *
+	 * @param sharedInstancePerSlot True if the backends of a slot share one RocksDB instance.
+	 */
+	public void setSharedInstancePerSlot(boolean sharedInstancePerSlot) {
+		this.sharedInstancePerSlot = TernaryBoolean.fromBoolean(sharedInstancePerSlot);
+	}
+
+	/**
+	 * Gets whether savepoints are taken in the native RocksDB format.
+	 */
+	public boolean isNativeSavepointsEnabled() {
+		return nativeSavepoints.getOrDefault(RocksDBOptions.NATIVE_SAVEPOINTS.defaultValue());
+	}
+
+	/**
+	 * Sets whether savepoints are taken in the native RocksDB format, i.e. as the files of a native RocksDB
+	 * checkpoint, instead of the canonical format that iterates and serializes all state entries.
+	 *
+	 * @param nativeSavepoints True if savepoints are taken in the native RocksDB format.
+	 */
+	public void setNativeSavepointsEnabled(boolean nativeSavepoints) {
+		this.nativeSavepoints = TernaryBoolean.fromBoolean(nativeSavepoints);
+	}
+
 	/**
 	 * Gets the type of the priority queue state. It will fallback to the default value, if it is not explicitly set.
 	 * @return The type of the priority queue state.
@@ -913,6 +1002,8 @@ public class RocksDBStateBackend extends AbstractManagedMemoryStateBackend imple
 				", localRocksDbDirectories=" + Arrays.toString(localRocksDbDirectories) +
 				", enableIncrementalCheckpointing=" + enableIncrementalCheckpointing +
 				", numberOfTransferThreads=" + numberOfTransferThreads +
+				", sharedInstancePerSlot=" + sharedInstancePerSlot +
+				", nativeSavepoints=" + nativeSavepoints +
 				", writeBatchSize=" + writeBatchSize +
 				'}';
 	}
@@ -64,10 +64,28 @@ public class RocksDBStateUploader extends RocksDBStateDataTransfer {
 		CheckpointStreamFactory checkpointStreamFactory,
 		CloseableRegistry closeableRegistry) throws Exception {
 
+		return uploadFilesToCheckpointFs(files, checkpointStreamFactory, CheckpointedStateScope.SHARED, closeableRegistry);
+	}
+
+	/**
+	 * Upload all the files to checkpoint fileSystem using specified number of threads.
+	 *
+	 * @param files The files will be uploaded to checkpoint filesystem.
+	 * @param checkpointStreamFactory The checkpoint streamFactory used to create outputstream.
+	 * @param stateScope The scope of the uploaded files.
+	 *
+	 * @throws Exception Thrown if can not upload all the files.
+	 */
+	public Map<StateHandleID, StreamStateHandle> uploadFilesToCheckpointFs(
+		@Nonnull Map<StateHandleID, Path> files,
+		CheckpointStreamFactory checkpointStreamFactory,
+		CheckpointedStateScope stateScope,
+		CloseableRegistry closeableRegistry) throws Exception {
+
 		Map<StateHandleID, StreamStateHandle> handles = new HashMap<>();
 
 		Map<StateHandleID, CompletableFuture<StreamStateHandle>> futures =
-			createUploadFutures(files, checkpointStreamFactory, closeableRegistry);
+			createUploadFutures(files, checkpointStreamFactory, stateScope, closeableRegistry);
 
 		try {
 			FutureUtils.waitForAll(futures.values()).get();
@@ -91,12 +109,13 @@ public class RocksDBStateUploader extends RocksDBStateDataTransfer {
 	private Map<StateHandleID, CompletableFuture<StreamStateHandle>> createUploadFutures(
 		Map<StateHandleID, Path> files,
 		CheckpointStreamFactory checkpointStreamFactory,
+		CheckpointedStateScope stateScope,
 		CloseableRegistry closeableRegistry) {
 		Map<StateHandleID, CompletableFuture<StreamStateHandle>> futures = new HashMap<>(files.size());
 
 		for (Map.Entry<StateHandleID, Path> entry : files.entrySet()) {
 			final Supplier<StreamStateHandle> supplier =
-				CheckedSupplier.unchecked(() -> uploadLocalFileToCheckpointFs(entry.getValue(), checkpointStreamFactory, closeableRegistry));
+				CheckedSupplier.unchecked(() -> uploadLocalFileToCheckpointFs(entry.getValue(), checkpointStreamFactory, stateScope, closeableRegistry));
 			futures.put(entry.getKey(), CompletableFuture.supplyAsync(supplier, executorService));
 		}
 
@@ -106,6 +125,7 @@ public class RocksDBStateUploader extends RocksDBStateDataTransfer {
 	private StreamStateHandle uploadLocalFileToCheckpointFs(
 		Path filePath,
 		CheckpointStreamFactory checkpointStreamFactory,
+		CheckpointedStateScope stateScope,
 		CloseableRegistry closeableRegistry) throws IOException {
 
 		InputStream inputStream = null;
@@ -118,7 +138,7 @@ public class RocksDBStateUploader extends RocksDBStateDataTransfer {
 			closeableRegistry.registerCloseable(inputStream);
 
 			outputStream = checkpointStreamFactory
-				.createCheckpointStateOutputStream(CheckpointedStateScope.SHARED);
+				.createCheckpointStateOutputStream(stateScope);
 			closeableRegistry.registerCloseable(outputStream);
 
 			while (true) {
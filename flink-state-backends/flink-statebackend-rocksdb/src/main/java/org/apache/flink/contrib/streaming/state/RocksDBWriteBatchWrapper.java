@@ -103,6 +103,19 @@ public class RocksDBWriteBatchWrapper implements AutoCloseable {
 		flushIfNeeded();
 	}
 
+	/**
+	 * Removes all keys in the range from {@code beginKey} (inclusive) to {@code endKey} (exclusive).
+	 */
+	public void removeRange(
+		@Nonnull ColumnFamilyHandle handle,
+		@Nonnull byte[] beginKey,
+		@Nonnull byte[] endKey) throws RocksDBException {
+
+		batch.deleteRange(handle, beginKey, endKey);
+
+		flushIfNeeded();
+	}
+
 	public void flush() throws RocksDBException {
 		if (options != null) {
 			db.write(options, batch);
@@ -23,6 +23,7 @@ import org.apache.flink.contrib.streaming.state.RocksDBKeyedStateBackend.RocksDb
 import org.apache.flink.contrib.streaming.state.RocksDBNativeMetricMonitor;
 import org.apache.flink.contrib.streaming.state.RocksDBNativeMetricOptions;
 import org.apache.flink.contrib.streaming.state.RocksDBOperationUtils;
+import org.apache.flink.contrib.streaming.state.RocksDBSharedInstance;
 import org.apache.flink.contrib.streaming.state.ttl.RocksDbTtlCompactFiltersManager;
 import org.apache.flink.core.fs.CloseableRegistry;
 import org.apache.flink.core.memory.DataInputView;
@@ -43,6 +44,7 @@ import org.rocksdb.DBOptions;
 import org.rocksdb.RocksDB;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import java.io.File;
 import java.io.IOException;
@@ -85,6 +87,11 @@ public abstract class AbstractRocksDBRestoreOperation<K> implements RocksDBResto
 	// - Full restore
 	//   - data ingestion after db open: #getOrRegisterStateColumnFamilyHandle before creating column family
 	protected final RocksDbTtlCompactFiltersManager ttlCompactFiltersManager;
+	/** The shared instance to restore into, or null if the restore opens its own instance. */
+	@Nullable
+	protected final RocksDBSharedInstance sharedInstance;
+	/** The prefix of the names of the column families created by the restore. */
+	protected final String columnFamilyNamePrefix;
 
 	protected RocksDB db;
 	protected ColumnFamilyHandle defaultColumnFamilyHandle;
@@ -106,7 +113,9 @@ public abstract class AbstractRocksDBRestoreOperation<K> implements RocksDBResto
 		RocksDBNativeMetricOptions nativeMetricOptions,
 		MetricGroup metricGroup,
 		@Nonnull Collection<KeyedStateHandle> stateHandles,
-		@Nonnull RocksDbTtlCompactFiltersManager ttlCompactFiltersManager) {
+		@Nonnull RocksDbTtlCompactFiltersManager ttlCompactFiltersManager,
+		@Nullable RocksDBSharedInstance sharedInstance,
+		@Nonnull String columnFamilyNamePrefix) {
 		this.keyGroupRange = keyGroupRange;
 		this.keyGroupPrefixBytes = keyGroupPrefixBytes;
 		this.numberOfTransferringThreads = numberOfTransferringThreads;
@@ -123,19 +132,27 @@ public abstract class AbstractRocksDBRestoreOperation<K> implements RocksDBResto
 		this.metricGroup = metricGroup;
 		this.restoreStateHandles = stateHandles;
 		this.ttlCompactFiltersManager = ttlCompactFiltersManager;
+		this.sharedInstance = sharedInstance;
+		this.columnFamilyNamePrefix = columnFamilyNamePrefix;
 		this.columnFamilyHandles = new ArrayList<>(1);
 		this.columnFamilyDescriptors = Collections.emptyList();
 	}
 
 	void openDB() throws IOException {
-		db = RocksDBOperationUtils.openDB(
-			dbPath,
-			columnFamilyDescriptors,
-			columnFamilyHandles,
-			RocksDBOperationUtils.createColumnFamilyOptions(columnFamilyOptionsFactory, "default"),
-			dbOptions);
-		// remove the default column family which is located at the first index
-		defaultColumnFamilyHandle = columnFamilyHandles.remove(0);
+		if (sharedInstance != null) {
+			// the shared instance owns its default column family, the state column families are created later
+			db = sharedInstance.getDb();
+			defaultColumnFamilyHandle = null;
+		} else {
+			db = RocksDBOperationUtils.openDB(
+				dbPath,
+				columnFamilyDescriptors,
+				columnFamilyHandles,
+				RocksDBOperationUtils.createColumnFamilyOptions(columnFamilyOptionsFactory, "default"),
+				dbOptions);
+			// remove the default column family which is located at the first index
+			defaultColumnFamilyHandle = columnFamilyHandles.remove(0);
+		}
 		// init native metrics monitor if configured
 		nativeMetricMonitor = nativeMetricOptions.isEnabled() ?
 			new RocksDBNativeMetricMonitor(nativeMetricOptions, metricGroup, db) : null;
@@ -159,7 +176,7 @@ public abstract class AbstractRocksDBRestoreOperation<K> implements RocksDBResto
 				RegisteredStateMetaInfoBase.fromMetaInfoSnapshot(stateMetaInfoSnapshot);
 			if (columnFamilyHandle == null) {
 				registeredStateMetaInfoEntry = RocksDBOperationUtils.createStateInfo(
-					stateMetaInfo, db, columnFamilyOptionsFactory, ttlCompactFiltersManager);
+					stateMetaInfo, db, columnFamilyOptionsFactory, ttlCompactFiltersManager, columnFamilyNamePrefix);
 			} else {
 				registeredStateMetaInfoEntry = new RocksDbKvStateInfo(columnFamilyHandle, stateMetaInfo);
 			}
@@ -207,7 +224,9 @@ public abstract class AbstractRocksDBRestoreOperation<K> implements RocksDBResto
 	public void close() {
 		IOUtils.closeQuietly(defaultColumnFamilyHandle);
 		IOUtils.closeQuietly(nativeMetricMonitor);
-		IOUtils.closeQuietly(db);
+		if (sharedInstance == null) {
+			IOUtils.closeQuietly(db);
+		}
 		// Making sure the already created column family options will be closed
 		columnFamilyDescriptors.forEach((cfd) -> IOUtils.closeQuietly(cfd.getOptions()));
 	}
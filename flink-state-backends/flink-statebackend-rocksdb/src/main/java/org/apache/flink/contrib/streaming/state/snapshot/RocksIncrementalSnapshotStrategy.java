@@ -79,6 +79,11 @@ import static org.apache.flink.contrib.streaming.state.snapshot.RocksSnapshotUti
  * Snapshot strategy for {@link org.apache.flink.contrib.streaming.state.RocksDBKeyedStateBackend} that is based
  * on RocksDB's native checkpoints and creates incremental snapshots.
  *
+ * <p>Savepoints taken with this strategy are native savepoints: they consist of the files of a native RocksDB
+ * checkpoint as well, but are self-contained. All files are uploaded to the exclusive location of the savepoint
+ * and are part of the private state of the returned handle, so the savepoint neither references files of
+ * previous checkpoints, nor do later checkpoints build upon the files of the savepoint.
+ *
  * @param <K> type of the backend keys.
  */
 public class RocksIncrementalSnapshotStrategy<K> extends RocksDBSnapshotStrategyBase<K> {
@@ -150,7 +155,12 @@ public class RocksIncrementalSnapshotStrategy<K> extends RocksDBSnapshotStrategy
 		@Nonnull CheckpointStreamFactory checkpointStreamFactory,
 		@Nonnull CheckpointOptions checkpointOptions) throws Exception {
 
-		final SnapshotDirectory snapshotDirectory = prepareLocalSnapshotDirectory(checkpointId);
+		final boolean isSavepoint = checkpointOptions.getCheckpointType().isSavepoint();
+
+		// savepoints are never kept for local recovery
+		final SnapshotDirectory snapshotDirectory = isSavepoint ?
+			SnapshotDirectory.temporary(new File(instanceBasePath, "savepoint-" + checkpointId)) :
+			prepareLocalSnapshotDirectory(checkpointId);
 		LOG.trace("Local RocksDB checkpoint goes to backup path {}.", snapshotDirectory);
 
 		final List<StateMetaInfoSnapshot> stateMetaInfoSnapshots = new ArrayList<>(kvStateInformation.size());
@@ -163,8 +173,9 @@ public class RocksIncrementalSnapshotStrategy<K> extends RocksDBSnapshotStrategy
 				checkpointId,
 				checkpointStreamFactory,
 				snapshotDirectory,
-				baseSstFiles,
-				stateMetaInfoSnapshots);
+				isSavepoint ? null : baseSstFiles,
+				stateMetaInfoSnapshots,
+				isSavepoint);
 
 		return snapshotOperation.toAsyncSnapshotFutureTask(cancelStreamRegistry);
 	}
@@ -288,18 +299,23 @@ public class RocksIncrementalSnapshotStrategy<K> extends RocksDBSnapshotStrategy
 		@Nullable
 		private final Set<StateHandleID> baseSstFiles;
 
+		/** True if this is a self-contained native savepoint, rather than an incremental checkpoint. */
+		private final boolean isSavepoint;
+
 		private RocksDBIncrementalSnapshotOperation(
 			long checkpointId,
 			@Nonnull CheckpointStreamFactory checkpointStreamFactory,
 			@Nonnull SnapshotDirectory localBackupDirectory,
 			@Nullable Set<StateHandleID> baseSstFiles,
-			@Nonnull List<StateMetaInfoSnapshot> stateMetaInfoSnapshots) {
+			@Nonnull List<StateMetaInfoSnapshot> stateMetaInfoSnapshots,
+			boolean isSavepoint) {
 
 			this.checkpointStreamFactory = checkpointStreamFactory;
 			this.baseSstFiles = baseSstFiles;
 			this.checkpointId = checkpointId;
 			this.localBackupDirectory = localBackupDirectory;
 			this.stateMetaInfoSnapshots = stateMetaInfoSnapshots;
+			this.isSavepoint = isSavepoint;
 		}
 
 		@Override
@@ -323,10 +339,14 @@ public class RocksIncrementalSnapshotStrategy<K> extends RocksDBSnapshotStrategy
 				Preconditions.checkNotNull(metaStateHandle.getJobManagerOwnedSnapshot(),
 					"Metadata for job manager was not properly created.");
 
-				uploadSstFiles(sstFiles, miscFiles);
+				if (isSavepoint) {
+					uploadAllFilesAsPrivateState(miscFiles);
+				} else {
+					uploadSstFiles(sstFiles, miscFiles);
 
-				synchronized (materializedSstFiles) {
-					materializedSstFiles.put(checkpointId, sstFiles.keySet());
+					synchronized (materializedSstFiles) {
+						materializedSstFiles.put(checkpointId, sstFiles.keySet());
+					}
 				}
 
 				final IncrementalRemoteKeyedStateHandle jmIncrementalKeyedStateHandle =
@@ -438,6 +458,30 @@ public class RocksIncrementalSnapshotStrategy<K> extends RocksDBSnapshotStrategy
 			}
 		}
 
+		/**
+		 * Uploads all files of the native checkpoint to the exclusive location, so that the snapshot does not
+		 * share any file with other snapshots.
+		 */
+		private void uploadAllFilesAsPrivateState(
+			@Nonnull Map<StateHandleID, StreamStateHandle> privateFiles) throws Exception {
+
+			Preconditions.checkState(localBackupDirectory.exists());
+
+			Path[] files = localBackupDirectory.listDirectory();
+			if (files != null) {
+				Map<StateHandleID, Path> filePaths = new HashMap<>(files.length);
+				for (Path filePath : files) {
+					filePaths.put(new StateHandleID(filePath.getFileName().toString()), filePath);
+				}
+
+				privateFiles.putAll(stateUploader.uploadFilesToCheckpointFs(
+					filePaths,
+					checkpointStreamFactory,
+					CheckpointedStateScope.EXCLUSIVE,
+					snapshotCloseableRegistry));
+			}
+		}
+
 		private void createUploadFilePaths(
 			Path[] files,
 			Map<StateHandleID, StreamStateHandle> sstFiles,
@@ -468,7 +512,7 @@ public class RocksIncrementalSnapshotStrategy<K> extends RocksDBSnapshotStrategy
 
 			CheckpointStreamWithResultProvider streamWithResultProvider =
 
-				localRecoveryConfig.isLocalRecoveryEnabled() ?
+				localRecoveryConfig.isLocalRecoveryEnabled() && !isSavepoint ?
 
 					CheckpointStreamWithResultProvider.createDuplicatingStream(
 						checkpointId,
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.contrib.streaming.state;
+
+import org.apache.flink.api.common.state.ValueState;
+import org.apache.flink.api.common.state.ValueStateDescriptor;
+import org.apache.flink.api.common.typeutils.base.IntSerializer;
+import org.apache.flink.api.common.typeutils.base.StringSerializer;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.configuration.IllegalConfigurationException;
+import org.apache.flink.core.fs.CloseableRegistry;
+import org.apache.flink.metrics.groups.UnregisteredMetricsGroup;
+import org.apache.flink.runtime.checkpoint.CheckpointOptions;
+import org.apache.flink.runtime.checkpoint.CheckpointType;
+import org.apache.flink.runtime.operators.testutils.MockEnvironment;
+import org.apache.flink.runtime.state.CheckpointStorageLocationReference;
+import org.apache.flink.runtime.state.IncrementalRemoteKeyedStateHandle;
+import org.apache.flink.runtime.state.KeyGroupRange;
+import org.apache.flink.runtime.state.KeyedStateHandle;
+import org.apache.flink.runtime.state.PlaceholderStreamStateHandle;
+import org.apache.flink.runtime.state.SnapshotResult;
+import org.apache.flink.runtime.state.StreamStateHandle;
+import org.apache.flink.runtime.state.VoidNamespace;
+import org.apache.flink.runtime.state.VoidNamespaceSerializer;
+import org.apache.flink.runtime.state.memory.MemCheckpointStreamFactory;
+import org.apache.flink.runtime.state.memory.MemoryStateBackend;
+import org.apache.flink.runtime.state.ttl.TtlTimeProvider;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.RunnableFuture;
+
+import static org.apache.flink.contrib.streaming.state.RocksDBStateBackendConfigTest.getMockEnvironment;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for savepoints in the native RocksDB format.
+ */
+public class RocksDBNativeSavepointTest extends TestLogger {
+
+	@Rule
+	public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+	private final ValueStateDescriptor<String> stateDescriptor =
+		new ValueStateDescriptor<>("state", StringSerializer.INSTANCE);
+
+	@Test
+	public void testNativeSavepointIsSelfContained() throws Exception {
+		try (MockEnvironment env = getMockEnvironment(tempFolder.newFolder())) {
+			final RocksDBKeyedStateBackend<Integer> backend =
+				createKeyedBackend(createStateBackend(true, true), env, Collections.emptyList());
+			try {
+				setValue(backend, 1, "value");
+				// the incremental checkpoint makes the sst files candidates for placeholders in later snapshots
+				snapshot(backend, 1L, CheckpointType.CHECKPOINT);
+				backend.notifyCheckpointComplete(1L);
+
+				setValue(backend, 2, "another value");
+				final IncrementalRemoteKeyedStateHandle savepoint = snapshot(backend, 2L, CheckpointType.SAVEPOINT);
+
+				assertTrue(savepoint.getSharedState().isEmpty());
+				assertTrue(savepoint.getPrivateState().keySet().stream()
+					.anyMatch(id -> id.getKeyString().endsWith(".sst")));
+				for (StreamStateHandle handle : savepoint.getPrivateState().values()) {
+					assertFalse(handle instanceof PlaceholderStreamStateHandle);
+				}
+
+				// the savepoint does not change the base of the next incremental checkpoint
+				final IncrementalRemoteKeyedStateHandle checkpoint = snapshot(backend, 3L, CheckpointType.CHECKPOINT);
+				assertTrue(checkpoint.getSharedState().values().stream()
+					.anyMatch(handle -> handle instanceof PlaceholderStreamStateHandle));
+			} finally {
+				backend.dispose();
+			}
+		}
+	}
+
+	@Test
+	public void testRestoreFromNativeSavepoint() throws Exception {
+		try (MockEnvironment env = getMockEnvironment(tempFolder.newFolder())) {
+			final KeyedStateHandle savepoint;
+			RocksDBKeyedStateBackend<Integer> backend =
+				createKeyedBackend(createStateBackend(false, true), env, Collections.emptyList());
+			try {
+				setValue(backend, 1, "value");
+				setValue(backend, 2, "another value");
+				savepoint = snapshot(backend, 1L, CheckpointType.SAVEPOINT);
+			} finally {
+				backend.dispose();
+			}
+
+			// restore with incremental checkpoints, which must not build upon the files of the savepoint
+			backend = createKeyedBackend(createStateBackend(true, false), env, Collections.singletonList(savepoint));
+			try {
+				assertEquals("value", getValue(backend, 1));
+				assertEquals("another value", getValue(backend, 2));
+				assertNull(getValue(backend, 3));
+
+				final IncrementalRemoteKeyedStateHandle checkpoint = snapshot(backend, 2L, CheckpointType.CHECKPOINT);
+				for (StreamStateHandle handle : checkpoint.getSharedState().values()) {
+					assertFalse(handle instanceof PlaceholderStreamStateHandle);
+				}
+			} finally {
+				backend.dispose();
+			}
+
+			// restore with full checkpoints
+			backend = createKeyedBackend(createStateBackend(false, false), env, Collections.singletonList(savepoint));
+			try {
+				assertEquals("value", getValue(backend, 1));
+				assertEquals("another value", getValue(backend, 2));
+			} finally {
+				backend.dispose();
+			}
+		}
+	}
+
+	@Test
+	public void testSharedInstanceRejectsNativeSavepoints() throws Exception {
+		try (MockEnvironment env = getMockEnvironment(tempFolder.newFolder())) {
+			final Configuration configuration = new Configuration();
+			configuration.set(RocksDBOptions.SHARED_INSTANCE_PER_SLOT, true);
+			configuration.set(RocksDBOptions.NATIVE_SAVEPOINTS, true);
+			final RocksDBStateBackend stateBackend = new RocksDBStateBackend(tempFolder.newFolder().toURI().toString(), false)
+				.configure(configuration, getClass().getClassLoader());
+
+			try {
+				createKeyedBackend(stateBackend, env, Collections.emptyList());
+				fail("Expected an exception for native savepoints with a shared instance.");
+			} catch (IllegalConfigurationException expected) {
+				// expected
+			}
+		}
+	}
+
+	// ------------------------------------------------------------------------
+
+	private RocksDBStateBackend createStateBackend(boolean incremental, boolean nativeSavepoints) throws Exception {
+		final RocksDBStateBackend stateBackend = new RocksDBStateBackend(tempFolder.newFolder().toURI().toString(), incremental);
+		stateBackend.setNativeSavepointsEnabled(nativeSavepoints);
+		return stateBackend;
+	}
+
+	private static RocksDBKeyedStateBackend<Integer> createKeyedBackend(
+		RocksDBStateBackend stateBackend,
+		MockEnvironment env,
+		Collection<KeyedStateHandle> stateHandles) throws Exception {
+
+		return (RocksDBKeyedStateBackend<Integer>) stateBackend.createKeyedStateBackend(
+			env,
+			env.getJobID(),
+			"test_op",
+			IntSerializer.INSTANCE,
+			2,
+			new KeyGroupRange(0, 1),
+			env.getTaskKvStateRegistry(),
+			TtlTimeProvider.DEFAULT,
+			new UnregisteredMetricsGroup(),
+			stateHandles,
+			new CloseableRegistry());
+	}
+
+	private static IncrementalRemoteKeyedStateHandle snapshot(
+		RocksDBKeyedStateBackend<Integer> backend,
+		long checkpointId,
+		CheckpointType checkpointType) throws Exception {
+
+		final RunnableFuture<SnapshotResult<KeyedStateHandle>> snapshotFuture = backend.snapshot(
+			checkpointId,
+			checkpointId,
+			new MemCheckpointStreamFactory(MemoryStateBackend.DEFAULT_MAX_STATE_SIZE),
+			new CheckpointOptions(checkpointType, CheckpointStorageLocationReference.getDefault()));
+		snapshotFuture.run();
+
+		final KeyedStateHandle handle = snapshotFuture.get().getJobManagerOwnedSnapshot();
+		assertThat(handle, instanceOf(IncrementalRemoteKeyedStateHandle.class));
+		return (IncrementalRemoteKeyedStateHandle) handle;
+	}
+
+	private void setValue(RocksDBKeyedStateBackend<Integer> backend, int key, String value) throws Exception {
+		backend.setCurrentKey(key);
+		getState(backend).update(value);
+	}
+
+	private String getValue(RocksDBKeyedStateBackend<Integer> backend, int key) throws Exception {
+		backend.setCurrentKey(key);
+		return getState(backend).value();
+	}
+
+	private ValueState<String> getState(RocksDBKeyedStateBackend<Integer> backend) throws Exception {
+		return backend.getPartitionedState(VoidNamespace.INSTANCE, VoidNamespaceSerializer.INSTANCE, stateDescriptor);
+	}
+}
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.contrib.streaming.state;
+
+import org.apache.flink.api.common.state.ValueState;
+import org.apache.flink.api.common.state.ValueStateDescriptor;
+import org.apache.flink.api.common.typeutils.base.IntSerializer;
+import org.apache.flink.api.common.typeutils.base.StringSerializer;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.configuration.IllegalConfigurationException;
+import org.apache.flink.core.fs.CloseableRegistry;
+import org.apache.flink.metrics.groups.UnregisteredMetricsGroup;
+import org.apache.flink.runtime.checkpoint.CheckpointOptions;
+import org.apache.flink.runtime.operators.testutils.MockEnvironment;
+import org.apache.flink.runtime.state.KeyGroupRange;
+import org.apache.flink.runtime.state.KeyedStateHandle;
+import org.apache.flink.runtime.state.SnapshotResult;
+import org.apache.flink.runtime.state.VoidNamespace;
+import org.apache.flink.runtime.state.VoidNamespaceSerializer;
+import org.apache.flink.runtime.state.memory.MemCheckpointStreamFactory;
+import org.apache.flink.runtime.state.memory.MemoryStateBackend;
+import org.apache.flink.runtime.state.ttl.TtlTimeProvider;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.RunnableFuture;
+
+import static org.apache.flink.contrib.streaming.state.RocksDBStateBackendConfigTest.getMockEnvironment;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for keyed state backends that share a {@link RocksDBSharedInstance} per slot.
+ */
+public class RocksDBSharedInstanceTest extends TestLogger {
+
+	@Rule
+	public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+	private final ValueStateDescriptor<String> stateDescriptor =
+		new ValueStateDescriptor<>("state", StringSerializer.INSTANCE);
+
+	@Test
+	public void testBackendsOfSlotShareInstance() throws Exception {
+		try (MockEnvironment env = getMockEnvironment(tempFolder.newFolder())) {
+			final RocksDBStateBackend stateBackend = createStateBackend(false);
+
+			final RocksDBKeyedStateBackend<Integer> first = createKeyedBackend(stateBackend, env, Collections.emptyList());
+			final RocksDBKeyedStateBackend<Integer> second = createKeyedBackend(stateBackend, env, Collections.emptyList());
+			try {
+				assertSame(first.db, second.db);
+
+				// states with the same name must not collide in the shared instance
+				setValue(first, 1, "first");
+				setValue(second, 1, "second");
+				assertEquals("first", getValue(first, 1));
+				assertEquals("second", getValue(second, 1));
+
+				first.dispose();
+				assertTrue(second.db.isOwningHandle());
+				assertEquals("second", getValue(second, 1));
+			} finally {
+				first.dispose();
+				second.dispose();
+			}
+
+			// the last backend of the slot closes the shared instance
+			assertFalse(second.db.isOwningHandle());
+		}
+	}
+
+	@Test
+	public void testSnapshotAndRestoreWithSharedInstance() throws Exception {
+		try (MockEnvironment env = getMockEnvironment(tempFolder.newFolder())) {
+			final RocksDBStateBackend stateBackend = createStateBackend(false);
+
+			final KeyedStateHandle snapshot;
+			final RocksDBKeyedStateBackend<Integer> other = createKeyedBackend(stateBackend, env, Collections.emptyList());
+			try {
+				RocksDBKeyedStateBackend<Integer> backend = createKeyedBackend(stateBackend, env, Collections.emptyList());
+				try {
+					setValue(other, 1, "other");
+					setValue(backend, 1, "value");
+					setValue(backend, 2, "another value");
+
+					RunnableFuture<SnapshotResult<KeyedStateHandle>> snapshotFuture = backend.snapshot(
+						1L,
+						1L,
+						new MemCheckpointStreamFactory(MemoryStateBackend.DEFAULT_MAX_STATE_SIZE),
+						CheckpointOptions.forCheckpointWithDefaultLocation());
+					snapshotFuture.run();
+					snapshot = snapshotFuture.get().getJobManagerOwnedSnapshot();
+				} finally {
+					backend.dispose();
+				}
+
+				backend = createKeyedBackend(stateBackend, env, Collections.singletonList(snapshot));
+				try {
+					assertSame(other.db, backend.db);
+					assertEquals("value", getValue(backend, 1));
+					assertEquals("another value", getValue(backend, 2));
+					assertNull(getValue(backend, 3));
+					assertEquals("other", getValue(other, 1));
+				} finally {
+					backend.dispose();
+				}
+			} finally {
+				other.dispose();
+			}
+		}
+	}
+
+	@Test
+	public void testSharedInstanceRejectsIncrementalCheckpoints() throws Exception {
+		try (MockEnvironment env = getMockEnvironment(tempFolder.newFolder())) {
+			try {
+				createKeyedBackend(createStateBackend(true), env, Collections.emptyList());
+				fail("Expected an exception for incremental checkpoints with a shared instance.");
+			} catch (IllegalConfigurationException expected) {
+				// expected
+			}
+		}
+	}
+
+	// ------------------------------------------------------------------------
+
+	private RocksDBStateBackend createStateBackend(boolean incremental) throws Exception {
+		final Configuration configuration = new Configuration();
+		configuration.set(RocksDBOptions.SHARED_INSTANCE_PER_SLOT, true);
+		return new RocksDBStateBackend(tempFolder.newFolder().toURI().toString(), incremental)
+			.configure(configuration, getClass().getClassLoader());
+	}
+
+	private static RocksDBKeyedStateBackend<Integer> createKeyedBackend(
+		RocksDBStateBackend stateBackend,
+		MockEnvironment env,
+		Collection<KeyedStateHandle> stateHandles) throws Exception {
+
+		return (RocksDBKeyedStateBackend<Integer>) stateBackend.createKeyedStateBackend(
+			env,
+			env.getJobID(),
+			"test_op",
+			IntSerializer.INSTANCE,
+			2,
+			new KeyGroupRange(0, 1),
+			env.getTaskKvStateRegistry(),
+			TtlTimeProvider.DEFAULT,
+			new UnregisteredMetricsGroup(),
+			stateHandles,
+			new CloseableRegistry());
+	}
+
+	private void setValue(RocksDBKeyedStateBackend<Integer> backend, int key, String value) throws Exception {
+		backend.setCurrentKey(key);
+		getState(backend).update(value);
+	}
+
+	private String getValue(RocksDBKeyedStateBackend<Integer> backend, int key) throws Exception {
+		backend.setCurrentKey(key);
+		return getState(backend).value();
+	}
+
+	private ValueState<String> getState(RocksDBKeyedStateBackend<Integer> backend) throws Exception {
+		return backend.getPartitionedState(VoidNamespace.INSTANCE, VoidNamespaceSerializer.INSTANCE, stateDescriptor);
+	}
+}
@@ -19,9 +19,12 @@
 package org.apache.flink.contrib.streaming.state;
 
 import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.state.MapState;
+import org.apache.flink.api.common.state.MapStateDescriptor;
 import org.apache.flink.api.common.state.ValueState;
 import org.apache.flink.api.common.state.ValueStateDescriptor;
 import org.apache.flink.api.common.typeutils.base.IntSerializer;
+import org.apache.flink.api.common.typeutils.base.LongSerializer;
 import org.apache.flink.api.common.typeutils.base.StringSerializer;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.core.testutils.OneShotLatch;
@@ -37,6 +40,7 @@ import org.apache.flink.runtime.state.StreamStateHandle;
 import org.apache.flink.runtime.state.VoidNamespace;
 import org.apache.flink.runtime.state.VoidNamespaceSerializer;
 import org.apache.flink.runtime.state.filesystem.FsStateBackend;
+import org.apache.flink.runtime.state.internal.InternalOrderedMapState;
 import org.apache.flink.runtime.util.BlockerCheckpointStreamFactory;
 import org.apache.flink.runtime.util.BlockingCheckpointOutputStream;
 import org.apache.flink.util.IOUtils;
@@ -76,7 +80,9 @@ import java.util.concurrent.RunnableFuture;
 
 import static junit.framework.TestCase.assertNotNull;
 import static org.apache.flink.contrib.streaming.state.RocksDBKeyedStateBackendBuilder.DB_INSTANCE_DIR_STRING;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
@@ -437,6 +443,73 @@ public class RocksDBStateBackendTest extends StateBackendTestBase<RocksDBStateBa
 		assertEquals(1, allFilesInDbDir.size());
 	}
 
+	@Test
+	public void testMapStateRangeIteration() throws Exception {
+		AbstractKeyedStateBackend<Integer> backend = createKeyedBackend(IntSerializer.INSTANCE);
+		try {
+			MapStateDescriptor<Long, String> kvId =
+				new MapStateDescriptor<>("id", LongSerializer.INSTANCE, StringSerializer.INSTANCE);
+
+			MapState<Long, String> state =
+				backend.getPartitionedState(VoidNamespace.INSTANCE, VoidNamespaceSerializer.INSTANCE, kvId);
+
+			// more entries than fit into the cache of a single iterator load
+			final int numEntries = 300;
+			backend.setCurrentKey(1);
+			for (long i = 0; i < numEntries; i++) {
+				state.put(i, i == 7L ? null : String.valueOf(i));
+			}
+			backend.setCurrentKey(2);
+			state.put(100L, "other");
+
+			backend.setCurrentKey(1);
+			@SuppressWarnings("unchecked")
+			InternalOrderedMapState<Integer, VoidNamespace, Long, String> orderedState =
+				(InternalOrderedMapState<Integer, VoidNamespace, Long, String>) state;
+
+			int count = 0;
+			for (InternalOrderedMapState.SerializedEntry<Long, String> entry : orderedState.serializedEntries()) {
+				assertEquals(Long.BYTES, entry.getSerializedKeyLength());
+				assertEquals(count & 0xFF, entry.getSerializedKeyBuffer()[entry.getSerializedKeyOffset() + Long.BYTES - 1] & 0xFF);
+				count++;
+			}
+			assertEquals(numEntries, count);
+
+			assertRange(orderedState, 50L, 250L, 50L, 250L);
+			assertRange(orderedState, null, 10L, 0L, 10L);
+			assertRange(orderedState, 290L, null, 290L, 300L);
+			assertRange(orderedState, 400L, null, 0L, 0L);
+
+			InternalOrderedMapState.SerializedEntry<Long, String> nullEntry =
+				orderedState.range(7L, 8L).iterator().next();
+			assertNull(nullEntry.getSerializedValue());
+			assertNull(nullEntry.getValue());
+
+			InternalOrderedMapState.SerializedEntry<Long, String> entry =
+				orderedState.range(8L, 9L).iterator().next();
+			assertArrayEquals(new byte[] {2, '8'}, entry.getSerializedValue());
+			assertEquals("8", entry.getValue());
+		} finally {
+			IOUtils.closeQuietly(backend);
+			backend.dispose();
+		}
+	}
+
+	private static void assertRange(
+		InternalOrderedMapState<Integer, VoidNamespace, Long, String> state,
+		Long fromKey,
+		Long toKey,
+		long expectedFirst,
+		long expectedEnd) throws Exception {
+
+		long expected = expectedFirst;
+		for (Map.Entry<Long, String> entry : state.range(fromKey, toKey)) {
+			assertEquals(Long.valueOf(expected), entry.getKey());
+			expected++;
+		}
+		assertEquals(expectedEnd, expected);
+	}
+
 	@Test
 	public void testSharedIncrementalStateDeRegistration() throws Exception {
 		if (enableIncrementalCheckpointing) {
@@ -18,6 +18,7 @@
 
 package org.apache.flink.streaming.api.environment;
 
+import org.apache.flink.annotation.Experimental;
 import org.apache.flink.annotation.Public;
 import org.apache.flink.annotation.PublicEvolving;
 import org.apache.flink.api.common.JobStatus;
@@ -84,6 +85,9 @@ public class CheckpointConfig implements java.io.Serializable {
 
 	private long alignmentTimeout = ExecutionCheckpointingOptions.ALIGNMENT_TIMEOUT.defaultValue().toMillis();
 
+	/** Flag to enable approximate local recovery. */
+	private boolean approximateLocalRecovery;
+
 	/** Cleanup behaviour for persistent checkpoints. */
 	private ExternalizedCheckpointCleanup externalizedCheckpointCleanup;
 
@@ -122,6 +126,7 @@ public class CheckpointConfig implements java.io.Serializable {
 		this.tolerableCheckpointFailureNumber = checkpointConfig.tolerableCheckpointFailureNumber;
 		this.unalignedCheckpointsEnabled = checkpointConfig.isUnalignedCheckpointsEnabled();
 		this.alignmentTimeout = checkpointConfig.alignmentTimeout;
+		this.approximateLocalRecovery = checkpointConfig.approximateLocalRecovery;
 		this.externalizedCheckpointCleanup = checkpointConfig.externalizedCheckpointCleanup;
 		this.forceCheckpointing = checkpointConfig.forceCheckpointing;
 		this.forceUnalignedCheckpoints = checkpointConfig.forceUnalignedCheckpoints;
@@ -504,6 +509,34 @@ public class CheckpointConfig implements java.io.Serializable {
 		return alignmentTimeout;
 	}
 
+	/**
+	 * Enables the approximate local recovery mode.
+	 *
+	 * <p>In this recovery mode, when a task fails, only the failed task restarts from the latest checkpoint,
+	 * while its upstream and downstream tasks keep running. The restarted task reconnects to the partitions of
+	 * its upstream tasks and continues consuming them. Downstream tasks that lose the connection to the failed
+	 * task fail and restart on their own.
+	 *
+	 * <p>The data that was in flight to and from the failed task is lost, so this mode is only suited for
+	 * jobs that can tolerate the loss of data. It cannot be combined with unaligned checkpoints.
+	 *
+	 * @param enabled Flag to indicate whether approximate local recovery is enabled.
+	 */
+	@Experimental
+	public void enableApproximateLocalRecovery(boolean enabled) {
+		approximateLocalRecovery = enabled;
+	}
+
+	/**
+	 * Returns whether approximate local recovery is enabled.
+	 *
+	 * @return <code>true</code> if approximate local recovery is enabled.
+	 */
+	@Experimental
+	public boolean isApproximateLocalRecoveryEnabled() {
+		return approximateLocalRecovery;
+	}
+
 	/**
 	 * Returns the cleanup behaviour for externalized checkpoints.
 	 *
@@ -597,5 +630,7 @@ public class CheckpointConfig implements java.io.Serializable {
 			.ifPresent(timeout -> setAlignmentTimeout(timeout.toMillis()));
 		configuration.getOptional(ExecutionCheckpointingOptions.FORCE_UNALIGNED)
 			.ifPresent(this::setForceUnalignedCheckpoints);
+		configuration.getOptional(ExecutionCheckpointingOptions.APPROXIMATE_LOCAL_RECOVERY)
+			.ifPresent(this::enableApproximateLocalRecovery);
 	}
 }
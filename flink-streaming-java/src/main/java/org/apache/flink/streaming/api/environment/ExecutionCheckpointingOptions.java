@@ -160,6 +160,21 @@ public class ExecutionCheckpointingOptions {
 					"will timeout and checkpoint barrier will start working as unaligned checkpoint.")
 				.build());
 
+	public static final ConfigOption<Boolean> APPROXIMATE_LOCAL_RECOVERY =
+		ConfigOptions.key("execution.checkpointing.approximate-local-recovery")
+			.booleanType()
+			.defaultValue(false)
+			.withDescription(Description.builder()
+				.text("Enables approximate local recovery for jobs that can tolerate the loss of data. Only a failed " +
+					"task is restarted from the latest checkpoint, while its upstream and downstream tasks keep " +
+					"running and the restarted task reconnects to its upstream tasks. The data that was in flight " +
+					"to and from the failed task is lost.")
+				.linebreak()
+				.linebreak()
+				.text("Approximate local recovery can only be used for streaming jobs and cannot be combined with %s.",
+					TextElement.code(ENABLE_UNALIGNED.key()))
+				.build());
+
 	public static final ConfigOption<Boolean> FORCE_UNALIGNED =
 		ConfigOptions.key("execution.checkpointing.unaligned.forced")
 			.booleanType()
@@ -40,6 +40,7 @@ import org.apache.flink.runtime.jobgraph.JobGraphUtils;
 import org.apache.flink.runtime.jobgraph.JobVertex;
 import org.apache.flink.runtime.jobgraph.JobVertexID;
 import org.apache.flink.runtime.jobgraph.OperatorID;
+import org.apache.flink.runtime.jobgraph.ScheduleMode;
 import org.apache.flink.runtime.jobgraph.tasks.AbstractInvokable;
 import org.apache.flink.runtime.jobgraph.tasks.CheckpointCoordinatorConfiguration;
 import org.apache.flink.runtime.jobgraph.tasks.JobCheckpointingSettings;
@@ -162,6 +163,7 @@ public class StreamingJobGraphGenerator {
 
 		// make sure that all vertices start immediately
 		jobGraph.setScheduleMode(streamGraph.getScheduleMode());
+		jobGraph.enableApproximateLocalRecovery(streamGraph.getCheckpointConfig().isApproximateLocalRecoveryEnabled());
 
 		// Generate deterministic hashes for the nodes in order to identify them across
 		// submission iff they didn't change.
@@ -242,6 +244,17 @@ public class StreamingJobGraphGenerator {
 			LOG.warn("Unaligned checkpoints can only be used with checkpointing mode EXACTLY_ONCE");
 			checkpointConfig.enableUnalignedCheckpoints(false);
 		}
+
+		if (checkpointConfig.isApproximateLocalRecoveryEnabled()) {
+			if (checkpointConfig.isUnalignedCheckpointsEnabled()) {
+				throw new UnsupportedOperationException(
+					"Approximate local recovery can not be used together with unaligned checkpoints.");
+			}
+			if (streamGraph.getScheduleMode() != ScheduleMode.EAGER) {
+				throw new UnsupportedOperationException(
+					"Approximate local recovery is only supported for streaming jobs, which are scheduled eagerly.");
+			}
+		}
 	}
 
 	private void setPhysicalEdges() {
@@ -683,6 +696,12 @@ public class StreamingJobGraphGenerator {
 					edge.getShuffleMode() + " is not supported yet.");
 		}
 
+		// a restarted consumer can reconnect to approximate partitions, without restarting the producer
+		if (resultPartitionType == ResultPartitionType.PIPELINED_BOUNDED
+				&& streamGraph.getCheckpointConfig().isApproximateLocalRecoveryEnabled()) {
+			resultPartitionType = ResultPartitionType.PIPELINED_APPROXIMATE;
+		}
+
 		checkAndResetBufferTimeout(resultPartitionType, edge);
 
 		JobEdge jobEdge;
@@ -471,6 +471,31 @@ public abstract class AbstractStreamOperatorV2<OUT> implements StreamOperator<OU
 			triggerable);
 	}
 
+	/**
+	 * Returns a {@link InternalTimerService} that can be used to query current processing time
+	 * and event time and to set timers, like {@link #getInternalTimerService(String, TypeSerializer, Triggerable)}.
+	 * The timestamps of all timers set through the returned service are rounded up to a multiple of the
+	 * given resolution, so that timers of the same key and namespace in the same interval are coalesced
+	 * into a single timer.
+	 *
+	 * @param name The name of the requested timer service.
+	 * @param namespaceSerializer {@code TypeSerializer} for the timer namespace.
+	 * @param triggerable The {@link Triggerable} that should be invoked when timers fire
+	 * @param timerResolution The resolution of the timers in milliseconds, 0 or 1 to disable coalescing.
+	 *
+	 * @param <N> The type of the timer namespace.
+	 * @see CoalescingInternalTimerService
+	 */
+	public <K, N> InternalTimerService<N> getInternalTimerService(
+			String name,
+			TypeSerializer<N> namespaceSerializer,
+			Triggerable<K, N> triggerable,
+			long timerResolution) {
+		return CoalescingInternalTimerService.withResolution(
+			getInternalTimerService(name, namespaceSerializer, triggerable),
+			timerResolution);
+	}
+
 	public void processWatermark(Watermark mark) throws Exception {
 		if (timeServiceManager != null) {
 			timeServiceManager.advanceWatermark(mark);
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.util.Preconditions;
+import org.apache.flink.util.function.BiConsumerWithException;
+
+/**
+ * An {@link InternalTimerService} that rounds the timestamps of all registered and deleted timers up to a
+ * multiple of a fixed resolution before passing them on to the wrapped timer service.
+ *
+ * <p>Because the timer queues of the wrapped service have set semantics per key, namespace and timestamp,
+ * all timers of a key and namespace that fall into the same interval of the resolution are coalesced into
+ * a single timer. A timer therefore fires at most {@code resolution - 1} milliseconds after its requested
+ * timestamp, and deleting a timer also deletes all other timers of that key and namespace that were
+ * coalesced with it.
+ *
+ * @param <N> Type of the namespace to which timers are scoped.
+ */
+@Internal
+public class CoalescingInternalTimerService<N> implements InternalTimerService<N> {
+
+	private final InternalTimerService<N> timerService;
+
+	private final long resolution;
+
+	CoalescingInternalTimerService(InternalTimerService<N> timerService, long resolution) {
+		Preconditions.checkArgument(resolution > 1, "The timer resolution must be greater than 1.");
+		this.timerService = Preconditions.checkNotNull(timerService);
+		this.resolution = resolution;
+	}
+
+	/**
+	 * Wraps the given timer service so that its timers are coalesced to the given resolution, or returns
+	 * the timer service as is if the resolution does not require any coalescing.
+	 */
+	public static <N> InternalTimerService<N> withResolution(InternalTimerService<N> timerService, long resolution) {
+		Preconditions.checkArgument(resolution >= 0, "The timer resolution must not be negative.");
+		return resolution > 1 ? new CoalescingInternalTimerService<>(timerService, resolution) : timerService;
+	}
+
+	@Override
+	public long currentProcessingTime() {
+		return timerService.currentProcessingTime();
+	}
+
+	@Override
+	public long currentWatermark() {
+		return timerService.currentWatermark();
+	}
+
+	@Override
+	public void registerProcessingTimeTimer(N namespace, long time) {
+		timerService.registerProcessingTimeTimer(namespace, coalesce(time));
+	}
+
+	@Override
+	public void deleteProcessingTimeTimer(N namespace, long time) {
+		timerService.deleteProcessingTimeTimer(namespace, coalesce(time));
+	}
+
+	@Override
+	public void registerEventTimeTimer(N namespace, long time) {
+		timerService.registerEventTimeTimer(namespace, coalesce(time));
+	}
+
+	@Override
+	public void deleteEventTimeTimer(N namespace, long time) {
+		timerService.deleteEventTimeTimer(namespace, coalesce(time));
+	}
+
+	@Override
+	public void forEachEventTimeTimer(BiConsumerWithException<N, Long, Exception> consumer) throws Exception {
+		timerService.forEachEventTimeTimer(consumer);
+	}
+
+	@Override
+	public void forEachProcessingTimeTimer(BiConsumerWithException<N, Long, Exception> consumer) throws Exception {
+		timerService.forEachProcessingTimeTimer(consumer);
+	}
+
+	/**
+	 * Rounds the given timestamp up to the next multiple of the resolution, saturating at
+	 * {@link Long#MAX_VALUE}.
+	 */
+	@VisibleForTesting
+	long coalesce(long time) {
+		final long remainder = Math.floorMod(time, resolution);
+		if (remainder == 0) {
+			return time;
+		}
+		final long coalesced = time + (resolution - remainder);
+		return coalesced < time ? Long.MAX_VALUE : coalesced;
+	}
+}
@@ -32,6 +32,7 @@ import org.apache.flink.util.function.BiConsumerWithException;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
@@ -44,6 +45,13 @@ import static org.apache.flink.util.Preconditions.checkNotNull;
  */
 public class InternalTimerServiceImpl<K, N> implements InternalTimerService<N> {
 
+	/**
+	 * The maximum number of event time timers that {@link #advanceWatermark(long)} polls from the queue at once, which
+	 * bounds the memory used for the polled timers when a watermark fires a large number of timers.
+	 */
+	@VisibleForTesting
+	static final int MAX_EVENT_TIME_TIMERS_POLLED_AT_ONCE = 1024;
+
 	private final ProcessingTimeService processingTimeService;
 
 	private final KeyContext keyContext;
@@ -58,6 +66,13 @@ public class InternalTimerServiceImpl<K, N> implements InternalTimerService<N> {
 	 */
 	private final KeyGroupedInternalPriorityQueue<TimerHeapInternalTimer<K, N>> eventTimeTimersQueue;
 
+	/**
+	 * Event time timers that were polled in bulk from the {@link #eventTimeTimersQueue} by
+	 * {@link #advanceWatermark(long)}, but did not fire yet. Timers leave this set when they fire or when they
+	 * are deleted before firing.
+	 */
+	private final Set<TimerHeapInternalTimer<K, N>> pendingEventTimeTimers;
+
 	/**
 	 * Information concerning the local key-group range.
 	 */
@@ -106,6 +121,7 @@ public class InternalTimerServiceImpl<K, N> implements InternalTimerService<N> {
 		this.localKeyGroupRange = checkNotNull(localKeyGroupRange);
 		this.processingTimeTimersQueue = checkNotNull(processingTimeTimersQueue);
 		this.eventTimeTimersQueue = checkNotNull(eventTimeTimersQueue);
+		this.pendingEventTimeTimers = new HashSet<>();
 
 		// find the starting index of the local key-group range
 		int startIdx = Integer.MAX_VALUE;
@@ -214,7 +230,12 @@ public class InternalTimerServiceImpl<K, N> implements InternalTimerService<N> {
 
 	@Override
 	public void registerEventTimeTimer(N namespace, long time) {
-		eventTimeTimersQueue.add(new TimerHeapInternalTimer<>(time, (K) keyContext.getCurrentKey(), namespace));
+		final TimerHeapInternalTimer<K, N> timer =
+			new TimerHeapInternalTimer<>(time, (K) keyContext.getCurrentKey(), namespace);
+		// a timer that was polled by the current watermark, but did not fire yet, is still registered
+		if (pendingEventTimeTimers.isEmpty() || !pendingEventTimeTimers.contains(timer)) {
+			eventTimeTimersQueue.add(timer);
+		}
 	}
 
 	@Override
@@ -224,12 +245,22 @@ public class InternalTimerServiceImpl<K, N> implements InternalTimerService<N> {
 
 	@Override
 	public void deleteEventTimeTimer(N namespace, long time) {
-		eventTimeTimersQueue.remove(new TimerHeapInternalTimer<>(time, (K) keyContext.getCurrentKey(), namespace));
+		final TimerHeapInternalTimer<K, N> timer =
+			new TimerHeapInternalTimer<>(time, (K) keyContext.getCurrentKey(), namespace);
+		if (pendingEventTimeTimers.isEmpty() || !pendingEventTimeTimers.remove(timer)) {
+			eventTimeTimersQueue.remove(timer);
+		}
 	}
 
 	@Override
 	public void forEachEventTimeTimer(BiConsumerWithException<N, Long, Exception> consumer) throws Exception {
 		foreachTimer(consumer, eventTimeTimersQueue);
+
+		// we copy the pending timers, because the consumer can register or delete timers
+		for (TimerHeapInternalTimer<K, N> timer : new ArrayList<>(pendingEventTimeTimers)) {
+			keyContext.setCurrentKey(timer.getKey());
+			consumer.accept(timer.getNamespace(), timer.getTimestamp());
+		}
 	}
 
 	@Override
@@ -268,9 +299,30 @@ public class InternalTimerServiceImpl<K, N> implements InternalTimerService<N> {
 	public void advanceWatermark(long time) throws Exception {
 		currentWatermark = time;
 
+		// we poll the timers up to the watermark in chunks, which allows the queue to remove them in bulk
+		List<TimerHeapInternalTimer<K, N>> polledTimers;
+
+		while (!(polledTimers = eventTimeTimersQueue.pollAll(
+				timer -> timer.getTimestamp() <= time, MAX_EVENT_TIME_TIMERS_POLLED_AT_ONCE)).isEmpty()) {
+			pendingEventTimeTimers.addAll(polledTimers);
+
+			for (TimerHeapInternalTimer<K, N> polledTimer : polledTimers) {
+				// timers registered by the fired timers can be due before the remaining polled timers
+				fireEventTimeTimersBefore(polledTimer.getTimestamp());
+
+				// the timer can have been deleted by a timer that fired before
+				if (pendingEventTimeTimers.remove(polledTimer)) {
+					keyContext.setCurrentKey(polledTimer.getKey());
+					triggerTarget.onEventTime(polledTimer);
+				}
+			}
+		}
+	}
+
+	private void fireEventTimeTimersBefore(long time) throws Exception {
 		InternalTimer<K, N> timer;
 
-		while ((timer = eventTimeTimersQueue.peek()) != null && timer.getTimestamp() <= time) {
+		while ((timer = eventTimeTimersQueue.peek()) != null && timer.getTimestamp() < time) {
 			eventTimeTimersQueue.poll();
 			keyContext.setCurrentKey(timer.getKey());
 			triggerTarget.onEventTime(timer);
@@ -339,7 +391,7 @@ public class InternalTimerServiceImpl<K, N> implements InternalTimerService<N> {
 
 	@VisibleForTesting
 	public int numEventTimeTimers() {
-		return this.eventTimeTimersQueue.size();
+		return this.eventTimeTimersQueue.size() + pendingEventTimeTimers.size();
 	}
 
 	@VisibleForTesting
@@ -349,7 +401,13 @@ public class InternalTimerServiceImpl<K, N> implements InternalTimerService<N> {
 
 	@VisibleForTesting
 	public int numEventTimeTimers(N namespace) {
-		return countTimersInNamespaceInternal(namespace, eventTimeTimersQueue);
+		int count = countTimersInNamespaceInternal(namespace, eventTimeTimersQueue);
+		for (TimerHeapInternalTimer<K, N> timer : pendingEventTimeTimers) {
+			if (timer.getNamespace().equals(namespace)) {
+				count++;
+			}
+		}
+		return count;
 	}
 
 	private int countTimersInNamespaceInternal(N namespace, InternalPriorityQueue<TimerHeapInternalTimer<K, N>> queue) {
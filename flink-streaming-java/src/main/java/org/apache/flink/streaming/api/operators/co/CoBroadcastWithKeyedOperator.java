@@ -90,7 +90,11 @@ public class CoBroadcastWithKeyedOperator<KS, IN1, IN2, OUT>
 		super.open();
 
 		InternalTimerService<VoidNamespace> internalTimerService =
-				getInternalTimerService("user-timers", VoidNamespaceSerializer.INSTANCE, this);
+				getInternalTimerService(
+					"user-timers",
+					VoidNamespaceSerializer.INSTANCE,
+					this,
+					getExecutionConfig().getTimerResolution());
 
 		TimerService timerService = new SimpleTimerService(internalTimerService);
 
@@ -63,7 +63,11 @@ public class KeyedCoProcessOperator<K, IN1, IN2, OUT>
 		collector = new TimestampedCollector<>(output);
 
 		InternalTimerService<VoidNamespace> internalTimerService =
-				getInternalTimerService("user-timers", VoidNamespaceSerializer.INSTANCE, this);
+				getInternalTimerService(
+					"user-timers",
+					VoidNamespaceSerializer.INSTANCE,
+					this,
+					getExecutionConfig().getTimerResolution());
 
 		TimerService timerService = new SimpleTimerService(internalTimerService);
 
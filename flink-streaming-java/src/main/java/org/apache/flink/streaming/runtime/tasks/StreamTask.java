@@ -299,7 +299,9 @@ public abstract class StreamTask<OUT, OP extends StreamOperator<OUT>>
 		this.stateBackend = createStateBackend();
 
 		this.subtaskCheckpointCoordinator = new SubtaskCheckpointCoordinatorImpl(
-			stateBackend.createCheckpointStorage(getEnvironment().getJobID()),
+			stateBackend.createCheckpointStorage(
+				getEnvironment().getJobID(),
+				getEnvironment().getTaskStateManager().getCheckpointUploadThrottle()),
 			getName(),
 			actionExecutor,
 			getCancelables(),
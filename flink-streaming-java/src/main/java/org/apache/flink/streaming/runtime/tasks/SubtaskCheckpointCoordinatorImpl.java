@@ -24,7 +24,6 @@ import org.apache.flink.runtime.checkpoint.CheckpointFailureReason;
 import org.apache.flink.runtime.checkpoint.CheckpointMetaData;
 import org.apache.flink.runtime.checkpoint.CheckpointMetricsBuilder;
 import org.apache.flink.runtime.checkpoint.CheckpointOptions;
-import org.apache.flink.runtime.checkpoint.StateObjectCollection;
 import org.apache.flink.runtime.checkpoint.channel.ChannelStateWriter;
 import org.apache.flink.runtime.checkpoint.channel.ChannelStateWriter.ChannelStateWriteResult;
 import org.apache.flink.runtime.checkpoint.channel.ChannelStateWriterImpl;
@@ -35,7 +34,7 @@ import org.apache.flink.runtime.jobgraph.OperatorID;
 import org.apache.flink.runtime.state.CheckpointStorageLocationReference;
 import org.apache.flink.runtime.state.CheckpointStorageWorkerView;
 import org.apache.flink.runtime.state.CheckpointStreamFactory;
-import org.apache.flink.runtime.state.SnapshotResult;
+import org.apache.flink.runtime.state.LocalRecoveryConfig;
 import org.apache.flink.streaming.api.operators.OperatorSnapshotFutures;
 import org.apache.flink.streaming.api.operators.StreamOperator;
 import org.apache.flink.util.ExceptionUtils;
@@ -139,7 +138,9 @@ class SubtaskCheckpointCoordinatorImpl implements SubtaskCheckpointCoordinator {
 			asyncExceptionHandler,
 			prepareInputSnapshot,
 			maxRecordAbortedCheckpoints,
-			unalignedCheckpointEnabled ? openChannelStateWriter(taskName, checkpointStorage) : ChannelStateWriter.NO_OP);
+			unalignedCheckpointEnabled ?
+				openChannelStateWriter(taskName, checkpointStorage, env.getTaskStateManager().createLocalRecoveryConfig()) :
+				ChannelStateWriter.NO_OP);
 	}
 
 	@VisibleForTesting
@@ -170,8 +171,11 @@ class SubtaskCheckpointCoordinatorImpl implements SubtaskCheckpointCoordinator {
 		this.closed = false;
 	}
 
-	private static ChannelStateWriter openChannelStateWriter(String taskName, CheckpointStorageWorkerView checkpointStorage) {
-		ChannelStateWriterImpl writer = new ChannelStateWriterImpl(taskName, checkpointStorage);
+	private static ChannelStateWriter openChannelStateWriter(
+			String taskName,
+			CheckpointStorageWorkerView checkpointStorage,
+			LocalRecoveryConfig localRecoveryConfig) {
+		ChannelStateWriterImpl writer = new ChannelStateWriterImpl(taskName, checkpointStorage, localRecoveryConfig);
 		writer.open();
 		return writer;
 	}
@@ -533,18 +537,10 @@ class SubtaskCheckpointCoordinatorImpl implements SubtaskCheckpointCoordinator {
 			storage,
 			isCanceled);
 		if (op == operatorChain.getMainOperator()) {
-			snapshotInProgress.setInputChannelStateFuture(
-				channelStateWriteResult
-					.getInputChannelStateHandles()
-					.thenApply(StateObjectCollection::new)
-					.thenApply(SnapshotResult::of));
+			snapshotInProgress.setInputChannelStateFuture(channelStateWriteResult.getInputChannelStateSnapshot());
 		}
 		if (op == operatorChain.getTailOperator()) {
-			snapshotInProgress.setResultSubpartitionStateFuture(
-				channelStateWriteResult
-					.getResultSubpartitionStateHandles()
-					.thenApply(StateObjectCollection::new)
-					.thenApply(SnapshotResult::of));
+			snapshotInProgress.setResultSubpartitionStateFuture(channelStateWriteResult.getResultSubpartitionStateSnapshot());
 		}
 		return snapshotInProgress;
 	}
@@ -96,6 +96,12 @@ public class CheckpointConfigFromConfigurationTest {
 				.whenSetFromFile("execution.checkpointing.unaligned", "true")
 				.viaSetter(CheckpointConfig::enableUnalignedCheckpoints)
 				.getterVia(CheckpointConfig::isUnalignedCheckpointsEnabled)
+				.nonDefaultValue(true),
+
+			TestSpec.testValue(true)
+				.whenSetFromFile("execution.checkpointing.approximate-local-recovery", "true")
+				.viaSetter(CheckpointConfig::enableApproximateLocalRecovery)
+				.getterVia(CheckpointConfig::isApproximateLocalRecoveryEnabled)
 				.nonDefaultValue(true)
 		);
 	}
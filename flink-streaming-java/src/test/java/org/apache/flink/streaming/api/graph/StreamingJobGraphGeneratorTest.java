@@ -608,6 +608,40 @@ public class StreamingJobGraphGeneratorTest extends TestLogger {
 			sourceAndMapVertex.getProducedDataSets().get(0).getResultType());
 	}
 
+	/**
+	 * Test that approximate local recovery translates pipelined exchanges into reconnectable partitions.
+	 */
+	@Test
+	public void testApproximateLocalRecovery() {
+		StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+		env.getCheckpointConfig().enableApproximateLocalRecovery(true);
+		// fromElements -> Map -> Print
+		DataStream<Integer> sourceDataStream = env.fromElements(1, 2, 3);
+
+		DataStream<Integer> partitionAfterSourceDataStream = new DataStream<>(env, new PartitionTransformation<>(
+				sourceDataStream.getTransformation(), new RebalancePartitioner<>(), ShuffleMode.PIPELINED));
+		partitionAfterSourceDataStream.map(value -> value).setParallelism(2).print().setParallelism(2);
+
+		JobGraph jobGraph = StreamingJobGraphGenerator.createJobGraph(env.getStreamGraph());
+		assertTrue(jobGraph.isApproximateLocalRecoveryEnabled());
+
+		List<JobVertex> verticesSorted = jobGraph.getVerticesSortedTopologicallyFromSources();
+		assertEquals(2, verticesSorted.size());
+		assertEquals(ResultPartitionType.PIPELINED_APPROXIMATE,
+			verticesSorted.get(0).getProducedDataSets().get(0).getResultType());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testApproximateLocalRecoveryWithUnalignedCheckpoints() {
+		StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+		env.enableCheckpointing(1000);
+		env.getCheckpointConfig().enableUnalignedCheckpoints(true);
+		env.getCheckpointConfig().enableApproximateLocalRecovery(true);
+		env.fromElements(0).print();
+
+		StreamingJobGraphGenerator.createJobGraph(env.getStreamGraph());
+	}
+
 	@Test(expected = UnsupportedOperationException.class)
 	public void testConflictShuffleModeWithBufferTimeout() {
 		testCompatibleShuffleModeWithBufferTimeout(ShuffleMode.BATCH);
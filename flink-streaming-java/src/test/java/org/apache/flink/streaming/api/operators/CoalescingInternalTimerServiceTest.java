@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators;
+
+import org.apache.flink.runtime.state.VoidNamespace;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link CoalescingInternalTimerService}.
+ */
+public class CoalescingInternalTimerServiceTest extends TestLogger {
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testTimestampsAreRoundedUp() {
+		CoalescingInternalTimerService<VoidNamespace> timerService =
+			new CoalescingInternalTimerService<>(mock(InternalTimerService.class), 1000L);
+
+		assertEquals(0L, timerService.coalesce(0L));
+		assertEquals(1000L, timerService.coalesce(1L));
+		assertEquals(1000L, timerService.coalesce(1000L));
+		assertEquals(2000L, timerService.coalesce(1001L));
+		assertEquals(0L, timerService.coalesce(-1L));
+		assertEquals(-1000L, timerService.coalesce(-1999L));
+		assertEquals(Long.MAX_VALUE, timerService.coalesce(Long.MAX_VALUE));
+		assertEquals(Long.MIN_VALUE + 808L, timerService.coalesce(Long.MIN_VALUE));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testRegisterAndDeleteAreForwardedWithCoalescedTimestamps() {
+		InternalTimerService<VoidNamespace> delegate = mock(InternalTimerService.class);
+		InternalTimerService<VoidNamespace> timerService =
+			CoalescingInternalTimerService.withResolution(delegate, 100L);
+
+		timerService.registerEventTimeTimer(VoidNamespace.INSTANCE, 42L);
+		timerService.deleteEventTimeTimer(VoidNamespace.INSTANCE, 99L);
+		timerService.registerProcessingTimeTimer(VoidNamespace.INSTANCE, 101L);
+		timerService.deleteProcessingTimeTimer(VoidNamespace.INSTANCE, 200L);
+
+		verify(delegate).registerEventTimeTimer(VoidNamespace.INSTANCE, 100L);
+		verify(delegate).deleteEventTimeTimer(VoidNamespace.INSTANCE, 100L);
+		verify(delegate).registerProcessingTimeTimer(VoidNamespace.INSTANCE, 200L);
+		verify(delegate).deleteProcessingTimeTimer(VoidNamespace.INSTANCE, 200L);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testNoCoalescingForUnitResolution() {
+		InternalTimerService<VoidNamespace> delegate = mock(InternalTimerService.class);
+
+		assertSame(delegate, CoalescingInternalTimerService.withResolution(delegate, 0L));
+		assertSame(delegate, CoalescingInternalTimerService.withResolution(delegate, 1L));
+	}
+}
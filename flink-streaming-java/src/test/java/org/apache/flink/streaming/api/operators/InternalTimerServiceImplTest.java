@@ -41,6 +41,7 @@ import org.mockito.stubbing.Answer;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
@@ -447,6 +448,119 @@ public class InternalTimerServiceImplTest {
 		assertEquals(0, timerService.numProcessingTimeTimers());
 	}
 
+	/**
+	 * Verifies that timers which are deleted or registered while firing the timers of a watermark are respected,
+	 * although the timers up to the watermark are polled from the queue at once.
+	 */
+	@Test
+	public void testDeleteAndRegisterEventTimeTimersWhileFiring() throws Exception {
+		final TestKeyContext keyContext = new TestKeyContext();
+		final List<InternalTimer<Integer, String>> firedTimers = new ArrayList<>();
+		final List<InternalTimerServiceImpl<Integer, String>> timerServiceHolder = new ArrayList<>(1);
+
+		// get two different keys
+		final int key1 = getKeyInKeyGroupRange(testKeyGroupRange, maxParallelism);
+		int otherKey = getKeyInKeyGroupRange(testKeyGroupRange, maxParallelism);
+		while (otherKey == key1) {
+			otherKey = getKeyInKeyGroupRange(testKeyGroupRange, maxParallelism);
+		}
+		final int key2 = otherKey;
+
+		Triggerable<Integer, String> triggerable = new Triggerable<Integer, String>() {
+			@Override
+			public void onEventTime(InternalTimer<Integer, String> timer) {
+				firedTimers.add(timer);
+				if (timer.getTimestamp() == 10) {
+					InternalTimerServiceImpl<Integer, String> timerService = timerServiceHolder.get(0);
+					// re-registering a polled timer that did not fire yet must not fire it twice
+					keyContext.setCurrentKey(key2);
+					timerService.registerEventTimeTimer("hello", 30);
+					// deleting a polled timer that did not fire yet must prevent it from firing
+					timerService.deleteEventTimeTimer("ciao", 20);
+					// a new timer must fire before the remaining polled timers with a higher timestamp
+					keyContext.setCurrentKey(key1);
+					timerService.registerEventTimeTimer("ciao", 15);
+				}
+			}
+
+			@Override
+			public void onProcessingTime(InternalTimer<Integer, String> timer) {
+			}
+		};
+
+		InternalTimerServiceImpl<Integer, String> timerService = createAndStartInternalTimerService(
+			triggerable, keyContext, new TestProcessingTimeService(), testKeyGroupRange, createQueueFactory());
+		timerServiceHolder.add(timerService);
+
+		keyContext.setCurrentKey(key1);
+		timerService.registerEventTimeTimer("ciao", 10);
+
+		keyContext.setCurrentKey(key2);
+		timerService.registerEventTimeTimer("ciao", 20);
+		timerService.registerEventTimeTimer("hello", 30);
+
+		timerService.advanceWatermark(30);
+
+		assertEquals(
+			Arrays.asList(
+				new TimerHeapInternalTimer<>(10, key1, "ciao"),
+				new TimerHeapInternalTimer<>(15, key1, "ciao"),
+				new TimerHeapInternalTimer<>(30, key2, "hello")),
+			firedTimers);
+		assertEquals(0, timerService.numEventTimeTimers());
+	}
+
+	/**
+	 * Verifies that the timers up to a watermark are fired in order, although they are polled from the queue in
+	 * chunks, and that the polled timers which did not fire yet are still counted and iterated.
+	 */
+	@Test
+	public void testPendingEventTimeTimersWhileFiring() throws Exception {
+		final TestKeyContext keyContext = new TestKeyContext();
+		final List<Long> firedTimestamps = new ArrayList<>();
+		final List<Integer> timerCountsWhileFiring = new ArrayList<>();
+		final List<InternalTimerServiceImpl<Integer, String>> timerServiceHolder = new ArrayList<>(1);
+
+		final int numTimers = 2 * InternalTimerServiceImpl.MAX_EVENT_TIME_TIMERS_POLLED_AT_ONCE + 1;
+
+		Triggerable<Integer, String> triggerable = new Triggerable<Integer, String>() {
+			@Override
+			public void onEventTime(InternalTimer<Integer, String> timer) throws Exception {
+				firedTimestamps.add(timer.getTimestamp());
+				if (timer.getTimestamp() == 1L) {
+					InternalTimerServiceImpl<Integer, String> timerService = timerServiceHolder.get(0);
+					timerCountsWhileFiring.add(timerService.numEventTimeTimers());
+					timerCountsWhileFiring.add(timerService.numEventTimeTimers("ciao"));
+					final int[] iterated = new int[1];
+					timerService.forEachEventTimeTimer((namespace, timestamp) -> iterated[0]++);
+					timerCountsWhileFiring.add(iterated[0]);
+				}
+			}
+
+			@Override
+			public void onProcessingTime(InternalTimer<Integer, String> timer) {
+			}
+		};
+
+		InternalTimerServiceImpl<Integer, String> timerService = createAndStartInternalTimerService(
+			triggerable, keyContext, new TestProcessingTimeService(), testKeyGroupRange, createQueueFactory());
+		timerServiceHolder.add(timerService);
+
+		for (int i = numTimers; i > 0; i--) {
+			keyContext.setCurrentKey(getKeyInKeyGroupRange(testKeyGroupRange, maxParallelism));
+			timerService.registerEventTimeTimer("ciao", i);
+		}
+
+		timerService.advanceWatermark(numTimers);
+
+		assertEquals(Arrays.asList(numTimers - 1, numTimers - 1, numTimers - 1), timerCountsWhileFiring);
+		assertEquals(numTimers, firedTimestamps.size());
+		for (int i = 0; i < numTimers; i++) {
+			assertEquals(i + 1L, (long) firedTimestamps.get(i));
+		}
+		assertEquals(0, timerService.numEventTimeTimers());
+	}
+
 	/**
 	 * This also verifies that we don't have leakage between keys/namespaces.
 	 *
@@ -186,6 +186,52 @@ public class KeyedProcessOperatorTest extends TestLogger {
 		testHarness.close();
 	}
 
+	@Test
+	public void testCoalescedEventTimeTimers() throws Exception {
+
+		class DelayingProcessFunction extends KeyedProcessFunction<Integer, Integer, String> {
+
+			@Override
+			public void processElement(Integer value, Context ctx, Collector<String> out) throws Exception {
+				ctx.timerService().registerEventTimeTimer(ctx.timestamp() + 1000L);
+			}
+
+			@Override
+			public void onTimer(long timestamp, OnTimerContext ctx, Collector<String> out) throws Exception {
+				out.collect("TIMER:" + timestamp);
+			}
+		}
+
+		KeyedProcessOperator<Integer, Integer, String> operator =
+				new KeyedProcessOperator<>(new DelayingProcessFunction());
+
+		try (
+			OneInputStreamOperatorTestHarness<Integer, String> testHarness =
+				new KeyedOneInputStreamOperatorTestHarness<>(operator, new IdentityKeySelector<Integer>(), BasicTypeInfo.INT_TYPE_INFO)) {
+
+			testHarness.getExecutionConfig().setTimerResolution(1000L);
+			testHarness.setup();
+			testHarness.open();
+
+			testHarness.processElement(new StreamRecord<>(17, 100L));
+			testHarness.processElement(new StreamRecord<>(17, 200L));
+			testHarness.processElement(new StreamRecord<>(17, 900L));
+			testHarness.processElement(new StreamRecord<>(17, 1000L));
+			testHarness.processElement(new StreamRecord<>(17, 1500L));
+
+			assertEquals(2, testHarness.numEventTimeTimers());
+
+			testHarness.processWatermark(new Watermark(3000L));
+
+			ConcurrentLinkedQueue<Object> expectedOutput = new ConcurrentLinkedQueue<>();
+			expectedOutput.add(new StreamRecord<>("TIMER:2000", 2000L));
+			expectedOutput.add(new StreamRecord<>("TIMER:3000", 3000L));
+			expectedOutput.add(new Watermark(3000L));
+
+			TestHarnessUtil.assertOutputEquals("Output was not correct.", expectedOutput, testHarness.getOutput());
+		}
+	}
+
 	@Test
 	public void testProcessingTimeTimers() throws Exception {
 
@@ -55,6 +55,16 @@ public class ExecutionConfigOptions {
 					"NOTE: Cleaning up state requires additional overhead for bookkeeping. " +
 					"Default value is 0, which means that it will never clean up state.");
 
+	@Documentation.TableOption(execMode = Documentation.ExecMode.STREAMING)
+	public static final ConfigOption<Boolean> TABLE_EXEC_JOIN_COMPACT_RECORD_STATE_ENABLED =
+		key("table.exec.join.compact-record-state.enabled")
+			.defaultValue(false)
+			.withDescription("Whether regular streaming joins store the records of an input without unique key " +
+				"under a row id instead of using the whole record as state key. Retracted records are then " +
+				"removed in bulk the next time the records of their join key are read, instead of being " +
+				"looked up one by one. The state of jobs that were started with a different value of this " +
+				"option can not be restored.");
+
 	// ------------------------------------------------------------------------
 	//  Source Options
 	// ------------------------------------------------------------------------
@@ -127,6 +137,30 @@ public class ExecutionConfigOptions {
 				"The larger the memory, the higher the compression ratio, " +
 				"but more memory resource will be consumed by the job.");
 
+	// ------------------------------------------------------------------------
+	//  Hash Join Options
+	// ------------------------------------------------------------------------
+	@Documentation.TableOption(execMode = Documentation.ExecMode.BATCH)
+	public static final ConfigOption<Boolean> TABLE_EXEC_HASH_JOIN_SORT_MERGE_FALLBACK_ENABLED =
+		key("table.exec.hash-join.sort-merge-fallback.enabled")
+			.defaultValue(true)
+			.withDescription("Whether hash join operators fall back to a sort-merge join for spilled partitions " +
+				"that do not fit into memory because of skewed keys, instead of partitioning them again " +
+				"until the maximum recursion depth is exceeded. Currently hash joins that are " +
+				"specialized for a single numeric or temporal key do not support this.");
+
+	// ------------------------------------------------------------------------
+	//  Calc Options
+	// ------------------------------------------------------------------------
+	@Documentation.TableOption(execMode = Documentation.ExecMode.BATCH)
+	public static final ConfigOption<Boolean> TABLE_EXEC_VECTORIZED_FILTER_ENABLED =
+		key("table.exec.vectorized-filter.enabled")
+			.defaultValue(true)
+			.withDescription("Whether batch Calc operators evaluate their filter condition column by column for " +
+				"all rows of a batch at once when the input rows are read from a columnar format, instead of " +
+				"row by row. Only deterministic conditions that reference fields of primitive, character string, " +
+				"binary string, decimal or timestamp types are evaluated this way.");
+
 	// ------------------------------------------------------------------------
 	//  Resource Options
 	// ------------------------------------------------------------------------
@@ -211,6 +245,28 @@ public class ExecutionConfigOptions {
 			.defaultValue(Duration.ofMinutes(3))
 			.withDescription("The async timeout for the asynchronous operation to complete.");
 
+	// ------------------------------------------------------------------------
+	//  Lookup Join Options
+	// ------------------------------------------------------------------------
+	@Documentation.TableOption(execMode = Documentation.ExecMode.BATCH_STREAMING)
+	public static final ConfigOption<Integer> TABLE_EXEC_LOOKUP_JOIN_CACHE_MAX_ROWS =
+		key("table.exec.lookup-join.cache.max-rows")
+			.intType()
+			.defaultValue(0)
+			.withDescription("The maximum number of lookup keys whose rows are cached by a lookup join, " +
+				"independent of the connector of the dimension table. If the cache is full, the rows of the " +
+				"least recently used key are evicted. Identical lookups that are in flight at the same time " +
+				"are deduplicated by the async lookup join. The cache is disabled if the value is not positive.");
+
+	@Documentation.TableOption(execMode = Documentation.ExecMode.BATCH_STREAMING)
+	public static final ConfigOption<Duration> TABLE_EXEC_LOOKUP_JOIN_CACHE_TTL =
+		key("table.exec.lookup-join.cache.ttl")
+			.durationType()
+			.defaultValue(Duration.ZERO)
+			.withDescription("The time after which the cached rows of a lookup key expire, so that " +
+				"changes of the dimension table become visible. The cached rows never expire if the " +
+				"value is 0. Only relevant if 'table.exec.lookup-join.cache.max-rows' is positive.");
+
 	// ------------------------------------------------------------------------
 	//  MiniBatch Options
 	// ------------------------------------------------------------------------
@@ -244,6 +300,14 @@ public class ExecutionConfigOptions {
 				"NOTE: MiniBatch only works for non-windowed aggregations currently. If " + TABLE_EXEC_MINIBATCH_ENABLED.key() +
 				" is set true, its value must be positive.");
 
+	@Documentation.TableOption(execMode = Documentation.ExecMode.STREAMING)
+	public static final ConfigOption<String> TABLE_EXEC_MINIBATCH_MEMORY =
+		key("table.exec.mini-batch.memory")
+			.defaultValue("64 mb")
+			.withDescription("The maximum size of input records can be buffered for MiniBatch by a single operator. " +
+				"MiniBatch is triggered early when the buffered records reach this size, so that a burst of " +
+				"large records can't exhaust the heap. The size of a record is estimated by its binary form.");
+
 	// ------------------------------------------------------------------------
 	//  Other Exec Options
 	// ------------------------------------------------------------------------
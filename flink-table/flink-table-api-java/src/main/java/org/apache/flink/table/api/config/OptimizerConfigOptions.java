@@ -107,4 +107,37 @@ public class OptimizerConfigOptions {
 			.withDescription("Enables creating multiple input operators to reduce shuffling. " +
 				"Default is disabled as currently its physical operators are not implemented. " +
 				"This option is currently only used for plan test cases.");
+
+	@Documentation.TableOption(execMode = Documentation.ExecMode.BATCH)
+	public static final ConfigOption<Boolean> TABLE_OPTIMIZER_DYNAMIC_PARTITION_PRUNING_ENABLED =
+		key("table.optimizer.dynamic-partition-pruning.enabled")
+			.defaultValue(false)
+			.withDescription("Enables dynamic partition pruning for hash joins. If the probe side of a hash join " +
+				"reads a partitioned table whose source supports dynamic partition pruning, and a join key of " +
+				"the probe side is a partition key of that table, the source reads only the partitions whose " +
+				"partition values occur in the join keys of the build side. The join keys of the build side " +
+				"are collected before the source starts to read. Default is disabled.");
+
+	@Documentation.TableOption(execMode = Documentation.ExecMode.BATCH)
+	public static final ConfigOption<Boolean> TABLE_OPTIMIZER_RUNTIME_FILTER_ENABLED =
+		key("table.optimizer.runtime-filter.enabled")
+			.defaultValue(false)
+			.withDescription("Enables runtime filters for hash joins. The build side of a hash join creates a " +
+				"bloom filter of its join keys, which is sent to the probe side before the probe side is " +
+				"shuffled, so that probe rows without a join partner are dropped early. Default is disabled.");
+
+	@Documentation.TableOption(execMode = Documentation.ExecMode.BATCH)
+	public static final ConfigOption<Long> TABLE_OPTIMIZER_RUNTIME_FILTER_MAX_BUILD_ROW_COUNT =
+		key("table.optimizer.runtime-filter.max-build-row-count")
+			.defaultValue(1_000_000L)
+			.withDescription("The maximum estimated row count of the build side of a hash join for which a " +
+				"runtime filter is created. The size of the bloom filter grows with the row count of the build side.");
+
+	@Documentation.TableOption(execMode = Documentation.ExecMode.BATCH)
+	public static final ConfigOption<Double> TABLE_OPTIMIZER_RUNTIME_FILTER_MIN_FILTER_RATIO =
+		key("table.optimizer.runtime-filter.min-filter-ratio")
+			.defaultValue(0.5)
+			.withDescription("The minimum estimated fraction of the probe rows of a hash join that a runtime " +
+				"filter must drop for the runtime filter to be created. The fraction is estimated from the " +
+				"number of distinct join keys on both sides of the join.");
 }
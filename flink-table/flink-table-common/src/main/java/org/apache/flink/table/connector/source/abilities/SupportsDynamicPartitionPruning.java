@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.connector.source.abilities;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.api.common.io.InputFormat;
+import org.apache.flink.table.connector.source.ScanTableSource;
+import org.apache.flink.table.data.RowData;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Enables to prune the partitions of a bounded {@link ScanTableSource} at runtime.
+ *
+ * <p>When a partitioned table is joined with another table on a partition key, for example a fact table
+ * partitioned by date with a filtered dimension table, only the partitions whose partition values occur in
+ * the join keys of the other table contribute to the result of the join. Those partitions are only known
+ * once the other table has been read, so that they can not be pushed into the source during planning (see
+ * {@link SupportsPartitionPushDown}).
+ *
+ * <p>A source that implements this interface provides a {@link PartitionInputFormatFactory}, which can
+ * create an input format for any subset of the partitions of the source. The planner may then read the join
+ * keys of the other table first, derive the remaining partitions from them at runtime and read the source
+ * through an input format for the remaining partitions only, instead of through the runtime provider of
+ * the source.
+ *
+ * <p>A single partition is represented as a {@code Map < String, String >} which maps each partition key
+ * to a partition value, see {@link SupportsPartitionPushDown}. The partition value of a default partition
+ * is {@code null}.
+ */
+@PublicEvolving
+public interface SupportsDynamicPartitionPruning {
+
+	/**
+	 * Returns the factory for input formats that read a subset of the partitions of this source, or
+	 * {@link Optional#empty()} if the partitions of the source can not be pruned at runtime, e.g. because
+	 * the source is unbounded or does not read through an {@link InputFormat}.
+	 *
+	 * <p>The factory must take all other abilities into account that have been applied to the source, e.g.
+	 * the partitions that have been pushed into the source and the projection of the source.
+	 */
+	Optional<PartitionInputFormatFactory> createPartitionInputFormatFactory();
+
+	/**
+	 * A factory for input formats that read a subset of the partitions of a source. The factory is
+	 * serialized and used at runtime.
+	 */
+	@PublicEvolving
+	interface PartitionInputFormatFactory extends Serializable {
+
+		/**
+		 * Returns all partitions that the source reads if no partition is pruned at runtime.
+		 */
+		List<Map<String, String>> getPartitions();
+
+		/**
+		 * Creates an input format that reads the given partitions, which are a subset of
+		 * {@link #getPartitions()}.
+		 *
+		 * <p>The splits of an input format that is created for a subset of the partitions may be read by an
+		 * input format that is created for all partitions.
+		 */
+		InputFormat<RowData, ?> createInputFormat(List<Map<String, String>> partitions);
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.processors;
+
+import org.apache.flink.table.api.TableException;
+import org.apache.flink.table.connector.source.abilities.SupportsDynamicPartitionPruning;
+import org.apache.flink.table.planner.calcite.FlinkTypeFactory;
+import org.apache.flink.table.planner.plan.nodes.exec.AbstractExecNodeExactlyOnceVisitor;
+import org.apache.flink.table.planner.plan.nodes.exec.BatchExecNode;
+import org.apache.flink.table.planner.plan.nodes.exec.ExecNode;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchExecCalc;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchExecDynamicPartitionScan;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchExecExchange;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchExecHashJoin;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchExecTableSourceScan;
+import org.apache.flink.table.planner.plan.nodes.process.DAGProcessContext;
+import org.apache.flink.table.planner.plan.nodes.process.DAGProcessor;
+import org.apache.flink.table.planner.plan.schema.TableSourceTable;
+import org.apache.flink.table.types.logical.LogicalType;
+
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexProgram;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link DAGProcessor} that prunes the partitions of partitioned tables on the probe sides of hash joins
+ * at runtime.
+ *
+ * <p>A {@link BatchExecTableSourceScan} is replaced by a {@link BatchExecDynamicPartitionScan} if
+ * <ul>
+ *     <li>the scan reaches the probe side of a hash join only through exchanges and calcs, and all of these
+ *     nodes, including the scan, have no other outputs,</li>
+ *     <li>probe rows without a join partner are not part of the result of the join,</li>
+ *     <li>a join key of the probe side is a partition key of the scanned table, which is forwarded by the
+ *     calcs, and the join filters null keys, and</li>
+ *     <li>the source of the scan implements {@link SupportsDynamicPartitionPruning}.</li>
+ * </ul>
+ *
+ * <p>NOTE: This processor can be only applied on {@link BatchExecNode} DAG, and must be applied before the
+ * {@link DeadlockBreakupProcessor}, as the partitions are pruned after the build side is read.
+ */
+public class DynamicPartitionPruningProcessor implements DAGProcessor {
+
+	@Override
+	public List<ExecNode<?, ?>> process(List<ExecNode<?, ?>> rootNodes, DAGProcessContext context) {
+		if (!rootNodes.stream().allMatch(r -> r instanceof BatchExecNode)) {
+			throw new TableException("Only BatchExecNode DAG is supported now");
+		}
+
+		Map<ExecNode<?, ?>, Integer> numOutputs = new HashMap<>();
+		List<BatchExecHashJoin> hashJoins = new ArrayList<>();
+		AbstractExecNodeExactlyOnceVisitor visitor = new AbstractExecNodeExactlyOnceVisitor() {
+			@Override
+			protected void visitNode(ExecNode<?, ?> node) {
+				if (node instanceof BatchExecHashJoin) {
+					hashJoins.add((BatchExecHashJoin) node);
+				}
+				for (ExecNode<?, ?> input : node.getInputNodes()) {
+					numOutputs.merge(input, 1, Integer::sum);
+				}
+				visitInputs(node);
+			}
+		};
+		rootNodes.forEach(r -> r.accept(visitor));
+
+		for (BatchExecHashJoin join : hashJoins) {
+			if (!RuntimeFilterProcessor.canFilterProbeSide(join.hashJoinType())) {
+				continue;
+			}
+			int probeOrdinal = join.leftIsBuild() ? 1 : 0;
+			for (int i = 0; i < join.probeKeys().length; i++) {
+				if (join.filterNulls()[i] && tryPrune(join, probeOrdinal, i, numOutputs)) {
+					break;
+				}
+			}
+		}
+		return rootNodes;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static boolean tryPrune(
+			BatchExecHashJoin join,
+			int probeOrdinal,
+			int keyOrdinal,
+			Map<ExecNode<?, ?>, Integer> numOutputs) {
+		// follow the join key of the probe side down to the scan
+		ExecNode<?, ?> parent = join;
+		int ordinalInParent = probeOrdinal;
+		RelNode node = join.probeRel();
+		int fieldIndex = join.probeKeys()[keyOrdinal];
+		while (!(node instanceof BatchExecTableSourceScan)) {
+			if (numOutputs.get(node) != 1) {
+				return false;
+			}
+			if (node instanceof BatchExecCalc) {
+				RexProgram program = ((BatchExecCalc) node).getProgram();
+				RexNode projection = program.expandLocalRef(program.getProjectList().get(fieldIndex));
+				if (!(projection instanceof RexInputRef)) {
+					return false;
+				}
+				fieldIndex = ((RexInputRef) projection).getIndex();
+			} else if (!(node instanceof BatchExecExchange)) {
+				return false;
+			}
+			parent = (ExecNode<?, ?>) node;
+			ordinalInParent = 0;
+			node = node.getInput(0);
+		}
+
+		BatchExecTableSourceScan scan = (BatchExecTableSourceScan) node;
+		TableSourceTable table = scan.getTable().unwrap(TableSourceTable.class);
+		String fieldName = scan.getRowType().getFieldNames().get(fieldIndex);
+		if (numOutputs.get(scan) != 1 ||
+				!(table.tableSource() instanceof SupportsDynamicPartitionPruning) ||
+				!table.catalogTable().getPartitionKeys().contains(fieldName)) {
+			return false;
+		}
+
+		// the join keys of the build side are collected before the build side is shuffled
+		RelNode buildInput = join.buildRel() instanceof BatchExecExchange ?
+			((BatchExecExchange) join.buildRel()).getInput() : join.buildRel();
+		int buildKey = join.buildKeys()[keyOrdinal];
+		LogicalType buildKeyType = FlinkTypeFactory.toLogicalType(
+			buildInput.getRowType().getFieldList().get(buildKey).getType());
+		LogicalType partitionKeyType = FlinkTypeFactory.toLogicalType(
+			scan.getRowType().getFieldList().get(fieldIndex).getType());
+		if (!buildKeyType.copy(true).equals(partitionKeyType.copy(true))) {
+			return false;
+		}
+
+		BatchExecDynamicPartitionScan partitionScan = new BatchExecDynamicPartitionScan(
+			scan.getCluster(),
+			scan.getTraitSet(),
+			buildInput,
+			scan,
+			buildKey,
+			fieldName);
+		((ExecNode) parent).replaceInputNode(ordinalInParent, partitionScan);
+		return true;
+	}
+}
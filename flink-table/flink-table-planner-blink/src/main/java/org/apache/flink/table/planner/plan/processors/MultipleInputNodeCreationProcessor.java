@@ -27,7 +27,9 @@ import org.apache.flink.table.planner.plan.nodes.exec.AbstractExecNodeExactlyOnc
 import org.apache.flink.table.planner.plan.nodes.exec.ExecEdge;
 import org.apache.flink.table.planner.plan.nodes.exec.ExecNode;
 import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchExecBoundedStreamScan;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchExecDynamicPartitionScan;
 import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchExecMultipleInputNode;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchExecRuntimeFilter;
 import org.apache.flink.table.planner.plan.nodes.physical.stream.StreamExecDataStreamScan;
 import org.apache.flink.table.planner.plan.nodes.physical.stream.StreamExecMultipleInputNode;
 import org.apache.flink.table.planner.plan.nodes.process.DAGProcessContext;
@@ -178,6 +180,11 @@ public class MultipleInputNodeCreationProcessor implements DAGProcessor {
 			// exchange cannot be a member of multiple input node
 			return false;
 		}
+		if (wrapper.execNode instanceof BatchExecRuntimeFilter ||
+				wrapper.execNode instanceof BatchExecDynamicPartitionScan) {
+			// these nodes are translated into several operators with different parallelisms
+			return false;
+		}
 
 		return true;
 	}
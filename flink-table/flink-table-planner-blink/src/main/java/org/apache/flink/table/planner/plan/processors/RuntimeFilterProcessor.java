@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.processors;
+
+import org.apache.flink.configuration.ReadableConfig;
+import org.apache.flink.table.api.TableException;
+import org.apache.flink.table.api.config.OptimizerConfigOptions;
+import org.apache.flink.table.planner.plan.nodes.exec.AbstractExecNodeExactlyOnceVisitor;
+import org.apache.flink.table.planner.plan.nodes.exec.BatchExecNode;
+import org.apache.flink.table.planner.plan.nodes.exec.ExecNode;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchExecExchange;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchExecHashJoin;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchExecRuntimeFilter;
+import org.apache.flink.table.planner.plan.nodes.process.DAGProcessContext;
+import org.apache.flink.table.planner.plan.nodes.process.DAGProcessor;
+import org.apache.flink.table.runtime.operators.join.HashJoinType;
+
+import org.apache.calcite.rel.RelDistribution;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.util.ImmutableBitSet;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link DAGProcessor} that adds runtime filters to the probe sides of hash joins.
+ *
+ * <p>A {@link BatchExecRuntimeFilter} is inserted below the exchange of the probe side of a hash join if
+ * <ul>
+ *     <li>both sides of the join are hash-partitioned, so that the filter saves shuffling probe rows,</li>
+ *     <li>probe rows without a join partner are not part of the result of the join,</li>
+ *     <li>the estimated row count of the build side does not exceed
+ *     {@link OptimizerConfigOptions#TABLE_OPTIMIZER_RUNTIME_FILTER_MAX_BUILD_ROW_COUNT}, which bounds the size
+ *     of the filter, and</li>
+ *     <li>the filter is estimated to drop at least
+ *     {@link OptimizerConfigOptions#TABLE_OPTIMIZER_RUNTIME_FILTER_MIN_FILTER_RATIO} of the probe rows.</li>
+ * </ul>
+ *
+ * <p>NOTE: This processor can be only applied on {@link BatchExecNode} DAG, and must be applied before the
+ * {@link DeadlockBreakupProcessor}, as the runtime filter reads the build side before the probe side.
+ */
+public class RuntimeFilterProcessor implements DAGProcessor {
+
+	@Override
+	public List<ExecNode<?, ?>> process(List<ExecNode<?, ?>> rootNodes, DAGProcessContext context) {
+		if (!rootNodes.stream().allMatch(r -> r instanceof BatchExecNode)) {
+			throw new TableException("Only BatchExecNode DAG is supported now");
+		}
+
+		ReadableConfig config = context.getPlanner().getTableConfig().getConfiguration();
+		long maxBuildRowCount = config.get(OptimizerConfigOptions.TABLE_OPTIMIZER_RUNTIME_FILTER_MAX_BUILD_ROW_COUNT);
+		double minFilterRatio = config.get(OptimizerConfigOptions.TABLE_OPTIMIZER_RUNTIME_FILTER_MIN_FILTER_RATIO);
+
+		Map<ExecNode<?, ?>, Integer> numOutputs = new HashMap<>();
+		List<BatchExecHashJoin> hashJoins = new ArrayList<>();
+		AbstractExecNodeExactlyOnceVisitor visitor = new AbstractExecNodeExactlyOnceVisitor() {
+			@Override
+			protected void visitNode(ExecNode<?, ?> node) {
+				if (node instanceof BatchExecHashJoin) {
+					hashJoins.add((BatchExecHashJoin) node);
+				}
+				for (ExecNode<?, ?> input : node.getInputNodes()) {
+					numOutputs.merge(input, 1, Integer::sum);
+				}
+				visitInputs(node);
+			}
+		};
+		rootNodes.forEach(r -> r.accept(visitor));
+
+		for (BatchExecHashJoin join : hashJoins) {
+			if (join.isBroadcast() || !canFilterProbeSide(join.hashJoinType())) {
+				continue;
+			}
+			BatchExecExchange buildExchange = getHashExchange(join.buildRel());
+			BatchExecExchange probeExchange = getHashExchange(join.probeRel());
+			// the exchange of the probe side may be reused by other nodes, which need all rows
+			if (buildExchange == null || probeExchange == null || numOutputs.get(probeExchange) != 1) {
+				continue;
+			}
+
+			RelNode buildInput = buildExchange.getInput();
+			RelNode probeInput = probeExchange.getInput();
+			RelMetadataQuery mq = join.getCluster().getMetadataQuery();
+			Double buildRowCount = mq.getRowCount(buildInput);
+			if (buildRowCount == null || buildRowCount > maxBuildRowCount) {
+				continue;
+			}
+			Double buildNdv = mq.getDistinctRowCount(buildInput, ImmutableBitSet.of(join.buildKeys()), null);
+			Double probeNdv = mq.getDistinctRowCount(probeInput, ImmutableBitSet.of(join.probeKeys()), null);
+			if (buildNdv == null || probeNdv == null || probeNdv <= 0) {
+				continue;
+			}
+			double filterRatio = 1.0 - Math.min(1.0, buildNdv / probeNdv);
+			if (filterRatio < minFilterRatio) {
+				continue;
+			}
+
+			BatchExecRuntimeFilter runtimeFilter = new BatchExecRuntimeFilter(
+				probeInput.getCluster(),
+				probeInput.getTraitSet(),
+				buildInput,
+				probeInput,
+				join.buildKeys(),
+				join.probeKeys(),
+				(int) Math.max(1L, Math.round(buildRowCount)));
+			probeExchange.replaceInputNode(0, runtimeFilter);
+		}
+		return rootNodes;
+	}
+
+	static boolean canFilterProbeSide(HashJoinType type) {
+		switch (type) {
+			case INNER:
+			case BUILD_OUTER:
+			case SEMI:
+			case BUILD_LEFT_SEMI:
+				return true;
+			default:
+				// the join emits probe rows without a join partner
+				return false;
+		}
+	}
+
+	private static BatchExecExchange getHashExchange(RelNode node) {
+		if (node instanceof BatchExecExchange &&
+				((BatchExecExchange) node).getDistribution().getType() == RelDistribution.Type.HASH_DISTRIBUTED) {
+			return (BatchExecExchange) node;
+		}
+		return null;
+	}
+}
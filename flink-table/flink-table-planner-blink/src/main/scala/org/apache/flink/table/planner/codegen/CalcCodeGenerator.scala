@@ -20,14 +20,18 @@ package org.apache.flink.table.planner.codegen
 import org.apache.flink.api.common.functions.{FlatMapFunction, Function}
 import org.apache.flink.api.dag.Transformation
 import org.apache.flink.table.api.{TableConfig, TableException, ValidationException}
-import org.apache.flink.table.data.{BoxedWrapperRowData, RowData}
+import org.apache.flink.table.data.{BoxedWrapperRowData, ColumnarRowData, RowData}
+import org.apache.flink.table.data.vector.{ColumnVector, VectorizedColumnBatch}
 import org.apache.flink.table.functions.FunctionKind
+import org.apache.flink.table.planner.codegen.CodeGenUtils.{className, newName, newNames}
 import org.apache.flink.table.planner.functions.bridging.BridgingSqlFunction
 import org.apache.flink.table.runtime.generated.GeneratedFunction
 import org.apache.flink.table.runtime.operators.CodeGenOperatorFactory
 import org.apache.flink.table.runtime.typeutils.InternalTypeInfo
+import org.apache.flink.table.runtime.util.ColumnarBatchSelection
 import org.apache.flink.table.types.logical.RowType
 
+import org.apache.calcite.plan.RelOptUtil
 import org.apache.calcite.rex._
 
 import scala.collection.JavaConversions._
@@ -41,22 +45,34 @@ object CalcCodeGenerator {
       calcProgram: RexProgram,
       condition: Option[RexNode],
       retainHeader: Boolean = false,
-      opName: String): CodeGenOperatorFactory[RowData] = {
+      opName: String,
+      vectorizedFilter: Boolean = false): CodeGenOperatorFactory[RowData] = {
     val inputType = inputTransform.getOutputType
       .asInstanceOf[InternalTypeInfo[RowData]]
       .toRowType
     // filter out time attributes
     val inputTerm = CodeGenUtils.DEFAULT_INPUT1_TERM
-    val processCode = generateProcessCode(
-      ctx,
-      inputType,
-      outputType,
-      classOf[BoxedWrapperRowData],
-      calcProgram,
-      condition,
-      eagerInputUnboxingCode = true,
-      retainHeader = retainHeader,
-      allowSplit = true)
+    val processCode = condition match {
+      case Some(filter) if vectorizedFilter && isVectorizedFilterSupported(inputType, filter) =>
+        generateVectorizedFilterProcessCode(
+          ctx,
+          inputType,
+          outputType,
+          calcProgram,
+          filter,
+          retainHeader)
+      case _ =>
+        generateProcessCode(
+          ctx,
+          inputType,
+          outputType,
+          classOf[BoxedWrapperRowData],
+          calcProgram,
+          condition,
+          eagerInputUnboxingCode = true,
+          retainHeader = retainHeader,
+          allowSplit = true)
+    }
 
     val genOperator =
       OperatorCodeGenerator.generateOneInputStreamOperator[RowData, RowData](
@@ -70,6 +86,144 @@ object CalcCodeGenerator {
     new CodeGenOperatorFactory(genOperator)
   }
 
+  /**
+    * Returns whether the filter condition can be evaluated for a batch of columnar rows at once,
+    * which requires a deterministic condition that only accesses fields supported by
+    * [[GenerateUtils.generateColumnarInputAccess]].
+    */
+  private def isVectorizedFilterSupported(inputType: RowType, condition: RexNode): Boolean = {
+    var supported = true
+    condition.accept(new RexVisitorImpl[Unit](true) {
+      override def visitInputRef(inputRef: RexInputRef): Unit = {
+        supported &&= GenerateUtils.isColumnarInputAccessSupported(
+          inputType.getTypeAt(inputRef.getIndex))
+      }
+
+      override def visitCall(call: RexCall): Unit = {
+        supported &&= call.getOperator.isDeterministic && !call.getOperator.isDynamicFunction
+        super.visitCall(call)
+      }
+    })
+    supported
+  }
+
+  /**
+    * Generates the process code of a calc whose filter is evaluated column by column when the
+    * input is a [[ColumnarRowData]] of a columnar source. Columnar sources emit the rows of a batch
+    * one by one, so the filter is evaluated for all remaining rows of the batch when the first of
+    * them arrives, and the following rows only look up whether they were selected, see
+    * [[ColumnarBatchSelection]]. Other rows are processed as usual.
+    */
+  private def generateVectorizedFilterProcessCode(
+      ctx: CodeGeneratorContext,
+      inputType: RowType,
+      outRowType: RowType,
+      calcProgram: RexProgram,
+      condition: RexNode,
+      retainHeader: Boolean): String = {
+    val inputTerm = CodeGenUtils.DEFAULT_INPUT1_TERM
+    val columnarRowTypeTerm = className[ColumnarRowData]
+    val selectionTerm = newName("selection")
+    ctx.addReusableMember(
+      s"private final ${className[ColumnarBatchSelection]} $selectionTerm = " +
+        s"new ${className[ColumnarBatchSelection]}();")
+
+    // the filter reads its input fields from the column vectors of the batch, by row id
+    val evaluateFilterTerm = newName("evaluateFilter")
+    val Seq(rowTerm, batchTerm, vectorsTerm, numRowsTerm, selectedTerm, startTerm, rowIdTerm,
+        exceptionTerm) =
+      newNames("row", "batch", "vectors", "numRows", "selected", "start", "rowId", "e")
+    ctx.withLocalVariableStatement(evaluateFilterTerm) {
+      val inputFields = RelOptUtil.InputFinder.bits(condition).toList
+      inputFields.foreach { index =>
+        GenerateUtils.generateColumnarInputAccess(
+          ctx, inputType.getTypeAt(index), vectorsTerm, rowIdTerm, index)
+      }
+      val filterCondition = new ExprCodeGenerator(ctx, false)
+        .bindInput(inputType, inputTerm = vectorsTerm)
+        .generateExpression(condition)
+      val inputCode = ctx.reuseInputUnboxingCode(vectorsTerm)
+      inputFields.foreach(index => ctx.reusableInputUnboxingExprs.remove((vectorsTerm, index)))
+
+      ctx.addReusableMember(
+        s"""
+           |private void $evaluateFilterTerm($columnarRowTypeTerm $rowTerm) throws Exception {
+           |  ${ctx.reuseLocalVariableCode(evaluateFilterTerm)}
+           |  ${className[VectorizedColumnBatch]} $batchTerm = $rowTerm.getVectorizedColumnBatch();
+           |  ${className[ColumnVector]}[] $vectorsTerm = $batchTerm.columns;
+           |  int $numRowsTerm = $batchTerm.getNumRows();
+           |  boolean[] $selectedTerm = $selectionTerm.reset($numRowsTerm);
+           |  int $startTerm = $rowTerm.getRowId();
+           |  int $rowIdTerm = $startTerm;
+           |  try {
+           |    for (; $rowIdTerm < $numRowsTerm; $rowIdTerm++) {
+           |      $inputCode
+           |      ${filterCondition.code}
+           |      $selectedTerm[$rowIdTerm] = ${filterCondition.resultTerm};
+           |    }
+           |  } catch (Exception $exceptionTerm) {
+           |    // following rows can have been dropped upstream, they are evaluated on arrival
+           |    if ($rowIdTerm == $startTerm) {
+           |      throw $exceptionTerm;
+           |    }
+           |  }
+           |  $selectionTerm.setEvaluated($batchTerm, $startTerm, $rowIdTerm);
+           |}
+           |""".stripMargin)
+    }
+
+    // selected columnar rows only need to be projected
+    val projection = calcProgram.getProjectList.map(calcProgram.expandLocalRef)
+    val selectedCode = if (isOnlyFilter(inputType, projection)) {
+      OperatorCodeGenerator.generateCollect(inputTerm)
+    } else {
+      generateProcessCode(
+        ctx,
+        inputType,
+        outRowType,
+        classOf[BoxedWrapperRowData],
+        calcProgram,
+        None,
+        eagerInputUnboxingCode = true,
+        retainHeader = retainHeader,
+        allowSplit = true)
+    }
+    ctx.reusableInputUnboxingExprs.clear()
+
+    val rowCode = generateProcessCode(
+      ctx,
+      inputType,
+      outRowType,
+      classOf[BoxedWrapperRowData],
+      calcProgram,
+      Some(condition),
+      eagerInputUnboxingCode = true,
+      retainHeader = retainHeader,
+      allowSplit = true)
+
+    val columnarInputTerm = newName("columnarInput")
+    s"""
+       |$columnarRowTypeTerm $columnarInputTerm = $inputTerm instanceof $columnarRowTypeTerm ?
+       |  ($columnarRowTypeTerm) $inputTerm : null;
+       |if ($columnarInputTerm != null && $selectionTerm.isBatchEvaluable($columnarInputTerm)) {
+       |  if ($selectionTerm.needsEvaluation($columnarInputTerm)) {
+       |    $evaluateFilterTerm($columnarInputTerm);
+       |  }
+       |  if ($selectionTerm.isSelected($columnarInputTerm.getRowId())) {
+       |    $selectedCode
+       |  }
+       |} else {
+       |  $rowCode
+       |}
+       |""".stripMargin
+  }
+
+  private def isOnlyFilter(inputType: RowType, projection: Seq[RexNode]): Boolean =
+    projection.lengthCompare(inputType.getFieldCount) == 0 &&
+      projection.zipWithIndex.forall { case (rexNode, index) =>
+        rexNode.isInstanceOf[RexInputRef] && rexNode.asInstanceOf[RexInputRef].getIndex == index
+      }
+
   private[flink] def generateFunction[T <: Function](
       inputType: RowType,
       name: String,
@@ -128,10 +282,7 @@ object CalcCodeGenerator {
     val exprGenerator = new ExprCodeGenerator(ctx, false)
         .bindInput(inputType, inputTerm = inputTerm)
 
-    val onlyFilter = projection.lengthCompare(inputType.getFieldCount) == 0 &&
-      projection.zipWithIndex.forall { case (rexNode, index) =>
-        rexNode.isInstanceOf[RexInputRef] && rexNode.asInstanceOf[RexInputRef].getIndex == index
-      }
+    val onlyFilter = isOnlyFilter(inputType, projection)
 
     def produceOutputCode(resultTerm: String) = if (outputDirectly) {
       s"$collectorTerm.collect($resultTerm);"
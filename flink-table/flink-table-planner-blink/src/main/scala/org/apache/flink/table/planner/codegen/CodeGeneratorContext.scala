@@ -159,6 +159,21 @@ class CodeGeneratorContext(val tableConfig: TableConfig) {
     reusableLocalVariableStatements(methodName) = mutable.LinkedHashSet[String]()
   }
 
+  /**
+    * Generates code whose local variables are placed into the method with the given name, and
+    * continues with the local variable statements of the current method afterwards.
+    * @param methodName the method name which the fields will be placed into if code is not split.
+    */
+  def withLocalVariableStatement[T](methodName: String)(generate: => T): T = {
+    val previousMethodName = currentMethodNameForLocalVariables
+    startNewLocalVariableStatement(methodName)
+    try {
+      generate
+    } finally {
+      currentMethodNameForLocalVariables = previousMethodName
+    }
+  }
+
   /**
    * Set the flag [[isCodeSplitMap]] to be true for methodName, which indicates
    * the generated code is split into several methods.
@@ -37,6 +37,7 @@ import org.apache.flink.table.planner.plan.utils.SortUtil
 import org.apache.flink.table.runtime.typeutils.TypeCheckUtils.{isCharacterString, isReference, isTemporal}
 import org.apache.flink.table.types.logical.LogicalTypeRoot._
 import org.apache.flink.table.types.logical._
+import org.apache.flink.table.types.logical.utils.LogicalTypeChecks
 import org.apache.flink.table.types.logical.utils.LogicalTypeChecks.{getFieldCount, getFieldTypes}
 import org.apache.flink.table.util.TimestampStringUtils.toLocalDateTime
 
@@ -568,6 +569,95 @@ object GenerateUtils {
     GeneratedExpression(inputExpr.resultTerm, inputExpr.nullTerm, "", inputExpr.resultType)
   }
 
+  /**
+    * Returns whether [[generateColumnarInputAccess]] supports fields of the given type.
+    */
+  def isColumnarInputAccessSupported(fieldType: LogicalType): Boolean =
+    fieldType.getTypeRoot match {
+      case BOOLEAN | TINYINT | SMALLINT | INTEGER | DATE | TIME_WITHOUT_TIME_ZONE | BIGINT |
+           FLOAT | DOUBLE | CHAR | VARCHAR | BINARY | VARBINARY | DECIMAL |
+           TIMESTAMP_WITHOUT_TIME_ZONE | TIMESTAMP_WITH_LOCAL_TIME_ZONE => true
+      case _ => false
+    }
+
+  /**
+    * Generates access to a field of a columnar input, which reads the value of the given row
+    * directly from the column vector of the field. The access is registered as input unboxing
+    * expression of the vectors term, so that expressions bound to the vectors term as input term
+    * read their fields from the column vectors.
+    *
+    * @param ctx  code generator context which maintains various code statements.
+    * @param fieldType  type of the field, see [[isColumnarInputAccessSupported]]
+    * @param vectorsTerm  term of the column vectors of the batch
+    * @param rowIdTerm  term of the row id within the batch
+    * @param index  the field index to access
+    */
+  def generateColumnarInputAccess(
+      ctx: CodeGeneratorContext,
+      fieldType: LogicalType,
+      vectorsTerm: String,
+      rowIdTerm: String,
+      index: Int): Unit = {
+    val vectorTerm = s"$vectorsTerm[$index]"
+    def read(vectorClass: Class[_], getter: String, args: Any*): String = {
+      val argsTerm = (rowIdTerm +: args).mkString(", ")
+      s"((${vectorClass.getCanonicalName}) $vectorTerm).$getter($argsTerm)"
+    }
+
+    val Seq(fieldTerm, nullTerm) = ctx.addReusableLocalVariables(
+      (primitiveTypeTermForType(fieldType), "field"),
+      ("boolean", "isNull"))
+    val readCode = fieldType.getTypeRoot match {
+      case BOOLEAN => read(classOf[vector.BooleanColumnVector], "getBoolean")
+      case TINYINT => read(classOf[vector.ByteColumnVector], "getByte")
+      case SMALLINT => read(classOf[vector.ShortColumnVector], "getShort")
+      case INTEGER | DATE | TIME_WITHOUT_TIME_ZONE =>
+        read(classOf[vector.IntColumnVector], "getInt")
+      case BIGINT => read(classOf[vector.LongColumnVector], "getLong")
+      case FLOAT => read(classOf[vector.FloatColumnVector], "getFloat")
+      case DOUBLE => read(classOf[vector.DoubleColumnVector], "getDouble")
+      case CHAR | VARCHAR =>
+        val bytesTerm = ctx.addReusableLocalVariable(
+          classOf[vector.BytesColumnVector.Bytes].getCanonicalName, "bytes")
+        s"$BINARY_STRING.fromBytes(" +
+          s"($bytesTerm = ${read(classOf[vector.BytesColumnVector], "getBytes")}).data, " +
+          s"$bytesTerm.offset, $bytesTerm.len)"
+      case BINARY | VARBINARY =>
+        s"${read(classOf[vector.BytesColumnVector], "getBytes")}.getBytes()"
+      case DECIMAL =>
+        val decimalType = fieldType.asInstanceOf[DecimalType]
+        read(
+          classOf[vector.DecimalColumnVector],
+          "getDecimal",
+          decimalType.getPrecision,
+          decimalType.getScale)
+      case TIMESTAMP_WITHOUT_TIME_ZONE | TIMESTAMP_WITH_LOCAL_TIME_ZONE =>
+        read(
+          classOf[vector.TimestampColumnVector],
+          "getTimestamp",
+          LogicalTypeChecks.getPrecision(fieldType))
+      case _ =>
+        throw new CodeGenException(s"Unsupported columnar access of type '$fieldType'.")
+    }
+
+    val inputCode = if (ctx.nullCheck) {
+      s"""
+         |$nullTerm = $vectorTerm.isNullAt($rowIdTerm);
+         |$fieldTerm = ${primitiveDefaultValue(fieldType)};
+         |if (!$nullTerm) {
+         |  $fieldTerm = $readCode;
+         |}
+         |""".stripMargin.trim
+    } else {
+      s"""
+         |$nullTerm = false;
+         |$fieldTerm = $readCode;
+         |""".stripMargin.trim
+    }
+    ctx.addReusableInputUnboxingExprs(
+      vectorsTerm, index, GeneratedExpression(fieldTerm, nullTerm, inputCode, fieldType))
+  }
+
   def generateNullableInputFieldAccess(
     ctx: CodeGeneratorContext,
     inputType: LogicalType,
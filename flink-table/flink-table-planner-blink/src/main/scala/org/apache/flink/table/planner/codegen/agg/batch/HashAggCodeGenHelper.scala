@@ -554,10 +554,28 @@ object HashAggCodeGenHelper {
       initedAggBuffer: GeneratedExpression,
       lookupInfo: String,
       currentAggBufferTerm: String): String = {
+    genRetryAppendToMapWithLookup(
+      aggregateMapTerm,
+      s"$aggregateMapTerm.lookup($currentKeyTerm)",
+      initedAggBuffer,
+      lookupInfo,
+      currentAggBufferTerm)
+  }
+
+  /**
+    * Generates the retry of an append after the aggregate map is out of memory, where the
+    * current group key is looked up again by the given lookup expression.
+    */
+  private[flink] def genRetryAppendToMapWithLookup(
+      aggregateMapTerm: String,
+      lookupCode: String,
+      initedAggBuffer: GeneratedExpression,
+      lookupInfo: String,
+      currentAggBufferTerm: String): String = {
     s"""
        | // reset aggregate map retry append
        |$aggregateMapTerm.reset();
-       |$lookupInfo = $aggregateMapTerm.lookup($currentKeyTerm);
+       |$lookupInfo = $lookupCode;
        |try {
        |  $currentAggBufferTerm =
        |    $aggregateMapTerm.append($lookupInfo, ${initedAggBuffer.resultTerm});
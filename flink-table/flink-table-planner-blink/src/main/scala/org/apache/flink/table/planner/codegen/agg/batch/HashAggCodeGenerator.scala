@@ -22,7 +22,7 @@ import org.apache.flink.streaming.api.operators.OneInputStreamOperator
 import org.apache.flink.table.data.binary.BinaryRowData
 import org.apache.flink.table.data.{GenericRowData, JoinedRowData, RowData}
 import org.apache.flink.table.functions.{AggregateFunction, UserDefinedFunction}
-import org.apache.flink.table.planner.codegen.{CodeGenUtils, CodeGeneratorContext, ProjectionCodeGenerator}
+import org.apache.flink.table.planner.codegen.{CodeGenUtils, CodeGeneratorContext, GenerateUtils, ProjectionCodeGenerator}
 import org.apache.flink.table.planner.functions.aggfunctions.DeclarativeAggregateFunction
 import org.apache.flink.table.planner.plan.utils.{AggregateInfo, AggregateInfoList}
 import org.apache.flink.table.runtime.generated.GeneratedOperator
@@ -133,10 +133,28 @@ class HashAggCodeGenerator(
     val outputResultFromMap = HashAggCodeGenHelper.genAggMapIterationAndOutput(
       ctx, isFinal, aggregateMapTerm, reuseAggMapEntryTerm, reuseAggBufferTerm, outputExpr)
 
+    // gen code to look up the group key. A single INT or BIGINT group key is looked up as a
+    // long, and the group key is only projected for the null key, see BytesHashMap#lookup(long)
+    val groupKeyTypes = groupKeyRowType.getChildren.toArray(Array[LogicalType]())
+    val (lookupKeyCode, lookupCode) = if (BytesHashMap.isLongKey(groupKeyTypes)) {
+      val keyExpr = GenerateUtils.generateInputAccess(
+        ctx, inputType, inputTerm, grouping.head, nullableInput = false)
+      val code =
+        s"""
+           |if (${keyExpr.nullTerm}) {
+           |  $keyProjectionCode
+           |}
+         """.stripMargin
+      (code, s"${keyExpr.nullTerm} ? $aggregateMapTerm.lookup($currentKeyTerm) : " +
+        s"$aggregateMapTerm.lookup((long) ${keyExpr.resultTerm})")
+    } else {
+      (keyProjectionCode, s"$aggregateMapTerm.lookup($currentKeyTerm)")
+    }
+
     // gen code to deal with hash map oom, if enable fallback we will use sort agg strategy
     val sorterTerm = CodeGenUtils.newName("sorter")
-    val retryAppend = HashAggCodeGenHelper.genRetryAppendToMap(
-      aggregateMapTerm, currentKeyTerm, initedAggBuffer, lookupInfo, currentAggBufferTerm)
+    val retryAppend = HashAggCodeGenHelper.genRetryAppendToMapWithLookup(
+      aggregateMapTerm, lookupCode, initedAggBuffer, lookupInfo, currentAggBufferTerm)
 
     val (dealWithAggHashMapOOM, fallbackToSortAggCode) = HashAggCodeGenHelper.genAggMapOOMHandling(
       isFinal,
@@ -173,9 +191,9 @@ class HashAggCodeGenerator(
          | // input field access for group key projection and aggregate buffer update
          |${ctx.reuseInputUnboxingCode(inputTerm)}
          | // project key from input
-         |$keyProjectionCode
+         |$lookupKeyCode
          | // look up output buffer using current group key
-         |$lookupInfo = $aggregateMapTerm.lookup($currentKeyTerm);
+         |$lookupInfo = $lookupCode;
          |$currentAggBufferTerm = $lookupInfo.getValue();
          |
          |if (!$lookupInfo.isFound()) {
@@ -29,7 +29,7 @@ import org.apache.flink.table.planner.plan.`trait`.FlinkRelDistributionTraitDef
 import org.apache.flink.table.planner.plan.nodes.exec.{BatchExecNode, ExecNode}
 import org.apache.flink.table.planner.plan.nodes.process.{DAGProcessContext, DAGProcessor}
 import org.apache.flink.table.planner.plan.optimize.{BatchCommonSubGraphBasedOptimizer, Optimizer}
-import org.apache.flink.table.planner.plan.processors.{DeadlockBreakupProcessor, MultipleInputNodeCreationProcessor}
+import org.apache.flink.table.planner.plan.processors.{DeadlockBreakupProcessor, DynamicPartitionPruningProcessor, MultipleInputNodeCreationProcessor, RuntimeFilterProcessor}
 import org.apache.flink.table.planner.plan.utils.{ExecNodePlanDumper, FlinkRelOptUtil}
 import org.apache.flink.table.planner.sinks.{BatchSelectTableSink, SelectTableSinkBase}
 import org.apache.flink.table.planner.utils.{DummyStreamExecutionEnvironment, ExecutorUtils, PlanUtil}
@@ -65,6 +65,16 @@ class BatchPlanner(
     val context = new DAGProcessContext(this)
 
     val processors = new util.ArrayList[DAGProcessor]()
+    // dynamic partition pruning, must be applied before deadlocks are resolved
+    if (getTableConfig.getConfiguration.getBoolean(
+        OptimizerConfigOptions.TABLE_OPTIMIZER_DYNAMIC_PARTITION_PRUNING_ENABLED)) {
+      processors.add(new DynamicPartitionPruningProcessor())
+    }
+    // runtime filters, must be created before deadlocks are resolved
+    if (getTableConfig.getConfiguration.getBoolean(
+        OptimizerConfigOptions.TABLE_OPTIMIZER_RUNTIME_FILTER_ENABLED)) {
+      processors.add(new RuntimeFilterProcessor())
+    }
     // deadlock breakup
     processors.add(new DeadlockBreakupProcessor())
     // multiple input creation
@@ -40,14 +40,14 @@ import org.apache.flink.table.planner.plan.schema.{LegacyTableSourceTable, Table
 import org.apache.flink.table.planner.plan.utils.LookupJoinUtil._
 import org.apache.flink.table.planner.plan.utils.PythonUtil.containsPythonCall
 import org.apache.flink.table.planner.plan.utils.RelExplainUtil.preferExpressionFormat
-import org.apache.flink.table.planner.plan.utils.{JoinTypeUtil, RelExplainUtil}
+import org.apache.flink.table.planner.plan.utils.{JoinTypeUtil, KeySelectorUtil, RelExplainUtil}
 import org.apache.flink.table.runtime.connector.source.LookupRuntimeProviderContext
-import org.apache.flink.table.runtime.operators.join.lookup.{AsyncLookupJoinRunner, AsyncLookupJoinWithCalcRunner, LookupJoinRunner, LookupJoinWithCalcRunner}
+import org.apache.flink.table.runtime.operators.join.lookup.{AsyncLookupJoinRunner, AsyncLookupJoinWithCalcRunner, LookupJoinCache, LookupJoinRunner, LookupJoinWithCalcRunner}
 import org.apache.flink.table.runtime.types.ClassLogicalTypeConverter
 import org.apache.flink.table.runtime.types.LogicalTypeDataTypeConverter.{fromDataTypeToLogicalType, fromLogicalTypeToDataType}
 import org.apache.flink.table.runtime.types.PlannerTypeUtils.isInteroperable
 import org.apache.flink.table.runtime.types.TypeInfoDataTypeConverter.fromDataTypeToTypeInfo
-import org.apache.flink.table.runtime.typeutils.InternalTypeInfo
+import org.apache.flink.table.runtime.typeutils.{InternalTypeInfo, RowDataSerializer}
 import org.apache.flink.table.sources.LookupableTableSource
 import org.apache.flink.table.types.DataType
 import org.apache.flink.table.types.logical.utils.LogicalTypeUtils.toInternalConversionClass
@@ -279,6 +279,8 @@ abstract class CommonLookupJoin(
 
     val leftOuterJoin = joinType == JoinRelType.LEFT
 
+    val cache = createLookupJoinCache(config, inputRowType, tableSourceRowType)
+
     val operatorFactory = if (isAsyncEnabled) {
       val asyncBufferCapacity= config.getConfiguration
         .getInteger(ExecutionConfigOptions.TABLE_EXEC_ASYNC_LOOKUP_BUFFER_CAPACITY)
@@ -355,6 +357,8 @@ abstract class CommonLookupJoin(
           asyncBufferCapacity)
       }
 
+      asyncFunc.setCache(cache)
+
       // force ORDERED output mode currently, optimize it to UNORDERED
       // when the downstream do not need orderness
       new AsyncWaitOperatorFactory(asyncFunc, asyncTimeout, asyncBufferCapacity, OutputMode.ORDERED)
@@ -426,6 +430,7 @@ abstract class CommonLookupJoin(
           leftOuterJoin,
           rightRowType.getFieldCount)
       }
+      processFunc.setCache(cache)
       SimpleOperatorFactory.of(new ProcessOperator(processFunc))
     }
 
@@ -437,6 +442,34 @@ abstract class CommonLookupJoin(
       inputTransformation.getParallelism)
   }
 
+  /**
+    * Creates the connector-agnostic cache of the lookup join, or null if the cache is disabled.
+    */
+  private def createLookupJoinCache(
+      config: TableConfig,
+      inputRowType: RowType,
+      tableSourceRowType: RowType): LookupJoinCache = {
+    val maxRows = config.getConfiguration.getInteger(
+      ExecutionConfigOptions.TABLE_EXEC_LOOKUP_JOIN_CACHE_MAX_ROWS)
+    if (maxRows <= 0) {
+      return null
+    }
+    val ttl = config.getConfiguration.get(ExecutionConfigOptions.TABLE_EXEC_LOOKUP_JOIN_CACHE_TTL)
+
+    // constant lookup keys are the same for all input rows, so they are not part of the cache key
+    val inputKeyIndices = lookupKeyIndicesInOrder.flatMap { tableField =>
+      allLookupKeys(tableField) match {
+        case FieldRefLookupKey(inputField) => Some(inputField)
+        case _ => None
+      }
+    }
+    new LookupJoinCache(
+      KeySelectorUtil.getRowDataSelector(inputKeyIndices, InternalTypeInfo.of(inputRowType)),
+      new RowDataSerializer(tableSourceRowType),
+      maxRows,
+      ttl.toMillis)
+  }
+
   private def rowTypeEquals(expected: TypeInformation[_], actual: TypeInformation[_]): Boolean = {
     // check internal and external type, cause we will auto convert external class to internal
     // class (eg: Row => RowData).
@@ -19,6 +19,7 @@
 package org.apache.flink.table.planner.plan.nodes.physical.batch
 
 import org.apache.flink.api.dag.Transformation
+import org.apache.flink.table.api.config.ExecutionConfigOptions
 import org.apache.flink.table.data.RowData
 import org.apache.flink.table.planner.calcite.FlinkTypeFactory
 import org.apache.flink.table.planner.codegen.{CalcCodeGenerator, CodeGeneratorContext}
@@ -65,7 +66,9 @@ class BatchExecCalc(
       outputType,
       calcProgram,
       condition,
-      opName = "BatchCalc"
+      opName = "BatchCalc",
+      vectorizedFilter = config.getConfiguration.getBoolean(
+        ExecutionConfigOptions.TABLE_EXEC_VECTORIZED_FILTER_ENABLED)
     )
 
     ExecNode.createOneInputTransformation(
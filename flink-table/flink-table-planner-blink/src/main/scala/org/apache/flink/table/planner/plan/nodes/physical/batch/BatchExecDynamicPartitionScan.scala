@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.nodes.physical.batch
+
+import org.apache.flink.api.common.ExecutionConfig
+import org.apache.flink.api.common.typeinfo.PrimitiveArrayTypeInfo
+import org.apache.flink.api.dag.Transformation
+import org.apache.flink.streaming.api.operators.SimpleOperatorFactory
+import org.apache.flink.streaming.api.transformations.{OneInputTransformation, PartitionTransformation}
+import org.apache.flink.streaming.runtime.partitioner.RebalancePartitioner
+import org.apache.flink.table.connector.source.abilities.SupportsDynamicPartitionPruning
+import org.apache.flink.table.data.RowData
+import org.apache.flink.table.planner.calcite.FlinkTypeFactory
+import org.apache.flink.table.planner.delegation.BatchPlanner
+import org.apache.flink.table.planner.plan.nodes.exec.{BatchExecNode, ExecEdge, ExecNode}
+import org.apache.flink.table.runtime.operators.join.partitionpruning.{DynamicPartitionPruningOperator, PartitionSplitReaderOperator, PartitionValueCollectorOperator}
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo
+import org.apache.flink.table.types.logical.RowType
+
+import org.apache.calcite.plan.{RelOptCluster, RelTraitSet}
+import org.apache.calcite.rel.`type`.RelDataType
+import org.apache.calcite.rel.metadata.RelMetadataQuery
+import org.apache.calcite.rel.{RelNode, RelWriter, SingleRel}
+
+import java.util
+
+import scala.collection.JavaConversions._
+
+/**
+  * Batch physical RelNode that reads the partitions of a partitioned table which remain after the
+  * partitions are pruned by the join keys of the build side of a hash join.
+  *
+  * The node replaces the [[BatchExecTableSourceScan]] on the probe side of a hash join, whose
+  * source implements [[SupportsDynamicPartitionPruning]]. Its input is the input of the build side
+  * of the join, and the join key of the build side at index `buildKey` is joined with the
+  * partition key `partitionKey` of the table.
+  *
+  * The distinct join keys of the build side are collected by a single task, which prunes the
+  * partitions once the build side is read completely and creates the input splits of the remaining
+  * partitions. The splits are read by the parallel instances of a reader.
+  */
+class BatchExecDynamicPartitionScan(
+    cluster: RelOptCluster,
+    traitSet: RelTraitSet,
+    buildRel: RelNode,
+    val scan: BatchExecTableSourceScan,
+    val buildKey: Int,
+    val partitionKey: String)
+  extends SingleRel(cluster, traitSet, buildRel)
+  with BatchPhysicalRel
+  with BatchExecNode[RowData] {
+
+  require(scan.tableSource.isInstanceOf[SupportsDynamicPartitionPruning])
+
+  override def deriveRowType(): RelDataType = scan.getRowType
+
+  override def copy(traitSet: RelTraitSet, inputs: util.List[RelNode]): RelNode = {
+    new BatchExecDynamicPartitionScan(
+      cluster, traitSet, inputs.get(0), scan, buildKey, partitionKey)
+  }
+
+  override def explainTerms(pw: RelWriter): RelWriter = {
+    super.explainTerms(pw)
+      .item("table", scan.getTable.getQualifiedName)
+      .item("fields", getRowType.getFieldNames.mkString(", "))
+      .item("partitionKey", partitionKey)
+      .item("buildKey", getInput.getRowType.getFieldNames.get(buildKey))
+  }
+
+  override def estimateRowCount(mq: RelMetadataQuery): Double = mq.getRowCount(scan)
+
+  //~ ExecNode methods -----------------------------------------------------------
+
+  override def getInputNodes: util.List[ExecNode[BatchPlanner, _]] =
+    List(getInput.asInstanceOf[ExecNode[BatchPlanner, _]])
+
+  override def getInputEdges: util.List[ExecEdge] = {
+    // the partitions are pruned once all join keys of the build side are collected
+    List(
+      ExecEdge.builder()
+        .damBehavior(ExecEdge.DamBehavior.BLOCKING)
+        .priority(0)
+        .build())
+  }
+
+  override def replaceInputNode(
+      ordinalInParent: Int,
+      newInputNode: ExecNode[BatchPlanner, _]): Unit = {
+    replaceInput(ordinalInParent, newInputNode.asInstanceOf[RelNode])
+  }
+
+  override protected def translateToPlanInternal(
+      planner: BatchPlanner): Transformation[RowData] = {
+    val factory = scan.tableSource.asInstanceOf[SupportsDynamicPartitionPruning]
+      .createPartitionInputFormatFactory()
+    if (!factory.isPresent) {
+      // the source can not prune its partitions at runtime, so all partitions are read
+      return scan.translateToPlan(planner)
+    }
+
+    val buildInput = getInputNodes.get(0).translateToPlan(planner)
+      .asInstanceOf[Transformation[RowData]]
+    val buildType = buildInput.getOutputType.asInstanceOf[InternalTypeInfo[RowData]].toRowType
+    val keyType = buildType.getTypeAt(buildKey)
+    val outputType = FlinkTypeFactory.toLogicalRowType(getRowType)
+
+    val collector = ExecNode.createOneInputTransformation(
+      buildInput,
+      s"PartitionValueCollector(${getRelDetailedDescription})",
+      SimpleOperatorFactory.of(new PartitionValueCollectorOperator(buildKey, keyType)),
+      InternalTypeInfo.of(RowType.of(keyType)),
+      buildInput.getParallelism)
+    val minNumSplits = Math.max(1, planner.getExecEnv.getParallelism)
+    val enumerator = new OneInputTransformation[RowData, Array[Byte]](
+      collector,
+      s"DynamicPartitionPruning(${getRelDetailedDescription})",
+      SimpleOperatorFactory.of(
+        new DynamicPartitionPruningOperator(factory.get, partitionKey, keyType, minNumSplits)),
+      PrimitiveArrayTypeInfo.BYTE_PRIMITIVE_ARRAY_TYPE_INFO,
+      1)
+    val splits = new PartitionTransformation[Array[Byte]](
+      enumerator, new RebalancePartitioner[Array[Byte]]())
+
+    new OneInputTransformation[Array[Byte], RowData](
+      splits,
+      getRelDetailedDescription,
+      SimpleOperatorFactory.of(new PartitionSplitReaderOperator(factory.get, outputType)),
+      InternalTypeInfo.of(outputType),
+      ExecutionConfig.PARALLELISM_DEFAULT)
+  }
+}
@@ -25,13 +25,14 @@ import org.apache.flink.table.api.config.ExecutionConfigOptions
 import org.apache.flink.table.data.RowData
 import org.apache.flink.table.planner.calcite.FlinkTypeFactory
 import org.apache.flink.table.planner.codegen.ProjectionCodeGenerator.generateProjection
+import org.apache.flink.table.planner.codegen.sort.SortCodeGenerator
 import org.apache.flink.table.planner.codegen.{CodeGeneratorContext, LongHashJoinGenerator}
 import org.apache.flink.table.planner.delegation.BatchPlanner
 import org.apache.flink.table.planner.plan.`trait`.{FlinkRelDistribution, FlinkRelDistributionTraitDef}
 import org.apache.flink.table.planner.plan.cost.{FlinkCost, FlinkCostFactory}
 import org.apache.flink.table.planner.plan.nodes.FlinkConventions
 import org.apache.flink.table.planner.plan.nodes.exec.{ExecEdge, ExecNode}
-import org.apache.flink.table.planner.plan.utils.{FlinkRelMdUtil, JoinUtil}
+import org.apache.flink.table.planner.plan.utils.{FlinkRelMdUtil, JoinUtil, SortUtil}
 import org.apache.flink.table.runtime.operators.join.{HashJoinOperator, HashJoinType}
 import org.apache.flink.table.runtime.typeutils.{BinaryRowDataSerializer, InternalTypeInfo}
 import org.apache.flink.table.types.logical.RowType
@@ -262,6 +263,33 @@ class BatchExecHashJoin(
         reverseJoin,
         condFunc)
     } else {
+      def newSortGen(originalKeys: Array[Int], t: RowType): SortCodeGenerator = {
+        val originalOrders = originalKeys.map(_ => true)
+        val (keys, orders, nullsIsLast) = SortUtil.deduplicateSortKeys(
+          originalKeys,
+          originalOrders,
+          SortUtil.getNullDefaultOrders(originalOrders))
+        val types = keys.map(t.getTypeAt)
+        new SortCodeGenerator(config, keys, types, orders, nullsIsLast)
+      }
+
+      // code to sort the spilled partitions that can not be partitioned into memory
+      val sortMergeFallback = config.getConfiguration.getBoolean(
+        ExecutionConfigOptions.TABLE_EXEC_HASH_JOIN_SORT_MERGE_FALLBACK_ENABLED)
+      val (bComputer, bComparator, pComputer, pComparator, keyComparator) =
+        if (sortMergeFallback) {
+          val bSortGen = newSortGen(buildKeys, bType)
+          val pSortGen = newSortGen(probeKeys, pType)
+          (bSortGen.generateNormalizedKeyComputer("BuildComputer"),
+            bSortGen.generateRecordComparator("BuildComparator"),
+            pSortGen.generateNormalizedKeyComputer("ProbeComputer"),
+            pSortGen.generateRecordComparator("ProbeComparator"),
+            newSortGen(buildKeys.indices.toArray, keyType)
+              .generateRecordComparator("KeyComparator"))
+        } else {
+          (null, null, null, null, null)
+        }
+
       SimpleOperatorFactory.of(HashJoinOperator.newHashJoinOperator(
         hashJoinType,
         condFunc,
@@ -273,7 +301,12 @@ class BatchExecHashJoin(
         buildRowSize,
         buildRowCount,
         probeRowCount,
-        keyType
+        keyType,
+        bComputer,
+        bComparator,
+        pComputer,
+        pComparator,
+        keyComparator
       ))
     }
 
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.nodes.physical.batch
+
+import org.apache.flink.api.dag.Transformation
+import org.apache.flink.streaming.api.operators.SimpleOperatorFactory
+import org.apache.flink.streaming.api.transformations.PartitionTransformation
+import org.apache.flink.streaming.runtime.partitioner.BroadcastPartitioner
+import org.apache.flink.table.data.RowData
+import org.apache.flink.table.planner.codegen.CodeGeneratorContext
+import org.apache.flink.table.planner.codegen.ProjectionCodeGenerator.generateProjection
+import org.apache.flink.table.planner.delegation.BatchPlanner
+import org.apache.flink.table.planner.plan.nodes.exec.{BatchExecNode, ExecEdge, ExecNode}
+import org.apache.flink.table.runtime.operators.join.runtimefilter.{GlobalRuntimeFilterBuilderOperator, LocalRuntimeFilterBuilderOperator, RuntimeBloomFilter, RuntimeFilterOperator}
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo
+import org.apache.flink.table.types.logical.{RowType, VarBinaryType}
+
+import org.apache.calcite.plan.{RelOptCluster, RelTraitSet}
+import org.apache.calcite.rel.`type`.RelDataType
+import org.apache.calcite.rel.metadata.RelMetadataQuery
+import org.apache.calcite.rel.{BiRel, RelNode, RelWriter}
+
+import java.util
+
+import scala.collection.JavaConversions._
+
+/**
+  * Batch physical RelNode that drops the rows of the probe side of a hash join whose join keys
+  * are not contained in a bloom filter of the join keys of the build side.
+  *
+  * The node is inserted on the probe side of a hash join, below the exchange of the probe side,
+  * so that dropped rows are not shuffled. Its first input is the input of the build side of the
+  * join, and its second input is the input of the probe side of the join.
+  */
+class BatchExecRuntimeFilter(
+    cluster: RelOptCluster,
+    traitSet: RelTraitSet,
+    buildRel: RelNode,
+    probeRel: RelNode,
+    val buildKeys: Array[Int],
+    val probeKeys: Array[Int],
+    val expectedEntries: Int)
+  extends BiRel(cluster, traitSet, buildRel, probeRel)
+  with BatchPhysicalRel
+  with BatchExecNode[RowData] {
+
+  require(buildKeys.length == probeKeys.length && buildKeys.nonEmpty)
+  require(expectedEntries > 0)
+
+  override def deriveRowType(): RelDataType = getRight.getRowType
+
+  override def copy(traitSet: RelTraitSet, inputs: util.List[RelNode]): RelNode = {
+    new BatchExecRuntimeFilter(
+      cluster, traitSet, inputs.get(0), inputs.get(1), buildKeys, probeKeys, expectedEntries)
+  }
+
+  override def explainTerms(pw: RelWriter): RelWriter = {
+    val buildFieldNames = getLeft.getRowType.getFieldNames
+    val probeFieldNames = getRight.getRowType.getFieldNames
+    pw.input("build", getLeft)
+      .input("probe", getRight)
+      .item("buildKeys", buildKeys.map(buildFieldNames.get).mkString(", "))
+      .item("probeKeys", probeKeys.map(probeFieldNames.get).mkString(", "))
+      .item("expectedEntries", expectedEntries)
+  }
+
+  override def estimateRowCount(mq: RelMetadataQuery): Double = mq.getRowCount(getRight)
+
+  //~ ExecNode methods -----------------------------------------------------------
+
+  override def getInputNodes: util.List[ExecNode[BatchPlanner, _]] =
+    getInputs.map(_.asInstanceOf[ExecNode[BatchPlanner, _]])
+
+  override def getInputEdges: util.List[ExecEdge] = {
+    // the filter must be complete before the first probe row can be filtered
+    val buildEdge = ExecEdge.builder()
+      .damBehavior(ExecEdge.DamBehavior.BLOCKING)
+      .priority(0)
+      .build()
+    val probeEdge = ExecEdge.builder()
+      .damBehavior(ExecEdge.DamBehavior.PIPELINED)
+      .priority(1)
+      .build()
+    List(buildEdge, probeEdge)
+  }
+
+  override def replaceInputNode(
+      ordinalInParent: Int,
+      newInputNode: ExecNode[BatchPlanner, _]): Unit = {
+    replaceInput(ordinalInParent, newInputNode.asInstanceOf[RelNode])
+  }
+
+  override protected def translateToPlanInternal(
+      planner: BatchPlanner): Transformation[RowData] = {
+    val config = planner.getTableConfig
+
+    val buildInput = getInputNodes.get(0).translateToPlan(planner)
+      .asInstanceOf[Transformation[RowData]]
+    val probeInput = getInputNodes.get(1).translateToPlan(planner)
+      .asInstanceOf[Transformation[RowData]]
+
+    val buildType = buildInput.getOutputType.asInstanceOf[InternalTypeInfo[RowData]].toRowType
+    val probeType = probeInput.getOutputType.asInstanceOf[InternalTypeInfo[RowData]].toRowType
+    // the keys of both sides are projected to the same type, so that equal keys have equal hashes
+    val keyType = RowType.of(probeKeys.map(probeType.getTypeAt): _*)
+
+    val buildProjection = generateProjection(
+      CodeGeneratorContext(config), "RuntimeFilterBuildProjection", buildType, keyType, buildKeys)
+    val probeProjection = generateProjection(
+      CodeGeneratorContext(config), "RuntimeFilterProbeProjection", probeType, keyType, probeKeys)
+
+    val numBytes = RuntimeBloomFilter.optimalNumBytes(
+      expectedEntries, BatchExecRuntimeFilter.FALSE_POSITIVE_PROBABILITY)
+    val filterType = InternalTypeInfo.of(RowType.of(new VarBinaryType(VarBinaryType.MAX_LENGTH)))
+
+    val localBuilder = ExecNode.createOneInputTransformation(
+      buildInput,
+      s"LocalRuntimeFilterBuilder(${getRelDetailedDescription})",
+      SimpleOperatorFactory.of(
+        new LocalRuntimeFilterBuilderOperator(buildProjection, expectedEntries, numBytes)),
+      filterType,
+      buildInput.getParallelism)
+    val globalBuilder = ExecNode.createOneInputTransformation(
+      localBuilder,
+      s"GlobalRuntimeFilterBuilder(${getRelDetailedDescription})",
+      SimpleOperatorFactory.of(new GlobalRuntimeFilterBuilderOperator(expectedEntries, numBytes)),
+      filterType,
+      1)
+    val broadcastFilter = new PartitionTransformation(
+      globalBuilder, new BroadcastPartitioner[RowData]())
+
+    ExecNode.createTwoInputTransformation(
+      broadcastFilter,
+      probeInput,
+      getRelDetailedDescription,
+      SimpleOperatorFactory.of(new RuntimeFilterOperator(probeProjection, expectedEntries)),
+      probeInput.getOutputType,
+      probeInput.getParallelism)
+  }
+}
+
+object BatchExecRuntimeFilter {
+
+  /** The false positive probability that the bloom filters are sized for. */
+  val FALSE_POSITIVE_PROBABILITY: Double = 0.05
+}
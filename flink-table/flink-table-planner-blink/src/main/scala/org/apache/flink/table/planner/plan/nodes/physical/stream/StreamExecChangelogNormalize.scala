@@ -105,7 +105,7 @@ class StreamExecChangelogNormalize(
         // disable state ttl, the changelog normalize should keep all state to have data integrity
         // we can enable state ttl if this is really needed in some cases
         -1)
-      val trigger = AggregateUtil.createMiniBatchTrigger(tableConfig)
+      val trigger = AggregateUtil.createMiniBatchTrigger(tableConfig, rowTypeInfo.toRowType)
       new KeyedMapBundleOperator(
         processFunction,
         trigger)
@@ -125,7 +125,7 @@ class StreamExecDeduplicate(
           rowSerializer,
           minRetentionTime)
       }
-      val trigger = AggregateUtil.createMiniBatchTrigger(tableConfig)
+      val trigger = AggregateUtil.createMiniBatchTrigger(tableConfig, rowTypeInfo.toRowType)
       new KeyedMapBundleOperator(
         processFunction,
         trigger)
@@ -166,7 +166,9 @@ class StreamExecGlobalGroupAggregate(
 
       new KeyedMapBundleOperator(
         aggFunction,
-        AggregateUtil.createMiniBatchTrigger(tableConfig))
+        AggregateUtil.createMiniBatchTrigger(
+          tableConfig,
+          inputTransformation.getOutputType.asInstanceOf[InternalTypeInfo[RowData]].toRowType))
     } else {
       throw new TableException("Local-Global optimization is only worked in miniBatch mode")
     }
@@ -161,7 +161,7 @@ class StreamExecGroupAggregate(
 
       new KeyedMapBundleOperator(
         aggFunction,
-        AggregateUtil.createMiniBatchTrigger(tableConfig))
+        AggregateUtil.createMiniBatchTrigger(tableConfig, inputRowType))
     } else {
       val aggFunction = new GroupAggFunction(
         tableConfig.getMinIdleStateRetentionTime,
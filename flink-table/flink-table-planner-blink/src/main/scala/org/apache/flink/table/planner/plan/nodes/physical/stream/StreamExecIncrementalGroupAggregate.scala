@@ -170,7 +170,7 @@ class StreamExecIncrementalGroupAggregate(
 
     val operator = new KeyedMapBundleOperator(
       aggFunction,
-      AggregateUtil.createMiniBatchTrigger(config))
+      AggregateUtil.createMiniBatchTrigger(config, inRowType))
 
     // partitioned aggregation
     val ret = new OneInputTransformation(
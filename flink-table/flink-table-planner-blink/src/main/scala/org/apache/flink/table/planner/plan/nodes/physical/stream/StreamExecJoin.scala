@@ -20,14 +20,15 @@ package org.apache.flink.table.planner.plan.nodes.physical.stream
 
 import org.apache.flink.api.dag.Transformation
 import org.apache.flink.streaming.api.transformations.TwoInputTransformation
+import org.apache.flink.table.api.config.ExecutionConfigOptions
 import org.apache.flink.table.data.RowData
 import org.apache.flink.table.planner.calcite.FlinkTypeFactory
 import org.apache.flink.table.planner.delegation.StreamPlanner
 import org.apache.flink.table.planner.plan.nodes.common.CommonPhysicalJoin
 import org.apache.flink.table.planner.plan.nodes.exec.{ExecNode, StreamExecNode}
-import org.apache.flink.table.planner.plan.utils.{JoinUtil, KeySelectorUtil}
+import org.apache.flink.table.planner.plan.utils.{AggregateUtil, JoinUtil, KeySelectorUtil}
 import org.apache.flink.table.runtime.operators.join.stream.state.JoinInputSideSpec
-import org.apache.flink.table.runtime.operators.join.stream.{StreamingJoinOperator, StreamingSemiAntiJoinOperator}
+import org.apache.flink.table.runtime.operators.join.stream.{MiniBatchStreamingJoinOperator, StreamingJoinOperator, StreamingSemiAntiJoinOperator}
 import org.apache.flink.table.runtime.typeutils.InternalTypeInfo
 
 import org.apache.calcite.plan._
@@ -143,6 +144,8 @@ class StreamExecJoin(
       rightType.toRowType)
 
     val minRetentionTime = tableConfig.getMinIdleStateRetentionTime
+    val compactRecordState = tableConfig.getConfiguration.getBoolean(
+      ExecutionConfigOptions.TABLE_EXEC_JOIN_COMPACT_RECORD_STATE_ENABLED)
 
     val operator = if (joinType == JoinRelType.ANTI || joinType == JoinRelType.SEMI) {
       new StreamingSemiAntiJoinOperator(
@@ -153,20 +156,42 @@ class StreamExecJoin(
         leftInputSpec,
         rightInputSpec,
         filterNulls,
-        minRetentionTime)
+        minRetentionTime,
+        compactRecordState)
     } else {
       val leftIsOuter = joinType == JoinRelType.LEFT || joinType == JoinRelType.FULL
       val rightIsOuter = joinType == JoinRelType.RIGHT || joinType == JoinRelType.FULL
-      new StreamingJoinOperator(
-        leftType,
-        rightType,
-        generatedCondition,
-        leftInputSpec,
-        rightInputSpec,
-        leftIsOuter,
-        rightIsOuter,
-        filterNulls,
-        minRetentionTime)
+      val isMiniBatchEnabled = tableConfig.getConfiguration.getBoolean(
+        ExecutionConfigOptions.TABLE_EXEC_MINIBATCH_ENABLED)
+      if (isMiniBatchEnabled) {
+        new MiniBatchStreamingJoinOperator(
+          leftType,
+          rightType,
+          generatedCondition,
+          leftInputSpec,
+          rightInputSpec,
+          leftIsOuter,
+          rightIsOuter,
+          filterNulls,
+          minRetentionTime,
+          compactRecordState,
+          AggregateUtil.createMiniBatchCoTrigger(
+            tableConfig,
+            leftType.toRowType,
+            rightType.toRowType))
+      } else {
+        new StreamingJoinOperator(
+          leftType,
+          rightType,
+          generatedCondition,
+          leftInputSpec,
+          rightInputSpec,
+          leftIsOuter,
+          rightIsOuter,
+          filterNulls,
+          minRetentionTime,
+          compactRecordState)
+      }
     }
 
     val ret = new TwoInputTransformation[RowData, RowData, RowData](
@@ -116,9 +116,9 @@ class StreamExecLimit(
     val sortKeyComparator = ComparatorCodeGenerator.gen(
       tableConfig, "AlwaysEqualsComparator", Array(), Array(), Array(), Array())
 
+    val cacheSize = tableConfig.getConfiguration.getLong(
+      StreamExecRank.TABLE_EXEC_TOPN_CACHE_SIZE)
     val processFunction = if (ChangelogPlanUtils.inputInsertOnly(this)) {
-      val cacheSize = tableConfig.getConfiguration.getLong(
-        StreamExecRank.TABLE_EXEC_TOPN_CACHE_SIZE)
       new AppendOnlyTopNFunction(
         minIdleStateRetentionTime,
         maxIdleStateRetentionTime,
@@ -143,7 +143,8 @@ class StreamExecLimit(
         rankRange,
         generatedEqualiser,
         generateUpdateBefore,
-        outputRankNumber)
+        outputRankNumber,
+        cacheSize)
     }
     val operator = new KeyedProcessOperator(processFunction)
     processFunction.setKeyContext(operator)
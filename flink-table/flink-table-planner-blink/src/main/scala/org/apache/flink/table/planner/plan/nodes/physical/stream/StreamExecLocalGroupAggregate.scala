@@ -132,7 +132,7 @@ class StreamExecLocalGroupAggregate(
 
     val operator = new MapBundleOperator(
       aggFunction,
-      AggregateUtil.createMiniBatchTrigger(planner.getTableConfig),
+      AggregateUtil.createMiniBatchTrigger(planner.getTableConfig, inRowType),
       selector.asInstanceOf[KeySelector[RowData, RowData]])
 
     val transformation = new OneInputTransformation(
@@ -196,7 +196,8 @@ class StreamExecRank(
           rankRange,
           generatedEqualiser,
           generateUpdateBefore,
-          outputRankNumber)
+          outputRankNumber,
+          cacheSize)
     }
     val operator = new KeyedProcessOperator(processFunction)
     processFunction.setKeyContext(operator)
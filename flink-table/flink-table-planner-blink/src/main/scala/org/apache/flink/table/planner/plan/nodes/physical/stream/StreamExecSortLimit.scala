@@ -187,7 +187,8 @@ class StreamExecSortLimit(
           rankRange,
           generatedEqualiser,
           generateUpdateBefore,
-          outputRankNumber)
+          outputRankNumber,
+          cacheSize)
     }
     val operator = new KeyedProcessOperator(processFunction)
     processFunction.setKeyContext(operator)
@@ -17,6 +17,7 @@
  */
 package org.apache.flink.table.planner.plan.utils
 
+import org.apache.flink.configuration.MemorySize
 import org.apache.flink.table.api.config.ExecutionConfigOptions
 import org.apache.flink.table.api.{TableConfig, TableException}
 import org.apache.flink.table.data.RowData
@@ -40,7 +41,7 @@ import org.apache.flink.table.planner.typeutils.DataViewUtils
 import org.apache.flink.table.planner.typeutils.DataViewUtils.DataViewSpec
 import org.apache.flink.table.planner.typeutils.LegacyDataViewUtils.useNullSerializerForStateViewFieldsFromAccType
 import org.apache.flink.table.planner.utils.JavaScalaConversionUtil.toScala
-import org.apache.flink.table.runtime.operators.bundle.trigger.CountBundleTrigger
+import org.apache.flink.table.runtime.operators.bundle.trigger.{CountAndSizeBundleTrigger, CountAndSizeCoBundleTrigger}
 import org.apache.flink.table.runtime.types.LogicalTypeDataTypeConverter.fromDataTypeToLogicalType
 import org.apache.flink.table.types.DataType
 import org.apache.flink.table.types.inference.TypeInferenceUtil
@@ -868,16 +869,49 @@ object AggregateUtil extends Enumeration {
   }
 
   /**
-    * Creates a MiniBatch trigger depends on the config.
+    * Creates a MiniBatch trigger for the given input type depends on the config.
     */
-  def createMiniBatchTrigger(tableConfig: TableConfig): CountBundleTrigger[RowData] = {
+  def createMiniBatchTrigger(
+      tableConfig: TableConfig,
+      inputType: RowType): CountAndSizeBundleTrigger = {
+    new CountAndSizeBundleTrigger(
+      getMiniBatchSize(tableConfig),
+      getMiniBatchMemory(tableConfig),
+      inputType)
+  }
+
+  /**
+    * Creates a MiniBatch trigger for operators with two inputs depends on the config.
+    */
+  def createMiniBatchCoTrigger(
+      tableConfig: TableConfig,
+      leftType: RowType,
+      rightType: RowType): CountAndSizeCoBundleTrigger = {
+    new CountAndSizeCoBundleTrigger(
+      getMiniBatchSize(tableConfig),
+      getMiniBatchMemory(tableConfig),
+      leftType,
+      rightType)
+  }
+
+  private def getMiniBatchSize(tableConfig: TableConfig): Long = {
     val size = tableConfig.getConfiguration.getLong(
       ExecutionConfigOptions.TABLE_EXEC_MINIBATCH_SIZE)
     if (size <= 0 ) {
       throw new IllegalArgumentException(
         ExecutionConfigOptions.TABLE_EXEC_MINIBATCH_SIZE + " must be > 0.")
     }
-    new CountBundleTrigger[RowData](size)
+    size
+  }
+
+  private def getMiniBatchMemory(tableConfig: TableConfig): Long = {
+    val memory = MemorySize.parse(tableConfig.getConfiguration.getString(
+      ExecutionConfigOptions.TABLE_EXEC_MINIBATCH_MEMORY)).getBytes
+    if (memory <= 0) {
+      throw new IllegalArgumentException(
+        ExecutionConfigOptions.TABLE_EXEC_MINIBATCH_MEMORY + " must be > 0.")
+    }
+    memory
   }
 
   /**
@@ -0,0 +1,269 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.codegen
+
+import org.apache.flink.api.connector.source.Boundedness
+import org.apache.flink.streaming.api.functions.source.SourceFunction
+import org.apache.flink.streaming.api.operators.StreamSource
+import org.apache.flink.streaming.api.transformations.LegacySourceTransformation
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord
+import org.apache.flink.streaming.util.OneInputStreamOperatorTestHarness
+import org.apache.flink.table.api.TableConfig
+import org.apache.flink.table.data.vector.VectorizedColumnBatch
+import org.apache.flink.table.data.vector.heap.{HeapBytesVector, HeapIntVector, HeapLongVector}
+import org.apache.flink.table.data.{ColumnarRowData, GenericRowData, RowData, StringData}
+import org.apache.flink.table.planner.calcite.{FlinkRexBuilder, FlinkTypeFactory, FlinkTypeSystem}
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo
+import org.apache.flink.table.runtime.util.RowDataTestUtil
+import org.apache.flink.table.types.logical.{BigIntType, IntType, LogicalType, RowType, VarCharType}
+
+import org.apache.calcite.rex.{RexNode, RexProgram, RexProgramBuilder}
+import org.apache.calcite.sql.fun.SqlStdOperatorTable
+
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+import java.math.BigDecimal
+import java.nio.charset.StandardCharsets
+
+import scala.collection.JavaConverters._
+
+/**
+  * Test for [[CalcCodeGenerator]].
+  */
+class CalcCodeGeneratorTest {
+
+  private val typeFactory = new FlinkTypeFactory(new FlinkTypeSystem)
+  private val rexBuilder = new FlinkRexBuilder(typeFactory)
+
+  private val inputType = RowType.of(
+    Array[LogicalType](new BigIntType(), new VarCharType(VarCharType.MAX_LENGTH), new IntType()),
+    Array("id", "name", "amount"))
+  private val inputRelType = typeFactory.buildRelNodeRowType(inputType)
+
+  private val batch1 = Seq(
+    GenericRowData.of(jl(1L), StringData.fromString("a"), ji(1)),
+    GenericRowData.of(jl(2L), StringData.fromString("b"), ji(5)),
+    GenericRowData.of(jl(3L), null, ji(7)),
+    GenericRowData.of(jl(4L), StringData.fromString("d"), null),
+    GenericRowData.of(jl(5L), StringData.fromString("e"), ji(9)))
+  private val batch2 = Seq(
+    GenericRowData.of(jl(6L), StringData.fromString("f"), ji(8)),
+    GenericRowData.of(jl(7L), StringData.fromString("b"), ji(3)))
+
+  @Test
+  def testVectorizedFilterWithProjection(): Unit = {
+    // select id, amount + 1 where amount > 2 and name <> 'b'
+    val builder = new RexProgramBuilder(inputRelType, rexBuilder)
+    val id = inputRef(0)
+    val name = inputRef(1)
+    val amount = inputRef(2)
+    builder.addProject(id, "id")
+    builder.addProject(
+      rexBuilder.makeCall(SqlStdOperatorTable.PLUS, amount, literal(1)), "amount")
+    val condition = rexBuilder.makeCall(
+      SqlStdOperatorTable.AND,
+      rexBuilder.makeCall(SqlStdOperatorTable.GREATER_THAN, amount, literal(2)),
+      rexBuilder.makeCall(SqlStdOperatorTable.NOT_EQUALS, name, rexBuilder.makeLiteral("b")))
+    builder.addCondition(condition)
+    val outputType = RowType.of(
+      Array[LogicalType](new BigIntType(), new IntType()),
+      Array("id", "amount"))
+
+    val expected = Seq("+I(5,10)", "+I(6,9)")
+    assertEquals(expected, process(builder.getProgram, condition, outputType, rowInput))
+    assertEquals(expected, process(builder.getProgram, condition, outputType, columnarInput))
+  }
+
+  @Test
+  def testVectorizedFilterOnly(): Unit = {
+    // select * where amount is not null and id < 7
+    val builder = new RexProgramBuilder(inputRelType, rexBuilder)
+    builder.addIdentity()
+    val condition = rexBuilder.makeCall(
+      SqlStdOperatorTable.AND,
+      rexBuilder.makeCall(SqlStdOperatorTable.IS_NOT_NULL, inputRef(2)),
+      rexBuilder.makeCall(SqlStdOperatorTable.LESS_THAN, inputRef(0), literal(7)))
+    builder.addCondition(condition)
+
+    val expected = Seq("+I(1,a,1)", "+I(2,b,5)", "+I(3,null,7)", "+I(5,e,9)", "+I(6,f,8)")
+    assertEquals(expected, process(builder.getProgram, condition, inputType, rowInput))
+    assertEquals(expected, process(builder.getProgram, condition, inputType, columnarInput))
+  }
+
+  @Test
+  def testVectorizedFilterWithRowsDroppedUpstream(): Unit = {
+    // select * where amount is not null and id < 7
+    val builder = new RexProgramBuilder(inputRelType, rexBuilder)
+    builder.addIdentity()
+    val condition = rexBuilder.makeCall(
+      SqlStdOperatorTable.AND,
+      rexBuilder.makeCall(SqlStdOperatorTable.IS_NOT_NULL, inputRef(2)),
+      rexBuilder.makeCall(SqlStdOperatorTable.LESS_THAN, inputRef(0), literal(7)))
+    builder.addCondition(condition)
+
+    // the second batch is read into the same vectors and starts at a higher row id than the last
+    // row of the first batch
+    val input = reusedColumnarInput(Seq(batch1 -> Seq(0), batch1.reverse -> Seq(1, 3)))
+    assertEquals(
+      Seq("+I(1,a,1)", "+I(2,b,5)"),
+      process(builder.getProgram, condition, inputType, input))
+  }
+
+  @Test
+  def testVectorizedFilterDoesNotFailOnRowsDroppedUpstream(): Unit = {
+    // select * where 10 / amount > 1
+    val builder = new RexProgramBuilder(inputRelType, rexBuilder)
+    builder.addIdentity()
+    val condition = rexBuilder.makeCall(
+      SqlStdOperatorTable.GREATER_THAN,
+      rexBuilder.makeCall(SqlStdOperatorTable.DIVIDE, literal(10), inputRef(2)),
+      literal(1))
+    builder.addCondition(condition)
+
+    // the rows with an amount of zero never arrive, e.g. because an upstream filter dropped them
+    val rows = Seq(
+      GenericRowData.of(jl(1L), StringData.fromString("a"), ji(2)),
+      GenericRowData.of(jl(2L), StringData.fromString("b"), ji(0)),
+      GenericRowData.of(jl(3L), StringData.fromString("c"), ji(5)),
+      GenericRowData.of(jl(4L), StringData.fromString("d"), ji(0)),
+      GenericRowData.of(jl(5L), StringData.fromString("e"), ji(20)))
+    val input = reusedColumnarInput(Seq(rows -> Seq(0, 2, 4)))
+    assertEquals(
+      Seq("+I(1,a,2)", "+I(3,c,5)"),
+      process(builder.getProgram, condition, inputType, input))
+  }
+
+  private def inputRef(index: Int): RexNode =
+    rexBuilder.makeInputRef(inputRelType.getFieldList.get(index).getType, index)
+
+  private def literal(value: Long): RexNode =
+    rexBuilder.makeExactLiteral(BigDecimal.valueOf(value))
+
+  private def rowInput: Iterator[RowData] = (batch1 ++ batch2).iterator
+
+  /**
+    * Returns the rows of both batches as a columnar source emits them: the same row object, which
+    * is only moved forward after the previous row was processed.
+    */
+  private def columnarInput: Iterator[RowData] = {
+    val row = new ColumnarRowData()
+    Iterator(toColumnarBatch(batch1), toColumnarBatch(batch2)).flatMap { batch =>
+      (0 until batch.getNumRows).iterator.map { rowId =>
+        row.setVectorizedColumnBatch(batch)
+        row.setRowId(rowId)
+        row
+      }
+    }
+  }
+
+  /**
+    * Returns the given rows of the given batches as a columnar source emits them, if the rows in
+    * between were dropped upstream. All batches are read into the same vectors.
+    */
+  private def reusedColumnarInput(
+      batches: Seq[(Seq[GenericRowData], Seq[Int])]): Iterator[RowData] = {
+    val row = new ColumnarRowData()
+    val batch = new VectorizedColumnBatch(Array(
+      new HeapLongVector(VectorizedColumnBatch.DEFAULT_SIZE),
+      new HeapBytesVector(VectorizedColumnBatch.DEFAULT_SIZE),
+      new HeapIntVector(VectorizedColumnBatch.DEFAULT_SIZE)))
+    row.setVectorizedColumnBatch(batch)
+    batches.iterator.flatMap { case (rows, rowIds) =>
+      rowIds.iterator.zipWithIndex.map { case (rowId, i) =>
+        if (i == 0) {
+          fillColumnarBatch(batch, rows)
+        }
+        row.setRowId(rowId)
+        row
+      }
+    }
+  }
+
+  private def toColumnarBatch(rows: Seq[GenericRowData]): VectorizedColumnBatch = {
+    val batch = new VectorizedColumnBatch(Array(
+      new HeapLongVector(rows.size),
+      new HeapBytesVector(rows.size),
+      new HeapIntVector(rows.size)))
+    fillColumnarBatch(batch, rows)
+    batch
+  }
+
+  private def fillColumnarBatch(batch: VectorizedColumnBatch, rows: Seq[GenericRowData]): Unit = {
+    val ids = batch.columns(0).asInstanceOf[HeapLongVector]
+    val names = batch.columns(1).asInstanceOf[HeapBytesVector]
+    val amounts = batch.columns(2).asInstanceOf[HeapIntVector]
+    Seq(ids, names, amounts).foreach(_.reset())
+    rows.zipWithIndex.foreach { case (row, i) =>
+      ids.vector(i) = row.getLong(0)
+      if (row.isNullAt(1)) {
+        names.setNullAt(i)
+      } else {
+        val bytes = row.getString(1).toString.getBytes(StandardCharsets.UTF_8)
+        names.appendBytes(i, bytes, 0, bytes.length)
+      }
+      if (row.isNullAt(2)) {
+        amounts.setNullAt(i)
+      } else {
+        amounts.vector(i) = row.getInt(2)
+      }
+    }
+    batch.setNumRows(rows.size)
+  }
+
+  private def process(
+      program: RexProgram,
+      condition: RexNode,
+      outputType: RowType,
+      input: Iterator[RowData]): Seq[String] = {
+    val inputTransform = new LegacySourceTransformation[RowData](
+      "input",
+      new StreamSource[RowData, SourceFunction[RowData]](new SourceFunction[RowData] {
+        override def run(ctx: SourceFunction.SourceContext[RowData]): Unit = {}
+
+        override def cancel(): Unit = {}
+      }),
+      InternalTypeInfo.of(inputType),
+      1,
+      Boundedness.BOUNDED)
+    val operatorFactory = CalcCodeGenerator.generateCalcOperator(
+      new CodeGeneratorContext(new TableConfig),
+      inputTransform,
+      outputType,
+      program,
+      Some(condition),
+      opName = "BatchCalc",
+      vectorizedFilter = true)
+
+    val testHarness = new OneInputStreamOperatorTestHarness[RowData, RowData](
+      operatorFactory, 1, 1, 0)
+    testHarness.setup(InternalTypeInfo.of(outputType).createSerializer(null))
+    testHarness.open()
+    input.foreach(row => testHarness.processElement(new StreamRecord[RowData](row)))
+    val output = testHarness.extractOutputValues().asScala.map { row =>
+      RowDataTestUtil.toGenericRowDeeply(row, outputType.getChildren).toString
+    }
+    testHarness.close()
+    output
+  }
+
+  private def ji(i: Int): Integer = new Integer(i)
+
+  private def jl(l: Long): java.lang.Long = new java.lang.Long(l)
+}
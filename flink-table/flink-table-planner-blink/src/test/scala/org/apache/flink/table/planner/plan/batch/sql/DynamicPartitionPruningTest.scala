@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.table.planner.plan.batch.sql
+
+import org.apache.flink.api.common.typeinfo.TypeInformation
+import org.apache.flink.table.api.Types
+import org.apache.flink.table.api.config.{ExecutionConfigOptions, OptimizerConfigOptions}
+import org.apache.flink.table.plan.stats.TableStats
+import org.apache.flink.table.planner.plan.stats.FlinkStatistic
+import org.apache.flink.table.planner.utils.TableTestBase
+
+import org.junit.{Before, Test}
+
+/**
+  * Tests for [[org.apache.flink.table.planner.plan.processors.DynamicPartitionPruningProcessor]].
+  */
+class DynamicPartitionPruningTest extends TableTestBase {
+
+  private val util = batchTestUtil()
+
+  @Before
+  def before(): Unit = {
+    util.tableEnv.executeSql(
+      s"""
+         |CREATE TABLE fact (
+         |  amount BIGINT,
+         |  note STRING,
+         |  dt STRING
+         |) PARTITIONED BY (dt) WITH (
+         |  'connector' = 'filesystem',
+         |  'path' = '${tempFolder.newFolder().toURI}',
+         |  'format' = 'testcsv'
+         |)
+       """.stripMargin)
+
+    val types = Array[TypeInformation[_]](Types.STRING, Types.INT, Types.STRING)
+    util.addTableSource("dim", types, Array("dim_dt", "category", "name"), FlinkStatistic.builder()
+      .tableStats(new TableStats(100L)).build())
+
+    val config = util.tableEnv.getConfig.getConfiguration
+    config.setBoolean(
+      OptimizerConfigOptions.TABLE_OPTIMIZER_DYNAMIC_PARTITION_PRUNING_ENABLED, true)
+    config.setString(
+      ExecutionConfigOptions.TABLE_EXEC_DISABLED_OPERATORS, "NestedLoopJoin,SortMergeJoin")
+  }
+
+  @Test
+  def testBroadcastJoin(): Unit = {
+    util.verifyPlan("SELECT * FROM fact, dim WHERE dt = dim_dt AND category = 3")
+  }
+
+  @Test
+  def testShuffledJoin(): Unit = {
+    util.tableEnv.getConfig.getConfiguration.setLong(
+      OptimizerConfigOptions.TABLE_OPTIMIZER_BROADCAST_JOIN_THRESHOLD, -1)
+    util.verifyPlan("SELECT * FROM fact, dim WHERE dt = dim_dt AND category = 3")
+  }
+
+  @Test
+  def testSemiJoin(): Unit = {
+    util.verifyPlan("SELECT * FROM fact WHERE dt IN (SELECT dim_dt FROM dim WHERE category = 3)")
+  }
+
+  @Test
+  def testPartitionKeyForwardedByCalc(): Unit = {
+    util.verifyPlan(
+      """
+        |SELECT f.amount, dim.name
+        |FROM (SELECT amount + 1 AS amount, dt AS d FROM fact WHERE amount > 10) f, dim
+        |WHERE d = dim_dt
+      """.stripMargin)
+  }
+
+  @Test
+  def testProbeOuterJoin(): Unit = {
+    // probe rows without a join partner are part of the result, so no partition can be pruned
+    util.verifyPlan("SELECT * FROM fact LEFT JOIN dim ON dt = dim_dt")
+  }
+
+  @Test
+  def testJoinOnNonPartitionKey(): Unit = {
+    util.verifyPlan("SELECT * FROM fact, dim WHERE note = name")
+  }
+}
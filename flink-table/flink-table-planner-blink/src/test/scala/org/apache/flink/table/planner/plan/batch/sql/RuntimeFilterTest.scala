@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.batch.sql
+
+import org.apache.flink.api.common.typeinfo.TypeInformation
+import org.apache.flink.table.api.Types
+import org.apache.flink.table.api.config.{ExecutionConfigOptions, OptimizerConfigOptions}
+import org.apache.flink.table.plan.stats.{ColumnStats, TableStats}
+import org.apache.flink.table.planner.plan.stats.FlinkStatistic
+import org.apache.flink.table.planner.utils.TableTestBase
+
+import org.junit.{Before, Test}
+
+import scala.collection.JavaConversions._
+
+/**
+  * Tests for [[org.apache.flink.table.planner.plan.processors.RuntimeFilterProcessor]].
+  */
+class RuntimeFilterTest extends TableTestBase {
+
+  private val util = batchTestUtil()
+
+  @Before
+  def before(): Unit = {
+    val types = Array[TypeInformation[_]](Types.INT, Types.LONG, Types.STRING)
+
+    util.addTableSource("fact", types, Array("fk", "amount", "note"), FlinkStatistic.builder()
+      .tableStats(new TableStats(1000000L, Map(
+        "fk" -> new ColumnStats(500000L, 0L, 4.0, 4, null, null),
+        "amount" -> new ColumnStats(1000L, 0L, 8.0, 8, null, null)
+      ))).build())
+
+    util.addTableSource("dim", types, Array("id", "category", "name"), FlinkStatistic.builder()
+      .tableStats(new TableStats(10000L, Map(
+        "id" -> new ColumnStats(10000L, 0L, 4.0, 4, null, null),
+        "category" -> new ColumnStats(10L, 0L, 8.0, 8, null, null)
+      ))).build())
+
+    val config = util.tableEnv.getConfig.getConfiguration
+    config.setBoolean(OptimizerConfigOptions.TABLE_OPTIMIZER_RUNTIME_FILTER_ENABLED, true)
+    config.setLong(OptimizerConfigOptions.TABLE_OPTIMIZER_BROADCAST_JOIN_THRESHOLD, -1)
+    config.setString(
+      ExecutionConfigOptions.TABLE_EXEC_DISABLED_OPERATORS, "NestedLoopJoin,SortMergeJoin")
+  }
+
+  @Test
+  def testInnerJoin(): Unit = {
+    util.verifyPlan("SELECT * FROM fact, dim WHERE fk = id AND category = 3")
+  }
+
+  @Test
+  def testSemiJoin(): Unit = {
+    util.verifyPlan("SELECT * FROM fact WHERE fk IN (SELECT id FROM dim WHERE category = 3)")
+  }
+
+  @Test
+  def testProbeOuterJoin(): Unit = {
+    // probe rows without a join partner are part of the result, so they must not be filtered
+    util.verifyPlan("SELECT * FROM fact LEFT JOIN dim ON fk = id")
+  }
+
+  @Test
+  def testBuildSideTooLarge(): Unit = {
+    util.tableEnv.getConfig.getConfiguration.setLong(
+      OptimizerConfigOptions.TABLE_OPTIMIZER_RUNTIME_FILTER_MAX_BUILD_ROW_COUNT, 100L)
+    util.verifyPlan("SELECT * FROM fact, dim WHERE fk = id")
+  }
+
+  @Test
+  def testFilterRatioTooLow(): Unit = {
+    util.tableEnv.getConfig.getConfiguration.setDouble(
+      OptimizerConfigOptions.TABLE_OPTIMIZER_RUNTIME_FILTER_MIN_FILTER_RATIO, 0.999)
+    util.verifyPlan("SELECT * FROM fact, dim WHERE fk = id")
+  }
+}
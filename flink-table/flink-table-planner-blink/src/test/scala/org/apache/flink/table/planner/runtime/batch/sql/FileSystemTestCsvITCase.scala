@@ -18,6 +18,12 @@
 
 package org.apache.flink.table.planner.runtime.batch.sql
 
+import org.apache.flink.api.common.typeinfo.Types
+import org.apache.flink.api.java.typeutils.RowTypeInfo
+import org.apache.flink.table.api.config.OptimizerConfigOptions
+import org.apache.flink.table.planner.runtime.utils.BatchTestBase.row
+
+import org.junit.Test
 import org.junit.runner.RunWith
 import org.junit.runners.Parameterized
 
@@ -32,6 +38,27 @@ class FileSystemTestCsvITCase(useBulkWriter: Boolean) extends BatchFileSystemITC
       "'format' = 'testcsv'",
       s"'testcsv.use-bulk-writer' = '$useBulkWriter'")
   }
+
+  @Test
+  def testDynamicPartitionPruning(): Unit = {
+    tableEnv.getConfig.getConfiguration.setBoolean(
+      OptimizerConfigOptions.TABLE_OPTIMIZER_DYNAMIC_PARTITION_PRUNING_ENABLED, true)
+    tableEnv.executeSql(
+      "insert into partitionedTable select x, y, a, b from originalT where y < 20").await()
+    registerCollection(
+      "dim",
+      Seq(row(1, "one"), row(3, "three"), row(5, "five")),
+      new RowTypeInfo(Types.INT, Types.STRING),
+      "id, name")
+
+    check(
+      "select x, name from partitionedTable, dim where a = id and name <> 'five'",
+      Seq(
+        row("x1", "one"), row("x2", "one"), row("x3", "one"), row("x4", "one"),
+        row("x5", "one"), row("x6", "one"), row("x7", "one"), row("x8", "one"),
+        row("x9", "one"), row("x10", "one"), row("x17", "three"), row("x18", "three"),
+        row("x19", "three")))
+  }
 }
 
 object FileSystemTestCsvITCase {
@@ -109,6 +109,23 @@ abstract class AggregateITCaseBase(testName: String) extends BatchTestBase {
     )
   }
 
+  @Test
+  def testBigDataWithSingleIntegralGroupKey(): Unit = {
+    // for hash agg mode the INT or BIGINT key is looked up as a long, and it will fallback
+    val largeData5 = for (i <- 0 until 100000) yield
+      row(if (i % 1000 == 0) null else i, 1L, 10, "Hallo", (i % 50000).toLong)
+    registerCollection("LargeNullableTable5", largeData5, type5, "d, e, f, g, h")
+    val expected = for (i <- 0 until 100000 if i % 1000 != 0) yield row(i, 1L, 10)
+    checkResult(
+      "SELECT d, sum(e), min(f) FROM LargeNullableTable5 GROUP BY d",
+      expected :+ row(null, 100L, 10)
+    )
+    checkResult(
+      "SELECT h, count(*) FROM LargeNullableTable5 GROUP BY h",
+      for (i <- 0 until 50000) yield row(i.toLong, 2L)
+    )
+  }
+
   @Test
   def testGroupByOnly(): Unit = {
     checkResult(
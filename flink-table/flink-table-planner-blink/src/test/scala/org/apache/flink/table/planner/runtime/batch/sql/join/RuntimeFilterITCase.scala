@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.runtime.batch.sql.join
+
+import org.apache.flink.table.api.config.{ExecutionConfigOptions, OptimizerConfigOptions}
+import org.apache.flink.table.plan.stats.{ColumnStats, TableStats}
+import org.apache.flink.table.planner.plan.stats.FlinkStatistic
+import org.apache.flink.table.planner.runtime.utils.BatchTestBase
+import org.apache.flink.table.planner.runtime.utils.BatchTestBase.row
+import org.apache.flink.table.planner.runtime.utils.TestData._
+
+import org.junit.{Before, Test}
+
+import scala.collection.JavaConversions._
+import scala.collection.Seq
+
+/**
+  * Tests for hash joins with runtime filters on the probe side.
+  */
+class RuntimeFilterITCase extends BatchTestBase {
+
+  private lazy val factData = (0 until 1000).map { i =>
+    row(if (i % 100 == 99) null else i % 100, s"fact$i")
+  }
+
+  private lazy val dimData = Seq(
+    row(3, "a"),
+    row(42, "b"),
+    row(77, "c"),
+    row(1000, "d"),
+    row(null, "e"))
+
+  @Before
+  override def before(): Unit = {
+    super.before()
+    // the statistics make the planner expect that the runtime filter drops most fact rows
+    registerCollection("fact", factData, INT_STRING, "fk, note", Array(true, true),
+      FlinkStatistic.builder().tableStats(new TableStats(1000000L, Map(
+        "fk" -> new ColumnStats(500000L, 10000L, 4.0, 4, null, null)))).build())
+    registerCollection("dim", dimData, INT_STRING, "id, name", Array(true, true),
+      FlinkStatistic.builder().tableStats(new TableStats(100L, Map(
+        "id" -> new ColumnStats(100L, 1L, 4.0, 4, null, null)))).build())
+
+    val config = tEnv.getConfig.getConfiguration
+    config.setBoolean(OptimizerConfigOptions.TABLE_OPTIMIZER_RUNTIME_FILTER_ENABLED, true)
+    config.setLong(OptimizerConfigOptions.TABLE_OPTIMIZER_BROADCAST_JOIN_THRESHOLD, -1)
+    config.setString(
+      ExecutionConfigOptions.TABLE_EXEC_DISABLED_OPERATORS, "NestedLoopJoin,SortMergeJoin")
+  }
+
+  @Test
+  def testInnerJoin(): Unit = {
+    val expected = for {
+      fact <- factData
+      dim <- dimData
+      if fact.getField(0) != null && fact.getField(0) == dim.getField(0)
+    } yield row(fact.getField(0), fact.getField(1), dim.getField(1))
+
+    checkResult("SELECT fk, note, name FROM fact, dim WHERE fk = id", expected)
+  }
+
+  @Test
+  def testSemiJoin(): Unit = {
+    val ids = Set(3, 42)
+    checkResult(
+      "SELECT * FROM fact WHERE fk IN (SELECT id FROM dim WHERE id < 50)",
+      factData.filter(r => ids.contains(r.getField(0))))
+  }
+
+  @Test
+  def testBuildOuterJoin(): Unit = {
+    val expected = dimData.flatMap { dim =>
+      val matches = factData.filter(f => f.getField(0) != null && f.getField(0) == dim.getField(0))
+      if (matches.isEmpty) {
+        Seq(row(dim.getField(1), null))
+      } else {
+        matches.map(f => row(dim.getField(1), f.getField(1)))
+      }
+    }
+
+    checkResult("SELECT name, note FROM fact RIGHT JOIN dim ON fk = id", expected)
+  }
+}
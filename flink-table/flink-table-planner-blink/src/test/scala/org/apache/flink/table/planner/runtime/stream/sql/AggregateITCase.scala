@@ -24,6 +24,7 @@ import org.apache.flink.api.scala._
 import org.apache.flink.streaming.api.TimeCharacteristic
 import org.apache.flink.streaming.api.scala.DataStream
 import org.apache.flink.table.api.bridge.scala._
+import org.apache.flink.table.api.config.ExecutionConfigOptions
 import org.apache.flink.table.api.internal.TableEnvironmentInternal
 import org.apache.flink.table.api.{Types, _}
 import org.apache.flink.table.planner.functions.aggfunctions.{ListAggWithRetractAggFunction, ListAggWsWithRetractAggFunction}
@@ -111,6 +112,25 @@ class AggregateITCase(
     assertEquals(expected.sorted, sink.getRetractResults.sorted)
   }
 
+  @Test
+  def testMiniBatchFinishedByMemory(): Unit = {
+    // the bundle is finished by its memory size long before by its number of records
+    tEnv.getConfig.getConfiguration.setLong(
+      ExecutionConfigOptions.TABLE_EXEC_MINIBATCH_SIZE, 1000000L)
+    tEnv.getConfig.getConfiguration.setString(
+      ExecutionConfigOptions.TABLE_EXEC_MINIBATCH_MEMORY, "100 b")
+
+    val t = failingDataSource(data).toTable(tEnv, 'a, 'b, 'c)
+    tEnv.registerTable("T", t)
+
+    val t1 = tEnv.sqlQuery("select c, sum(b), count(distinct a) from T group by c")
+    val sink = new TestingRetractSink
+    t1.toRetractStream[Row].addSink(sink)
+    env.execute()
+    val expected = List("Hello,21,6", "Hello World,35,3")
+    assertEquals(expected.sorted, sink.getRetractResults.sorted)
+  }
+
   @Ignore("[FLINK-12215] Fix this when introduce SqlProcessFunction.")
   @Test
   def testEmptyInputAggregationWithoutGroupBy(): Unit = {
@@ -20,6 +20,7 @@ package org.apache.flink.table.planner.runtime.stream.sql
 import org.apache.flink.api.scala._
 import org.apache.flink.table.api.{TableSchema, Types}
 import org.apache.flink.table.api.bridge.scala._
+import org.apache.flink.table.api.config.ExecutionConfigOptions
 import org.apache.flink.table.planner.factories.TestValuesTableFactory
 import org.apache.flink.table.planner.runtime.utils.StreamingWithStateTestBase.{HEAP_BACKEND, ROCKSDB_BACKEND, StateBackendMode}
 import org.apache.flink.table.planner.runtime.utils.UserDefinedFunctionTestUtils._
@@ -152,6 +153,26 @@ class AsyncLookupJoinITCase(legacyTableSource: Boolean, backend: StateBackendMod
     assertEquals(expected.sorted, sink.getAppendResults.sorted)
   }
 
+  @Test
+  def testAsyncJoinTemporalTableWithCache(): Unit = {
+    tEnv.getConfig.getConfiguration.setInteger(
+      ExecutionConfigOptions.TABLE_EXEC_LOOKUP_JOIN_CACHE_MAX_ROWS, Integer.valueOf(2))
+    val sql = "SELECT T.id, T.len, T.content, D.name FROM src AS T LEFT JOIN user_table " +
+      "for system_time as of T.proctime AS D ON T.len = D.age"
+
+    val sink = new TestingAppendSink
+    tEnv.sqlQuery(sql).toAppendStream[Row].addSink(sink)
+    env.execute()
+
+    val expected = Seq(
+      "1,12,Julian,null",
+      "2,15,Hello,null",
+      "3,15,Fabian,null",
+      "8,11,Hello world,Julian",
+      "9,12,Hello world!,null")
+    assertEquals(expected.sorted, sink.getAppendResults.sorted)
+  }
+
   @Test
   def testAsyncJoinTemporalTableWithPushDown(): Unit = {
     val sql = "SELECT T.id, T.len, T.content, D.name FROM src AS T JOIN user_table " +
@@ -20,6 +20,7 @@ package org.apache.flink.table.planner.runtime.stream.sql
 import org.apache.flink.api.scala._
 import org.apache.flink.table.api._
 import org.apache.flink.table.api.bridge.scala._
+import org.apache.flink.table.api.config.ExecutionConfigOptions
 import org.apache.flink.table.planner.factories.TestValuesTableFactory
 import org.apache.flink.table.planner.runtime.utils.UserDefinedFunctionTestUtils.TestAddWithOpen
 import org.apache.flink.table.planner.runtime.utils.{InMemoryLookupableTableSource, StreamingTestBase, TestingAppendSink}
@@ -158,6 +159,25 @@ class LookupJoinITCase(legacyTableSource: Boolean) extends StreamingTestBase {
     assertEquals(expected.sorted, sink.getAppendResults.sorted)
   }
 
+  @Test
+  def testJoinTemporalTableWithCache(): Unit = {
+    // the cache holds fewer keys than the input has, so that keys are evicted and looked up again
+    tEnv.getConfig.getConfiguration.setInteger(
+      ExecutionConfigOptions.TABLE_EXEC_LOOKUP_JOIN_CACHE_MAX_ROWS, Integer.valueOf(2))
+    val sql = "SELECT T.id, T.len, T.content, D.name FROM src AS T JOIN user_table " +
+      "for system_time as of T.proctime AS D ON T.len = D.age"
+
+    val sink = new TestingAppendSink
+    tEnv.sqlQuery(sql).toAppendStream[Row].addSink(sink)
+    env.execute()
+
+    val expected = Seq(
+      "8,11,Hello world,Julian",
+      "8,11,Hello world,Hello world",
+      "8,11,Hello world,Hello world")
+    assertEquals(expected.sorted, sink.getAppendResults.sorted)
+  }
+
   @Test
   def testJoinTemporalTableWithUdfFilter(): Unit = {
     tEnv.registerFunction("add", new TestAddWithOpen)
@@ -45,12 +45,32 @@ public class VectorizedColumnBatch implements Serializable {
 	private int numRows;
 	public final ColumnVector[] columns;
 
+	/**
+	 * Incremented whenever the number of rows is set, i.e. whenever a reader reads the next batch into the
+	 * (reused) column vectors. Zero if the number of rows was never set.
+	 */
+	private long sequenceNumber;
+
 	public VectorizedColumnBatch(ColumnVector[] vectors) {
 		this.columns = vectors;
 	}
 
+	/**
+	 * Sets the number of rows of the batch. Readers call this whenever they read the next batch into the
+	 * column vectors, which starts a new batch with a new {@link #getSequenceNumber() sequence number}.
+	 */
 	public void setNumRows(int numRows) {
 		this.numRows = numRows;
+		this.sequenceNumber++;
+	}
+
+	/**
+	 * Returns the sequence number of the current batch. Rows with the same sequence number of the same
+	 * {@code VectorizedColumnBatch} belong to the same batch. Returns zero if the number of rows was never set,
+	 * e.g. if the vectors are not read in batches.
+	 */
+	public long getSequenceNumber() {
+		return sequenceNumber;
 	}
 
 	public int getNumRows() {
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.filesystem;
+
+import org.apache.flink.api.common.io.FileInputFormat;
+import org.apache.flink.api.common.io.InputFormat;
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.table.api.TableException;
+import org.apache.flink.table.connector.source.abilities.SupportsDynamicPartitionPruning.PartitionInputFormatFactory;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.util.InstantiationUtil;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * {@link PartitionInputFormatFactory} of the {@link FileSystemTableSource}. It reads a subset of the
+ * partitions with a copy of the {@link FileInputFormat} for all partitions, which reads the paths of the
+ * given partitions only.
+ */
+class FileSystemPartitionInputFormatFactory implements PartitionInputFormatFactory {
+
+	private static final long serialVersionUID = 1L;
+
+	private final FileInputFormat<RowData> inputFormat;
+	private final List<Map<String, String>> partitions;
+	private final Path[] partitionPaths;
+
+	FileSystemPartitionInputFormatFactory(
+			FileInputFormat<RowData> inputFormat,
+			List<Map<String, String>> partitions,
+			Path[] partitionPaths) {
+		checkArgument(partitions.size() == partitionPaths.length);
+		checkArgument(inputFormat.supportsMultiPaths(), "The input format must support multiple paths.");
+		this.inputFormat = checkNotNull(inputFormat);
+		this.partitions = checkNotNull(partitions);
+		this.partitionPaths = checkNotNull(partitionPaths);
+	}
+
+	@Override
+	public List<Map<String, String>> getPartitions() {
+		return partitions;
+	}
+
+	@Override
+	public InputFormat<RowData, ?> createInputFormat(List<Map<String, String>> remainingPartitions) {
+		Map<Map<String, String>, Path> pathsByPartition = new HashMap<>();
+		for (int i = 0; i < partitions.size(); i++) {
+			pathsByPartition.put(partitions.get(i), partitionPaths[i]);
+		}
+		Path[] paths = remainingPartitions.stream()
+				.map(partition -> checkNotNull(
+						pathsByPartition.get(partition), "Unknown partition %s.", partition))
+				.toArray(Path[]::new);
+
+		FileInputFormat<RowData> copy;
+		try {
+			copy = InstantiationUtil.clone(inputFormat);
+		} catch (IOException | ClassNotFoundException e) {
+			throw new TableException("Could not copy the input format.", e);
+		}
+		copy.setFilePaths(paths);
+		return copy;
+	}
+}
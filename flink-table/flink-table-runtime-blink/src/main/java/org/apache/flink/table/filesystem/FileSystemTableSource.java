@@ -18,6 +18,7 @@
 
 package org.apache.flink.table.filesystem;
 
+import org.apache.flink.api.common.io.FileInputFormat;
 import org.apache.flink.api.common.io.InputFormat;
 import org.apache.flink.api.common.serialization.DeserializationSchema;
 import org.apache.flink.api.java.io.CollectionInputFormat;
@@ -38,6 +39,7 @@ import org.apache.flink.table.connector.source.InputFormatProvider;
 import org.apache.flink.table.connector.source.ScanTableSource;
 import org.apache.flink.table.connector.source.SourceFunctionProvider;
 import org.apache.flink.table.connector.source.SourceProvider;
+import org.apache.flink.table.connector.source.abilities.SupportsDynamicPartitionPruning;
 import org.apache.flink.table.connector.source.abilities.SupportsFilterPushDown;
 import org.apache.flink.table.connector.source.abilities.SupportsLimitPushDown;
 import org.apache.flink.table.connector.source.abilities.SupportsPartitionPushDown;
@@ -72,7 +74,8 @@ public class FileSystemTableSource extends AbstractFileSystemTable implements
 		SupportsProjectionPushDown,
 		SupportsLimitPushDown,
 		SupportsPartitionPushDown,
-		SupportsFilterPushDown {
+		SupportsFilterPushDown,
+		SupportsDynamicPartitionPruning {
 
 	@Nullable private final DecodingFormat<BulkFormat<RowData, FileSourceSplit>> bulkReaderFormat;
 	@Nullable private final DecodingFormat<DeserializationSchema<RowData>> deserializationFormat;
@@ -147,13 +150,15 @@ public class FileSystemTableSource extends AbstractFileSystemTable implements
 			return new Path[] {path};
 		} else {
 			return getOrFetchPartitions().stream()
-					.map(FileSystemTableSource.this::toFullLinkedPartSpec)
-					.map(PartitionPathUtils::generatePartitionPath)
-					.map(n -> new Path(path, n))
+					.map(this::toPartitionPath)
 					.toArray(Path[]::new);
 		}
 	}
 
+	private Path toPartitionPath(Map<String, String> partition) {
+		return new Path(path, PartitionPathUtils.generatePartitionPath(toFullLinkedPartSpec(partition)));
+	}
+
 	private InputFormat<RowData, ?> getInputFormat() {
 		return formatFactory.createReader(new FileSystemFormatFactory.ReaderContext() {
 
@@ -238,6 +243,25 @@ public class FileSystemTableSource extends AbstractFileSystemTable implements
 		this.remainingPartitions = remainingPartitions;
 	}
 
+	@Override
+	public Optional<PartitionInputFormatFactory> createPartitionInputFormatFactory() {
+		// only the input formats of format factories can read a subset of the partitions
+		if (partitionKeys.isEmpty() || bulkReaderFormat != null || formatFactory == null) {
+			return Optional.empty();
+		}
+		InputFormat<RowData, ?> inputFormat = getInputFormat();
+		if (!(inputFormat instanceof FileInputFormat) || !((FileInputFormat<?>) inputFormat).supportsMultiPaths()) {
+			return Optional.empty();
+		}
+		List<Map<String, String>> partitions = getOrFetchPartitions();
+		@SuppressWarnings("unchecked")
+		FileInputFormat<RowData> fileInputFormat = (FileInputFormat<RowData>) inputFormat;
+		return Optional.of(new FileSystemPartitionInputFormatFactory(
+				fileInputFormat,
+				new ArrayList<>(partitions),
+				partitions.stream().map(this::toPartitionPath).toArray(Path[]::new)));
+	}
+
 	@Override
 	public boolean supportsNestedProjection() {
 		return false;
@@ -22,6 +22,7 @@ import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.core.memory.MemorySegment;
 import org.apache.flink.runtime.io.disk.ChannelReaderInputViewIterator;
+import org.apache.flink.runtime.io.disk.iomanager.AbstractChannelReaderInputView;
 import org.apache.flink.runtime.io.disk.iomanager.ChannelReaderInputView;
 import org.apache.flink.runtime.io.disk.iomanager.IOManager;
 import org.apache.flink.runtime.memory.MemoryManager;
@@ -30,7 +31,9 @@ import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.data.binary.BinaryRowData;
 import org.apache.flink.table.data.binary.BinaryRowDataUtil;
 import org.apache.flink.table.runtime.generated.JoinCondition;
+import org.apache.flink.table.runtime.generated.NormalizedKeyComputer;
 import org.apache.flink.table.runtime.generated.Projection;
+import org.apache.flink.table.runtime.generated.RecordComparator;
 import org.apache.flink.table.runtime.io.BinaryRowChannelInputViewIterator;
 import org.apache.flink.table.runtime.io.ChannelWithMeta;
 import org.apache.flink.table.runtime.operators.join.HashJoinType;
@@ -43,7 +46,10 @@ import org.apache.flink.util.MathUtils;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 import static org.apache.flink.util.Preconditions.checkArgument;
 
@@ -56,9 +62,26 @@ import static org.apache.flink.util.Preconditions.checkArgument;
  * "Hash joins and hash teams in Microsoft SQL Server", by Goetz Graefe et al. In its current state,
  * the implementation lacks features like dynamic role reversal, partition tuning, or histogram
  * guided partitioning.</p>
+ *
+ * <p>Once {@link #enableSortMergeFallback} was called, the table does not partition a spilled
+ * partition again if that would not help: if the partition holds far more build side rows than its
+ * siblings because of skewed keys, or if it does not fit into memory after being partitioned again
+ * already. Such partitions are joined with a sort-merge join after all other partitions.</p>
  */
 public class BinaryHashTable extends BaseHybridHashTable {
 
+	/**
+	 * A spilled partition that holds more than this factor times the average number of build side
+	 * rows of its siblings is considered to be skewed.
+	 */
+	static final int SKEWED_PARTITION_FACTOR = 5;
+
+	/**
+	 * The recursion level from which on a spilled partition that does not fit into memory is joined
+	 * with a sort-merge join instead of being partitioned again.
+	 */
+	static final int SORT_MERGE_FALLBACK_RECURSION_LEVEL = 2;
+
 	/**
 	 * The utilities to serialize the build side data types.
 	 */
@@ -119,10 +142,28 @@ public class BinaryHashTable extends BaseHybridHashTable {
 	 */
 	private final ArrayList<BinaryHashPartition> partitionsPending;
 
+	/**
+	 * The spilled partitions that are joined with a sort-merge join after all other partitions.
+	 */
+	private final ArrayList<BinaryHashPartition> partitionsForSortMerge;
+
+	/**
+	 * The spilled partitions that hold far more build side rows than their siblings.
+	 */
+	private final Set<BinaryHashPartition> skewedPartitions;
+
+	private final Configuration conf;
+
+	private final Object owner;
+
+	private final MemoryManager memManager;
+
 	private final JoinCondition condFunc;
 
 	private final boolean reverseJoin;
 
+	private final boolean[] filterNulls;
+
 	/**
 	 * Should filter null keys.
 	 */
@@ -159,6 +200,16 @@ public class BinaryHashTable extends BaseHybridHashTable {
 	private BinaryRowData probeKey;
 	private RowData probeRow;
 
+	/**
+	 * Joins the partitions for which partitioning again does not help, null if disabled.
+	 */
+	private SortMergeFallbackJoiner fallbackJoiner;
+
+	/**
+	 * Whether the rows are handed out by the {@link #fallbackJoiner}.
+	 */
+	private boolean sortMergePhase = false;
+
 	BinaryRowData reuseBuildRow;
 
 	public BinaryHashTable(
@@ -182,6 +233,9 @@ public class BinaryHashTable extends BaseHybridHashTable {
 		super(conf, owner, memManager, reservedMemorySize,
 				ioManager, avgRecordLen, buildRowCount, !type.buildLeftSemiOrAnti() && tryDistinctBuildRow);
 		// assign the members
+		this.conf = conf;
+		this.owner = owner;
+		this.memManager = memManager;
 		this.originBuildSideSerializer = buildSideSerializer;
 		this.binaryBuildSideSerializer = new BinaryRowDataSerializer(buildSideSerializer.getArity());
 		this.reuseBuildRow = binaryBuildSideSerializer.createInstance();
@@ -194,6 +248,7 @@ public class BinaryHashTable extends BaseHybridHashTable {
 		this.type = type;
 		this.condFunc = condFunc;
 		this.reverseJoin = reverseJoin;
+		this.filterNulls = filterNulls;
 		this.nullFilterKeys = NullAwareJoinHelper.getNullFilterKeys(filterNulls);
 		this.nullSafe = nullFilterKeys.length == 0;
 		this.filterAllNulls = nullFilterKeys.length == filterNulls.length;
@@ -206,10 +261,35 @@ public class BinaryHashTable extends BaseHybridHashTable {
 
 		this.partitionsBeingBuilt = new ArrayList<>();
 		this.partitionsPending = new ArrayList<>();
+		this.partitionsForSortMerge = new ArrayList<>();
+		this.skewedPartitions = Collections.newSetFromMap(new IdentityHashMap<>());
 
 		createPartitions(initPartitionFanOut, 0);
 	}
 
+	/**
+	 * Enables joining the spilled partitions for which partitioning again does not help with a
+	 * sort-merge join. The computers and comparators sort the build side and the probe side rows
+	 * by their join keys, the key comparator compares the projected join keys.
+	 */
+	public void enableSortMergeFallback(
+			NormalizedKeyComputer buildComputer,
+			RecordComparator buildComparator,
+			NormalizedKeyComputer probeComputer,
+			RecordComparator probeComparator,
+			RecordComparator keyComparator) {
+		if ((long) totalNumBuffers * segmentSize < SortMergeFallbackJoiner.MIN_MEMORY_SIZE) {
+			LOG.info("Too little memory to fall back to a sort-merge join for spilled partitions.");
+			return;
+		}
+		this.fallbackJoiner = new SortMergeFallbackJoiner(
+				conf, owner, memManager, ioManager,
+				binaryBuildSideSerializer, binaryProbeSideSerializer,
+				buildSideProjection, probeSideProjection,
+				buildComputer, buildComparator, probeComputer, probeComparator, keyComparator,
+				type, condFunc, reverseJoin, filterNulls);
+	}
+
 	// ========================== build phase public method ======================================
 
 	/**
@@ -231,6 +311,7 @@ public class BinaryHashTable extends BaseHybridHashTable {
 			buildWriteBuffers += p.finalizeBuildPhase(this.ioManager, this.currentEnumerator);
 		}
 		buildSpillRetBufferNumbers += buildWriteBuffers;
+		markSkewedPartitions();
 
 		// the first prober is the probe-side input, but the input is null at beginning
 		this.probeIterator = new ProbeIterator(this.binaryProbeSideSerializer.createInstance());
@@ -278,7 +359,9 @@ public class BinaryHashTable extends BaseHybridHashTable {
 	 * Next record from rebuilt spilled partition or build side outer partition.
 	 */
 	public boolean nextMatching() throws IOException {
-		if (type.needSetProbed()) {
+		if (sortMergePhase) {
+			return fallbackJoiner.nextMatching();
+		} else if (type.needSetProbed()) {
 			return processProbeIter() || processBuildIter() || prepareNextPartition();
 		} else {
 			return processProbeIter() || prepareNextPartition();
@@ -286,7 +369,9 @@ public class BinaryHashTable extends BaseHybridHashTable {
 	}
 
 	public RowData getCurrentProbeRow() {
-		if (this.probeMatchedPhase) {
+		if (sortMergePhase) {
+			return fallbackJoiner.getCurrentProbeRow();
+		} else if (this.probeMatchedPhase) {
 			return this.probeIterator.current();
 		} else {
 			return null;
@@ -294,6 +379,9 @@ public class BinaryHashTable extends BaseHybridHashTable {
 	}
 
 	public RowIterator<BinaryRowData> getBuildSideIterator() {
+		if (sortMergePhase) {
+			return fallbackJoiner.getBuildSideIterator();
+		}
 		return probeMatchedPhase ? bucketIterator : buildIterator;
 	}
 
@@ -380,8 +468,8 @@ public class BinaryHashTable extends BaseHybridHashTable {
 		}
 
 		if (this.partitionsPending.isEmpty()) {
-			// no more data
-			return false;
+			// no more data, except for the partitions left to the sort-merge join
+			return !partitionsForSortMerge.isEmpty() && startSortMergeFallback();
 		}
 
 		// there are pending partitions
@@ -402,6 +490,15 @@ public class BinaryHashTable extends BaseHybridHashTable {
 			return true;
 		}
 
+		if (shouldFallbackToSortMerge(p)) {
+			LOG.info(String.format(
+					"Defer spilled partition [%d] with recursion level [%d] to the sort-merge join",
+					p.getPartitionNumber(), p.getRecursionLevel()));
+			this.partitionsPending.remove(0);
+			this.partitionsForSortMerge.add(p);
+			return prepareNextPartition();
+		}
+
 		this.probeMatchedPhase = true;
 		this.buildIterVisited = false;
 
@@ -465,11 +562,7 @@ public class BinaryHashTable extends BaseHybridHashTable {
 					internalPool.freePages(), buildSpillRetBufferNumbers, totalNumBuffers));
 		}
 
-		long numBuckets = p.getBuildSideRecordCount() / BinaryHashBucketArea.NUM_ENTRIES_PER_BUCKET + 1;
-
-		// we need to consider the worst case where everything hashes to one bucket which needs to overflow by the same
-		// number of total buckets again. Also, one buffer needs to remain for the probing
-		int maxBucketAreaBuffers = Math.max((int) (2 * (numBuckets / (this.bucketsPerSegmentMask + 1))), 1);
+		final int maxBucketAreaBuffers = maxBucketAreaBuffers(p);
 		final long totalBuffersNeeded = maxBucketAreaBuffers + p.getBuildSideBlockCount() + 2;
 
 		if (totalBuffersNeeded < totalBuffersAvailable) {
@@ -519,7 +612,98 @@ public class BinaryHashTable extends BaseHybridHashTable {
 				buildWriteBuffers += part.finalizeBuildPhase(this.ioManager, this.currentEnumerator);
 			}
 			buildSpillRetBufferNumbers += buildWriteBuffers;
+			markSkewedPartitions();
+		}
+	}
+
+	private int maxBucketAreaBuffers(BinaryHashPartition p) {
+		long numBuckets = p.getBuildSideRecordCount() / BinaryHashBucketArea.NUM_ENTRIES_PER_BUCKET + 1;
+
+		// we need to consider the worst case where everything hashes to one bucket which needs to overflow by the same
+		// number of total buckets again. Also, one buffer needs to remain for the probing
+		return Math.max((int) (2 * (numBuckets / (this.bucketsPerSegmentMask + 1))), 1);
+	}
+
+	/**
+	 * Marks the spilled partitions being built that hold far more build side rows than the
+	 * average partition. Partitioning them again would likely keep most of their rows together.
+	 */
+	private void markSkewedPartitions() {
+		if (fallbackJoiner == null || partitionsBeingBuilt.size() <= 1) {
+			return;
+		}
+		long totalRecords = 0;
+		for (BinaryHashPartition p : partitionsBeingBuilt) {
+			totalRecords += p.getBuildSideRecordCount();
+		}
+		double threshold = SKEWED_PARTITION_FACTOR * (double) totalRecords / partitionsBeingBuilt.size();
+		for (BinaryHashPartition p : partitionsBeingBuilt) {
+			if (!p.isInMemory() && p.getBuildSideRecordCount() > threshold) {
+				LOG.info(String.format("Spilled partition [%d] with recursion level [%d] is skewed: " +
+								"%d build side rows, %d in total",
+						p.getPartitionNumber(), p.getRecursionLevel(), p.getBuildSideRecordCount(), totalRecords));
+				skewedPartitions.add(p);
+			}
+		}
+	}
+
+	/**
+	 * Whether the spilled partition is joined with a sort-merge join instead of being built into
+	 * a hash table. That is the case if the partition does not fit into memory, and it is skewed or
+	 * was partitioned again already.
+	 */
+	private boolean shouldFallbackToSortMerge(BinaryHashPartition p) {
+		boolean skewed = skewedPartitions.remove(p);
+		if (fallbackJoiner == null) {
+			return false;
+		}
+		final int totalBuffersAvailable = this.internalPool.freePages() + this.buildSpillRetBufferNumbers;
+		final long totalBuffersNeeded = maxBucketAreaBuffers(p) + p.getBuildSideBlockCount() + 2;
+		return totalBuffersNeeded >= totalBuffersAvailable &&
+				(skewed || p.getRecursionLevel() + 1 >= SORT_MERGE_FALLBACK_RECURSION_LEVEL);
+	}
+
+	/**
+	 * Hands all memory of the hash table over to the sort-merge join and feeds the rows of the
+	 * deferred partitions into it.
+	 */
+	private boolean startSortMergeFallback() throws IOException {
+		LOG.info(String.format("Join %d spilled partitions with a sort-merge join", partitionsForSortMerge.size()));
+		ensureNumBuffersReturned(totalNumBuffers);
+		freeCurrent();
+		fallbackJoiner.open((long) totalNumBuffers * segmentSize);
+
+		for (BinaryHashPartition p : partitionsForSortMerge) {
+			ChannelReaderInputView buildView = createInputView(
+					p.getBuildSideChannel().getChannelID(), p.getBuildSideBlockCount(), p.getLastSegmentLimit());
+			BinaryRowChannelInputViewIterator buildIter =
+					new BinaryRowChannelInputViewIterator(buildView, binaryBuildSideSerializer);
+			BinaryRowData buildRow = binaryBuildSideSerializer.createInstance();
+			while ((buildRow = buildIter.next(buildRow)) != null) {
+				fallbackJoiner.putBuildRow(buildRow);
+			}
+			buildView.getChannel().closeAndDelete();
+
+			ChannelWithMeta channelWithMeta = new ChannelWithMeta(
+					p.probeSideBuffer.getChannel().getChannelID(),
+					p.probeSideBuffer.getBlockCount(),
+					p.probeNumBytesInLastSeg);
+			AbstractChannelReaderInputView probeView = FileChannelUtil.createInputView(
+					ioManager, channelWithMeta, new ArrayList<>(),
+					compressionEnable, compressionCodecFactory, compressionBlockSize, segmentSize);
+			ChannelReaderInputViewIterator<BinaryRowData> probeIter = new ChannelReaderInputViewIterator<>(
+					probeView, new ArrayList<>(), binaryProbeSideSerializer);
+			BinaryRowData probeRow = binaryProbeSideSerializer.createInstance();
+			while ((probeRow = probeIter.next(probeRow)) != null) {
+				fallbackJoiner.putProbeRow(probeRow);
+			}
+			probeView.getChannel().closeAndDelete();
 		}
+		partitionsForSortMerge.clear();
+
+		fallbackJoiner.endInput();
+		this.sortMergePhase = true;
+		return fallbackJoiner.nextMatching();
 	}
 
 	private void insertIntoTable(final BinaryRowData record, final int hashCode) throws IOException {
@@ -580,6 +764,16 @@ public class BinaryHashTable extends BaseHybridHashTable {
 		for (final BinaryHashPartition p : this.partitionsPending) {
 			p.clearAllMemory(this.internalPool);
 		}
+
+		for (final BinaryHashPartition p : this.partitionsForSortMerge) {
+			p.clearAllMemory(this.internalPool);
+		}
+		this.partitionsForSortMerge.clear();
+		this.skewedPartitions.clear();
+
+		if (this.fallbackJoiner != null) {
+			this.fallbackJoiner.close();
+		}
 	}
 
 	/**
@@ -0,0 +1,323 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.hashtable;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.runtime.io.disk.iomanager.IOManager;
+import org.apache.flink.runtime.memory.MemoryManager;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.runtime.generated.JoinCondition;
+import org.apache.flink.table.runtime.generated.NormalizedKeyComputer;
+import org.apache.flink.table.runtime.generated.Projection;
+import org.apache.flink.table.runtime.generated.RecordComparator;
+import org.apache.flink.table.runtime.operators.join.HashJoinType;
+import org.apache.flink.table.runtime.operators.join.SortMergeFullOuterJoinIterator;
+import org.apache.flink.table.runtime.operators.sort.BinaryExternalSorter;
+import org.apache.flink.table.runtime.typeutils.AbstractRowDataSerializer;
+import org.apache.flink.table.runtime.typeutils.BinaryRowDataSerializer;
+import org.apache.flink.table.runtime.util.LazyMemorySegmentPool;
+import org.apache.flink.table.runtime.util.ResettableExternalBuffer;
+import org.apache.flink.table.runtime.util.RowIterator;
+
+import javax.annotation.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.BitSet;
+
+import static org.apache.flink.util.Preconditions.checkState;
+
+/**
+ * Joins the spilled partitions that a {@link BinaryHashTable} gives up on with a sort-merge join.
+ * Such partitions do not fit into memory although they were partitioned again already, or hold
+ * most build side rows of their parent because of skewed keys. Partitioning them again would
+ * neither make them fit into memory, while the sort-merge join spills the rows of a key that do
+ * not fit into memory.
+ *
+ * <p>The joiner takes over the memory of the hash table once all other partitions are joined. It
+ * sorts the build side and the probe side rows of all partitions it was given by the join key and
+ * hands out the matches in the same way as the hash table does: a probe row together with the
+ * matching build rows, and, for the join types that need to know which build rows were probed, the
+ * matched or unmatched build rows of every key without a probe row.
+ */
+final class SortMergeFallbackJoiner implements Closeable {
+
+	/**
+	 * The minimum memory that the joiner needs: two sorters and two buffers for the rows of the
+	 * current key, each of which needs at least ten pages.
+	 */
+	static final long MIN_MEMORY_SIZE = 4L * ResettableExternalBuffer.MIN_NUM_MEMORY;
+
+	private final Configuration conf;
+	private final Object owner;
+	private final MemoryManager memManager;
+	private final IOManager ioManager;
+
+	private final BinaryRowDataSerializer buildSerializer;
+	private final BinaryRowDataSerializer probeSerializer;
+	private final Projection<RowData, BinaryRowData> buildProjection;
+	private final Projection<RowData, BinaryRowData> probeProjection;
+
+	private final NormalizedKeyComputer buildComputer;
+	private final RecordComparator buildComparator;
+	private final NormalizedKeyComputer probeComputer;
+	private final RecordComparator probeComparator;
+	private final RecordComparator keyComparator;
+
+	private final HashJoinType type;
+	@Nullable
+	private final JoinCondition condFunc;
+	private final boolean reverseJoin;
+	private final boolean[] filterNulls;
+
+	/** Marks the build rows of the current key that matched a probe row, by their position. */
+	private final BitSet probedSet = new BitSet();
+
+	private long bufferMemorySize;
+	private BinaryExternalSorter buildSorter;
+	private BinaryExternalSorter probeSorter;
+	private SortMergeFullOuterJoinIterator joinIterator;
+
+	/** The iterator over the probe rows of the current key, null once all of them were handed out. */
+	private ResettableExternalBuffer.BufferIterator probeRowIterator;
+
+	/** Whether the probed or unprobed build rows of the current key still need to be handed out. */
+	private boolean buildRowsPending;
+
+	private RowData currentProbeRow;
+	private BuildRowIterator buildIterator;
+
+	SortMergeFallbackJoiner(
+			Configuration conf,
+			Object owner,
+			MemoryManager memManager,
+			IOManager ioManager,
+			BinaryRowDataSerializer buildSerializer,
+			BinaryRowDataSerializer probeSerializer,
+			Projection<RowData, BinaryRowData> buildProjection,
+			Projection<RowData, BinaryRowData> probeProjection,
+			NormalizedKeyComputer buildComputer,
+			RecordComparator buildComparator,
+			NormalizedKeyComputer probeComputer,
+			RecordComparator probeComparator,
+			RecordComparator keyComparator,
+			HashJoinType type,
+			@Nullable JoinCondition condFunc,
+			boolean reverseJoin,
+			boolean[] filterNulls) {
+		this.conf = conf;
+		this.owner = owner;
+		this.memManager = memManager;
+		this.ioManager = ioManager;
+		this.buildSerializer = buildSerializer;
+		this.probeSerializer = probeSerializer;
+		this.buildProjection = buildProjection;
+		this.probeProjection = probeProjection;
+		this.buildComputer = buildComputer;
+		this.buildComparator = buildComparator;
+		this.probeComputer = probeComputer;
+		this.probeComparator = probeComparator;
+		this.keyComparator = keyComparator;
+		this.type = type;
+		this.condFunc = condFunc;
+		this.reverseJoin = reverseJoin;
+		this.filterNulls = filterNulls;
+	}
+
+	/**
+	 * Starts the sorters with the given memory, which must have been released by the hash table.
+	 */
+	void open(long memorySize) {
+		checkState(memorySize >= MIN_MEMORY_SIZE, "Too little memory for the sort-merge join.");
+		this.bufferMemorySize = Math.max(ResettableExternalBuffer.MIN_NUM_MEMORY, memorySize / 8);
+		long sortMemorySize = (memorySize - 2 * bufferMemorySize) / 2;
+		this.buildSorter = newSorter(sortMemorySize, buildSerializer, buildComputer, buildComparator);
+		this.probeSorter = newSorter(sortMemorySize, probeSerializer, probeComputer, probeComparator);
+	}
+
+	void putBuildRow(BinaryRowData row) throws IOException {
+		buildSorter.write(row);
+	}
+
+	void putProbeRow(BinaryRowData row) throws IOException {
+		probeSorter.write(row);
+	}
+
+	/**
+	 * Finishes the input and waits until both sides are sorted.
+	 */
+	void endInput() throws IOException {
+		try {
+			this.joinIterator = new SortMergeFullOuterJoinIterator(
+					probeSerializer, buildSerializer, probeProjection, buildProjection, keyComparator,
+					probeSorter.getIterator(), buildSorter.getIterator(),
+					newBuffer(probeSerializer), newBuffer(buildSerializer), filterNulls);
+		} catch (InterruptedException e) {
+			throw new RuntimeException("Hash join was interrupted while sorting spilled partitions.", e);
+		}
+	}
+
+	/**
+	 * Moves to the next probe row, or to the build rows of a key without probe row.
+	 */
+	boolean nextMatching() throws IOException {
+		closeBuildIterator();
+		while (true) {
+			if (probeRowIterator != null) {
+				if (probeRowIterator.advanceNext()) {
+					currentProbeRow = probeRowIterator.getRow();
+					buildIterator = new BuildRowIterator(currentProbeRow);
+					return true;
+				}
+				probeRowIterator.close();
+				probeRowIterator = null;
+			}
+
+			if (buildRowsPending) {
+				buildRowsPending = false;
+				currentProbeRow = null;
+				buildIterator = new BuildRowIterator(null);
+				return true;
+			}
+
+			if (!joinIterator.nextOuterJoin()) {
+				return false;
+			}
+
+			// one of the buffers is empty if the key has no match on the other side
+			probedSet.clear();
+			if (joinIterator.getBuffer1().size() > 0) {
+				probeRowIterator = joinIterator.getBuffer1().newIterator();
+			}
+			buildRowsPending = type.needSetProbed() && joinIterator.getBuffer2().size() > 0;
+		}
+	}
+
+	RowData getCurrentProbeRow() {
+		return currentProbeRow;
+	}
+
+	RowIterator<BinaryRowData> getBuildSideIterator() {
+		return buildIterator;
+	}
+
+	@Override
+	public void close() {
+		closeBuildIterator();
+		if (probeRowIterator != null) {
+			probeRowIterator.close();
+			probeRowIterator = null;
+		}
+		if (joinIterator != null) {
+			joinIterator.close();
+			joinIterator = null;
+		}
+		if (buildSorter != null) {
+			buildSorter.close();
+			buildSorter = null;
+		}
+		if (probeSorter != null) {
+			probeSorter.close();
+			probeSorter = null;
+		}
+	}
+
+	private void closeBuildIterator() {
+		if (buildIterator != null) {
+			buildIterator.close();
+			buildIterator = null;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private BinaryExternalSorter newSorter(
+			long memorySize,
+			BinaryRowDataSerializer serializer,
+			NormalizedKeyComputer computer,
+			RecordComparator comparator) {
+		BinaryExternalSorter sorter = new BinaryExternalSorter(
+				owner, memManager, memorySize, ioManager,
+				(AbstractRowDataSerializer) serializer, serializer, computer, comparator, conf);
+		sorter.startThreads();
+		return sorter;
+	}
+
+	private ResettableExternalBuffer newBuffer(BinaryRowDataSerializer serializer) {
+		LazyMemorySegmentPool pool = new LazyMemorySegmentPool(
+				owner, memManager, (int) (bufferMemorySize / memManager.getPageSize()));
+		return new ResettableExternalBuffer(ioManager, pool, serializer, false);
+	}
+
+	/**
+	 * Iterates over the build rows of the current key. With a probe row, it returns the build rows
+	 * that match the probe row and marks them as probed. Without a probe row, it returns the probed
+	 * build rows for a {@link HashJoinType#BUILD_LEFT_SEMI} join and the unprobed ones otherwise.
+	 */
+	private final class BuildRowIterator implements RowIterator<BinaryRowData>, Closeable {
+
+		private final ResettableExternalBuffer.BufferIterator iterator;
+
+		@Nullable
+		private final RowData probeRow;
+
+		private final boolean matchedOrUnmatched;
+
+		private int position = -1;
+
+		private BuildRowIterator(@Nullable RowData probeRow) {
+			this.iterator = joinIterator.getBuffer2().newIterator();
+			this.probeRow = probeRow;
+			this.matchedOrUnmatched = type.equals(HashJoinType.BUILD_LEFT_SEMI);
+		}
+
+		@Override
+		public boolean advanceNext() {
+			while (iterator.advanceNext()) {
+				position++;
+				if (probeRow == null) {
+					if (probedSet.get(position) == matchedOrUnmatched) {
+						return true;
+					}
+				} else if (applyCondition(iterator.getRow())) {
+					if (type.needSetProbed()) {
+						probedSet.set(position);
+					}
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public BinaryRowData getRow() {
+			return iterator.getRow();
+		}
+
+		private boolean applyCondition(BinaryRowData candidate) {
+			return condFunc == null ||
+					(reverseJoin ? condFunc.apply(probeRow, candidate) : condFunc.apply(candidate, probeRow));
+		}
+
+		@Override
+		public void close() {
+			iterator.close();
+		}
+	}
+}
@@ -26,9 +26,12 @@ import org.apache.flink.runtime.io.disk.SimpleCollectingOutputView;
 import org.apache.flink.runtime.memory.AbstractPagedInputView;
 import org.apache.flink.runtime.memory.MemoryManager;
 import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.data.writer.BinaryRowWriter;
 import org.apache.flink.table.runtime.typeutils.BinaryRowDataSerializer;
 import org.apache.flink.table.runtime.util.LazyMemorySegmentPool;
+import org.apache.flink.table.runtime.util.MurmurHashUtil;
 import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.LogicalTypeRoot;
 import org.apache.flink.util.MathUtils;
 import org.apache.flink.util.MutableObjectIterator;
 
@@ -41,6 +44,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkState;
 
 /**
  * Bytes based hash map.
@@ -54,6 +58,13 @@ import static org.apache.flink.util.Preconditions.checkArgument;
  * Bytes 0 to 8: a pointer to the record in the record area
  * Bytes 8 to 16: a holds key's full 32-bit hashcode
  * <p/>
+ * - If the key is a single INT or BIGINT field (see {@link #isLongKey(LogicalType[])}), the bucket
+ * holds the key itself as a long instead of the hashcode, so that a lookup compares keys in the
+ * bucket area without reading the record area, and {@link #lookup(long)} looks up a key without
+ * building a key row. The entry of the null key is not in the bucket area.
+ * Bytes 0 to 8: a pointer to the record in the record area
+ * Bytes 8 to 16: the key
+ * <p/>
  * - Record area: this contains the actual data in linked list records.
  * A BytesHashMap's record has four parts:
  * Bytes 0 to 4: len(k)
@@ -98,6 +109,20 @@ public class BytesHashMap {
 	 * each BytesHashMap entry's value part when appended to make the BytesHashMap's spilling work compatible.
 	 */
 	private final boolean hashSetMode;
+	/**
+	 * Set true when the key is a single INT or BIGINT field, see {@link #isLongKey(LogicalType[])}.
+	 */
+	private final boolean longKeyMode;
+	private final boolean intKey;
+	/**
+	 * Used to build the key row of a key looked up by {@link BytesHashMap#lookup(long)} when it is appended.
+	 */
+	private final BinaryRowData longKeyRow;
+	private final BinaryRowWriter longKeyWriter;
+	/**
+	 * Pointer to the record of the null key in long key mode, or END_OF_LIST if there is none.
+	 */
+	private long nullKeyPointer = END_OF_LIST;
 	/**
 	 * Used to serialize hash map key and value into RecordArea's MemorySegments.
 	 */
@@ -166,6 +191,18 @@ public class BytesHashMap {
 		this.keySerializer = new BinaryRowDataSerializer(keyTypes.length);
 		this.reusedKey = this.keySerializer.createInstance();
 
+		this.longKeyMode = isLongKey(keyTypes);
+		if (longKeyMode) {
+			this.intKey = keyTypes[0].getTypeRoot() == LogicalTypeRoot.INTEGER;
+			this.longKeyRow = new BinaryRowData(1);
+			this.longKeyWriter = new BinaryRowWriter(longKeyRow);
+			LOG.info("BytesHashMap with longKeyMode = true.");
+		} else {
+			this.intKey = false;
+			this.longKeyRow = null;
+			this.longKeyWriter = null;
+		}
+
 		if (valueTypes.length == 0) {
 			this.valueSerializer = new BinaryRowDataSerializer(0);
 			this.hashSetMode = true;
@@ -225,6 +262,18 @@ public class BytesHashMap {
 		return ret;
 	}
 
+	/**
+	 * Returns whether a map with the given key types stores the keys as longs in the bucket area,
+	 * and thus supports {@link #lookup(long)}.
+	 */
+	public static boolean isLongKey(LogicalType[] keyTypes) {
+		if (keyTypes.length != 1) {
+			return false;
+		}
+		LogicalTypeRoot typeRoot = keyTypes[0].getTypeRoot();
+		return typeRoot == LogicalTypeRoot.INTEGER || typeRoot == LogicalTypeRoot.BIGINT;
+	}
+
 	// ----------------------- Public interface -----------------------
 
 	/**
@@ -244,6 +293,9 @@ public class BytesHashMap {
 	public LookupInfo lookup(BinaryRowData key) {
 		// check the looking up key having only one memory segment
 		checkArgument(key.getSegments().length == 1);
+		if (longKeyMode) {
+			return lookupLongKeyRow(key);
+		}
 		final int hashCode1 = key.hashCode();
 		int newPos = hashCode1 & numBucketsMask;
 		// which segment contains the bucket
@@ -289,10 +341,89 @@ public class BytesHashMap {
 					"Error reading record from the aggregate map: " + ex.getMessage(), ex);
 		}
 		reuseLookInfo.set(
-				found, hashCode1, key, reusedValue, bucketSegmentIndex, bucketOffset);
+				found, hashCode1, key, 0L, reusedValue, bucketSegmentIndex, bucketOffset);
+		return reuseLookInfo;
+	}
+
+	/**
+	 * Looks up a non-null key without building a key row, only supported when the key is a single
+	 * INT or BIGINT field, see {@link #isLongKey(LogicalType[])}.
+	 *
+	 * @param key by which looking up the value in the hash map, an INT key is widened to long.
+	 * @return {@link LookupInfo}
+	 */
+	public LookupInfo lookup(long key) {
+		checkState(longKeyMode, "The key of this map is not a single INT or BIGINT field.");
+		final int hashCode1 = hashLongKey(key);
+		int newPos = hashCode1 & numBucketsMask;
+		// which segment contains the bucket
+		int bucketSegmentIndex = newPos >>> numBucketsPerSegmentBits;
+		// offset of the bucket in the segment
+		int bucketOffset = (newPos & numBucketsPerSegmentMask) << BUCKET_SIZE_BITS;
+
+		boolean found = false;
+		int step = STEP_INCREMENT;
+		long hashCode2 = 0;
+		long findElementPtr;
+		try {
+			do {
+				MemorySegment bucketSegment = bucketSegments.get(bucketSegmentIndex);
+				findElementPtr = bucketSegment.getLong(bucketOffset);
+				if (findElementPtr == END_OF_LIST) {
+					// This is a new key.
+					break;
+				} else if (bucketSegment.getLong(bucketOffset + ELEMENT_POINT_LENGTH) == key) {
+					found = true;
+					recordArea.setReadPosition(findElementPtr);
+					recordArea.skipKey();
+					reusedValue = recordArea.readValue(reusedValue);
+					break;
+				}
+				if (step == 1) {
+					hashCode2 = calcSecondHashCode(hashCode1);
+				}
+				newPos = (int) ((hashCode1 + step * hashCode2) & numBucketsMask);
+				// which segment contains the bucket
+				bucketSegmentIndex = newPos >>> numBucketsPerSegmentBits;
+				// offset of the bucket in the segment
+				bucketOffset = (newPos & numBucketsPerSegmentMask) << BUCKET_SIZE_BITS;
+				step += STEP_INCREMENT;
+			} while (true);
+		} catch (IOException ex) {
+			throw new RuntimeException(
+					"Error reading record from the aggregate map: " + ex.getMessage(), ex);
+		}
+		reuseLookInfo.set(
+				found, hashCode1, null, key, reusedValue, bucketSegmentIndex, bucketOffset);
 		return reuseLookInfo;
 	}
 
+	private LookupInfo lookupLongKeyRow(BinaryRowData key) {
+		if (!key.isNullAt(0)) {
+			LookupInfo info = lookup(intKey ? key.getInt(0) : key.getLong(0));
+			info.key = key;
+			return info;
+		}
+		boolean found = nullKeyPointer != END_OF_LIST;
+		if (found) {
+			try {
+				recordArea.setReadPosition(nullKeyPointer);
+				recordArea.skipKey();
+				reusedValue = recordArea.readValue(reusedValue);
+			} catch (IOException ex) {
+				throw new RuntimeException(
+						"Error reading record from the aggregate map: " + ex.getMessage(), ex);
+			}
+		}
+		// the null key has no bucket
+		reuseLookInfo.set(found, 0, key, 0L, reusedValue, -1, -1);
+		return reuseLookInfo;
+	}
+
+	private static int hashLongKey(long key) {
+		return (int) MurmurHashUtil.fmix(key);
+	}
+
 	// M(the num of buckets) is the nth power of 2,  so the second hash code must be odd, and always is
 	// H2(K) = 1 + 2 * ((H1(K)/M) mod (M-1))
 	private long calcSecondHashCode(final int firstHashCode) {
@@ -311,13 +442,26 @@ public class BytesHashMap {
 			if (numElements >= growthThreshold) {
 				growAndRehash();
 				//update info's bucketSegmentIndex and bucketOffset
-				lookup(info.key);
+				if (info.key != null) {
+					lookup(info.key);
+				} else {
+					lookup(info.longKey);
+				}
 			}
 			BinaryRowData toAppend = hashSetMode ? reusedValue : value;
-			long pointerToAppended = recordArea.appendRecord(info.key, toAppend);
-			bucketSegments.get(info.bucketSegmentIndex).putLong(info.bucketOffset, pointerToAppended);
-			bucketSegments.get(info.bucketSegmentIndex).putInt(
-					info.bucketOffset + ELEMENT_POINT_LENGTH, info.keyHashCode);
+			BinaryRowData key = info.key != null ? info.key : buildLongKeyRow(info.longKey);
+			long pointerToAppended = recordArea.appendRecord(key, toAppend);
+			if (info.bucketSegmentIndex < 0) {
+				nullKeyPointer = pointerToAppended;
+			} else if (longKeyMode) {
+				MemorySegment bucketSegment = bucketSegments.get(info.bucketSegmentIndex);
+				bucketSegment.putLong(info.bucketOffset, pointerToAppended);
+				bucketSegment.putLong(info.bucketOffset + ELEMENT_POINT_LENGTH, info.longKey);
+			} else {
+				bucketSegments.get(info.bucketSegmentIndex).putLong(info.bucketOffset, pointerToAppended);
+				bucketSegments.get(info.bucketSegmentIndex).putInt(
+						info.bucketOffset + ELEMENT_POINT_LENGTH, info.keyHashCode);
+			}
 			numElements++;
 			recordArea.setReadPosition(pointerToAppended);
 			recordArea.skipKey();
@@ -329,6 +473,17 @@ public class BytesHashMap {
 		}
 	}
 
+	private BinaryRowData buildLongKeyRow(long key) {
+		longKeyWriter.reset();
+		if (intKey) {
+			longKeyWriter.writeInt(0, (int) key);
+		} else {
+			longKeyWriter.writeLong(0, key);
+		}
+		longKeyWriter.complete();
+		return longKeyRow;
+	}
+
 	public long getNumSpillFiles() {
 		return numSpillFiles;
 	}
@@ -393,12 +548,15 @@ public class BytesHashMap {
 
 		long reHashStartTime = System.currentTimeMillis();
 		resetBucketSegments(newBucketSegments);
-		// Re-mask (we don't recompute the hashcode because we stored all 32 bits of it)
+		// Re-mask (we don't recompute the hashcode because we stored all 32 bits of it,
+		// except for long keys which are stored instead of their hashcode)
 		for (MemorySegment memorySegment : bucketSegments) {
 			for (int j = 0; j < numBucketsPerSegment; j++) {
 				final long recordPointer = memorySegment.getLong(j * BUCKET_SIZE);
 				if (recordPointer != END_OF_LIST) {
-					final int hashCode1 = memorySegment.getInt(j * BUCKET_SIZE + ELEMENT_POINT_LENGTH);
+					final long longKey = longKeyMode ? memorySegment.getLong(j * BUCKET_SIZE + ELEMENT_POINT_LENGTH) : 0L;
+					final int hashCode1 = longKeyMode ?
+							hashLongKey(longKey) : memorySegment.getInt(j * BUCKET_SIZE + ELEMENT_POINT_LENGTH);
 					int newPos = hashCode1 & numBucketsMask;
 					int bucketSegmentIndex = newPos >>> numBucketsPerSegmentBits;
 					int bucketOffset = (newPos & numBucketsPerSegmentMask) << BUCKET_SIZE_BITS;
@@ -416,7 +574,11 @@ public class BytesHashMap {
 						step += STEP_INCREMENT;
 					}
 					newBucketSegments.get(bucketSegmentIndex).putLong(bucketOffset, recordPointer);
-					newBucketSegments.get(bucketSegmentIndex).putInt(bucketOffset + ELEMENT_POINT_LENGTH, hashCode1);
+					if (longKeyMode) {
+						newBucketSegments.get(bucketSegmentIndex).putLong(bucketOffset + ELEMENT_POINT_LENGTH, longKey);
+					} else {
+						newBucketSegments.get(bucketSegmentIndex).putInt(bucketOffset + ELEMENT_POINT_LENGTH, hashCode1);
+					}
 				}
 			}
 		}
@@ -478,6 +640,7 @@ public class BytesHashMap {
 			memoryPool.close();
 		}
 		numElements = 0;
+		nullKeyPointer = END_OF_LIST;
 		destructiveIterator = null;
 	}
 
@@ -490,6 +653,7 @@ public class BytesHashMap {
 		recordArea.reset();
 		resetBucketSegments(bucketSegments);
 		numElements = 0;
+		nullKeyPointer = END_OF_LIST;
 		destructiveIterator = null;
 		LOG.info(
 				"reset BytesHashMap with record memory segments {}, {} in bytes, init allocating {} for bucket area.",
@@ -619,6 +783,7 @@ public class BytesHashMap {
 	public static final class LookupInfo {
 		private boolean found;
 		private BinaryRowData key;
+		private long longKey;
 		private BinaryRowData value;
 
 		/**
@@ -644,11 +809,13 @@ public class BytesHashMap {
 				boolean found,
 				int keyHashCode,
 				BinaryRowData key,
+				long longKey,
 				BinaryRowData value,
 				int bucketSegmentIndex, int bucketOffset) {
 			this.found = found;
 			this.keyHashCode = keyHashCode;
 			this.key = key;
+			this.longKey = longKey;
 			this.value = value;
 			this.bucketSegmentIndex = bucketSegmentIndex;
 			this.bucketOffset = bucketOffset;
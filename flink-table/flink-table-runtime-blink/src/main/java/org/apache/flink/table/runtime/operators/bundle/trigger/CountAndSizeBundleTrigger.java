@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.bundle.trigger;
+
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.util.Preconditions;
+
+/**
+ * A {@link BundleTrigger} that fires once the count of elements in a bundle reaches the given
+ * count, or once the size of the elements in the bundle reaches the given memory size, so that a
+ * burst of large records can't blow up the memory footprint of the bundle.
+ *
+ * <p>The size of a {@link BinaryRowData} is its size in bytes, the size of any other row is the
+ * size of its binary form.
+ */
+public class CountAndSizeBundleTrigger implements BundleTrigger<RowData> {
+
+	private static final long serialVersionUID = 2591347128754927601L;
+
+	private final long maxCount;
+	private final long maxSizeInBytes;
+	private final RowDataSizeEstimator sizeEstimator;
+	private transient BundleTriggerCallback callback;
+	private transient long count = 0;
+	private transient long sizeInBytes = 0;
+
+	public CountAndSizeBundleTrigger(long maxCount, long maxSizeInBytes, RowType rowType) {
+		Preconditions.checkArgument(maxCount > 0, "maxCount must be greater than 0");
+		Preconditions.checkArgument(maxSizeInBytes > 0, "maxSizeInBytes must be greater than 0");
+		this.maxCount = maxCount;
+		this.maxSizeInBytes = maxSizeInBytes;
+		this.sizeEstimator = new RowDataSizeEstimator(Preconditions.checkNotNull(rowType));
+	}
+
+	@Override
+	public void registerCallback(BundleTriggerCallback callback) {
+		this.callback = Preconditions.checkNotNull(callback, "callback is null");
+	}
+
+	@Override
+	public void onElement(RowData element) throws Exception {
+		count++;
+		sizeInBytes += sizeEstimator.estimateSizeInBytes(element);
+		if (count >= maxCount || sizeInBytes >= maxSizeInBytes) {
+			callback.finishBundle();
+			reset();
+		}
+	}
+
+	@Override
+	public void reset() {
+		count = 0;
+		sizeInBytes = 0;
+	}
+
+	@Override
+	public String explain() {
+		return "CountAndSizeBundleTrigger with size " + maxCount + " and memory size " + maxSizeInBytes + " bytes";
+	}
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.bundle.trigger;
+
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.util.Preconditions;
+
+/**
+ * A {@link CoBundleTrigger} that fires once the count of elements in a bundle reaches the given
+ * count, or once the size of the elements in the bundle reaches the given memory size, see
+ * {@link CountAndSizeBundleTrigger} for how the size is estimated.
+ */
+public class CountAndSizeCoBundleTrigger implements CoBundleTrigger<RowData, RowData> {
+
+	private static final long serialVersionUID = -4925178264530782541L;
+
+	private final long maxCount;
+	private final long maxSizeInBytes;
+	private final RowDataSizeEstimator sizeEstimator1;
+	private final RowDataSizeEstimator sizeEstimator2;
+	private transient BundleTriggerCallback callback;
+	private transient long count = 0;
+	private transient long sizeInBytes = 0;
+
+	public CountAndSizeCoBundleTrigger(long maxCount, long maxSizeInBytes, RowType rowType1, RowType rowType2) {
+		Preconditions.checkArgument(maxCount > 0, "maxCount must be greater than 0");
+		Preconditions.checkArgument(maxSizeInBytes > 0, "maxSizeInBytes must be greater than 0");
+		this.maxCount = maxCount;
+		this.maxSizeInBytes = maxSizeInBytes;
+		this.sizeEstimator1 = new RowDataSizeEstimator(Preconditions.checkNotNull(rowType1));
+		this.sizeEstimator2 = new RowDataSizeEstimator(Preconditions.checkNotNull(rowType2));
+	}
+
+	@Override
+	public void registerCallback(BundleTriggerCallback callback) {
+		this.callback = Preconditions.checkNotNull(callback, "callback is null");
+	}
+
+	@Override
+	public void onElement1(final RowData element) throws Exception {
+		onElement(sizeEstimator1.estimateSizeInBytes(element));
+	}
+
+	@Override
+	public void onElement2(final RowData element) throws Exception {
+		onElement(sizeEstimator2.estimateSizeInBytes(element));
+	}
+
+	private void onElement(long elementSizeInBytes) throws Exception {
+		count++;
+		sizeInBytes += elementSizeInBytes;
+		if (count >= maxCount || sizeInBytes >= maxSizeInBytes) {
+			callback.finishBundle();
+			reset();
+		}
+	}
+
+	@Override
+	public void reset() {
+		count = 0;
+		sizeInBytes = 0;
+	}
+
+	@Override
+	public String explain() {
+		return "CountAndSizeCoBundleTrigger with size " + maxCount + " and memory size " + maxSizeInBytes + " bytes";
+	}
+}
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.bundle.trigger;
+
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+
+import java.io.Serializable;
+
+/**
+ * Estimates the size of a {@link RowData} of a given type by the size of its binary form.
+ *
+ * <p>The size of a {@link BinaryRowData} is its size in bytes. Any other row is converted into its
+ * binary form, unless all of its fields are stored in the fixed-length part, whose size only
+ * depends on the arity.
+ */
+final class RowDataSizeEstimator implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final RowDataSerializer serializer;
+
+	/** The size of the fixed-length part of the binary form, or -1 if there are variable-length fields. */
+	private final int fixedLengthSizeInBytes;
+
+	RowDataSizeEstimator(RowType rowType) {
+		this.serializer = new RowDataSerializer(rowType);
+		boolean fixedLength = true;
+		for (LogicalType fieldType : rowType.getChildren()) {
+			fixedLength &= BinaryRowData.isInFixedLengthPart(fieldType);
+		}
+		this.fixedLengthSizeInBytes = fixedLength ?
+			BinaryRowData.calculateFixPartSizeInBytes(rowType.getFieldCount()) : -1;
+	}
+
+	long estimateSizeInBytes(RowData row) {
+		if (row instanceof BinaryRowData) {
+			return ((BinaryRowData) row).getSizeInBytes();
+		} else if (fixedLengthSizeInBytes >= 0) {
+			return fixedLengthSizeInBytes;
+		} else {
+			return serializer.toBinaryRow(row).getSizeInBytes();
+		}
+	}
+}
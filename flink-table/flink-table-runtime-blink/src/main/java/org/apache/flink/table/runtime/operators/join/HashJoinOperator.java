@@ -30,7 +30,9 @@ import org.apache.flink.table.data.JoinedRowData;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.data.binary.BinaryRowData;
 import org.apache.flink.table.runtime.generated.GeneratedJoinCondition;
+import org.apache.flink.table.runtime.generated.GeneratedNormalizedKeyComputer;
 import org.apache.flink.table.runtime.generated.GeneratedProjection;
+import org.apache.flink.table.runtime.generated.GeneratedRecordComparator;
 import org.apache.flink.table.runtime.generated.JoinCondition;
 import org.apache.flink.table.runtime.hashtable.BinaryHashTable;
 import org.apache.flink.table.runtime.operators.TableStreamOperator;
@@ -43,6 +45,8 @@ import org.apache.flink.util.Collector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
 import java.io.Serializable;
 
 import static org.apache.flink.util.Preconditions.checkNotNull;
@@ -117,6 +121,14 @@ public abstract class HashJoinOperator extends TableStreamOperator<RowData>
 				reverseJoinFunction,
 				parameter.filterNullKeys,
 				parameter.tryDistinctBuildRow);
+		if (parameter.buildComputer != null) {
+			table.enableSortMergeFallback(
+					parameter.buildComputer.newInstance(cl),
+					parameter.buildComparator.newInstance(cl),
+					parameter.probeComputer.newInstance(cl),
+					parameter.probeComparator.newInstance(cl),
+					parameter.keyComparator.newInstance(cl));
+		}
 
 		this.collector = new StreamRecordCollector<>(output);
 
@@ -132,6 +144,11 @@ public abstract class HashJoinOperator extends TableStreamOperator<RowData>
 		parameter.condFuncCode = null;
 		parameter.buildProjectionCode = null;
 		parameter.probeProjectionCode = null;
+		parameter.buildComputer = null;
+		parameter.buildComparator = null;
+		parameter.probeComputer = null;
+		parameter.probeComparator = null;
+		parameter.keyComparator = null;
 	}
 
 	@Override
@@ -225,6 +242,42 @@ public abstract class HashJoinOperator extends TableStreamOperator<RowData>
 			long buildRowCount,
 			long probeRowCount,
 			RowType keyType) {
+		return newHashJoinOperator(
+				type,
+				condFuncCode,
+				reverseJoinFunction,
+				filterNullKeys,
+				buildProjectionCode,
+				probeProjectionCode,
+				tryDistinctBuildRow,
+				buildRowSize,
+				buildRowCount,
+				probeRowCount,
+				keyType,
+				null,
+				null,
+				null,
+				null,
+				null);
+	}
+
+	public static HashJoinOperator newHashJoinOperator(
+			HashJoinType type,
+			GeneratedJoinCondition condFuncCode,
+			boolean reverseJoinFunction,
+			boolean[] filterNullKeys,
+			GeneratedProjection buildProjectionCode,
+			GeneratedProjection probeProjectionCode,
+			boolean tryDistinctBuildRow,
+			int buildRowSize,
+			long buildRowCount,
+			long probeRowCount,
+			RowType keyType,
+			@Nullable GeneratedNormalizedKeyComputer buildComputer,
+			@Nullable GeneratedRecordComparator buildComparator,
+			@Nullable GeneratedNormalizedKeyComputer probeComputer,
+			@Nullable GeneratedRecordComparator probeComparator,
+			@Nullable GeneratedRecordComparator keyComparator) {
 		HashJoinParameter parameter = new HashJoinParameter(
 				type,
 				condFuncCode,
@@ -236,7 +289,12 @@ public abstract class HashJoinOperator extends TableStreamOperator<RowData>
 				buildRowSize,
 				buildRowCount,
 				probeRowCount,
-				keyType);
+				keyType,
+				buildComputer,
+				buildComparator,
+				probeComputer,
+				probeComparator,
+				keyComparator);
 		switch (type) {
 			case INNER:
 				return new InnerHashJoinOperator(parameter);
@@ -271,13 +329,28 @@ public abstract class HashJoinOperator extends TableStreamOperator<RowData>
 		long probeRowCount;
 		RowType keyType;
 
+		/**
+		 * Code to sort the spilled partitions for which a sort-merge join is used, all of them
+		 * are null if the hash table must not fall back to a sort-merge join.
+		 */
+		@Nullable GeneratedNormalizedKeyComputer buildComputer;
+		@Nullable GeneratedRecordComparator buildComparator;
+		@Nullable GeneratedNormalizedKeyComputer probeComputer;
+		@Nullable GeneratedRecordComparator probeComparator;
+		@Nullable GeneratedRecordComparator keyComparator;
+
 		HashJoinParameter(
 				HashJoinType type,
 				GeneratedJoinCondition condFuncCode, boolean reverseJoinFunction,
 				boolean[] filterNullKeys,
 				GeneratedProjection buildProjectionCode,
 				GeneratedProjection probeProjectionCode, boolean tryDistinctBuildRow,
-				int buildRowSize, long buildRowCount, long probeRowCount, RowType keyType) {
+				int buildRowSize, long buildRowCount, long probeRowCount, RowType keyType,
+				@Nullable GeneratedNormalizedKeyComputer buildComputer,
+				@Nullable GeneratedRecordComparator buildComparator,
+				@Nullable GeneratedNormalizedKeyComputer probeComputer,
+				@Nullable GeneratedRecordComparator probeComparator,
+				@Nullable GeneratedRecordComparator keyComparator) {
 			this.type = type;
 			this.condFuncCode = condFuncCode;
 			this.reverseJoinFunction = reverseJoinFunction;
@@ -289,6 +362,11 @@ public abstract class HashJoinOperator extends TableStreamOperator<RowData>
 			this.buildRowCount = buildRowCount;
 			this.probeRowCount = probeRowCount;
 			this.keyType = keyType;
+			this.buildComputer = buildComputer;
+			this.buildComparator = buildComparator;
+			this.probeComputer = probeComputer;
+			this.probeComparator = probeComparator;
+			this.keyComparator = keyComparator;
 		}
 	}
 
@@ -41,7 +41,9 @@ import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 
@@ -60,6 +62,9 @@ public class AsyncLookupJoinRunner extends RichAsyncFunction<RowData, RowData> {
 	private final TypeInformation<?> fetcherReturnType;
 	private final InternalTypeInfo<RowData> rightRowTypeInfo;
 
+	@Nullable
+	private LookupJoinCache cache;
+
 	private transient AsyncFunction<RowData, Object> fetcher;
 
 	/**
@@ -75,6 +80,12 @@ public class AsyncLookupJoinRunner extends RichAsyncFunction<RowData, RowData> {
 	 */
 	private transient List<JoinedRowResultFuture> allResultFutures;
 
+	/**
+	 * The lookups that are in flight by their lookup key, with the ResultFutures of identical lookups that
+	 * wait for their result. Guarded by the {@link #cache}.
+	 */
+	private transient Map<RowData, List<JoinedRowResultFuture>> pendingLookups;
+
 	public AsyncLookupJoinRunner(
 			GeneratedFunction<AsyncFunction<RowData, Object>> generatedFetcher,
 			GeneratedResultFuture<TableFunctionResultFuture<RowData>> generatedResultFuture,
@@ -90,6 +101,15 @@ public class AsyncLookupJoinRunner extends RichAsyncFunction<RowData, RowData> {
 		this.rightRowTypeInfo = rightRowTypeInfo;
 	}
 
+	/**
+	 * Caches the rows that the lookup function returns for a lookup key in the given cache, rather than
+	 * calling the lookup function for every input row. Identical lookups that are in flight at the same
+	 * time are deduplicated as well.
+	 */
+	public void setCache(@Nullable LookupJoinCache cache) {
+		this.cache = cache;
+	}
+
 	@Override
 	public void open(Configuration parameters) throws Exception {
 		super.open(parameters);
@@ -112,6 +132,11 @@ public class AsyncLookupJoinRunner extends RichAsyncFunction<RowData, RowData> {
 				"currently fetcherReturnType can only be InternalTypeInfo<RowData> or RowTypeInfo");
 		}
 
+		if (cache != null) {
+			cache.open(getRuntimeContext().getMetricGroup());
+			this.pendingLookups = new HashMap<>();
+		}
+
 		// asyncBufferCapacity + 1 as the queue size in order to avoid
 		// blocking on the queue when taking a collector.
 		this.resultFutureBuffer = new ArrayBlockingQueue<>(asyncBufferCapacity + 1);
@@ -122,7 +147,9 @@ public class AsyncLookupJoinRunner extends RichAsyncFunction<RowData, RowData> {
 				createFetcherResultFuture(parameters),
 				rowConverter,
 				isLeftOuterJoin,
-				rightRowTypeInfo.toRowSize());
+				rightRowTypeInfo.toRowSize(),
+				cache,
+				pendingLookups);
 			// add will throw exception immediately if the queue is full which should never happen
 			resultFutureBuffer.add(rf);
 			allResultFutures.add(rf);
@@ -135,8 +162,33 @@ public class AsyncLookupJoinRunner extends RichAsyncFunction<RowData, RowData> {
 		// the input row is copied when object reuse in AsyncWaitOperator
 		outResultFuture.reset(input, resultFuture);
 
-		// fetcher has copied the input field when object reuse is enabled
-		fetcher.asyncInvoke(input, outResultFuture);
+		if (cache == null) {
+			// fetcher has copied the input field when object reuse is enabled
+			fetcher.asyncInvoke(input, outResultFuture);
+			return;
+		}
+
+		final RowData key = cache.getKey(input);
+		final List<RowData> cachedRows;
+		synchronized (cache) {
+			cachedRows = cache.getIfPresent(key);
+			if (cachedRows == null) {
+				final List<JoinedRowResultFuture> waitingResultFutures = pendingLookups.get(key);
+				if (waitingResultFutures != null) {
+					// an identical lookup is in flight, which completes this ResultFuture as well
+					waitingResultFutures.add(outResultFuture);
+					return;
+				}
+				pendingLookups.put(key, new ArrayList<>());
+			}
+		}
+
+		if (cachedRows != null) {
+			outResultFuture.completeRows(cachedRows);
+		} else {
+			outResultFuture.startLoading(key);
+			fetcher.asyncInvoke(input, outResultFuture);
+		}
 	}
 
 	public TableFunctionResultFuture<RowData> createFetcherResultFuture(Configuration parameters) throws Exception {
@@ -185,21 +237,34 @@ public class AsyncLookupJoinRunner extends RichAsyncFunction<RowData, RowData> {
 		private final DelegateResultFuture delegate;
 		private final GenericRowData nullRow;
 
+		@Nullable
+		private final LookupJoinCache cache;
+		private final Map<RowData, List<JoinedRowResultFuture>> pendingLookups;
+
 		private RowData leftRow;
 		private ResultFuture<RowData> realOutput;
 
+		/** The lookup key whose rows this ResultFuture loads into the cache, if any. */
+		@Nullable
+		private RowData loadingKey;
+		private long loadStartTime;
+
 		private JoinedRowResultFuture(
 				BlockingQueue<JoinedRowResultFuture> resultFutureBuffer,
 				TableFunctionResultFuture<RowData> joinConditionResultFuture,
 				@Nullable RowConverter rowConverter,
 				boolean isLeftOuterJoin,
-				int rightArity) {
+				int rightArity,
+				@Nullable LookupJoinCache cache,
+				Map<RowData, List<JoinedRowResultFuture>> pendingLookups) {
 			this.resultFutureBuffer = resultFutureBuffer;
 			this.joinConditionResultFuture = joinConditionResultFuture;
 			this.rowConverter = rowConverter;
 			this.isLeftOuterJoin = isLeftOuterJoin;
 			this.delegate = new DelegateResultFuture();
 			this.nullRow = new GenericRowData(rightArity);
+			this.cache = cache;
+			this.pendingLookups = pendingLookups;
 		}
 
 		public void reset(RowData row, ResultFuture<RowData> realOutput) {
@@ -208,6 +273,16 @@ public class AsyncLookupJoinRunner extends RichAsyncFunction<RowData, RowData> {
 			joinConditionResultFuture.setInput(row);
 			joinConditionResultFuture.setResultFuture(delegate);
 			delegate.reset();
+			loadingKey = null;
+		}
+
+		/**
+		 * Marks this ResultFuture as the one that loads the rows of the given key into the cache and
+		 * completes the ResultFutures of identical lookups.
+		 */
+		void startLoading(RowData key) {
+			loadingKey = key;
+			loadStartTime = System.currentTimeMillis();
 		}
 
 		@Override
@@ -225,6 +300,36 @@ public class AsyncLookupJoinRunner extends RichAsyncFunction<RowData, RowData> {
 				}
 			}
 
+			if (loadingKey != null) {
+				final List<RowData> copiedRows = new ArrayList<>();
+				if (rowDataCollection != null) {
+					for (RowData row : rowDataCollection) {
+						copiedRows.add(cache.copy(row));
+					}
+				}
+
+				final List<RowData> cachedRows;
+				final List<JoinedRowResultFuture> waitingResultFutures;
+				synchronized (cache) {
+					cachedRows = cache.put(loadingKey, copiedRows, System.currentTimeMillis() - loadStartTime);
+					waitingResultFutures = pendingLookups.remove(loadingKey);
+				}
+				loadingKey = null;
+
+				for (JoinedRowResultFuture waitingResultFuture : waitingResultFutures) {
+					waitingResultFuture.completeRows(cachedRows);
+				}
+				rowDataCollection = cachedRows;
+			}
+
+			completeRows(rowDataCollection);
+		}
+
+		/**
+		 * Joins the given rows of the lookup function, which are already converted into RowData, with the
+		 * input row.
+		 */
+		void completeRows(Collection<RowData> rowDataCollection) {
 			// call condition collector first,
 			// the filtered result will be routed to the delegateCollector
 			try {
@@ -264,6 +369,18 @@ public class AsyncLookupJoinRunner extends RichAsyncFunction<RowData, RowData> {
 
 		@Override
 		public void completeExceptionally(Throwable error) {
+			if (loadingKey != null) {
+				// identical lookups would fail as well
+				final List<JoinedRowResultFuture> waitingResultFutures;
+				synchronized (cache) {
+					waitingResultFutures = pendingLookups.remove(loadingKey);
+				}
+				loadingKey = null;
+
+				for (JoinedRowResultFuture waitingResultFuture : waitingResultFutures) {
+					waitingResultFuture.completeExceptionally(error);
+				}
+			}
 			realOutput.completeExceptionally(error);
 		}
 
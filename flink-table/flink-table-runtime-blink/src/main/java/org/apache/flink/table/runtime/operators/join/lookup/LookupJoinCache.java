@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.lookup;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.keyselector.RowDataKeySelector;
+import org.apache.flink.table.runtime.util.LRUMap;
+import org.apache.flink.util.clock.Clock;
+import org.apache.flink.util.clock.SystemClock;
+
+import javax.annotation.Nullable;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A cache for the rows that the lookup function of a lookup join returns for a lookup key, which is
+ * independent of the connector of the dimension table.
+ *
+ * <p>The cache holds the rows of at most {@code maxSize} lookup keys and evicts the least recently used
+ * key when it is full. If a time-to-live is configured, the rows of a key expire once the time-to-live
+ * passed since they were loaded, so that changes of the dimension table become visible eventually.
+ *
+ * <p>The cache is thread-safe, because the async lookup join completes lookups in the threads of the
+ * lookup function. The async lookup join also synchronizes on the cache to deduplicate identical lookups
+ * that are in flight.
+ */
+public class LookupJoinCache implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** Extracts the lookup key from a row of the input of the join. */
+	private final RowDataKeySelector keySelector;
+
+	/** Copies the rows of the lookup function before they are cached. */
+	private final TypeSerializer<RowData> rowSerializer;
+
+	private final int maxSize;
+
+	/** The time-to-live of the cached rows in milliseconds, or 0 if they never expire. */
+	private final long ttlMillis;
+
+	private transient Clock clock;
+
+	private transient LRUMap<RowData, CacheEntry> entries;
+
+	private transient Counter hitCounter;
+
+	private transient Counter missCounter;
+
+	private transient volatile long latestLoadTime;
+
+	public LookupJoinCache(
+			RowDataKeySelector keySelector,
+			TypeSerializer<RowData> rowSerializer,
+			int maxSize,
+			long ttlMillis) {
+		checkArgument(maxSize > 0, "The maximum size of the lookup cache must be positive.");
+		checkArgument(ttlMillis >= 0, "The time-to-live of the lookup cache must not be negative.");
+		this.keySelector = checkNotNull(keySelector);
+		this.rowSerializer = checkNotNull(rowSerializer);
+		this.maxSize = maxSize;
+		this.ttlMillis = ttlMillis;
+	}
+
+	public void open(MetricGroup metricGroup) {
+		open(metricGroup, SystemClock.getInstance());
+	}
+
+	@VisibleForTesting
+	void open(MetricGroup metricGroup, Clock clock) {
+		this.clock = clock;
+		this.entries = new LRUMap<>(maxSize);
+		this.hitCounter = metricGroup.counter("lookupCacheHitCount");
+		this.missCounter = metricGroup.counter("lookupCacheMissCount");
+		metricGroup.gauge("lookupCacheSize", (Gauge<Integer>) this::size);
+		metricGroup.gauge("lookupCacheLatestLoadTime", (Gauge<Long>) () -> latestLoadTime);
+	}
+
+	/**
+	 * Extracts the lookup key from the given row of the input of the join.
+	 */
+	public RowData getKey(RowData input) throws Exception {
+		return keySelector.getKey(input);
+	}
+
+	/**
+	 * Copies a row of the lookup function, which may reuse its rows.
+	 */
+	public RowData copy(RowData row) {
+		return rowSerializer.copy(row);
+	}
+
+	/**
+	 * Returns the cached rows of the given key, or {@code null} if the rows of the key are not cached or
+	 * expired.
+	 */
+	@Nullable
+	public synchronized List<RowData> getIfPresent(RowData key) {
+		final CacheEntry entry = entries.get(key);
+		if (entry != null && (ttlMillis == 0 || clock.relativeTimeMillis() < entry.expirationTime)) {
+			hitCounter.inc();
+			return entry.rows;
+		}
+		if (entry != null) {
+			entries.remove(key);
+		}
+		missCounter.inc();
+		return null;
+	}
+
+	/**
+	 * Caches the rows that were loaded for the given key. The rows must have been copied through
+	 * {@link #copy(RowData)}.
+	 *
+	 * @return The cached rows.
+	 */
+	public synchronized List<RowData> put(RowData key, Collection<RowData> rows, long loadTimeMillis) {
+		final List<RowData> cachedRows = rows.isEmpty() ?
+			Collections.emptyList() :
+			Collections.unmodifiableList(new ArrayList<>(rows));
+		entries.put(key, new CacheEntry(cachedRows, clock.relativeTimeMillis() + ttlMillis));
+		latestLoadTime = loadTimeMillis;
+		return cachedRows;
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	@VisibleForTesting
+	public long getHitCount() {
+		return hitCounter.getCount();
+	}
+
+	@VisibleForTesting
+	public long getMissCount() {
+		return missCounter.getCount();
+	}
+
+	// ------------------------------------------------------------------------
+
+	/** The cached rows of a key. */
+	private static final class CacheEntry {
+
+		private final List<RowData> rows;
+
+		private final long expirationTime;
+
+		private CacheEntry(List<RowData> rows, long expirationTime) {
+			this.rows = rows;
+			this.expirationTime = expirationTime;
+		}
+	}
+}
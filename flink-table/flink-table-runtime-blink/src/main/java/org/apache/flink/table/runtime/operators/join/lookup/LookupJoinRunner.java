@@ -30,6 +30,11 @@ import org.apache.flink.table.runtime.generated.GeneratedCollector;
 import org.apache.flink.table.runtime.generated.GeneratedFunction;
 import org.apache.flink.util.Collector;
 
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * The join runner to lookup the dimension table.
  */
@@ -41,10 +46,14 @@ public class LookupJoinRunner extends ProcessFunction<RowData, RowData> {
 	private final boolean isLeftOuterJoin;
 	private final int tableFieldsCount;
 
+	@Nullable
+	private LookupJoinCache cache;
+
 	private transient FlatMapFunction<RowData, RowData> fetcher;
 	protected transient TableFunctionCollector<RowData> collector;
 	private transient GenericRowData nullRow;
 	private transient JoinedRowData outRow;
+	private transient CachingCollector cachingCollector;
 
 	public LookupJoinRunner(
 			GeneratedFunction<FlatMapFunction<RowData, RowData>> generatedFetcher,
@@ -57,6 +66,14 @@ public class LookupJoinRunner extends ProcessFunction<RowData, RowData> {
 		this.tableFieldsCount = tableFieldsCount;
 	}
 
+	/**
+	 * Caches the rows that the lookup function returns for a lookup key in the given cache, rather than
+	 * calling the lookup function for every input row.
+	 */
+	public void setCache(@Nullable LookupJoinCache cache) {
+		this.cache = cache;
+	}
+
 	@Override
 	public void open(Configuration parameters) throws Exception {
 		super.open(parameters);
@@ -70,6 +87,11 @@ public class LookupJoinRunner extends ProcessFunction<RowData, RowData> {
 
 		this.nullRow = new GenericRowData(tableFieldsCount);
 		this.outRow = new JoinedRowData();
+
+		if (cache != null) {
+			cache.open(getRuntimeContext().getMetricGroup());
+			this.cachingCollector = new CachingCollector(cache);
+		}
 	}
 
 	@Override
@@ -78,8 +100,12 @@ public class LookupJoinRunner extends ProcessFunction<RowData, RowData> {
 		collector.setInput(in);
 		collector.reset();
 
-		// fetcher has copied the input field when object reuse is enabled
-		fetcher.flatMap(in, getFetcherCollector());
+		if (cache == null) {
+			// fetcher has copied the input field when object reuse is enabled
+			fetcher.flatMap(in, getFetcherCollector());
+		} else {
+			lookupWithCache(in);
+		}
 
 		if (isLeftOuterJoin && !collector.isCollected()) {
 			outRow.replace(in, nullRow);
@@ -88,6 +114,22 @@ public class LookupJoinRunner extends ProcessFunction<RowData, RowData> {
 		}
 	}
 
+	private void lookupWithCache(RowData in) throws Exception {
+		final RowData key = cache.getKey(in);
+		List<RowData> rows = cache.getIfPresent(key);
+		if (rows == null) {
+			final long start = System.currentTimeMillis();
+			cachingCollector.reset();
+			fetcher.flatMap(in, cachingCollector);
+			rows = cache.put(key, cachingCollector.rows, System.currentTimeMillis() - start);
+		}
+
+		final Collector<RowData> fetcherCollector = getFetcherCollector();
+		for (RowData row : rows) {
+			fetcherCollector.collect(row);
+		}
+	}
+
 	public Collector<RowData> getFetcherCollector() {
 		return collector;
 	}
@@ -102,4 +144,31 @@ public class LookupJoinRunner extends ProcessFunction<RowData, RowData> {
 			FunctionUtils.closeFunction(collector);
 		}
 	}
+
+	/**
+	 * Collects copies of the rows of the lookup function, which may reuse its rows, so that they can be cached.
+	 */
+	private static final class CachingCollector implements Collector<RowData> {
+
+		private final LookupJoinCache cache;
+
+		private List<RowData> rows;
+
+		private CachingCollector(LookupJoinCache cache) {
+			this.cache = cache;
+		}
+
+		void reset() {
+			rows = new ArrayList<>();
+		}
+
+		@Override
+		public void collect(RowData record) {
+			rows.add(cache.copy(record));
+		}
+
+		@Override
+		public void close() {
+		}
+	}
 }
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.partitionpruning;
+
+import org.apache.flink.api.common.io.InputFormat;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.core.io.InputSplit;
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.streaming.api.operators.BoundedOneInput;
+import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.table.connector.source.abilities.SupportsDynamicPartitionPruning.PartitionInputFormatFactory;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.conversion.DataStructureConverter;
+import org.apache.flink.table.data.conversion.DataStructureConverters;
+import org.apache.flink.table.filesystem.RowPartitionComputer;
+import org.apache.flink.table.runtime.operators.TableStreamOperator;
+import org.apache.flink.table.runtime.typeutils.InternalSerializers;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.utils.TypeConversions;
+import org.apache.flink.util.InstantiationUtil;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Operator that prunes the partitions of a source by the join keys of the build side of a join, and
+ * creates the input splits of the remaining partitions.
+ *
+ * <p>The operator runs with a parallelism of one. It receives the distinct join keys from the
+ * {@link PartitionValueCollectorOperator PartitionValueCollectorOperators} as rows with a single field.
+ * When its input ends, it keeps the partitions whose value of the partition key is one of the join keys,
+ * creates an input format for those partitions through the {@link PartitionInputFormatFactory} of the
+ * source and emits the serialized input splits of that format, which are read by the
+ * {@link PartitionSplitReaderOperator PartitionSplitReaderOperators}.
+ */
+public class DynamicPartitionPruningOperator extends TableStreamOperator<byte[]>
+		implements OneInputStreamOperator<RowData, byte[]>, BoundedOneInput {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final Logger LOG = LoggerFactory.getLogger(DynamicPartitionPruningOperator.class);
+
+	public static final String NUM_PRUNED_PARTITIONS_METRIC_NAME = "numPrunedPartitions";
+
+	private final PartitionInputFormatFactory inputFormatFactory;
+	private final String partitionKey;
+	private final LogicalType partitionKeyType;
+	private final int minNumSplits;
+
+	private transient RowData.FieldGetter keyGetter;
+	private transient TypeSerializer<Object> keySerializer;
+	private transient Set<Object> keys;
+	private transient Counter numPrunedPartitions;
+
+	public DynamicPartitionPruningOperator(
+			PartitionInputFormatFactory inputFormatFactory,
+			String partitionKey,
+			LogicalType partitionKeyType,
+			int minNumSplits) {
+		checkArgument(minNumSplits > 0);
+		this.inputFormatFactory = checkNotNull(inputFormatFactory);
+		this.partitionKey = checkNotNull(partitionKey);
+		this.partitionKeyType = checkNotNull(partitionKeyType);
+		this.minNumSplits = minNumSplits;
+	}
+
+	@Override
+	public void open() throws Exception {
+		super.open();
+		this.keyGetter = RowData.createFieldGetter(partitionKeyType, 0);
+		this.keySerializer = InternalSerializers.create(partitionKeyType);
+		this.keys = new HashSet<>();
+		this.numPrunedPartitions = getMetricGroup().counter(NUM_PRUNED_PARTITIONS_METRIC_NAME);
+	}
+
+	@Override
+	public void processElement(StreamRecord<RowData> element) throws Exception {
+		Object key = keyGetter.getFieldOrNull(element.getValue());
+		if (key != null && !keys.contains(key)) {
+			keys.add(keySerializer.copy(key));
+		}
+	}
+
+	@Override
+	public void endInput() throws Exception {
+		List<Map<String, String>> partitions = inputFormatFactory.getPartitions();
+		List<Map<String, String>> remainingPartitions = prunePartitions(partitions);
+		numPrunedPartitions.inc(partitions.size() - remainingPartitions.size());
+		LOG.info("Dynamic partition pruning on partition key {} keeps {} of {} partitions.",
+			partitionKey, remainingPartitions.size(), partitions.size());
+		keys.clear();
+		if (remainingPartitions.isEmpty()) {
+			return;
+		}
+
+		InputFormat<RowData, ?> inputFormat = inputFormatFactory.createInputFormat(remainingPartitions);
+		inputFormat.configure(new Configuration());
+		StreamRecord<byte[]> record = new StreamRecord<>(null);
+		for (InputSplit split : inputFormat.createInputSplits(minNumSplits)) {
+			output.collect(record.replace(InstantiationUtil.serializeObject(split)));
+		}
+	}
+
+	private List<Map<String, String>> prunePartitions(List<Map<String, String>> partitions) {
+		DataStructureConverter<Object, Object> converter = DataStructureConverters.getConverter(
+			TypeConversions.fromLogicalToDataType(partitionKeyType));
+		converter.open(getUserCodeClassloader());
+
+		List<Map<String, String>> remainingPartitions = new ArrayList<>();
+		for (Map<String, String> partition : partitions) {
+			String valueString = partition.get(partitionKey);
+			Object value;
+			try {
+				value = converter.toInternalOrNull(
+					RowPartitionComputer.restorePartValueFromType(valueString, partitionKeyType));
+			} catch (RuntimeException e) {
+				// keep partitions whose value can not be compared with the join keys
+				LOG.warn("Could not convert the value {} of partition {} to type {}, not pruning the partition.",
+					valueString, partition, partitionKeyType, e);
+				remainingPartitions.add(partition);
+				continue;
+			}
+			if (value != null && keys.contains(value)) {
+				remainingPartitions.add(partition);
+			}
+		}
+		return remainingPartitions;
+	}
+}
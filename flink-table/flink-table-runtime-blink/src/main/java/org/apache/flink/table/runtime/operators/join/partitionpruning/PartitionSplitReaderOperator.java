@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.partitionpruning;
+
+import org.apache.flink.api.common.io.InputFormat;
+import org.apache.flink.api.common.io.RichInputFormat;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.core.io.InputSplit;
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.table.connector.source.abilities.SupportsDynamicPartitionPruning.PartitionInputFormatFactory;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.operators.TableStreamOperator;
+import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.util.InstantiationUtil;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Operator that reads the input splits which are created by the {@link DynamicPartitionPruningOperator}.
+ * The splits are read with an input format for all partitions of the source, which is created through
+ * the {@link PartitionInputFormatFactory} of the source.
+ */
+public class PartitionSplitReaderOperator extends TableStreamOperator<RowData>
+		implements OneInputStreamOperator<byte[], RowData> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final PartitionInputFormatFactory inputFormatFactory;
+	private final RowType outputType;
+
+	private transient InputFormat<RowData, InputSplit> inputFormat;
+	private transient RowData reuse;
+	private transient StreamRecord<RowData> outRecord;
+	private transient Counter completedSplitsCounter;
+
+	public PartitionSplitReaderOperator(PartitionInputFormatFactory inputFormatFactory, RowType outputType) {
+		this.inputFormatFactory = checkNotNull(inputFormatFactory);
+		this.outputType = checkNotNull(outputType);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void open() throws Exception {
+		super.open();
+		this.inputFormat = (InputFormat<RowData, InputSplit>) inputFormatFactory.createInputFormat(
+			inputFormatFactory.getPartitions());
+		if (inputFormat instanceof RichInputFormat) {
+			((RichInputFormat<?, ?>) inputFormat).setRuntimeContext(getRuntimeContext());
+		}
+		inputFormat.configure(new Configuration());
+		if (inputFormat instanceof RichInputFormat) {
+			((RichInputFormat<?, ?>) inputFormat).openInputFormat();
+		}
+		this.reuse = new RowDataSerializer(outputType).createInstance();
+		this.outRecord = new StreamRecord<>(null);
+		this.completedSplitsCounter = getMetricGroup().counter("numSplitsProcessed");
+	}
+
+	@Override
+	public void processElement(StreamRecord<byte[]> element) throws Exception {
+		InputSplit split = InstantiationUtil.deserializeObject(element.getValue(), getUserCodeClassloader());
+		inputFormat.open(split);
+		try {
+			while (!inputFormat.reachedEnd()) {
+				RowData row = inputFormat.nextRecord(reuse);
+				if (row == null) {
+					break;
+				}
+				output.collect(outRecord.replace(row));
+			}
+		} finally {
+			inputFormat.close();
+		}
+		completedSplitsCounter.inc();
+	}
+
+	@Override
+	public void close() throws Exception {
+		super.close();
+		if (inputFormat instanceof RichInputFormat) {
+			((RichInputFormat<?, ?>) inputFormat).closeInputFormat();
+		}
+	}
+}
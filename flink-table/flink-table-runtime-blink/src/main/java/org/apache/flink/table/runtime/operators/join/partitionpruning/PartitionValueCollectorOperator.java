@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.partitionpruning;
+
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.streaming.api.operators.BoundedOneInput;
+import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.operators.TableStreamOperator;
+import org.apache.flink.table.runtime.typeutils.InternalSerializers;
+import org.apache.flink.table.types.logical.LogicalType;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Operator that collects the distinct non-null join keys of its part of the build side of a join, and
+ * emits them as rows with a single field when its input ends. The keys of all parallel instances are
+ * collected by the {@link DynamicPartitionPruningOperator}.
+ */
+public class PartitionValueCollectorOperator extends TableStreamOperator<RowData>
+		implements OneInputStreamOperator<RowData, RowData>, BoundedOneInput {
+
+	private static final long serialVersionUID = 1L;
+
+	private final int keyIndex;
+	private final LogicalType keyType;
+
+	private transient RowData.FieldGetter keyGetter;
+	private transient TypeSerializer<Object> keySerializer;
+	private transient Set<Object> keys;
+
+	public PartitionValueCollectorOperator(int keyIndex, LogicalType keyType) {
+		this.keyIndex = keyIndex;
+		this.keyType = checkNotNull(keyType);
+	}
+
+	@Override
+	public void open() throws Exception {
+		super.open();
+		this.keyGetter = RowData.createFieldGetter(keyType, keyIndex);
+		this.keySerializer = InternalSerializers.create(keyType);
+		this.keys = new HashSet<>();
+	}
+
+	@Override
+	public void processElement(StreamRecord<RowData> element) throws Exception {
+		Object key = keyGetter.getFieldOrNull(element.getValue());
+		// null keys never match a partition, as the join filters nulls
+		if (key != null && !keys.contains(key)) {
+			// the key may point into a reused row
+			keys.add(keySerializer.copy(key));
+		}
+	}
+
+	@Override
+	public void endInput() throws Exception {
+		StreamRecord<RowData> record = new StreamRecord<>(null);
+		for (Object key : keys) {
+			output.collect(record.replace(GenericRowData.of(key)));
+		}
+		keys.clear();
+	}
+}
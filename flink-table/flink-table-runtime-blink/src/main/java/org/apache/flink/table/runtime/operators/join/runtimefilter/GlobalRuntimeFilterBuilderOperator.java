@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.runtimefilter;
+
+import org.apache.flink.streaming.api.operators.BoundedOneInput;
+import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.operators.TableStreamOperator;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Operator that merges the filters of all {@link LocalRuntimeFilterBuilderOperator}s into the filter of
+ * the whole build side, and emits it when its input ends. It must run with a parallelism of one.
+ */
+public class GlobalRuntimeFilterBuilderOperator extends TableStreamOperator<RowData>
+		implements OneInputStreamOperator<RowData, RowData>, BoundedOneInput {
+
+	private static final long serialVersionUID = 1L;
+
+	private final int expectedEntries;
+	private final int numBytes;
+
+	private transient RuntimeBloomFilter filter;
+
+	public GlobalRuntimeFilterBuilderOperator(int expectedEntries, int numBytes) {
+		checkArgument(expectedEntries > 0 && numBytes > 0);
+		this.expectedEntries = expectedEntries;
+		this.numBytes = numBytes;
+	}
+
+	@Override
+	public void open() throws Exception {
+		super.open();
+		this.filter = RuntimeBloomFilter.create(expectedEntries, numBytes);
+	}
+
+	@Override
+	public void processElement(StreamRecord<RowData> element) throws Exception {
+		filter.merge(RuntimeBloomFilter.fromBytes(expectedEntries, element.getValue().getBinary(0)));
+	}
+
+	@Override
+	public void endInput() throws Exception {
+		output.collect(new StreamRecord<>(GenericRowData.of((Object) filter.getBytes())));
+	}
+}
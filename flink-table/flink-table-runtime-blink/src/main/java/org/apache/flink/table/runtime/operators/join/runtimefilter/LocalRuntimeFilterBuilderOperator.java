@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.runtimefilter;
+
+import org.apache.flink.streaming.api.operators.BoundedOneInput;
+import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.runtime.generated.GeneratedProjection;
+import org.apache.flink.table.runtime.generated.Projection;
+import org.apache.flink.table.runtime.operators.TableStreamOperator;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Operator that adds the join keys of its part of the build side of a hash join to a
+ * {@link RuntimeBloomFilter}, and emits the filter as a single row with one binary field when its
+ * input ends. The filters of all parallel instances are merged by the
+ * {@link GlobalRuntimeFilterBuilderOperator}.
+ */
+public class LocalRuntimeFilterBuilderOperator extends TableStreamOperator<RowData>
+		implements OneInputStreamOperator<RowData, RowData>, BoundedOneInput {
+
+	private static final long serialVersionUID = 1L;
+
+	private GeneratedProjection keyProjectionCode;
+	private final int expectedEntries;
+	private final int numBytes;
+
+	private transient Projection<RowData, BinaryRowData> keyProjection;
+	private transient RuntimeBloomFilter filter;
+
+	public LocalRuntimeFilterBuilderOperator(
+			GeneratedProjection keyProjectionCode,
+			int expectedEntries,
+			int numBytes) {
+		checkArgument(expectedEntries > 0 && numBytes > 0);
+		this.keyProjectionCode = keyProjectionCode;
+		this.expectedEntries = expectedEntries;
+		this.numBytes = numBytes;
+	}
+
+	@Override
+	public void open() throws Exception {
+		super.open();
+		this.keyProjection = keyProjectionCode.newInstance(getUserCodeClassloader());
+		this.filter = RuntimeBloomFilter.create(expectedEntries, numBytes);
+		keyProjectionCode = null;
+	}
+
+	@Override
+	public void processElement(StreamRecord<RowData> element) throws Exception {
+		filter.addHash(keyProjection.apply(element.getValue()).hashCode());
+	}
+
+	@Override
+	public void endInput() throws Exception {
+		output.collect(new StreamRecord<>(GenericRowData.of((Object) filter.getBytes())));
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.runtimefilter;
+
+import org.apache.flink.core.memory.MemorySegmentFactory;
+import org.apache.flink.runtime.operators.util.BloomFilter;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A bloom filter over the join keys of the build side of a hash join. The filter is backed by a byte
+ * array, so that it can be shipped to the probe side as a single binary field, and filters that were
+ * built from different parts of the build side can be merged.
+ *
+ * <p>Filters can only be merged and tested against each other if they were created with the same
+ * number of expected entries and the same size, which determine the number of hash functions.
+ */
+public final class RuntimeBloomFilter {
+
+	private final int expectedEntries;
+
+	private final byte[] bytes;
+
+	private final BloomFilter filter;
+
+	private RuntimeBloomFilter(int expectedEntries, byte[] bytes) {
+		checkArgument(bytes.length > 0, "The filter must not be empty.");
+		this.expectedEntries = expectedEntries;
+		this.bytes = bytes;
+		this.filter = new BloomFilter(expectedEntries, bytes.length);
+		filter.setBitsLocation(MemorySegmentFactory.wrap(bytes), 0);
+	}
+
+	/**
+	 * Creates an empty filter of the given size.
+	 */
+	public static RuntimeBloomFilter create(int expectedEntries, int numBytes) {
+		return new RuntimeBloomFilter(expectedEntries, new byte[numBytes]);
+	}
+
+	/**
+	 * Creates a filter on top of the bytes of a filter that was created with the same number of expected entries.
+	 */
+	public static RuntimeBloomFilter fromBytes(int expectedEntries, byte[] bytes) {
+		return new RuntimeBloomFilter(expectedEntries, checkNotNull(bytes));
+	}
+
+	/**
+	 * Computes the size in bytes of a filter for the given number of entries and false positive probability.
+	 */
+	public static int optimalNumBytes(long expectedEntries, double fpp) {
+		return Math.max(1, (BloomFilter.optimalNumOfBits(expectedEntries, fpp) + 7) / 8);
+	}
+
+	public void addHash(int hash) {
+		filter.addHash(hash);
+	}
+
+	/**
+	 * Returns false if no key with the given hash was added to the filter, true if it may have been added.
+	 */
+	public boolean mightContainHash(int hash) {
+		return filter.testHash(hash);
+	}
+
+	/**
+	 * Adds all keys of the given filter to this filter.
+	 */
+	public void merge(RuntimeBloomFilter other) {
+		checkArgument(
+			expectedEntries == other.expectedEntries && bytes.length == other.bytes.length,
+			"Only filters of the same size can be merged.");
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] |= other.bytes[i];
+		}
+	}
+
+	/**
+	 * Returns the bytes that back this filter. Changes of the filter are reflected in the returned array.
+	 */
+	public byte[] getBytes() {
+		return bytes;
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.runtimefilter;
+
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.streaming.api.operators.BoundedMultiInput;
+import org.apache.flink.streaming.api.operators.InputSelectable;
+import org.apache.flink.streaming.api.operators.InputSelection;
+import org.apache.flink.streaming.api.operators.TwoInputStreamOperator;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.runtime.generated.GeneratedProjection;
+import org.apache.flink.table.runtime.generated.Projection;
+import org.apache.flink.table.runtime.operators.TableStreamOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkState;
+
+/**
+ * Operator that drops the rows of the probe side of a hash join whose join keys are not contained in the
+ * {@link RuntimeBloomFilter} of the build side, before the probe side is shuffled to the join.
+ *
+ * <p>The first input is the filter, which is built by the {@link GlobalRuntimeFilterBuilderOperator} and
+ * broadcast to all parallel instances. The second input is the probe side, which is only read once the
+ * filter has been received.
+ */
+public class RuntimeFilterOperator extends TableStreamOperator<RowData>
+		implements TwoInputStreamOperator<RowData, RowData, RowData>, BoundedMultiInput, InputSelectable {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final Logger LOG = LoggerFactory.getLogger(RuntimeFilterOperator.class);
+
+	private GeneratedProjection keyProjectionCode;
+	private final int expectedEntries;
+
+	private transient Projection<RowData, BinaryRowData> keyProjection;
+	private transient RuntimeBloomFilter filter;
+	private transient boolean filterEnd;
+	private transient Counter numFilteredRecords;
+
+	public RuntimeFilterOperator(GeneratedProjection keyProjectionCode, int expectedEntries) {
+		checkArgument(expectedEntries > 0);
+		this.keyProjectionCode = keyProjectionCode;
+		this.expectedEntries = expectedEntries;
+	}
+
+	@Override
+	public void open() throws Exception {
+		super.open();
+		this.keyProjection = keyProjectionCode.newInstance(getUserCodeClassloader());
+		this.numFilteredRecords = getMetricGroup().counter("numRuntimeFilteredRecords");
+		this.filterEnd = false;
+		keyProjectionCode = null;
+	}
+
+	@Override
+	public void processElement1(StreamRecord<RowData> element) throws Exception {
+		checkState(!filterEnd, "The filter input has already ended.");
+		checkState(filter == null, "The filter must only be received once.");
+		filter = RuntimeBloomFilter.fromBytes(expectedEntries, element.getValue().getBinary(0));
+	}
+
+	@Override
+	public void processElement2(StreamRecord<RowData> element) throws Exception {
+		checkState(filterEnd, "The filter input has not ended yet.");
+		if (filter == null || filter.mightContainHash(keyProjection.apply(element.getValue()).hashCode())) {
+			output.collect(element);
+		} else {
+			numFilteredRecords.inc();
+		}
+	}
+
+	@Override
+	public InputSelection nextSelection() {
+		return filterEnd ? InputSelection.SECOND : InputSelection.FIRST;
+	}
+
+	@Override
+	public void endInput(int inputId) throws Exception {
+		if (inputId == 1) {
+			filterEnd = true;
+			if (filter == null) {
+				LOG.warn("Received no runtime filter, all probe rows are forwarded.");
+			}
+		} else {
+			LOG.info("Dropped {} probe rows with the runtime filter.", numFilteredRecords.getCount());
+		}
+	}
+}
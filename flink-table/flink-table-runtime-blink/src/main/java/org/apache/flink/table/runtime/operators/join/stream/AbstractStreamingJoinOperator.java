@@ -77,6 +77,11 @@ public abstract class AbstractStreamingJoinOperator extends AbstractStreamOperat
 
 	protected final long minRetentionTime;
 
+	/**
+	 * Whether to store the records of an input without unique key under a row id.
+	 */
+	protected final boolean compactRecordState;
+
 	protected transient JoinConditionWithNullFilters joinCondition;
 	protected transient TimestampedCollector<RowData> collector;
 
@@ -87,13 +92,15 @@ public abstract class AbstractStreamingJoinOperator extends AbstractStreamOperat
 			JoinInputSideSpec leftInputSideSpec,
 			JoinInputSideSpec rightInputSideSpec,
 			boolean[] filterNullKeys,
-			long minRetentionTime) {
+			long minRetentionTime,
+			boolean compactRecordState) {
 		this.leftType = leftType;
 		this.rightType = rightType;
 		this.generatedJoinCondition = generatedJoinCondition;
 		this.leftInputSideSpec = leftInputSideSpec;
 		this.rightInputSideSpec = rightInputSideSpec;
 		this.minRetentionTime = minRetentionTime;
+		this.compactRecordState = compactRecordState;
 		this.nullFilterKeys = NullAwareJoinHelper.getNullFilterKeys(filterNullKeys);
 		this.nullSafe = nullFilterKeys.length == 0;
 		this.filterAllNulls = nullFilterKeys.length == filterNullKeys.length;
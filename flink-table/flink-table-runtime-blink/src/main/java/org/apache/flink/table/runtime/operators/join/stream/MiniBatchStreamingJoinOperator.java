@@ -0,0 +1,241 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.stream;
+
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.generated.GeneratedJoinCondition;
+import org.apache.flink.table.runtime.operators.bundle.trigger.BundleTriggerCallback;
+import org.apache.flink.table.runtime.operators.bundle.trigger.CoBundleTrigger;
+import org.apache.flink.table.runtime.operators.join.stream.state.JoinInputSideSpec;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
+import org.apache.flink.types.RowKind;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Streaming unbounded Join operator which buffers the input records of both sides in a bundle
+ * before joining them, see {@link StreamingJoinOperator} for the join logic.
+ *
+ * <p>The records are buffered per join key in the order they arrived. When the bundle is finished,
+ * an accumulate record and a later retract record of the same row on the same side cancel each
+ * other out (e.g. +I[a] followed by -D[a]) and are dropped without touching the state. The
+ * remaining records of a key are joined one after another, so the state key is only switched once
+ * per key and bundle, and the result is the same as joining the records one by one.
+ *
+ * <p>NOTES: the bundle lives on the heap, and if all records in a bundle have different keys and
+ * don't cancel out, the operator will only increase the memory footprint.
+ */
+public class MiniBatchStreamingJoinOperator extends StreamingJoinOperator implements BundleTriggerCallback {
+
+	private static final long serialVersionUID = 3150946421588516237L;
+
+	/** The trigger that determines how many records should be put into a bundle. */
+	private final CoBundleTrigger<RowData, RowData> coBundleTrigger;
+
+	private transient RowDataSerializer leftSerializer;
+	private transient RowDataSerializer rightSerializer;
+
+	/** The buffered records of the current bundle, in arrival order per join key. */
+	private transient Map<RowData, List<BufferedRecord>> bundle;
+
+	/** Positions of the accumulate records of a key which a later retraction may cancel out. */
+	private transient Map<RowData, ArrayDeque<Integer>> leftAccumulates;
+	private transient Map<RowData, ArrayDeque<Integer>> rightAccumulates;
+
+	private transient StreamRecord<RowData> reuse;
+
+	private transient int numOfElements = 0;
+
+	public MiniBatchStreamingJoinOperator(
+			InternalTypeInfo<RowData> leftType,
+			InternalTypeInfo<RowData> rightType,
+			GeneratedJoinCondition generatedJoinCondition,
+			JoinInputSideSpec leftInputSideSpec,
+			JoinInputSideSpec rightInputSideSpec,
+			boolean leftIsOuter,
+			boolean rightIsOuter,
+			boolean[] filterNullKeys,
+			long minRetentionTime,
+			boolean compactRecordState,
+			CoBundleTrigger<RowData, RowData> coBundleTrigger) {
+		super(
+			leftType,
+			rightType,
+			generatedJoinCondition,
+			leftInputSideSpec,
+			rightInputSideSpec,
+			leftIsOuter,
+			rightIsOuter,
+			filterNullKeys,
+			minRetentionTime,
+			compactRecordState);
+		this.coBundleTrigger = checkNotNull(coBundleTrigger, "coBundleTrigger is null");
+	}
+
+	@Override
+	public void open() throws Exception {
+		super.open();
+
+		this.leftSerializer = leftType.toRowSerializer();
+		this.rightSerializer = rightType.toRowSerializer();
+		this.bundle = new LinkedHashMap<>();
+		this.leftAccumulates = new HashMap<>();
+		this.rightAccumulates = new HashMap<>();
+		this.reuse = new StreamRecord<>(null);
+		this.numOfElements = 0;
+
+		coBundleTrigger.registerCallback(this);
+		// reset trigger
+		coBundleTrigger.reset();
+		LOG.info("MiniBatchStreamingJoinOperator's trigger info: " + coBundleTrigger.explain());
+
+		// counter metric to get the size of bundle
+		getRuntimeContext().getMetricGroup().gauge("bundleSize", (Gauge<Integer>) () -> numOfElements);
+		getRuntimeContext().getMetricGroup().gauge("bundleRatio", (Gauge<Double>) () -> {
+			int numOfKeys = bundle.size();
+			if (numOfKeys == 0) {
+				return 0.0;
+			} else {
+				return 1.0 * numOfElements / numOfKeys;
+			}
+		});
+	}
+
+	@Override
+	public void processElement1(StreamRecord<RowData> element) throws Exception {
+		RowData input = element.getValue();
+		addToBundle(input, leftSerializer, true);
+		coBundleTrigger.onElement1(input);
+	}
+
+	@Override
+	public void processElement2(StreamRecord<RowData> element) throws Exception {
+		RowData input = element.getValue();
+		addToBundle(input, rightSerializer, false);
+		coBundleTrigger.onElement2(input);
+	}
+
+	private void addToBundle(RowData input, RowDataSerializer serializer, boolean isLeft) {
+		RowKind rowKind = input.getRowKind();
+		// input row maybe reused, we need deep copy here
+		RowData record = serializer.toBinaryRow(input).copy();
+		// erase RowKind, so that an accumulate and a retract message of the same row are equal
+		record.setRowKind(RowKind.INSERT);
+		bundle.computeIfAbsent((RowData) getCurrentKey(), k -> new ArrayList<>())
+			.add(new BufferedRecord(record, rowKind, isLeft));
+		numOfElements++;
+	}
+
+	@Override
+	public void finishBundle() throws Exception {
+		if (!bundle.isEmpty()) {
+			numOfElements = 0;
+			for (Map.Entry<RowData, List<BufferedRecord>> entry : bundle.entrySet()) {
+				List<BufferedRecord> records = entry.getValue();
+				if (records.size() > 1) {
+					foldCancellingRecords(records);
+				}
+				setCurrentKey(entry.getKey());
+				for (BufferedRecord buffered : records) {
+					if (buffered == null) {
+						continue;
+					}
+					buffered.record.setRowKind(buffered.rowKind);
+					if (buffered.isLeft) {
+						super.processElement1(reuse.replace(buffered.record));
+					} else {
+						super.processElement2(reuse.replace(buffered.record));
+					}
+				}
+			}
+			bundle.clear();
+		}
+		coBundleTrigger.reset();
+	}
+
+	/**
+	 * Drops every retract record of the given records together with the latest earlier accumulate
+	 * record of the same row on the same side, by setting both positions to null.
+	 */
+	private void foldCancellingRecords(List<BufferedRecord> records) {
+		for (int i = 0; i < records.size(); i++) {
+			BufferedRecord buffered = records.get(i);
+			Map<RowData, ArrayDeque<Integer>> accumulates = buffered.isLeft ? leftAccumulates : rightAccumulates;
+			if (buffered.rowKind == RowKind.INSERT || buffered.rowKind == RowKind.UPDATE_AFTER) {
+				accumulates.computeIfAbsent(buffered.record, k -> new ArrayDeque<>()).push(i);
+			} else {
+				ArrayDeque<Integer> positions = accumulates.get(buffered.record);
+				if (positions != null && !positions.isEmpty()) {
+					records.set(positions.pop(), null);
+					records.set(i, null);
+				}
+			}
+		}
+		leftAccumulates.clear();
+		rightAccumulates.clear();
+	}
+
+	@Override
+	public void processWatermark(Watermark mark) throws Exception {
+		finishBundle();
+		super.processWatermark(mark);
+	}
+
+	@Override
+	public void prepareSnapshotPreBarrier(long checkpointId) throws Exception {
+		finishBundle();
+	}
+
+	@Override
+	public void close() throws Exception {
+		try {
+			if (bundle != null) {
+				finishBundle();
+			}
+		} finally {
+			super.close();
+		}
+	}
+
+	/**
+	 * A buffered input record together with its original {@link RowKind} and input side.
+	 */
+	private static final class BufferedRecord {
+		private final RowData record;
+		private final RowKind rowKind;
+		private final boolean isLeft;
+
+		private BufferedRecord(RowData record, RowKind rowKind, boolean isLeft) {
+			this.record = record;
+			this.rowKind = rowKind;
+			this.isLeft = isLeft;
+		}
+	}
+}
@@ -62,8 +62,17 @@ public class StreamingJoinOperator extends AbstractStreamingJoinOperator {
 			boolean leftIsOuter,
 			boolean rightIsOuter,
 			boolean[] filterNullKeys,
-			long minRetentionTime) {
-		super(leftType, rightType, generatedJoinCondition, leftInputSideSpec, rightInputSideSpec, filterNullKeys, minRetentionTime);
+			long minRetentionTime,
+			boolean compactRecordState) {
+		super(
+			leftType,
+			rightType,
+			generatedJoinCondition,
+			leftInputSideSpec,
+			rightInputSideSpec,
+			filterNullKeys,
+			minRetentionTime,
+			compactRecordState);
 		this.leftIsOuter = leftIsOuter;
 		this.rightIsOuter = rightIsOuter;
 	}
@@ -90,7 +99,8 @@ public class StreamingJoinOperator extends AbstractStreamingJoinOperator {
 				"left-records",
 				leftInputSideSpec,
 				leftType,
-				minRetentionTime);
+				minRetentionTime,
+				compactRecordState);
 		}
 
 		if (rightIsOuter) {
@@ -106,7 +116,8 @@ public class StreamingJoinOperator extends AbstractStreamingJoinOperator {
 				"right-records",
 				rightInputSideSpec,
 				rightType,
-				minRetentionTime);
+				minRetentionTime,
+				compactRecordState);
 		}
 	}
 
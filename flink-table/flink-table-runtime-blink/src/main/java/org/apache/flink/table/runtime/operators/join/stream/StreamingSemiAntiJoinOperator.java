@@ -53,8 +53,17 @@ public class StreamingSemiAntiJoinOperator extends AbstractStreamingJoinOperator
 			JoinInputSideSpec leftInputSideSpec,
 			JoinInputSideSpec rightInputSideSpec,
 			boolean[] filterNullKeys,
-			long minRetentionTime) {
-		super(leftType, rightType, generatedJoinCondition, leftInputSideSpec, rightInputSideSpec, filterNullKeys, minRetentionTime);
+			long minRetentionTime,
+			boolean compactRecordState) {
+		super(
+			leftType,
+			rightType,
+			generatedJoinCondition,
+			leftInputSideSpec,
+			rightInputSideSpec,
+			filterNullKeys,
+			minRetentionTime,
+			compactRecordState);
 		this.isAntiJoin = isAntiJoin;
 	}
 
@@ -74,7 +83,8 @@ public class StreamingSemiAntiJoinOperator extends AbstractStreamingJoinOperator
 			RIGHT_RECORDS_STATE_NAME,
 			rightInputSideSpec,
 			rightType,
-			minRetentionTime);
+			minRetentionTime,
+			compactRecordState);
 	}
 
 	/**
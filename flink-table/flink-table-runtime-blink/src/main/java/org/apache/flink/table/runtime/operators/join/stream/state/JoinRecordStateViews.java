@@ -19,6 +19,8 @@
 package org.apache.flink.table.runtime.operators.join.stream.state;
 
 import org.apache.flink.api.common.functions.RuntimeContext;
+import org.apache.flink.api.common.state.ListState;
+import org.apache.flink.api.common.state.ListStateDescriptor;
 import org.apache.flink.api.common.state.MapState;
 import org.apache.flink.api.common.state.MapStateDescriptor;
 import org.apache.flink.api.common.state.StateTtlConfig;
@@ -26,11 +28,16 @@ import org.apache.flink.api.common.state.ValueState;
 import org.apache.flink.api.common.state.ValueStateDescriptor;
 import org.apache.flink.api.common.typeinfo.Types;
 import org.apache.flink.api.java.functions.KeySelector;
+import org.apache.flink.api.java.tuple.Tuple2;
 import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.binary.BinaryRowData;
 import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
 import org.apache.flink.util.IterableIterator;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -45,13 +52,17 @@ public final class JoinRecordStateViews {
 
 	/**
 	 * Creates a {@link JoinRecordStateView} depends on {@link JoinInputSideSpec}.
+	 *
+	 * @param compactRecordState whether to store the records of an input without unique key
+	 *                           under a row id instead of using the whole record as state key
 	 */
 	public static JoinRecordStateView create(
 			RuntimeContext ctx,
 			String stateName,
 			JoinInputSideSpec inputSideSpec,
 			InternalTypeInfo<RowData> recordType,
-			long retentionTime) {
+			long retentionTime,
+			boolean compactRecordState) {
 		StateTtlConfig ttlConfig = createTtlConfig(retentionTime);
 		if (inputSideSpec.hasUniqueKey()) {
 			if (inputSideSpec.joinKeyContainsUniqueKey()) {
@@ -65,6 +76,8 @@ public final class JoinRecordStateViews {
 					inputSideSpec.getUniqueKeySelector(),
 					ttlConfig);
 			}
+		} else if (compactRecordState) {
+			return new InputSideHasNoUniqueKeyWithRowId(ctx, stateName, recordType, ttlConfig);
 		} else {
 			return new InputSideHasNoUniqueKey(ctx, stateName, recordType, ttlConfig);
 		}
@@ -235,4 +248,130 @@ public final class JoinRecordStateViews {
 			};
 		}
 	}
+
+	/**
+	 * Stores the records of an input without unique key under a row id, which is unique for the
+	 * current join key, instead of using the whole record as state key. Retracted records are not
+	 * looked up when they are retracted, but are removed together with all other pending
+	 * retractions the next time the records are read, which requires to read all of them anyway.
+	 *
+	 * <p>A retraction takes the next row id as well and only removes a record that was added
+	 * before it, i.e. that has a smaller row id. Retractions of records that are not in the state
+	 * any more, e.g. because the state expired, are therefore ignored and do not remove records
+	 * that are added after the retraction.
+	 */
+	private static final class InputSideHasNoUniqueKeyWithRowId implements JoinRecordStateView {
+
+		// stores record in the mapping <row id, Record>
+		private final MapState<Long, RowData> recordState;
+		// the next row id of the current join key
+		private final ValueState<Long> nextRowIdState;
+		// the retracted records that are not removed from the record state yet, with their row ids
+		private final ListState<Tuple2<Long, RowData>> retractionState;
+
+		private final RowDataSerializer recordSerializer;
+		private final Map<BinaryRowData, RetractedRecord> reusedRetractions = new HashMap<>();
+
+		private InputSideHasNoUniqueKeyWithRowId(
+				RuntimeContext ctx,
+				String stateName,
+				InternalTypeInfo<RowData> recordType,
+				StateTtlConfig ttlConfig) {
+			MapStateDescriptor<Long, RowData> recordStateDesc = new MapStateDescriptor<>(
+				stateName,
+				Types.LONG,
+				recordType);
+			ValueStateDescriptor<Long> nextRowIdStateDesc = new ValueStateDescriptor<>(
+				stateName + "-next-row-id",
+				Types.LONG);
+			ListStateDescriptor<Tuple2<Long, RowData>> retractionStateDesc = new ListStateDescriptor<>(
+				stateName + "-retractions",
+				Types.TUPLE(Types.LONG, recordType));
+			if (ttlConfig.isEnabled()) {
+				recordStateDesc.enableTimeToLive(ttlConfig);
+				nextRowIdStateDesc.enableTimeToLive(ttlConfig);
+				retractionStateDesc.enableTimeToLive(ttlConfig);
+			}
+			this.recordState = ctx.getMapState(recordStateDesc);
+			this.nextRowIdState = ctx.getState(nextRowIdStateDesc);
+			this.retractionState = ctx.getListState(retractionStateDesc);
+			this.recordSerializer = new RowDataSerializer(recordType.toRowType());
+		}
+
+		@Override
+		public void addRecord(RowData record) throws Exception {
+			Long rowId = nextRowIdState.value();
+			if (rowId == null) {
+				rowId = 0L;
+			}
+			recordState.put(rowId, record);
+			nextRowIdState.update(rowId + 1);
+		}
+
+		@Override
+		public void retractRecord(RowData record) throws Exception {
+			Long rowId = nextRowIdState.value();
+			if (rowId == null) {
+				// ignore the retraction, which means state may be expired
+				return;
+			}
+			retractionState.add(Tuple2.of(rowId, record));
+			// this also keeps the row ids from starting over while the retraction is pending
+			nextRowIdState.update(rowId + 1);
+		}
+
+		@Override
+		public Iterable<RowData> getRecords() throws Exception {
+			removeRetractedRecords();
+			return recordState.values();
+		}
+
+		private void removeRetractedRecords() throws Exception {
+			Iterable<Tuple2<Long, RowData>> retractions = retractionState.get();
+			if (retractions == null) {
+				return;
+			}
+			for (Tuple2<Long, RowData> retraction : retractions) {
+				BinaryRowData binaryRetraction = recordSerializer.toBinaryRow(retraction.f1).copy();
+				reusedRetractions
+					.computeIfAbsent(binaryRetraction, k -> new RetractedRecord())
+					.retractionRowIds.add(retraction.f0);
+			}
+			if (reusedRetractions.isEmpty()) {
+				return;
+			}
+
+			for (Map.Entry<Long, RowData> entry : recordState.entries()) {
+				RetractedRecord retracted = reusedRetractions.get(recordSerializer.toBinaryRow(entry.getValue()));
+				if (retracted != null) {
+					retracted.recordRowIds.add(entry.getKey());
+				}
+			}
+
+			for (RetractedRecord retracted : reusedRetractions.values()) {
+				// the retractions are in the order of their row ids, every retraction removes the oldest
+				// remaining record that was added before it
+				Collections.sort(retracted.recordRowIds);
+				int numRemoved = 0;
+				for (long retractionRowId : retracted.retractionRowIds) {
+					if (numRemoved < retracted.recordRowIds.size() &&
+							retracted.recordRowIds.get(numRemoved) < retractionRowId) {
+						recordState.remove(retracted.recordRowIds.get(numRemoved));
+						numRemoved++;
+					}
+					// ignore the retraction otherwise, which means state may be expired
+				}
+			}
+			reusedRetractions.clear();
+			retractionState.clear();
+		}
+	}
+
+	/**
+	 * The row ids of the pending retractions of a record and of the stored copies of the record.
+	 */
+	private static final class RetractedRecord {
+		private final List<Long> retractionRowIds = new ArrayList<>();
+		private final List<Long> recordRowIds = new ArrayList<>();
+	}
 }
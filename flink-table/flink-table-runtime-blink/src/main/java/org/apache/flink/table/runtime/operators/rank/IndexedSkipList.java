@@ -0,0 +1,317 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.rank;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * IndexedSkipList stores mapping from sort key to the number of records with that sort key, in
+ * the order of the sort keys. Besides looking up a sort key, it finds the number of records before
+ * a sort key and the sort key of the record at a given rank in logarithmic time.
+ *
+ * <p>Every link of the skip list stores the number of records it skips, so that a lookup can sum
+ * up the records on its way down instead of visiting every sort key before the target.
+ */
+class IndexedSkipList<K> {
+
+	private static final int MAX_LEVEL = 32;
+
+	private final Comparator<K> comparator;
+	private final Node<K> head;
+
+	// the number of levels in use, the head has links on all levels
+	private int level = 1;
+	private int size = 0;
+	private long totalCount = 0L;
+
+	IndexedSkipList(Comparator<K> comparator) {
+		this.comparator = comparator;
+		this.head = new Node<>(null, 0L, MAX_LEVEL);
+	}
+
+	/**
+	 * Adds records under the sort key.
+	 *
+	 * @param key sort key of the records
+	 * @param count number of records to add
+	 */
+	void add(K key, long count) {
+		checkArgument(count > 0, "count must be greater than 0");
+		Node<K>[] update = newNodeArray();
+		long[] rank = new long[MAX_LEVEL];
+		Node<K> x = findPredecessors(key, update, rank);
+		Node<K> next = x.next[0];
+		if (next != null && comparator.compare(next.key, key) == 0) {
+			next.count += count;
+			for (int i = 0; i < level; i++) {
+				if (update[i].next[i] != null) {
+					update[i].width[i] += count;
+				}
+			}
+		} else {
+			int height = randomLevel();
+			if (height > level) {
+				for (int i = level; i < height; i++) {
+					update[i] = head;
+					rank[i] = 0L;
+				}
+				level = height;
+			}
+			Node<K> node = new Node<>(key, count, height);
+			// the number of records before the new node
+			long before = rank[0];
+			for (int i = 0; i < level; i++) {
+				Node<K> predecessor = update[i];
+				if (i < height) {
+					node.next[i] = predecessor.next[i];
+					if (node.next[i] != null) {
+						node.width[i] = predecessor.width[i] - (before - rank[i]);
+					}
+					predecessor.next[i] = node;
+					predecessor.width[i] = before - rank[i] + count;
+				} else if (predecessor.next[i] != null) {
+					predecessor.width[i] += count;
+				}
+			}
+			size++;
+		}
+		totalCount += count;
+	}
+
+	/**
+	 * Removes records under the sort key, and the sort key itself once it has no record left.
+	 *
+	 * @param key sort key of the records
+	 * @param count number of records to remove
+	 * @return false if the sort key does not exist or has less records than to remove
+	 */
+	boolean remove(K key, long count) {
+		checkArgument(count > 0, "count must be greater than 0");
+		Node<K>[] update = newNodeArray();
+		Node<K> node = findPredecessors(key, update, null).next[0];
+		if (node == null || comparator.compare(node.key, key) != 0 || node.count < count) {
+			return false;
+		}
+		if (node.count > count) {
+			node.count -= count;
+			for (int i = 0; i < level; i++) {
+				if (update[i].next[i] != null) {
+					update[i].width[i] -= count;
+				}
+			}
+		} else {
+			for (int i = 0; i < level; i++) {
+				Node<K> predecessor = update[i];
+				if (predecessor.next[i] == node) {
+					predecessor.next[i] = node.next[i];
+					if (node.next[i] != null) {
+						predecessor.width[i] += node.width[i] - node.count;
+					}
+				} else if (predecessor.next[i] != null) {
+					predecessor.width[i] -= node.count;
+				}
+			}
+			while (level > 1 && head.next[level - 1] == null) {
+				level--;
+			}
+			size--;
+		}
+		totalCount -= count;
+		return true;
+	}
+
+	/**
+	 * Gets the number of records under the sort key, 0 if the sort key does not exist.
+	 */
+	long get(K key) {
+		Node<K> node = findPredecessors(key, null, null).next[0];
+		if (node != null && comparator.compare(node.key, key) == 0) {
+			return node.count;
+		} else {
+			return 0L;
+		}
+	}
+
+	boolean containsKey(K key) {
+		return get(key) > 0;
+	}
+
+	/**
+	 * Gets the number of records whose sort key is before the given sort key.
+	 */
+	long countBefore(K key) {
+		long[] rank = new long[MAX_LEVEL];
+		findPredecessors(key, null, rank);
+		return rank[0];
+	}
+
+	/**
+	 * Gets the sort key of the record at the given rank, the first record has rank 1.
+	 *
+	 * @return the sort key, or null if there are less records than the rank
+	 */
+	K getKeyAtRank(long rank) {
+		if (rank < 1 || rank > totalCount) {
+			return null;
+		}
+		Node<K> x = head;
+		long before = 0L;
+		for (int i = level - 1; i >= 0; i--) {
+			while (x.next[i] != null && before + x.width[i] < rank) {
+				before += x.width[i];
+				x = x.next[i];
+			}
+		}
+		return x.next[0].key;
+	}
+
+	/**
+	 * Returns an iterator over the sort keys and their number of records in order, starting at
+	 * the given sort key or the first one after it. The list must not be modified while iterating.
+	 */
+	Iterator<Map.Entry<K, Long>> tailIterator(K fromKey) {
+		return new EntryIterator<>(findPredecessors(fromKey, null, null).next[0]);
+	}
+
+	/**
+	 * Returns an iterator over all sort keys and their number of records in order.
+	 */
+	Iterator<Map.Entry<K, Long>> iterator() {
+		return new EntryIterator<>(head.next[0]);
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Gets the number of sort keys.
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the number of records under all sort keys.
+	 */
+	long getTotalCount() {
+		return totalCount;
+	}
+
+	/**
+	 * Finds the last node on every level whose sort key is before the given one, and the number of
+	 * records up to and including that node.
+	 *
+	 * @return the last node whose sort key is before the given one
+	 */
+	private Node<K> findPredecessors(K key, Node<K>[] update, long[] rank) {
+		Node<K> x = head;
+		long before = 0L;
+		for (int i = level - 1; i >= 0; i--) {
+			while (x.next[i] != null && comparator.compare(x.next[i].key, key) < 0) {
+				before += x.width[i];
+				x = x.next[i];
+			}
+			if (update != null) {
+				update[i] = x;
+			}
+			if (rank != null) {
+				rank[i] = before;
+			}
+		}
+		return x;
+	}
+
+	private static int randomLevel() {
+		int height = 1;
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		while (height < MAX_LEVEL && random.nextBoolean()) {
+			height++;
+		}
+		return height;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <K> Node<K>[] newNodeArray() {
+		return (Node<K>[]) new Node[MAX_LEVEL];
+	}
+
+	/**
+	 * A sort key with its number of records and its links. The width of a link is the number of
+	 * records from the node after this one up to and including the linked node.
+	 */
+	private static final class Node<K> implements Map.Entry<K, Long> {
+		private final K key;
+		private long count;
+		private final Node<K>[] next;
+		private final long[] width;
+
+		@SuppressWarnings("unchecked")
+		private Node(K key, long count, int height) {
+			this.key = key;
+			this.count = count;
+			this.next = (Node<K>[]) new Node[height];
+			this.width = new long[height];
+		}
+
+		@Override
+		public K getKey() {
+			return key;
+		}
+
+		@Override
+		public Long getValue() {
+			return count;
+		}
+
+		@Override
+		public Long setValue(Long value) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	private static final class EntryIterator<K> implements Iterator<Map.Entry<K, Long>> {
+		private Node<K> next;
+
+		private EntryIterator(Node<K> first) {
+			this.next = first;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public Map.Entry<K, Long> next() {
+			if (next == null) {
+				throw new NoSuchElementException();
+			}
+			Node<K> current = next;
+			next = current.next[0];
+			return current;
+		}
+	}
+}
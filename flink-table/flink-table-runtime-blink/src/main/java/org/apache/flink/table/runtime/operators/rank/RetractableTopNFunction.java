@@ -33,6 +33,7 @@ import org.apache.flink.table.runtime.generated.RecordEqualiser;
 import org.apache.flink.table.runtime.keyselector.RowDataKeySelector;
 import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
 import org.apache.flink.table.runtime.typeutils.SortedMapTypeInfo;
+import org.apache.flink.table.runtime.util.LRUMap;
 import org.apache.flink.types.RowKind;
 import org.apache.flink.util.Collector;
 
@@ -47,12 +48,16 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedMap;
-import java.util.TreeMap;
 
 /**
  * A TopN function could handle updating stream.
  *
  * <p>Input stream can contain any change kind: INSERT, DELETE, UPDATE_BEFORE and UPDATE_AFTER.
+ *
+ * <p>The number of records per sort key is kept in an {@link IndexedSkipList}, so that the rank of a
+ * sort key and the sort key at the end of the Top-N are found without visiting the sort keys before
+ * them. The skip lists of the recently used partition keys are cached on the heap and are rebuilt
+ * from state otherwise.
  */
 public class RetractableTopNFunction extends AbstractTopNFunction {
 
@@ -72,9 +77,21 @@ public class RetractableTopNFunction extends AbstractTopNFunction {
 	// a map state stores mapping from sort key to records list
 	private transient MapState<RowData, List<RowData>> dataState;
 
-	// a sorted map stores mapping from sort key to records count
+	// a map state stores mapping from sort key to records count
+	private transient MapState<RowData, Long> countState;
+
+	// a sorted map stores mapping from sort key to records count, only read to migrate the state
+	// of jobs started before the counts were stored per sort key
 	private transient ValueState<SortedMap<RowData, Long>> treeMap;
 
+	private final long cacheSize;
+
+	// the sortKeyCounts stores mapping from sort key to records count, a heap mirror to countState
+	private transient IndexedSkipList<RowData> sortKeyCounts;
+
+	// the kvSortKeyCounts stores mapping from partition key to it's sortKeyCounts
+	private transient Map<RowData, IndexedSkipList<RowData>> kvSortKeyCounts;
+
 	// The util to compare two RowData equals to each other.
 	private GeneratedRecordEqualiser generatedEqualiser;
 	private RecordEqualiser equaliser;
@@ -91,12 +108,14 @@ public class RetractableTopNFunction extends AbstractTopNFunction {
 			RankRange rankRange,
 			GeneratedRecordEqualiser generatedEqualiser,
 			boolean generateUpdateBefore,
-			boolean outputRankNumber) {
+			boolean outputRankNumber,
+			long cacheSize) {
 		super(minRetentionTime, maxRetentionTime, inputRowType, generatedRecordComparator, sortKeySelector, rankType,
 				rankRange, generateUpdateBefore, outputRankNumber);
 		this.sortKeyType = sortKeySelector.getProducedType();
 		this.serializableComparator = new ComparatorWrapper(generatedRecordComparator);
 		this.generatedEqualiser = generatedEqualiser;
+		this.cacheSize = cacheSize;
 	}
 
 	@Override
@@ -107,15 +126,26 @@ public class RetractableTopNFunction extends AbstractTopNFunction {
 		equaliser = generatedEqualiser.newInstance(getRuntimeContext().getUserCodeClassLoader());
 		generatedEqualiser = null;
 
+		int lruCacheSize = Math.max(1, (int) (cacheSize / getDefaultTopNSize()));
+		kvSortKeyCounts = new LRUMap<>(lruCacheSize);
+		LOG.info("Top{} operator is using LRU caches key-size: {}", getDefaultTopNSize(), lruCacheSize);
+
 		ListTypeInfo<RowData> valueTypeInfo = new ListTypeInfo<>(inputRowType);
 		MapStateDescriptor<RowData, List<RowData>> mapStateDescriptor = new MapStateDescriptor<>(
 				"data-state", sortKeyType, valueTypeInfo);
 		dataState = getRuntimeContext().getMapState(mapStateDescriptor);
 
+		MapStateDescriptor<RowData, Long> countStateDescriptor = new MapStateDescriptor<>(
+				"count-state", sortKeyType, BasicTypeInfo.LONG_TYPE_INFO);
+		countState = getRuntimeContext().getMapState(countStateDescriptor);
+
 		ValueStateDescriptor<SortedMap<RowData, Long>> valueStateDescriptor = new ValueStateDescriptor<>(
 				"sorted-map",
 				new SortedMapTypeInfo<>(sortKeyType, BasicTypeInfo.LONG_TYPE_INFO, serializableComparator));
 		treeMap = getRuntimeContext().getState(valueStateDescriptor);
+
+		// metrics
+		registerMetric(kvSortKeyCounts.size() * getDefaultTopNSize());
 	}
 
 	@Override
@@ -123,29 +153,23 @@ public class RetractableTopNFunction extends AbstractTopNFunction {
 		long currentTime = ctx.timerService().currentProcessingTime();
 		// register state-cleanup timer
 		registerProcessingCleanupTimer(ctx, currentTime);
+		initHeapStates();
 		initRankEnd(input);
-		SortedMap<RowData, Long> sortedMap = treeMap.value();
-		if (sortedMap == null) {
-			sortedMap = new TreeMap<>(sortKeyComparator);
-		}
 		RowData sortKey = sortKeySelector.getKey(input);
 		boolean isAccumulate = RowDataUtil.isAccumulateMsg(input);
 		input.setRowKind(RowKind.INSERT); // erase row kind for further state accessing
 		if (isAccumulate) {
-			// update sortedMap
-			if (sortedMap.containsKey(sortKey)) {
-				sortedMap.put(sortKey, sortedMap.get(sortKey) + 1);
-			} else {
-				sortedMap.put(sortKey, 1L);
-			}
+			// update sortKeyCounts
+			sortKeyCounts.add(sortKey, 1L);
+			countState.put(sortKey, sortKeyCounts.get(sortKey));
 
 			// emit
 			if (outputRankNumber || hasOffset()) {
 				// the without-number-algorithm can't handle topN with offset,
 				// so use the with-number-algorithm to handle offset
-				emitRecordsWithRowNumber(sortedMap, sortKey, input, out);
+				emitRecordsWithRowNumber(sortKey, input, out);
 			} else {
-				emitRecordsWithoutRowNumber(sortedMap, sortKey, input, out);
+				emitRecordsWithoutRowNumber(sortKey, input, out);
 			}
 			// update data state
 			List<RowData> inputs = dataState.get(sortKey);
@@ -160,21 +184,21 @@ public class RetractableTopNFunction extends AbstractTopNFunction {
 			if (outputRankNumber || hasOffset()) {
 				// the without-number-algorithm can't handle topN with offset,
 				// so use the with-number-algorithm to handle offset
-				retractRecordWithRowNumber(sortedMap, sortKey, input, out);
+				retractRecordWithRowNumber(sortKey, input, out);
 			} else {
-				retractRecordWithoutRowNumber(sortedMap, sortKey, input, out);
+				retractRecordWithoutRowNumber(sortKey, input, out);
 			}
 
-			// and then update sortedMap
-			if (sortedMap.containsKey(sortKey)) {
-				long count = sortedMap.get(sortKey) - 1;
+			// and then update sortKeyCounts
+			if (sortKeyCounts.remove(sortKey, 1L)) {
+				long count = sortKeyCounts.get(sortKey);
 				if (count == 0) {
-					sortedMap.remove(sortKey);
+					countState.remove(sortKey);
 				} else {
-					sortedMap.put(sortKey, count);
+					countState.put(sortKey, count);
 				}
 			} else {
-				if (sortedMap.isEmpty()) {
+				if (sortKeyCounts.isEmpty()) {
 					if (lenient) {
 						LOG.warn(STATE_CLEARED_WARN_MSG);
 					} else {
@@ -187,23 +211,49 @@ public class RetractableTopNFunction extends AbstractTopNFunction {
 			}
 
 		}
-		treeMap.update(sortedMap);
 	}
 
 	@Override
 	public void onTimer(long timestamp, OnTimerContext ctx, Collector<RowData> out) throws Exception {
 		if (stateCleaningEnabled) {
-			cleanupState(dataState, treeMap);
+			// cleanup cache
+			kvSortKeyCounts.remove(keyContext.getCurrentKey());
+			cleanupState(dataState, countState, treeMap);
+		}
+	}
+
+	private void initHeapStates() throws Exception {
+		requestCount += 1;
+		RowData currentKey = (RowData) keyContext.getCurrentKey();
+		sortKeyCounts = kvSortKeyCounts.get(currentKey);
+		if (sortKeyCounts == null) {
+			sortKeyCounts = new IndexedSkipList<>(sortKeyComparator);
+			kvSortKeyCounts.put(currentKey, sortKeyCounts);
+			SortedMap<RowData, Long> sortedMap = treeMap.value();
+			if (sortedMap != null) {
+				// migrate the sorted map to the count state
+				countState.putAll(sortedMap);
+				treeMap.clear();
+			}
+			// restore sortKeyCounts
+			Iterator<Map.Entry<RowData, Long>> iter = countState.iterator();
+			if (iter != null) {
+				while (iter.hasNext()) {
+					Map.Entry<RowData, Long> entry = iter.next();
+					sortKeyCounts.add(entry.getKey(), entry.getValue());
+				}
+			}
+		} else {
+			hitCount += 1;
 		}
 	}
 
 	// ------------- ROW_NUMBER-------------------------------
 
-	private void emitRecordsWithRowNumber(
-			SortedMap<RowData, Long> sortedMap, RowData sortKey, RowData inputRow, Collector<RowData> out)
-			throws Exception {
-		Iterator<Map.Entry<RowData, Long>> iterator = sortedMap.entrySet().iterator();
-		long currentRank = 0L;
+	private void emitRecordsWithRowNumber(RowData sortKey, RowData inputRow, Collector<RowData> out) throws Exception {
+		// skip the sort keys before the given one, the rank of their records doesn't change
+		Iterator<Map.Entry<RowData, Long>> iterator = sortKeyCounts.tailIterator(sortKey);
+		long currentRank = sortKeyCounts.countBefore(sortKey);
 		RowData currentRow = null;
 		boolean findsSortKey = false;
 		while (iterator.hasNext() && isInRankEnd(currentRank)) {
@@ -243,11 +293,10 @@ public class RetractableTopNFunction extends AbstractTopNFunction {
 		}
 	}
 
-	private void emitRecordsWithoutRowNumber(
-			SortedMap<RowData, Long> sortedMap, RowData sortKey, RowData inputRow, Collector<RowData> out)
-			throws Exception {
-		Iterator<Map.Entry<RowData, Long>> iterator = sortedMap.entrySet().iterator();
-		long curRank = 0L;
+	private void emitRecordsWithoutRowNumber(RowData sortKey, RowData inputRow, Collector<RowData> out) throws Exception {
+		// skip the sort keys before the given one, the rank of their records doesn't change
+		Iterator<Map.Entry<RowData, Long>> iterator = sortKeyCounts.tailIterator(sortKey);
+		long curRank = sortKeyCounts.countBefore(sortKey);
 		boolean findsSortKey = false;
 		RowData toCollect = null;
 		RowData toDelete = null;
@@ -261,27 +310,23 @@ public class RetractableTopNFunction extends AbstractTopNFunction {
 				}
 				findsSortKey = true;
 			} else if (findsSortKey) {
-				List<RowData> inputs = dataState.get(key);
-				if (inputs == null) {
-					// Skip the data if it's state is cleared because of state ttl.
-					if (lenient) {
-						LOG.warn(STATE_CLEARED_WARN_MSG);
-					} else {
-						throw new RuntimeException(STATE_CLEARED_WARN_MSG);
-					}
-				} else {
-					long count = entry.getValue();
-					// gets the rank of last record with same sortKey
-					long rankOfLastRecord = curRank + count;
-					// deletes the record if there is a record recently downgrades to Top-(N+1)
-					if (isInRankEnd(rankOfLastRecord)) {
-						curRank = rankOfLastRecord;
+				// deletes the record if there is a record recently downgrades to Top-(N+1)
+				RowData deleteKey = sortKeyCounts.getKeyAtRank(rankEnd + 1);
+				if (deleteKey != null) {
+					List<RowData> inputs = dataState.get(deleteKey);
+					if (inputs == null) {
+						// Skip the data if it's state is cleared because of state ttl.
+						if (lenient) {
+							LOG.warn(STATE_CLEARED_WARN_MSG);
+						} else {
+							throw new RuntimeException(STATE_CLEARED_WARN_MSG);
+						}
 					} else {
-						int index = Long.valueOf(rankEnd - curRank).intValue();
+						int index = Long.valueOf(rankEnd - sortKeyCounts.countBefore(deleteKey)).intValue();
 						toDelete = inputs.get(index);
-						break;
 					}
 				}
+				break;
 			} else {
 				curRank += entry.getValue();
 			}
@@ -294,11 +339,10 @@ public class RetractableTopNFunction extends AbstractTopNFunction {
 		}
 	}
 
-	private void retractRecordWithRowNumber(
-			SortedMap<RowData, Long> sortedMap, RowData sortKey, RowData inputRow, Collector<RowData> out)
-			throws Exception {
-		Iterator<Map.Entry<RowData, Long>> iterator = sortedMap.entrySet().iterator();
-		long currentRank = 0L;
+	private void retractRecordWithRowNumber(RowData sortKey, RowData inputRow, Collector<RowData> out) throws Exception {
+		// skip the sort keys before the given one, the rank of their records doesn't change
+		Iterator<Map.Entry<RowData, Long>> iterator = sortKeyCounts.tailIterator(sortKey);
+		long currentRank = sortKeyCounts.countBefore(sortKey);
 		RowData prevRow = null;
 		boolean findsSortKey = false;
 		while (iterator.hasNext() && isInRankEnd(currentRank)) {
@@ -356,11 +400,10 @@ public class RetractableTopNFunction extends AbstractTopNFunction {
 		}
 	}
 
-	private void retractRecordWithoutRowNumber(
-			SortedMap<RowData, Long> sortedMap, RowData sortKey, RowData inputRow, Collector<RowData> out)
-			throws Exception {
-		Iterator<Map.Entry<RowData, Long>> iterator = sortedMap.entrySet().iterator();
-		long curRank = 0L;
+	private void retractRecordWithoutRowNumber(RowData sortKey, RowData inputRow, Collector<RowData> out) throws Exception {
+		// skip the sort keys before the given one, the rank of their records doesn't change
+		Iterator<Map.Entry<RowData, Long>> iterator = sortKeyCounts.tailIterator(sortKey);
+		long curRank = sortKeyCounts.countBefore(sortKey);
 		boolean findsSortKey = false;
 		while (iterator.hasNext() && isInRankEnd(curRank)) {
 			Map.Entry<RowData, Long> entry = iterator.next();
@@ -398,19 +441,20 @@ public class RetractableTopNFunction extends AbstractTopNFunction {
 					}
 				}
 			} else if (findsSortKey) {
-				long count = entry.getValue();
-				// gets the rank of last record with same sortKey
-				long rankOfLastRecord = curRank + count;
-				// sends the record if there is a record recently upgrades to Top-N
-				if (rankOfLastRecord < rankEnd) {
-					curRank = rankOfLastRecord;
-				} else {
-					int index = Long.valueOf(rankEnd - curRank - 1).intValue();
-					List<RowData> inputs = dataState.get(key);
-					RowData toAdd = inputs.get(index);
-					collectInsert(out, toAdd);
-					break;
+				// sends the record if there is a record recently upgrades to Top-N, unless it has the
+				// same sort key as the retracted record and was sent already
+				if (curRank < rankEnd) {
+					// sortKeyCounts still counts the retracted record, so the record that upgrades
+					// has rank N + 1 in it
+					RowData addKey = sortKeyCounts.getKeyAtRank(rankEnd + 1);
+					if (addKey != null) {
+						int index = Long.valueOf(rankEnd - sortKeyCounts.countBefore(addKey)).intValue();
+						List<RowData> inputs = dataState.get(addKey);
+						RowData toAdd = inputs.get(index);
+						collectInsert(out, toAdd);
+					}
 				}
+				break;
 			} else {
 				curRank += entry.getValue();
 			}
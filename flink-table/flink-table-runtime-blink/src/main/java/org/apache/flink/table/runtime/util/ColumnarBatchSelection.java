@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.util;
+
+import org.apache.flink.table.data.ColumnarRowData;
+import org.apache.flink.table.data.vector.VectorizedColumnBatch;
+
+/**
+ * The rows of a {@link VectorizedColumnBatch} that pass a filter.
+ *
+ * <p>Columnar sources emit the rows of a batch one after the other as the same
+ * {@link ColumnarRowData} with increasing row ids, and only read the next batch after all rows of
+ * the current one were consumed. This allows to evaluate a filter for a row and all following rows
+ * of its batch at once, column by column, and to only look up the result when the following rows
+ * arrive.
+ *
+ * <p>Upstream operators can drop rows, so not every evaluated row necessarily arrives. Batches are
+ * therefore identified by the {@link VectorizedColumnBatch#getSequenceNumber() sequence number}
+ * that the readers advance with every batch, rather than by the row ids. The evaluation of the
+ * following rows stops at the first row that fails, and is resumed from that row if it arrives,
+ * so that rows which were dropped upstream cannot fail the filter.
+ */
+public final class ColumnarBatchSelection {
+
+	private VectorizedColumnBatch batch;
+
+	private long sequenceNumber;
+
+	/** The range of row ids of the current batch that the filter was evaluated for, end exclusive. */
+	private int evaluatedFrom;
+
+	private int evaluatedTo;
+
+	private boolean[] selected = new boolean[VectorizedColumnBatch.DEFAULT_SIZE];
+
+	/**
+	 * Returns whether the filter can be evaluated for the batch of the row, which requires the
+	 * reader of the batch to advance its sequence number.
+	 */
+	public boolean isBatchEvaluable(ColumnarRowData row) {
+		return row.getVectorizedColumnBatch().getSequenceNumber() > 0;
+	}
+
+	/**
+	 * Returns whether the filter was not evaluated for the row yet, because it belongs to a new
+	 * batch or lies outside the evaluated rows of the current batch.
+	 */
+	public boolean needsEvaluation(ColumnarRowData row) {
+		final VectorizedColumnBatch rowBatch = row.getVectorizedColumnBatch();
+		final int rowId = row.getRowId();
+		return rowBatch != batch ||
+			rowBatch.getSequenceNumber() != sequenceNumber ||
+			rowId < evaluatedFrom ||
+			rowId >= evaluatedTo;
+	}
+
+	/**
+	 * Returns the array to store the filter results of a batch with the given number of rows in,
+	 * indexed by row id.
+	 */
+	public boolean[] reset(int numRows) {
+		if (selected.length < numRows) {
+			selected = new boolean[numRows];
+		}
+		return selected;
+	}
+
+	/**
+	 * Records that the filter results of the given batch were stored for the given range of row
+	 * ids, end exclusive.
+	 */
+	public void setEvaluated(VectorizedColumnBatch batch, int from, int to) {
+		this.batch = batch;
+		this.sequenceNumber = batch.getSequenceNumber();
+		this.evaluatedFrom = from;
+		this.evaluatedTo = to;
+	}
+
+	public boolean isSelected(int rowId) {
+		return selected[rowId];
+	}
+}
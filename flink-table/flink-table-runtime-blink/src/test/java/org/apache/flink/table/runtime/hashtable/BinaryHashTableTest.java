@@ -34,6 +34,8 @@ import org.apache.flink.table.data.binary.BinaryRowData;
 import org.apache.flink.table.data.writer.BinaryRowWriter;
 import org.apache.flink.table.runtime.generated.Projection;
 import org.apache.flink.table.runtime.operators.join.HashJoinType;
+import org.apache.flink.table.runtime.operators.sort.IntNormalizedKeyComputer;
+import org.apache.flink.table.runtime.operators.sort.IntRecordComparator;
 import org.apache.flink.table.runtime.typeutils.BinaryRowDataSerializer;
 import org.apache.flink.table.runtime.util.RowIterator;
 import org.apache.flink.table.runtime.util.UniformBinaryRowGenerator;
@@ -55,6 +57,7 @@ import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 /**
@@ -553,6 +556,66 @@ public class BinaryHashTableTest {
 		table.free();
 	}
 
+	@Test
+	public void testSortMergeFallbackForSkewedPartitions() throws IOException {
+		testSortMergeFallback(HashJoinType.INNER);
+	}
+
+	@Test
+	public void testSortMergeFallbackForSkewedPartitionsWithBuildOuterJoin() throws IOException {
+		testSortMergeFallback(HashJoinType.BUILD_OUTER);
+	}
+
+	private void testSortMergeFallback(HashJoinType type) throws IOException {
+		// the same colliding keys as above, which can not be partitioned into memory
+		final int repeatedValue1 = 40559;
+		final int repeatedValue2 = 92882;
+		final int repeatedValueCount = 1000000;
+		final int unmatchedValueCount = 1000;
+
+		final int numKeys = 100000;
+		final int buildValsPerKey = 3;
+		final int probeValsPerKey = 10;
+		final int probeValsPerRepeatedKey = 3;
+
+		List<MutableObjectIterator<BinaryRowData>> builds = new ArrayList<>();
+		builds.add(new UniformBinaryRowGenerator(numKeys, buildValsPerKey, false));
+		builds.add(new ConstantsKeyValuePairsIterator(repeatedValue1, 17, repeatedValueCount));
+		builds.add(new ConstantsKeyValuePairsIterator(repeatedValue2, 23, repeatedValueCount));
+		builds.add(new ConstantsKeyValuePairsIterator(3 * numKeys, 1, unmatchedValueCount));
+		MutableObjectIterator<BinaryRowData> buildInput = new UnionIterator<>(builds);
+
+		List<MutableObjectIterator<BinaryRowData>> probes = new ArrayList<>();
+		probes.add(new UniformBinaryRowGenerator(numKeys, probeValsPerKey, true));
+		probes.add(new ConstantsKeyValuePairsIterator(repeatedValue1, 17, probeValsPerRepeatedKey));
+		probes.add(new ConstantsKeyValuePairsIterator(repeatedValue2, 23, probeValsPerRepeatedKey));
+		MutableObjectIterator<BinaryRowData> probeInput = new UnionIterator<>(probes);
+
+		MemoryManager memManager = MemoryManagerBuilder.newBuilder().setMemorySize(896 * PAGE_SIZE).build();
+		final BinaryHashTable table = new BinaryHashTable(conf, new Object(),
+				this.buildSideSerializer, this.probeSideSerializer,
+				new MyProjection(), new MyProjection(), memManager, 896 * PAGE_SIZE,
+				ioManager, 24, 200000, true, type, null, false, new boolean[] {true}, false);
+		table.enableSortMergeFallback(
+				IntNormalizedKeyComputer.INSTANCE, IntRecordComparator.INSTANCE,
+				IntNormalizedKeyComputer.INSTANCE, IntRecordComparator.INSTANCE,
+				IntRecordComparator.INSTANCE);
+
+		// the repeated keys are also generated by the uniform inputs
+		int expectedNumResults = (numKeys - 2) * buildValsPerKey * probeValsPerKey +
+				2 * (buildValsPerKey + repeatedValueCount) * (probeValsPerKey + probeValsPerRepeatedKey);
+		if (type == HashJoinType.BUILD_OUTER) {
+			expectedNumResults += unmatchedValueCount;
+		}
+
+		int numRecordsInJoinResult = join(table, buildInput, probeInput, type == HashJoinType.BUILD_OUTER);
+		Assert.assertEquals("Wrong number of records in join result.", expectedNumResults, numRecordsInJoinResult);
+
+		table.close();
+		table.free();
+		assertTrue("Memory lost.", memManager.verifyEmpty());
+	}
+
 	/*
 	 * Spills build records, so that probe records are also spilled. But only so
 	 * few probe records are used that some partitions remain empty.
@@ -43,7 +43,9 @@ import org.junit.Test;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 
 /**
@@ -305,6 +307,100 @@ public class BytesHashMapTest {
 		table.free();
 	}
 
+	@Test
+	public void testLongKeyMode() throws Exception {
+		verifyLongKeyMode(new BigIntType());
+	}
+
+	@Test
+	public void testIntKeyMode() throws Exception {
+		verifyLongKeyMode(new IntType());
+	}
+
+	private void verifyLongKeyMode(LogicalType keyType) throws Exception {
+		LogicalType[] longKeyTypes = new LogicalType[] {keyType};
+		Assert.assertTrue(BytesHashMap.isLongKey(longKeyTypes));
+		Assert.assertFalse(BytesHashMap.isLongKey(keyTypes));
+		boolean intKey = keyType instanceof IntType;
+
+		// a small memory infers a small bucket area, so that the map has to be rehashed
+		final int numMemSegments = 34;
+		int memorySize = numMemSegments * PAGE_SIZE;
+		MemoryManager memoryManager = MemoryManagerBuilder
+			.newBuilder()
+			.setMemorySize(memorySize)
+			.build();
+		BytesHashMap table = new BytesHashMap(this, memoryManager,
+				memorySize, longKeyTypes, valueTypes, true);
+		int initBucketSegments = table.getBucketAreaMemorySegments().size();
+
+		final Random rnd = new Random(RANDOM_SEED);
+		long[] keys = new long[NUM_ENTRIES];
+		Map<Long, BinaryRowData> expected = new HashMap<>();
+		for (int i = 0; i < NUM_ENTRIES; i++) {
+			long key = intKey ? rnd.nextInt() : rnd.nextLong();
+			while (expected.containsKey(key)) {
+				key = intKey ? rnd.nextInt() : rnd.nextLong();
+			}
+			keys[i] = key;
+			BytesHashMap.LookupInfo info = table.lookup(key);
+			Assert.assertFalse(info.isFound());
+			BinaryRowData entry = table.append(info, defaultValue);
+			updateOutputBuffer(entry, rnd);
+			expected.put(key, entry.copy());
+		}
+
+		// the null key is looked up by a key row
+		BinaryRowData nullKey = new BinaryRowData(1);
+		BinaryRowWriter writer = new BinaryRowWriter(nullKey);
+		writer.setNullAt(0);
+		writer.complete();
+		BytesHashMap.LookupInfo info = table.lookup(nullKey);
+		Assert.assertFalse(info.isFound());
+		BinaryRowData nullKeyValue = table.append(info, defaultValue);
+		updateOutputBuffer(nullKeyValue, rnd);
+		nullKeyValue = nullKeyValue.copy();
+		Assert.assertTrue(table.lookup(nullKey).isFound());
+		Assert.assertEquals(nullKeyValue, table.lookup(nullKey).getValue());
+		Assert.assertEquals(NUM_ENTRIES + 1, table.getNumElements());
+		Assert.assertTrue(table.getBucketAreaMemorySegments().size() > initBucketSegments);
+
+		BinaryRowData keyRow = new BinaryRowData(1);
+		writer = new BinaryRowWriter(keyRow);
+		for (long key : keys) {
+			info = table.lookup(key);
+			Assert.assertTrue(info.isFound());
+			Assert.assertEquals(expected.get(key), info.getValue());
+
+			writer.reset();
+			if (intKey) {
+				writer.writeInt(0, (int) key);
+			} else {
+				writer.writeLong(0, key);
+			}
+			writer.complete();
+			info = table.lookup(keyRow);
+			Assert.assertTrue(info.isFound());
+			Assert.assertEquals(expected.get(key), info.getValue());
+		}
+
+		MutableObjectIterator<BytesHashMap.Entry> iter = table.getEntryIterator();
+		BytesHashMap.Entry reuse = new BytesHashMap.Entry(new BinaryRowData(1), valueSerializer.createInstance());
+		int numNullKeys = 0;
+		while ((reuse = iter.next(reuse)) != null) {
+			if (reuse.getKey().isNullAt(0)) {
+				numNullKeys++;
+				Assert.assertEquals(nullKeyValue, reuse.getValue());
+			} else {
+				long key = intKey ? reuse.getKey().getInt(0) : reuse.getKey().getLong(0);
+				Assert.assertEquals(expected.remove(key), reuse.getValue());
+			}
+		}
+		Assert.assertEquals(1, numNullKeys);
+		Assert.assertTrue(expected.isEmpty());
+		table.free();
+	}
+
 	// ----------------------------------------------
 	/**
 	 * It will be codegened when in HashAggExec
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.bundle.trigger;
+
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.VarCharType;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static junit.framework.TestCase.assertEquals;
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.binaryrow;
+
+/**
+ * Tests for {@link CountAndSizeBundleTrigger}.
+ */
+public class CountAndSizeBundleTriggerTest {
+
+	private static final RowType ROW_TYPE = RowType.of(new BigIntType(), new VarCharType(VarCharType.MAX_LENGTH));
+
+	@Test
+	public void testTriggerByCount() throws Exception {
+		CountAndSizeBundleTrigger trigger = new CountAndSizeBundleTrigger(2, Long.MAX_VALUE, ROW_TYPE);
+		TestTriggerCallback callback = new TestTriggerCallback();
+		trigger.registerCallback(callback);
+
+		trigger.onElement(GenericRowData.of(1L, StringData.fromString("a")));
+		assertEquals(0, callback.getTriggerCount());
+
+		trigger.onElement(binaryrow(1L, "a"));
+		assertEquals(1, callback.getTriggerCount());
+
+		trigger.onElement(GenericRowData.of(1L, StringData.fromString("a")));
+		assertEquals(1, callback.getTriggerCount());
+
+		trigger.onElement(GenericRowData.of(1L, StringData.fromString("a")));
+		assertEquals(2, callback.getTriggerCount());
+	}
+
+	@Test
+	public void testTriggerBySize() throws Exception {
+		BinaryRowData binaryRow = binaryrow(1L, "a string in the variable-length part");
+		RowData genericRow = GenericRowData.of(2L, StringData.fromString("b"));
+		int genericRowSize = binaryrow(2L, "b").getSizeInBytes();
+		CountAndSizeBundleTrigger trigger = new CountAndSizeBundleTrigger(
+			100, 2L * binaryRow.getSizeInBytes() + genericRowSize, ROW_TYPE);
+		TestTriggerCallback callback = new TestTriggerCallback();
+		trigger.registerCallback(callback);
+
+		trigger.onElement(binaryRow);
+		assertEquals(0, callback.getTriggerCount());
+
+		trigger.onElement(genericRow);
+		assertEquals(0, callback.getTriggerCount());
+
+		trigger.onElement(binaryRow);
+		assertEquals(1, callback.getTriggerCount());
+
+		// the size is reset together with the count
+		trigger.onElement(binaryRow);
+		trigger.onElement(binaryRow);
+		assertEquals(1, callback.getTriggerCount());
+
+		trigger.onElement(genericRow);
+		assertEquals(2, callback.getTriggerCount());
+	}
+
+	@Test
+	public void testTriggerBySizeOfGenericRowWithLargeString() throws Exception {
+		CountAndSizeBundleTrigger trigger = new CountAndSizeBundleTrigger(100, 1024, ROW_TYPE);
+		TestTriggerCallback callback = new TestTriggerCallback();
+		trigger.registerCallback(callback);
+
+		trigger.onElement(GenericRowData.of(1L, StringData.fromString("a")));
+		assertEquals(0, callback.getTriggerCount());
+
+		// the variable-length part of the row is estimated as well
+		trigger.onElement(GenericRowData.of(2L, StringData.fromString(String.join("", Collections.nCopies(1024, "b")))));
+		assertEquals(1, callback.getTriggerCount());
+	}
+
+	@Test
+	public void testTriggerBySizeOfFixedLengthRows() throws Exception {
+		RowType rowType = RowType.of(new BigIntType(), new BigIntType());
+		int rowSize = BinaryRowData.calculateFixPartSizeInBytes(2);
+		CountAndSizeBundleTrigger trigger = new CountAndSizeBundleTrigger(100, 3L * rowSize, rowType);
+		TestTriggerCallback callback = new TestTriggerCallback();
+		trigger.registerCallback(callback);
+
+		trigger.onElement(GenericRowData.of(1L, 2L));
+		trigger.onElement(GenericRowData.of(3L, 4L));
+		assertEquals(0, callback.getTriggerCount());
+
+		trigger.onElement(GenericRowData.of(5L, 6L));
+		assertEquals(1, callback.getTriggerCount());
+	}
+}
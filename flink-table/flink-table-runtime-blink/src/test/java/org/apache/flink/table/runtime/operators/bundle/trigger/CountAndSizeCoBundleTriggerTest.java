@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.bundle.trigger;
+
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.VarCharType;
+
+import org.junit.Test;
+
+import static junit.framework.TestCase.assertEquals;
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.binaryrow;
+
+/**
+ * Tests for {@link CountAndSizeCoBundleTrigger}.
+ */
+public class CountAndSizeCoBundleTriggerTest {
+
+	private static final RowType ROW_TYPE = RowType.of(new BigIntType(), new VarCharType(VarCharType.MAX_LENGTH));
+
+	@Test
+	public void testTrigger() throws Exception {
+		BinaryRowData binaryRow = binaryrow(1L, "a string in the variable-length part");
+		CountAndSizeCoBundleTrigger trigger = new CountAndSizeCoBundleTrigger(
+			3, 2L * binaryRow.getSizeInBytes(), ROW_TYPE, ROW_TYPE);
+		TestTriggerCallback callback = new TestTriggerCallback();
+		trigger.registerCallback(callback);
+
+		// fires by size
+		trigger.onElement1(binaryRow);
+		assertEquals(0, callback.getTriggerCount());
+
+		trigger.onElement2(binaryRow);
+		assertEquals(1, callback.getTriggerCount());
+
+		// fires by count
+		trigger.onElement1(GenericRowData.of(1L, StringData.fromString("a")));
+		trigger.onElement2(GenericRowData.of(1L, StringData.fromString("a")));
+		assertEquals(1, callback.getTriggerCount());
+
+		trigger.onElement2(GenericRowData.of(1L, StringData.fromString("a")));
+		assertEquals(2, callback.getTriggerCount());
+	}
+}
@@ -26,7 +26,6 @@ import org.apache.flink.configuration.Configuration;
 import org.apache.flink.streaming.api.datastream.AsyncDataStream;
 import org.apache.flink.streaming.api.functions.async.AsyncFunction;
 import org.apache.flink.streaming.api.functions.async.ResultFuture;
-import org.apache.flink.streaming.api.functions.async.RichAsyncFunction;
 import org.apache.flink.streaming.api.operators.async.AsyncWaitOperatorFactory;
 import org.apache.flink.streaming.util.OneInputStreamOperatorTestHarness;
 import org.apache.flink.table.api.DataTypes;
@@ -39,16 +38,20 @@ import org.apache.flink.table.runtime.generated.GeneratedFunctionWrapper;
 import org.apache.flink.table.runtime.generated.GeneratedResultFutureWrapper;
 import org.apache.flink.table.runtime.operators.join.lookup.AsyncLookupJoinRunner;
 import org.apache.flink.table.runtime.operators.join.lookup.AsyncLookupJoinWithCalcRunner;
+import org.apache.flink.table.runtime.operators.join.lookup.LookupJoinCache;
 import org.apache.flink.table.runtime.operators.join.lookup.LookupJoinRunner;
 import org.apache.flink.table.runtime.operators.join.lookup.LookupJoinWithCalcRunner;
 import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
 import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
+import org.apache.flink.table.runtime.util.BinaryRowDataKeySelector;
 import org.apache.flink.table.runtime.util.RowDataHarnessAssertor;
 import org.apache.flink.table.types.logical.LogicalType;
 import org.apache.flink.util.Collector;
 
 import org.junit.Test;
 
+import javax.annotation.Nullable;
+
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -59,10 +62,12 @@ import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import static org.apache.flink.table.data.StringData.fromString;
 import static org.apache.flink.table.runtime.util.StreamRecordUtils.insertRecord;
+import static org.junit.Assert.assertEquals;
 
 /**
  * Harness tests for {@link LookupJoinRunner} and {@link LookupJoinWithCalcRunner}.
@@ -214,17 +219,74 @@ public class AsyncLookupJoinHarnessTest {
 		assertor.assertOutputEquals("output wrong.", expectedOutput, testHarness.getOutput());
 	}
 
+	@Test
+	public void testTemporalLeftAsyncJoinWithCache() throws Exception {
+		LookupJoinCache cache = new LookupJoinCache(
+			new BinaryRowDataKeySelector(
+				new int[]{0},
+				new LogicalType[]{DataTypes.INT().getLogicalType(), DataTypes.STRING().getLogicalType()}),
+			new RowDataSerializer(DataTypes.INT().getLogicalType(), DataTypes.STRING().getLogicalType()),
+			10,
+			0L);
+		BlockingFetcherFunction.reset();
+		OneInputStreamOperatorTestHarness<RowData, RowData> testHarness = createHarness(
+			JoinType.LEFT_JOIN,
+			FilterOnTable.WITHOUT_FILTER,
+			cache,
+			new BlockingFetcherFunction());
+
+		testHarness.open();
+
+		synchronized (testHarness.getCheckpointLock()) {
+			testHarness.processElement(insertRecord(1, "a"));
+			testHarness.processElement(insertRecord(1, "b"));
+			testHarness.processElement(insertRecord(3, "c"));
+			testHarness.processElement(insertRecord(1, "d"));
+			testHarness.processElement(insertRecord(2, "e"));
+		}
+
+		// identical lookups that are in flight at the same time are deduplicated
+		assertEquals(3, BlockingFetcherFunction.NUM_LOOKUPS.get());
+		BlockingFetcherFunction.release.complete(null);
+
+		// wait until all async collectors in the buffer have been emitted out.
+		synchronized (testHarness.getCheckpointLock()) {
+			testHarness.endInput();
+			testHarness.close();
+		}
+
+		List<Object> expectedOutput = new ArrayList<>();
+		expectedOutput.add(insertRecord(1, "a", 1, "Julian"));
+		expectedOutput.add(insertRecord(1, "b", 1, "Julian"));
+		expectedOutput.add(insertRecord(3, "c", 3, "Jark"));
+		expectedOutput.add(insertRecord(3, "c", 3, "Jackson"));
+		expectedOutput.add(insertRecord(1, "d", 1, "Julian"));
+		expectedOutput.add(insertRecord(2, "e", null, null));
+
+		assertor.assertOutputEquals("output wrong.", expectedOutput, testHarness.getOutput());
+		assertEquals(3, BlockingFetcherFunction.NUM_LOOKUPS.get());
+		assertEquals(3, cache.size());
+	}
+
 	// ---------------------------------------------------------------------------------
 
-	@SuppressWarnings("unchecked")
 	private OneInputStreamOperatorTestHarness<RowData, RowData> createHarness(
 			JoinType joinType,
 			FilterOnTable filterOnTable) throws Exception {
-		RichAsyncFunction<RowData, RowData> joinRunner;
+		return createHarness(joinType, filterOnTable, null, new TestingFetcherFunction());
+	}
+
+	@SuppressWarnings("unchecked")
+	private OneInputStreamOperatorTestHarness<RowData, RowData> createHarness(
+			JoinType joinType,
+			FilterOnTable filterOnTable,
+			@Nullable LookupJoinCache cache,
+			AsyncFunction<RowData, RowData> fetcher) throws Exception {
+		AsyncLookupJoinRunner joinRunner;
 		boolean isLeftJoin = joinType == JoinType.LEFT_JOIN;
 		if (filterOnTable == FilterOnTable.WITHOUT_FILTER) {
 			joinRunner = new AsyncLookupJoinRunner(
-				new GeneratedFunctionWrapper(new TestingFetcherFunction()),
+				new GeneratedFunctionWrapper(fetcher),
 				new GeneratedResultFutureWrapper<>(new TestingFetcherResultFuture()),
 				fetcherReturnType,
 				rightRowTypeInfo,
@@ -232,7 +294,7 @@ public class AsyncLookupJoinHarnessTest {
 				ASYNC_BUFFER_CAPACITY);
 		} else {
 			joinRunner = new AsyncLookupJoinWithCalcRunner(
-				new GeneratedFunctionWrapper(new TestingFetcherFunction()),
+				new GeneratedFunctionWrapper(fetcher),
 				new GeneratedFunctionWrapper<>(new CalculateOnTemporalTable()),
 				new GeneratedResultFutureWrapper<>(new TestingFetcherResultFuture()),
 				fetcherReturnType,
@@ -240,6 +302,7 @@ public class AsyncLookupJoinHarnessTest {
 				isLeftJoin,
 				ASYNC_BUFFER_CAPACITY);
 		}
+		joinRunner.setCache(cache);
 
 		return new OneInputStreamOperatorTestHarness<>(
 			new AsyncWaitOperatorFactory<>(
@@ -315,6 +378,49 @@ public class AsyncLookupJoinHarnessTest {
 		}
 	}
 
+	/**
+	 * The {@link BlockingFetcherFunction} returns the same rows as the {@link TestingFetcherFunction}, but
+	 * completes its lookups only once it is released, and counts its lookups.
+	 */
+	public static final class BlockingFetcherFunction
+			extends AbstractRichFunction
+			implements AsyncFunction<RowData, RowData> {
+
+		private static final long serialVersionUID = 1L;
+
+		private static final AtomicInteger NUM_LOOKUPS = new AtomicInteger();
+
+		private static CompletableFuture<Void> release = new CompletableFuture<>();
+
+		private transient ExecutorService executor;
+
+		static void reset() {
+			NUM_LOOKUPS.set(0);
+			release = new CompletableFuture<>();
+		}
+
+		@Override
+		public void open(Configuration parameters) throws Exception {
+			super.open(parameters);
+			this.executor = Executors.newSingleThreadExecutor();
+		}
+
+		@Override
+		public void asyncInvoke(RowData input, ResultFuture<RowData> resultFuture) throws Exception {
+			NUM_LOOKUPS.incrementAndGet();
+			int id = input.getInt(0);
+			release.thenAcceptAsync(ignored -> resultFuture.complete(TestingFetcherFunction.data.get(id)), executor);
+		}
+
+		@Override
+		public void close() throws Exception {
+			super.close();
+			if (null != executor && !executor.isShutdown()) {
+				executor.shutdown();
+			}
+		}
+	}
+
 	/**
 	 * The {@link TestingFetcherResultFuture} is a simple implementation of
 	 * {@link TableFunctionCollector} which forwards the collected collection.
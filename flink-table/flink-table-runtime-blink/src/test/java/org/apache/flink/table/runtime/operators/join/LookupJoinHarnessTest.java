@@ -20,7 +20,6 @@ package org.apache.flink.table.runtime.operators.join;
 
 import org.apache.flink.api.common.functions.FlatMapFunction;
 import org.apache.flink.api.common.typeutils.TypeSerializer;
-import org.apache.flink.streaming.api.functions.ProcessFunction;
 import org.apache.flink.streaming.api.operators.ProcessOperator;
 import org.apache.flink.streaming.util.OneInputStreamOperatorTestHarness;
 import org.apache.flink.table.api.DataTypes;
@@ -31,15 +30,19 @@ import org.apache.flink.table.data.binary.BinaryStringData;
 import org.apache.flink.table.runtime.collector.TableFunctionCollector;
 import org.apache.flink.table.runtime.generated.GeneratedCollectorWrapper;
 import org.apache.flink.table.runtime.generated.GeneratedFunctionWrapper;
+import org.apache.flink.table.runtime.operators.join.lookup.LookupJoinCache;
 import org.apache.flink.table.runtime.operators.join.lookup.LookupJoinRunner;
 import org.apache.flink.table.runtime.operators.join.lookup.LookupJoinWithCalcRunner;
 import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
+import org.apache.flink.table.runtime.util.BinaryRowDataKeySelector;
 import org.apache.flink.table.runtime.util.RowDataHarnessAssertor;
 import org.apache.flink.table.types.logical.LogicalType;
 import org.apache.flink.util.Collector;
 
 import org.junit.Test;
 
+import javax.annotation.Nullable;
+
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -49,6 +52,7 @@ import java.util.Map;
 
 import static org.apache.flink.table.data.StringData.fromString;
 import static org.apache.flink.table.runtime.util.StreamRecordUtils.insertRecord;
+import static org.junit.Assert.assertEquals;
 
 /**
  * Harness tests for {@link LookupJoinRunner} and {@link LookupJoinWithCalcRunner}.
@@ -164,14 +168,59 @@ public class LookupJoinHarnessTest {
 		testHarness.close();
 	}
 
+	@Test
+	public void testTemporalLeftJoinWithFilterAndCache() throws Exception {
+		LookupJoinCache cache = new LookupJoinCache(
+			new BinaryRowDataKeySelector(
+				new int[]{0},
+				new LogicalType[]{DataTypes.INT().getLogicalType(), DataTypes.STRING().getLogicalType()}),
+			new RowDataSerializer(DataTypes.INT().getLogicalType(), DataTypes.STRING().getLogicalType()),
+			10,
+			0L);
+		OneInputStreamOperatorTestHarness<RowData, RowData> testHarness = createHarness(
+			JoinType.LEFT_JOIN,
+			FilterOnTable.WITH_FILTER,
+			cache);
+
+		testHarness.open();
+
+		testHarness.processElement(insertRecord(1, "a"));
+		testHarness.processElement(insertRecord(3, "b"));
+		testHarness.processElement(insertRecord(1, "c"));
+		testHarness.processElement(insertRecord(2, "d"));
+		testHarness.processElement(insertRecord(3, "e"));
+		testHarness.processElement(insertRecord(2, "f"));
+
+		List<Object> expectedOutput = new ArrayList<>();
+		expectedOutput.add(insertRecord(1, "a", 1, "Julian"));
+		expectedOutput.add(insertRecord(3, "b", 3, "Jackson"));
+		expectedOutput.add(insertRecord(1, "c", 1, "Julian"));
+		expectedOutput.add(insertRecord(2, "d", null, null));
+		expectedOutput.add(insertRecord(3, "e", 3, "Jackson"));
+		expectedOutput.add(insertRecord(2, "f", null, null));
+
+		assertor.assertOutputEquals("output wrong.", expectedOutput, testHarness.getOutput());
+		assertEquals(3, cache.getMissCount());
+		assertEquals(3, cache.getHitCount());
+		assertEquals(3, cache.size());
+		testHarness.close();
+	}
+
 	// ---------------------------------------------------------------------------------
 
-	@SuppressWarnings("unchecked")
 	private OneInputStreamOperatorTestHarness<RowData, RowData> createHarness(
 			JoinType joinType,
 			FilterOnTable filterOnTable) throws Exception {
+		return createHarness(joinType, filterOnTable, null);
+	}
+
+	@SuppressWarnings("unchecked")
+	private OneInputStreamOperatorTestHarness<RowData, RowData> createHarness(
+			JoinType joinType,
+			FilterOnTable filterOnTable,
+			@Nullable LookupJoinCache cache) throws Exception {
 		boolean isLeftJoin = joinType == JoinType.LEFT_JOIN;
-		ProcessFunction<RowData, RowData> joinRunner;
+		LookupJoinRunner joinRunner;
 		if (filterOnTable == FilterOnTable.WITHOUT_FILTER) {
 			joinRunner = new LookupJoinRunner(
 				new GeneratedFunctionWrapper<>(new TestingFetcherFunction()),
@@ -187,6 +236,8 @@ public class LookupJoinHarnessTest {
 				2);
 		}
 
+		joinRunner.setCache(cache);
+
 		ProcessOperator<RowData, RowData> operator = new ProcessOperator<>(joinRunner);
 		return new OneInputStreamOperatorTestHarness<>(
 			operator,
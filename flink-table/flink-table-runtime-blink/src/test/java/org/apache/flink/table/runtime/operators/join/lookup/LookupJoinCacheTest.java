@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.lookup;
+
+import org.apache.flink.metrics.groups.UnregisteredMetricsGroup;
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
+import org.apache.flink.table.runtime.util.BinaryRowDataKeySelector;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.util.TestLogger;
+import org.apache.flink.util.clock.ManualClock;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.flink.table.data.StringData.fromString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for {@link LookupJoinCache}.
+ */
+public class LookupJoinCacheTest extends TestLogger {
+
+	private static final LogicalType[] ROW_TYPES = new LogicalType[]{
+		DataTypes.INT().getLogicalType(),
+		DataTypes.STRING().getLogicalType()
+	};
+
+	private final ManualClock clock = new ManualClock();
+
+	private LookupJoinCache cache;
+
+	@Before
+	public void setup() {
+		cache = createCache(2, 0L);
+	}
+
+	@Test
+	public void testCachedRowsAreCopies() throws Exception {
+		final GenericRowData row = GenericRowData.of(1, fromString("Julian"));
+		final RowData key = cache.getKey(row);
+		assertNull(cache.getIfPresent(key));
+
+		cache.put(key, Collections.singletonList(cache.copy(row)), 10L);
+		row.setField(1, fromString("Fabian"));
+
+		final List<RowData> cachedRows = cache.getIfPresent(cache.getKey(GenericRowData.of(1, fromString("Jark"))));
+		assertEquals(1, cachedRows.size());
+		assertNotSame(row, cachedRows.get(0));
+		assertEquals("Julian", cachedRows.get(0).getString(1).toString());
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedKeyIsEvicted() throws Exception {
+		final RowData key1 = cache.getKey(GenericRowData.of(1, fromString("a")));
+		final RowData key2 = cache.getKey(GenericRowData.of(2, fromString("b")));
+		final RowData key3 = cache.getKey(GenericRowData.of(3, fromString("c")));
+
+		cache.put(key1, Collections.emptyList(), 1L);
+		cache.put(key2, Collections.emptyList(), 1L);
+		// key1 is used more recently than key2
+		assertEquals(Collections.emptyList(), cache.getIfPresent(key1));
+		cache.put(key3, Collections.emptyList(), 1L);
+
+		assertEquals(2, cache.size());
+		assertNull(cache.getIfPresent(key2));
+		assertEquals(Collections.emptyList(), cache.getIfPresent(key1));
+		assertEquals(Collections.emptyList(), cache.getIfPresent(key3));
+	}
+
+	@Test
+	public void testCachedRowsExpire() throws Exception {
+		cache = createCache(2, 1000L);
+		final RowData key = cache.getKey(GenericRowData.of(1, fromString("a")));
+		cache.put(key, Collections.emptyList(), 1L);
+
+		clock.advanceTime(999L, TimeUnit.MILLISECONDS);
+		assertEquals(Collections.emptyList(), cache.getIfPresent(key));
+
+		clock.advanceTime(1L, TimeUnit.MILLISECONDS);
+		assertNull(cache.getIfPresent(key));
+		assertEquals(0, cache.size());
+	}
+
+	private LookupJoinCache createCache(int maxSize, long ttlMillis) {
+		final LookupJoinCache cache = new LookupJoinCache(
+			new BinaryRowDataKeySelector(new int[]{0}, ROW_TYPES),
+			new RowDataSerializer(ROW_TYPES),
+			maxSize,
+			ttlMillis);
+		cache.open(new UnregisteredMetricsGroup(), clock);
+		return cache;
+	}
+}
@@ -0,0 +1,252 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.partitionpruning;
+
+import org.apache.flink.api.common.io.DefaultInputSplitAssigner;
+import org.apache.flink.api.common.io.InputFormat;
+import org.apache.flink.api.common.io.statistics.BaseStatistics;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.core.io.InputSplit;
+import org.apache.flink.core.io.InputSplitAssigner;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.util.OneInputStreamOperatorTestHarness;
+import org.apache.flink.table.connector.source.abilities.SupportsDynamicPartitionPruning.PartitionInputFormatFactory;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.VarCharType;
+import org.apache.flink.util.InstantiationUtil;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for the {@link PartitionValueCollectorOperator}, the {@link DynamicPartitionPruningOperator} and the
+ * {@link PartitionSplitReaderOperator}.
+ */
+public class DynamicPartitionPruningOperatorTest extends TestLogger {
+
+	private static final LogicalType KEY_TYPE = new VarCharType(VarCharType.MAX_LENGTH);
+
+	@Test
+	public void testPartitionsArePrunedByBuildKeys() throws Exception {
+		final TestPartitionInputFormatFactory factory = new TestPartitionInputFormatFactory("a", "b", "c", null);
+
+		final List<RowData> keys = new ArrayList<>();
+		keys.addAll(collectKeys(row("a", 1), row("a", 2), row(null, 3)));
+		keys.addAll(collectKeys(row("c", 4), row("d", 5), row("a", 6)));
+
+		final List<byte[]> splits = prunePartitions(factory, KEY_TYPE, keys);
+		assertEquals(2, splits.size());
+
+		final Set<String> partitions = new HashSet<>();
+		for (RowData row : readSplits(factory, splits)) {
+			partitions.add(row.getString(0).toString());
+		}
+		assertEquals(new HashSet<>(Arrays.asList("a", "c")), partitions);
+	}
+
+	@Test
+	public void testAllPartitionsArePruned() throws Exception {
+		final TestPartitionInputFormatFactory factory = new TestPartitionInputFormatFactory("a", "b");
+
+		assertEquals(0, prunePartitions(factory, KEY_TYPE, collectKeys(row("c", 1))).size());
+		assertEquals(0, prunePartitions(factory, KEY_TYPE, Collections.emptyList()).size());
+	}
+
+	@Test
+	public void testPartitionsWithIncomparableValuesAreKept() throws Exception {
+		final TestPartitionInputFormatFactory factory = new TestPartitionInputFormatFactory("1", "2", "invalid");
+
+		final List<byte[]> splits = prunePartitions(
+			factory, new IntType(), Collections.singletonList(GenericRowData.of(2)));
+		final List<String> partitions = new ArrayList<>();
+		for (byte[] split : splits) {
+			partitions.add(((TestPartitionSplit) InstantiationUtil.deserializeObject(
+				split, getClass().getClassLoader())).partition);
+		}
+		assertEquals(Arrays.asList("2", "invalid"), partitions);
+	}
+
+	// ------------------------------------------------------------------------
+
+	private static RowData row(String key, int value) {
+		return GenericRowData.of(key == null ? null : StringData.fromString(key), value);
+	}
+
+	private static List<RowData> collectKeys(RowData... rows) throws Exception {
+		try (OneInputStreamOperatorTestHarness<RowData, RowData> harness = new OneInputStreamOperatorTestHarness<>(
+				new PartitionValueCollectorOperator(0, KEY_TYPE))) {
+			harness.open();
+			for (RowData row : rows) {
+				harness.processElement(new StreamRecord<>(row));
+			}
+			harness.endInput();
+			return harness.extractOutputValues();
+		}
+	}
+
+	private static List<byte[]> prunePartitions(
+			PartitionInputFormatFactory factory,
+			LogicalType keyType,
+			List<RowData> keys) throws Exception {
+		try (OneInputStreamOperatorTestHarness<RowData, byte[]> harness = new OneInputStreamOperatorTestHarness<>(
+				new DynamicPartitionPruningOperator(factory, "p", keyType, 1))) {
+			harness.open();
+			for (RowData key : keys) {
+				harness.processElement(new StreamRecord<>(key));
+			}
+			harness.endInput();
+			return harness.extractOutputValues();
+		}
+	}
+
+	private static List<RowData> readSplits(PartitionInputFormatFactory factory, List<byte[]> splits) throws Exception {
+		try (OneInputStreamOperatorTestHarness<byte[], RowData> harness = new OneInputStreamOperatorTestHarness<>(
+				new PartitionSplitReaderOperator(factory, RowType.of(KEY_TYPE, new IntType())))) {
+			harness.open();
+			for (byte[] split : splits) {
+				harness.processElement(new StreamRecord<>(split));
+			}
+			return harness.extractOutputValues();
+		}
+	}
+
+	/**
+	 * A factory for {@link TestPartitionInputFormat TestPartitionInputFormats}.
+	 */
+	private static class TestPartitionInputFormatFactory implements PartitionInputFormatFactory {
+
+		private static final long serialVersionUID = 1L;
+
+		private final List<Map<String, String>> partitions;
+
+		TestPartitionInputFormatFactory(String... partitionValues) {
+			this.partitions = Arrays.stream(partitionValues)
+				.map(value -> Collections.singletonMap("p", value))
+				.collect(Collectors.toList());
+		}
+
+		@Override
+		public List<Map<String, String>> getPartitions() {
+			return partitions;
+		}
+
+		@Override
+		public InputFormat<RowData, ?> createInputFormat(List<Map<String, String>> partitions) {
+			return new TestPartitionInputFormat(
+				partitions.stream().map(partition -> partition.get("p")).collect(Collectors.toList()));
+		}
+	}
+
+	/**
+	 * An input format that creates a split per partition, and reads two rows per split.
+	 */
+	private static class TestPartitionInputFormat implements InputFormat<RowData, TestPartitionSplit> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final List<String> partitions;
+
+		private transient TestPartitionSplit split;
+		private transient int numRead;
+
+		TestPartitionInputFormat(List<String> partitions) {
+			this.partitions = partitions;
+		}
+
+		@Override
+		public void configure(Configuration parameters) {
+		}
+
+		@Override
+		public BaseStatistics getStatistics(BaseStatistics cachedStatistics) {
+			return cachedStatistics;
+		}
+
+		@Override
+		public TestPartitionSplit[] createInputSplits(int minNumSplits) {
+			final TestPartitionSplit[] splits = new TestPartitionSplit[partitions.size()];
+			for (int i = 0; i < splits.length; i++) {
+				splits[i] = new TestPartitionSplit(i, partitions.get(i));
+			}
+			return splits;
+		}
+
+		@Override
+		public InputSplitAssigner getInputSplitAssigner(TestPartitionSplit[] inputSplits) {
+			return new DefaultInputSplitAssigner(inputSplits);
+		}
+
+		@Override
+		public void open(TestPartitionSplit split) {
+			this.split = split;
+			this.numRead = 0;
+		}
+
+		@Override
+		public boolean reachedEnd() {
+			return numRead == 2;
+		}
+
+		@Override
+		public RowData nextRecord(RowData reuse) {
+			return row(split.partition, numRead++);
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+
+	/**
+	 * The split of a {@link TestPartitionInputFormat}.
+	 */
+	private static class TestPartitionSplit implements InputSplit {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int splitNumber;
+		private final String partition;
+
+		TestPartitionSplit(int splitNumber, String partition) {
+			this.splitNumber = splitNumber;
+			this.partition = partition;
+		}
+
+		@Override
+		public int getSplitNumber() {
+			return splitNumber;
+		}
+	}
+}
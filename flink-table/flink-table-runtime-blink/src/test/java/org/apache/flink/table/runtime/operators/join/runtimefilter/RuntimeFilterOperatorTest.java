@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.runtimefilter;
+
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.util.OneInputStreamOperatorTestHarness;
+import org.apache.flink.streaming.util.TwoInputStreamOperatorTestHarness;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.generated.GeneratedProjection;
+import org.apache.flink.table.runtime.generated.Projection;
+import org.apache.flink.table.runtime.operators.join.Int2HashJoinOperatorTest;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link LocalRuntimeFilterBuilderOperator}, the {@link GlobalRuntimeFilterBuilderOperator}
+ * and the {@link RuntimeFilterOperator}.
+ */
+public class RuntimeFilterOperatorTest extends TestLogger {
+
+	private static final int EXPECTED_ENTRIES = 10;
+
+	private static final int NUM_BYTES = RuntimeBloomFilter.optimalNumBytes(EXPECTED_ENTRIES, 0.01);
+
+	@Test
+	public void testBloomFilterMerge() {
+		final RuntimeBloomFilter filter1 = RuntimeBloomFilter.create(EXPECTED_ENTRIES, NUM_BYTES);
+		final RuntimeBloomFilter filter2 = RuntimeBloomFilter.create(EXPECTED_ENTRIES, NUM_BYTES);
+		filter1.addHash(42);
+		filter2.addHash(-17);
+		assertFalse(filter1.mightContainHash(-17));
+
+		filter1.merge(RuntimeBloomFilter.fromBytes(EXPECTED_ENTRIES, filter2.getBytes()));
+		assertTrue(filter1.mightContainHash(42));
+		assertTrue(filter1.mightContainHash(-17));
+	}
+
+	@Test
+	public void testProbeRowsAreFilteredByBuildKeys() throws Exception {
+		final List<RowData> localFilters = new ArrayList<>();
+		localFilters.add(buildLocalFilter(1, 2, 3));
+		localFilters.add(buildLocalFilter(5));
+		localFilters.add(buildLocalFilter());
+
+		final RowData globalFilter;
+		try (OneInputStreamOperatorTestHarness<RowData, RowData> harness = new OneInputStreamOperatorTestHarness<>(
+				new GlobalRuntimeFilterBuilderOperator(EXPECTED_ENTRIES, NUM_BYTES))) {
+			harness.open();
+			for (RowData filter : localFilters) {
+				harness.processElement(new StreamRecord<>(filter));
+			}
+			harness.endInput();
+			globalFilter = getSingleOutput(harness.extractOutputValues());
+		}
+
+		final Set<Integer> probeKeys = new HashSet<>();
+		final RuntimeFilterOperator operator = new RuntimeFilterOperator(createKeyProjection(), EXPECTED_ENTRIES);
+		try (TwoInputStreamOperatorTestHarness<RowData, RowData, RowData> harness =
+				new TwoInputStreamOperatorTestHarness<>(operator)) {
+			harness.open();
+			harness.processElement1(new StreamRecord<>(globalFilter));
+			operator.endInput(1);
+			for (int i = 0; i < 100; i++) {
+				harness.processElement2(new StreamRecord<>(GenericRowData.of(i, (long) i)));
+			}
+			operator.endInput(2);
+
+			for (RowData row : harness.extractOutputValues()) {
+				probeKeys.add(row.getInt(0));
+			}
+		}
+
+		// the filter never drops rows that have a join partner, but may keep a few that do not
+		assertTrue(probeKeys.containsAll(Arrays.asList(1, 2, 3, 5)));
+		assertTrue(probeKeys.size() <= EXPECTED_ENTRIES);
+	}
+
+	private static RowData buildLocalFilter(int... keys) throws Exception {
+		try (OneInputStreamOperatorTestHarness<RowData, RowData> harness = new OneInputStreamOperatorTestHarness<>(
+				new LocalRuntimeFilterBuilderOperator(createKeyProjection(), EXPECTED_ENTRIES, NUM_BYTES))) {
+			harness.open();
+			for (int key : keys) {
+				harness.processElement(new StreamRecord<>(GenericRowData.of(key, (long) key)));
+			}
+			harness.endInput();
+			return getSingleOutput(harness.extractOutputValues());
+		}
+	}
+
+	private static RowData getSingleOutput(List<RowData> output) {
+		assertEquals(1, output.size());
+		return output.get(0);
+	}
+
+	private static GeneratedProjection createKeyProjection() {
+		return new GeneratedProjection("", "", new Object[0]) {
+			@Override
+			public Projection newInstance(ClassLoader classLoader) {
+				return new Int2HashJoinOperatorTest.MyProjection();
+			}
+		};
+	}
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.stream;
+
+import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.streaming.util.KeyedTwoInputStreamOperatorTestHarness;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.generated.GeneratedJoinCondition;
+import org.apache.flink.table.runtime.operators.bundle.trigger.CountCoBundleTrigger;
+import org.apache.flink.table.runtime.operators.join.stream.state.JoinInputSideSpec;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.runtime.util.BinaryRowDataKeySelector;
+import org.apache.flink.table.runtime.util.RowDataHarnessAssertor;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.VarCharType;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.deleteRecord;
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.insertRecord;
+
+/**
+ * Harness tests for {@link MiniBatchStreamingJoinOperator}.
+ */
+public class MiniBatchStreamingJoinOperatorTest {
+
+	private static final String FUNC_CODE =
+			"public class TrueJoinCondition extends org.apache.flink.api.common.functions.AbstractRichFunction " +
+					"implements org.apache.flink.table.runtime.generated.JoinCondition {\n"
+					+ "\n"
+					+ "    public TrueJoinCondition(Object[] reference) {\n"
+					+ "    }\n"
+					+ "\n"
+					+ "    @Override\n"
+					+ "    public boolean apply(org.apache.flink.table.data.RowData in1, org.apache.flink.table.data.RowData in2) {\n"
+					+ "        return true;\n"
+					+ "    }\n"
+					+ "}\n";
+
+	private final InternalTypeInfo<RowData> rowType = InternalTypeInfo.ofFields(
+			new BigIntType(),
+			new VarCharType(VarCharType.MAX_LENGTH));
+	private final BinaryRowDataKeySelector keySelector = new BinaryRowDataKeySelector(
+			new int[]{1},
+			rowType.toRowFieldTypes());
+	private final RowDataHarnessAssertor assertor = new RowDataHarnessAssertor(
+			InternalTypeInfo.ofFields(
+					new BigIntType(),
+					new VarCharType(VarCharType.MAX_LENGTH),
+					new BigIntType(),
+					new VarCharType(VarCharType.MAX_LENGTH)).toRowFieldTypes());
+
+	@Test
+	public void testCancellingRecordsAreFolded() throws Exception {
+		KeyedTwoInputStreamOperatorTestHarness<RowData, RowData, RowData, RowData> testHarness =
+				createTestHarness(true, false, 100);
+		testHarness.open();
+
+		testHarness.processElement1(insertRecord(10L, "a"));
+		testHarness.processElement2(insertRecord(1L, "a"));
+		testHarness.processElement2(insertRecord(2L, "b"));
+		// cancels out the insertion of (1, a), so that (10, a) is not joined with it
+		testHarness.processElement2(deleteRecord(1L, "a"));
+		testHarness.processElement2(deleteRecord(2L, "b"));
+		testHarness.processElement2(insertRecord(3L, "a"));
+		testHarness.processElement1(insertRecord(11L, "b"));
+		testHarness.processElement1(deleteRecord(11L, "b"));
+		// nothing is joined before the bundle is finished
+		assertor.assertOutputEqualsSorted("output wrong.", new ArrayList<>(), testHarness.getOutput());
+
+		testHarness.processWatermark1(new Watermark(1));
+		testHarness.processWatermark2(new Watermark(1));
+
+		List<Object> expectedOutput = new ArrayList<>();
+		expectedOutput.add(insertRecord(10L, "a", null, null));
+		expectedOutput.add(deleteRecord(10L, "a", null, null));
+		expectedOutput.add(insertRecord(10L, "a", 3L, "a"));
+		expectedOutput.add(new Watermark(1));
+		assertor.assertOutputEqualsSorted("output wrong.", expectedOutput, testHarness.getOutput());
+
+		testHarness.processElement2(deleteRecord(3L, "a"));
+		testHarness.processElement1(insertRecord(12L, "b"));
+		testHarness.close();
+
+		expectedOutput.add(deleteRecord(10L, "a", 3L, "a"));
+		expectedOutput.add(insertRecord(10L, "a", null, null));
+		expectedOutput.add(insertRecord(12L, "b", null, null));
+		assertor.assertOutputEqualsSorted("output wrong.", expectedOutput, testHarness.getOutput());
+	}
+
+	@Test
+	public void testBundleFinishedByCount() throws Exception {
+		KeyedTwoInputStreamOperatorTestHarness<RowData, RowData, RowData, RowData> testHarness =
+				createTestHarness(false, false, 3);
+		testHarness.open();
+
+		testHarness.processElement2(insertRecord(1L, "a"));
+		testHarness.processElement2(insertRecord(1L, "a"));
+		testHarness.processElement1(insertRecord(10L, "a"));
+
+		List<Object> expectedOutput = new ArrayList<>();
+		expectedOutput.add(insertRecord(10L, "a", 1L, "a"));
+		expectedOutput.add(insertRecord(10L, "a", 1L, "a"));
+		assertor.assertOutputEqualsSorted("output wrong.", expectedOutput, testHarness.getOutput());
+
+		// retracts one of the duplicates, the other one is still joined
+		testHarness.processElement2(deleteRecord(1L, "a"));
+		testHarness.processElement1(insertRecord(11L, "a"));
+		testHarness.processElement1(deleteRecord(10L, "a"));
+
+		expectedOutput.add(deleteRecord(10L, "a", 1L, "a"));
+		expectedOutput.add(insertRecord(11L, "a", 1L, "a"));
+		expectedOutput.add(deleteRecord(10L, "a", 1L, "a"));
+		assertor.assertOutputEqualsSorted("output wrong.", expectedOutput, testHarness.getOutput());
+		testHarness.close();
+	}
+
+	private KeyedTwoInputStreamOperatorTestHarness<RowData, RowData, RowData, RowData> createTestHarness(
+			boolean leftIsOuter,
+			boolean rightIsOuter,
+			long bundleSize) throws Exception {
+		MiniBatchStreamingJoinOperator operator = new MiniBatchStreamingJoinOperator(
+				rowType,
+				rowType,
+				new GeneratedJoinCondition("TrueJoinCondition", FUNC_CODE, new Object[0]),
+				JoinInputSideSpec.withoutUniqueKey(),
+				JoinInputSideSpec.withoutUniqueKey(),
+				leftIsOuter,
+				rightIsOuter,
+				new boolean[]{true},
+				0,
+				false,
+				new CountCoBundleTrigger<>(bundleSize));
+		return new KeyedTwoInputStreamOperatorTestHarness<>(
+				operator,
+				keySelector,
+				keySelector,
+				keySelector.getProducedType());
+	}
+}
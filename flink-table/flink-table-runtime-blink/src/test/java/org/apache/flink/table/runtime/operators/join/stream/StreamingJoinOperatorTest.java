@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.stream;
+
+import org.apache.flink.streaming.util.KeyedTwoInputStreamOperatorTestHarness;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.generated.GeneratedJoinCondition;
+import org.apache.flink.table.runtime.operators.join.stream.state.JoinInputSideSpec;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.runtime.util.BinaryRowDataKeySelector;
+import org.apache.flink.table.runtime.util.RowDataHarnessAssertor;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.VarCharType;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.deleteRecord;
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.insertRecord;
+
+/**
+ * Harness tests for {@link StreamingJoinOperator} with inputs without unique key.
+ */
+@RunWith(Parameterized.class)
+public class StreamingJoinOperatorTest {
+
+	private static final String FUNC_CODE =
+			"public class TrueJoinCondition extends org.apache.flink.api.common.functions.AbstractRichFunction " +
+					"implements org.apache.flink.table.runtime.generated.JoinCondition {\n"
+					+ "\n"
+					+ "    public TrueJoinCondition(Object[] reference) {\n"
+					+ "    }\n"
+					+ "\n"
+					+ "    @Override\n"
+					+ "    public boolean apply(org.apache.flink.table.data.RowData in1, org.apache.flink.table.data.RowData in2) {\n"
+					+ "        return true;\n"
+					+ "    }\n"
+					+ "}\n";
+
+	private final InternalTypeInfo<RowData> rowType = InternalTypeInfo.ofFields(
+			new BigIntType(),
+			new VarCharType(VarCharType.MAX_LENGTH));
+	private final BinaryRowDataKeySelector keySelector = new BinaryRowDataKeySelector(
+			new int[]{1},
+			rowType.toRowFieldTypes());
+	// the order of the joined records depends on the order of the records in state
+	private final RowDataHarnessAssertor assertor = new RowDataHarnessAssertor(
+			InternalTypeInfo.ofFields(
+					new BigIntType(),
+					new VarCharType(VarCharType.MAX_LENGTH),
+					new BigIntType(),
+					new VarCharType(VarCharType.MAX_LENGTH)).toRowFieldTypes());
+
+	private final boolean compactRecordState;
+
+	public StreamingJoinOperatorTest(boolean compactRecordState) {
+		this.compactRecordState = compactRecordState;
+	}
+
+	@Parameterized.Parameters(name = "compactRecordState = {0}")
+	public static Collection<Boolean> parameters() {
+		return Arrays.asList(false, true);
+	}
+
+	@Test
+	public void testInnerJoinWithRetractions() throws Exception {
+		KeyedTwoInputStreamOperatorTestHarness<RowData, RowData, RowData, RowData> testHarness =
+				createTestHarness(false, false);
+		testHarness.open();
+
+		testHarness.processElement2(insertRecord(1L, "a"));
+		testHarness.processElement2(insertRecord(1L, "a"));
+		testHarness.processElement2(insertRecord(2L, "a"));
+		testHarness.processElement1(insertRecord(10L, "a"));
+		// retracts one of the duplicates
+		testHarness.processElement2(deleteRecord(1L, "a"));
+		testHarness.processElement1(insertRecord(11L, "a"));
+		testHarness.processElement2(deleteRecord(2L, "a"));
+		testHarness.processElement2(insertRecord(2L, "a"));
+		testHarness.processElement1(deleteRecord(10L, "a"));
+		testHarness.processElement2(insertRecord(3L, "b"));
+
+		List<Object> expectedOutput = new ArrayList<>();
+		expectedOutput.add(insertRecord(10L, "a", 1L, "a"));
+		expectedOutput.add(insertRecord(10L, "a", 1L, "a"));
+		expectedOutput.add(insertRecord(10L, "a", 2L, "a"));
+		expectedOutput.add(deleteRecord(10L, "a", 1L, "a"));
+		expectedOutput.add(insertRecord(11L, "a", 1L, "a"));
+		expectedOutput.add(insertRecord(11L, "a", 2L, "a"));
+		expectedOutput.add(deleteRecord(10L, "a", 2L, "a"));
+		expectedOutput.add(deleteRecord(11L, "a", 2L, "a"));
+		expectedOutput.add(insertRecord(10L, "a", 2L, "a"));
+		expectedOutput.add(insertRecord(11L, "a", 2L, "a"));
+		expectedOutput.add(deleteRecord(10L, "a", 1L, "a"));
+		expectedOutput.add(deleteRecord(10L, "a", 2L, "a"));
+		assertor.assertOutputEqualsSorted("output wrong.", expectedOutput, testHarness.getOutput());
+		testHarness.close();
+	}
+
+	@Test
+	public void testLeftOuterJoinWithRetractions() throws Exception {
+		KeyedTwoInputStreamOperatorTestHarness<RowData, RowData, RowData, RowData> testHarness =
+				createTestHarness(true, false);
+		testHarness.open();
+
+		testHarness.processElement1(insertRecord(10L, "a"));
+		testHarness.processElement2(insertRecord(1L, "a"));
+		testHarness.processElement2(insertRecord(1L, "a"));
+		testHarness.processElement2(deleteRecord(1L, "a"));
+		testHarness.processElement2(deleteRecord(1L, "a"));
+		// the right side is empty again
+		testHarness.processElement1(insertRecord(11L, "a"));
+
+		List<Object> expectedOutput = new ArrayList<>();
+		expectedOutput.add(insertRecord(10L, "a", null, null));
+		expectedOutput.add(deleteRecord(10L, "a", null, null));
+		expectedOutput.add(insertRecord(10L, "a", 1L, "a"));
+		expectedOutput.add(insertRecord(10L, "a", 1L, "a"));
+		expectedOutput.add(deleteRecord(10L, "a", 1L, "a"));
+		expectedOutput.add(deleteRecord(10L, "a", 1L, "a"));
+		expectedOutput.add(insertRecord(10L, "a", null, null));
+		expectedOutput.add(insertRecord(11L, "a", null, null));
+		assertor.assertOutputEqualsSorted("output wrong.", expectedOutput, testHarness.getOutput());
+		testHarness.close();
+	}
+
+	@Test
+	public void testRetractionOfExpiredRecordDoesNotRemoveNewRecord() throws Exception {
+		KeyedTwoInputStreamOperatorTestHarness<RowData, RowData, RowData, RowData> testHarness =
+				createTestHarness(false, false, 1000L);
+		testHarness.open();
+
+		testHarness.setStateTtlProcessingTime(0L);
+		testHarness.processElement2(insertRecord(1L, "a"));
+		testHarness.setStateTtlProcessingTime(600L);
+		testHarness.processElement2(insertRecord(2L, "a"));
+		// the first record is expired, so its retraction must be ignored
+		testHarness.setStateTtlProcessingTime(1100L);
+		testHarness.processElement2(deleteRecord(1L, "a"));
+		testHarness.processElement2(insertRecord(1L, "a"));
+		testHarness.processElement1(insertRecord(10L, "a"));
+
+		List<Object> expectedOutput = new ArrayList<>();
+		expectedOutput.add(insertRecord(10L, "a", 1L, "a"));
+		expectedOutput.add(insertRecord(10L, "a", 2L, "a"));
+		assertor.assertOutputEqualsSorted("output wrong.", expectedOutput, testHarness.getOutput());
+		testHarness.close();
+	}
+
+	private KeyedTwoInputStreamOperatorTestHarness<RowData, RowData, RowData, RowData> createTestHarness(
+			boolean leftIsOuter,
+			boolean rightIsOuter) throws Exception {
+		return createTestHarness(leftIsOuter, rightIsOuter, 0L);
+	}
+
+	private KeyedTwoInputStreamOperatorTestHarness<RowData, RowData, RowData, RowData> createTestHarness(
+			boolean leftIsOuter,
+			boolean rightIsOuter,
+			long minRetentionTime) throws Exception {
+		StreamingJoinOperator operator = new StreamingJoinOperator(
+				rowType,
+				rowType,
+				new GeneratedJoinCondition("TrueJoinCondition", FUNC_CODE, new Object[0]),
+				JoinInputSideSpec.withoutUniqueKey(),
+				JoinInputSideSpec.withoutUniqueKey(),
+				leftIsOuter,
+				rightIsOuter,
+				new boolean[]{true},
+				minRetentionTime,
+				compactRecordState);
+		return new KeyedTwoInputStreamOperatorTestHarness<>(
+				operator,
+				keySelector,
+				keySelector,
+				keySelector.getProducedType());
+	}
+}
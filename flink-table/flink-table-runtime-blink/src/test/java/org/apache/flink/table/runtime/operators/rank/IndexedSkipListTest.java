@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.rank;
+
+import org.junit.Test;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link IndexedSkipList}.
+ */
+public class IndexedSkipListTest {
+
+	@Test
+	public void testRankLookups() {
+		IndexedSkipList<Integer> list = new IndexedSkipList<>(Comparator.<Integer>naturalOrder());
+		list.add(20, 2L);
+		list.add(10, 1L);
+		list.add(30, 3L);
+		list.add(20, 1L);
+
+		assertEquals(3, list.size());
+		assertEquals(7L, list.getTotalCount());
+		assertEquals(3L, list.get(20));
+		assertEquals(0L, list.get(25));
+		assertEquals(0L, list.countBefore(10));
+		assertEquals(1L, list.countBefore(20));
+		assertEquals(4L, list.countBefore(25));
+		assertEquals(7L, list.countBefore(40));
+
+		assertNull(list.getKeyAtRank(0L));
+		assertEquals(Integer.valueOf(10), list.getKeyAtRank(1L));
+		assertEquals(Integer.valueOf(20), list.getKeyAtRank(2L));
+		assertEquals(Integer.valueOf(20), list.getKeyAtRank(4L));
+		assertEquals(Integer.valueOf(30), list.getKeyAtRank(5L));
+		assertEquals(Integer.valueOf(30), list.getKeyAtRank(7L));
+		assertNull(list.getKeyAtRank(8L));
+
+		Iterator<Map.Entry<Integer, Long>> iterator = list.tailIterator(15);
+		assertEquals(Integer.valueOf(20), iterator.next().getKey());
+		assertEquals(Long.valueOf(3L), iterator.next().getValue());
+		assertFalse(iterator.hasNext());
+
+		assertFalse(list.remove(25, 1L));
+		assertFalse(list.remove(10, 2L));
+		assertTrue(list.remove(20, 3L));
+		assertFalse(list.containsKey(20));
+		assertEquals(Integer.valueOf(30), list.getKeyAtRank(2L));
+		assertTrue(list.remove(10, 1L));
+		assertTrue(list.remove(30, 3L));
+		assertTrue(list.isEmpty());
+		assertEquals(0L, list.getTotalCount());
+	}
+
+	@Test
+	public void testRandomOperations() {
+		Random random = new Random(42L);
+		IndexedSkipList<Integer> list = new IndexedSkipList<>(Comparator.<Integer>naturalOrder());
+		TreeMap<Integer, Long> expected = new TreeMap<>();
+		for (int i = 0; i < 10000; i++) {
+			int key = random.nextInt(500);
+			long count = random.nextInt(3) + 1;
+			if (random.nextInt(3) == 0) {
+				Long current = expected.get(key);
+				boolean removed = current != null && current >= count;
+				assertEquals(removed, list.remove(key, count));
+				if (removed) {
+					if (current == count) {
+						expected.remove(key);
+					} else {
+						expected.put(key, current - count);
+					}
+				}
+			} else {
+				list.add(key, count);
+				expected.merge(key, count, Long::sum);
+			}
+
+			int probe = random.nextInt(500);
+			long before = 0L;
+			for (Map.Entry<Integer, Long> entry : expected.headMap(probe).entrySet()) {
+				before += entry.getValue();
+			}
+			assertEquals(before, list.countBefore(probe));
+			assertEquals(expected.getOrDefault(probe, 0L).longValue(), list.get(probe));
+		}
+
+		assertEquals(expected.size(), list.size());
+		long rank = 0L;
+		Iterator<Map.Entry<Integer, Long>> iterator = list.iterator();
+		for (Map.Entry<Integer, Long> entry : expected.entrySet()) {
+			Map.Entry<Integer, Long> actual = iterator.next();
+			assertEquals(entry.getKey(), actual.getKey());
+			assertEquals(entry.getValue(), actual.getValue());
+			for (long i = 0; i < entry.getValue(); i++) {
+				rank++;
+				assertEquals(entry.getKey(), list.getKeyAtRank(rank));
+			}
+		}
+		assertFalse(iterator.hasNext());
+		assertEquals(rank, list.getTotalCount());
+		assertNull(list.getKeyAtRank(rank + 1));
+	}
+}
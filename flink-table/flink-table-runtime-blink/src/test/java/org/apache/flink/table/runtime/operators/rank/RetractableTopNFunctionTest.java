@@ -50,7 +50,8 @@ public class RetractableTopNFunctionTest extends TopNFunctionTestBase {
 			rankRange,
 			generatedEqualiser,
 			generateUpdateBefore,
-			outputRankNumber);
+			outputRankNumber,
+			cacheSize);
 	}
 
 	@Test
@@ -358,6 +359,33 @@ public class RetractableTopNFunctionTest extends TopNFunctionTestBase {
 				.assertOutputEquals("output wrong.", expectedOutput, testHarness.getOutput());
 	}
 
+	@Test
+	public void testRetractRecordWithSameSortKeyWithoutRowNumber() throws Exception {
+		AbstractTopNFunction func = createFunction(RankType.ROW_NUMBER, new ConstantRankRange(1, 2), true,
+				false);
+		OneInputStreamOperatorTestHarness<RowData, RowData> testHarness = createTestHarness(func);
+		testHarness.open();
+		testHarness.processElement(insertRecord("book", 1L, 12));
+		testHarness.processElement(insertRecord("book", 2L, 12));
+		testHarness.processElement(insertRecord("book", 3L, 12));
+		testHarness.processElement(insertRecord("book", 4L, 15));
+		// the record that upgrades to Top-N has the same sort key as the retracted one
+		testHarness.processElement(deleteRecord("book", 1L, 12));
+		// the record that upgrades to Top-N has a greater sort key than the retracted one
+		testHarness.processElement(deleteRecord("book", 2L, 12));
+		testHarness.close();
+
+		List<Object> expectedOutput = new ArrayList<>();
+		expectedOutput.add(insertRecord("book", 1L, 12));
+		expectedOutput.add(insertRecord("book", 2L, 12));
+		expectedOutput.add(deleteRecord("book", 1L, 12));
+		expectedOutput.add(insertRecord("book", 3L, 12));
+		expectedOutput.add(deleteRecord("book", 2L, 12));
+		expectedOutput.add(insertRecord("book", 4L, 15));
+		assertorWithoutRowNumber
+				.assertOutputEquals("output wrong.", expectedOutput, testHarness.getOutput());
+	}
+
 	@Test
 	public void testCleanIdleState() throws Exception {
 		AbstractTopNFunction func = createFunction(RankType.ROW_NUMBER, new ConstantRankRange(1, 2), true,